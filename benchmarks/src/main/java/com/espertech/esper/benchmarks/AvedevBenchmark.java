@@ -0,0 +1,119 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks;
+
+import com.espertech.esper.common.internal.collection.RefCountedSet;
+import com.espertech.esper.common.internal.collection.SortedDoubleOrderStatisticTree;
+import com.espertech.esper.common.internal.epl.agg.method.avedev.AggregatorAvedev;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mean absolute deviation over a sliding window of values, comparing the order-statistic tree with prefix sums
+ * that the avedev aggregation uses ("tree") with the reference-counted set that the avedev aggregation used before
+ * and that visits every distinct value upon each read ("rescan").
+ * <p>
+ * The "enterLeaveRead" benchmark removes the oldest value, adds a new value and reads the mean absolute deviation,
+ * same as avedev for a length window with output for each event.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AvedevBenchmark {
+    private static final int NUM_VALUES = 4096;
+
+    @Param({"tree", "rescan"})
+    private String implementation;
+
+    @Param({"1000", "100000"})
+    private int windowSize;
+
+    private SortedDoubleOrderStatisticTree tree;
+    private RefCountedSet<Double> valueSet;
+    private double sum;
+    private double[] window;
+    private double[] values;
+    private int index;
+
+    @Setup
+    public void setup() {
+        if (!implementation.equals("tree") && !implementation.equals("rescan")) {
+            throw new IllegalArgumentException("Unrecognized implementation '" + implementation + "'");
+        }
+        tree = new SortedDoubleOrderStatisticTree();
+        valueSet = new RefCountedSet<>();
+
+        Random random = new Random(1);
+        values = new double[NUM_VALUES];
+        for (int i = 0; i < NUM_VALUES; i++) {
+            values[i] = Math.round(random.nextGaussian() * 1000) / 100d;
+        }
+        window = new double[windowSize];
+        for (int i = 0; i < windowSize; i++) {
+            window[i] = values[i & (NUM_VALUES - 1)];
+            enter(window[i]);
+        }
+    }
+
+    @Benchmark
+    public Object enterLeaveRead() {
+        int slot = index % windowSize;
+        double value = values[index & (NUM_VALUES - 1)];
+        index++;
+        leave(window[slot]);
+        window[slot] = value;
+        enter(value);
+        if (implementation.equals("tree")) {
+            return AggregatorAvedev.computeAvedev(tree, 0);
+        }
+        return rescan(valueSet, sum);
+    }
+
+    private void enter(double value) {
+        if (implementation.equals("tree")) {
+            tree.add(value);
+        } else {
+            valueSet.add(value);
+            sum += value;
+        }
+    }
+
+    private void leave(double value) {
+        if (implementation.equals("tree")) {
+            tree.remove(value);
+        } else {
+            valueSet.remove(value);
+            sum -= value;
+        }
+    }
+
+    private static Object rescan(RefCountedSet<Double> valueSet, double sum) {
+        int datapoints = valueSet.size();
+        if (datapoints == 0) {
+            return null;
+        }
+        double total = 0;
+        double avg = sum / datapoints;
+        for (Iterator<Map.Entry<Double, Integer>> it = valueSet.entryIterator(); it.hasNext(); ) {
+            Map.Entry<Double, Integer> entry = it.next();
+            total += entry.getValue() * Math.abs(entry.getKey() - avg);
+        }
+        return total / datapoints;
+    }
+}
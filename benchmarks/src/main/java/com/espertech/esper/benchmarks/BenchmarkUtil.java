@@ -0,0 +1,89 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.compiler.client.CompilerArguments;
+import com.espertech.esper.compiler.client.EPCompileException;
+import com.espertech.esper.compiler.client.EPCompilerProvider;
+import com.espertech.esper.runtime.client.EPDeployException;
+import com.espertech.esper.runtime.client.EPDeployment;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.EPRuntimeProvider;
+
+import java.util.Random;
+
+/**
+ * Shared setup for benchmarks.
+ */
+public class BenchmarkUtil {
+    /**
+     * Returns a configuration with the {@link Tick} event type and external clocking.
+     *
+     * @return configuration
+     */
+    public static Configuration getConfiguration() {
+        Configuration configuration = new Configuration();
+        configuration.getCommon().addEventType(Tick.class);
+        configuration.getRuntime().getThreading().setInternalTimerEnabled(false);
+        configuration.getRuntime().getMetricsReporting().setJmxRuntimeMetrics(false);
+        return configuration;
+    }
+
+    /**
+     * Allocates a new runtime, with time set to zero.
+     *
+     * @param benchmarkClass benchmark for naming the runtime
+     * @param configuration  configuration
+     * @return runtime
+     */
+    public static EPRuntime makeRuntime(Class benchmarkClass, Configuration configuration) {
+        EPRuntime runtime = EPRuntimeProvider.getRuntime(benchmarkClass.getSimpleName(), configuration);
+        runtime.initialize();
+        runtime.getEventService().advanceTime(0);
+        return runtime;
+    }
+
+    public static EPCompiled compile(String epl, Configuration configuration) {
+        try {
+            return EPCompilerProvider.getCompiler().compile(epl, new CompilerArguments(configuration));
+        } catch (EPCompileException ex) {
+            throw new RuntimeException("Failed to compile: " + ex.getMessage(), ex);
+        }
+    }
+
+    public static EPDeployment compileDeploy(EPRuntime runtime, String epl) {
+        EPCompiled compiled = compile(epl, runtime.getConfigurationDeepCopy());
+        try {
+            return runtime.getDeploymentService().deploy(compiled);
+        } catch (EPDeployException ex) {
+            throw new RuntimeException("Failed to deploy: " + ex.getMessage(), ex);
+        }
+    }
+
+    /**
+     * Returns pre-allocated events with symbols "S0" to "S[numSymbols-1]" in random order, so that event allocation
+     * is not part of the measurement.
+     *
+     * @param numEvents  number of events
+     * @param numSymbols number of distinct symbols
+     * @return events
+     */
+    public static Tick[] makeTicks(int numEvents, int numSymbols) {
+        Random random = new Random(1);
+        Tick[] ticks = new Tick[numEvents];
+        for (int i = 0; i < numEvents; i++) {
+            ticks[i] = new Tick("S" + random.nextInt(numSymbols), random.nextInt(100), random.nextInt(1000));
+        }
+        return ticks;
+    }
+}
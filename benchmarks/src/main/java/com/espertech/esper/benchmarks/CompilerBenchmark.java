@@ -0,0 +1,69 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.compiler.client.CompilerArguments;
+import com.espertech.esper.compiler.client.EPCompileException;
+import com.espertech.esper.compiler.client.EPCompiler;
+import com.espertech.esper.compiler.client.EPCompilerProvider;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compile time for modules with filter, aggregation, pattern and named window statements.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CompilerBenchmark {
+    @Param({"filter", "aggregation", "pattern", "namedwindow"})
+    private String module;
+
+    private EPCompiler compiler;
+    private Configuration configuration;
+    private String epl;
+
+    @Setup
+    public void setup() {
+        compiler = EPCompilerProvider.getCompiler();
+        configuration = BenchmarkUtil.getConfiguration();
+        switch (module) {
+            case "filter":
+                epl = "select * from Tick(symbol='S1', price > 10)";
+                break;
+            case "aggregation":
+                epl = "select symbol, count(*), sum(price), avg(volume) from Tick#time(10 sec) group by symbol having sum(price) > 100 order by symbol";
+                break;
+            case "pattern":
+                epl = "select * from pattern[every a=Tick(volume=0) -> (b=Tick(volume=1, symbol=a.symbol) where timer:within(10 sec))]";
+                break;
+            case "namedwindow":
+                epl = "create window TickWindow#keepall as Tick;\n" +
+                    "insert into TickWindow select * from Tick;\n" +
+                    "on Tick(volume=0) as t merge TickWindow as w where w.symbol = t.symbol when matched then delete;\n" +
+                    "select symbol, count(*) from TickWindow group by symbol;\n";
+                break;
+            default:
+                throw new IllegalArgumentException("Unrecognized module '" + module + "'");
+        }
+    }
+
+    @Benchmark
+    public EPCompiled compile() throws EPCompileException {
+        return compiler.compile(epl, new CompilerArguments(configuration));
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks;
+
+import com.espertech.esper.runtime.client.EPRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Inserts into the time window, length window and sort window.
+ * <p>
+ * Each event advances time by one millisecond so that all windows are at steady state, with each insert
+ * also expiring an event.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DataWindowBenchmark {
+    private static final int NUM_EVENTS = 4096;
+
+    @Param({"time", "length", "sort"})
+    private String window;
+
+    @Param({"1000", "100000"})
+    private int windowSize;
+
+    private EPRuntime runtime;
+    private Tick[] ticks;
+    private long time;
+    private int index;
+
+    @Setup
+    public void setup() {
+        runtime = BenchmarkUtil.makeRuntime(DataWindowBenchmark.class, BenchmarkUtil.getConfiguration());
+        String view;
+        switch (window) {
+            case "time":
+                view = "#time(" + windowSize + " msec)";
+                break;
+            case "length":
+                view = "#length(" + windowSize + ")";
+                break;
+            case "sort":
+                view = "#sort(" + windowSize + ", price)";
+                break;
+            default:
+                throw new IllegalArgumentException("Unrecognized window '" + window + "'");
+        }
+        BenchmarkUtil.compileDeploy(runtime, "select * from Tick" + view);
+        ticks = BenchmarkUtil.makeTicks(NUM_EVENTS, 100);
+
+        // fill the window
+        for (int i = 0; i < windowSize; i++) {
+            sendEvent();
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        runtime.destroy();
+    }
+
+    @Benchmark
+    public void sendEvent() {
+        runtime.getEventService().advanceTime(++time);
+        runtime.getEventService().sendEventBean(ticks[index++ & (NUM_EVENTS - 1)], "Tick");
+    }
+}
@@ -0,0 +1,100 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.util.FilterServiceProfile;
+import com.espertech.esper.common.internal.collection.ArrayBackedCollection;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+import com.espertech.esper.common.internal.filtersvc.FilterService;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceLockFine;
+import com.espertech.esper.runtime.internal.kernel.service.EPEventServiceExprEvaluatorContext;
+import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
+import com.espertech.esper.runtime.internal.kernel.service.EPServicesContext;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Filter matching against N statements each with an equals and a range filter, through the fine-grained-lock
+ * filter service ({@link FilterServiceProfile#READWRITE}).
+ * <p>
+ * The "evaluate" benchmark only measures filter matching, the "sendEvent" benchmark measures the complete
+ * event processing path including statement processing.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class FilterServiceBenchmark {
+    private static final int NUM_EVENTS = 4096;
+
+    @Param({"10", "100", "1000"})
+    private int numStatements;
+
+    private EPRuntime runtime;
+    private FilterService filterService;
+    private ExprEvaluatorContext exprEvaluatorContext;
+    private ArrayBackedCollection<FilterHandle> matches;
+    private Tick[] ticks;
+    private EventBean[] events;
+    private int index;
+
+    @Setup
+    public void setup() {
+        Configuration configuration = BenchmarkUtil.getConfiguration();
+        configuration.getRuntime().getExecution().setFilterServiceProfile(FilterServiceProfile.READWRITE);
+        runtime = BenchmarkUtil.makeRuntime(FilterServiceBenchmark.class, configuration);
+
+        StringBuilder epl = new StringBuilder();
+        for (int i = 0; i < numStatements; i++) {
+            epl.append("select * from Tick(symbol='S").append(i).append("', price > ").append(i % 100).append(");\n");
+        }
+        BenchmarkUtil.compileDeploy(runtime, epl.toString());
+
+        EPServicesContext services = ((EPRuntimeSPI) runtime).getServicesContext();
+        filterService = services.getFilterService();
+        if (!(filterService instanceof FilterServiceLockFine)) {
+            throw new IllegalStateException("Unexpected filter service " + filterService.getClass().getName());
+        }
+        exprEvaluatorContext = new EPEventServiceExprEvaluatorContext(runtime.getURI(), services.getEventBeanService(), services.getExceptionHandlingService(), services.getSchedulingService());
+        matches = new ArrayBackedCollection<>(100);
+
+        ticks = BenchmarkUtil.makeTicks(NUM_EVENTS, numStatements);
+        events = new EventBean[NUM_EVENTS];
+        for (int i = 0; i < NUM_EVENTS; i++) {
+            events[i] = services.getEventTypeResolvingBeanFactory().adapterForBean(ticks[i], "Tick");
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        runtime.destroy();
+    }
+
+    @Benchmark
+    public int evaluate() {
+        matches.clear();
+        filterService.evaluate(events[index++ & (NUM_EVENTS - 1)], matches, exprEvaluatorContext);
+        return matches.size();
+    }
+
+    @Benchmark
+    public void sendEvent() {
+        runtime.getEventService().sendEventBean(ticks[index++ & (NUM_EVENTS - 1)], "Tick");
+    }
+}
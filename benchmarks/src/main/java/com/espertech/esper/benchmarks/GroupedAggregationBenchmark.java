@@ -0,0 +1,53 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks;
+
+import com.espertech.esper.runtime.client.EPRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grouped aggregation through the generated aggregation service, for a number of groups.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class GroupedAggregationBenchmark {
+    private static final int NUM_EVENTS = 65536;
+
+    @Param({"10", "1000", "100000"})
+    private int numGroups;
+
+    private EPRuntime runtime;
+    private Tick[] ticks;
+    private int index;
+
+    @Setup
+    public void setup() {
+        runtime = BenchmarkUtil.makeRuntime(GroupedAggregationBenchmark.class, BenchmarkUtil.getConfiguration());
+        BenchmarkUtil.compileDeploy(runtime, "select symbol, count(*), sum(price), avg(volume), max(price) from Tick group by symbol");
+        ticks = BenchmarkUtil.makeTicks(NUM_EVENTS, numGroups);
+    }
+
+    @TearDown
+    public void teardown() {
+        runtime.destroy();
+    }
+
+    @Benchmark
+    public void sendEvent() {
+        runtime.getEventService().sendEventBean(ticks[index++ & (NUM_EVENTS - 1)], "Tick");
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks;
+
+import com.espertech.esper.runtime.client.EPRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sends Json events from UTF-8 bytes, such as read from a socket or a message broker.
+ * <p>
+ * The "string" path decodes the bytes into a String and sends the String, the "bytes" path sends the bytes.
+ * The Json documents are pre-allocated so that only decoding, parsing and processing are measured.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonIngestBenchmark {
+    private static final int NUM_EVENTS = 4096;
+
+    @Param({"string", "bytes"})
+    private String path;
+
+    private EPRuntime runtime;
+    private byte[][] documents;
+    private int index;
+
+    @Setup
+    public void setup() {
+        runtime = BenchmarkUtil.makeRuntime(JsonIngestBenchmark.class, BenchmarkUtil.getConfiguration());
+        BenchmarkUtil.compileDeploy(runtime, "@public @buseventtype create json schema JsonTick(symbol string, price double, volume long, venue string, flags int[]);\n" +
+            "select symbol, sum(volume) from JsonTick(price > 10) group by symbol");
+
+        Random random = new Random(1);
+        documents = new byte[NUM_EVENTS][];
+        for (int i = 0; i < NUM_EVENTS; i++) {
+            String json = "{\"symbol\":\"S" + random.nextInt(100) + "\",\"price\":" + random.nextInt(10000) / 100d +
+                ",\"volume\":" + random.nextInt(1000000) + ",\"venue\":\"XNAS\",\"flags\":[" + random.nextInt(8) + "," + random.nextInt(8) + "]}";
+            documents[i] = json.getBytes(StandardCharsets.UTF_8);
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        runtime.destroy();
+    }
+
+    @Benchmark
+    public void sendEvent() {
+        byte[] document = documents[index++ & (NUM_EVENTS - 1)];
+        if (path.equals("bytes")) {
+            runtime.getEventService().sendEventJson(document, 0, document.length, "JsonTick");
+        } else {
+            runtime.getEventService().sendEventJson(new String(document, StandardCharsets.UTF_8), "JsonTick");
+        }
+    }
+}
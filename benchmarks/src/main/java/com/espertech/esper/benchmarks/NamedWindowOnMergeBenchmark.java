@@ -0,0 +1,57 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks;
+
+import com.espertech.esper.runtime.client.EPRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Named window on-merge, updating the row for a key when present and inserting it otherwise, for a number of keys.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NamedWindowOnMergeBenchmark {
+    private static final int NUM_EVENTS = 65536;
+
+    @Param({"1000", "100000"})
+    private int numKeys;
+
+    private EPRuntime runtime;
+    private Tick[] ticks;
+    private int index;
+
+    @Setup
+    public void setup() {
+        runtime = BenchmarkUtil.makeRuntime(NamedWindowOnMergeBenchmark.class, BenchmarkUtil.getConfiguration());
+        String epl = "create window TickWindow#keepall as (symbol string, price double, volume long);\n" +
+            "on Tick as t merge TickWindow as w where w.symbol = t.symbol\n" +
+            "  when matched then update set price = t.price, volume = w.volume + t.volume\n" +
+            "  when not matched then insert select symbol, price, volume;\n";
+        BenchmarkUtil.compileDeploy(runtime, epl);
+        ticks = BenchmarkUtil.makeTicks(NUM_EVENTS, numKeys);
+    }
+
+    @TearDown
+    public void teardown() {
+        runtime.destroy();
+    }
+
+    @Benchmark
+    public void sendEvent() {
+        runtime.getEventService().sendEventBean(ticks[index++ & (NUM_EVENTS - 1)], "Tick");
+    }
+}
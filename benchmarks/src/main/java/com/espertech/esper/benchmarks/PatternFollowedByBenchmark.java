@@ -0,0 +1,66 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks;
+
+import com.espertech.esper.runtime.client.EPRuntime;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pattern "every A -> B" evaluation for a number of outstanding pattern instances.
+ * <p>
+ * Each invocation sends a B event, completing an outstanding pattern instance, and an A event, starting a new one,
+ * so that the number of outstanding instances remains constant.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PatternFollowedByBenchmark {
+    @Param({"100", "10000"})
+    private int numOutstanding;
+
+    private EPRuntime runtime;
+    private Tick[] starts;
+    private Tick[] ends;
+    private int index;
+
+    @Setup
+    public void setup() {
+        runtime = BenchmarkUtil.makeRuntime(PatternFollowedByBenchmark.class, BenchmarkUtil.getConfiguration());
+        BenchmarkUtil.compileDeploy(runtime, "select * from pattern[every a=Tick(volume=0) -> b=Tick(volume=1, symbol=a.symbol)]");
+
+        starts = new Tick[numOutstanding];
+        ends = new Tick[numOutstanding];
+        for (int i = 0; i < numOutstanding; i++) {
+            starts[i] = new Tick("S" + i, i, 0);
+            ends[i] = new Tick("S" + i, i, 1);
+            runtime.getEventService().sendEventBean(starts[i], "Tick");
+        }
+    }
+
+    @TearDown
+    public void teardown() {
+        runtime.destroy();
+    }
+
+    @Benchmark
+    public void sendEvents() {
+        int current = index;
+        index = current + 1 == numOutstanding ? 0 : current + 1;
+        runtime.getEventService().sendEventBean(ends[current], "Tick");
+        runtime.getEventService().sendEventBean(starts[current], "Tick");
+    }
+}
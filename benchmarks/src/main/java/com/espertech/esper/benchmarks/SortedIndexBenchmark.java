@@ -0,0 +1,110 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.benchmarks;
+
+import com.espertech.esper.common.internal.collection.BTreeMap;
+import com.espertech.esper.common.internal.collection.BTreeMapKeyCodec;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Range lookups and inserts against the map underlying the sorted and composite indexes, comparing the B+-tree
+ * with primitive double keys ("btree"), the B+-tree with keys compared by natural ordering ("btreeboxed")
+ * and the red-black tree that the indexes used before ("treemap").
+ * <p>
+ * The "rangeLookup" benchmark iterates the values of a range of about {@code rangeWidth} keys, the
+ * "insertRemove" benchmark replaces one key, keeping the number of keys the same.
+ * </p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SortedIndexBenchmark {
+    private static final int NUM_LOOKUPS = 4096;
+
+    @Param({"btree", "btreeboxed", "treemap"})
+    private String implementation;
+
+    @Param({"10000", "1000000"})
+    private int numKeys;
+
+    @Param({"100"})
+    private int rangeWidth;
+
+    private Map<Object, Object> map;
+    private Double[] lookupStart;
+    private Double[] lookupEnd;
+    private Double[] inserted;
+    private int index;
+
+    @Setup
+    public void setup() {
+        if (implementation.equals("btree")) {
+            map = new BTreeMap<>(BTreeMapKeyCodec.DOUBLE);
+        } else if (implementation.equals("btreeboxed")) {
+            map = new BTreeMap<>();
+        } else if (implementation.equals("treemap")) {
+            map = new TreeMap<>();
+        } else {
+            throw new IllegalArgumentException("Unrecognized implementation '" + implementation + "'");
+        }
+
+        Random random = new Random(1);
+        inserted = new Double[numKeys];
+        for (int i = 0; i < numKeys; i++) {
+            inserted[i] = (double) i;
+            map.put(inserted[i], Boolean.TRUE);
+        }
+
+        lookupStart = new Double[NUM_LOOKUPS];
+        lookupEnd = new Double[NUM_LOOKUPS];
+        for (int i = 0; i < NUM_LOOKUPS; i++) {
+            double start = random.nextInt(Math.max(1, numKeys - rangeWidth));
+            lookupStart[i] = start;
+            lookupEnd[i] = start + rangeWidth;
+        }
+    }
+
+    @Benchmark
+    public int rangeLookup() {
+        int slot = index++ & (NUM_LOOKUPS - 1);
+        Map<Object, Object> range;
+        if (map instanceof BTreeMap) {
+            range = ((BTreeMap<Object>) map).subMap(lookupStart[slot], true, lookupEnd[slot], false);
+        } else {
+            range = ((TreeMap<Object, Object>) map).subMap(lookupStart[slot], true, lookupEnd[slot], false);
+        }
+        int count = 0;
+        for (Object value : range.values()) {
+            if (value != null) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Benchmark
+    public Object insertRemove() {
+        int slot = index++ % numKeys;
+        Double key = inserted[slot];
+        map.remove(key);
+        Double replacement = key + numKeys;
+        inserted[slot] = replacement;
+        return map.put(replacement, Boolean.TRUE);
+    }
+}
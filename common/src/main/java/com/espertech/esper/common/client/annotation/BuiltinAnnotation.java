@@ -26,7 +26,7 @@ public class BuiltinAnnotation {
 
     static {
         for (Class clazz : new Class[]{Audit.class, Description.class, Drop.class, EventRepresentation.class,
-            Hint.class, Hook.class, IterableUnbound.class, Name.class, NoLock.class, Priority.class, Tag.class
+            Hint.class, Hook.class, IterableUnbound.class, Name.class, NoLock.class, OffHeap.class, Priority.class, Tag.class
         }) {
             BUILTIN.put(clazz.getSimpleName().toLowerCase(Locale.ENGLISH), clazz);
         }
@@ -61,6 +61,28 @@ public enum HintEnum {
      */
     DISABLE_WINDOW_SUBQUERY_INDEXSHARE("DISABLE_WINDOW_SUBQUERY_INDEXSHARE", false, false, false),
 
+    /**
+     * For use with create-named-window statements only, to indicate that fire-and-forget queries, iteration and
+     * full-scan subqueries read a consistent version of the named window contents without taking the named window lock.
+     * <p>
+     * Such readers do not use named window indexes and do not wait for, or delay, writers to the named window.
+     * Not applicable to batch data windows, virtual data windows and off-heap named windows.
+     * </p>
+     */
+    ENABLE_WINDOW_SNAPSHOT_READ("ENABLE_WINDOW_SNAPSHOT_READ", false, false, false),
+
+    /**
+     * For use with fully-aggregated and ungrouped fire-and-forget queries against a single named window, to indicate
+     * that a prepared query maintains its aggregation result from the insert and remove stream of the named window.
+     * <p>
+     * The first execution scans the named window, further executions return the maintained result without a scan.
+     * The filter, where-clause and aggregated values are evaluated when events enter and leave the named window
+     * and may not depend on non-constant variables, the current time or plug-in single-row functions.
+     * Setting a substitution parameter to a different value discards the maintained result.
+     * </p>
+     */
+    ENABLE_FAF_INCREMENTAL("ENABLE_FAF_INCREMENTAL", false, false, false),
+
     /**
      * For use with subqueries and on-select, on-merge, on-update and on-delete to specify the query neither
      * build an implicit index nor use an existing index, always performing a full table scan.
@@ -121,7 +143,12 @@ public enum HintEnum {
     /**
      * For use with named window to silent-delete.
      */
-    SILENT_DELETE("SILENT_DELETE", false, false, false);
+    SILENT_DELETE("SILENT_DELETE", false, false, false),
+
+    /**
+     * For use with keyed segmented contexts, for aggregating statements to share a single statement instance across partitions.
+     */
+    CONTEXT_FLYWEIGHT("CONTEXT_FLYWEIGHT", false, false, false);
 
     private final String value;
     private final boolean acceptsParameters;
@@ -0,0 +1,36 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.client.annotation;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+/**
+ * Annotation for use with create-window to keep the rows of the named window serialized in off-heap memory segments.
+ * <p>
+ * The named window holds small handles that materialize the event from its segment when accessed,
+ * and indexes of the named window refer to such handles. When an event leaves the named window its handle
+ * materializes the event on the heap and the segment space becomes reusable.
+ * </p>
+ * <p>
+ * Applicable to named windows of a map or object-array event type without event-typed properties,
+ * whose property values are built-in types or serializable.
+ * </p>
+ */
+@Retention(RetentionPolicy.RUNTIME)
+public @interface OffHeap {
+    /**
+     * Size in bytes of each off-heap memory segment, the default is one megabyte.
+     *
+     * @return segment size
+     */
+    public int segmentSize() default 1048576;
+}
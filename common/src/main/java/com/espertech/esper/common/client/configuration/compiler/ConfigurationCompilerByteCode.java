@@ -41,6 +41,9 @@ public class ConfigurationCompilerByteCode implements Serializable {
     private int threadPoolCompilerNumThreads = 8;
     private Integer threadPoolCompilerCapacity = null;
     private int maxMethodsPerClass = 16 * 1024; // constant pool is 64k, the default is a quarter of the constant pool
+    private CodegenBackend codegenBackend = CodegenBackend.SOURCE;
+    private String compileCacheDirectory = null;
+    private long compileCacheMaxSize = 256 * 1024 * 1024;
 
     /**
      * Set all access modifiers to public.
@@ -419,9 +422,82 @@ public class ConfigurationCompilerByteCode implements Serializable {
         this.allowInlinedClass = allowInlinedClass;
     }
 
+    /**
+     * Returns the setting instructing the compiler how to produce byte code from the generated code model (default is SOURCE).
+     *
+     * @return backend
+     */
+    public CodegenBackend getCodegenBackend() {
+        return codegenBackend;
+    }
+
+    /**
+     * Sets the setting instructing the compiler how to produce byte code from the generated code model (default is SOURCE).
+     *
+     * @param codegenBackend backend
+     */
+    public void setCodegenBackend(CodegenBackend codegenBackend) {
+        this.codegenBackend = codegenBackend;
+    }
+
+    /**
+     * Returns the directory of the persistent compile cache, or null when the compiler does not use a compile cache (the default).
+     *
+     * @return directory or null
+     */
+    public String getCompileCacheDirectory() {
+        return compileCacheDirectory;
+    }
+
+    /**
+     * Sets the directory of the persistent compile cache, or null when the compiler does not use a compile cache (the default).
+     * <p>
+     * When set, the compiler stores compiled modules in the directory keyed by a hash of the module text, the configuration
+     * and the path, and returns the stored module instead of compiling when the key matches.
+     * </p>
+     *
+     * @param compileCacheDirectory directory or null
+     */
+    public void setCompileCacheDirectory(String compileCacheDirectory) {
+        this.compileCacheDirectory = compileCacheDirectory;
+    }
+
+    /**
+     * Returns the maximum size in bytes of the compile cache directory, the least recently used entries are removed when exceeded.
+     *
+     * @return maximum size in bytes
+     */
+    public long getCompileCacheMaxSize() {
+        return compileCacheMaxSize;
+    }
+
+    /**
+     * Sets the maximum size in bytes of the compile cache directory, the least recently used entries are removed when exceeded.
+     *
+     * @param compileCacheMaxSize maximum size in bytes
+     */
+    public void setCompileCacheMaxSize(long compileCacheMaxSize) {
+        this.compileCacheMaxSize = compileCacheMaxSize;
+    }
+
     private void checkModifier(NameAccessModifier modifier) {
         if (!modifier.isModuleProvidedAccessModifier()) {
             throw new ConfigurationException("Access modifier configuration allows private, protected or public");
         }
     }
+
+    /**
+     * Controls how the compiler produces byte code from the generated code model.
+     */
+    public enum CodegenBackend {
+        /**
+         * Render Java source code and compile the source code (the default)
+         */
+        SOURCE,
+
+        /**
+         * Build the syntax tree for byte code generation directly from the code model, without rendering and parsing source code
+         */
+        DIRECT
+    }
 }
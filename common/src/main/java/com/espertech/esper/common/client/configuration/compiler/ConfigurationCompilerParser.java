@@ -209,6 +209,18 @@ public class ConfigurationCompilerParser {
         parseOptionalInteger(element, "threadpool-compiler-capacity", codegen::setThreadPoolCompilerCapacity);
         parseOptionalInteger(element, "max-methods-per-class", codegen::setMaxMethodsPerClass);
         parseOptionalBoolean(element, "allow-inlined-class", codegen::setAllowInlinedClass);
+        String codegenBackendStr = getOptionalAttribute(element, "codegen-backend");
+        if (codegenBackendStr != null) {
+            codegen.setCodegenBackend(ConfigurationCompilerByteCode.CodegenBackend.valueOf(codegenBackendStr.toUpperCase(Locale.ENGLISH)));
+        }
+        String compileCacheDirectory = getOptionalAttribute(element, "compile-cache-directory");
+        if (compileCacheDirectory != null) {
+            codegen.setCompileCacheDirectory(compileCacheDirectory);
+        }
+        String compileCacheMaxSize = getOptionalAttribute(element, "compile-cache-max-size");
+        if (compileCacheMaxSize != null) {
+            codegen.setCompileCacheMaxSize(Long.parseLong(compileCacheMaxSize));
+        }
 
         parseOptionalAccessMod(element, "access-modifier-context", codegen::setAccessModifierContext);
         parseOptionalAccessMod(element, "access-modifier-event-type", codegen::setAccessModifierEventType);
@@ -11,6 +11,7 @@
 package com.espertech.esper.common.client.configuration.runtime;
 
 import com.espertech.esper.common.client.util.FilterServiceProfile;
+import com.espertech.esper.common.client.util.SchedulingServiceProfile;
 
 import java.io.Serializable;
 
@@ -24,7 +25,9 @@ public class ConfigurationRuntimeExecution implements Serializable {
     private boolean fairlock;
     private boolean disableLocking;
     private FilterServiceProfile filterServiceProfile = FilterServiceProfile.READMOSTLY;
+    private SchedulingServiceProfile schedulingServiceProfile = SchedulingServiceProfile.SORTED;
     private int declaredExprValueCacheSize = 1;
+    private boolean filterServiceCompiled;
 
     /**
      * Ctor - sets up defaults.
@@ -111,6 +114,24 @@ public class ConfigurationRuntimeExecution implements Serializable {
         this.filterServiceProfile = filterServiceProfile;
     }
 
+    /**
+     * Returns the scheduling service profile for tuning the keeping and evaluation of schedules.
+     *
+     * @return scheduling service profile
+     */
+    public SchedulingServiceProfile getSchedulingServiceProfile() {
+        return schedulingServiceProfile;
+    }
+
+    /**
+     * Set the scheduling service profile for tuning the keeping and evaluation of schedules.
+     *
+     * @param schedulingServiceProfile scheduling service profile
+     */
+    public void setSchedulingServiceProfile(SchedulingServiceProfile schedulingServiceProfile) {
+        this.schedulingServiceProfile = schedulingServiceProfile;
+    }
+
     /**
      * Returns the cache size for declared expression values
      *
@@ -128,4 +149,26 @@ public class ConfigurationRuntimeExecution implements Serializable {
     public void setDeclaredExprValueCacheSize(int declaredExprValueCacheSize) {
         this.declaredExprValueCacheSize = declaredExprValueCacheSize;
     }
+
+    /**
+     * Returns indicator whether the filter service compiles the filter tree of an event type into a flattened evaluation plan.
+     *
+     * @return compiled filter evaluation indicator, default is false
+     */
+    public boolean isFilterServiceCompiled() {
+        return filterServiceCompiled;
+    }
+
+    /**
+     * Sets indicator whether the filter service compiles the filter tree of an event type into a flattened evaluation plan.
+     * <p>
+     *     When enabled, the filter service builds the plan in the background once the filters for an event type
+     *     remain unchanged, and evaluates events using the filter tree while the plan is being built.
+     * </p>
+     *
+     * @param filterServiceCompiled compiled filter evaluation indicator
+     */
+    public void setFilterServiceCompiled(boolean filterServiceCompiled) {
+        this.filterServiceCompiled = filterServiceCompiled;
+    }
 }
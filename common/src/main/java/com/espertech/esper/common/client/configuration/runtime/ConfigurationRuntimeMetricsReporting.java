@@ -28,6 +28,7 @@ import java.util.Map;
 public class ConfigurationRuntimeMetricsReporting implements Serializable {
     private boolean jmxRuntimeMetrics;
     private boolean enableMetricsReporting;
+    private boolean enableLatencyHistogram;
     private boolean isThreading;
     private long runtimeInterval;
     private long statementInterval;
@@ -167,6 +168,28 @@ public class ConfigurationRuntimeMetricsReporting implements Serializable {
         this.jmxRuntimeMetrics = jmxRuntimeMetrics;
     }
 
+    /**
+     * Returns true if statement metrics carry a latency histogram, false (default) if not.
+     *
+     * @return indicator whether latency histograms are kept for statements
+     */
+    public boolean isEnableLatencyHistogram() {
+        return enableLatencyHistogram;
+    }
+
+    /**
+     * Set to true to have the runtime keep a latency histogram per statement and report the percentiles
+     * as part of statement metrics, or false to report totals only (default).
+     * <p>
+     * The histogram records the wall time of each statement dispatch and requires metrics reporting to be enabled.
+     * </p>
+     *
+     * @param enableLatencyHistogram indicator whether latency histograms are kept for statements
+     */
+    public void setEnableLatencyHistogram(boolean enableLatencyHistogram) {
+        this.enableLatencyHistogram = enableLatencyHistogram;
+    }
+
     /**
      * Sets a new interval for a statement group identified by name.
      *
@@ -12,9 +12,11 @@ package com.espertech.esper.common.client.configuration.runtime;
 
 import com.espertech.esper.common.client.configuration.ConfigurationException;
 import com.espertech.esper.common.client.util.FilterServiceProfile;
+import com.espertech.esper.common.client.util.SchedulingServiceProfile;
 import com.espertech.esper.common.client.util.Locking;
 import com.espertech.esper.common.client.util.TimeSourceType;
 import com.espertech.esper.common.client.util.UndeployRethrowPolicy;
+import com.espertech.esper.common.client.util.WaitStrategy;
 import com.espertech.esper.common.internal.collection.Pair;
 import com.espertech.esper.common.internal.type.StringPatternSet;
 import com.espertech.esper.common.internal.type.StringPatternSetLike;
@@ -78,6 +80,7 @@ public class ConfigurationRuntimeParser {
         parseOptionalBoolean(parentElement, "prioritized", b -> runtime.getExecution().setPrioritized(b));
         parseOptionalBoolean(parentElement, "fairlock", b -> runtime.getExecution().setFairlock(b));
         parseOptionalBoolean(parentElement, "disable-locking", b -> runtime.getExecution().setDisableLocking(b));
+        parseOptionalBoolean(parentElement, "filter-service-compiled", b -> runtime.getExecution().setFilterServiceCompiled(b));
 
         String filterServiceProfileStr = getOptionalAttribute(parentElement, "filter-service-profile");
         if (filterServiceProfileStr != null) {
@@ -85,6 +88,12 @@ public class ConfigurationRuntimeParser {
             runtime.getExecution().setFilterServiceProfile(profile);
         }
 
+        String schedulingServiceProfileStr = getOptionalAttribute(parentElement, "scheduling-service-profile");
+        if (schedulingServiceProfileStr != null) {
+            SchedulingServiceProfile profile = SchedulingServiceProfile.valueOf(schedulingServiceProfileStr.toUpperCase(Locale.ENGLISH));
+            runtime.getExecution().setSchedulingServiceProfile(profile);
+        }
+
         String declExprValueCacheSizeStr = getOptionalAttribute(parentElement, "declared-expr-value-cache-size");
         if (declExprValueCacheSizeStr != null) {
             runtime.getExecution().setDeclaredExprValueCacheSize(Integer.parseInt(declExprValueCacheSizeStr));
@@ -170,6 +179,8 @@ public class ConfigurationRuntimeParser {
             runtime.getMetricsReporting().setJmxRuntimeMetrics(Boolean.parseBoolean(jmxRuntimeMetrics));
         }
 
+        parseOptionalBoolean(element, "latency-histogram", b -> runtime.getMetricsReporting().setEnableLatencyHistogram(b));
+
         DOMElementIterator nodeIterator = new DOMElementIterator(element.getChildNodes());
         while (nodeIterator.hasNext()) {
             Element subElement = nodeIterator.next();
@@ -327,24 +338,51 @@ public class ConfigurationRuntimeParser {
                 runtime.getThreading().setThreadPoolInbound(result.isEnabled());
                 runtime.getThreading().setThreadPoolInboundNumThreads(result.getNumThreads());
                 runtime.getThreading().setThreadPoolInboundCapacity(result.getCapacity());
+                runtime.getThreading().setThreadPoolInboundVirtualThreads(result.isVirtualThreads());
+                runtime.getThreading().setThreadPoolInboundRingBuffer(result.isRingBuffer());
+                String shardedStr = getOptionalAttribute(subElement, "sharded");
+                if (shardedStr != null) {
+                    runtime.getThreading().setThreadPoolInboundSharded(Boolean.parseBoolean(shardedStr));
+                }
+                if (result.getWaitStrategy() != null) {
+                    runtime.getThreading().setThreadPoolInboundWaitStrategy(result.getWaitStrategy());
+                }
             }
             if (subElement.getNodeName().equals("threadpool-outbound")) {
                 ThreadPoolConfig result = parseThreadPoolConfig(subElement);
                 runtime.getThreading().setThreadPoolOutbound(result.isEnabled());
                 runtime.getThreading().setThreadPoolOutboundNumThreads(result.getNumThreads());
                 runtime.getThreading().setThreadPoolOutboundCapacity(result.getCapacity());
+                runtime.getThreading().setThreadPoolOutboundVirtualThreads(result.isVirtualThreads());
+                runtime.getThreading().setThreadPoolOutboundRingBuffer(result.isRingBuffer());
+                if (result.getWaitStrategy() != null) {
+                    runtime.getThreading().setThreadPoolOutboundWaitStrategy(result.getWaitStrategy());
+                }
             }
             if (subElement.getNodeName().equals("threadpool-timerexec")) {
                 ThreadPoolConfig result = parseThreadPoolConfig(subElement);
                 runtime.getThreading().setThreadPoolTimerExec(result.isEnabled());
                 runtime.getThreading().setThreadPoolTimerExecNumThreads(result.getNumThreads());
                 runtime.getThreading().setThreadPoolTimerExecCapacity(result.getCapacity());
+                runtime.getThreading().setThreadPoolTimerExecVirtualThreads(result.isVirtualThreads());
             }
             if (subElement.getNodeName().equals("threadpool-routeexec")) {
                 ThreadPoolConfig result = parseThreadPoolConfig(subElement);
                 runtime.getThreading().setThreadPoolRouteExec(result.isEnabled());
                 runtime.getThreading().setThreadPoolRouteExecNumThreads(result.getNumThreads());
                 runtime.getThreading().setThreadPoolRouteExecCapacity(result.getCapacity());
+                runtime.getThreading().setThreadPoolRouteExecVirtualThreads(result.isVirtualThreads());
+                runtime.getThreading().setThreadPoolRouteExecRingBuffer(result.isRingBuffer());
+                if (result.getWaitStrategy() != null) {
+                    runtime.getThreading().setThreadPoolRouteExecWaitStrategy(result.getWaitStrategy());
+                }
+            }
+            if (subElement.getNodeName().equals("threadpool-deployment")) {
+                runtime.getThreading().setThreadPoolDeployment(Boolean.parseBoolean(getRequiredAttribute(subElement, "enabled")));
+                String numThreadsStr = getOptionalAttribute(subElement, "num-threads");
+                if (numThreadsStr != null) {
+                    runtime.getThreading().setThreadPoolDeploymentNumThreads(Integer.parseInt(numThreadsStr));
+                }
             }
         }
     }
@@ -393,7 +431,19 @@ public class ConfigurationRuntimeParser {
             capacity = Integer.parseInt(capacityStr);
         }
 
-        return new ThreadPoolConfig(isEnabled, numThreads, capacity);
+        String virtualThreadsStr = getOptionalAttribute(parentElement, "virtual-threads");
+        boolean virtualThreads = virtualThreadsStr != null && Boolean.parseBoolean(virtualThreadsStr);
+
+        String ringBufferStr = getOptionalAttribute(parentElement, "ring-buffer");
+        boolean ringBuffer = ringBufferStr != null && Boolean.parseBoolean(ringBufferStr);
+
+        String waitStrategyStr = getOptionalAttribute(parentElement, "wait-strategy");
+        WaitStrategy waitStrategy = null;
+        if (waitStrategyStr != null) {
+            waitStrategy = WaitStrategy.valueOf(waitStrategyStr.toUpperCase(Locale.ENGLISH));
+        }
+
+        return new ThreadPoolConfig(isEnabled, numThreads, capacity, virtualThreads, ringBuffer, waitStrategy);
     }
 
     private static void handleMetricsReportingPatterns(ConfigurationRuntimeMetricsReporting.StmtGroupMetrics groupDef, Element parentElement) {
@@ -436,11 +486,17 @@ public class ConfigurationRuntimeParser {
         private boolean enabled;
         private int numThreads;
         private Integer capacity;
+        private boolean virtualThreads;
+        private boolean ringBuffer;
+        private WaitStrategy waitStrategy;
 
-        public ThreadPoolConfig(boolean enabled, int numThreads, Integer capacity) {
+        public ThreadPoolConfig(boolean enabled, int numThreads, Integer capacity, boolean virtualThreads, boolean ringBuffer, WaitStrategy waitStrategy) {
             this.enabled = enabled;
             this.numThreads = numThreads;
             this.capacity = capacity;
+            this.virtualThreads = virtualThreads;
+            this.ringBuffer = ringBuffer;
+            this.waitStrategy = waitStrategy;
         }
 
         public boolean isEnabled() {
@@ -454,5 +510,17 @@ public class ConfigurationRuntimeParser {
         public Integer getCapacity() {
             return capacity;
         }
+
+        public boolean isVirtualThreads() {
+            return virtualThreads;
+        }
+
+        public boolean isRingBuffer() {
+            return ringBuffer;
+        }
+
+        public WaitStrategy getWaitStrategy() {
+            return waitStrategy;
+        }
     }
 }
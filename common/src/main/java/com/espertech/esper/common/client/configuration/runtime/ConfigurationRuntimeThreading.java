@@ -11,6 +11,7 @@
 package com.espertech.esper.common.client.configuration.runtime;
 
 import com.espertech.esper.common.client.util.Locking;
+import com.espertech.esper.common.client.util.WaitStrategy;
 
 import java.io.Serializable;
 
@@ -47,9 +48,23 @@ public class ConfigurationRuntimeThreading implements Serializable {
     private Integer threadPoolInboundCapacity;
     private Integer threadPoolRouteExecCapacity;
     private Integer threadPoolOutboundCapacity;
+    private boolean threadPoolTimerExecVirtualThreads;
+    private boolean threadPoolInboundVirtualThreads;
+    private boolean threadPoolRouteExecVirtualThreads;
+    private boolean threadPoolOutboundVirtualThreads;
+    private boolean threadPoolInboundRingBuffer;
+    private boolean threadPoolRouteExecRingBuffer;
+    private boolean threadPoolOutboundRingBuffer;
+    private boolean threadPoolInboundSharded;
+    private WaitStrategy threadPoolInboundWaitStrategy = WaitStrategy.PARK;
+    private WaitStrategy threadPoolRouteExecWaitStrategy = WaitStrategy.PARK;
+    private WaitStrategy threadPoolOutboundWaitStrategy = WaitStrategy.PARK;
 
     private boolean runtimeFairlock;
 
+    private boolean isThreadPoolDeployment;
+    private int threadPoolDeploymentNumThreads;
+
     /**
      * Ctor - sets up defaults.
      */
@@ -78,6 +93,9 @@ public class ConfigurationRuntimeThreading implements Serializable {
         threadPoolInboundNumThreads = 2;
         threadPoolRouteExecNumThreads = 2;
         threadPoolOutboundNumThreads = 2;
+
+        isThreadPoolDeployment = false;
+        threadPoolDeploymentNumThreads = Runtime.getRuntime().availableProcessors();
     }
 
     /**
@@ -463,6 +481,241 @@ public class ConfigurationRuntimeThreading implements Serializable {
         this.threadPoolOutboundCapacity = capacity;
     }
 
+    /**
+     * Returns true if the timer execution thread pool uses virtual threads, or false for platform threads (default).
+     *
+     * @return indicator whether virtual threads are used
+     */
+    public boolean isThreadPoolTimerExecVirtualThreads() {
+        return threadPoolTimerExecVirtualThreads;
+    }
+
+    /**
+     * Set to true to have the timer execution thread pool use virtual threads rather then platform threads.
+     * <p>
+     * The number of threads and the queue capacity keep their meaning. Requires a Java runtime that provides
+     * virtual threads, otherwise the runtime logs a warning and uses platform threads.
+     * </p>
+     *
+     * @param virtualThreads indicator whether virtual threads are used
+     */
+    public void setThreadPoolTimerExecVirtualThreads(boolean virtualThreads) {
+        this.threadPoolTimerExecVirtualThreads = virtualThreads;
+    }
+
+    /**
+     * Returns true if the inbound thread pool uses virtual threads, or false for platform threads (default).
+     *
+     * @return indicator whether virtual threads are used
+     */
+    public boolean isThreadPoolInboundVirtualThreads() {
+        return threadPoolInboundVirtualThreads;
+    }
+
+    /**
+     * Set to true to have the inbound thread pool use virtual threads rather then platform threads.
+     * <p>
+     * The number of threads and the queue capacity keep their meaning. Requires a Java runtime that provides
+     * virtual threads, otherwise the runtime logs a warning and uses platform threads.
+     * </p>
+     *
+     * @param virtualThreads indicator whether virtual threads are used
+     */
+    public void setThreadPoolInboundVirtualThreads(boolean virtualThreads) {
+        this.threadPoolInboundVirtualThreads = virtualThreads;
+    }
+
+    /**
+     * Returns true if the route execution thread pool uses virtual threads, or false for platform threads (default).
+     *
+     * @return indicator whether virtual threads are used
+     */
+    public boolean isThreadPoolRouteExecVirtualThreads() {
+        return threadPoolRouteExecVirtualThreads;
+    }
+
+    /**
+     * Set to true to have the route execution thread pool use virtual threads rather then platform threads.
+     * <p>
+     * The number of threads and the queue capacity keep their meaning. Requires a Java runtime that provides
+     * virtual threads, otherwise the runtime logs a warning and uses platform threads.
+     * </p>
+     *
+     * @param virtualThreads indicator whether virtual threads are used
+     */
+    public void setThreadPoolRouteExecVirtualThreads(boolean virtualThreads) {
+        this.threadPoolRouteExecVirtualThreads = virtualThreads;
+    }
+
+    /**
+     * Returns true if the outbound thread pool uses virtual threads, or false for platform threads (default).
+     *
+     * @return indicator whether virtual threads are used
+     */
+    public boolean isThreadPoolOutboundVirtualThreads() {
+        return threadPoolOutboundVirtualThreads;
+    }
+
+    /**
+     * Set to true to have the outbound thread pool use virtual threads rather then platform threads.
+     * <p>
+     * The number of threads and the queue capacity keep their meaning. Requires a Java runtime that provides
+     * virtual threads, otherwise the runtime logs a warning and uses platform threads.
+     * </p>
+     *
+     * @param virtualThreads indicator whether virtual threads are used
+     */
+    public void setThreadPoolOutboundVirtualThreads(boolean virtualThreads) {
+        this.threadPoolOutboundVirtualThreads = virtualThreads;
+    }
+
+    /**
+     * Returns true if the inbound thread pool hands off work through a pre-allocated ring buffer, or false for a queue and executor (default).
+     *
+     * @return indicator whether a ring buffer is used
+     */
+    public boolean isThreadPoolInboundRingBuffer() {
+        return threadPoolInboundRingBuffer;
+    }
+
+    /**
+     * Set to true to have the inbound thread pool hand off work through a pre-allocated ring buffer rather then a queue and executor.
+     * <p>
+     * The ring buffer reuses its slots and therefore does not allocate a work unit per event.
+     * The buffer is always bounded: the capacity is rounded up to a power of two of at least two and defaults to 8192 when no capacity is defined.
+     * Submitting threads wait for a free slot when the buffer is full, following the wait strategy.
+     * </p>
+     *
+     * @param ringBuffer indicator whether a ring buffer is used
+     */
+    public void setThreadPoolInboundRingBuffer(boolean ringBuffer) {
+        this.threadPoolInboundRingBuffer = ringBuffer;
+    }
+
+    /**
+     * Returns the wait strategy of the inbound ring buffer, applicable only when the ring buffer is used, the default is {@link WaitStrategy#PARK}.
+     *
+     * @return wait strategy
+     */
+    public WaitStrategy getThreadPoolInboundWaitStrategy() {
+        return threadPoolInboundWaitStrategy;
+    }
+
+    /**
+     * Sets the wait strategy of the inbound ring buffer, applicable only when the ring buffer is used.
+     *
+     * @param waitStrategy wait strategy
+     */
+    public void setThreadPoolInboundWaitStrategy(WaitStrategy waitStrategy) {
+        this.threadPoolInboundWaitStrategy = waitStrategy;
+    }
+
+    /**
+     * Returns true if the inbound thread pool assigns events to key-owned shards, or false to hand events to any pool thread (default).
+     *
+     * @return indicator whether inbound processing is sharded
+     */
+    public boolean isThreadPoolInboundSharded() {
+        return threadPoolInboundSharded;
+    }
+
+    /**
+     * Set to true to have the inbound thread pool assign events to key-owned shards, applicable only when the inbound thread pool is enabled.
+     * <p>
+     * Each of the inbound threads becomes the single owner of a shard and has its own queue or ring buffer.
+     * Events of a type that a started hash-segmented or keyed context partitions by are assigned to a shard
+     * by the context's hash function or key, so that all events for the same context partition are processed by the same thread and in the order they were sent.
+     * Other events are assigned to any shard.
+     * </p>
+     *
+     * @param sharded indicator whether inbound processing is sharded
+     */
+    public void setThreadPoolInboundSharded(boolean sharded) {
+        this.threadPoolInboundSharded = sharded;
+    }
+
+    /**
+     * Returns true if the route execution thread pool hands off work through a pre-allocated ring buffer, or false for a queue and executor (default).
+     *
+     * @return indicator whether a ring buffer is used
+     */
+    public boolean isThreadPoolRouteExecRingBuffer() {
+        return threadPoolRouteExecRingBuffer;
+    }
+
+    /**
+     * Set to true to have the route execution thread pool hand off work through a pre-allocated ring buffer rather then a queue and executor.
+     * <p>
+     * The ring buffer reuses its slots and therefore does not allocate a work unit per route.
+     * The buffer is always bounded: the capacity is rounded up to a power of two of at least two and defaults to 8192 when no capacity is defined.
+     * Submitting threads wait for a free slot when the buffer is full, following the wait strategy.
+     * </p>
+     *
+     * @param ringBuffer indicator whether a ring buffer is used
+     */
+    public void setThreadPoolRouteExecRingBuffer(boolean ringBuffer) {
+        this.threadPoolRouteExecRingBuffer = ringBuffer;
+    }
+
+    /**
+     * Returns the wait strategy of the route execution ring buffer, applicable only when the ring buffer is used, the default is {@link WaitStrategy#PARK}.
+     *
+     * @return wait strategy
+     */
+    public WaitStrategy getThreadPoolRouteExecWaitStrategy() {
+        return threadPoolRouteExecWaitStrategy;
+    }
+
+    /**
+     * Sets the wait strategy of the route execution ring buffer, applicable only when the ring buffer is used.
+     *
+     * @param waitStrategy wait strategy
+     */
+    public void setThreadPoolRouteExecWaitStrategy(WaitStrategy waitStrategy) {
+        this.threadPoolRouteExecWaitStrategy = waitStrategy;
+    }
+
+    /**
+     * Returns true if the outbound thread pool hands off work through a pre-allocated ring buffer, or false for a queue and executor (default).
+     *
+     * @return indicator whether a ring buffer is used
+     */
+    public boolean isThreadPoolOutboundRingBuffer() {
+        return threadPoolOutboundRingBuffer;
+    }
+
+    /**
+     * Set to true to have the outbound thread pool hand off work through a pre-allocated ring buffer rather then a queue and executor.
+     * <p>
+     * The ring buffer reuses its slots and therefore does not allocate a work unit per result delivery.
+     * The buffer is always bounded: the capacity is rounded up to a power of two of at least two and defaults to 8192 when no capacity is defined.
+     * Submitting threads wait for a free slot when the buffer is full, following the wait strategy.
+     * </p>
+     *
+     * @param ringBuffer indicator whether a ring buffer is used
+     */
+    public void setThreadPoolOutboundRingBuffer(boolean ringBuffer) {
+        this.threadPoolOutboundRingBuffer = ringBuffer;
+    }
+
+    /**
+     * Returns the wait strategy of the outbound ring buffer, applicable only when the ring buffer is used, the default is {@link WaitStrategy#PARK}.
+     *
+     * @return wait strategy
+     */
+    public WaitStrategy getThreadPoolOutboundWaitStrategy() {
+        return threadPoolOutboundWaitStrategy;
+    }
+
+    /**
+     * Sets the wait strategy of the outbound ring buffer, applicable only when the ring buffer is used.
+     *
+     * @param waitStrategy wait strategy
+     */
+    public void setThreadPoolOutboundWaitStrategy(WaitStrategy waitStrategy) {
+        this.threadPoolOutboundWaitStrategy = waitStrategy;
+    }
+
     /**
      * Returns true if the runtime-level lock is configured as a fair lock (default is false).
      * <p>
@@ -547,4 +800,44 @@ public class ConfigurationRuntimeThreading implements Serializable {
         this.namedWindowConsumerDispatchLocking = namedWindowConsumerDispatchLocking;
     }
 
+    /**
+     * Returns true for parallel deployment enabled, the default is false for not enabled.
+     * <p>
+     * When enabled, deployment loads the module's classes and initializes statements using a temporary pool of
+     * deployment threads. Statements that create EPL objects such as named windows, tables, contexts and variables
+     * are initialized in module order before any statement that follows them.
+     * </p>
+     *
+     * @return indicator whether parallel deployment is enabled
+     */
+    public boolean isThreadPoolDeployment() {
+        return isThreadPoolDeployment;
+    }
+
+    /**
+     * Set to true for parallel deployment enabled, the default is false for not enabled.
+     *
+     * @param threadPoolDeployment indicator whether parallel deployment is enabled
+     */
+    public void setThreadPoolDeployment(boolean threadPoolDeployment) {
+        isThreadPoolDeployment = threadPoolDeployment;
+    }
+
+    /**
+     * Returns the number of threads used for parallel deployment, the default is the number of available processors.
+     *
+     * @return number of threads
+     */
+    public int getThreadPoolDeploymentNumThreads() {
+        return threadPoolDeploymentNumThreads;
+    }
+
+    /**
+     * Sets the number of threads used for parallel deployment.
+     *
+     * @param num number of threads
+     */
+    public void setThreadPoolDeploymentNumThreads(int num) {
+        this.threadPoolDeploymentNumThreads = num;
+    }
 }
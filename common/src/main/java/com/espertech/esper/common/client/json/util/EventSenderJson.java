@@ -26,4 +26,15 @@ public interface EventSenderJson extends EventSender {
      * @throws com.espertech.esper.common.client.EPException when parsing the document failed
      */
     Object parse(String json);
+
+    /**
+     * Parses a UTF-8 encoded JSON document.
+     *
+     * @param json   bytes holding the document
+     * @param offset offset of the first byte of the document
+     * @param length number of bytes of the document
+     * @return event object
+     * @throws com.espertech.esper.common.client.EPException when parsing the document failed
+     */
+    Object parse(byte[] json, int offset, int length);
 }
@@ -0,0 +1,188 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.client.metric;
+
+import java.io.Serializable;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Log-bucketed histogram of latency values in nanoseconds, for use with statement metrics.
+ * <p>
+ * Each power of two is divided into 16 linear sub-buckets so that the value reported for a percentile is
+ * within about 6% of the actual value. The maximum value is kept exactly.
+ * </p>
+ * <p>
+ * Recording is thread-safe and lock-free. Histograms are mergeable, allowing histograms for multiple intervals or
+ * multiple statements to be combined.
+ * </p>
+ */
+public class LatencyHistogram implements Serializable {
+    private static final long serialVersionUID = -3446285632710542946L;
+
+    private static final int SUB_BUCKET_BITS = 4;
+    private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+    private static final int NUM_BUCKETS = (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT;
+
+    private final AtomicLongArray counts;
+    private final AtomicLong totalCount;
+    private final AtomicLong maxValue;
+
+    /**
+     * Ctor.
+     */
+    public LatencyHistogram() {
+        counts = new AtomicLongArray(NUM_BUCKETS);
+        totalCount = new AtomicLong();
+        maxValue = new AtomicLong();
+    }
+
+    /**
+     * Records a value. Negative values are recorded as zero.
+     *
+     * @param value latency in nanoseconds
+     */
+    public void recordValue(long value) {
+        if (value < 0) {
+            value = 0;
+        }
+        counts.incrementAndGet(bucketIndex(value));
+        totalCount.incrementAndGet();
+        long max = maxValue.get();
+        while (value > max) {
+            if (maxValue.compareAndSet(max, value)) {
+                break;
+            }
+            max = maxValue.get();
+        }
+    }
+
+    /**
+     * Adds the counts of another histogram to this histogram.
+     *
+     * @param other histogram to merge
+     */
+    public void merge(LatencyHistogram other) {
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            long count = other.counts.get(i);
+            if (count != 0) {
+                counts.addAndGet(i, count);
+            }
+        }
+        totalCount.addAndGet(other.totalCount.get());
+        long otherMax = other.maxValue.get();
+        long max = maxValue.get();
+        while (otherMax > max) {
+            if (maxValue.compareAndSet(max, otherMax)) {
+                break;
+            }
+            max = maxValue.get();
+        }
+    }
+
+    /**
+     * Returns the number of values recorded.
+     *
+     * @return count
+     */
+    public long getTotalCount() {
+        return totalCount.get();
+    }
+
+    /**
+     * Returns the maximum value recorded, or zero if no values were recorded.
+     *
+     * @return maximum latency in nanoseconds
+     */
+    public long getMaxValue() {
+        return maxValue.get();
+    }
+
+    /**
+     * Returns the value at the given percentile, being the upper bound of the bucket that contains the percentile
+     * and never more than the maximum value recorded. Returns zero if no values were recorded.
+     *
+     * @param percentile percentile between 0 and 100
+     * @return latency in nanoseconds
+     */
+    public long getValueAtPercentile(double percentile) {
+        long total = totalCount.get();
+        if (total == 0) {
+            return 0;
+        }
+        double bounded = Math.min(Math.max(percentile, 0d), 100d);
+        long rank = Math.max(1, (long) Math.ceil(bounded / 100d * total));
+        long max = maxValue.get();
+        long seen = 0;
+        for (int i = 0; i < NUM_BUCKETS; i++) {
+            seen += counts.get(i);
+            if (seen >= rank) {
+                return Math.min(bucketUpperBound(i), max);
+            }
+        }
+        return max;
+    }
+
+    /**
+     * Returns the 50th percentile (median).
+     *
+     * @return latency in nanoseconds
+     */
+    public long getP50() {
+        return getValueAtPercentile(50);
+    }
+
+    /**
+     * Returns the 99th percentile.
+     *
+     * @return latency in nanoseconds
+     */
+    public long getP99() {
+        return getValueAtPercentile(99);
+    }
+
+    /**
+     * Returns the 99.9th percentile.
+     *
+     * @return latency in nanoseconds
+     */
+    public long getP999() {
+        return getValueAtPercentile(99.9);
+    }
+
+    public String toString() {
+        return "LatencyHistogram{" +
+            "count=" + getTotalCount() +
+            ", p50=" + getP50() +
+            ", p99=" + getP99() +
+            ", p999=" + getP999() +
+            ", max=" + getMaxValue() +
+            '}';
+    }
+
+    static int bucketIndex(long value) {
+        if (value < SUB_BUCKET_COUNT) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKET_COUNT - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKET_COUNT + subBucket;
+    }
+
+    static long bucketUpperBound(int index) {
+        if (index < SUB_BUCKET_COUNT) {
+            return index;
+        }
+        int shift = index / SUB_BUCKET_COUNT - 1;
+        long lower = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+        return lower + (1L << shift) - 1;
+    }
+}
@@ -25,6 +25,8 @@ public class StatementMetric extends MetricEvent {
     private AtomicLong numInput;
     private AtomicLong numOutputRStream;
     private AtomicLong numOutputIStream;
+    private final boolean isLatencyHistogram;
+    private volatile LatencyHistogram latencyHistogram;
 
     /**
      * Ctor.
@@ -34,6 +36,18 @@ public class StatementMetric extends MetricEvent {
      * @param statementName statement name
      */
     public StatementMetric(String runtimeURI, String deploymentId, String statementName) {
+        this(runtimeURI, deploymentId, statementName, false);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param runtimeURI       runtime URI
+     * @param deploymentId     deployment id
+     * @param statementName    statement name
+     * @param latencyHistogram true to keep a latency histogram
+     */
+    public StatementMetric(String runtimeURI, String deploymentId, String statementName, boolean latencyHistogram) {
         super(runtimeURI);
         this.deploymentId = deploymentId;
         this.statementName = statementName;
@@ -42,6 +56,7 @@ public class StatementMetric extends MetricEvent {
         this.numOutputIStream = new AtomicLong();
         this.numOutputRStream = new AtomicLong();
         this.numInput = new AtomicLong();
+        this.isLatencyHistogram = latencyHistogram;
     }
 
     /**
@@ -169,4 +184,81 @@ public class StatementMetric extends MetricEvent {
     public void addNumInput(long numInputAdd) {
         numInput.addAndGet(numInputAdd);
     }
+
+    /**
+     * Records the wall time of a single statement dispatch, if a latency histogram is kept.
+     *
+     * @param wall wall time in nanoseconds
+     */
+    public void recordLatency(long wall) {
+        if (!isLatencyHistogram) {
+            return;
+        }
+        LatencyHistogram histogram = latencyHistogram;
+        if (histogram == null) {
+            // allocate on first sample so that statements without dispatches in the interval don't carry a histogram
+            synchronized (this) {
+                histogram = latencyHistogram;
+                if (histogram == null) {
+                    histogram = new LatencyHistogram();
+                    latencyHistogram = histogram;
+                }
+            }
+        }
+        histogram.recordValue(wall);
+    }
+
+    /**
+     * Returns the latency histogram of statement dispatches, or null if latency histograms are not enabled
+     * or no dispatch was recorded.
+     *
+     * @return histogram
+     */
+    public LatencyHistogram getLatencyHistogram() {
+        return latencyHistogram;
+    }
+
+    /**
+     * Returns the 50th percentile of statement dispatch wall time in nanoseconds,
+     * or zero if latency histograms are not enabled or no dispatch was recorded.
+     *
+     * @return p50 latency
+     */
+    public long getLatencyP50() {
+        LatencyHistogram histogram = latencyHistogram;
+        return histogram == null ? 0 : histogram.getP50();
+    }
+
+    /**
+     * Returns the 99th percentile of statement dispatch wall time in nanoseconds,
+     * or zero if latency histograms are not enabled or no dispatch was recorded.
+     *
+     * @return p99 latency
+     */
+    public long getLatencyP99() {
+        LatencyHistogram histogram = latencyHistogram;
+        return histogram == null ? 0 : histogram.getP99();
+    }
+
+    /**
+     * Returns the 99.9th percentile of statement dispatch wall time in nanoseconds,
+     * or zero if latency histograms are not enabled or no dispatch was recorded.
+     *
+     * @return p999 latency
+     */
+    public long getLatencyP999() {
+        LatencyHistogram histogram = latencyHistogram;
+        return histogram == null ? 0 : histogram.getP999();
+    }
+
+    /**
+     * Returns the maximum statement dispatch wall time in nanoseconds,
+     * or zero if latency histograms are not enabled or no dispatch was recorded.
+     *
+     * @return maximum latency
+     */
+    public long getLatencyMax() {
+        LatencyHistogram histogram = latencyHistogram;
+        return histogram == null ? 0 : histogram.getMaxValue();
+    }
 }
@@ -22,5 +22,13 @@ public enum FilterServiceProfile {
     /**
      * For very dynamic filters that come and go in a highly threaded environment.
      */
-    READWRITE
+    READWRITE,
+
+    /**
+     * For mostly-static filters evaluated by many threads: event evaluation does not acquire any locks
+     * for equals, is and in-list indexes and for the filter nodes and event type index, since filter changes
+     * publish new copy-on-write versions of these structures instead. Filter changes are serialized
+     * and are more expensive than for the other profiles.
+     */
+    READLOCKFREE
 }
@@ -0,0 +1,27 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.client.util;
+
+/**
+ * Scheduling service profile.
+ */
+public enum SchedulingServiceProfile {
+    /**
+     * Schedules are kept sorted by time, the default.
+     */
+    SORTED,
+
+    /**
+     * Schedules are kept in a hierarchical timing wheel, for constant-time adding and removing of schedules
+     * when there are very many outstanding schedules.
+     */
+    TIMINGWHEEL
+}
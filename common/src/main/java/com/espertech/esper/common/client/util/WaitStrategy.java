@@ -0,0 +1,31 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.client.util;
+
+/**
+ * Enumeration of the techniques a ring-buffer handoff uses to wait for a free or a published slot.
+ */
+public enum WaitStrategy {
+    /**
+     * Spins without giving up the CPU, for the lowest handoff latency at the cost of a fully busy core per waiting thread.
+     */
+    BUSYSPIN,
+
+    /**
+     * Spins and yields the CPU between checks, trading some latency for letting other threads run.
+     */
+    YIELD,
+
+    /**
+     * Spins briefly and then suspends the thread until it is signalled, which uses no CPU while idle and is therefore the default.
+     */
+    PARK
+}
@@ -505,6 +505,10 @@ public class CodegenBlock {
         return assignCompound(ref(ref), operator, assignment);
     }
 
+    public List<CodegenStatement> getStatements() {
+        return statements;
+    }
+
     public boolean isClosed() {
         return closed;
     }
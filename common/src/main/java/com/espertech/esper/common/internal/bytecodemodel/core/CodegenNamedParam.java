@@ -176,4 +176,8 @@ public class CodegenNamedParam {
         result = 31 * result + name.hashCode();
         return result;
     }
+
+    public String getTypeName() {
+        return typeName;
+    }
 }
@@ -73,6 +73,14 @@ public class CodegenTypedParam {
         return name;
     }
 
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public Class getType() {
+        return type;
+    }
+
     public void renderAsParameter(StringBuilder builder, Map<Class, String> imports) {
         if (type != null) {
             appendClassName(builder, type, null, imports);
@@ -56,4 +56,12 @@ public class CodegenChainElement {
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         traverseMultiple(optionalParams, consumer);
     }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public CodegenExpression[] getOptionalParams() {
+        return optionalParams;
+    }
 }
@@ -58,4 +58,20 @@ public class CodegenExpressionAndOr implements CodegenExpression {
         consumer.accept(second);
         CodegenExpressionBuilder.traverseMultiple(optionalMore, consumer);
     }
+
+    public boolean isAnd() {
+        return isAnd;
+    }
+
+    public CodegenExpression getFirst() {
+        return first;
+    }
+
+    public CodegenExpression getSecond() {
+        return second;
+    }
+
+    public CodegenExpression[] getOptionalMore() {
+        return optionalMore;
+    }
 }
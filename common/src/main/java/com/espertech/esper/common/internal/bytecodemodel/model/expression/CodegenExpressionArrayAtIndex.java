@@ -39,4 +39,12 @@ public class CodegenExpressionArrayAtIndex implements CodegenExpression {
         consumer.accept(expression);
         consumer.accept(index);
     }
+
+    public CodegenExpression getExpression() {
+        return expression;
+    }
+
+    public CodegenExpression getIndex() {
+        return index;
+    }
 }
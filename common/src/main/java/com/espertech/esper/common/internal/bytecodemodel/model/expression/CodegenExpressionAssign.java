@@ -38,4 +38,12 @@ public class CodegenExpressionAssign implements CodegenExpression {
         consumer.accept(lhs);
         consumer.accept(rhs);
     }
+
+    public CodegenExpression getLhs() {
+        return lhs;
+    }
+
+    public CodegenExpression getRhs() {
+        return rhs;
+    }
 }
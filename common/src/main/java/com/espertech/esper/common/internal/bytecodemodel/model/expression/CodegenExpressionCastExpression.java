@@ -61,4 +61,16 @@ public class CodegenExpressionCastExpression implements CodegenExpression {
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         consumer.accept(expression);
     }
+
+    public Class getClazz() {
+        return clazz;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public CodegenExpression getExpression() {
+        return expression;
+    }
 }
@@ -37,4 +37,12 @@ public class CodegenExpressionCastRef implements CodegenExpression {
 
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
     }
+
+    public Class getClazz() {
+        return clazz;
+    }
+
+    public String getRef() {
+        return ref;
+    }
 }
@@ -55,4 +55,16 @@ public class CodegenExpressionCastUnderlying implements CodegenExpression {
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         consumer.accept(expression);
     }
+
+    public Class getClazz() {
+        return clazz;
+    }
+
+    public String getClassName() {
+        return className;
+    }
+
+    public CodegenExpression getExpression() {
+        return expression;
+    }
 }
@@ -42,4 +42,8 @@ public class CodegenExpressionClass implements CodegenExpression {
 
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
     }
+
+    public Class getTarget() {
+        return target;
+    }
 }
@@ -40,4 +40,12 @@ public class CodegenExpressionClassMethod implements CodegenExpression {
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         traverseMultiple(params, consumer);
     }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public CodegenExpression[] getParams() {
+        return params;
+    }
 }
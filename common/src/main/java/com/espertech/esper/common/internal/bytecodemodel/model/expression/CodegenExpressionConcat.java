@@ -43,4 +43,8 @@ public class CodegenExpressionConcat implements CodegenExpression {
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         traverseMultiple(stringExpressions, consumer);
     }
+
+    public CodegenExpression[] getStringExpressions() {
+        return stringExpressions;
+    }
 }
@@ -46,4 +46,16 @@ public class CodegenExpressionConditional implements CodegenExpression {
         consumer.accept(expressionTrue);
         consumer.accept(expressionFalse);
     }
+
+    public CodegenExpression getCondition() {
+        return condition;
+    }
+
+    public CodegenExpression getExpressionTrue() {
+        return expressionTrue;
+    }
+
+    public CodegenExpression getExpressionFalse() {
+        return expressionFalse;
+    }
 }
@@ -45,4 +45,8 @@ public class CodegenExpressionConstant implements CodegenExpression {
     public static void mergeClassConstant(Object entryValue, Object value) {
 
     }
+
+    public Object getConstant() {
+        return constant;
+    }
 }
@@ -49,4 +49,16 @@ public class CodegenExpressionEnumOrPublicConstantValue implements CodegenExpres
 
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
     }
+
+    public Class getEnumType() {
+        return enumType;
+    }
+
+    public String getEnumTypeString() {
+        return enumTypeString;
+    }
+
+    public String getEnumValue() {
+        return enumValue;
+    }
 }
@@ -37,4 +37,12 @@ public class CodegenExpressionEqualsNull implements CodegenExpression {
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         consumer.accept(lhs);
     }
+
+    public CodegenExpression getLhs() {
+        return lhs;
+    }
+
+    public boolean isNot() {
+        return not;
+    }
 }
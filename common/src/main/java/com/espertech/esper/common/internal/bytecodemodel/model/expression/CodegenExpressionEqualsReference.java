@@ -42,4 +42,16 @@ public class CodegenExpressionEqualsReference implements CodegenExpression {
         consumer.accept(lhs);
         consumer.accept(rhs);
     }
+
+    public CodegenExpression getLhs() {
+        return lhs;
+    }
+
+    public CodegenExpression getRhs() {
+        return rhs;
+    }
+
+    public boolean isNot() {
+        return isNot;
+    }
 }
@@ -57,4 +57,16 @@ public class CodegenExpressionExprDotMethod implements CodegenExpression {
         consumer.accept(expression);
         traverseMultiple(params, consumer);
     }
+
+    public CodegenExpression getExpression() {
+        return expression;
+    }
+
+    public String getMethod() {
+        return method;
+    }
+
+    public CodegenExpression[] getParams() {
+        return params;
+    }
 }
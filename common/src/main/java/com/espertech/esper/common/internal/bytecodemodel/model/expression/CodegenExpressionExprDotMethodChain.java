@@ -50,4 +50,12 @@ public class CodegenExpressionExprDotMethodChain implements CodegenExpression {
             element.traverseExpressions(consumer);
         }
     }
+
+    public CodegenExpression getExpression() {
+        return expression;
+    }
+
+    public List<CodegenChainElement> getChain() {
+        return chain;
+    }
 }
@@ -41,4 +41,12 @@ public class CodegenExpressionExprDotName implements CodegenExpression {
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         consumer.accept(lhs);
     }
+
+    public CodegenExpression getLhs() {
+        return lhs;
+    }
+
+    public String getName() {
+        return name;
+    }
 }
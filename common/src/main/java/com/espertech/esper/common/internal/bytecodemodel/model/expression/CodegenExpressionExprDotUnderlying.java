@@ -39,4 +39,8 @@ public class CodegenExpressionExprDotUnderlying implements CodegenExpression {
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         consumer.accept(expression);
     }
+
+    public CodegenExpression getExpression() {
+        return expression;
+    }
 }
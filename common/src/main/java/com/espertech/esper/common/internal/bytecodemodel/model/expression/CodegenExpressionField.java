@@ -36,4 +36,8 @@ public class CodegenExpressionField implements CodegenExpression {
 
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
     }
+
+    public CodegenField getField() {
+        return field;
+    }
 }
@@ -35,4 +35,12 @@ public class CodegenExpressionIncrementDecrement implements CodegenExpression {
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         consumer.accept(ref);
     }
+
+    public CodegenExpression getRef() {
+        return ref;
+    }
+
+    public boolean isIncrement() {
+        return increment;
+    }
 }
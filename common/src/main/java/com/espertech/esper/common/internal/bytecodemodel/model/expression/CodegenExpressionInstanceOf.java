@@ -47,4 +47,16 @@ public class CodegenExpressionInstanceOf implements CodegenExpression {
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         consumer.accept(lhs);
     }
+
+    public CodegenExpression getLhs() {
+        return lhs;
+    }
+
+    public Class getClazz() {
+        return clazz;
+    }
+
+    public boolean isNot() {
+        return not;
+    }
 }
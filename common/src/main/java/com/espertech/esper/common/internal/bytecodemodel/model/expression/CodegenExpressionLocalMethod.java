@@ -75,4 +75,8 @@ public class CodegenExpressionLocalMethod implements CodegenExpression {
     public CodegenMethod getMethodNode() {
         return methodNode;
     }
+
+    public List<CodegenExpression> getParameters() {
+        return parameters;
+    }
 }
@@ -49,4 +49,8 @@ public class CodegenExpressionMemberWCol extends CodegenExpressionMember {
         result = 31 * result + col;
         return result;
     }
+
+    public int getCol() {
+        return col;
+    }
 }
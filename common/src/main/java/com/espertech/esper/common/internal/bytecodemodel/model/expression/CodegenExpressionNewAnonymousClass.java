@@ -99,4 +99,16 @@ public class CodegenExpressionNewAnonymousClass extends CodegenStatementWBlockBa
     public void addMethod(String name, CodegenMethod methodNode) {
         methods.add(new Pair<>(name, methodNode));
     }
+
+    public Class getInterfaceOrSuperClass() {
+        return interfaceOrSuperClass;
+    }
+
+    public List<CodegenExpression> getCtorParams() {
+        return ctorParams;
+    }
+
+    public List<Pair<String, CodegenMethod>> getMethods() {
+        return methods;
+    }
 }
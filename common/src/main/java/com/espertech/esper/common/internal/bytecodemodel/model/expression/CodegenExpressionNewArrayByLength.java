@@ -49,4 +49,12 @@ public class CodegenExpressionNewArrayByLength implements CodegenExpression {
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         consumer.accept(expression);
     }
+
+    public Class getComponent() {
+        return component;
+    }
+
+    public CodegenExpression getExpression() {
+        return expression;
+    }
 }
@@ -53,4 +53,12 @@ public class CodegenExpressionNewArrayWithInit implements CodegenExpression {
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         traverseMultiple(expressions, consumer);
     }
+
+    public Class getComponent() {
+        return component;
+    }
+
+    public CodegenExpression[] getExpressions() {
+        return expressions;
+    }
 }
@@ -44,4 +44,12 @@ public class CodegenExpressionNewInstance implements CodegenExpression {
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         traverseMultiple(params, consumer);
     }
+
+    public Class getClazz() {
+        return clazz;
+    }
+
+    public CodegenExpression[] getParams() {
+        return params;
+    }
 }
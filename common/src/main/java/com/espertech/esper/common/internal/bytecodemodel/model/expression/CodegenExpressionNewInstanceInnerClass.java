@@ -38,4 +38,12 @@ public class CodegenExpressionNewInstanceInnerClass implements CodegenExpression
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         traverseMultiple(params, consumer);
     }
+
+    public String getInnerName() {
+        return innerName;
+    }
+
+    public CodegenExpression[] getParams() {
+        return params;
+    }
 }
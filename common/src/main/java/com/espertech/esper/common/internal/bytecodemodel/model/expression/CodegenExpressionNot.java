@@ -44,4 +44,8 @@ public class CodegenExpressionNot implements CodegenExpression {
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         consumer.accept(expression);
     }
+
+    public boolean isNot() {
+        return isNot;
+    }
 }
@@ -42,4 +42,16 @@ public class CodegenExpressionOp implements CodegenExpression {
         consumer.accept(left);
         consumer.accept(right);
     }
+
+    public CodegenExpression getLeft() {
+        return left;
+    }
+
+    public String getExpressionText() {
+        return expressionText;
+    }
+
+    public CodegenExpression getRight() {
+        return right;
+    }
 }
@@ -57,4 +57,16 @@ public class CodegenExpressionRelational implements CodegenExpression {
             return op;
         }
     }
+
+    public CodegenExpression getLhs() {
+        return lhs;
+    }
+
+    public CodegenRelational getOp() {
+        return op;
+    }
+
+    public CodegenExpression getRhs() {
+        return rhs;
+    }
 }
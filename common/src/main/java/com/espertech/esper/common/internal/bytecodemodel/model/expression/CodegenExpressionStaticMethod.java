@@ -59,4 +59,20 @@ public class CodegenExpressionStaticMethod implements CodegenExpression {
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         traverseMultiple(params, consumer);
     }
+
+    public Class getTarget() {
+        return target;
+    }
+
+    public String getTargetClassName() {
+        return targetClassName;
+    }
+
+    public String getMethodName() {
+        return methodName;
+    }
+
+    public CodegenExpression[] getParams() {
+        return params;
+    }
 }
@@ -46,4 +46,16 @@ public class CodegenStatementAssignArrayElement extends CodegenStatementBase {
         consumer.accept(index);
         consumer.accept(expression);
     }
+
+    public CodegenExpression getArray() {
+        return array;
+    }
+
+    public CodegenExpression getIndex() {
+        return index;
+    }
+
+    public CodegenExpression getExpression() {
+        return expression;
+    }
 }
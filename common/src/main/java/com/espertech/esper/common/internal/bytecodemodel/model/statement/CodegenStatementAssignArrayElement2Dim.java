@@ -52,4 +52,20 @@ public class CodegenStatementAssignArrayElement2Dim extends CodegenStatementBase
         consumer.accept(indexTwo);
         consumer.accept(expression);
     }
+
+    public CodegenExpression getArray() {
+        return array;
+    }
+
+    public CodegenExpression getIndexOne() {
+        return indexOne;
+    }
+
+    public CodegenExpression getIndexTwo() {
+        return indexTwo;
+    }
+
+    public CodegenExpression getExpression() {
+        return expression;
+    }
 }
@@ -43,4 +43,16 @@ public class CodegenStatementAssignCompound extends CodegenStatementBase {
         consumer.accept(lhs);
         consumer.accept(assignment);
     }
+
+    public CodegenExpression getLhs() {
+        return lhs;
+    }
+
+    public String getOperator() {
+        return operator;
+    }
+
+    public CodegenExpression getAssignment() {
+        return assignment;
+    }
 }
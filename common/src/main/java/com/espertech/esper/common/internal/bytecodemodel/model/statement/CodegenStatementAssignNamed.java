@@ -42,4 +42,12 @@ public class CodegenStatementAssignNamed extends CodegenStatementBase {
         consumer.accept(lhs);
         consumer.accept(assignment);
     }
+
+    public CodegenExpression getLhs() {
+        return lhs;
+    }
+
+    public CodegenExpression getAssignment() {
+        return assignment;
+    }
 }
@@ -40,4 +40,12 @@ public class CodegenStatementAssignRef extends CodegenStatementBase {
         consumer.accept(ref);
         consumer.accept(assignment);
     }
+
+    public CodegenExpression getRef() {
+        return ref;
+    }
+
+    public CodegenExpression getAssignment() {
+        return assignment;
+    }
 }
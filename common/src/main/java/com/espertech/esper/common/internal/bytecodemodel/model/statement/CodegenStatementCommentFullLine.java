@@ -33,4 +33,8 @@ public class CodegenStatementCommentFullLine extends CodegenStatementBase {
 
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
     }
+
+    public String getComment() {
+        return comment;
+    }
 }
@@ -74,4 +74,24 @@ public class CodegenStatementDeclareVar extends CodegenStatementBase {
             consumer.accept(optionalInitializer);
         }
     }
+
+    public Class getClazz() {
+        return clazz;
+    }
+
+    public String getTypeName() {
+        return typeName;
+    }
+
+    public Class getOptionalTypeVariable() {
+        return optionalTypeVariable;
+    }
+
+    public String getVar() {
+        return var;
+    }
+
+    public CodegenExpression getOptionalInitializer() {
+        return optionalInitializer;
+    }
 }
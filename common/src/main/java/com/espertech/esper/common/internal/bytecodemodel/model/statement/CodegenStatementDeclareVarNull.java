@@ -38,4 +38,12 @@ public class CodegenStatementDeclareVarNull extends CodegenStatementBase {
 
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
     }
+
+    public Class getClazz() {
+        return clazz;
+    }
+
+    public String getVar() {
+        return var;
+    }
 }
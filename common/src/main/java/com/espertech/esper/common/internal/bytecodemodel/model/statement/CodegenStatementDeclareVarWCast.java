@@ -42,4 +42,16 @@ public class CodegenStatementDeclareVarWCast extends CodegenStatementBase {
 
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
     }
+
+    public String getVar() {
+        return var;
+    }
+
+    public Class getClazz() {
+        return clazz;
+    }
+
+    public String getRhsName() {
+        return rhsName;
+    }
 }
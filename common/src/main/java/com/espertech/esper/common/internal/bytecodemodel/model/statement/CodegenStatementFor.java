@@ -69,4 +69,28 @@ public class CodegenStatementFor extends CodegenStatementWBlockBase {
         consumer.accept(termination);
         consumer.accept(increment);
     }
+
+    public Class getType() {
+        return type;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public CodegenExpression getInitialization() {
+        return initialization;
+    }
+
+    public CodegenExpression getTermination() {
+        return termination;
+    }
+
+    public CodegenExpression getIncrement() {
+        return increment;
+    }
+
+    public CodegenBlock getBlock() {
+        return block;
+    }
 }
@@ -59,4 +59,20 @@ public class CodegenStatementForEach extends CodegenStatementWBlockBase {
         consumer.accept(target);
         block.traverseExpressions(consumer);
     }
+
+    public Class getType() {
+        return type;
+    }
+
+    public String getRef() {
+        return ref;
+    }
+
+    public CodegenExpression getTarget() {
+        return target;
+    }
+
+    public CodegenBlock getBlock() {
+        return block;
+    }
 }
@@ -51,4 +51,16 @@ public class CodegenStatementForIntSimple extends CodegenStatementWBlockBase {
         consumer.accept(upperLimit);
         block.traverseExpressions(consumer);
     }
+
+    public String getRef() {
+        return ref;
+    }
+
+    public CodegenExpression getUpperLimit() {
+        return upperLimit;
+    }
+
+    public CodegenBlock getBlock() {
+        return block;
+    }
 }
@@ -91,4 +91,12 @@ public class CodegenStatementIf extends CodegenStatementWBlockBase {
             optionalElse.traverseExpressions(consumer);
         }
     }
+
+    public List<CodegenStatementIfConditionBlock> getBlocks() {
+        return blocks;
+    }
+
+    public CodegenBlock getOptionalElse() {
+        return optionalElse;
+    }
 }
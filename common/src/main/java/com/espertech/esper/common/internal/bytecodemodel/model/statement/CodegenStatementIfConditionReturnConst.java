@@ -42,4 +42,12 @@ public class CodegenStatementIfConditionReturnConst extends CodegenStatementBase
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         consumer.accept(condition);
     }
+
+    public CodegenExpression getCondition() {
+        return condition;
+    }
+
+    public Object getConstant() {
+        return constant;
+    }
 }
@@ -37,4 +37,8 @@ public class CodegenStatementIfNullReturnNull implements CodegenStatement {
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         consumer.accept(ref);
     }
+
+    public CodegenExpression getRef() {
+        return ref;
+    }
 }
@@ -43,4 +43,16 @@ public class CodegenStatementIfRefNotTypeReturnConst extends CodegenStatementBas
 
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
     }
+
+    public String getVar() {
+        return var;
+    }
+
+    public Class getType() {
+        return type;
+    }
+
+    public Object getConstant() {
+        return constant;
+    }
 }
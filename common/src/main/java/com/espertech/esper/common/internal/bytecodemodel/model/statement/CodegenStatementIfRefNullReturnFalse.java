@@ -34,4 +34,8 @@ public class CodegenStatementIfRefNullReturnFalse implements CodegenStatement {
 
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
     }
+
+    public String getVar() {
+        return var;
+    }
 }
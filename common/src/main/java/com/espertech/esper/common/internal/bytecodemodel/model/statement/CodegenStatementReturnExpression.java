@@ -38,4 +38,8 @@ public class CodegenStatementReturnExpression extends CodegenStatementBase imple
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         consumer.accept(expression);
     }
+
+    public CodegenExpression getExpression() {
+        return expression;
+    }
 }
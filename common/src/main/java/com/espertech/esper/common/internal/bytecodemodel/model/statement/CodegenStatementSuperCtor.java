@@ -39,4 +39,8 @@ public class CodegenStatementSuperCtor extends CodegenStatementBase {
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         CodegenExpressionBuilder.traverseMultiple(params, consumer);
     }
+
+    public CodegenExpression[] getParams() {
+        return params;
+    }
 }
@@ -105,4 +105,20 @@ public class CodegenStatementSwitch extends CodegenStatementWBlockBase {
             defaultBlock.traverseExpressions(consumer);
         }
     }
+
+    public CodegenExpression getSwitchExpression() {
+        return switchExpression;
+    }
+
+    public CodegenExpression[] getOptions() {
+        return options;
+    }
+
+    public boolean isBlocksReturnValues() {
+        return blocksReturnValues;
+    }
+
+    public boolean isWithDefaultUnsupported() {
+        return withDefaultUnsupported;
+    }
 }
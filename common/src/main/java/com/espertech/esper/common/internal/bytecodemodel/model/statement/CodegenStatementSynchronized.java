@@ -53,4 +53,12 @@ public class CodegenStatementSynchronized extends CodegenStatementWBlockBase {
         consumer.accept(expression);
         block.traverseExpressions(consumer);
     }
+
+    public CodegenExpression getExpression() {
+        return expression;
+    }
+
+    public CodegenBlock getBlock() {
+        return block;
+    }
 }
@@ -35,4 +35,8 @@ public class CodegenStatementThrow extends CodegenStatementBase implements Codeg
     public void traverseExpressions(Consumer<CodegenExpression> consumer) {
         consumer.accept(expression);
     }
+
+    public CodegenExpression getExpression() {
+        return expression;
+    }
 }
@@ -102,4 +102,16 @@ public class CodegenStatementTryCatch extends CodegenStatementWBlockBase {
             finallyBlock.traverseExpressions(consumer);
         }
     }
+
+    public CodegenBlock getTryBlock() {
+        return tryBlock;
+    }
+
+    public List<CodegenStatementTryCatchCatchBlock> getCatchBlocks() {
+        return catchBlocks;
+    }
+
+    public CodegenBlock getFinallyBlock() {
+        return finallyBlock;
+    }
 }
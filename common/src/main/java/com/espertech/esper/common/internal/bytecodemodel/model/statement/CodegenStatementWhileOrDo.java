@@ -62,4 +62,16 @@ public class CodegenStatementWhileOrDo extends CodegenStatementWBlockBase {
         block.traverseExpressions(consumer);
         consumer.accept(condition);
     }
+
+    public CodegenExpression getCondition() {
+        return condition;
+    }
+
+    public boolean isWhile() {
+        return isWhile;
+    }
+
+    public CodegenBlock getBlock() {
+        return block;
+    }
 }
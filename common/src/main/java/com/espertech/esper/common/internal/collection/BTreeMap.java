@@ -0,0 +1,817 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import java.util.*;
+
+/**
+ * Sorted map organized as a B+-tree, for use by sorted and composite indexes in place of a red-black tree.
+ * <p>
+ * Keys and values are held in arrays per node, and leaves are linked so that range scans walk
+ * consecutive array slots without allocating per entry. With a {@link BTreeMapKeyCodec} the keys are held
+ * as primitive long and compared without boxing; without a codec the keys are compared by natural ordering.
+ * </p>
+ * <p>
+ * Range views returned by {@link #subMap(Object, boolean, Object, boolean)}, {@link #headMap(Object, boolean)}
+ * and {@link #tailMap(Object, boolean)} are read-only and are backed by the map. Iterators do not detect
+ * concurrent modification. Null keys and null values are not supported.
+ * </p>
+ *
+ * @param <V> value type
+ */
+public class BTreeMap<V> extends AbstractMap<Object, V> {
+    /**
+     * Maximum number of keys per node.
+     */
+    protected final static int NODE_CAPACITY = 64;
+
+    private final static int MIN_FILL = NODE_CAPACITY / 4;
+
+    private final static int INITIAL_LEAF_CAPACITY = 4;
+
+    private final BTreeMapKeyCodec codec;
+    private Node root;
+    private Leaf head;
+    private Leaf tail;
+    private int size;
+
+    // split result of the last insert, to avoid allocating a holder
+    private Node splitNode;
+    private Object splitKey;
+    private long splitKeyEncoded;
+
+    /**
+     * Ctor for keys compared by natural ordering.
+     */
+    public BTreeMap() {
+        this(null);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param codec key codec, or null for keys compared by natural ordering
+     */
+    public BTreeMap(BTreeMapKeyCodec codec) {
+        this.codec = codec;
+        clear();
+    }
+
+    /**
+     * Returns the key codec.
+     *
+     * @return codec or null
+     */
+    public BTreeMapKeyCodec getCodec() {
+        return codec;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public void clear() {
+        Leaf leaf = new Leaf(codec != null, INITIAL_LEAF_CAPACITY);
+        root = leaf;
+        head = leaf;
+        tail = leaf;
+        size = 0;
+    }
+
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    public V get(Object key) {
+        if (key == null) {
+            return null;
+        }
+        long encoded = encode(key);
+        Node node = root;
+        while (node instanceof Inner) {
+            node = ((Inner) node).children[childIndex(node, key, encoded)];
+        }
+        int index = search(node, key, encoded);
+        return index < 0 ? null : (V) ((Leaf) node).values[index];
+    }
+
+    public V put(Object key, V value) {
+        if (key == null || value == null) {
+            throw new NullPointerException("Null key or value not supported");
+        }
+        long encoded = encode(key);
+        V existing = insert(root, key, encoded, value);
+        if (splitNode != null) {
+            Inner newRoot = new Inner(codec != null);
+            newRoot.children[0] = root;
+            newRoot.children[1] = splitNode;
+            newRoot.setKey(0, splitKey, splitKeyEncoded);
+            newRoot.count = 1;
+            root = newRoot;
+            splitNode = null;
+            splitKey = null;
+        }
+        return existing;
+    }
+
+    public V remove(Object key) {
+        if (key == null) {
+            return null;
+        }
+        V removed = delete(root, key, encode(key));
+        if (root instanceof Inner && root.count == 0) {
+            root = ((Inner) root).children[0];
+        }
+        return removed;
+    }
+
+    /**
+     * Returns the smallest key.
+     *
+     * @return key
+     * @throws NoSuchElementException if the map is empty
+     */
+    public Object firstKey() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return head.getKey(0, codec);
+    }
+
+    /**
+     * Returns the largest key.
+     *
+     * @return key
+     * @throws NoSuchElementException if the map is empty
+     */
+    public Object lastKey() {
+        if (size == 0) {
+            throw new NoSuchElementException();
+        }
+        return tail.getKey(tail.count - 1, codec);
+    }
+
+    /**
+     * Returns a view of the entries with keys between the given keys.
+     *
+     * @param fromKey       low endpoint
+     * @param fromInclusive true to include the low endpoint
+     * @param toKey         high endpoint
+     * @param toInclusive   true to include the high endpoint
+     * @return view
+     * @throws IllegalArgumentException if the low endpoint is greater than the high endpoint
+     */
+    public Map<Object, V> subMap(Object fromKey, boolean fromInclusive, Object toKey, boolean toInclusive) {
+        long fromEncoded = encode(fromKey);
+        long toEncoded = encode(toKey);
+        if (compare(fromKey, fromEncoded, toKey, toEncoded) > 0) {
+            throw new IllegalArgumentException("fromKey > toKey");
+        }
+        return new RangeView(true, fromKey, fromEncoded, fromInclusive, true, toKey, toEncoded, toInclusive);
+    }
+
+    /**
+     * Returns a view of the entries with keys less than (or equal to, if inclusive) the given key.
+     *
+     * @param toKey     high endpoint
+     * @param inclusive true to include the high endpoint
+     * @return view
+     */
+    public Map<Object, V> headMap(Object toKey, boolean inclusive) {
+        return new RangeView(false, null, 0, false, true, toKey, encode(toKey), inclusive);
+    }
+
+    /**
+     * Returns a view of the entries with keys less than the given key.
+     *
+     * @param toKey high endpoint
+     * @return view
+     */
+    public Map<Object, V> headMap(Object toKey) {
+        return headMap(toKey, false);
+    }
+
+    /**
+     * Returns a view of the entries with keys greater than (or equal to, if inclusive) the given key.
+     *
+     * @param fromKey   low endpoint
+     * @param inclusive true to include the low endpoint
+     * @return view
+     */
+    public Map<Object, V> tailMap(Object fromKey, boolean inclusive) {
+        return new RangeView(true, fromKey, encode(fromKey), inclusive, false, null, 0, false);
+    }
+
+    /**
+     * Returns a view of the entries with keys greater than or equal to the given key.
+     *
+     * @param fromKey low endpoint
+     * @return view
+     */
+    public Map<Object, V> tailMap(Object fromKey) {
+        return tailMap(fromKey, true);
+    }
+
+    public Collection<V> values() {
+        return new RangeValues(new RangeView(false, null, 0, false, false, null, 0, false));
+    }
+
+    public Set<Entry<Object, V>> entrySet() {
+        return new RangeEntries(new RangeView(false, null, 0, false, false, null, 0, false));
+    }
+
+    private long encode(Object key) {
+        return codec == null ? 0 : codec.encode(key);
+    }
+
+    private int compare(Object keyOne, long encodedOne, Object keyTwo, long encodedTwo) {
+        if (codec != null) {
+            return Long.compare(encodedOne, encodedTwo);
+        }
+        return ((Comparable<Object>) keyOne).compareTo(keyTwo);
+    }
+
+    /**
+     * Binary search for the key, returning the index if found or (-(insertion point) - 1).
+     */
+    private int search(Node node, Object key, long encoded) {
+        int low = 0;
+        int high = node.count - 1;
+        if (codec != null) {
+            long[] keys = node.encodedKeys;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long midKey = keys[mid];
+                if (midKey < encoded) {
+                    low = mid + 1;
+                } else if (midKey > encoded) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+        } else {
+            Object[] keys = node.keys;
+            Comparable<Object> comparable = (Comparable<Object>) key;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int cmp = comparable.compareTo(keys[mid]);
+                if (cmp > 0) {
+                    low = mid + 1;
+                } else if (cmp < 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+        }
+        return -(low + 1);
+    }
+
+    private int childIndex(Node inner, Object key, long encoded) {
+        int index = search(inner, key, encoded);
+        return index >= 0 ? index + 1 : -(index + 1);
+    }
+
+    private V insert(Node node, Object key, long encoded, V value) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int index = search(leaf, key, encoded);
+            if (index >= 0) {
+                V existing = (V) leaf.values[index];
+                leaf.values[index] = value;
+                return existing;
+            }
+            index = -(index + 1);
+            leaf.insertAt(index, key, encoded, value);
+            size++;
+            if (leaf.count > NODE_CAPACITY) {
+                splitLeaf(leaf);
+            }
+            return null;
+        }
+
+        Inner inner = (Inner) node;
+        int childIndex = childIndex(inner, key, encoded);
+        V existing = insert(inner.children[childIndex], key, encoded, value);
+        if (splitNode != null) {
+            inner.insertAt(childIndex, splitKey, splitKeyEncoded, splitNode);
+            splitNode = null;
+            splitKey = null;
+            if (inner.count > NODE_CAPACITY) {
+                splitInner(inner);
+            }
+        }
+        return existing;
+    }
+
+    private void splitLeaf(Leaf leaf) {
+        Leaf right = new Leaf(codec != null, NODE_CAPACITY + 1);
+        int keep = leaf.count / 2;
+        int move = leaf.count - keep;
+        leaf.copyKeys(keep, right, 0, move);
+        System.arraycopy(leaf.values, keep, right.values, 0, move);
+        Arrays.fill(leaf.values, keep, leaf.count, null);
+        if (leaf.keys != null) {
+            Arrays.fill(leaf.keys, keep, leaf.count, null);
+        }
+        right.count = move;
+        leaf.count = keep;
+
+        right.next = leaf.next;
+        right.prev = leaf;
+        if (leaf.next != null) {
+            leaf.next.prev = right;
+        } else {
+            tail = right;
+        }
+        leaf.next = right;
+
+        splitNode = right;
+        splitKey = right.keys == null ? null : right.keys[0];
+        splitKeyEncoded = right.encodedKeys == null ? 0 : right.encodedKeys[0];
+    }
+
+    private void splitInner(Inner inner) {
+        Inner right = new Inner(codec != null);
+        int middle = inner.count / 2;
+        int move = inner.count - middle - 1;
+        Object middleKey = inner.keys == null ? null : inner.keys[middle];
+        long middleEncoded = inner.encodedKeys == null ? 0 : inner.encodedKeys[middle];
+        inner.copyKeys(middle + 1, right, 0, move);
+        System.arraycopy(inner.children, middle + 1, right.children, 0, move + 1);
+        if (inner.keys != null) {
+            Arrays.fill(inner.keys, middle, inner.count, null);
+        }
+        Arrays.fill(inner.children, middle + 1, inner.count + 1, null);
+        right.count = move;
+        inner.count = middle;
+
+        splitNode = right;
+        splitKey = middleKey;
+        splitKeyEncoded = middleEncoded;
+    }
+
+    private V delete(Node node, Object key, long encoded) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int index = search(leaf, key, encoded);
+            if (index < 0) {
+                return null;
+            }
+            V existing = (V) leaf.values[index];
+            leaf.removeAt(index);
+            size--;
+            return existing;
+        }
+
+        Inner inner = (Inner) node;
+        int childIndex = childIndex(inner, key, encoded);
+        Node child = inner.children[childIndex];
+        V existing = delete(child, key, encoded);
+        if (existing != null && child.count < MIN_FILL) {
+            rebalance(inner, childIndex);
+        }
+        return existing;
+    }
+
+    private void rebalance(Inner parent, int childIndex) {
+        if (parent.count == 0) {
+            return;
+        }
+        int separator = childIndex > 0 ? childIndex - 1 : 0;
+        Node left = parent.children[separator];
+        Node right = parent.children[separator + 1];
+
+        if (left instanceof Leaf) {
+            Leaf leftLeaf = (Leaf) left;
+            Leaf rightLeaf = (Leaf) right;
+            if (leftLeaf.count + rightLeaf.count <= NODE_CAPACITY) {
+                // merge right into left
+                leftLeaf.ensureCapacity(leftLeaf.count + rightLeaf.count);
+                rightLeaf.copyKeys(0, leftLeaf, leftLeaf.count, rightLeaf.count);
+                System.arraycopy(rightLeaf.values, 0, leftLeaf.values, leftLeaf.count, rightLeaf.count);
+                leftLeaf.count += rightLeaf.count;
+                leftLeaf.next = rightLeaf.next;
+                if (rightLeaf.next != null) {
+                    rightLeaf.next.prev = leftLeaf;
+                } else {
+                    tail = leftLeaf;
+                }
+                parent.removeAt(separator);
+            } else if (leftLeaf.count > rightLeaf.count) {
+                // move last of left to front of right
+                int last = leftLeaf.count - 1;
+                rightLeaf.insertAt(0, leftLeaf.keys == null ? null : leftLeaf.keys[last], leftLeaf.encodedKeys == null ? 0 : leftLeaf.encodedKeys[last], leftLeaf.values[last]);
+                leftLeaf.removeAt(last);
+                parent.setKeyFrom(separator, rightLeaf, 0);
+            } else {
+                // move first of right to end of left
+                leftLeaf.insertAt(leftLeaf.count, rightLeaf.keys == null ? null : rightLeaf.keys[0], rightLeaf.encodedKeys == null ? 0 : rightLeaf.encodedKeys[0], rightLeaf.values[0]);
+                rightLeaf.removeAt(0);
+                parent.setKeyFrom(separator, rightLeaf, 0);
+            }
+            return;
+        }
+
+        Inner leftInner = (Inner) left;
+        Inner rightInner = (Inner) right;
+        Object separatorKey = parent.keys == null ? null : parent.keys[separator];
+        long separatorEncoded = parent.encodedKeys == null ? 0 : parent.encodedKeys[separator];
+        if (leftInner.count + rightInner.count + 1 <= NODE_CAPACITY) {
+            // merge separator and right into left
+            leftInner.setKey(leftInner.count, separatorKey, separatorEncoded);
+            rightInner.copyKeys(0, leftInner, leftInner.count + 1, rightInner.count);
+            System.arraycopy(rightInner.children, 0, leftInner.children, leftInner.count + 1, rightInner.count + 1);
+            leftInner.count += rightInner.count + 1;
+            parent.removeAt(separator);
+        } else if (leftInner.count > rightInner.count) {
+            // rotate right: separator moves down into right, last key of left moves up
+            int last = leftInner.count - 1;
+            Node movedChild = leftInner.children[last + 1];
+            rightInner.insertFirst(separatorKey, separatorEncoded, movedChild);
+            parent.setKeyFrom(separator, leftInner, last);
+            if (leftInner.keys != null) {
+                leftInner.keys[last] = null;
+            }
+            leftInner.children[last + 1] = null;
+            leftInner.count--;
+        } else {
+            // rotate left: separator moves down into left, first key of right moves up
+            leftInner.setKey(leftInner.count, separatorKey, separatorEncoded);
+            leftInner.children[leftInner.count + 1] = rightInner.children[0];
+            leftInner.count++;
+            parent.setKeyFrom(separator, rightInner, 0);
+            rightInner.removeFirst();
+        }
+    }
+
+    private abstract static class Node {
+        protected Object[] keys;
+        protected long[] encodedKeys;
+        protected int count;
+
+        Node(boolean encoded, int capacity) {
+            if (encoded) {
+                encodedKeys = new long[capacity];
+            } else {
+                keys = new Object[capacity];
+            }
+        }
+
+        Object getKey(int index, BTreeMapKeyCodec codec) {
+            return keys == null ? codec.decode(encodedKeys[index]) : keys[index];
+        }
+
+        void setKey(int index, Object key, long encoded) {
+            if (keys == null) {
+                encodedKeys[index] = encoded;
+            } else {
+                keys[index] = key;
+            }
+        }
+
+        void setKeyFrom(int index, Node source, int sourceIndex) {
+            if (keys == null) {
+                encodedKeys[index] = source.encodedKeys[sourceIndex];
+            } else {
+                keys[index] = source.keys[sourceIndex];
+            }
+        }
+
+        void copyKeys(int from, Node target, int to, int length) {
+            if (keys == null) {
+                System.arraycopy(encodedKeys, from, target.encodedKeys, to, length);
+            } else {
+                System.arraycopy(keys, from, target.keys, to, length);
+            }
+        }
+
+        void shiftKeys(int from, int to, int length) {
+            copyKeys(from, this, to, length);
+        }
+    }
+
+    /**
+     * Leaf node; a leaf starts small and grows, so that maps with few keys, such as nested composite index levels,
+     * remain compact. One slot beyond capacity allows splitting after insert.
+     */
+    private final static class Leaf extends Node {
+        private Object[] values;
+        private Leaf next;
+        private Leaf prev;
+
+        Leaf(boolean encoded, int capacity) {
+            super(encoded, capacity);
+            values = new Object[capacity];
+        }
+
+        void ensureCapacity(int required) {
+            if (required <= values.length) {
+                return;
+            }
+            int capacity = Math.min(Math.max(values.length * 2, required), NODE_CAPACITY + 1);
+            values = Arrays.copyOf(values, capacity);
+            if (keys != null) {
+                keys = Arrays.copyOf(keys, capacity);
+            } else {
+                encodedKeys = Arrays.copyOf(encodedKeys, capacity);
+            }
+        }
+
+        void insertAt(int index, Object key, long encoded, Object value) {
+            ensureCapacity(count + 1);
+            shiftKeys(index, index + 1, count - index);
+            System.arraycopy(values, index, values, index + 1, count - index);
+            setKey(index, key, encoded);
+            values[index] = value;
+            count++;
+        }
+
+        void removeAt(int index) {
+            int move = count - index - 1;
+            shiftKeys(index + 1, index, move);
+            System.arraycopy(values, index + 1, values, index, move);
+            count--;
+            values[count] = null;
+            if (keys != null) {
+                keys[count] = null;
+            }
+        }
+    }
+
+    private final static class Inner extends Node {
+        private final Node[] children = new Node[NODE_CAPACITY + 2];
+
+        Inner(boolean encoded) {
+            super(encoded, NODE_CAPACITY + 1);
+        }
+
+        /**
+         * Inserts a key and the child to the right of the key, the key going at the given index.
+         */
+        void insertAt(int index, Object key, long encoded, Node rightChild) {
+            shiftKeys(index, index + 1, count - index);
+            System.arraycopy(children, index + 1, children, index + 2, count - index);
+            setKey(index, key, encoded);
+            children[index + 1] = rightChild;
+            count++;
+        }
+
+        void insertFirst(Object key, long encoded, Node leftChild) {
+            shiftKeys(0, 1, count);
+            System.arraycopy(children, 0, children, 1, count + 1);
+            setKey(0, key, encoded);
+            children[0] = leftChild;
+            count++;
+        }
+
+        /**
+         * Removes the key at the index and the child to the right of the key.
+         */
+        void removeAt(int index) {
+            shiftKeys(index + 1, index, count - index - 1);
+            System.arraycopy(children, index + 2, children, index + 1, count - index - 1);
+            count--;
+            children[count + 1] = null;
+            if (keys != null) {
+                keys[count] = null;
+            }
+        }
+
+        void removeFirst() {
+            shiftKeys(1, 0, count - 1);
+            System.arraycopy(children, 1, children, 0, count);
+            count--;
+            children[count + 1] = null;
+            if (keys != null) {
+                keys[count] = null;
+            }
+        }
+    }
+
+    private class RangeView extends AbstractMap<Object, V> {
+        private final boolean hasFrom;
+        private final Object fromKey;
+        private final long fromEncoded;
+        private final boolean fromInclusive;
+        private final boolean hasTo;
+        private final Object toKey;
+        private final long toEncoded;
+        private final boolean toInclusive;
+
+        RangeView(boolean hasFrom, Object fromKey, long fromEncoded, boolean fromInclusive, boolean hasTo, Object toKey, long toEncoded, boolean toInclusive) {
+            this.hasFrom = hasFrom;
+            this.fromKey = fromKey;
+            this.fromEncoded = fromEncoded;
+            this.fromInclusive = fromInclusive;
+            this.hasTo = hasTo;
+            this.toKey = toKey;
+            this.toEncoded = toEncoded;
+            this.toInclusive = toInclusive;
+        }
+
+        public Collection<V> values() {
+            return new RangeValues(this);
+        }
+
+        public Set<Entry<Object, V>> entrySet() {
+            return new RangeEntries(this);
+        }
+
+        public boolean isEmpty() {
+            return !new RangeCursor(this).hasNext();
+        }
+
+        public int size() {
+            if (!hasFrom && !hasTo) {
+                return BTreeMap.this.size;
+            }
+            int count = 0;
+            RangeCursor cursor = new RangeCursor(this);
+            while (cursor.hasNext()) {
+                cursor.advance();
+                count++;
+            }
+            return count;
+        }
+
+        public V get(Object key) {
+            if (key == null || !inRange(key, encode(key))) {
+                return null;
+            }
+            return BTreeMap.this.get(key);
+        }
+
+        public boolean containsKey(Object key) {
+            return get(key) != null;
+        }
+
+        private boolean inRange(Object key, long encoded) {
+            if (hasFrom) {
+                int cmp = compare(key, encoded, fromKey, fromEncoded);
+                if (cmp < 0 || (cmp == 0 && !fromInclusive)) {
+                    return false;
+                }
+            }
+            return !pastTo(key, encoded);
+        }
+
+        private boolean pastTo(Object key, long encoded) {
+            if (!hasTo) {
+                return false;
+            }
+            int cmp = compare(key, encoded, toKey, toEncoded);
+            return cmp > 0 || (cmp == 0 && !toInclusive);
+        }
+    }
+
+    /**
+     * Walks the leaves of a range, positioned at the next entry.
+     */
+    private class RangeCursor {
+        private final RangeView range;
+        private Leaf leaf;
+        private int index;
+
+        RangeCursor(RangeView range) {
+            this.range = range;
+            if (!range.hasFrom) {
+                leaf = head;
+                index = 0;
+            } else {
+                Node node = root;
+                while (node instanceof Inner) {
+                    node = ((Inner) node).children[childIndex(node, range.fromKey, range.fromEncoded)];
+                }
+                leaf = (Leaf) node;
+                int found = search(leaf, range.fromKey, range.fromEncoded);
+                if (found >= 0) {
+                    index = range.fromInclusive ? found : found + 1;
+                } else {
+                    index = -(found + 1);
+                }
+            }
+            settle();
+        }
+
+        boolean hasNext() {
+            return leaf != null;
+        }
+
+        Object key() {
+            return leaf.getKey(index, codec);
+        }
+
+        V value() {
+            return (V) leaf.values[index];
+        }
+
+        void advance() {
+            index++;
+            settle();
+        }
+
+        private void settle() {
+            while (leaf != null && index >= leaf.count) {
+                leaf = leaf.next;
+                index = 0;
+            }
+            if (leaf != null && range.hasTo) {
+                Object key = leaf.keys == null ? null : leaf.keys[index];
+                long encoded = leaf.encodedKeys == null ? 0 : leaf.encodedKeys[index];
+                if (range.pastTo(key, encoded)) {
+                    leaf = null;
+                }
+            }
+        }
+    }
+
+    private class RangeValues extends AbstractCollection<V> {
+        private final RangeView range;
+
+        RangeValues(RangeView range) {
+            this.range = range;
+        }
+
+        public Iterator<V> iterator() {
+            final RangeCursor cursor = new RangeCursor(range);
+            return new Iterator<V>() {
+                public boolean hasNext() {
+                    return cursor.hasNext();
+                }
+
+                public V next() {
+                    if (!cursor.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    V value = cursor.value();
+                    cursor.advance();
+                    return value;
+                }
+
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        public int size() {
+            return range.size();
+        }
+
+        public boolean isEmpty() {
+            return range.isEmpty();
+        }
+    }
+
+    private class RangeEntries extends AbstractSet<Entry<Object, V>> {
+        private final RangeView range;
+
+        RangeEntries(RangeView range) {
+            this.range = range;
+        }
+
+        public Iterator<Entry<Object, V>> iterator() {
+            final RangeCursor cursor = new RangeCursor(range);
+            return new Iterator<Entry<Object, V>>() {
+                public boolean hasNext() {
+                    return cursor.hasNext();
+                }
+
+                public Entry<Object, V> next() {
+                    if (!cursor.hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Entry<Object, V> entry = new SimpleImmutableEntry<>(cursor.key(), cursor.value());
+                    cursor.advance();
+                    return entry;
+                }
+
+                public void remove() {
+                    throw new UnsupportedOperationException();
+                }
+            };
+        }
+
+        public int size() {
+            return range.size();
+        }
+
+        public boolean isEmpty() {
+            return range.isEmpty();
+        }
+    }
+}
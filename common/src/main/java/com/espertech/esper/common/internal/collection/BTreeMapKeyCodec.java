@@ -0,0 +1,108 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+/**
+ * Order-preserving encoding of boxed numeric keys as primitive long, for use with {@link BTreeMap}.
+ * <p>
+ * The encoded keys compare, as signed long, the same way as the boxed keys compare by natural ordering.
+ * For floating-point keys this includes negative zero ordered before positive zero and NaN ordered last,
+ * same as {@link Double#compareTo(Double)}.
+ * </p>
+ */
+public enum BTreeMapKeyCodec {
+    BYTE(Byte.class),
+    SHORT(Short.class),
+    INTEGER(Integer.class),
+    LONG(Long.class),
+    FLOAT(Float.class),
+    DOUBLE(Double.class);
+
+    private final Class boxedType;
+
+    BTreeMapKeyCodec(Class boxedType) {
+        this.boxedType = boxedType;
+    }
+
+    /**
+     * Returns the boxed key type.
+     *
+     * @return key type
+     */
+    public Class getBoxedType() {
+        return boxedType;
+    }
+
+    /**
+     * Encodes a key.
+     *
+     * @param key key, must be a number
+     * @return encoded key
+     */
+    public long encode(Object key) {
+        Number number = (Number) key;
+        switch (this) {
+            case FLOAT:
+                int intBits = Float.floatToIntBits(number.floatValue());
+                return intBits ^ ((intBits >> 31) & 0x7fffffff);
+            case DOUBLE:
+                long longBits = Double.doubleToLongBits(number.doubleValue());
+                return longBits ^ ((longBits >> 63) & 0x7fffffffffffffffL);
+            default:
+                return number.longValue();
+        }
+    }
+
+    /**
+     * Decodes a key.
+     *
+     * @param encoded encoded key
+     * @return key of the boxed key type
+     */
+    public Object decode(long encoded) {
+        switch (this) {
+            case BYTE:
+                return (byte) encoded;
+            case SHORT:
+                return (short) encoded;
+            case INTEGER:
+                return (int) encoded;
+            case LONG:
+                return encoded;
+            case FLOAT:
+                int intBits = (int) encoded;
+                return Float.intBitsToFloat(intBits ^ ((intBits >> 31) & 0x7fffffff));
+            default:
+                return Double.longBitsToDouble(encoded ^ ((encoded >> 63) & 0x7fffffffffffffffL));
+        }
+    }
+
+    /**
+     * Returns the codec for the key type, or null if keys of the type cannot be encoded.
+     *
+     * @param keyType key type, can be null
+     * @return codec or null
+     */
+    public static BTreeMapKeyCodec of(Class keyType) {
+        if (keyType == null) {
+            return null;
+        }
+        Class boxed = JavaClassHelper.getBoxedType(keyType);
+        for (BTreeMapKeyCodec codec : values()) {
+            if (codec.boxedType == boxed) {
+                return codec;
+            }
+        }
+        return null;
+    }
+}
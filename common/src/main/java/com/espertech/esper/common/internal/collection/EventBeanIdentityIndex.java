@@ -0,0 +1,181 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import com.espertech.esper.common.client.EventBean;
+
+import java.util.Arrays;
+
+/**
+ * Open-addressing map of event identity to a long value, for use as a reverse index.
+ * <p>
+ * Keys are compared by identity. Uses linear probing and backward-shift deletion so that no tombstones remain
+ * after removal. Does not allocate on put or remove other than when the table grows.
+ * </p>
+ */
+public final class EventBeanIdentityIndex {
+    /**
+     * Value returned when a key is not found.
+     */
+    public static final long NOT_FOUND = Long.MIN_VALUE;
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private EventBean[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    /**
+     * Ctor.
+     */
+    public EventBeanIdentityIndex() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Puts a value for the event, replacing any existing value.
+     *
+     * @param key   event
+     * @param value value
+     */
+    public void put(EventBean key, long value) {
+        int index = slot(key);
+        while (true) {
+            EventBean existing = keys[index];
+            if (existing == null) {
+                keys[index] = key;
+                values[index] = value;
+                if (++size > resizeThreshold) {
+                    rehash(keys.length << 1);
+                }
+                return;
+            }
+            if (existing == key) {
+                values[index] = value;
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the value for the event.
+     *
+     * @param key event
+     * @return value or {@link #NOT_FOUND}
+     */
+    public long get(EventBean key) {
+        int index = slot(key);
+        while (true) {
+            EventBean existing = keys[index];
+            if (existing == null) {
+                return NOT_FOUND;
+            }
+            if (existing == key) {
+                return values[index];
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Removes the event.
+     *
+     * @param key event
+     * @return removed value or {@link #NOT_FOUND}
+     */
+    public long remove(EventBean key) {
+        int index = slot(key);
+        while (true) {
+            EventBean existing = keys[index];
+            if (existing == null) {
+                return NOT_FOUND;
+            }
+            if (existing == key) {
+                break;
+            }
+            index = (index + 1) & mask;
+        }
+
+        long value = values[index];
+        size--;
+
+        // shift back following entries of the same probe sequence
+        int gap = index;
+        int next = (gap + 1) & mask;
+        while (keys[next] != null) {
+            int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = null;
+        return value;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all entries, shrinking the table if it has grown.
+     */
+    public void clear() {
+        if (keys.length > INITIAL_CAPACITY) {
+            allocate(INITIAL_CAPACITY);
+        } else {
+            Arrays.fill(keys, null);
+        }
+        size = 0;
+    }
+
+    private int slot(EventBean key) {
+        int hash = System.identityHashCode(key);
+        hash ^= hash >>> 16;
+        hash *= 0x85ebca6b;
+        hash ^= hash >>> 13;
+        return hash & mask;
+    }
+
+    private void rehash(int capacity) {
+        EventBean[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            EventBean key = oldKeys[i];
+            if (key != null) {
+                int index = slot(key);
+                while (keys[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = key;
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new EventBean[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeThreshold = capacity / 2;
+    }
+}
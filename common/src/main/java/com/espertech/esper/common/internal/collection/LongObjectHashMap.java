@@ -0,0 +1,231 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Open-addressing map of primitive long key to a non-null value.
+ * <p>
+ * Uses linear probing and backward-shift deletion so that no tombstones remain after removal.
+ * Does not box keys and does not allocate on put or remove other than when the table grows.
+ * </p>
+ * <p>
+ * The value iterator reads the live table and does not detect concurrent modification.
+ * </p>
+ *
+ * @param <V> value type
+ */
+public final class LongObjectHashMap<V> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] keys;
+    private Object[] values;
+    private int mask;
+    private int size;
+    private int resizeThreshold;
+
+    /**
+     * Ctor.
+     */
+    public LongObjectHashMap() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Puts a value for the key, replacing any existing value.
+     *
+     * @param key   key
+     * @param value value, cannot be null
+     * @return previous value or null if none
+     */
+    public V put(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Null value not supported");
+        }
+        int index = slot(key);
+        while (true) {
+            Object existing = values[index];
+            if (existing == null) {
+                keys[index] = key;
+                values[index] = value;
+                if (++size > resizeThreshold) {
+                    rehash(keys.length << 1);
+                }
+                return null;
+            }
+            if (keys[index] == key) {
+                values[index] = value;
+                return (V) existing;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Returns the value for the key.
+     *
+     * @param key key
+     * @return value or null if not found
+     */
+    public V get(long key) {
+        int index = slot(key);
+        while (true) {
+            Object existing = values[index];
+            if (existing == null) {
+                return null;
+            }
+            if (keys[index] == key) {
+                return (V) existing;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    /**
+     * Removes the key.
+     *
+     * @param key key
+     * @return removed value or null if not found
+     */
+    public V remove(long key) {
+        int index = slot(key);
+        while (true) {
+            if (values[index] == null) {
+                return null;
+            }
+            if (keys[index] == key) {
+                break;
+            }
+            index = (index + 1) & mask;
+        }
+
+        Object value = values[index];
+        size--;
+
+        // shift back following entries of the same probe sequence
+        int gap = index;
+        int next = (gap + 1) & mask;
+        while (values[next] != null) {
+            int home = slot(keys[next]);
+            if (((next - home) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        values[gap] = null;
+        return (V) value;
+    }
+
+    /**
+     * Returns the number of entries.
+     *
+     * @return size
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns indicator whether there are no entries.
+     *
+     * @return empty indicator
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Removes all entries, shrinking the table if it has grown.
+     */
+    public void clear() {
+        if (keys.length > INITIAL_CAPACITY) {
+            allocate(INITIAL_CAPACITY);
+        } else {
+            Arrays.fill(values, null);
+        }
+        size = 0;
+    }
+
+    /**
+     * Returns an iterator over the values, in table order.
+     *
+     * @return value iterator
+     */
+    public Iterator<V> valueIterator() {
+        return new ValueIterator();
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        hash ^= hash >>> 32;
+        hash ^= hash >>> 16;
+        return (int) hash & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldValues.length; i++) {
+            Object value = oldValues[i];
+            if (value != null) {
+                int index = slot(oldKeys[i]);
+                while (values[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                keys[index] = oldKeys[i];
+                values[index] = value;
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        mask = capacity - 1;
+        resizeThreshold = capacity / 2;
+    }
+
+    private class ValueIterator implements Iterator<V> {
+        private final Object[] table = values;
+        private int position = advance(0);
+
+        public boolean hasNext() {
+            return position < table.length;
+        }
+
+        public V next() {
+            if (position >= table.length) {
+                throw new NoSuchElementException();
+            }
+            Object value = table[position];
+            position = advance(position + 1);
+            return (V) value;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private int advance(int from) {
+            int index = from;
+            while (index < table.length && table[index] == null) {
+                index++;
+            }
+            return index;
+        }
+    }
+}
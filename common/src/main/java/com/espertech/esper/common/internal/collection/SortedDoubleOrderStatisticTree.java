@@ -0,0 +1,357 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import java.util.Arrays;
+
+/**
+ * Sorted multiset of primitive double values organized as an AVL tree in which each node keeps the
+ * number and the sum of values in its subtree, so that adding, removing, returning the value at a given rank
+ * and returning the sum of the values less than a given value take logarithmic time.
+ * <p>
+ * Nodes are kept in parallel primitive arrays and each node holds a distinct value and its count, so that
+ * duplicate values do not add nodes. NaN values are ignored, same as for {@link SortedDoubleVector}.
+ * </p>
+ */
+public class SortedDoubleOrderStatisticTree {
+    private final static int INITIAL_CAPACITY = 16;
+    private final static int NIL = 0;
+
+    // node zero is the empty subtree, having a subtree size, sum and height of zero
+    private double[] values;
+    private int[] counts;
+    private int[] sizes;
+    private double[] sums;
+    private int[] heights;
+    private int[] left;
+    private int[] right;
+    private int root = NIL;
+    private int numNodes = 1;
+    private int freeList = NIL;
+
+    public SortedDoubleOrderStatisticTree() {
+        allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Clear out the collection.
+     */
+    public void clear() {
+        if (values.length > INITIAL_CAPACITY) {
+            allocate(INITIAL_CAPACITY);
+        }
+        root = NIL;
+        numNodes = 1;
+        freeList = NIL;
+    }
+
+    /**
+     * Returns the number of values in the collection, counting duplicate values.
+     *
+     * @return size
+     */
+    public int size() {
+        return sizes[root];
+    }
+
+    /**
+     * Add a value to the collection.
+     *
+     * @param value is the double-type value to add
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        root = insert(root, value);
+    }
+
+    /**
+     * Remove a value from the collection.
+     *
+     * @param value to remove
+     * @return indicator whether the value was found and removed
+     */
+    public boolean remove(double value) {
+        if (Double.isNaN(value) || !contains(value)) {
+            return false;
+        }
+        root = delete(root, value);
+        return true;
+    }
+
+    /**
+     * Returns the value at a given rank, wherein rank zero is the smallest value.
+     *
+     * @param rank for which to return value for, between zero and size minus one
+     * @return value at rank
+     * @throws IndexOutOfBoundsException if the rank is out of range
+     */
+    public double getValue(int rank) {
+        if (rank < 0 || rank >= sizes[root]) {
+            throw new IndexOutOfBoundsException("Rank " + rank + " out of range for size " + sizes[root]);
+        }
+        int node = root;
+        while (true) {
+            int leftSize = sizes[left[node]];
+            if (rank < leftSize) {
+                node = left[node];
+            } else if (rank < leftSize + counts[node]) {
+                return values[node];
+            } else {
+                rank -= leftSize + counts[node];
+                node = right[node];
+            }
+        }
+    }
+
+    /**
+     * Returns the number of values that are less than the given value.
+     *
+     * @param value to compare to
+     * @return number of values less than the value
+     */
+    public int countLess(double value) {
+        int count = 0;
+        int node = root;
+        while (node != NIL) {
+            if (value <= values[node]) {
+                node = left[node];
+            } else {
+                count += sizes[left[node]] + counts[node];
+                node = right[node];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Returns the sum of the values that are less than the given value.
+     *
+     * @param value to compare to
+     * @return sum of values less than the value
+     */
+    public double sumLess(double value) {
+        double sum = 0;
+        int node = root;
+        while (node != NIL) {
+            if (value <= values[node]) {
+                node = left[node];
+            } else {
+                sum += sums[left[node]] + counts[node] * values[node];
+                node = right[node];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the sum of all values.
+     *
+     * @return sum
+     */
+    public double getSum() {
+        return sums[root];
+    }
+
+    /**
+     * Returns an indicator whether the collection contains the value.
+     *
+     * @param value to find
+     * @return indicator
+     */
+    public boolean contains(double value) {
+        return find(value) != NIL;
+    }
+
+    /**
+     * Returns all values in ascending order, repeating duplicate values.
+     *
+     * @return sorted values
+     */
+    public double[] toArray() {
+        double[] result = new double[sizes[root]];
+        int[] stack = new int[heights[root]];
+        int depth = 0;
+        int count = 0;
+        int node = root;
+        while (node != NIL || depth > 0) {
+            while (node != NIL) {
+                stack[depth++] = node;
+                node = left[node];
+            }
+            node = stack[--depth];
+            for (int i = 0; i < counts[node]; i++) {
+                result[count++] = values[node];
+            }
+            node = right[node];
+        }
+        return result;
+    }
+
+    private int find(double value) {
+        int node = root;
+        while (node != NIL) {
+            if (value < values[node]) {
+                node = left[node];
+            } else if (value > values[node]) {
+                node = right[node];
+            } else {
+                return node;
+            }
+        }
+        return NIL;
+    }
+
+    private int insert(int node, double value) {
+        if (node == NIL) {
+            return newNode(value);
+        }
+        // the arrays may be reallocated by the insert into the subtree, therefore assign after returning
+        if (value < values[node]) {
+            int child = insert(left[node], value);
+            left[node] = child;
+        } else if (value > values[node]) {
+            int child = insert(right[node], value);
+            right[node] = child;
+        } else {
+            counts[node]++;
+            update(node);
+            return node;
+        }
+        return balance(node);
+    }
+
+    private int delete(int node, double value) {
+        if (value < values[node]) {
+            left[node] = delete(left[node], value);
+        } else if (value > values[node]) {
+            right[node] = delete(right[node], value);
+        } else if (counts[node] > 1) {
+            counts[node]--;
+            update(node);
+            return node;
+        } else {
+            if (left[node] == NIL || right[node] == NIL) {
+                int child = left[node] == NIL ? right[node] : left[node];
+                freeNode(node);
+                return child;
+            }
+            // move the smallest value of the right subtree into this node
+            int successor = right[node];
+            while (left[successor] != NIL) {
+                successor = left[successor];
+            }
+            values[node] = values[successor];
+            counts[node] = counts[successor];
+            right[node] = deleteMin(right[node]);
+        }
+        return balance(node);
+    }
+
+    private int deleteMin(int node) {
+        if (left[node] == NIL) {
+            int child = right[node];
+            freeNode(node);
+            return child;
+        }
+        left[node] = deleteMin(left[node]);
+        return balance(node);
+    }
+
+    private int balance(int node) {
+        update(node);
+        int factor = heights[left[node]] - heights[right[node]];
+        if (factor > 1) {
+            if (heights[left[left[node]]] < heights[right[left[node]]]) {
+                left[node] = rotateLeft(left[node]);
+            }
+            return rotateRight(node);
+        }
+        if (factor < -1) {
+            if (heights[right[right[node]]] < heights[left[right[node]]]) {
+                right[node] = rotateRight(right[node]);
+            }
+            return rotateLeft(node);
+        }
+        return node;
+    }
+
+    private int rotateRight(int node) {
+        int pivot = left[node];
+        left[node] = right[pivot];
+        right[pivot] = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private int rotateLeft(int node) {
+        int pivot = right[node];
+        right[node] = left[pivot];
+        left[pivot] = node;
+        update(node);
+        update(pivot);
+        return pivot;
+    }
+
+    private void update(int node) {
+        sizes[node] = sizes[left[node]] + sizes[right[node]] + counts[node];
+        sums[node] = sums[left[node]] + sums[right[node]] + counts[node] * values[node];
+        heights[node] = Math.max(heights[left[node]], heights[right[node]]) + 1;
+    }
+
+    private int newNode(double value) {
+        int node;
+        if (freeList != NIL) {
+            node = freeList;
+            freeList = left[node];
+        } else {
+            if (numNodes == values.length) {
+                grow(values.length * 2);
+            }
+            node = numNodes++;
+        }
+        values[node] = value;
+        counts[node] = 1;
+        sizes[node] = 1;
+        sums[node] = value;
+        heights[node] = 1;
+        left[node] = NIL;
+        right[node] = NIL;
+        return node;
+    }
+
+    private void freeNode(int node) {
+        left[node] = freeList;
+        freeList = node;
+    }
+
+    private void allocate(int capacity) {
+        values = new double[capacity];
+        counts = new int[capacity];
+        sizes = new int[capacity];
+        sums = new double[capacity];
+        heights = new int[capacity];
+        left = new int[capacity];
+        right = new int[capacity];
+    }
+
+    private void grow(int capacity) {
+        values = Arrays.copyOf(values, capacity);
+        counts = Arrays.copyOf(counts, capacity);
+        sizes = Arrays.copyOf(sizes, capacity);
+        sums = Arrays.copyOf(sums, capacity);
+        heights = Arrays.copyOf(heights, capacity);
+        left = Arrays.copyOf(left, capacity);
+        right = Arrays.copyOf(right, capacity);
+    }
+}
@@ -0,0 +1,299 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.view.core.DataWindowViewFactory;
+import com.espertech.esper.common.internal.view.core.ViewDataVisitor;
+
+import java.util.AbstractCollection;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Container for events in timestamp order, backed by a growable ring of timestamps and events.
+ * <p>
+ * Behaves the same as {@link TimeWindow} however keeps one ring slot per event rather than an object per
+ * time slot, and uses an identity index of ring sequence numbers for removal rather than a map of events to time slots.
+ * Adding an event does not allocate other than when the ring or index grows.
+ * <p>
+ * It is assumed that the timestamp passed to the add method is ascending. Removed events leave an empty slot in
+ * the ring that is skipped when expiring or iterating. The first slot, when there is one, is never empty.
+ */
+public final class TimeWindowRing implements Iterable<EventBean> {
+    private static final int INITIAL_CAPACITY = 16;
+
+    private long[] timestamps;
+    private EventBean[] events;
+    private int mask;
+    private int head;
+    private int count;
+    private int size;
+    private long headSequence;
+    private final EventBeanIdentityIndex reverseIndex;
+
+    /**
+     * Ctor.
+     *
+     * @param isSupportRemoveStream true to indicate the time window should support effective removal of events
+     *                              in the window based on the remove stream events received, or false to not accomodate removal at all
+     */
+    public TimeWindowRing(boolean isSupportRemoveStream) {
+        allocate(INITIAL_CAPACITY);
+        reverseIndex = isSupportRemoveStream ? new EventBeanIdentityIndex() : null;
+    }
+
+    /**
+     * Adjust expiry dates.
+     *
+     * @param delta delta to adjust for
+     */
+    public void adjust(long delta) {
+        for (int i = 0; i < count; i++) {
+            int index = (head + i) & mask;
+            timestamps[index] += delta;
+        }
+    }
+
+    /**
+     * Adds event to the time window for the specified timestamp.
+     *
+     * @param timestamp - the time slot for the event
+     * @param bean      - event to add
+     */
+    public void add(long timestamp, EventBean bean) {
+        if (count == events.length) {
+            resize(events.length << 1);
+        }
+        int index = (head + count) & mask;
+        timestamps[index] = timestamp;
+        events[index] = bean;
+        if (reverseIndex != null) {
+            reverseIndex.put(bean, headSequence + count);
+        }
+        count++;
+        size++;
+    }
+
+    /**
+     * Removes the event from the window, if remove stream handling is enabled.
+     *
+     * @param theEvent to remove
+     */
+    public void remove(EventBean theEvent) {
+        if (reverseIndex == null) {
+            throw new UnsupportedOperationException("Time window does not accept event removal");
+        }
+        long sequence = reverseIndex.remove(theEvent);
+        if (sequence == EventBeanIdentityIndex.NOT_FOUND || sequence < headSequence || sequence >= headSequence + count) {
+            return;
+        }
+        int offset = (int) (sequence - headSequence);
+        int index = (head + offset) & mask;
+        if (events[index] != theEvent) {
+            return;
+        }
+        events[index] = null;
+        size--;
+
+        // trim empty slots at either end
+        if (offset == count - 1) {
+            while (count > 0 && events[(head + count - 1) & mask] == null) {
+                count--;
+            }
+        }
+        if (offset == 0) {
+            trimHead();
+        }
+    }
+
+    /**
+     * Return and remove events earlier (less) then the timestamp passed in,
+     * returning the events expired.
+     *
+     * @param expireBefore is the timestamp from which on to keep events in the window
+     * @return events expired and removed from the window, or null if none expired
+     */
+    public EventBean[] expireEvents(long expireBefore) {
+        if (count == 0 || timestamps[head] >= expireBefore) {
+            return null;
+        }
+
+        // determine number of slots and events to expire
+        int numSlots = 0;
+        int numEvents = 0;
+        while (numSlots < count) {
+            int index = (head + numSlots) & mask;
+            if (timestamps[index] >= expireBefore) {
+                break;
+            }
+            if (events[index] != null) {
+                numEvents++;
+            }
+            numSlots++;
+        }
+
+        EventBean[] expired = new EventBean[numEvents];
+        int position = 0;
+        for (int i = 0; i < numSlots; i++) {
+            int index = (head + i) & mask;
+            EventBean theEvent = events[index];
+            if (theEvent != null) {
+                expired[position++] = theEvent;
+                events[index] = null;
+                if (reverseIndex != null) {
+                    reverseIndex.remove(theEvent);
+                }
+            }
+        }
+        head = (head + numSlots) & mask;
+        headSequence += numSlots;
+        count -= numSlots;
+        size -= numEvents;
+        trimHead();
+
+        // shrink to half the capacity or more when less then a quarter is used
+        int capacity = events.length;
+        while (capacity > INITIAL_CAPACITY && count < (capacity >> 2)) {
+            capacity >>= 1;
+        }
+        if (capacity != events.length) {
+            resize(capacity);
+        }
+        return expired;
+    }
+
+    /**
+     * Returns event iterator.
+     *
+     * @return iterator over events currently in window
+     */
+    public Iterator<EventBean> iterator() {
+        return new RingIterator();
+    }
+
+    /**
+     * Returns the oldest timestamp in the collection if there is at least one entry,
+     * else it returns null if the window is empty.
+     *
+     * @return null if empty, oldest timestamp if not empty
+     */
+    public Long getOldestTimestamp() {
+        if (count == 0) {
+            return null;
+        }
+        return timestamps[head];
+    }
+
+    /**
+     * Returns true if the window is currently empty.
+     *
+     * @return true if empty, false if not
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of events in the window.
+     *
+     * @return number of events
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns the reverse index, for testing purposes.
+     *
+     * @return reverse index or null if removal is not supported
+     */
+    public EventBeanIdentityIndex getReverseIndex() {
+        return reverseIndex;
+    }
+
+    /**
+     * Returns the number of ring slots, for testing purposes.
+     *
+     * @return capacity
+     */
+    public int getCapacity() {
+        return events.length;
+    }
+
+    public void visitView(ViewDataVisitor viewDataVisitor, DataWindowViewFactory viewFactory) {
+        viewDataVisitor.visitPrimary(new AbstractCollection<EventBean>() {
+            public Iterator<EventBean> iterator() {
+                return TimeWindowRing.this.iterator();
+            }
+
+            public int size() {
+                return size;
+            }
+        }, true, viewFactory.getViewName(), size);
+    }
+
+    private void trimHead() {
+        while (count > 0 && events[head] == null) {
+            head = (head + 1) & mask;
+            headSequence++;
+            count--;
+        }
+    }
+
+    private void resize(int capacity) {
+        long[] newTimestamps = new long[capacity];
+        EventBean[] newEvents = new EventBean[capacity];
+        for (int i = 0; i < count; i++) {
+            int index = (head + i) & mask;
+            newTimestamps[i] = timestamps[index];
+            newEvents[i] = events[index];
+        }
+        timestamps = newTimestamps;
+        events = newEvents;
+        mask = capacity - 1;
+        head = 0;
+    }
+
+    private void allocate(int capacity) {
+        timestamps = new long[capacity];
+        events = new EventBean[capacity];
+        mask = capacity - 1;
+    }
+
+    private class RingIterator implements Iterator<EventBean> {
+        private int offset;
+
+        RingIterator() {
+            advance();
+        }
+
+        public boolean hasNext() {
+            return offset < count;
+        }
+
+        public EventBean next() {
+            if (offset >= count) {
+                throw new NoSuchElementException();
+            }
+            EventBean theEvent = events[(head + offset) & mask];
+            offset++;
+            advance();
+            return theEvent;
+        }
+
+        private void advance() {
+            while (offset < count && events[(head + offset) & mask] == null) {
+                offset++;
+            }
+        }
+    }
+}
@@ -2219,6 +2219,13 @@ public class StatementSpecMapper {
             return new AvgProjectionExpression(sub.isDistinct());
         } else if (expr instanceof ExprNthAggNode) {
             return new PlugInProjectionExpression("nth", false);
+        } else if (expr instanceof ExprPercentileNode) {
+            ExprPercentileNode percentile = (ExprPercentileNode) expr;
+            return new PlugInProjectionExpression(percentile.getAggregationFunctionName(), percentile.isDistinct());
+        } else if (expr instanceof ExprApproxCountDistinctNode) {
+            return new PlugInProjectionExpression("approxCountDistinct", false);
+        } else if (expr instanceof ExprApproxPercentileNode) {
+            return new PlugInProjectionExpression("approxPercentile", false);
         } else if (expr instanceof ExprBetweenNode) {
             ExprBetweenNode between = (ExprBetweenNode) expr;
             return new BetweenExpression(between.isLowEndpointIncluded(), between.isHighEndpointIncluded(), between.isNotBetween());
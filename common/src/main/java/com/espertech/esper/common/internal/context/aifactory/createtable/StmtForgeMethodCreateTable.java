@@ -11,6 +11,7 @@
 package com.espertech.esper.common.internal.context.aifactory.createtable;
 
 import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.annotation.OffHeap;
 import com.espertech.esper.common.client.meta.EventTypeApplicationType;
 import com.espertech.esper.common.client.meta.EventTypeIdPair;
 import com.espertech.esper.common.client.meta.EventTypeMetadata;
@@ -87,6 +88,11 @@ public class StmtForgeMethodCreateTable implements StmtForgeMethod {
         // determine whether already declared as table or variable
         EPLValidationUtil.validateAlreadyExistsTableOrVariable(tableName, services.getVariableCompileTimeResolver(), services.getTableCompileTimeResolver(), services.getEventTypeCompileTimeResolver());
 
+        // table rows hold aggregation state that is updated in place
+        if (AnnotationUtil.findAnnotation(base.getStatementSpec().getAnnotations(), OffHeap.class) != null) {
+            throw new ExprValidationException("Off-heap storage is not supported for tables");
+        }
+
         // determine key types
         validateKeyTypes(createDesc.getColumns(), services.getClasspathImportServiceCompileTime());
 
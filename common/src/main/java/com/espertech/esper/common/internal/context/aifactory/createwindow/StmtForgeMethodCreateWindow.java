@@ -12,6 +12,7 @@ package com.espertech.esper.common.internal.context.aifactory.createwindow;
 
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.annotation.HintEnum;
+import com.espertech.esper.common.client.annotation.OffHeap;
 import com.espertech.esper.common.client.util.StatementProperty;
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenPackageScope;
 import com.espertech.esper.common.internal.bytecodemodel.core.CodeGenerationIDGenerator;
@@ -27,7 +28,9 @@ import com.espertech.esper.common.internal.context.module.StatementAIFactoryProv
 import com.espertech.esper.common.internal.context.module.StatementFields;
 import com.espertech.esper.common.internal.context.module.StatementInformationalsCompileTime;
 import com.espertech.esper.common.internal.context.module.StatementProvider;
+import com.espertech.esper.common.internal.epl.annotation.AnnotationUtil;
 import com.espertech.esper.common.internal.epl.expression.core.*;
+import com.espertech.esper.common.internal.epl.namedwindow.offheap.OffHeapEventSerde;
 import com.espertech.esper.common.internal.epl.namedwindow.path.NamedWindowMetaData;
 import com.espertech.esper.common.internal.epl.resultset.core.ResultSetProcessorDesc;
 import com.espertech.esper.common.internal.epl.resultset.core.ResultSetProcessorFactoryFactory;
@@ -134,6 +137,20 @@ public class StmtForgeMethodCreateWindow implements StmtForgeMethod {
         // add named window
         boolean isBatchingDataWindow = determineBatchingDataWindow(viewForges);
         boolean virtualDataWindow = viewForges.get(0) instanceof VirtualDWViewFactoryForge;
+        if (AnnotationUtil.findAnnotation(base.getStatementSpec().getAnnotations(), OffHeap.class) != null) {
+            if (virtualDataWindow) {
+                throw new ExprValidationException("Off-heap storage is not supported for virtual data windows");
+            }
+            OffHeapEventSerde.make(namedWindowType);
+        }
+        if (HintEnum.ENABLE_WINDOW_SNAPSHOT_READ.getHint(base.getStatementSpec().getAnnotations()) != null) {
+            if (isBatchingDataWindow || virtualDataWindow) {
+                throw new ExprValidationException("Snapshot reads are not supported for batch data windows and virtual data windows");
+            }
+            if (AnnotationUtil.findAnnotation(base.getStatementSpec().getAnnotations(), OffHeap.class) != null) {
+                throw new ExprValidationException("Snapshot reads are not supported for off-heap named windows");
+            }
+        }
         boolean isEnableIndexShare = virtualDataWindow || HintEnum.ENABLE_WINDOW_SUBQUERY_INDEXSHARE.getHint(base.getStatementSpec().getAnnotations()) != null;
         NamedWindowMetaData metaData = new NamedWindowMetaData(namedWindowType, base.getModuleName(), base.getContextName(), uniqueKeyProArray, isBatchingDataWindow, isEnableIndexShare, compileResult.getAsEventType(), virtualDataWindow);
         services.getNamedWindowCompileTimeRegistry().newNamedWindow(metaData);
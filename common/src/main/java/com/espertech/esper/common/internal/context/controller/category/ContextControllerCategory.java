@@ -19,6 +19,7 @@ import com.espertech.esper.common.internal.context.mgr.ContextManagerRealization
 import com.espertech.esper.common.internal.context.mgr.ContextPartitionInstantiationResult;
 import com.espertech.esper.common.internal.context.mgr.ContextPartitionVisitor;
 import com.espertech.esper.common.internal.context.util.AgentInstanceTransferServices;
+import com.espertech.esper.common.internal.filtersvc.FilterService;
 
 import java.util.Map;
 
@@ -32,25 +33,39 @@ public abstract class ContextControllerCategory extends ContextControllerBase {
     }
 
     public void activate(IntSeqKey path, Object[] parentPartitionKeys, EventBean optionalTriggeringEvent, Map<String, Object> optionalTriggeringPattern) {
-        int count = 0;
-        ContextControllerDetailCategoryItem[] categories = factory.getCategorySpec().getItems();
-        int[] subpathOrCPIds = new int[categories.length];
+        // filters of all partitions get added in bulk
+        FilterService filterService = realization.getAgentInstanceContextCreate().getFilterService();
+        filterService.beginBulk();
+        try {
+            int count = 0;
+            ContextControllerDetailCategoryItem[] categories = factory.getCategorySpec().getItems();
+            int[] subpathOrCPIds = new int[categories.length];
 
-        for (int i = 0; i < categories.length; i++) {
-            ContextPartitionInstantiationResult result = realization.contextPartitionInstantiate(path, count, this, null, null, parentPartitionKeys, count);
-            subpathOrCPIds[i] = result.getSubpathOrCPId();
-            count++;
-        }
+            for (int i = 0; i < categories.length; i++) {
+                ContextPartitionInstantiationResult result = realization.contextPartitionInstantiate(path, count, this, null, null, parentPartitionKeys, count);
+                subpathOrCPIds[i] = result.getSubpathOrCPId();
+                count++;
+            }
 
-        categorySvc.mgmtCreate(path, parentPartitionKeys, subpathOrCPIds);
+            categorySvc.mgmtCreate(path, parentPartitionKeys, subpathOrCPIds);
+        } finally {
+            filterService.endBulk();
+        }
     }
 
     public void deactivate(IntSeqKey path, boolean terminateChildContexts) {
-        int[] subpathIdorCPs = categorySvc.mgmtDelete(path);
-        if (subpathIdorCPs != null && terminateChildContexts) {
-            for (int i = 0; i < factory.getCategorySpec().getItems().length; i++) {
-                realization.contextPartitionTerminate(path, subpathIdorCPs[i], this, null, false, null);
+        // filters of all partitions get removed in bulk
+        FilterService filterService = realization.getAgentInstanceContextCreate().getFilterService();
+        filterService.beginBulk();
+        try {
+            int[] subpathIdorCPs = categorySvc.mgmtDelete(path);
+            if (subpathIdorCPs != null && terminateChildContexts) {
+                for (int i = 0; i < factory.getCategorySpec().getItems().length; i++) {
+                    realization.contextPartitionTerminate(path, subpathIdorCPs[i], this, null, false, null);
+                }
             }
+        } finally {
+            filterService.endBulk();
         }
     }
 
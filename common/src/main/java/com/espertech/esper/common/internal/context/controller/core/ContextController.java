@@ -33,4 +33,13 @@ public interface ContextController {
     void destroy();
 
     ContextManagerRealization getRealization();
+
+    /**
+     * Returns the keys by which events map to the partitions of this controller, or null when partitions are not determined by event keys.
+     *
+     * @return shard keys or null
+     */
+    default ContextShardKey[] getShardKeys() {
+        return null;
+    }
 }
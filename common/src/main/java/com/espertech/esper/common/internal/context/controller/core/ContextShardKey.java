@@ -0,0 +1,35 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.context.controller.core;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+
+/**
+ * Maps events of a given type to the hash of the context partition they belong to,
+ * so that the runtime can route all events of a partition to the same processing shard.
+ */
+public interface ContextShardKey {
+    /**
+     * Returns the event type that the key applies to.
+     *
+     * @return event type
+     */
+    EventType getEventType();
+
+    /**
+     * Returns a hash that is the same for all events belonging to the same partition.
+     *
+     * @param theEvent event of the event type
+     * @return hash
+     */
+    int shardHash(EventBean theEvent);
+}
@@ -13,10 +13,12 @@ package com.espertech.esper.common.internal.context.controller.hash;
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.internal.collection.IntSeqKey;
 import com.espertech.esper.common.internal.context.controller.core.ContextControllerFilterEntry;
+import com.espertech.esper.common.internal.context.controller.core.ContextShardKey;
 import com.espertech.esper.common.internal.context.mgr.ContextManagerRealization;
 import com.espertech.esper.common.internal.context.mgr.ContextPartitionInstantiationResult;
 import com.espertech.esper.common.internal.context.util.AgentInstanceTransferServices;
 import com.espertech.esper.common.internal.context.util.AgentInstanceUtil;
+import com.espertech.esper.common.internal.filtersvc.FilterService;
 
 import java.util.Collection;
 import java.util.Map;
@@ -35,8 +37,15 @@ public class ContextControllerHashImpl extends ContextControllerHash {
         hashSvc.mgmtCreate(path, parentPartitionKeys);
 
         if (factory.getHashSpec().isPreallocate()) {
-            int[] subpathOrCPIds = activateByPreallocate(path, parentPartitionKeys, optionalTriggeringEvent);
-            hashSvc.mgmtSetSubpathOrCPIdsWhenPreallocate(path, subpathOrCPIds);
+            // filters of preallocated partitions get added in bulk
+            FilterService filterService = realization.getAgentInstanceContextCreate().getFilterService();
+            filterService.beginBulk();
+            try {
+                int[] subpathOrCPIds = activateByPreallocate(path, parentPartitionKeys, optionalTriggeringEvent);
+                hashSvc.mgmtSetSubpathOrCPIdsWhenPreallocate(path, subpathOrCPIds);
+            } finally {
+                filterService.endBulk();
+            }
             return;
         }
 
@@ -59,24 +68,31 @@ public class ContextControllerHashImpl extends ContextControllerHash {
     }
 
     public void deactivate(IntSeqKey path, boolean terminateChildContexts) {
-        if (factory.getHashSpec().isPreallocate() && terminateChildContexts) {
-            int[] subpathOrCPIds = hashSvc.mgmtGetSubpathOrCPIdsWhenPreallocate(path);
-            for (int i = 0; i < factory.getHashSpec().getGranularity(); i++) {
-                realization.contextPartitionTerminate(path, subpathOrCPIds[i], this, null, false, null);
+        // filters of all partitions get removed in bulk
+        FilterService filterService = realization.getAgentInstanceContextCreate().getFilterService();
+        filterService.beginBulk();
+        try {
+            if (factory.getHashSpec().isPreallocate() && terminateChildContexts) {
+                int[] subpathOrCPIds = hashSvc.mgmtGetSubpathOrCPIdsWhenPreallocate(path);
+                for (int i = 0; i < factory.getHashSpec().getGranularity(); i++) {
+                    realization.contextPartitionTerminate(path, subpathOrCPIds[i], this, null, false, null);
+                }
+                return;
             }
-            return;
-        }
 
-        ContextControllerFilterEntry[] filters = hashSvc.mgmtGetFilters(path);
-        if (filters != null) {
-            for (ContextControllerFilterEntry callback : filters) {
-                ((ContextControllerHashFilterEntry) callback).destroy();
+            ContextControllerFilterEntry[] filters = hashSvc.mgmtGetFilters(path);
+            if (filters != null) {
+                for (ContextControllerFilterEntry callback : filters) {
+                    ((ContextControllerHashFilterEntry) callback).destroy();
+                }
             }
-        }
 
-        Collection<Integer> subpathOrCPIds = hashSvc.deactivate(path);
-        for (int id : subpathOrCPIds) {
-            realization.contextPartitionTerminate(path, id, this, null, false, null);
+            Collection<Integer> subpathOrCPIds = hashSvc.deactivate(path);
+            for (int id : subpathOrCPIds) {
+                realization.contextPartitionTerminate(path, id, this, null, false, null);
+            }
+        } finally {
+            filterService.endBulk();
         }
     }
 
@@ -109,6 +125,16 @@ public class ContextControllerHashImpl extends ContextControllerHash {
         hashSvc.destroy();
     }
 
+    public ContextShardKey[] getShardKeys() {
+        ContextControllerDetailHashItem[] hashItems = factory.getHashSpec().getItems();
+        ContextShardKey[] keys = new ContextShardKey[hashItems.length];
+        for (int i = 0; i < hashItems.length; i++) {
+            ContextControllerDetailHashItem item = hashItems[i];
+            keys[i] = new ContextControllerHashShardKey(item.getFilterSpecActivatable().getFilterForEventType(), item.getLookupable().getEval(), realization.getAgentInstanceContextCreate().getStatementContext());
+        }
+        return keys;
+    }
+
     public void transfer(IntSeqKey path, boolean transferChildContexts, AgentInstanceTransferServices xfer) {
         if (!factory.getHashSpec().isPreallocate()) {
             ContextControllerFilterEntry[] filterEntries = hashSvc.mgmtGetFilters(path);
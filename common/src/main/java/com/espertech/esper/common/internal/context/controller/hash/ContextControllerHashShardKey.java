@@ -0,0 +1,50 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.context.controller.hash;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.context.controller.core.ContextShardKey;
+import com.espertech.esper.common.internal.context.util.ExprEvaluatorContextStatement;
+import com.espertech.esper.common.internal.context.util.StatementContext;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEventEvaluator;
+
+/**
+ * Shard key of a hash context, the hash is the partition number itself.
+ * <p>
+ * The hash function is evaluated by the sending threads outside of the context's agent-instance lock,
+ * therefore each thread evaluates with its own statement-level evaluation context.
+ * </p>
+ */
+public class ContextControllerHashShardKey implements ContextShardKey {
+    private final EventType eventType;
+    private final ExprEventEvaluator hashEval;
+    private final ThreadLocal<ExprEvaluatorContext> exprEvaluatorContext;
+
+    public ContextControllerHashShardKey(EventType eventType, ExprEventEvaluator hashEval, final StatementContext statementContext) {
+        this.eventType = eventType;
+        this.hashEval = hashEval;
+        this.exprEvaluatorContext = new ThreadLocal<ExprEvaluatorContext>() {
+            protected synchronized ExprEvaluatorContext initialValue() {
+                return new ExprEvaluatorContextStatement(statementContext, true);
+            }
+        };
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public int shardHash(EventBean theEvent) {
+        return (Integer) hashEval.eval(theEvent, exprEvaluatorContext.get());
+    }
+}
@@ -78,10 +78,14 @@ public class ContextControllerKeyedFactoryForge extends ContextControllerForgeBa
 
     public ContextControllerPortableInfo getValidationInfo() {
         ContextControllerKeyedValidationItem[] items = new ContextControllerKeyedValidationItem[detail.getItems().size()];
+        boolean unconditional = (detail.getOptionalInit() == null || detail.getOptionalInit().isEmpty()) && detail.getOptionalTermination() == null;
         for (int i = 0; i < detail.getItems().size(); i++) {
             ContextSpecKeyedItem props = detail.getItems().get(i);
             items[i] = new ContextControllerKeyedValidationItem(props.getFilterSpecCompiled().getFilterForEventType(), props.getPropertyNames().toArray(new String[props.getPropertyNames().size()]));
+            if (!props.getFilterSpecRaw().getFilterExpressions().isEmpty() || props.getFilterSpecRaw().getOptionalPropertyEvalSpec() != null) {
+                unconditional = false;
+            }
         }
-        return new ContextControllerKeyedValidation(items);
+        return new ContextControllerKeyedValidation(items, unconditional);
     }
 }
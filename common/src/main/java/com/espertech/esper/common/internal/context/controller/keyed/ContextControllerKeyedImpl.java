@@ -14,6 +14,7 @@ import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.internal.collection.IntSeqKey;
 import com.espertech.esper.common.internal.context.controller.condition.*;
 import com.espertech.esper.common.internal.context.controller.core.ContextControllerFilterEntry;
+import com.espertech.esper.common.internal.context.controller.core.ContextShardKey;
 import com.espertech.esper.common.internal.context.mgr.ContextManagerRealization;
 import com.espertech.esper.common.internal.context.mgr.ContextPartitionInstantiationResult;
 import com.espertech.esper.common.internal.context.util.AgentInstance;
@@ -22,6 +23,7 @@ import com.espertech.esper.common.internal.context.util.AgentInstanceUtil;
 import com.espertech.esper.common.internal.context.util.FilterFaultHandler;
 import com.espertech.esper.common.internal.event.core.EventBeanTypedEventFactory;
 import com.espertech.esper.common.internal.filterspec.MatchedEventMap;
+import com.espertech.esper.common.internal.filtersvc.FilterService;
 import com.espertech.esper.common.internal.util.CollectionUtil;
 
 import java.util.Collection;
@@ -48,23 +50,31 @@ public class ContextControllerKeyedImpl extends ContextControllerKeyed {
         if (path.length() != factory.getFactoryEnv().getNestingLevel() - 1) {
             throw new IllegalStateException("Unrecognized controller path");
         }
-        ContextControllerFilterEntry[] filters = keyedSvc.mgmtGetFilters(path);
-        for (ContextControllerFilterEntry callback : filters) {
-            ((ContextControllerKeyedFilterEntry) callback).destroy();
-        }
 
-        if (factory.getKeyedSpec().getOptionalTermination() != null) {
-            List<ContextControllerConditionNonHA> terminationConditions = keyedSvc.keyGetTermConditions(path);
-            for (ContextControllerConditionNonHA condition : terminationConditions) {
-                condition.deactivate();
+        // filters of all partitions get removed in bulk
+        FilterService filterService = realization.getAgentInstanceContextCreate().getFilterService();
+        filterService.beginBulk();
+        try {
+            ContextControllerFilterEntry[] filters = keyedSvc.mgmtGetFilters(path);
+            for (ContextControllerFilterEntry callback : filters) {
+                ((ContextControllerKeyedFilterEntry) callback).destroy();
             }
-        }
 
-        Collection<Integer> subpaths = keyedSvc.deactivate(path);
-        if (terminateChildContexts) {
-            for (int subpathId : subpaths) {
-                realization.contextPartitionTerminate(path, subpathId, this, null, false, null);
+            if (factory.getKeyedSpec().getOptionalTermination() != null) {
+                List<ContextControllerConditionNonHA> terminationConditions = keyedSvc.keyGetTermConditions(path);
+                for (ContextControllerConditionNonHA condition : terminationConditions) {
+                    condition.deactivate();
+                }
             }
+
+            Collection<Integer> subpaths = keyedSvc.deactivate(path);
+            if (terminateChildContexts) {
+                for (int subpathId : subpaths) {
+                    realization.contextPartitionTerminate(path, subpathId, this, null, false, null);
+                }
+            }
+        } finally {
+            filterService.endBulk();
         }
     }
 
@@ -124,6 +134,15 @@ public class ContextControllerKeyedImpl extends ContextControllerKeyed {
         keyedSvc.destroy();
     }
 
+    public ContextShardKey[] getShardKeys() {
+        ContextControllerDetailKeyedItem[] items = factory.getKeyedSpec().getItems();
+        ContextShardKey[] keys = new ContextShardKey[items.length];
+        for (int i = 0; i < items.length; i++) {
+            keys[i] = new ContextControllerKeyedShardKey(items[i].getFilterSpecActivatable().getFilterForEventType(), items[i].getGetter());
+        }
+        return keys;
+    }
+
     private ContextControllerConditionNonHA activateTermination(EventBean triggeringEvent, Object[] parentPartitionKeys, Object partitionKey, IntSeqKey conditionPath, String optionalInitCondAsName) {
         ContextControllerConditionCallback callback = new ContextControllerConditionCallback() {
             public void rangeNotification(IntSeqKey conditionPath, ContextControllerConditionNonHA originEndpoint, EventBean optionalTriggeringEvent, Map<String, Object> optionalTriggeringPattern, EventBean optionalTriggeringEventPattern, Map<String, Object> optionalPatternForInclusiveEval) {
@@ -0,0 +1,42 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.context.controller.keyed;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventPropertyValueGetter;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.context.controller.core.ContextShardKey;
+
+/**
+ * Shard key of a keyed context, the hash is the hash code of the partition key.
+ */
+public class ContextControllerKeyedShardKey implements ContextShardKey {
+    private final EventType eventType;
+    private final EventPropertyValueGetter getter;
+
+    public ContextControllerKeyedShardKey(EventType eventType, EventPropertyValueGetter getter) {
+        this.eventType = eventType;
+        this.getter = getter;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public int shardHash(EventBean theEvent) {
+        Object key = getter.get(theEvent);
+        if (key == null) {
+            return 0;
+        }
+        int hash = key.hashCode();
+        return hash ^ (hash >>> 16);
+    }
+}
@@ -18,26 +18,43 @@ import com.espertech.esper.common.internal.context.controller.core.ContextContro
 import com.espertech.esper.common.internal.context.controller.core.ContextControllerPortableInfo;
 import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
 
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.constant;
 import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.newArrayWithInit;
 import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.newInstance;
 
 public class ContextControllerKeyedValidation implements ContextControllerPortableInfo {
     private final ContextControllerKeyedValidationItem[] items;
+    private final boolean unconditional;
 
     public ContextControllerKeyedValidation(ContextControllerKeyedValidationItem[] items) {
+        this(items, false);
+    }
+
+    public ContextControllerKeyedValidation(ContextControllerKeyedValidationItem[] items, boolean unconditional) {
         this.items = items;
+        this.unconditional = unconditional;
     }
 
     public ContextControllerKeyedValidationItem[] getItems() {
         return items;
     }
 
+    /**
+     * Returns true when partitions are allocated for every key without an initiating or terminating condition
+     * and without filter expressions on any partition item.
+     *
+     * @return indicator
+     */
+    public boolean isUnconditional() {
+        return unconditional;
+    }
+
     public CodegenExpression make(CodegenExpressionRef addInitSvc) {
         CodegenExpression[] init = new CodegenExpression[items.length];
         for (int i = 0; i < init.length; i++) {
             init[i] = items[i].make(addInitSvc);
         }
-        return newInstance(ContextControllerKeyedValidation.class, newArrayWithInit(ContextControllerKeyedValidationItem.class, init));
+        return newInstance(ContextControllerKeyedValidation.class, newArrayWithInit(ContextControllerKeyedValidationItem.class, init), constant(unconditional));
     }
 
     public void validateStatement(String contextName, StatementSpecCompiled spec, StatementCompileTimeServices compileTimeServices) throws ExprValidationException {
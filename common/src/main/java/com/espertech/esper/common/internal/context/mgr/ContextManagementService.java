@@ -10,8 +10,10 @@
  */
 package com.espertech.esper.common.internal.context.mgr;
 
+import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.context.ContextStateListener;
 import com.espertech.esper.common.internal.context.controller.core.ContextDefinition;
+import com.espertech.esper.common.internal.context.controller.core.ContextShardKey;
 import com.espertech.esper.common.internal.context.module.EPStatementInitServices;
 
 import java.util.Map;
@@ -33,4 +35,10 @@ public interface ContextManagementService {
     CopyOnWriteArrayList<ContextStateListener> getListeners();
 
     Map<String, ContextDeployment> getDeployments();
+
+    void addShardKeys(String deploymentIdCreateContext, String contextName, ContextShardKey[] shardKeys);
+
+    void removeShardKeys(String deploymentIdCreateContext, String contextName);
+
+    ContextShardKey getShardKey(EventType eventType);
 }
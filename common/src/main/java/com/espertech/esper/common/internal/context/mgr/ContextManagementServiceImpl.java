@@ -10,14 +10,19 @@
  */
 package com.espertech.esper.common.internal.context.mgr;
 
+import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.context.ContextStateEventContextDestroyed;
 import com.espertech.esper.common.client.context.ContextStateListener;
 import com.espertech.esper.common.internal.context.controller.core.ContextDefinition;
+import com.espertech.esper.common.internal.context.controller.core.ContextShardKey;
 import com.espertech.esper.common.internal.context.module.EPStatementInitServices;
+import com.espertech.esper.common.internal.util.DeploymentIdNamePair;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -26,6 +31,8 @@ public class ContextManagementServiceImpl implements ContextManagementService {
 
     private final CopyOnWriteArrayList<ContextStateListener> listeners = new CopyOnWriteArrayList<>();
     private final Map<String, ContextDeployment> deployments = new HashMap<>();
+    private final Map<DeploymentIdNamePair, ContextShardKey[]> shardKeysPerContext = new LinkedHashMap<>();
+    private volatile Map<EventType, ContextShardKey> shardKeysPerType = Collections.emptyMap();
 
     public void addContext(ContextDefinition contextDefinition, EPStatementInitServices services) {
         ContextDeployment deployment = deployments.get(services.getDeploymentId());
@@ -83,6 +90,32 @@ public class ContextManagementServiceImpl implements ContextManagementService {
         return deployments;
     }
 
+    public synchronized void addShardKeys(String deploymentIdCreateContext, String contextName, ContextShardKey[] shardKeys) {
+        shardKeysPerContext.put(new DeploymentIdNamePair(deploymentIdCreateContext, contextName), shardKeys);
+        rebuildShardKeysPerType();
+    }
+
+    public synchronized void removeShardKeys(String deploymentIdCreateContext, String contextName) {
+        if (shardKeysPerContext.remove(new DeploymentIdNamePair(deploymentIdCreateContext, contextName)) != null) {
+            rebuildShardKeysPerType();
+        }
+    }
+
+    public ContextShardKey getShardKey(EventType eventType) {
+        return shardKeysPerType.get(eventType);
+    }
+
+    private void rebuildShardKeysPerType() {
+        // readers see an immutable snapshot; when contexts share an event type the earliest-activated context decides
+        Map<EventType, ContextShardKey> perType = new HashMap<>();
+        for (ContextShardKey[] shardKeys : shardKeysPerContext.values()) {
+            for (ContextShardKey shardKey : shardKeys) {
+                perType.putIfAbsent(shardKey.getEventType(), shardKey);
+            }
+        }
+        shardKeysPerType = perType;
+    }
+
     private ContextManager getAssertContextManager(String deploymentIdCreateContext, String contextName) {
         ContextManager contextManager = getContextManager(deploymentIdCreateContext, contextName);
         if (contextManager == null) {
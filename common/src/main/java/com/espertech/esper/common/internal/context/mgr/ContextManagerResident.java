@@ -20,6 +20,7 @@ import com.espertech.esper.common.internal.context.airegistry.AIRegistryRequirem
 import com.espertech.esper.common.internal.context.airegistry.AIRegistryUtil;
 import com.espertech.esper.common.internal.context.airegistry.StatementAIResourceRegistry;
 import com.espertech.esper.common.internal.context.controller.core.ContextDefinition;
+import com.espertech.esper.common.internal.context.controller.core.ContextShardKey;
 import com.espertech.esper.common.internal.context.cpidsvc.ContextPartitionIdService;
 import com.espertech.esper.common.internal.context.util.*;
 import com.espertech.esper.common.internal.event.core.MappedEventBean;
@@ -71,6 +72,7 @@ public class ContextManagerResident implements ContextManager, ContextIteratorHa
         // activate if this is the first statement
         if (statements.size() == 1) {
             getRealization().startContext();
+            addShardKeys();
             ContextStateEventUtil.dispatchPartition(listenersLazy, () -> new ContextStateEventContextActivated(statementContextCreate.getRuntimeURI(), contextRuntimeDescriptor.getContextDeploymentId(), contextDefinition.getContextName()), ContextPartitionStateListener::onContextActivated);
         } else {
             // activate statement in respect to existing context partitions
@@ -85,6 +87,7 @@ public class ContextManagerResident implements ContextManager, ContextIteratorHa
         removeStatement(statementId);
         ContextStateEventUtil.dispatchPartition(listenersLazy, () -> new ContextStateEventContextStatementRemoved(statementContextCreate.getRuntimeURI(), contextRuntimeDescriptor.getContextDeploymentId(), contextRuntimeDescriptor.getContextName(), statementDeploymentId, statementName), ContextPartitionStateListener::onContextStatementRemoved);
         if (statements.isEmpty()) {
+            statementContextCreate.getContextManagementService().removeShardKeys(contextRuntimeDescriptor.getContextDeploymentId(), contextDefinition.getContextName());
             getRealization().stopContext();
             contextPartitionIdService.clear();
             ContextStateEventUtil.dispatchPartition(listenersLazy, () -> new ContextStateEventContextDeactivated(statementContextCreate.getRuntimeURI(), contextRuntimeDescriptor.getContextDeploymentId(), contextRuntimeDescriptor.getContextName()), ContextPartitionStateListener::onContextDeactivated);
@@ -126,6 +129,13 @@ public class ContextManagerResident implements ContextManager, ContextIteratorHa
         return new ContextManagerRealization(this, agentInstanceContext);
     }
 
+    private void addShardKeys() {
+        ContextShardKey[] shardKeys = getRealization().getContextControllers()[0].getShardKeys();
+        if (shardKeys != null) {
+            statementContextCreate.getContextManagementService().addShardKeys(contextRuntimeDescriptor.getContextDeploymentId(), contextDefinition.getContextName(), shardKeys);
+        }
+    }
+
     private void removeStatement(int statementId) {
         ContextControllerStatementDesc statementDesc = statements.get(statementId);
         if (statementDesc == null) {
@@ -13,6 +13,11 @@ package com.espertech.esper.common.internal.context.util;
 import java.util.Map;
 
 public class ByteArrayProvidingClassLoader extends ClassLoader {
+    static {
+        // allows deployment to load classes from multiple threads without serializing on the class loader
+        registerAsParallelCapable();
+    }
+
     private final Map<String, byte[]> classes;
 
     public ByteArrayProvidingClassLoader(Map<String, byte[]> classes, ClassLoader parent) {
@@ -0,0 +1,63 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.method.approx;
+
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMemberCol;
+import com.espertech.esper.common.internal.bytecodemodel.core.CodegenCtor;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationPortableValidation;
+import com.espertech.esper.common.internal.epl.agg.method.core.AggregationForgeFactoryBase;
+import com.espertech.esper.common.internal.epl.agg.method.core.AggregatorMethod;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNodeBase;
+import com.espertech.esper.common.internal.epl.expression.agg.method.ExprApproxCountDistinctNode;
+import com.espertech.esper.common.internal.epl.expression.agg.method.ExprMethodAggUtil;
+import com.espertech.esper.common.internal.epl.expression.core.ExprForge;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+
+public class AggregationForgeFactoryApproxCountDistinct extends AggregationForgeFactoryBase {
+    protected final ExprApproxCountDistinctNode parent;
+    protected final Class aggregatedValueType;
+    private AggregatorMethod aggregator;
+
+    public AggregationForgeFactoryApproxCountDistinct(ExprApproxCountDistinctNode parent, Class aggregatedValueType) {
+        this.parent = parent;
+        this.aggregatedValueType = aggregatedValueType;
+    }
+
+    public Class getResultType() {
+        return Long.class;
+    }
+
+    public void initMethodForge(int col, CodegenCtor rowCtor, CodegenMemberCol membersColumnized, CodegenClassScope classScope) {
+        aggregator = new AggregatorApproxCountDistinct(this, col, rowCtor, membersColumnized, classScope, parent.getOptionalFilter() != null, parent.getOptionalFilter());
+    }
+
+    public AggregatorMethod getAggregator() {
+        return aggregator;
+    }
+
+    public ExprAggregateNodeBase getAggregationExpression() {
+        return parent;
+    }
+
+    public ExprForge[] getMethodAggregationForge(boolean join, EventType[] typesPerStream) throws ExprValidationException {
+        ExprNode[] params = parent.getOptionalFilter() == null ?
+            new ExprNode[]{parent.getPositionalParams()[0]} :
+            new ExprNode[]{parent.getPositionalParams()[0], parent.getOptionalFilter()};
+        return ExprMethodAggUtil.getDefaultForges(params, join, typesPerStream);
+    }
+
+    public AggregationPortableValidation getAggregationPortableValidation() {
+        return new AggregationPortableValidationApproxCountDistinct(false, parent.getOptionalFilter() != null, aggregatedValueType);
+    }
+}
@@ -0,0 +1,57 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.method.approx;
+
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionRef;
+import com.espertech.esper.common.internal.context.aifactory.core.ModuleTableInitializeSymbol;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationForgeFactory;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationPortableValidation;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationPortableValidationWFilterWInputType;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.constant;
+
+public class AggregationPortableValidationApproxPercentile extends AggregationPortableValidationWFilterWInputType {
+
+    private double percentage;
+
+    public AggregationPortableValidationApproxPercentile(boolean distinct, boolean hasFilter, Class inputValueType, double percentage) {
+        super(distinct, hasFilter, inputValueType);
+        this.percentage = percentage;
+    }
+
+    public AggregationPortableValidationApproxPercentile() {
+    }
+
+    protected Class typeOf() {
+        return AggregationPortableValidationApproxPercentile.class;
+    }
+
+    protected void codegenInlineSetWFilterWInputType(CodegenExpressionRef ref, CodegenMethod method, ModuleTableInitializeSymbol symbols, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(ref, "setPercentage", constant(percentage));
+    }
+
+    protected void validateIntoTableWFilterWInputType(String tableExpression, AggregationPortableValidation intoTableAgg, String intoExpression, AggregationForgeFactory factory) throws ExprValidationException {
+        AggregationPortableValidationApproxPercentile that = (AggregationPortableValidationApproxPercentile) intoTableAgg;
+        if (percentage != that.percentage) {
+            throw new ExprValidationException("The percentage is " +
+                    percentage +
+                    " and provided is " +
+                    that.percentage);
+        }
+    }
+
+    public void setPercentage(double percentage) {
+        this.percentage = percentage;
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.method.approx;
+
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMemberCol;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
+import com.espertech.esper.common.internal.bytecodemodel.core.CodegenCtor;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionMember;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionRef;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationForgeFactory;
+import com.espertech.esper.common.internal.epl.agg.method.core.AggregatorMethodWDistinctWFilterWValueBase;
+import com.espertech.esper.common.internal.epl.approx.hyperloglog.HyperLogLogPlusPlus;
+import com.espertech.esper.common.internal.epl.expression.codegen.ExprForgeCodegenSymbol;
+import com.espertech.esper.common.internal.epl.expression.core.ExprForge;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+import com.espertech.esper.common.internal.util.SimpleNumberCoercerFactory;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.*;
+import static com.espertech.esper.common.internal.epl.agg.method.core.AggregatorCodegenUtil.rowDotMember;
+
+/**
+ * Approximate count of distinct values using a HyperLogLog++ sketch.
+ * The sketch cannot remove values, therefore values leaving a data window are ignored.
+ * A value that is itself a sketch is merged into the sketch.
+ */
+public class AggregatorApproxCountDistinct extends AggregatorMethodWDistinctWFilterWValueBase {
+    private final CodegenExpressionMember sketch;
+
+    public AggregatorApproxCountDistinct(AggregationForgeFactory factory, int col, CodegenCtor rowCtor, CodegenMemberCol membersColumnized, CodegenClassScope classScope, boolean hasFilter, ExprNode optionalFilter) {
+        super(factory, col, rowCtor, membersColumnized, classScope, null, null, hasFilter, optionalFilter);
+        sketch = membersColumnized.addMember(col, HyperLogLogPlusPlus.class, "sketch");
+        rowCtor.getBlock().assignRef(sketch, newInstance(HyperLogLogPlusPlus.class));
+    }
+
+    protected void applyEvalEnterNonNull(CodegenExpressionRef value, Class valueType, CodegenMethod method, ExprForgeCodegenSymbol symbols, ExprForge[] forges, CodegenClassScope classScope) {
+        Class boxed = JavaClassHelper.getBoxedType(valueType);
+        if (valueType == String.class) {
+            method.getBlock().exprDotMethod(sketch, "addString", value);
+        } else if (boxed == Long.class || boxed == Integer.class || boxed == Short.class || boxed == Byte.class) {
+            method.getBlock().exprDotMethod(sketch, "addLong", SimpleNumberCoercerFactory.SimpleNumberCoercerLong.codegenLong(value, valueType));
+        } else if (boxed == Double.class || boxed == Float.class) {
+            method.getBlock().exprDotMethod(sketch, "addDouble", SimpleNumberCoercerFactory.SimpleNumberCoercerDouble.codegenDouble(value, valueType));
+        } else if (valueType == HyperLogLogPlusPlus.class) {
+            method.getBlock().exprDotMethod(sketch, "merge", value);
+        } else {
+            method.getBlock().staticMethod(AggregatorApproxCountDistinct.class, "applyValue", sketch, value);
+        }
+    }
+
+    protected void applyEvalLeaveNonNull(CodegenExpressionRef value, Class valueType, CodegenMethod method, ExprForgeCodegenSymbol symbols, ExprForge[] forges, CodegenClassScope classScope) {
+        // validation rejects aggregating a remove stream as the sketch cannot remove values
+    }
+
+    protected void applyTableEnterNonNull(CodegenExpressionRef value, Class[] evaluationTypes, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().staticMethod(AggregatorApproxCountDistinct.class, "applyValue", sketch, value);
+    }
+
+    protected void applyTableLeaveNonNull(CodegenExpressionRef value, Class[] evaluationTypes, CodegenMethod method, CodegenClassScope classScope) {
+        // validation rejects aggregating a remove stream as the sketch cannot remove values
+    }
+
+    protected void clearWODistinct(CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(sketch, "clear");
+    }
+
+    public void getValueCodegen(CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().methodReturn(exprDotMethod(sketch, "estimate"));
+    }
+
+    protected void writeWODistinct(CodegenExpressionRef row, int col, CodegenExpressionRef output, CodegenExpressionRef unitKey, CodegenExpressionRef writer, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().staticMethod(AggregatorApproxCountDistinct.class, "writeSketch", output, rowDotMember(row, sketch));
+    }
+
+    protected void readWODistinct(CodegenExpressionRef row, int col, CodegenExpressionRef input, CodegenExpressionRef unitKey, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().assignRef(rowDotMember(row, sketch), staticMethod(AggregatorApproxCountDistinct.class, "readSketch", input));
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param sketch sketch
+     * @param value  value to add, or sketch to merge
+     */
+    public static void applyValue(HyperLogLogPlusPlus sketch, Object value) {
+        if (value instanceof HyperLogLogPlusPlus) {
+            sketch.merge((HyperLogLogPlusPlus) value);
+        } else {
+            sketch.add(value);
+        }
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param output output
+     * @param sketch sketch
+     * @throws IOException io error
+     */
+    public static void writeSketch(DataOutput output, HyperLogLogPlusPlus sketch) throws IOException {
+        sketch.write(output);
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param input input
+     * @return sketch
+     * @throws IOException io error
+     */
+    public static HyperLogLogPlusPlus readSketch(DataInput input) throws IOException {
+        return HyperLogLogPlusPlus.read(input);
+    }
+}
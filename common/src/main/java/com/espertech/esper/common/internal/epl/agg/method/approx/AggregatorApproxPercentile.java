@@ -0,0 +1,134 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.method.approx;
+
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMemberCol;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
+import com.espertech.esper.common.internal.bytecodemodel.core.CodegenCtor;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionMember;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionRef;
+import com.espertech.esper.common.internal.epl.agg.method.core.AggregatorMethodWDistinctWFilterWValueBase;
+import com.espertech.esper.common.internal.epl.approx.tdigest.TDigest;
+import com.espertech.esper.common.internal.epl.expression.codegen.ExprForgeCodegenSymbol;
+import com.espertech.esper.common.internal.epl.expression.core.ExprForge;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.util.SimpleNumberCoercerFactory;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.*;
+import static com.espertech.esper.common.internal.epl.agg.method.core.AggregatorCodegenUtil.rowDotMember;
+
+/**
+ * Approximate percentile using a t-digest.
+ * The digest cannot remove values, therefore values leaving a data window are ignored.
+ * A value that is itself a digest is merged into the digest.
+ */
+public class AggregatorApproxPercentile extends AggregatorMethodWDistinctWFilterWValueBase {
+    private final AggregationForgeFactoryApproxPercentile factory;
+    private final CodegenExpressionMember digest;
+
+    public AggregatorApproxPercentile(AggregationForgeFactoryApproxPercentile factory, int col, CodegenCtor rowCtor, CodegenMemberCol membersColumnized, CodegenClassScope classScope, boolean hasFilter, ExprNode optionalFilter) {
+        super(factory, col, rowCtor, membersColumnized, classScope, null, null, hasFilter, optionalFilter);
+        this.factory = factory;
+        digest = membersColumnized.addMember(col, TDigest.class, "digest");
+        rowCtor.getBlock().assignRef(digest, newInstance(TDigest.class));
+    }
+
+    protected void applyEvalEnterNonNull(CodegenExpressionRef value, Class valueType, CodegenMethod method, ExprForgeCodegenSymbol symbols, ExprForge[] forges, CodegenClassScope classScope) {
+        if (valueType == TDigest.class) {
+            method.getBlock().exprDotMethod(digest, "merge", value);
+        } else {
+            method.getBlock().exprDotMethod(digest, "add", SimpleNumberCoercerFactory.SimpleNumberCoercerDouble.codegenDouble(value, valueType));
+        }
+    }
+
+    protected void applyEvalLeaveNonNull(CodegenExpressionRef value, Class valueType, CodegenMethod method, ExprForgeCodegenSymbol symbols, ExprForge[] forges, CodegenClassScope classScope) {
+        // validation rejects aggregating a remove stream as the digest cannot remove values
+    }
+
+    protected void applyTableEnterNonNull(CodegenExpressionRef value, Class[] evaluationTypes, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().staticMethod(AggregatorApproxPercentile.class, "applyValue", digest, value);
+    }
+
+    protected void applyTableLeaveNonNull(CodegenExpressionRef value, Class[] evaluationTypes, CodegenMethod method, CodegenClassScope classScope) {
+        // validation rejects aggregating a remove stream as the digest cannot remove values
+    }
+
+    protected void clearWODistinct(CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(digest, "clear");
+    }
+
+    public void getValueCodegen(CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().methodReturn(staticMethod(AggregatorApproxPercentile.class, "percentileCompute", digest, constant(factory.getPercentage())));
+    }
+
+    protected void writeWODistinct(CodegenExpressionRef row, int col, CodegenExpressionRef output, CodegenExpressionRef unitKey, CodegenExpressionRef writer, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().staticMethod(AggregatorApproxPercentile.class, "writeDigest", output, rowDotMember(row, digest));
+    }
+
+    protected void readWODistinct(CodegenExpressionRef row, int col, CodegenExpressionRef input, CodegenExpressionRef unitKey, CodegenMethod method, CodegenClassScope classScope) {
+        method.getBlock().assignRef(rowDotMember(row, digest), staticMethod(AggregatorApproxPercentile.class, "readDigest", input));
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param digest digest
+     * @param value  number to add, or digest to merge
+     */
+    public static void applyValue(TDigest digest, Object value) {
+        if (value instanceof TDigest) {
+            digest.merge((TDigest) value);
+        } else {
+            digest.add(((Number) value).doubleValue());
+        }
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param digest     digest
+     * @param percentage percentage between 0 and 100
+     * @return value
+     */
+    public static Double percentileCompute(TDigest digest, double percentage) {
+        if (digest.size() == 0) {
+            return null;
+        }
+        return digest.quantile(percentage / 100d);
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param output output
+     * @param digest digest
+     * @throws IOException io error
+     */
+    public static void writeDigest(DataOutput output, TDigest digest) throws IOException {
+        digest.write(output);
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param input input
+     * @return digest
+     * @throws IOException io error
+     */
+    public static TDigest readDigest(DataInput input) throws IOException {
+        return TDigest.read(input);
+    }
+}
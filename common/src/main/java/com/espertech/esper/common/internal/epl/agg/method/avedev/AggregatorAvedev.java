@@ -17,7 +17,7 @@ import com.espertech.esper.common.internal.bytecodemodel.core.CodegenCtor;
 import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpression;
 import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionMember;
 import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionRef;
-import com.espertech.esper.common.internal.collection.RefCountedSet;
+import com.espertech.esper.common.internal.collection.SortedDoubleOrderStatisticTree;
 import com.espertech.esper.common.internal.epl.agg.core.AggregationForgeFactory;
 import com.espertech.esper.common.internal.epl.agg.method.core.AggregatorMethodWDistinctWFilterWValueBase;
 import com.espertech.esper.common.internal.epl.expression.codegen.ExprForgeCodegenSymbol;
@@ -29,74 +29,70 @@ import com.espertech.esper.common.internal.util.SimpleNumberCoercerFactory;
 import java.io.DataInput;
 import java.io.DataOutput;
 import java.io.IOException;
-import java.util.Iterator;
-import java.util.Map;
 
 import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.*;
 import static com.espertech.esper.common.internal.epl.agg.method.core.AggregatorCodegenUtil.*;
 
 public class AggregatorAvedev extends AggregatorMethodWDistinctWFilterWValueBase {
-    private CodegenExpressionMember valueSet;
-    private CodegenExpressionMember sum;
+    private CodegenExpressionMember values;
+    private CodegenExpressionMember nanCount;
 
     public AggregatorAvedev(AggregationForgeFactory factory, int col, CodegenCtor rowCtor, CodegenMemberCol membersColumnized, CodegenClassScope classScope, Class optionalDistinctValueType, DataInputOutputSerdeForge optionalDistinctSerde, boolean hasFilter, ExprNode optionalFilter) {
         super(factory, col, rowCtor, membersColumnized, classScope, optionalDistinctValueType, optionalDistinctSerde, hasFilter, optionalFilter);
-        valueSet = membersColumnized.addMember(col, RefCountedSet.class, "valueSet");
-        sum = membersColumnized.addMember(col, double.class, "sum");
-        rowCtor.getBlock().assignRef(valueSet, newInstance(RefCountedSet.class));
+        values = membersColumnized.addMember(col, SortedDoubleOrderStatisticTree.class, "values");
+        nanCount = membersColumnized.addMember(col, int.class, "nanCount");
+        rowCtor.getBlock().assignRef(values, newInstance(SortedDoubleOrderStatisticTree.class));
     }
 
     protected void applyEvalEnterNonNull(CodegenExpressionRef value, Class valueType, CodegenMethod method, ExprForgeCodegenSymbol symbols, ExprForge[] forges, CodegenClassScope classScope) {
-        applyCodegen(true, value, valueType, method);
+        applyCodegen(true, SimpleNumberCoercerFactory.SimpleNumberCoercerDouble.codegenDouble(value, valueType), method);
     }
 
     protected void applyEvalLeaveNonNull(CodegenExpressionRef value, Class valueType, CodegenMethod method, ExprForgeCodegenSymbol symbols, ExprForge[] forges, CodegenClassScope classScope) {
-        applyCodegen(false, value, valueType, method);
+        applyCodegen(false, SimpleNumberCoercerFactory.SimpleNumberCoercerDouble.codegenDouble(value, valueType), method);
     }
 
     protected void applyTableEnterNonNull(CodegenExpressionRef value, Class[] evaluationTypes, CodegenMethod method, CodegenClassScope classScope) {
-        applyTableCodegen(true, value, method);
+        applyCodegen(true, exprDotMethod(cast(Number.class, value), "doubleValue"), method);
     }
 
     protected void applyTableLeaveNonNull(CodegenExpressionRef value, Class[] evaluationTypes, CodegenMethod method, CodegenClassScope classScope) {
-        applyTableCodegen(false, value, method);
+        applyCodegen(false, exprDotMethod(cast(Number.class, value), "doubleValue"), method);
     }
 
     protected void clearWODistinct(CodegenMethod method, CodegenClassScope classScope) {
-        method.getBlock().assignRef(sum, constant(0))
-                .exprDotMethod(valueSet, "clear");
+        method.getBlock().assignRef(nanCount, constant(0))
+                .exprDotMethod(values, "clear");
     }
 
     public void getValueCodegen(CodegenMethod method, CodegenClassScope classScope) {
-        method.getBlock().methodReturn(staticMethod(AggregatorAvedev.class, "computeAvedev", valueSet, sum));
+        method.getBlock().methodReturn(staticMethod(AggregatorAvedev.class, "computeAvedev", values, nanCount));
     }
 
     protected void writeWODistinct(CodegenExpressionRef row, int col, CodegenExpressionRef output, CodegenExpressionRef unitKey, CodegenExpressionRef writer, CodegenMethod method, CodegenClassScope classScope) {
         method.getBlock()
-                .apply(writeDouble(output, row, sum))
-                .staticMethod(this.getClass(), "writePoints", output, rowDotMember(row, valueSet));
+                .apply(writeInt(output, row, nanCount))
+                .staticMethod(this.getClass(), "writePoints", output, rowDotMember(row, values));
     }
 
     protected void readWODistinct(CodegenExpressionRef row, int col, CodegenExpressionRef input, CodegenExpressionRef unitKey, CodegenMethod method, CodegenClassScope classScope) {
         method.getBlock()
-                .apply(readDouble(row, sum, input))
-                .assignRef(rowDotMember(row, valueSet), staticMethod(this.getClass(), "readPoints", input));
+                .apply(readInt(row, nanCount, input))
+                .assignRef(rowDotMember(row, values), staticMethod(this.getClass(), "readPoints", input));
     }
 
     /**
      * NOTE: Code-generation-invoked method, method name and parameter order matters
      *
-     * @param output   output
-     * @param valueSet values
+     * @param output output
+     * @param values values
      * @throws IOException io error
      */
-    public static void writePoints(DataOutput output, RefCountedSet<Double> valueSet) throws IOException {
-        Map<Double, Integer> refSet = valueSet.getRefSet();
-        output.writeInt(refSet.size());
-        output.writeInt(valueSet.getNumValues());
-        for (Map.Entry<Double, Integer> entry : valueSet.getRefSet().entrySet()) {
-            output.writeDouble(entry.getKey());
-            output.writeInt(entry.getValue());
+    public static void writePoints(DataOutput output, SortedDoubleOrderStatisticTree values) throws IOException {
+        double[] points = values.toArray();
+        output.writeInt(points.length);
+        for (double point : points) {
+            output.writeDouble(point);
         }
     }
 
@@ -107,55 +103,49 @@ public class AggregatorAvedev extends AggregatorMethodWDistinctWFilterWValueBase
      * @return values
      * @throws IOException io error
      */
-    public static RefCountedSet<Double> readPoints(DataInput input) throws IOException {
-        RefCountedSet<Double> valueSet = new RefCountedSet<>();
-        Map<Double, Integer> und = valueSet.getRefSet();
+    public static SortedDoubleOrderStatisticTree readPoints(DataInput input) throws IOException {
+        SortedDoubleOrderStatisticTree values = new SortedDoubleOrderStatisticTree();
         int size = input.readInt();
-        valueSet.setNumValues(input.readInt());
         for (int i = 0; i < size; i++) {
-            Double key = input.readDouble();
-            Integer val = input.readInt();
-            und.put(key, val);
+            values.add(input.readDouble());
         }
-        return valueSet;
+        return values;
     }
 
     /**
+     * Computes the mean absolute deviation from the count and sum of the values below and at-or-above the mean,
+     * without visiting each value.
+     * <p>
      * NOTE: Code-generation-invoked method, method name and parameter order matters
+     * </p>
      *
-     * @param valueSet values
-     * @param sum      sum
+     * @param values   values
+     * @param nanCount number of NaN values
      * @return value
      */
-    public static Object computeAvedev(RefCountedSet<Double> valueSet, double sum) {
-        int datapoints = valueSet.size();
-
-        if (datapoints == 0) {
+    public static Object computeAvedev(SortedDoubleOrderStatisticTree values, int nanCount) {
+        int datapoints = values.size();
+        if (datapoints + nanCount == 0) {
             return null;
         }
-
-        double total = 0;
-        double avg = sum / datapoints;
-
-        for (Iterator<Map.Entry<Double, Integer>> it = valueSet.entryIterator(); it.hasNext(); ) {
-            Map.Entry<Double, Integer> entry = it.next();
-            total += entry.getValue() * Math.abs(entry.getKey() - avg);
+        if (nanCount > 0) {
+            return Double.NaN;
         }
 
+        double sum = values.getSum();
+        double avg = sum / datapoints;
+        int countBelow = values.countLess(avg);
+        double sumBelow = values.sumLess(avg);
+        double total = (avg * countBelow - sumBelow) + (sum - sumBelow - avg * (datapoints - countBelow));
         return total / datapoints;
     }
 
-    private void applyCodegen(boolean enter, CodegenExpression value, Class valueType, CodegenMethod method) {
-        method.getBlock()
-                .declareVar(double.class, "d", SimpleNumberCoercerFactory.SimpleNumberCoercerDouble.codegenDouble(value, valueType))
-                .exprDotMethod(valueSet, enter ? "add" : "remove", ref("d"))
-                .assignCompound(sum, enter ? "+" : "-", ref("d"));
-    }
-
-    private void applyTableCodegen(boolean enter, CodegenExpression value, CodegenMethod method) {
+    private void applyCodegen(boolean enter, CodegenExpression value, CodegenMethod method) {
         method.getBlock()
-                .declareVar(double.class, "d", exprDotMethod(cast(Number.class, value), "doubleValue"))
-                .exprDotMethod(valueSet, enter ? "add" : "remove", ref("d"))
-                .assignCompound(sum, enter ? "+" : "-", ref("d"));
+                .declareVar(double.class, "d", value)
+                .ifCondition(staticMethod(Double.class, "isNaN", ref("d")))
+                .assignCompound(nanCount, enter ? "+" : "-", constant(1))
+                .ifElse()
+                .exprDotMethod(values, enter ? "add" : "remove", ref("d"));
     }
 }
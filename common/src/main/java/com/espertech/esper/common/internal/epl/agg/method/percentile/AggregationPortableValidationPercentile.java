@@ -0,0 +1,59 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.method.percentile;
+
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionRef;
+import com.espertech.esper.common.internal.context.aifactory.core.ModuleTableInitializeSymbol;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationForgeFactory;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationPortableValidation;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationPortableValidationWFilterWInputType;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+
+import java.util.Arrays;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.constant;
+
+public class AggregationPortableValidationPercentile extends AggregationPortableValidationWFilterWInputType {
+
+    private double[] percentages;
+
+    public AggregationPortableValidationPercentile(boolean distinct, boolean hasFilter, Class inputValueType, double[] percentages) {
+        super(distinct, hasFilter, inputValueType);
+        this.percentages = percentages;
+    }
+
+    public AggregationPortableValidationPercentile() {
+    }
+
+    protected Class typeOf() {
+        return AggregationPortableValidationPercentile.class;
+    }
+
+    protected void codegenInlineSetWFilterWInputType(CodegenExpressionRef ref, CodegenMethod method, ModuleTableInitializeSymbol symbols, CodegenClassScope classScope) {
+        method.getBlock().exprDotMethod(ref, "setPercentages", constant(percentages));
+    }
+
+    protected void validateIntoTableWFilterWInputType(String tableExpression, AggregationPortableValidation intoTableAgg, String intoExpression, AggregationForgeFactory factory) throws ExprValidationException {
+        AggregationPortableValidationPercentile that = (AggregationPortableValidationPercentile) intoTableAgg;
+        if (!Arrays.equals(percentages, that.percentages)) {
+            throw new ExprValidationException("The percentages are " +
+                    Arrays.toString(percentages) +
+                    " and provided are " +
+                    Arrays.toString(that.percentages));
+        }
+    }
+
+    public void setPercentages(double[] percentages) {
+        this.percentages = percentages;
+    }
+}
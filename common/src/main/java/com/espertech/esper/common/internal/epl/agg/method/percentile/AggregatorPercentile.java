@@ -0,0 +1,85 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.agg.method.percentile;
+
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMemberCol;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
+import com.espertech.esper.common.internal.bytecodemodel.core.CodegenCtor;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionField;
+import com.espertech.esper.common.internal.collection.SortedDoubleOrderStatisticTree;
+import com.espertech.esper.common.internal.epl.agg.method.median.AggregatorMedian;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.serde.compiletime.resolve.DataInputOutputSerdeForge;
+
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.*;
+
+/**
+ * Exact percentile by linear interpolation between the closest ranks, so that the 50th percentile is the median.
+ * Shares the sorted values and their serialization with the median aggregation.
+ */
+public class AggregatorPercentile extends AggregatorMedian {
+    private final AggregationForgeFactoryPercentile factory;
+
+    public AggregatorPercentile(AggregationForgeFactoryPercentile factory, int col, CodegenCtor rowCtor, CodegenMemberCol membersColumnized, CodegenClassScope classScope, Class optionalDistinctValueType, DataInputOutputSerdeForge optionalDistinctSerde, boolean hasFilter, ExprNode optionalFilter) {
+        super(factory, col, rowCtor, membersColumnized, classScope, optionalDistinctValueType, optionalDistinctSerde, hasFilter, optionalFilter);
+        this.factory = factory;
+    }
+
+    public void getValueCodegen(CodegenMethod method, CodegenClassScope classScope) {
+        if (!factory.getParent().isMultiple()) {
+            method.getBlock().methodReturn(staticMethod(AggregatorPercentile.class, "percentileCompute", vector, constant(factory.getPercentages()[0])));
+            return;
+        }
+        CodegenExpressionField percentages = classScope.addFieldUnshared(true, double[].class, constant(factory.getPercentages()));
+        method.getBlock().methodReturn(staticMethod(AggregatorPercentile.class, "percentilesCompute", vector, percentages));
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param vector     vector
+     * @param percentage percentage between 0 and 100
+     * @return value
+     */
+    public static Double percentileCompute(SortedDoubleOrderStatisticTree vector, double percentage) {
+        if (vector.size() == 0) {
+            return null;
+        }
+        double position = percentage / 100d * (vector.size() - 1);
+        int lowerRank = (int) Math.floor(position);
+        double fraction = position - lowerRank;
+        double lower = vector.getValue(lowerRank);
+        if (fraction == 0) {
+            return lower;
+        }
+        double upper = vector.getValue(lowerRank + 1);
+        return lower * (1 - fraction) + upper * fraction;
+    }
+
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @param vector      vector
+     * @param percentages percentages between 0 and 100
+     * @return values
+     */
+    public static Double[] percentilesCompute(SortedDoubleOrderStatisticTree vector, double[] percentages) {
+        if (vector.size() == 0) {
+            return null;
+        }
+        Double[] result = new Double[percentages.length];
+        for (int i = 0; i < percentages.length; i++) {
+            result[i] = percentileCompute(vector, percentages[i]);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,377 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.approx.hyperloglog;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * HyperLogLog++ is a probabilistic sub-linear space streaming algorithm that estimates the number of distinct values
+ * (source: Wikipedia, see https://en.wikipedia.org/wiki/HyperLogLog)
+ * </p>
+ * <p>
+ * Values are hashed to 64 bits. The first precision-many bits select one of 2^precision registers, and each
+ * register keeps the maximum position of the first one-bit of the remaining bits. The standard error is
+ * about 1.04 / sqrt(2^precision), for example 0.81% for the default precision of 14.
+ * As long as few registers are set the sketch keeps the set registers in a sorted array (sparse representation)
+ * and changes to one byte per register (dense representation) when the sorted array would need more memory.
+ * </p>
+ * <p>
+ * The cardinality is estimated by the improved raw estimator of Ertl, which does not need the empirical
+ * bias correction of HyperLogLog++ and is accurate for small and large cardinalities.
+ * Sketches of the same precision merge by taking the maximum of each register, so that the merged sketch
+ * estimates the number of distinct values of the union. Values cannot be removed.
+ * </p>
+ * <p>
+ * Papers:
+ * Stefan Heule, Marc Nunkesser, Alexander Hall. HyperLogLog in Practice: Algorithmic Engineering of a State of
+ * The Art Cardinality Estimation Algorithm. 2013. 10.1145/2452376.2452456
+ * Otmar Ertl. New cardinality estimation algorithms for HyperLogLog sketches. 2017. arXiv:1702.01284
+ * </p>
+ */
+public class HyperLogLogPlusPlus {
+    /**
+     * Default precision.
+     */
+    public final static int DEFAULT_PRECISION = 14;
+
+    private final static int MIN_PRECISION = 4;
+    private final static int MAX_PRECISION = 18;
+    private final static int RHO_BITS = 6;
+    private final static int RHO_MASK = (1 << RHO_BITS) - 1;
+    private final static double ALPHA_INF = 0.5 / Math.log(2);
+
+    private final int precision;
+    private final int numRegisters;
+    private byte[] registers;   // dense representation, or null when sparse
+    private int[] sparse;       // register index shifted left by six bits or-ed with the register value, sorted
+    private int sparseSize;
+
+    public HyperLogLogPlusPlus() {
+        this(DEFAULT_PRECISION);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param precision number of bits selecting a register, between 4 and 18
+     */
+    public HyperLogLogPlusPlus(int precision) {
+        if (precision < MIN_PRECISION || precision > MAX_PRECISION) {
+            throw new IllegalArgumentException("Precision must be between " + MIN_PRECISION + " and " + MAX_PRECISION + " but was " + precision);
+        }
+        this.precision = precision;
+        this.numRegisters = 1 << precision;
+        this.sparse = new int[4];
+    }
+
+    public int getPrecision() {
+        return precision;
+    }
+
+    /**
+     * Returns true when the sketch keeps one byte per register.
+     *
+     * @return dense indicator
+     */
+    public boolean isDense() {
+        return registers != null;
+    }
+
+    /**
+     * Adds a value.
+     *
+     * @param value to add, null values are ignored
+     */
+    public void add(Object value) {
+        if (value != null) {
+            addHash(hash(value));
+        }
+    }
+
+    /**
+     * Adds a string value.
+     *
+     * @param value to add
+     */
+    public void addString(String value) {
+        addHash(hashString(value));
+    }
+
+    /**
+     * Adds an integral value.
+     *
+     * @param value to add
+     */
+    public void addLong(long value) {
+        addHash(mix64(value));
+    }
+
+    /**
+     * Adds a floating-point value.
+     *
+     * @param value to add
+     */
+    public void addDouble(double value) {
+        addHash(mix64(Double.doubleToLongBits(value == 0 ? 0d : value)));
+    }
+
+    /**
+     * Adds a 64-bit hash of a value.
+     *
+     * @param hash hash
+     */
+    public void addHash(long hash) {
+        int index = (int) (hash >>> (64 - precision));
+        long remaining = hash << precision;
+        int rho = remaining == 0 ? 64 - precision + 1 : Long.numberOfLeadingZeros(remaining) + 1;
+        addRegister(index, rho);
+    }
+
+    /**
+     * Adds the registers of another sketch of the same precision, so that this sketch estimates the number of
+     * distinct values of the union.
+     *
+     * @param other sketch to merge
+     * @throws IllegalArgumentException if the precision differs
+     */
+    public void merge(HyperLogLogPlusPlus other) {
+        if (other.precision != precision) {
+            throw new IllegalArgumentException("Cannot merge sketches of precision " + precision + " and " + other.precision);
+        }
+        if (other.registers != null) {
+            if (registers == null) {
+                toDense();
+            }
+            for (int i = 0; i < numRegisters; i++) {
+                if (other.registers[i] > registers[i]) {
+                    registers[i] = other.registers[i];
+                }
+            }
+            return;
+        }
+        for (int i = 0; i < other.sparseSize; i++) {
+            addRegister(other.sparse[i] >>> RHO_BITS, other.sparse[i] & RHO_MASK);
+        }
+    }
+
+    /**
+     * Returns the estimated number of distinct values.
+     *
+     * @return estimate
+     */
+    public long estimate() {
+        int q = 64 - precision;
+        int[] histogram = new int[q + 2];
+        if (registers != null) {
+            for (byte register : registers) {
+                histogram[register]++;
+            }
+        } else {
+            histogram[0] = numRegisters - sparseSize;
+            for (int i = 0; i < sparseSize; i++) {
+                histogram[sparse[i] & RHO_MASK]++;
+            }
+        }
+        if (histogram[0] == numRegisters) {
+            return 0;
+        }
+
+        double z = numRegisters * tau((numRegisters - histogram[q + 1]) / (double) numRegisters);
+        for (int k = q; k >= 1; k--) {
+            z += histogram[k];
+            z *= 0.5;
+        }
+        z += numRegisters * sigma(histogram[0] / (double) numRegisters);
+        return Math.round(ALPHA_INF * numRegisters * numRegisters / z);
+    }
+
+    /**
+     * Removes all values.
+     */
+    public void clear() {
+        registers = null;
+        sparse = new int[4];
+        sparseSize = 0;
+    }
+
+    /**
+     * Writes the sketch.
+     *
+     * @param output output
+     * @throws IOException io error
+     */
+    public void write(DataOutput output) throws IOException {
+        output.writeByte(precision);
+        output.writeBoolean(registers != null);
+        if (registers != null) {
+            output.write(registers);
+        } else {
+            output.writeInt(sparseSize);
+            for (int i = 0; i < sparseSize; i++) {
+                output.writeInt(sparse[i]);
+            }
+        }
+    }
+
+    /**
+     * Reads a sketch.
+     *
+     * @param input input
+     * @return sketch
+     * @throws IOException io error
+     */
+    public static HyperLogLogPlusPlus read(DataInput input) throws IOException {
+        HyperLogLogPlusPlus sketch = new HyperLogLogPlusPlus(input.readByte());
+        if (input.readBoolean()) {
+            sketch.registers = new byte[sketch.numRegisters];
+            input.readFully(sketch.registers);
+        } else {
+            int size = input.readInt();
+            sketch.sparse = new int[Math.max(4, size)];
+            for (int i = 0; i < size; i++) {
+                sketch.sparse[i] = input.readInt();
+            }
+            sketch.sparseSize = size;
+        }
+        return sketch;
+    }
+
+    /**
+     * Returns a 64-bit hash of a value.
+     *
+     * @param value value
+     * @return hash
+     */
+    public static long hash(Object value) {
+        if (value instanceof String) {
+            return hashString((String) value);
+        }
+        if (value instanceof Long || value instanceof Integer || value instanceof Short || value instanceof Byte) {
+            return mix64(((Number) value).longValue());
+        }
+        if (value instanceof Double || value instanceof Float) {
+            double d = ((Number) value).doubleValue();
+            return mix64(Double.doubleToLongBits(d == 0 ? 0d : d));
+        }
+        if (value instanceof byte[]) {
+            long h = 0xcbf29ce484222325L;
+            for (byte b : (byte[]) value) {
+                h = (h ^ (b & 0xff)) * 0x100000001b3L;
+            }
+            return mix64(h);
+        }
+        if (value instanceof Object[]) {
+            return mix64(Arrays.deepHashCode((Object[]) value));
+        }
+        return mix64(value.hashCode());
+    }
+
+    private static long hashString(String value) {
+        long h = 0xcbf29ce484222325L;
+        for (int i = 0; i < value.length(); i++) {
+            h = (h ^ value.charAt(i)) * 0x100000001b3L;
+        }
+        return mix64(h ^ value.length());
+    }
+
+    private static long mix64(long h) {
+        h ^= h >>> 33;
+        h *= 0xff51afd7ed558ccdL;
+        h ^= h >>> 33;
+        h *= 0xc4ceb9fe1a85ec53L;
+        h ^= h >>> 33;
+        return h;
+    }
+
+    private void addRegister(int index, int rho) {
+        if (registers != null) {
+            if (rho > registers[index]) {
+                registers[index] = (byte) rho;
+            }
+            return;
+        }
+
+        int low = 0;
+        int high = sparseSize - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            int midIndex = sparse[mid] >>> RHO_BITS;
+            if (midIndex < index) {
+                low = mid + 1;
+            } else if (midIndex > index) {
+                high = mid - 1;
+            } else {
+                if (rho > (sparse[mid] & RHO_MASK)) {
+                    sparse[mid] = (index << RHO_BITS) | rho;
+                }
+                return;
+            }
+        }
+
+        // the sparse representation uses four bytes per set register, change to dense when exceeding one byte per register
+        if (sparseSize + 1 > numRegisters / 4) {
+            toDense();
+            registers[index] = (byte) rho;
+            return;
+        }
+        if (sparseSize == sparse.length) {
+            sparse = Arrays.copyOf(sparse, Math.min(sparse.length * 2, numRegisters / 4));
+        }
+        System.arraycopy(sparse, low, sparse, low + 1, sparseSize - low);
+        sparse[low] = (index << RHO_BITS) | rho;
+        sparseSize++;
+    }
+
+    private void toDense() {
+        registers = new byte[numRegisters];
+        for (int i = 0; i < sparseSize; i++) {
+            registers[sparse[i] >>> RHO_BITS] = (byte) (sparse[i] & RHO_MASK);
+        }
+        sparse = null;
+        sparseSize = 0;
+    }
+
+    private static double sigma(double x) {
+        if (x == 1) {
+            return Double.POSITIVE_INFINITY;
+        }
+        double y = 1;
+        double z = x;
+        double previous;
+        do {
+            x *= x;
+            previous = z;
+            z += x * y;
+            y += y;
+        } while (z != previous);
+        return z;
+    }
+
+    private static double tau(double x) {
+        if (x == 0 || x == 1) {
+            return 0;
+        }
+        double y = 1;
+        double z = 1 - x;
+        double previous;
+        do {
+            x = Math.sqrt(x);
+            previous = z;
+            y *= 0.5;
+            z -= (1 - x) * (1 - x) * y;
+        } while (z != previous);
+        return z / 3;
+    }
+}
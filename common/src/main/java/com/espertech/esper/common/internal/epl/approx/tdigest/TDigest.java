@@ -0,0 +1,369 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.approx.tdigest;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * <p>
+ * The t-digest is a probabilistic sub-linear space streaming algorithm that estimates quantiles,
+ * with a relative accuracy that is best near the extreme quantiles.
+ * </p>
+ * <p>
+ * The digest keeps a sorted list of centroids, each having a mean and a weight. Added values are buffered and,
+ * when the buffer is full or upon a read, are merged into the centroids. The merge combines neighbouring centroids
+ * as long as the combined weight stays below a limit proportional to q * (1 - q) / compression, for the quantile q
+ * of the centroid, so that centroids near the median are large and centroids near the tails are small.
+ * The number of centroids is bounded by a small multiple of the compression.
+ * Digests merge by adding the centroids of one digest to the other. Values cannot be removed.
+ * </p>
+ * <p>
+ * Paper:
+ * Ted Dunning, Otmar Ertl. Computing Extremely Accurate Quantiles Using t-Digests. 2019. arXiv:1902.04023
+ * </p>
+ */
+public class TDigest {
+    /**
+     * Default compression.
+     */
+    public final static double DEFAULT_COMPRESSION = 100;
+
+    private final static int INITIAL_CAPACITY = 16;
+
+    private final double compression;
+    private final int maxBuffered;
+    private double[] means;
+    private double[] weights;
+    private int numCentroids;
+    private double centroidWeight;
+    private double[] bufferMeans;
+    private double[] bufferWeights;
+    private int numBuffered;
+    private double bufferWeight;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    public TDigest() {
+        this(DEFAULT_COMPRESSION);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param compression larger values keep more centroids and give more accurate quantiles, at least 10
+     */
+    public TDigest(double compression) {
+        if (!(compression >= 10)) {
+            throw new IllegalArgumentException("Compression must be at least 10 but was " + compression);
+        }
+        this.compression = compression;
+        this.maxBuffered = (int) (compression * 5);
+        this.means = new double[INITIAL_CAPACITY];
+        this.weights = new double[INITIAL_CAPACITY];
+        this.bufferMeans = new double[INITIAL_CAPACITY];
+        this.bufferWeights = new double[INITIAL_CAPACITY];
+    }
+
+    public double getCompression() {
+        return compression;
+    }
+
+    /**
+     * Returns the number of values.
+     *
+     * @return total weight
+     */
+    public long size() {
+        return Math.round(centroidWeight + bufferWeight);
+    }
+
+    /**
+     * Adds a value, ignoring NaN.
+     *
+     * @param value to add
+     */
+    public void add(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        add(value, 1);
+    }
+
+    /**
+     * Adds the centroids of another digest, so that this digest estimates the quantiles of the union.
+     *
+     * @param other digest to merge
+     * @throws IllegalArgumentException if the other digest is this digest
+     */
+    public void merge(TDigest other) {
+        if (other == this) {
+            throw new IllegalArgumentException("Cannot merge a digest into itself");
+        }
+        other.flush();
+        for (int i = 0; i < other.numCentroids; i++) {
+            add(other.means[i], other.weights[i]);
+        }
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    /**
+     * Returns the estimated value at a quantile.
+     *
+     * @param q quantile between 0 and 1
+     * @return value, or NaN when there are no values
+     */
+    public double quantile(double q) {
+        if (q < 0 || q > 1) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1 but was " + q);
+        }
+        flush();
+        if (numCentroids == 0) {
+            return Double.NaN;
+        }
+        if (numCentroids == 1) {
+            return means[0];
+        }
+
+        double index = q * centroidWeight;
+        if (index < 1) {
+            return min;
+        }
+        if (index > centroidWeight - 1) {
+            return max;
+        }
+        // interpolate between the minimum and the first centroid, and between the last centroid and the maximum
+        int last = numCentroids - 1;
+        if (weights[0] > 1 && index < weights[0] / 2) {
+            return min + (index - 1) / (weights[0] / 2 - 1) * (means[0] - min);
+        }
+        if (weights[last] > 1 && centroidWeight - index <= weights[last] / 2) {
+            return max - (centroidWeight - index - 1) / (weights[last] / 2 - 1) * (max - means[last]);
+        }
+
+        // interpolate between the centers of neighbouring centroids, a single-value centroid is exact
+        double weightSoFar = weights[0] / 2;
+        for (int i = 0; i < last; i++) {
+            double between = (weights[i] + weights[i + 1]) / 2;
+            if (weightSoFar + between > index) {
+                double leftExcluded = 0;
+                if (weights[i] == 1) {
+                    if (index - weightSoFar < 0.5) {
+                        return means[i];
+                    }
+                    leftExcluded = 0.5;
+                }
+                double rightExcluded = 0;
+                if (weights[i + 1] == 1) {
+                    if (weightSoFar + between - index <= 0.5) {
+                        return means[i + 1];
+                    }
+                    rightExcluded = 0.5;
+                }
+                double toLeft = index - weightSoFar - leftExcluded;
+                double toRight = weightSoFar + between - index - rightExcluded;
+                return (means[i] * toRight + means[i + 1] * toLeft) / (toLeft + toRight);
+            }
+            weightSoFar += between;
+        }
+        return means[last];
+    }
+
+    /**
+     * Removes all values.
+     */
+    public void clear() {
+        numCentroids = 0;
+        centroidWeight = 0;
+        numBuffered = 0;
+        bufferWeight = 0;
+        min = Double.POSITIVE_INFINITY;
+        max = Double.NEGATIVE_INFINITY;
+    }
+
+    /**
+     * Writes the digest.
+     *
+     * @param output output
+     * @throws IOException io error
+     */
+    public void write(DataOutput output) throws IOException {
+        flush();
+        output.writeDouble(compression);
+        output.writeDouble(min);
+        output.writeDouble(max);
+        output.writeInt(numCentroids);
+        for (int i = 0; i < numCentroids; i++) {
+            output.writeDouble(means[i]);
+            output.writeDouble(weights[i]);
+        }
+    }
+
+    /**
+     * Reads a digest.
+     *
+     * @param input input
+     * @return digest
+     * @throws IOException io error
+     */
+    public static TDigest read(DataInput input) throws IOException {
+        TDigest digest = new TDigest(input.readDouble());
+        digest.min = input.readDouble();
+        digest.max = input.readDouble();
+        int size = input.readInt();
+        digest.means = new double[Math.max(INITIAL_CAPACITY, size)];
+        digest.weights = new double[digest.means.length];
+        for (int i = 0; i < size; i++) {
+            digest.means[i] = input.readDouble();
+            digest.weights[i] = input.readDouble();
+            digest.centroidWeight += digest.weights[i];
+        }
+        digest.numCentroids = size;
+        return digest;
+    }
+
+    private void add(double mean, double weight) {
+        if (numBuffered == bufferMeans.length) {
+            if (numBuffered >= maxBuffered) {
+                flush();
+            } else {
+                int capacity = Math.min(bufferMeans.length * 2, maxBuffered);
+                bufferMeans = Arrays.copyOf(bufferMeans, capacity);
+                bufferWeights = Arrays.copyOf(bufferWeights, capacity);
+            }
+        }
+        bufferMeans[numBuffered] = mean;
+        bufferWeights[numBuffered] = weight;
+        numBuffered++;
+        bufferWeight += weight;
+        if (mean < min) {
+            min = mean;
+        }
+        if (mean > max) {
+            max = mean;
+        }
+    }
+
+    private void flush() {
+        if (numBuffered == 0) {
+            return;
+        }
+        sort(bufferMeans, bufferWeights, 0, numBuffered - 1);
+
+        // merge the sorted buffer with the sorted centroids
+        int total = numCentroids + numBuffered;
+        double[] mergedMeans = new double[total];
+        double[] mergedWeights = new double[total];
+        int i = 0;
+        int j = 0;
+        for (int k = 0; k < total; k++) {
+            if (j == numBuffered || (i < numCentroids && means[i] <= bufferMeans[j])) {
+                mergedMeans[k] = means[i];
+                mergedWeights[k] = weights[i++];
+            } else {
+                mergedMeans[k] = bufferMeans[j];
+                mergedWeights[k] = bufferWeights[j++];
+            }
+        }
+        double totalWeight = centroidWeight + bufferWeight;
+        numBuffered = 0;
+        bufferWeight = 0;
+
+        // combine neighbours while the combined weight is within the limit for the quantiles it spans
+        numCentroids = 0;
+        double weightSoFar = 0;
+        double currentMean = mergedMeans[0];
+        double currentWeight = mergedWeights[0];
+        for (int k = 1; k < total; k++) {
+            double proposedWeight = currentWeight + mergedWeights[k];
+            double qLeft = weightSoFar / totalWeight;
+            double qRight = (weightSoFar + proposedWeight) / totalWeight;
+            double limit = totalWeight * Math.min(maxSize(qLeft), maxSize(qRight));
+            if (proposedWeight <= limit) {
+                currentMean += (mergedMeans[k] - currentMean) * mergedWeights[k] / proposedWeight;
+                currentWeight = proposedWeight;
+            } else {
+                addCentroid(currentMean, currentWeight);
+                weightSoFar += currentWeight;
+                currentMean = mergedMeans[k];
+                currentWeight = mergedWeights[k];
+            }
+        }
+        addCentroid(currentMean, currentWeight);
+        centroidWeight = totalWeight;
+    }
+
+    private double maxSize(double q) {
+        return 4 * q * (1 - q) / compression;
+    }
+
+    private void addCentroid(double mean, double weight) {
+        if (numCentroids == means.length) {
+            means = Arrays.copyOf(means, means.length * 2);
+            weights = Arrays.copyOf(weights, weights.length * 2);
+        }
+        means[numCentroids] = mean;
+        weights[numCentroids] = weight;
+        numCentroids++;
+    }
+
+    private static void sort(double[] keys, double[] values, int low, int high) {
+        while (low < high) {
+            if (high - low < 16) {
+                for (int i = low + 1; i <= high; i++) {
+                    double key = keys[i];
+                    double value = values[i];
+                    int j = i - 1;
+                    while (j >= low && keys[j] > key) {
+                        keys[j + 1] = keys[j];
+                        values[j + 1] = values[j];
+                        j--;
+                    }
+                    keys[j + 1] = key;
+                    values[j + 1] = value;
+                }
+                return;
+            }
+            double pivot = keys[(low + high) >>> 1];
+            int i = low;
+            int j = high;
+            while (i <= j) {
+                while (keys[i] < pivot) {
+                    i++;
+                }
+                while (keys[j] > pivot) {
+                    j--;
+                }
+                if (i <= j) {
+                    double key = keys[i];
+                    keys[i] = keys[j];
+                    keys[j] = key;
+                    double value = values[i];
+                    values[i] = values[j];
+                    values[j] = value;
+                    i++;
+                    j--;
+                }
+            }
+            // recurse into the smaller part
+            if (j - low < high - i) {
+                sort(keys, values, low, j);
+                low = i;
+            } else {
+                sort(keys, values, i, high);
+                high = j;
+            }
+        }
+    }
+}
@@ -18,6 +18,11 @@ import com.espertech.esper.common.internal.type.NameAndModule;
 import java.util.Map;
 
 public class ClassProvidedImportClassLoader extends ByteArrayProvidingClassLoader {
+    static {
+        // allows deployment to load classes from multiple threads without serializing on the class loader
+        registerAsParallelCapable();
+    }
+
     private final PathRegistry<String, ClassProvided> pathRegistry;
     private NameAndModule[] imported;
 
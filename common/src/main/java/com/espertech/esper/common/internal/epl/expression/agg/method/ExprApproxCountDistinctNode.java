@@ -0,0 +1,65 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.expression.agg.method;
+
+import com.espertech.esper.common.client.util.StatementType;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationForgeFactory;
+import com.espertech.esper.common.internal.epl.agg.method.approx.AggregationForgeFactoryApproxCountDistinct;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNode;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNodeBase;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNodeUtilityAggregation;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationContext;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+
+/**
+ * Represents the approxCountDistinct(...) aggregate function is an expression tree.
+ */
+public class ExprApproxCountDistinctNode extends ExprAggregateNodeBase {
+
+    /**
+     * Ctor.
+     *
+     * @param distinct - flag indicating unique or non-unique value aggregation
+     */
+    public ExprApproxCountDistinctNode(boolean distinct) {
+        super(distinct);
+    }
+
+    public AggregationForgeFactory validateAggregationChild(ExprValidationContext validationContext) throws ExprValidationException {
+        if (positionalParams.length != 1) {
+            throw new ExprValidationException("The approxCountDistinct aggregation function requires a single parameter providing the values to count");
+        }
+        if (isDistinct) {
+            throw new ExprValidationException("The approxCountDistinct aggregation function does not allow the distinct keyword");
+        }
+        // a sketch cannot remove values, therefore values must not leave a data window
+        if (validationContext.getStatementType() != StatementType.CREATE_TABLE &&
+            ExprNodeUtilityAggregation.hasRemoveStreamForAggregations(positionalParams[0], validationContext.getStreamTypeService(), validationContext.isResettingAggregations())) {
+            throw new ExprValidationException("The approxCountDistinct aggregation function requires that the aggregated stream has no data window, as values cannot be removed from the sketch");
+        }
+        if (optionalFilter != null) {
+            validateFilter(optionalFilter);
+        }
+        return new AggregationForgeFactoryApproxCountDistinct(this, positionalParams[0].getForge().getEvaluationType());
+    }
+
+    public String getAggregationFunctionName() {
+        return "approxCountDistinct";
+    }
+
+    public final boolean equalsNodeAggregateMethodOnly(ExprAggregateNode node) {
+        return node instanceof ExprApproxCountDistinctNode;
+    }
+
+    protected boolean isFilterExpressionAsLastParameter() {
+        return false;
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.expression.agg.method;
+
+import com.espertech.esper.common.client.util.StatementType;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationForgeFactory;
+import com.espertech.esper.common.internal.epl.agg.method.approx.AggregationForgeFactoryApproxPercentile;
+import com.espertech.esper.common.internal.epl.approx.tdigest.TDigest;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNode;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNodeBase;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNodeUtilityAggregation;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationContext;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+/**
+ * Represents the approxPercentile(...) aggregate function is an expression tree.
+ */
+public class ExprApproxPercentileNode extends ExprAggregateNodeBase {
+
+    /**
+     * Ctor.
+     *
+     * @param distinct - flag indicating unique or non-unique value aggregation
+     */
+    public ExprApproxPercentileNode(boolean distinct) {
+        super(distinct);
+    }
+
+    public AggregationForgeFactory validateAggregationChild(ExprValidationContext validationContext) throws ExprValidationException {
+        String message = "The approxPercentile aggregation function requires two parameters, an expression returning aggregation values and a numeric percentage constant between 0 and 100";
+        if (positionalParams.length != 2) {
+            throw new ExprValidationException(message);
+        }
+        if (isDistinct) {
+            throw new ExprValidationException("The approxPercentile aggregation function does not allow the distinct keyword");
+        }
+
+        ExprNode param = positionalParams[1];
+        if (!param.getForge().getForgeConstantType().isCompileTimeConstant() || !JavaClassHelper.isNumeric(param.getForge().getEvaluationType())) {
+            throw new ExprValidationException(message);
+        }
+        Number num = (Number) param.getForge().getExprEvaluator().evaluate(null, true, null);
+        if (num == null || !(num.doubleValue() >= 0 && num.doubleValue() <= 100)) {
+            throw new ExprValidationException(message);
+        }
+
+        Class childType = positionalParams[0].getForge().getEvaluationType();
+        if (childType != TDigest.class && !JavaClassHelper.isNumeric(childType)) {
+            throw new ExprValidationException("Implicit conversion from datatype '" +
+                    (childType == null ? "null" : childType.getSimpleName()) +
+                    "' to numeric is not allowed for aggregation function '" + getAggregationFunctionName() + "'");
+        }
+        // a digest cannot remove values, therefore values must not leave a data window
+        if (validationContext.getStatementType() != StatementType.CREATE_TABLE &&
+            ExprNodeUtilityAggregation.hasRemoveStreamForAggregations(positionalParams[0], validationContext.getStreamTypeService(), validationContext.isResettingAggregations())) {
+            throw new ExprValidationException("The approxPercentile aggregation function requires that the aggregated stream has no data window, as values cannot be removed from the digest");
+        }
+        if (optionalFilter != null) {
+            validateFilter(optionalFilter);
+        }
+        return new AggregationForgeFactoryApproxPercentile(this, childType, num.doubleValue());
+    }
+
+    public String getAggregationFunctionName() {
+        return "approxPercentile";
+    }
+
+    public final boolean equalsNodeAggregateMethodOnly(ExprAggregateNode node) {
+        return node instanceof ExprApproxPercentileNode;
+    }
+
+    protected boolean isFilterExpressionAsLastParameter() {
+        return false;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.expression.agg.method;
+
+import com.espertech.esper.common.internal.epl.agg.core.AggregationForgeFactory;
+import com.espertech.esper.common.internal.epl.agg.method.percentile.AggregationForgeFactoryPercentile;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNode;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNodeBase;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationContext;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+import com.espertech.esper.common.internal.serde.compiletime.resolve.DataInputOutputSerdeForge;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+/**
+ * Represents the percentile(...) and percentiles(...) aggregate function is an expression tree.
+ */
+public class ExprPercentileNode extends ExprAggregateNodeBase {
+
+    private final boolean multiple;
+
+    /**
+     * Ctor.
+     *
+     * @param distinct - flag indicating unique or non-unique value aggregation
+     * @param multiple - true for percentiles(...) returning a value per percentage, false for percentile(...)
+     */
+    public ExprPercentileNode(boolean distinct, boolean multiple) {
+        super(distinct);
+        this.multiple = multiple;
+    }
+
+    public AggregationForgeFactory validateAggregationChild(ExprValidationContext validationContext) throws ExprValidationException {
+        String message = multiple ?
+            "The percentiles aggregation function requires an expression returning aggregation values and one or more numeric percentage constants between 0 and 100" :
+            "The percentile aggregation function requires two parameters, an expression returning aggregation values and a numeric percentage constant between 0 and 100";
+        if (multiple ? positionalParams.length < 2 : positionalParams.length != 2) {
+            throw new ExprValidationException(message);
+        }
+
+        double[] percentages = new double[positionalParams.length - 1];
+        for (int i = 1; i < positionalParams.length; i++) {
+            ExprNode param = positionalParams[i];
+            if (!param.getForge().getForgeConstantType().isCompileTimeConstant() || !JavaClassHelper.isNumeric(param.getForge().getEvaluationType())) {
+                throw new ExprValidationException(message);
+            }
+            Number num = (Number) param.getForge().getExprEvaluator().evaluate(null, true, null);
+            if (num == null || !(num.doubleValue() >= 0 && num.doubleValue() <= 100)) {
+                throw new ExprValidationException(message);
+            }
+            percentages[i - 1] = num.doubleValue();
+        }
+
+        ExprNode child = positionalParams[0];
+        Class childType = child.getForge().getEvaluationType();
+        if (!JavaClassHelper.isNumeric(childType)) {
+            throw new ExprValidationException("Implicit conversion from datatype '" +
+                    (childType == null ? "null" : childType.getSimpleName()) +
+                    "' to numeric is not allowed for aggregation function '" + getAggregationFunctionName() + "'");
+        }
+        if (optionalFilter != null) {
+            validateFilter(optionalFilter);
+        }
+
+        DataInputOutputSerdeForge distinctSerde = isDistinct ? validationContext.getSerdeResolver().serdeForAggregationDistinct(childType, validationContext.getStatementRawInfo()) : null;
+        return new AggregationForgeFactoryPercentile(this, childType, distinctSerde, percentages);
+    }
+
+    public String getAggregationFunctionName() {
+        return multiple ? "percentiles" : "percentile";
+    }
+
+    public final boolean equalsNodeAggregateMethodOnly(ExprAggregateNode node) {
+        return node instanceof ExprPercentileNode && ((ExprPercentileNode) node).multiple == multiple;
+    }
+
+    public boolean isMultiple() {
+        return multiple;
+    }
+
+    protected boolean isFilterExpressionAsLastParameter() {
+        return false;
+    }
+}
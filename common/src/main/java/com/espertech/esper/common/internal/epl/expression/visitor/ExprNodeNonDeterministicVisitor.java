@@ -0,0 +1,67 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.expression.visitor;
+
+import com.espertech.esper.common.internal.epl.expression.core.ExprCurrentEvaluationContextNode;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.epl.expression.dot.core.ExprDotNode;
+import com.espertech.esper.common.internal.epl.expression.funcs.ExprPlugInSingleRowNode;
+import com.espertech.esper.common.internal.epl.expression.time.node.ExprTimestampNode;
+import com.espertech.esper.common.internal.epl.expression.variable.ExprVariableNode;
+import com.espertech.esper.common.internal.epl.variable.compiletime.VariableCompileTimeResolver;
+import com.espertech.esper.common.internal.epl.variable.compiletime.VariableMetaData;
+
+/**
+ * Visitor for expression node trees that determines if the expressions within may return a different result
+ * for the same event and substitution parameters: non-constant variables, the current time, the evaluation context
+ * or single-row functions that may keep state.
+ */
+public class ExprNodeNonDeterministicVisitor implements ExprNodeVisitor {
+    private final VariableCompileTimeResolver variableCompileTimeResolver;
+    private String message;
+
+    public ExprNodeNonDeterministicVisitor(VariableCompileTimeResolver variableCompileTimeResolver) {
+        this.variableCompileTimeResolver = variableCompileTimeResolver;
+    }
+
+    public boolean isVisit(ExprNode exprNode) {
+        return message == null;
+    }
+
+    public void visit(ExprNode exprNode) {
+        if (exprNode instanceof ExprVariableNode) {
+            checkVariable(((ExprVariableNode) exprNode).getVariableMetadata());
+        } else if (exprNode instanceof ExprDotNode) {
+            checkVariable(((ExprDotNode) exprNode).isVariableOpGetName(variableCompileTimeResolver));
+        } else if (exprNode instanceof ExprTimestampNode) {
+            message = "the current-timestamp function";
+        } else if (exprNode instanceof ExprCurrentEvaluationContextNode) {
+            message = "the current-evaluation-context function";
+        } else if (exprNode instanceof ExprPlugInSingleRowNode) {
+            message = "plug-in single-row function '" + ((ExprPlugInSingleRowNode) exprNode).getFunctionName() + "'";
+        }
+    }
+
+    /**
+     * Returns a message if the expression contains a non-deterministic expression, or null if it does not.
+     *
+     * @return message
+     */
+    public String getMessage() {
+        return message;
+    }
+
+    private void checkVariable(VariableMetaData metadata) {
+        if (metadata != null && !metadata.isConstant()) {
+            message = "variable '" + metadata.getVariableName() + "'";
+        }
+    }
+}
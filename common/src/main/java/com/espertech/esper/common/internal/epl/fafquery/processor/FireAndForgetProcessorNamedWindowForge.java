@@ -30,6 +30,10 @@ public class FireAndForgetProcessorNamedWindowForge implements FireAndForgetProc
         this.namedWindow = namedWindow;
     }
 
+    public NamedWindowMetaData getNamedWindow() {
+        return namedWindow;
+    }
+
     public String getNamedWindowOrTableName() {
         return namedWindow.getEventType().getName();
     }
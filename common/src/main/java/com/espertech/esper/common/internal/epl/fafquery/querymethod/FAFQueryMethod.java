@@ -26,4 +26,9 @@ public interface FAFQueryMethod {
     EPPreparedQueryResult execute(AtomicBoolean serviceStatusProvider, FAFQueryMethodAssignerSetter assignerSetter, ContextPartitionSelector[] contextPartitionSelectors, ContextManagementService contextManagementService);
 
     EventType getEventType();
+
+    /**
+     * Indicates that the value of a substitution parameter was set.
+     */
+    void parametersChanged();
 }
@@ -172,6 +172,10 @@ public abstract class FAFQueryMethodIUDBase implements FAFQueryMethod {
         return processor.getEventTypeResultSetProcessor();
     }
 
+    public void parametersChanged() {
+        // no action, the query does not retain state between executions
+    }
+
     public Annotation[] getAnnotations() {
         return annotations;
     }
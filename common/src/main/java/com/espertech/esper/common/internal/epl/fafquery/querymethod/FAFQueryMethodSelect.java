@@ -46,6 +46,7 @@ public class FAFQueryMethodSelect implements FAFQueryMethod {
     private boolean isDistinct;
     private EventPropertyValueGetter distinctKeyGetter;
     private Map<Integer, SubSelectFactory> subselects;
+    private boolean incremental;
 
     private FAFQueryMethodSelectExec selectExec;
 
@@ -97,6 +98,10 @@ public class FAFQueryMethodSelect implements FAFQueryMethod {
         this.distinctKeyGetter = distinctKeyGetter;
     }
 
+    public void setIncremental(boolean incremental) {
+        this.incremental = incremental;
+    }
+
     /**
      * Returns the event type of the prepared statement.
      *
@@ -112,7 +117,9 @@ public class FAFQueryMethodSelect implements FAFQueryMethod {
             hasContext |= processors[i].getContextName() != null;
         }
 
-        if (contextName == null) {
+        if (incremental) {
+            selectExec = new FAFQueryMethodSelectExecIncremental();
+        } else if (contextName == null) {
             if (processors.length == 1) {
                 if (!hasContext) {
                     selectExec = FAFQueryMethodSelectExecNoContextNoJoin.INSTANCE;
@@ -141,6 +148,12 @@ public class FAFQueryMethodSelect implements FAFQueryMethod {
         }
     }
 
+    public void parametersChanged() {
+        if (selectExec instanceof FAFQueryMethodSelectExecIncremental) {
+            ((FAFQueryMethodSelectExecIncremental) selectExec).invalidate();
+        }
+    }
+
     public EPPreparedQueryResult execute(AtomicBoolean serviceStatusProvider, FAFQueryMethodAssignerSetter assignerSetter, ContextPartitionSelector[] contextPartitionSelectors, ContextManagementService contextManagementService) {
         if (!serviceStatusProvider.get()) {
             throw FAFQueryMethodUtil.runtimeDestroyed();
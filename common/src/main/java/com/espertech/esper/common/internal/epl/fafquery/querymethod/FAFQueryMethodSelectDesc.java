@@ -11,6 +11,7 @@
 package com.espertech.esper.common.internal.epl.fafquery.querymethod;
 
 import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.annotation.HintEnum;
 import com.espertech.esper.common.internal.compile.multikey.MultiKeyClassRef;
 import com.espertech.esper.common.internal.compile.multikey.MultiKeyPlan;
 import com.espertech.esper.common.internal.compile.multikey.MultiKeyPlanner;
@@ -18,6 +19,8 @@ import com.espertech.esper.common.internal.compile.stage1.Compilable;
 import com.espertech.esper.common.internal.compile.stage1.spec.NamedWindowConsumerStreamSpec;
 import com.espertech.esper.common.internal.compile.stage1.spec.StreamSpecCompiled;
 import com.espertech.esper.common.internal.compile.stage1.spec.TableQueryStreamSpec;
+import com.espertech.esper.common.internal.compile.stage2.SelectClauseElementCompiled;
+import com.espertech.esper.common.internal.compile.stage2.SelectClauseExprCompiledSpec;
 import com.espertech.esper.common.internal.compile.stage2.StatementLifecycleSvcUtil;
 import com.espertech.esper.common.internal.compile.stage2.StatementRawInfo;
 import com.espertech.esper.common.internal.compile.stage2.StatementSpecCompiled;
@@ -25,11 +28,15 @@ import com.espertech.esper.common.internal.compile.stage3.StatementBaseInfo;
 import com.espertech.esper.common.internal.compile.stage3.StatementCompileTimeServices;
 import com.espertech.esper.common.internal.compile.stage3.StmtClassForgeableFactory;
 import com.espertech.esper.common.internal.context.aifactory.select.StreamJoinAnalysisResultCompileTime;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNode;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNodeUtil;
 import com.espertech.esper.common.internal.epl.expression.core.*;
 import com.espertech.esper.common.internal.epl.expression.subquery.ExprSubselectNode;
 import com.espertech.esper.common.internal.epl.expression.table.ExprTableAccessNode;
+import com.espertech.esper.common.internal.epl.expression.visitor.ExprNodeNonDeterministicVisitor;
 import com.espertech.esper.common.internal.epl.fafquery.processor.FireAndForgetProcessorForge;
 import com.espertech.esper.common.internal.epl.fafquery.processor.FireAndForgetProcessorForgeFactory;
+import com.espertech.esper.common.internal.epl.fafquery.processor.FireAndForgetProcessorNamedWindowForge;
 import com.espertech.esper.common.internal.epl.historical.common.HistoricalViewableDesc;
 import com.espertech.esper.common.internal.epl.join.analyze.FilterExprAnalyzer;
 import com.espertech.esper.common.internal.epl.join.analyze.OuterJoinAnalyzer;
@@ -40,6 +47,7 @@ import com.espertech.esper.common.internal.epl.join.hint.ExcludePlanHint;
 import com.espertech.esper.common.internal.epl.join.querygraph.QueryGraphForge;
 import com.espertech.esper.common.internal.epl.resultset.core.ResultSetProcessorDesc;
 import com.espertech.esper.common.internal.epl.resultset.core.ResultSetProcessorFactoryFactory;
+import com.espertech.esper.common.internal.epl.resultset.core.ResultSetProcessorType;
 import com.espertech.esper.common.internal.epl.resultset.core.ResultSetSpec;
 import com.espertech.esper.common.internal.epl.streamtype.StreamTypeService;
 import com.espertech.esper.common.internal.epl.streamtype.StreamTypeServiceImpl;
@@ -73,6 +81,7 @@ public class FAFQueryMethodSelectDesc {
     private boolean hasTableAccess;
     private final boolean isDistinct;
     private final MultiKeyClassRef distinctMultiKey;
+    private final boolean incremental;
     private Map<ExprTableAccessNode, ExprTableEvalStrategyFactoryForge> tableAccessForges;
     private final List<StmtClassForgeableFactory> additionalForgeables = new ArrayList<>(2);
     private final Map<ExprSubselectNode, SubSelectFactoryForge> subselectForges;
@@ -96,6 +105,7 @@ public class FAFQueryMethodSelectDesc {
         }
         hasTableAccess |= StatementLifecycleSvcUtil.isSubqueryWithTable(statementSpec.getSubselectNodes(), services.getTableCompileTimeResolver());
         this.isDistinct = statementSpec.getSelectClauseCompiled().isDistinct();
+        this.incremental = HintEnum.ENABLE_FAF_INCREMENTAL.getHint(annotations) != null;
 
         FAFQueryMethodHelper.validateFAFQuery(statementSpec);
 
@@ -170,9 +180,9 @@ public class FAFQueryMethodSelectDesc {
         subselectForges = subSelectForgePlan.getSubselects();
         additionalForgeables.addAll(subSelectForgePlan.getAdditionalForgeables());
 
-        // obtain result set processor
+        // obtain result set processor; incremental queries require aggregations that handle the remove stream
         boolean[] isIStreamOnly = new boolean[namesPerStream.length];
-        Arrays.fill(isIStreamOnly, true);
+        Arrays.fill(isIStreamOnly, !incremental);
         StreamTypeService typeService = new StreamTypeServiceImpl(typesPerStream, namesPerStream, isIStreamOnly, true, optionalStreamsIfAny);
         whereClause = EPStatementStartMethodHelperValidate.validateNodes(statementSpec.getRaw(), typeService, null, statementRawInfo, services);
 
@@ -203,11 +213,60 @@ public class FAFQueryMethodSelectDesc {
             joins = null;
         }
 
+        if (incremental) {
+            validateIncremental(statementSpec, services);
+        }
+
         MultiKeyPlan multiKeyPlan = MultiKeyPlanner.planMultiKeyDistinct(isDistinct, resultSetProcessor.getResultEventType(), statementRawInfo, SerdeCompileTimeResolverNonHA.INSTANCE);
         additionalForgeables.addAll(multiKeyPlan.getMultiKeyForgeables());
         this.distinctMultiKey = multiKeyPlan.getClassRef();
     }
 
+    private void validateIncremental(StatementSpecCompiled statementSpec, StatementCompileTimeServices services) throws ExprValidationException {
+        String message = "Hint '" + HintEnum.ENABLE_FAF_INCREMENTAL.getValue() + "' requires ";
+        if (processors.length != 1 || !(processors[0] instanceof FireAndForgetProcessorNamedWindowForge)) {
+            throw new ExprValidationException(message + "a single named window in the from-clause");
+        }
+        FireAndForgetProcessorNamedWindowForge namedWindow = (FireAndForgetProcessorNamedWindowForge) processors[0];
+        if (contextName != null || namedWindow.getContextName() != null) {
+            throw new ExprValidationException(message + "a named window that is not declared with a context");
+        }
+        if (namedWindow.getNamedWindow().isVirtualDataWindow()) {
+            throw new ExprValidationException(message + "a named window that is not a virtual data window");
+        }
+        if (hasTableAccess || !subselectForges.isEmpty()) {
+            throw new ExprValidationException(message + "a query without subqueries and table access");
+        }
+        if (resultSetProcessor.getResultSetProcessorType() != ResultSetProcessorType.FULLYAGGREGATED_UNGROUPED) {
+            throw new ExprValidationException(message + "a fully-aggregated query without group-by");
+        }
+
+        // the filters and aggregated values are evaluated once per event, and must not change for the same event
+        List<ExprNode> evaluatedPerEvent = new ArrayList<>();
+        if (whereClause != null) {
+            evaluatedPerEvent.add(whereClause);
+        }
+        if (consumerFilters[0] != null) {
+            evaluatedPerEvent.add(consumerFilters[0]);
+        }
+        List<ExprAggregateNode> aggregateNodes = new ArrayList<>();
+        for (SelectClauseElementCompiled element : statementSpec.getSelectClauseCompiled().getSelectExprList()) {
+            if (element instanceof SelectClauseExprCompiledSpec) {
+                ExprAggregateNodeUtil.getAggregatesBottomUp(((SelectClauseExprCompiledSpec) element).getSelectExpression(), aggregateNodes);
+            }
+        }
+        for (ExprAggregateNode aggregateNode : aggregateNodes) {
+            evaluatedPerEvent.addAll(Arrays.asList(aggregateNode.getChildNodes()));
+        }
+        ExprNodeNonDeterministicVisitor visitor = new ExprNodeNonDeterministicVisitor(services.getVariableCompileTimeResolver());
+        for (ExprNode node : evaluatedPerEvent) {
+            node.accept(visitor);
+            if (visitor.getMessage() != null) {
+                throw new ExprValidationException(message + "filters and aggregated values that do not depend on " + visitor.getMessage());
+            }
+        }
+    }
+
     public JoinSetComposerPrototypeForge getJoins() {
         return joins;
     }
@@ -260,6 +319,10 @@ public class FAFQueryMethodSelectDesc {
         return distinctMultiKey;
     }
 
+    public boolean isIncremental() {
+        return incremental;
+    }
+
     public Map<ExprSubselectNode, SubSelectFactoryForge> getSubselectForges() {
         return subselectForges;
     }
@@ -0,0 +1,178 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.fafquery.querymethod;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.context.ContextPartitionSelector;
+import com.espertech.esper.common.internal.collection.Pair;
+import com.espertech.esper.common.internal.context.aifactory.core.StatementAgentInstanceFactoryUtil;
+import com.espertech.esper.common.internal.context.mgr.ContextManagementService;
+import com.espertech.esper.common.internal.context.module.StatementAIFactoryAssignmentsImpl;
+import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.context.util.StatementAgentInstanceLock;
+import com.espertech.esper.common.internal.epl.agg.core.AggregationService;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluator;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNodeUtilityEvaluate;
+import com.espertech.esper.common.internal.epl.fafquery.processor.FireAndForgetInstanceNamedWindow;
+import com.espertech.esper.common.internal.epl.namedwindow.core.NamedWindowTailViewInstance;
+import com.espertech.esper.common.internal.epl.namedwindow.core.NamedWindowTailViewUpdateListener;
+import com.espertech.esper.common.internal.epl.resultset.core.ResultSetProcessor;
+
+import java.lang.ref.WeakReference;
+import java.util.Collection;
+import java.util.Collections;
+
+import static com.espertech.esper.common.internal.epl.fafquery.querymethod.FAFQueryMethodSelectExecUtil.processedNonJoin;
+
+/**
+ * Executes a fully-aggregated ungrouped query against a single named window by maintaining the aggregation result
+ * from the insert and remove stream of the named window.
+ * <p>
+ * The first execution scans the named window while holding the named window lock and registers for changes,
+ * so that no change is missed or counted twice. Further executions only compute the result row from the aggregation state.
+ * Setting a substitution parameter to a different value invalidates the aggregation state, and a change of the named window instance,
+ * such as by undeploying and deploying the named window, rebuilds it.
+ * </p>
+ * <p>
+ * The named window holds the registration weakly so that a prepared query that is no longer referenced
+ * is unregistered upon the next change of the named window.
+ * </p>
+ */
+public class FAFQueryMethodSelectExecIncremental implements FAFQueryMethodSelectExec {
+    private volatile Maintained maintained;
+
+    public EPPreparedQueryResult execute(FAFQueryMethodSelect select, ContextPartitionSelector[] contextPartitionSelectors, FAFQueryMethodAssignerSetter assignerSetter, ContextManagementService contextManagementService) {
+        FireAndForgetInstanceNamedWindow processorInstance = (FireAndForgetInstanceNamedWindow) select.getProcessors()[0].getProcessorInstanceNoContext();
+        if (processorInstance == null) {
+            invalidate();
+            return FAFQueryMethodSelectExecNoContextNoJoin.INSTANCE.execute(select, contextPartitionSelectors, assignerSetter, contextManagementService);
+        }
+
+        NamedWindowTailViewInstance tailView = processorInstance.getProcessorInstance().getTailViewInstance();
+        Maintained current = maintained;
+        if (current == null || current.tailView != tailView) {
+            current = start(select, tailView);
+        }
+
+        synchronized (current) {
+            assignerSetter.assign(current.assignments);
+            return processedNonJoin(current.resultSetProcessor, Collections.<EventBean>emptyList(), select.getDistinctKeyGetter());
+        }
+    }
+
+    /**
+     * Discards the aggregation state, for use when the value of a substitution parameter changes.
+     */
+    public synchronized void invalidate() {
+        stop(maintained);
+        maintained = null;
+    }
+
+    private Maintained start(FAFQueryMethodSelect select, NamedWindowTailViewInstance tailView) {
+        // lock order is the named window lock and then the aggregation state, same as for the named window writer
+        StatementAgentInstanceLock lock = tailView.getAgentInstanceContext().getEpStatementAgentInstanceHandle().getStatementAgentInstanceLock();
+        lock.acquireReadLock();
+        try {
+            synchronized (this) {
+                Maintained current = maintained;
+                if (current != null && current.tailView == tailView) {
+                    return current;
+                }
+                stop(current);
+
+                AgentInstanceContext agentInstanceContext = tailView.getAgentInstanceContext();
+                Pair<ResultSetProcessor, AggregationService> pair = StatementAgentInstanceFactoryUtil.startResultSetAndAggregation(select.getResultSetProcessorFactoryProvider(), agentInstanceContext, false, null);
+                StatementAIFactoryAssignmentsImpl assignments = new StatementAIFactoryAssignmentsImpl(pair.getSecond(), null, null, Collections.emptyMap(), Collections.emptyMap(), null);
+                current = new Maintained(tailView, pair.getFirst(), pair.getSecond(), assignments, select.getConsumerFilters()[0], select.getWhereClause());
+
+                Collection<EventBean> events = tailView.snapshotNoLock(select.getQueryGraph(), select.getAnnotations());
+                current.update(tailView, events.toArray(new EventBean[events.size()]), null);
+                tailView.addUpdateListener(current.listener);
+                maintained = current;
+                return current;
+            }
+        } finally {
+            lock.releaseReadLock();
+        }
+    }
+
+    private static void stop(Maintained maintained) {
+        if (maintained != null) {
+            maintained.tailView.removeUpdateListener(maintained.listener);
+        }
+    }
+
+    private static class Maintained {
+        private final NamedWindowTailViewInstance tailView;
+        private final ResultSetProcessor resultSetProcessor;
+        private final AggregationService aggregationService;
+        private final StatementAIFactoryAssignmentsImpl assignments;
+        private final ExprEvaluator consumerFilter;
+        private final ExprEvaluator whereClause;
+        private final WeakListener listener;
+        private final EventBean[] eventsPerStream = new EventBean[1];
+
+        Maintained(NamedWindowTailViewInstance tailView, ResultSetProcessor resultSetProcessor, AggregationService aggregationService, StatementAIFactoryAssignmentsImpl assignments, ExprEvaluator consumerFilter, ExprEvaluator whereClause) {
+            this.tailView = tailView;
+            this.resultSetProcessor = resultSetProcessor;
+            this.aggregationService = aggregationService;
+            this.assignments = assignments;
+            this.consumerFilter = consumerFilter;
+            this.whereClause = whereClause;
+            this.listener = new WeakListener(this);
+        }
+
+        synchronized void update(NamedWindowTailViewInstance tailView, EventBean[] newData, EventBean[] oldData) {
+            AgentInstanceContext agentInstanceContext = tailView.getAgentInstanceContext();
+            if (oldData != null) {
+                for (EventBean event : oldData) {
+                    eventsPerStream[0] = event;
+                    if (pass(agentInstanceContext)) {
+                        aggregationService.applyLeave(eventsPerStream, null, agentInstanceContext);
+                    }
+                }
+            }
+            if (newData != null) {
+                for (EventBean event : newData) {
+                    eventsPerStream[0] = event;
+                    if (pass(agentInstanceContext)) {
+                        aggregationService.applyEnter(eventsPerStream, null, agentInstanceContext);
+                    }
+                }
+            }
+            eventsPerStream[0] = null;
+        }
+
+        private boolean pass(AgentInstanceContext agentInstanceContext) {
+            if (consumerFilter != null && !ExprNodeUtilityEvaluate.applyFilterExpression(consumerFilter, eventsPerStream, agentInstanceContext)) {
+                return false;
+            }
+            return whereClause == null || ExprNodeUtilityEvaluate.applyFilterExpression(whereClause, eventsPerStream, agentInstanceContext);
+        }
+    }
+
+    private static class WeakListener implements NamedWindowTailViewUpdateListener {
+        private final WeakReference<Maintained> maintained;
+
+        WeakListener(Maintained maintained) {
+            this.maintained = new WeakReference<>(maintained);
+        }
+
+        public void update(NamedWindowTailViewInstance tailView, EventBean[] newData, EventBean[] oldData) {
+            Maintained target = maintained.get();
+            if (target == null) {
+                tailView.removeUpdateListener(this);
+                return;
+            }
+            target.update(tailView, newData, oldData);
+        }
+    }
+}
@@ -80,6 +80,7 @@ public class FAFQueryMethodSelectForge implements FAFQueryMethodForge {
                 .exprDotMethod(select, "setHasTableAccess", constant(desc.isHasTableAccess()))
                 .exprDotMethod(select, "setDistinct", constant(desc.isDistinct()))
                 .exprDotMethod(select, "setDistinctKeyGetter", MultiKeyCodegen.codegenGetterEventDistinct(desc.isDistinct(), desc.getResultSetProcessor().getResultEventType(), desc.getDistinctMultiKey(), method, classScope))
+                .exprDotMethod(select, "setIncremental", constant(desc.isIncremental()))
                 .exprDotMethod(select, "setSubselects", SubSelectFactoryForge.codegenInitMap(desc.getSubselectForges(), this.getClass(), method, symbols, classScope))
                 .methodReturn(select);
     }
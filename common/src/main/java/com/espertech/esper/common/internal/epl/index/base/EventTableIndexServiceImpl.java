@@ -18,6 +18,7 @@ import com.espertech.esper.common.internal.epl.index.advanced.index.service.Even
 import com.espertech.esper.common.internal.epl.index.advanced.index.service.EventTableFactoryCustomIndex;
 import com.espertech.esper.common.internal.epl.index.composite.PropertyCompositeEventTableFactory;
 import com.espertech.esper.common.internal.epl.index.hash.PropertyHashedEventTableFactory;
+import com.espertech.esper.common.internal.epl.index.hash.PropertyHashedPrimitiveKey;
 import com.espertech.esper.common.internal.epl.index.inkeyword.PropertyHashedArrayFactory;
 import com.espertech.esper.common.internal.epl.index.sorted.PropertySortedEventTableFactory;
 import com.espertech.esper.common.internal.epl.index.unindexed.UnindexedEventTableFactory;
@@ -30,8 +31,8 @@ public class EventTableIndexServiceImpl implements EventTableIndexService {
         return true;
     }
 
-    public EventTableFactory createHashedOnly(int indexedStreamNum, EventType eventType, String[] indexProps, Class[] indexTypes, MultiKeyFromObjectArray transformFireAndForget, DataInputOutputSerde<Object> keySerde, boolean unique, String optionalIndexName, EventPropertyValueGetter getter, DataInputOutputSerde<Object> optionalValueSerde, boolean isFireAndForget, EventTableFactoryFactoryContext eventTableFactoryContext) {
-        return new PropertyHashedEventTableFactory(indexedStreamNum, indexProps, unique, optionalIndexName, getter, transformFireAndForget);
+    public EventTableFactory createHashedOnly(int indexedStreamNum, EventType eventType, String[] indexProps, Class[] indexTypes, MultiKeyFromObjectArray transformFireAndForget, DataInputOutputSerde<Object> keySerde, boolean unique, String optionalIndexName, EventPropertyValueGetter getter, DataInputOutputSerde<Object> optionalValueSerde, boolean isFireAndForget, EventTableFactoryFactoryContext eventTableFactoryContext, PropertyHashedPrimitiveKey optionalPrimitiveKey) {
+        return new PropertyHashedEventTableFactory(indexedStreamNum, indexProps, unique, optionalIndexName, getter, transformFireAndForget, optionalPrimitiveKey);
     }
 
     public EventTableFactory createUnindexed(int indexedStreamNum, EventType eventType, DataInputOutputSerde<Object> optionalValueSerde, boolean isFireAndForget, EventTableFactoryFactoryContext eventTableFactoryContext) {
@@ -14,6 +14,7 @@ import com.espertech.esper.common.client.EventPropertyValueGetter;
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.serde.DataInputOutputSerde;
 import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.epl.index.hash.PropertyHashedPrimitiveKey;
 import com.espertech.esper.common.internal.epl.join.queryplan.QueryPlanIndexItem;
 
 public class EventTableUtil {
@@ -49,7 +50,7 @@ public class EventTableUtil {
                 EventTableFactory factory = eventTableIndexService.createUnindexed(indexedStreamNum, eventType, optionalValueSerde, isFireAndForget, agentInstanceContext.getStatementContext().getEventTableFactoryContext());
                 table = factory.makeEventTables(agentInstanceContext, null)[0];
             } else {
-                EventTableFactory factory = eventTableIndexService.createHashedOnly(indexedStreamNum, eventType, indexProps, indexTypes, item.getTransformFireAndForget(), item.getHashKeySerde(), unique, optionalIndexName, indexGetter, optionalValueSerde, isFireAndForget, agentInstanceContext.getStatementContext().getEventTableFactoryContext());
+                EventTableFactory factory = eventTableIndexService.createHashedOnly(indexedStreamNum, eventType, indexProps, indexTypes, item.getTransformFireAndForget(), item.getHashKeySerde(), unique, optionalIndexName, indexGetter, optionalValueSerde, isFireAndForget, agentInstanceContext.getStatementContext().getEventTableFactoryContext(), PropertyHashedPrimitiveKey.fromIndexTypes(indexTypes));
                 table = factory.makeEventTables(agentInstanceContext, null)[0];
             }
         } else {
@@ -11,6 +11,7 @@
 package com.espertech.esper.common.internal.epl.index.composite;
 
 import com.espertech.esper.common.client.EventPropertyValueGetter;
+import com.espertech.esper.common.internal.collection.BTreeMapKeyCodec;
 import com.espertech.esper.common.internal.collection.MultiKeyFromObjectArray;
 import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
 import com.espertech.esper.common.internal.epl.index.base.EventTable;
@@ -28,7 +29,7 @@ import java.util.List;
 
 /**
  * For use when the index comprises of either two or more ranges or a unique key in combination with a range.
- * Organizes into a TreeMap&lt;key, TreeMap&lt;key2, Set&lt;EventBean&gt;&gt;, for short. The top level can also be just Map&lt;HashableMultiKey, TreeMap...&gt;.
+ * Organizes into a BTreeMap&lt;key, BTreeMap&lt;key2, Set&lt;EventBean&gt;&gt;, for short. The top level can also be just Map&lt;HashableMultiKey, BTreeMap...&gt;.
  * Expected at least either (A) one key and one range or (B) zero keys and 2 ranges.
  * <p>
  * An alternative implementatation could have been based on "TreeMap&lt;ComparableMultiKey, Set&lt;EventBean&gt;&gt;&gt;", however the following implication arrive
@@ -45,6 +46,7 @@ public class PropertyCompositeEventTableFactory implements EventTableFactory {
     protected final String[] rangeProps;
     protected final Class[] optRangeCoercedTypes;
     protected final EventPropertyValueGetter[] rangeGetters;
+    protected final BTreeMapKeyCodec[] rangeKeyCodecs;
     protected final CompositeIndexEnterRemove chain;
 
     public PropertyCompositeEventTableFactory(int streamNum, String[] optionalKeyedProps, Class[] optKeyCoercedTypes, EventPropertyValueGetter hashGetter, MultiKeyFromObjectArray transformFireAndForget, String[] rangeProps, Class[] optRangeCoercedTypes, EventPropertyValueGetter[] rangeGetters) {
@@ -57,13 +59,22 @@ public class PropertyCompositeEventTableFactory implements EventTableFactory {
         this.optRangeCoercedTypes = optRangeCoercedTypes;
         this.rangeGetters = rangeGetters;
 
+        // determine per-range key codec, the range getters returning values coerced to the range type
+        rangeKeyCodecs = new BTreeMapKeyCodec[rangeGetters.length];
+        if (optRangeCoercedTypes != null) {
+            for (int i = 0; i < rangeGetters.length; i++) {
+                rangeKeyCodecs[i] = BTreeMapKeyCodec.of(optRangeCoercedTypes[i]);
+            }
+        }
+
         // construct chain
         List<CompositeIndexEnterRemove> enterRemoves = new ArrayList<CompositeIndexEnterRemove>();
         if (optionalKeyedProps != null && optionalKeyedProps.length > 0) {
-            enterRemoves.add(new CompositeIndexEnterRemoveKeyed(hashGetter));
+            enterRemoves.add(new CompositeIndexEnterRemoveKeyed(hashGetter, rangeKeyCodecs[0]));
         }
-        for (EventPropertyValueGetter rangeGetter : rangeGetters) {
-            enterRemoves.add(new CompositeIndexEnterRemoveRange(rangeGetter));
+        for (int i = 0; i < rangeGetters.length; i++) {
+            BTreeMapKeyCodec nextCodec = i + 1 < rangeGetters.length ? rangeKeyCodecs[i + 1] : null;
+            enterRemoves.add(new CompositeIndexEnterRemoveRange(rangeGetters[i], nextCodec));
         }
 
         // Hook up as chain for remove
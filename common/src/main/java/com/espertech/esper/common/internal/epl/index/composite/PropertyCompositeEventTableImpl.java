@@ -11,6 +11,7 @@
 package com.espertech.esper.common.internal.epl.index.composite;
 
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.collection.BTreeMap;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.common.internal.epl.join.exec.composite.CompositeIndexQueryResultPostProcessor;
 
@@ -18,7 +19,7 @@ import java.util.*;
 
 /**
  * For use when the index comprises of either two or more ranges or a unique key in combination with a range.
- * Organizes into a TreeMap&lt;key, TreeMap&lt;key2, Set&lt;EventBean&gt;&gt;, for short. The top level can also be just Map&lt;HashableMultiKey, TreeMap...&gt;.
+ * Organizes into a BTreeMap&lt;key, BTreeMap&lt;key2, Set&lt;EventBean&gt;&gt;, for short. The top level can also be just Map&lt;HashableMultiKey, BTreeMap...&gt;.
  * Expected at least either (A) one key and one range or (B) zero keys and 2 ranges.
  * <p>
  * An alternative implementatation could have been based on "TreeMap&lt;ComparableMultiKey, Set&lt;EventBean&gt;&gt;&gt;", however the following implication arrive
@@ -37,7 +38,7 @@ public class PropertyCompositeEventTableImpl extends PropertyCompositeEventTable
         if (factory.hashGetter != null) {
             index = new HashMap<>();
         } else {
-            index = new TreeMap<>();
+            index = new BTreeMap<>(factory.rangeKeyCodecs[0]);
         }
     }
 
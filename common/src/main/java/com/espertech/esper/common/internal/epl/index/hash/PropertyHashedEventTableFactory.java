@@ -27,14 +27,31 @@ public class PropertyHashedEventTableFactory implements EventTableFactory {
     protected final String optionalIndexName;
     protected final EventPropertyValueGetter propertyGetter;
     protected final MultiKeyFromObjectArray multiKeyTransform;
+    protected final PropertyHashedPrimitiveKey optionalPrimitiveKey;
 
     public PropertyHashedEventTableFactory(int streamNum, String[] propertyNames, boolean unique, String optionalIndexName, EventPropertyValueGetter propertyGetter, MultiKeyFromObjectArray multiKeyTransform) {
+        this(streamNum, propertyNames, unique, optionalIndexName, propertyGetter, multiKeyTransform, null);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param streamNum            stream number
+     * @param propertyNames        indexed property names
+     * @param unique               unique indicator
+     * @param optionalIndexName    index name or null
+     * @param propertyGetter       key getter
+     * @param multiKeyTransform    multi-key transform or null
+     * @param optionalPrimitiveKey primitive key type when the index has a single int, long or double key, or null for a map-based index
+     */
+    public PropertyHashedEventTableFactory(int streamNum, String[] propertyNames, boolean unique, String optionalIndexName, EventPropertyValueGetter propertyGetter, MultiKeyFromObjectArray multiKeyTransform, PropertyHashedPrimitiveKey optionalPrimitiveKey) {
         this.streamNum = streamNum;
         this.propertyNames = propertyNames;
         this.unique = unique;
         this.optionalIndexName = optionalIndexName;
         this.propertyGetter = propertyGetter;
         this.multiKeyTransform = multiKeyTransform;
+        this.optionalPrimitiveKey = propertyNames.length == 1 ? optionalPrimitiveKey : null;
 
         if (propertyGetter == null) {
             throw new IllegalArgumentException("Property-getter is null");
@@ -42,6 +59,12 @@ public class PropertyHashedEventTableFactory implements EventTableFactory {
     }
 
     public EventTable[] makeEventTables(AgentInstanceContext agentInstanceContext, Integer subqueryNumber) {
+        if (optionalPrimitiveKey != null) {
+            if (unique) {
+                return new EventTable[]{new PropertyHashedEventTableUniquePrimitive(this, optionalPrimitiveKey)};
+            }
+            return new EventTable[]{new PropertyHashedEventTablePrimitive(this, optionalPrimitiveKey)};
+        }
         if (unique) {
             return new EventTable[]{new PropertyHashedEventTableUnique(this)};
         } else {
@@ -0,0 +1,198 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.hash;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.collection.ArrayEventIterator;
+import com.espertech.esper.common.internal.collection.LongObjectHashMap;
+import com.espertech.esper.common.internal.collection.MixedEventBeanAndCollectionIteratorBase;
+import com.espertech.esper.common.internal.collection.SuperIterator;
+
+import java.util.*;
+
+/**
+ * Non-unique hash index for a single int, long or double key, keyed by the primitive key value.
+ * <p>
+ * The events for a key are held inline: a single event is kept as-is, a few events are kept in a copy-on-write
+ * array and only larger groups are kept in a set. Keys that are not of the primitive key class, including null,
+ * are kept in the map-based index of the superclass.
+ * </p>
+ */
+public class PropertyHashedEventTablePrimitive extends PropertyHashedEventTableUnadorned {
+    /**
+     * Maximum number of events per key held in an array before switching to a set.
+     */
+    protected final static int INLINE_MAX = 8;
+
+    private final PropertyHashedPrimitiveKey primitiveKey;
+    private final LongObjectHashMap<Object> primitiveIndex;
+
+    public PropertyHashedEventTablePrimitive(PropertyHashedEventTableFactory factory, PropertyHashedPrimitiveKey primitiveKey) {
+        super(factory);
+        this.primitiveKey = primitiveKey;
+        this.primitiveIndex = new LongObjectHashMap<>();
+    }
+
+    public Set<EventBean> lookup(Object key) {
+        if (!primitiveKey.isKey(key)) {
+            return propertyIndex.get(key);
+        }
+        Object entry = primitiveIndex.get(primitiveKey.toLong(key));
+        if (entry == null) {
+            return null;
+        }
+        if (entry instanceof EventBean) {
+            return Collections.singleton((EventBean) entry);
+        }
+        if (entry instanceof EventBean[]) {
+            return new InlineEventSet((EventBean[]) entry);
+        }
+        return (Set<EventBean>) entry;
+    }
+
+    protected void addWithKey(Object key, EventBean theEvent) {
+        if (!primitiveKey.isKey(key)) {
+            super.addWithKey(key, theEvent);
+            return;
+        }
+
+        long primitive = primitiveKey.toLong(key);
+        Object entry = primitiveIndex.get(primitive);
+        if (entry == null) {
+            primitiveIndex.put(primitive, theEvent);
+        } else if (entry instanceof EventBean) {
+            if (!entry.equals(theEvent)) {
+                primitiveIndex.put(primitive, new EventBean[]{(EventBean) entry, theEvent});
+            }
+        } else if (entry instanceof EventBean[]) {
+            EventBean[] events = (EventBean[]) entry;
+            if (indexOf(events, theEvent) != -1) {
+                return;
+            }
+            if (events.length < INLINE_MAX) {
+                EventBean[] added = Arrays.copyOf(events, events.length + 1);
+                added[events.length] = theEvent;
+                primitiveIndex.put(primitive, added);
+            } else {
+                Set<EventBean> set = new LinkedHashSet<>(Arrays.asList(events));
+                set.add(theEvent);
+                primitiveIndex.put(primitive, set);
+            }
+        } else {
+            ((Set<EventBean>) entry).add(theEvent);
+        }
+    }
+
+    protected void removeWithKey(Object key, EventBean theEvent) {
+        if (!primitiveKey.isKey(key)) {
+            super.removeWithKey(key, theEvent);
+            return;
+        }
+
+        long primitive = primitiveKey.toLong(key);
+        Object entry = primitiveIndex.get(primitive);
+        if (entry == null) {
+            return;
+        }
+        if (entry instanceof EventBean) {
+            if (entry.equals(theEvent)) {
+                primitiveIndex.remove(primitive);
+            }
+        } else if (entry instanceof EventBean[]) {
+            EventBean[] events = (EventBean[]) entry;
+            int index = indexOf(events, theEvent);
+            if (index == -1) {
+                return;
+            }
+            if (events.length == 2) {
+                primitiveIndex.put(primitive, events[1 - index]);
+            } else {
+                EventBean[] removed = new EventBean[events.length - 1];
+                System.arraycopy(events, 0, removed, 0, index);
+                System.arraycopy(events, index + 1, removed, index, events.length - index - 1);
+                primitiveIndex.put(primitive, removed);
+            }
+        } else {
+            Set<EventBean> events = (Set<EventBean>) entry;
+            if (events.remove(theEvent) && events.isEmpty()) {
+                primitiveIndex.remove(primitive);
+            }
+        }
+    }
+
+    public boolean isEmpty() {
+        return primitiveIndex.isEmpty() && propertyIndex.isEmpty();
+    }
+
+    public Iterator<EventBean> iterator() {
+        Iterator<EventBean> primitives = new PrimitiveIndexIterator(primitiveIndex.valueIterator());
+        if (propertyIndex.isEmpty()) {
+            return primitives;
+        }
+        return new SuperIterator<>(primitives, super.iterator());
+    }
+
+    public void clear() {
+        primitiveIndex.clear();
+        propertyIndex.clear();
+    }
+
+    public int getNumKeys() {
+        return primitiveIndex.size() + propertyIndex.size();
+    }
+
+    public Object getIndex() {
+        return primitiveIndex;
+    }
+
+    private static int indexOf(EventBean[] events, EventBean theEvent) {
+        for (int i = 0; i < events.length; i++) {
+            if (events[i].equals(theEvent)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static class InlineEventSet extends AbstractSet<EventBean> {
+        private final EventBean[] events;
+
+        InlineEventSet(EventBean[] events) {
+            this.events = events;
+        }
+
+        public Iterator<EventBean> iterator() {
+            return new ArrayEventIterator(events);
+        }
+
+        public int size() {
+            return events.length;
+        }
+
+        public boolean contains(Object o) {
+            return o instanceof EventBean && indexOf(events, (EventBean) o) != -1;
+        }
+    }
+
+    private static class PrimitiveIndexIterator extends MixedEventBeanAndCollectionIteratorBase {
+        PrimitiveIndexIterator(Iterator<Object> valueIterator) {
+            super(valueIterator);
+            init();
+        }
+
+        protected Object getValue(Object iteratorKeyValue) {
+            if (iteratorKeyValue instanceof EventBean[]) {
+                return Arrays.asList((EventBean[]) iteratorKeyValue);
+            }
+            return iteratorKeyValue;
+        }
+    }
+}
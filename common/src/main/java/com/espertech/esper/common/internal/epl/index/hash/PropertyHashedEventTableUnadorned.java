@@ -34,8 +34,14 @@ public class PropertyHashedEventTableUnadorned extends PropertyHashedEventTable
     }
 
     public void add(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
-        Object key = getKey(theEvent);
+        addWithKey(getKey(theEvent), theEvent);
+    }
+
+    public void remove(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
+        removeWithKey(getKey(theEvent), theEvent);
+    }
 
+    protected void addWithKey(Object key, EventBean theEvent) {
         Set<EventBean> events = propertyIndex.get(key);
         if (events == null) {
             events = new LinkedHashSet<EventBean>();
@@ -45,9 +51,7 @@ public class PropertyHashedEventTableUnadorned extends PropertyHashedEventTable
         events.add(theEvent);
     }
 
-    public void remove(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
-        Object key = getKey(theEvent);
-
+    protected void removeWithKey(Object key, EventBean theEvent) {
         Set<EventBean> events = propertyIndex.get(key);
         if (events == null) {
             return;
@@ -21,7 +21,7 @@ import java.util.*;
  * Unique index.
  */
 public class PropertyHashedEventTableUnique extends PropertyHashedEventTable implements EventTableAsSet {
-    private final Map<Object, EventBean> propertyIndex;
+    protected final Map<Object, EventBean> propertyIndex;
 
     public PropertyHashedEventTableUnique(PropertyHashedEventTableFactory factory) {
         super(factory);
@@ -70,16 +70,21 @@ public class PropertyHashedEventTableUnique extends PropertyHashedEventTable imp
     }
 
     public void add(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
-        Object key = getKey(theEvent);
+        addWithKey(getKey(theEvent), theEvent);
+    }
 
+    public void remove(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
+        removeWithKey(getKey(theEvent), theEvent);
+    }
+
+    protected void addWithKey(Object key, EventBean theEvent) {
         EventBean existing = propertyIndex.put(key, theEvent);
         if (existing != null && !existing.equals(theEvent)) {
             throw handleUniqueIndexViolation(factory.getOrganization().getIndexName(), key);
         }
     }
 
-    public void remove(EventBean theEvent, ExprEvaluatorContext exprEvaluatorContext) {
-        Object key = getKey(theEvent);
+    protected void removeWithKey(Object key, EventBean theEvent) {
         propertyIndex.remove(key);
     }
 
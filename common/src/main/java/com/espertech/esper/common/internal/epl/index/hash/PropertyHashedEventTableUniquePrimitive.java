@@ -0,0 +1,103 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.hash;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.collection.LongObjectHashMap;
+import com.espertech.esper.common.internal.collection.SuperIterator;
+
+import java.util.*;
+
+/**
+ * Unique hash index for a single int, long or double key, keyed by the primitive key value.
+ * <p>
+ * Keys that are not of the primitive key class, including null, are kept in the map-based index of the superclass.
+ * </p>
+ */
+public class PropertyHashedEventTableUniquePrimitive extends PropertyHashedEventTableUnique {
+    private final PropertyHashedPrimitiveKey primitiveKey;
+    private final LongObjectHashMap<EventBean> primitiveIndex;
+
+    public PropertyHashedEventTableUniquePrimitive(PropertyHashedEventTableFactory factory, PropertyHashedPrimitiveKey primitiveKey) {
+        super(factory);
+        this.primitiveKey = primitiveKey;
+        this.primitiveIndex = new LongObjectHashMap<>();
+    }
+
+    public Set<EventBean> lookup(Object key) {
+        if (!primitiveKey.isKey(key)) {
+            return super.lookup(key);
+        }
+        EventBean event = primitiveIndex.get(primitiveKey.toLong(key));
+        if (event != null) {
+            return Collections.singleton(event);
+        }
+        return null;
+    }
+
+    protected void addWithKey(Object key, EventBean theEvent) {
+        if (!primitiveKey.isKey(key)) {
+            super.addWithKey(key, theEvent);
+            return;
+        }
+        EventBean existing = primitiveIndex.put(primitiveKey.toLong(key), theEvent);
+        if (existing != null && !existing.equals(theEvent)) {
+            throw handleUniqueIndexViolation(factory.getOrganization().getIndexName(), key);
+        }
+    }
+
+    protected void removeWithKey(Object key, EventBean theEvent) {
+        if (!primitiveKey.isKey(key)) {
+            super.removeWithKey(key, theEvent);
+            return;
+        }
+        primitiveIndex.remove(primitiveKey.toLong(key));
+    }
+
+    public int getNumKeys() {
+        return primitiveIndex.size() + propertyIndex.size();
+    }
+
+    public Object getIndex() {
+        return primitiveIndex;
+    }
+
+    public boolean isEmpty() {
+        return primitiveIndex.isEmpty() && propertyIndex.isEmpty();
+    }
+
+    public Iterator<EventBean> iterator() {
+        if (propertyIndex.isEmpty()) {
+            return primitiveIndex.valueIterator();
+        }
+        return new SuperIterator<>(primitiveIndex.valueIterator(), propertyIndex.values().iterator());
+    }
+
+    public void clear() {
+        primitiveIndex.clear();
+        propertyIndex.clear();
+    }
+
+    public Integer getNumberOfEvents() {
+        return primitiveIndex.size() + propertyIndex.size();
+    }
+
+    public Set<EventBean> allValues() {
+        if (isEmpty()) {
+            return Collections.emptySet();
+        }
+        Set<EventBean> values = new HashSet<>(propertyIndex.values());
+        for (Iterator<EventBean> it = primitiveIndex.valueIterator(); it.hasNext(); ) {
+            values.add(it.next());
+        }
+        return values;
+    }
+}
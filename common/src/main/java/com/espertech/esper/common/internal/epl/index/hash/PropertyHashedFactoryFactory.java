@@ -26,10 +26,12 @@ public class PropertyHashedFactoryFactory extends EventTableFactoryFactoryBase {
     private final EventPropertyValueGetter valueGetter;
     private final MultiKeyFromObjectArray transformFireAndForget;
     private final DataInputOutputSerde<Object> keySerde;
+    private final PropertyHashedPrimitiveKey optionalPrimitiveKey;
 
     public PropertyHashedFactoryFactory(int indexedStreamNum, Integer subqueryNum, boolean isFireAndForget,
                                         String[] indexProps, Class[] indexTypes, boolean unique, EventPropertyValueGetter valueGetter,
-                                        MultiKeyFromObjectArray transformFireAndForget, DataInputOutputSerde<Object> keySerde) {
+                                        MultiKeyFromObjectArray transformFireAndForget, DataInputOutputSerde<Object> keySerde,
+                                        PropertyHashedPrimitiveKey optionalPrimitiveKey) {
         super(indexedStreamNum, subqueryNum, isFireAndForget);
         this.indexProps = indexProps;
         this.indexTypes = indexTypes;
@@ -37,10 +39,11 @@ public class PropertyHashedFactoryFactory extends EventTableFactoryFactoryBase {
         this.valueGetter = valueGetter;
         this.transformFireAndForget = transformFireAndForget;
         this.keySerde = keySerde;
+        this.optionalPrimitiveKey = optionalPrimitiveKey;
     }
 
     public EventTableFactory create(EventType eventType, EventTableFactoryFactoryContext eventTableFactoryContext) {
         return eventTableFactoryContext.getEventTableIndexService().createHashedOnly(indexedStreamNum, eventType, indexProps,
-                indexTypes, transformFireAndForget, keySerde, unique, null, valueGetter, null, isFireAndForget, eventTableFactoryContext);
+                indexTypes, transformFireAndForget, keySerde, unique, null, valueGetter, null, isFireAndForget, eventTableFactoryContext, optionalPrimitiveKey);
     }
 }
@@ -62,6 +62,7 @@ public class PropertyHashedFactoryFactoryForge extends EventTableFactoryFactoryF
         params.add(getter);
         params.add(constantNull()); // no fire-and-forget transform for subqueries
         params.add(multiKeyClassRef.getExprMKSerde(method, classScope));
+        params.add(constant(PropertyHashedPrimitiveKey.fromIndexTypes(hashCoercionDesc.getCoercionTypes())));
         return params;
     }
 
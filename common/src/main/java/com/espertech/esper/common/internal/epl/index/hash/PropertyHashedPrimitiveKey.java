@@ -0,0 +1,89 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.hash;
+
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+/**
+ * Primitive key representation for single-property hash indexes, for use with primitive-keyed index tables.
+ * <p>
+ * A key only qualifies when its class is exactly the boxed key class. Keys of any other class, and null keys,
+ * are kept separately by the index so that lookup semantics remain those of a hash map keyed by the boxed value.
+ * </p>
+ */
+public enum PropertyHashedPrimitiveKey {
+    INT(Integer.class),
+    LONG(Long.class),
+    DOUBLE(Double.class);
+
+    private final Class boxedType;
+
+    PropertyHashedPrimitiveKey(Class boxedType) {
+        this.boxedType = boxedType;
+    }
+
+    /**
+     * Returns the boxed key class.
+     *
+     * @return key class
+     */
+    public Class getBoxedType() {
+        return boxedType;
+    }
+
+    /**
+     * Returns indicator whether the key can be represented as a primitive key.
+     *
+     * @param key key, may be null
+     * @return indicator
+     */
+    public boolean isKey(Object key) {
+        return key != null && key.getClass() == boxedType;
+    }
+
+    /**
+     * Returns the primitive representation of a key for which {@link #isKey(Object)} returned true.
+     * Double keys are represented by their bits, which compares the same as {@link Double#equals(Object)}.
+     *
+     * @param key key
+     * @return primitive key
+     */
+    public long toLong(Object key) {
+        switch (this) {
+            case INT:
+                return (Integer) key;
+            case LONG:
+                return (Long) key;
+            default:
+                return Double.doubleToLongBits((Double) key);
+        }
+    }
+
+    /**
+     * Returns the primitive key type for the index key types, or null when the index does not have
+     * a single int, long or double key.
+     *
+     * @param indexTypes index key types
+     * @return primitive key type or null
+     */
+    public static PropertyHashedPrimitiveKey fromIndexTypes(Class[] indexTypes) {
+        if (indexTypes == null || indexTypes.length != 1 || indexTypes[0] == null) {
+            return null;
+        }
+        Class boxed = JavaClassHelper.getBoxedType(indexTypes[0]);
+        for (PropertyHashedPrimitiveKey value : values()) {
+            if (value.boxedType == boxed) {
+                return value;
+            }
+        }
+        return null;
+    }
+}
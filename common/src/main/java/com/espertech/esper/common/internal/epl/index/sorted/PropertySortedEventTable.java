@@ -19,7 +19,7 @@ import com.espertech.esper.common.internal.epl.join.exec.util.RangeIndexLookupVa
 import java.util.*;
 
 /**
- * Index that organizes events by the event property values into a single TreeMap sortable non-nested index
+ * Index that organizes events by the event property values into a single B+-tree sortable non-nested index
  * with Object keys that store the property values.
  */
 public abstract class PropertySortedEventTable implements EventTable {
@@ -118,64 +118,68 @@ public abstract class PropertySortedEventTable implements EventTable {
         return null;
     }
 
-    protected static Set<EventBean> normalize(SortedMap<Object, Set<EventBean>> submap) {
-        if (submap.size() == 0) {
+    protected static Set<EventBean> normalize(Map<Object, Set<EventBean>> submap) {
+        Iterator<Set<EventBean>> it = submap.values().iterator();
+        if (!it.hasNext()) {
             return null;
         }
-        if (submap.size() == 1) {
-            return submap.get(submap.firstKey());
+        Set<EventBean> first = it.next();
+        if (!it.hasNext()) {
+            return first;
         }
-        Set<EventBean> result = new LinkedHashSet<EventBean>();
-        for (Map.Entry<Object, Set<EventBean>> entry : submap.entrySet()) {
-            result.addAll(entry.getValue());
+        Set<EventBean> result = new LinkedHashSet<EventBean>(first);
+        while (it.hasNext()) {
+            result.addAll(it.next());
         }
         return result;
     }
 
-    protected static Collection<EventBean> normalizeCollection(SortedMap<Object, Set<EventBean>> submap) {
-        if (submap.size() == 0) {
+    protected static Collection<EventBean> normalizeCollection(Map<Object, Set<EventBean>> submap) {
+        Iterator<Set<EventBean>> it = submap.values().iterator();
+        if (!it.hasNext()) {
             return null;
         }
-        if (submap.size() == 1) {
-            return submap.get(submap.firstKey());
+        Set<EventBean> first = it.next();
+        if (!it.hasNext()) {
+            return first;
         }
-        Deque<EventBean> result = new ArrayDeque<EventBean>();
-        for (Map.Entry<Object, Set<EventBean>> entry : submap.entrySet()) {
-            result.addAll(entry.getValue());
+        Deque<EventBean> result = new ArrayDeque<EventBean>(first);
+        while (it.hasNext()) {
+            result.addAll(it.next());
         }
         return result;
     }
 
-    protected static Collection<EventBean> normalizeCollection(SortedMap<Object, Set<EventBean>> submapOne, SortedMap<Object, Set<EventBean>> submapTwo) {
-        if (submapOne.size() == 0) {
+    protected static Collection<EventBean> normalizeCollection(Map<Object, Set<EventBean>> submapOne, Map<Object, Set<EventBean>> submapTwo) {
+        if (submapOne.isEmpty()) {
             return normalizeCollection(submapTwo);
         }
-        if (submapTwo.size() == 0) {
+        if (submapTwo.isEmpty()) {
             return normalizeCollection(submapOne);
         }
         ArrayDeque<EventBean> result = new ArrayDeque<EventBean>();
-        for (Map.Entry<Object, Set<EventBean>> entry : submapOne.entrySet()) {
-            result.addAll(entry.getValue());
+        for (Set<EventBean> events : submapOne.values()) {
+            result.addAll(events);
         }
-        for (Map.Entry<Object, Set<EventBean>> entry : submapTwo.entrySet()) {
-            result.addAll(entry.getValue());
+        for (Set<EventBean> events : submapTwo.values()) {
+            result.addAll(events);
         }
         return result;
     }
 
-    protected static Set<EventBean> normalize(SortedMap<Object, Set<EventBean>> submapOne, SortedMap<Object, Set<EventBean>> submapTwo) {
-        if (submapOne.size() == 0) {
+    protected static Set<EventBean> normalize(Map<Object, Set<EventBean>> submapOne, Map<Object, Set<EventBean>> submapTwo) {
+        if (submapOne.isEmpty()) {
             return normalize(submapTwo);
         }
-        if (submapTwo.size() == 0) {
+        if (submapTwo.isEmpty()) {
             return normalize(submapOne);
         }
         Set<EventBean> result = new LinkedHashSet<EventBean>();
-        for (Map.Entry<Object, Set<EventBean>> entry : submapOne.entrySet()) {
-            result.addAll(entry.getValue());
+        for (Set<EventBean> events : submapOne.values()) {
+            result.addAll(events);
         }
-        for (Map.Entry<Object, Set<EventBean>> entry : submapTwo.entrySet()) {
-            result.addAll(entry.getValue());
+        for (Set<EventBean> events : submapTwo.values()) {
+            result.addAll(events);
         }
         return result;
     }
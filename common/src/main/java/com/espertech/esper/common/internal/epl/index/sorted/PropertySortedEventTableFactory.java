@@ -11,6 +11,7 @@
 package com.espertech.esper.common.internal.epl.index.sorted;
 
 import com.espertech.esper.common.client.EventPropertyValueGetter;
+import com.espertech.esper.common.internal.collection.BTreeMapKeyCodec;
 import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
 import com.espertech.esper.common.internal.epl.index.base.EventTable;
 import com.espertech.esper.common.internal.epl.index.base.EventTableFactory;
@@ -18,7 +19,7 @@ import com.espertech.esper.common.internal.epl.index.base.EventTableOrganization
 import com.espertech.esper.common.internal.epl.index.base.EventTableOrganizationType;
 
 /**
- * Index that organizes events by the event property values into a single TreeMap sortable non-nested index
+ * Index that organizes events by the event property values into a single B+-tree sortable non-nested index
  * with Object keys that store the property values.
  */
 public class PropertySortedEventTableFactory implements EventTableFactory {
@@ -26,12 +27,14 @@ public class PropertySortedEventTableFactory implements EventTableFactory {
     protected final String propertyName;
     protected final EventPropertyValueGetter propertyGetter;
     protected final Class valueType;
+    protected final BTreeMapKeyCodec keyCodec;
 
     public PropertySortedEventTableFactory(int streamNum, String propertyName, EventPropertyValueGetter propertyGetter, Class valueType) {
         this.streamNum = streamNum;
         this.propertyName = propertyName;
         this.propertyGetter = propertyGetter;
         this.valueType = valueType;
+        this.keyCodec = BTreeMapKeyCodec.of(valueType);
     }
 
     public EventTable[] makeEventTables(AgentInstanceContext agentInstanceContext, Integer subqueryNumber) {
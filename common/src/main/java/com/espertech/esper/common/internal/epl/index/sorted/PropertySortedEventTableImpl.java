@@ -11,6 +11,7 @@
 package com.espertech.esper.common.internal.epl.index.sorted;
 
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.collection.BTreeMap;
 import com.espertech.esper.common.internal.collection.SuperIterator;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
 import com.espertech.esper.common.internal.epl.join.exec.util.RangeIndexLookupValue;
@@ -23,14 +24,14 @@ import com.espertech.esper.common.internal.util.JavaClassHelper;
 import java.util.*;
 
 /**
- * Index that organizes events by the event property values into a single TreeMap sortable non-nested index
- * with Object keys that store the property values.
+ * Index that organizes events by the event property values into a single B+-tree sortable non-nested index
+ * with Object keys that store the property values. Numeric keys are held as primitive long in the tree.
  */
 public class PropertySortedEventTableImpl extends PropertySortedEventTable {
     /**
      * Index table.
      */
-    protected final TreeMap<Object, Set<EventBean>> propertyIndex;
+    protected final BTreeMap<Set<EventBean>> propertyIndex;
 
     protected final HashSet<EventBean> nullKeyedValues;
 
@@ -45,7 +46,7 @@ public class PropertySortedEventTableImpl extends PropertySortedEventTable {
 
     public PropertySortedEventTableImpl(PropertySortedEventTableFactory factory) {
         super(factory);
-        propertyIndex = new TreeMap<Object, Set<EventBean>>();
+        propertyIndex = new BTreeMap<>(factory.keyCodec);
         nullKeyedValues = new LinkedHashSet<EventBean>();
     }
 
@@ -63,7 +64,7 @@ public class PropertySortedEventTableImpl extends PropertySortedEventTable {
         }
         keyStart = coerce(keyStart);
         keyEnd = coerce(keyEnd);
-        SortedMap<Object, Set<EventBean>> submap;
+        Map<Object, Set<EventBean>> submap;
         try {
             submap = propertyIndex.subMap(keyStart, includeStart, keyEnd, includeEnd);
         } catch (IllegalArgumentException ex) {
@@ -82,7 +83,7 @@ public class PropertySortedEventTableImpl extends PropertySortedEventTable {
         }
         keyStart = coerce(keyStart);
         keyEnd = coerce(keyEnd);
-        SortedMap<Object, Set<EventBean>> submap;
+        Map<Object, Set<EventBean>> submap;
         try {
             submap = propertyIndex.subMap(keyStart, includeStart, keyEnd, includeEnd);
         } catch (IllegalArgumentException ex) {
@@ -101,8 +102,8 @@ public class PropertySortedEventTableImpl extends PropertySortedEventTable {
         }
         keyStart = coerce(keyStart);
         keyEnd = coerce(keyEnd);
-        SortedMap<Object, Set<EventBean>> submapOne = propertyIndex.headMap(keyStart, !includeStart);
-        SortedMap<Object, Set<EventBean>> submapTwo = propertyIndex.tailMap(keyEnd, !includeEnd);
+        Map<Object, Set<EventBean>> submapOne = propertyIndex.headMap(keyStart, !includeStart);
+        Map<Object, Set<EventBean>> submapTwo = propertyIndex.tailMap(keyEnd, !includeEnd);
         return normalize(submapOne, submapTwo);
     }
 
@@ -112,8 +113,8 @@ public class PropertySortedEventTableImpl extends PropertySortedEventTable {
         }
         keyStart = coerce(keyStart);
         keyEnd = coerce(keyEnd);
-        SortedMap<Object, Set<EventBean>> submapOne = propertyIndex.headMap(keyStart, !includeStart);
-        SortedMap<Object, Set<EventBean>> submapTwo = propertyIndex.tailMap(keyEnd, !includeEnd);
+        Map<Object, Set<EventBean>> submapOne = propertyIndex.headMap(keyStart, !includeStart);
+        Map<Object, Set<EventBean>> submapTwo = propertyIndex.tailMap(keyEnd, !includeEnd);
         return normalizeCollection(submapOne, submapTwo);
     }
 
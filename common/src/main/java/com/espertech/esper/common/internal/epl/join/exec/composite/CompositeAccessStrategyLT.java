@@ -11,6 +11,7 @@
 package com.espertech.esper.common.internal.epl.join.exec.composite;
 
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.collection.BTreeMap;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
 
@@ -23,7 +24,7 @@ public class CompositeAccessStrategyLT extends CompositeAccessStrategyRelOpBase
     }
 
     public Set<EventBean> lookup(EventBean theEvent, Map parent, Set<EventBean> result, CompositeIndexQuery next, ExprEvaluatorContext context, ArrayList<Object> optionalKeyCollector, CompositeIndexQueryResultPostProcessor postProcessor) {
-        TreeMap index = (TreeMap) parent;
+        BTreeMap index = (BTreeMap) parent;
         Object comparable = super.evaluateLookup(theEvent, context);
         if (optionalKeyCollector != null) {
             optionalKeyCollector.add(comparable);
@@ -35,7 +36,7 @@ public class CompositeAccessStrategyLT extends CompositeAccessStrategyRelOpBase
     }
 
     public Collection<EventBean> lookup(EventBean[] eventsPerStream, Map parent, Collection<EventBean> result, CompositeIndexQuery next, ExprEvaluatorContext context, ArrayList<Object> optionalKeyCollector, CompositeIndexQueryResultPostProcessor postProcessor) {
-        TreeMap index = (TreeMap) parent;
+        BTreeMap index = (BTreeMap) parent;
         Object comparable = super.evaluatePerStream(eventsPerStream, context);
         if (optionalKeyCollector != null) {
             optionalKeyCollector.add(comparable);
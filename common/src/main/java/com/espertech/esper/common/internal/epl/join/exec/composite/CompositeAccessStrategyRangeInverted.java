@@ -11,6 +11,7 @@
 package com.espertech.esper.common.internal.epl.join.exec.composite;
 
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.collection.BTreeMap;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
 
@@ -38,9 +39,9 @@ public class CompositeAccessStrategyRangeInverted extends CompositeAccessStrateg
             return null;
         }
 
-        TreeMap index = (TreeMap) parent;
-        SortedMap<Object, Set<EventBean>> submapOne = index.headMap(comparableStart, !includeStart);
-        SortedMap<Object, Set<EventBean>> submapTwo = index.tailMap(comparableEnd, !includeEnd);
+        BTreeMap index = (BTreeMap) parent;
+        Map<Object, Set<EventBean>> submapOne = index.headMap(comparableStart, !includeStart);
+        Map<Object, Set<EventBean>> submapTwo = index.tailMap(comparableEnd, !includeEnd);
         return CompositeIndexQueryRange.handle(theEvent, submapOne, submapTwo, result, next, postProcessor);
     }
 
@@ -60,9 +61,9 @@ public class CompositeAccessStrategyRangeInverted extends CompositeAccessStrateg
             return null;
         }
 
-        TreeMap index = (TreeMap) parent;
-        SortedMap<Object, Set<EventBean>> submapOne = index.headMap(comparableStart, !includeStart);
-        SortedMap<Object, Set<EventBean>> submapTwo = index.tailMap(comparableEnd, !includeEnd);
+        BTreeMap index = (BTreeMap) parent;
+        Map<Object, Set<EventBean>> submapOne = index.headMap(comparableStart, !includeStart);
+        Map<Object, Set<EventBean>> submapTwo = index.tailMap(comparableEnd, !includeEnd);
         return CompositeIndexQueryRange.handle(eventPerStream, submapOne, submapTwo, result, next, postProcessor);
     }
 }
@@ -11,6 +11,7 @@
 package com.espertech.esper.common.internal.epl.join.exec.composite;
 
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.collection.BTreeMap;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluator;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
 
@@ -40,9 +41,9 @@ public class CompositeAccessStrategyRangeNormal extends CompositeAccessStrategyR
         if (comparableEnd == null) {
             return null;
         }
-        TreeMap index = (TreeMap) parent;
+        BTreeMap index = (BTreeMap) parent;
 
-        SortedMap<Object, Set<EventBean>> submap;
+        Map<Object, Set<EventBean>> submap;
         try {
             submap = index.subMap(comparableStart, includeStart, comparableEnd, includeEnd);
         } catch (IllegalArgumentException ex) {
@@ -71,9 +72,9 @@ public class CompositeAccessStrategyRangeNormal extends CompositeAccessStrategyR
         if (comparableEnd == null) {
             return null;
         }
-        TreeMap index = (TreeMap) parent;
+        BTreeMap index = (BTreeMap) parent;
 
-        SortedMap<Object, Set<EventBean>> submap;
+        Map<Object, Set<EventBean>> submap;
         try {
             submap = index.subMap(comparableStart, includeStart, comparableEnd, includeEnd);
         } catch (IllegalArgumentException ex) {
@@ -12,18 +12,21 @@ package com.espertech.esper.common.internal.epl.join.exec.composite;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.EventPropertyValueGetter;
+import com.espertech.esper.common.internal.collection.BTreeMap;
+import com.espertech.esper.common.internal.collection.BTreeMapKeyCodec;
 
 import java.util.HashSet;
 import java.util.Map;
-import java.util.TreeMap;
 
 public class CompositeIndexEnterRemoveKeyed implements CompositeIndexEnterRemove {
 
     private final EventPropertyValueGetter hashGetter;
+    private final BTreeMapKeyCodec innerKeyCodec;
     private CompositeIndexEnterRemove next;
 
-    public CompositeIndexEnterRemoveKeyed(EventPropertyValueGetter hashGetter) {
+    public CompositeIndexEnterRemoveKeyed(EventPropertyValueGetter hashGetter, BTreeMapKeyCodec innerKeyCodec) {
         this.hashGetter = hashGetter;
+        this.innerKeyCodec = innerKeyCodec;
     }
 
     public void setNext(CompositeIndexEnterRemove next) {
@@ -34,7 +37,7 @@ public class CompositeIndexEnterRemoveKeyed implements CompositeIndexEnterRemove
         Object mk = hashGetter.get(theEvent);
         Map innerIndex = (Map) parent.get(mk);
         if (innerIndex == null) {
-            innerIndex = new TreeMap<Object, Object>();
+            innerIndex = new BTreeMap<Object>(innerKeyCodec);
             parent.put(mk, innerIndex);
         }
         next.enter(theEvent, innerIndex);
@@ -12,20 +12,23 @@ package com.espertech.esper.common.internal.epl.join.exec.composite;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.EventPropertyValueGetter;
+import com.espertech.esper.common.internal.collection.BTreeMap;
+import com.espertech.esper.common.internal.collection.BTreeMapKeyCodec;
 
 import java.util.HashSet;
 import java.util.Map;
 import java.util.Set;
-import java.util.TreeMap;
 
 public class CompositeIndexEnterRemoveRange implements CompositeIndexEnterRemove {
 
     private final EventPropertyValueGetter propertyGetter;
+    private final BTreeMapKeyCodec innerKeyCodec;
     private HashSet<EventBean> nullKeys;
     private CompositeIndexEnterRemove next;
 
-    public CompositeIndexEnterRemoveRange(EventPropertyValueGetter propertyGetter) {
+    public CompositeIndexEnterRemoveRange(EventPropertyValueGetter propertyGetter, BTreeMapKeyCodec innerKeyCodec) {
         this.propertyGetter = propertyGetter;
+        this.innerKeyCodec = innerKeyCodec;
     }
 
     public void setNext(CompositeIndexEnterRemove next) {
@@ -35,13 +38,13 @@ public class CompositeIndexEnterRemoveRange implements CompositeIndexEnterRemove
     public void getAll(HashSet<EventBean> result, Map parent) {
         if (next == null) {
             Map<Object, Set<EventBean>> eventMap = parent;
-            for (Map.Entry<Object, Set<EventBean>> entry : eventMap.entrySet()) {
-                result.addAll(entry.getValue());
+            for (Set<EventBean> events : eventMap.values()) {
+                result.addAll(events);
             }
         } else {
             Map<Object, Map> eventMap = parent;
-            for (Map.Entry<Object, Map> entry : eventMap.entrySet()) {
-                next.getAll(result, entry.getValue());
+            for (Map inner : eventMap.values()) {
+                next.getAll(result, inner);
             }
         }
         if (nullKeys != null) {
@@ -73,7 +76,7 @@ public class CompositeIndexEnterRemoveRange implements CompositeIndexEnterRemove
         } else {
             Map innerIndex = (Map) parent.get(sortable);
             if (innerIndex == null) {
-                innerIndex = new TreeMap();
+                innerIndex = new BTreeMap(innerKeyCodec);
                 parent.put(sortable, innerIndex);
             }
             next.enter(theEvent, innerIndex);
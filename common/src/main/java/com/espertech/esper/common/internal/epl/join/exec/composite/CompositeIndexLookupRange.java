@@ -11,6 +11,7 @@
 package com.espertech.esper.common.internal.epl.join.exec.composite;
 
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.collection.BTreeMap;
 import com.espertech.esper.common.internal.epl.join.exec.util.RangeIndexLookupValue;
 import com.espertech.esper.common.internal.epl.join.exec.util.RangeIndexLookupValueEquals;
 import com.espertech.esper.common.internal.epl.join.exec.util.RangeIndexLookupValueRange;
@@ -20,8 +21,6 @@ import com.espertech.esper.common.internal.filterspec.Range;
 
 import java.util.Map;
 import java.util.Set;
-import java.util.SortedMap;
-import java.util.TreeMap;
 
 public class CompositeIndexLookupRange implements CompositeIndexLookup {
 
@@ -49,7 +48,7 @@ public class CompositeIndexLookupRange implements CompositeIndexLookup {
 
         RangeIndexLookupValueRange lookup = (RangeIndexLookupValueRange) lookupValue;
 
-        TreeMap treeMap = (TreeMap) parent;
+        BTreeMap treeMap = (BTreeMap) parent;
         Object rangeValue = lookup.getValue();
         if (lookup.getOperator() == QueryGraphRangeEnum.RANGE_CLOSED) {
             Range range = (Range) rangeValue;
@@ -88,13 +87,13 @@ public class CompositeIndexLookupRange implements CompositeIndexLookup {
         }
     }
 
-    public void lookupRange(Set<EventBean> result, TreeMap propertyIndex, Object keyStart, boolean includeStart, Object keyEnd, boolean includeEnd, boolean allowRangeReversal, CompositeIndexQueryResultPostProcessor postProcessor) {
+    public void lookupRange(Set<EventBean> result, BTreeMap propertyIndex, Object keyStart, boolean includeStart, Object keyEnd, boolean includeEnd, boolean allowRangeReversal, CompositeIndexQueryResultPostProcessor postProcessor) {
         if (keyStart == null || keyEnd == null) {
             return;
         }
         keyStart = coerce(keyStart);
         keyEnd = coerce(keyEnd);
-        SortedMap<Object, Object> submap;
+        Map<Object, Object> submap;
         try {
             submap = propertyIndex.subMap(keyStart, includeStart, keyEnd, includeEnd);
         } catch (IllegalArgumentException ex) {
@@ -107,18 +106,18 @@ public class CompositeIndexLookupRange implements CompositeIndexLookup {
         normalize(result, submap, postProcessor);
     }
 
-    public void lookupRangeInverted(Set<EventBean> result, TreeMap propertyIndex, Object keyStart, boolean includeStart, Object keyEnd, boolean includeEnd, CompositeIndexQueryResultPostProcessor postProcessor) {
+    public void lookupRangeInverted(Set<EventBean> result, BTreeMap propertyIndex, Object keyStart, boolean includeStart, Object keyEnd, boolean includeEnd, CompositeIndexQueryResultPostProcessor postProcessor) {
         if (keyStart == null || keyEnd == null) {
             return;
         }
         keyStart = coerce(keyStart);
         keyEnd = coerce(keyEnd);
-        SortedMap<Object, Object> submapOne = propertyIndex.headMap(keyStart, !includeStart);
-        SortedMap<Object, Object> submapTwo = propertyIndex.tailMap(keyEnd, !includeEnd);
+        Map<Object, Object> submapOne = propertyIndex.headMap(keyStart, !includeStart);
+        Map<Object, Object> submapTwo = propertyIndex.tailMap(keyEnd, !includeEnd);
         normalize(result, submapOne, submapTwo, postProcessor);
     }
 
-    public void lookupLess(Set<EventBean> result, TreeMap propertyIndex, Object keyStart, CompositeIndexQueryResultPostProcessor postProcessor) {
+    public void lookupLess(Set<EventBean> result, BTreeMap propertyIndex, Object keyStart, CompositeIndexQueryResultPostProcessor postProcessor) {
         if (keyStart == null) {
             return;
         }
@@ -126,7 +125,7 @@ public class CompositeIndexLookupRange implements CompositeIndexLookup {
         normalize(result, propertyIndex.headMap(keyStart), postProcessor);
     }
 
-    public void lookupLessEqual(Set<EventBean> result, TreeMap propertyIndex, Object keyStart, CompositeIndexQueryResultPostProcessor postProcessor) {
+    public void lookupLessEqual(Set<EventBean> result, BTreeMap propertyIndex, Object keyStart, CompositeIndexQueryResultPostProcessor postProcessor) {
         if (keyStart == null) {
             return;
         }
@@ -134,7 +133,7 @@ public class CompositeIndexLookupRange implements CompositeIndexLookup {
         normalize(result, propertyIndex.headMap(keyStart, true), postProcessor);
     }
 
-    public void lookupGreaterEqual(Set<EventBean> result, TreeMap propertyIndex, Object keyStart, CompositeIndexQueryResultPostProcessor postProcessor) {
+    public void lookupGreaterEqual(Set<EventBean> result, BTreeMap propertyIndex, Object keyStart, CompositeIndexQueryResultPostProcessor postProcessor) {
         if (keyStart == null) {
             return;
         }
@@ -142,7 +141,7 @@ public class CompositeIndexLookupRange implements CompositeIndexLookup {
         normalize(result, propertyIndex.tailMap(keyStart), postProcessor);
     }
 
-    public void lookupGreater(Set<EventBean> result, TreeMap propertyIndex, Object keyStart, CompositeIndexQueryResultPostProcessor postProcessor) {
+    public void lookupGreater(Set<EventBean> result, BTreeMap propertyIndex, Object keyStart, CompositeIndexQueryResultPostProcessor postProcessor) {
         if (keyStart == null) {
             return;
         }
@@ -155,29 +154,26 @@ public class CompositeIndexLookupRange implements CompositeIndexLookup {
     }
 
     private void normalize(Set<EventBean> result, Map<Object, Object> submap, CompositeIndexQueryResultPostProcessor postProcessor) {
-        if (submap.size() == 0) {
-            return;
-        }
         if (next == null) {
             if (postProcessor != null) {
-                for (Map.Entry<Object, Object> entry : submap.entrySet()) {
-                    postProcessor.add(entry.getValue(), result);
+                for (Object value : submap.values()) {
+                    postProcessor.add(value, result);
                 }
             } else {
-                for (Map.Entry<Object, Object> entry : submap.entrySet()) {
-                    Set<EventBean> set = (Set<EventBean>) entry.getValue();
+                for (Object value : submap.values()) {
+                    Set<EventBean> set = (Set<EventBean>) value;
                     result.addAll(set);
                 }
             }
         } else {
-            for (Map.Entry<Object, Object> entry : submap.entrySet()) {
-                TreeMap index = (TreeMap) entry.getValue();
+            for (Object value : submap.values()) {
+                BTreeMap index = (BTreeMap) value;
                 next.lookup(index, result, postProcessor);
             }
         }
     }
 
-    private void normalize(Set<EventBean> result, SortedMap<Object, Object> submapOne, SortedMap<Object, Object> submapTwo, CompositeIndexQueryResultPostProcessor postProcessor) {
+    private void normalize(Set<EventBean> result, Map<Object, Object> submapOne, Map<Object, Object> submapTwo, CompositeIndexQueryResultPostProcessor postProcessor) {
         normalize(result, submapTwo, postProcessor);
         normalize(result, submapOne, postProcessor);
     }
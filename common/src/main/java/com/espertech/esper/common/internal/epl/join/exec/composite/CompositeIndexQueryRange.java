@@ -81,7 +81,7 @@ public class CompositeIndexQueryRange implements CompositeIndexQuery {
         return strategy.lookup(eventsPerStream, parent, null, next, context, keys, postProcessor);
     }
 
-    protected static Set<EventBean> handle(EventBean theEvent, SortedMap sortedMapOne, SortedMap sortedMapTwo, Set<EventBean> result, CompositeIndexQuery next, CompositeIndexQueryResultPostProcessor postProcessor) {
+    protected static Set<EventBean> handle(EventBean theEvent, Map sortedMapOne, Map sortedMapTwo, Set<EventBean> result, CompositeIndexQuery next, CompositeIndexQueryResultPostProcessor postProcessor) {
         if (next == null) {
             if (result == null) {
                 result = new HashSet<EventBean>();
@@ -93,20 +93,20 @@ public class CompositeIndexQueryRange implements CompositeIndexQuery {
                 result = new HashSet<EventBean>();
             }
             Map<Object, Map> map = (Map<Object, Map>) sortedMapOne;
-            for (Map.Entry<Object, Map> entry : map.entrySet()) {
-                next.add(theEvent, entry.getValue(), result, postProcessor);
+            for (Map inner : map.values()) {
+                next.add(theEvent, inner, result, postProcessor);
             }
             if (sortedMapTwo != null) {
                 map = (Map<Object, Map>) sortedMapTwo;
-                for (Map.Entry<Object, Map> entry : map.entrySet()) {
-                    next.add(theEvent, entry.getValue(), result, postProcessor);
+                for (Map inner : map.values()) {
+                    next.add(theEvent, inner, result, postProcessor);
                 }
             }
             return result;
         }
     }
 
-    protected static Collection<EventBean> handle(EventBean[] eventsPerStream, SortedMap sortedMapOne, SortedMap sortedMapTwo, Collection<EventBean> result, CompositeIndexQuery next, CompositeIndexQueryResultPostProcessor postProcessor) {
+    protected static Collection<EventBean> handle(EventBean[] eventsPerStream, Map sortedMapOne, Map sortedMapTwo, Collection<EventBean> result, CompositeIndexQuery next, CompositeIndexQueryResultPostProcessor postProcessor) {
         if (next == null) {
             if (result == null) {
                 result = new HashSet<EventBean>();
@@ -118,36 +118,36 @@ public class CompositeIndexQueryRange implements CompositeIndexQuery {
                 result = new HashSet<EventBean>();
             }
             Map<Object, Map> map = (Map<Object, Map>) sortedMapOne;
-            for (Map.Entry<Object, Map> entry : map.entrySet()) {
-                next.add(eventsPerStream, entry.getValue(), result, postProcessor);
+            for (Map inner : map.values()) {
+                next.add(eventsPerStream, inner, result, postProcessor);
             }
             if (sortedMapTwo != null) {
                 map = (Map<Object, Map>) sortedMapTwo;
-                for (Map.Entry<Object, Map> entry : map.entrySet()) {
-                    next.add(eventsPerStream, entry.getValue(), result, postProcessor);
+                for (Map inner : map.values()) {
+                    next.add(eventsPerStream, inner, result, postProcessor);
                 }
             }
             return result;
         }
     }
 
-    private static void addResults(SortedMap sortedMapOne, SortedMap sortedMapTwo, Collection<EventBean> result, CompositeIndexQueryResultPostProcessor postProcessor) {
+    private static void addResults(Map sortedMapOne, Map sortedMapTwo, Collection<EventBean> result, CompositeIndexQueryResultPostProcessor postProcessor) {
         addResults(sortedMapOne, result, postProcessor);
         if (sortedMapTwo != null) {
             addResults(sortedMapTwo, result, postProcessor);
         }
     }
 
-    private static void addResults(SortedMap sortedMapOne, Collection<EventBean> result, CompositeIndexQueryResultPostProcessor postProcessor) {
+    private static void addResults(Map sortedMapOne, Collection<EventBean> result, CompositeIndexQueryResultPostProcessor postProcessor) {
         Map<Object, Set<EventBean>> map = (Map<Object, Set<EventBean>>) sortedMapOne;
 
         if (postProcessor != null) {
-            for (Map.Entry<Object, Set<EventBean>> entry : map.entrySet()) {
-                postProcessor.add(entry.getValue(), result);
+            for (Set<EventBean> events : map.values()) {
+                postProcessor.add(events, result);
             }
         } else {
-            for (Map.Entry<Object, Set<EventBean>> entry : map.entrySet()) {
-                result.addAll(entry.getValue());
+            for (Set<EventBean> events : map.values()) {
+                result.addAll(events);
             }
         }
     }
@@ -37,6 +37,13 @@ public interface NamedWindowDispatchService {
      */
     boolean dispatch();
 
+    /**
+     * Returns an indicator whether the current thread has named window results to dispatch.
+     *
+     * @return indicator
+     */
+    boolean isDispatchPending();
+
     /**
      * Destroy service.
      */
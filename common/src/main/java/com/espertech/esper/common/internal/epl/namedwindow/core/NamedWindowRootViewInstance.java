@@ -11,8 +11,12 @@
 package com.espertech.esper.common.internal.epl.namedwindow.core;
 
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EPException;
 import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.annotation.HintEnum;
+import com.espertech.esper.common.client.annotation.OffHeap;
 import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
+import com.espertech.esper.common.internal.epl.annotation.AnnotationUtil;
 import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
 import com.espertech.esper.common.internal.epl.fafquery.processor.FireAndForgetQueryExec;
 import com.espertech.esper.common.internal.epl.index.base.EventTable;
@@ -25,6 +29,8 @@ import com.espertech.esper.common.internal.epl.lookupplansubord.EventTableIndexM
 import com.espertech.esper.common.internal.epl.lookupplansubord.EventTableIndexMetadataEntry;
 import com.espertech.esper.common.internal.epl.lookupplansubord.EventTableIndexRepository;
 import com.espertech.esper.common.internal.epl.lookupplansubord.EventTableIndexRepositoryEntry;
+import com.espertech.esper.common.internal.epl.namedwindow.offheap.OffHeapEventSerde;
+import com.espertech.esper.common.internal.epl.namedwindow.offheap.OffHeapEventStore;
 import com.espertech.esper.common.internal.epl.virtualdw.VirtualDWView;
 import com.espertech.esper.common.internal.util.CollectionUtil;
 import com.espertech.esper.common.internal.view.core.ViewSupport;
@@ -45,6 +51,8 @@ public class NamedWindowRootViewInstance extends ViewSupport {
     private final AgentInstanceContext agentInstanceContext;
 
     private final EventTableIndexRepository indexRepository;
+    private final OffHeapEventStore offHeapStore;
+    private final NamedWindowSnapshotStore snapshotStore;
 
     private Iterable<EventBean> dataWindowContents;
 
@@ -59,6 +67,38 @@ public class NamedWindowRootViewInstance extends ViewSupport {
                 indexRepository.addIndex(entry.getKey(), new EventTableIndexRepositoryEntry(entry.getValue().getOptionalIndexName(), entry.getValue().getOptionalIndexModuleName(), index));
             }
         }
+
+        OffHeap offHeap = (OffHeap) AnnotationUtil.findAnnotation(agentInstanceContext.getStatementContext().getAnnotations(), OffHeap.class);
+        if (offHeap != null) {
+            try {
+                offHeapStore = new OffHeapEventStore(OffHeapEventSerde.make(rootView.getEventType()), offHeap.segmentSize());
+            } catch (ExprValidationException ex) {
+                throw new EPException(ex.getMessage(), ex);
+            }
+        } else {
+            offHeapStore = null;
+        }
+
+        boolean snapshotRead = HintEnum.ENABLE_WINDOW_SNAPSHOT_READ.getHint(agentInstanceContext.getStatementContext().getAnnotations()) != null;
+        snapshotStore = snapshotRead ? new NamedWindowSnapshotStore() : null;
+    }
+
+    /**
+     * Returns the off-heap store, or null when the named window keeps its events on the heap.
+     *
+     * @return off-heap store
+     */
+    public OffHeapEventStore getOffHeapStore() {
+        return offHeapStore;
+    }
+
+    /**
+     * Returns the store for readers that do not take the named window lock, or null when snapshot reads are not enabled.
+     *
+     * @return snapshot store
+     */
+    public NamedWindowSnapshotStore getSnapshotStore() {
+        return snapshotStore;
     }
 
     public AgentInstanceContext getAgentInstanceContext() {
@@ -91,6 +131,9 @@ public class NamedWindowRootViewInstance extends ViewSupport {
         for (EventTable table : indexRepository.getTables()) {
             table.remove(oldData, agentInstanceContext);
         }
+        if (offHeapStore != null) {
+            offHeapStore.release(oldData);
+        }
     }
 
     /**
@@ -106,6 +149,10 @@ public class NamedWindowRootViewInstance extends ViewSupport {
 
     // Called by deletion strategy and also the insert-into for new events only
     public void update(EventBean[] newData, EventBean[] oldData) {
+        if (offHeapStore != null) {
+            newData = offHeapStore.store(newData);
+        }
+
         // Update indexes for fast deletion, if there are any
         if (rootView.isChildBatching()) {
             for (EventTable table : indexRepository.getTables()) {
@@ -0,0 +1,188 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.namedwindow.core;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.util.CollectionUtil;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Multi-version copy of the contents of a named window, for readers that do not take the named window lock.
+ * <p>
+ * The writer, holding the named window lock, applies each change of the named window and publishes a new version.
+ * Events are kept in insertion order in slot arrays; a removal marks the slot with the version that removed it.
+ * A reader obtains the last published version and sees the slots below the version's slot count that were not
+ * removed at or before the version. The writer never changes a slot's event once published, and
+ * when compacting or growing allocates new arrays, so that readers of earlier versions remain consistent.
+ * </p>
+ * <p>
+ * Readers see the contents in insertion order, which may differ from the data window's iteration order
+ * for sorted or ranked data windows.
+ * </p>
+ */
+public class NamedWindowSnapshotStore implements Iterable<EventBean> {
+    private final static int INITIAL_CAPACITY = 16;
+
+    // writer state, guarded by this
+    private final IdentityHashMap<EventBean, Integer> slots = new IdentityHashMap<>();
+    private EventBean[] events;
+    private AtomicLongArray removedVersions;
+    private int count;
+    private int numRemoved;
+    private long version;
+
+    private volatile Version published;
+
+    public NamedWindowSnapshotStore() {
+        events = new EventBean[INITIAL_CAPACITY];
+        removedVersions = new AtomicLongArray(INITIAL_CAPACITY);
+        published = new Version(events, removedVersions, 0, 0);
+    }
+
+    /**
+     * Applies a change of the named window contents and publishes it as a new version.
+     *
+     * @param newData events added to the named window, or null
+     * @param oldData events removed from the named window, or null, which may include events of the new data
+     */
+    public synchronized void apply(EventBean[] newData, EventBean[] oldData) {
+        version++;
+        if (newData != null) {
+            for (EventBean event : newData) {
+                if (slots.containsKey(event)) {
+                    continue;
+                }
+                if (count == events.length) {
+                    reallocate(Math.max(INITIAL_CAPACITY, (count - numRemoved + 1) * 2));
+                }
+                events[count] = event;
+                slots.put(event, count);
+                count++;
+            }
+        }
+        // removals after additions, as a data window may add and push out the same event in one update
+        if (oldData != null) {
+            for (EventBean event : oldData) {
+                Integer slot = slots.remove(event);
+                if (slot != null) {
+                    removedVersions.set(slot, version);
+                    numRemoved++;
+                }
+            }
+        }
+        if (numRemoved > INITIAL_CAPACITY && numRemoved > count / 2) {
+            reallocate(Math.max(INITIAL_CAPACITY, (count - numRemoved) * 2));
+        }
+        published = new Version(events, removedVersions, count, version);
+    }
+
+    /**
+     * Returns the events of the last published version.
+     *
+     * @return events
+     */
+    public Collection<EventBean> snapshot() {
+        Version current = published;
+        if (current.count == 0) {
+            return Collections.emptyList();
+        }
+        ArrayDeque<EventBean> result = new ArrayDeque<>(current.count);
+        for (int i = 0; i < current.count; i++) {
+            if (current.isVisible(i)) {
+                result.add(current.events[i]);
+            }
+        }
+        return result;
+    }
+
+    public Iterator<EventBean> iterator() {
+        Version current = published;
+        if (current.count == 0) {
+            return CollectionUtil.NULL_EVENT_ITERATOR;
+        }
+        return new VersionIterator(current);
+    }
+
+    /**
+     * Copies the events not removed into new arrays, leaving the arrays of published versions unchanged.
+     */
+    private void reallocate(int capacity) {
+        EventBean[] newEvents = new EventBean[capacity];
+        AtomicLongArray newRemovedVersions = new AtomicLongArray(capacity);
+        int newCount = 0;
+        for (int i = 0; i < count; i++) {
+            if (removedVersions.get(i) == 0) {
+                newEvents[newCount] = events[i];
+                slots.put(events[i], newCount);
+                newCount++;
+            }
+        }
+        events = newEvents;
+        removedVersions = newRemovedVersions;
+        count = newCount;
+        numRemoved = 0;
+    }
+
+    private static class Version {
+        private final EventBean[] events;
+        private final AtomicLongArray removedVersions;
+        private final int count;
+        private final long version;
+
+        Version(EventBean[] events, AtomicLongArray removedVersions, int count, long version) {
+            this.events = events;
+            this.removedVersions = removedVersions;
+            this.count = count;
+            this.version = version;
+        }
+
+        boolean isVisible(int slot) {
+            long removed = removedVersions.get(slot);
+            return removed == 0 || removed > version;
+        }
+    }
+
+    private static class VersionIterator implements Iterator<EventBean> {
+        private final Version version;
+        private int next;
+
+        VersionIterator(Version version) {
+            this.version = version;
+            advance(0);
+        }
+
+        public boolean hasNext() {
+            return next < version.count;
+        }
+
+        public EventBean next() {
+            if (next >= version.count) {
+                throw new NoSuchElementException();
+            }
+            EventBean event = version.events[next];
+            advance(next + 1);
+            return event;
+        }
+
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+
+        private void advance(int from) {
+            next = from;
+            while (next < version.count && !version.isVisible(next)) {
+                next++;
+            }
+        }
+    }
+}
@@ -42,6 +42,7 @@ public class NamedWindowTailViewInstance extends ViewSupport implements Iterable
     private final NamedWindow namedWindow;
     private final AgentInstanceContext agentInstanceContext;
     private final NamedWindowConsumerLatchFactory latchFactory;
+    private final CopyOnWriteArrayList<NamedWindowTailViewUpdateListener> updateListeners = new CopyOnWriteArrayList<>();
 
     private volatile Map<EPStatementAgentInstanceHandle, List<NamedWindowConsumerView>> consumersInContext;  // handles as copy-on-write
     private volatile long numberOfEvents;
@@ -70,6 +71,17 @@ public class NamedWindowTailViewInstance extends ViewSupport implements Iterable
             numberOfEvents += newData.length;
         }
 
+        NamedWindowSnapshotStore snapshotStore = rootViewInstance.getSnapshotStore();
+        if (snapshotStore != null) {
+            snapshotStore.apply(newData, oldData);
+        }
+
+        if (!updateListeners.isEmpty()) {
+            for (NamedWindowTailViewUpdateListener listener : updateListeners) {
+                listener.update(this, newData, oldData);
+            }
+        }
+
         // Post to child views, only if there are listeners or subscribers
         if (tailView.getStatementResultService().isMakeNatural() || tailView.getStatementResultService().isMakeSynthetic()) {
             child.update(newData, oldData);
@@ -171,7 +183,19 @@ public class NamedWindowTailViewInstance extends ViewSupport implements Iterable
         return tailView.getEventType();
     }
 
+    public void addUpdateListener(NamedWindowTailViewUpdateListener listener) {
+        updateListeners.add(listener);
+    }
+
+    public void removeUpdateListener(NamedWindowTailViewUpdateListener listener) {
+        updateListeners.remove(listener);
+    }
+
     public Iterator<EventBean> iterator() {
+        NamedWindowSnapshotStore snapshotStore = rootViewInstance.getSnapshotStore();
+        if (snapshotStore != null) {
+            return snapshotStore.iterator();
+        }
         agentInstanceContext.getEpStatementAgentInstanceHandle().getStatementAgentInstanceLock().acquireReadLock();
         try {
             Iterator<EventBean> it = parent.iterator();
@@ -189,6 +213,11 @@ public class NamedWindowTailViewInstance extends ViewSupport implements Iterable
     }
 
     public Collection<EventBean> snapshot(QueryGraph queryGraph, Annotation[] annotations) {
+        // readers of the snapshot store neither wait for nor delay writers, and do not use indexes
+        NamedWindowSnapshotStore snapshotStore = rootViewInstance.getSnapshotStore();
+        if (snapshotStore != null) {
+            return snapshotStore.snapshot();
+        }
         agentInstanceContext.getEpStatementAgentInstanceHandle().getStatementAgentInstanceLock().acquireReadLock();
         try {
             return snapshotNoLock(queryGraph, annotations);
@@ -0,0 +1,28 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.namedwindow.core;
+
+import com.espertech.esper.common.client.EventBean;
+
+/**
+ * Receives the insert and remove stream of a named window as the named window changes, while the writer
+ * holds the named window lock.
+ */
+public interface NamedWindowTailViewUpdateListener {
+    /**
+     * Indicates a change of the named window contents.
+     *
+     * @param tailView the named window tail view
+     * @param newData  events added to the named window, or null
+     * @param oldData  events removed from the named window, or null
+     */
+    void update(NamedWindowTailViewInstance tailView, EventBean[] newData, EventBean[] oldData);
+}
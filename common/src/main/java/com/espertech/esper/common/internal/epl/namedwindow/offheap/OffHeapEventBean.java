@@ -0,0 +1,151 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.namedwindow.offheap;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventPropertyGetter;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.PropertyAccessException;
+
+/**
+ * Event of a named window kept off-heap, that materializes its underlying from the segment upon each access.
+ * <p>
+ * When the event leaves the named window the store detaches it: the event then keeps its underlying on the heap
+ * and no longer refers to the segment, so that consumers holding on to the event remain unaffected by segment reuse.
+ * </p>
+ * <p>
+ * The store may move the record to another segment when compacting. Readers check the move count after reading
+ * and read again when the record moved meanwhile.
+ * </p>
+ */
+public abstract class OffHeapEventBean implements EventBean {
+    private final OffHeapEventStore store;
+    private final int length;
+    private volatile OffHeapSegment segment;
+    private volatile int offset;
+    private volatile int moves;
+    private volatile Object detached;
+    private int slot;
+
+    protected OffHeapEventBean(OffHeapEventStore store, OffHeapSegment segment, int offset, int length) {
+        this.store = store;
+        this.segment = segment;
+        this.offset = offset;
+        this.length = length;
+    }
+
+    public EventType getEventType() {
+        return store.getEventType();
+    }
+
+    public Object getUnderlying() {
+        return read(-1);
+    }
+
+    public Object get(String property) throws PropertyAccessException {
+        // a property of the event type is read by itself rather than materializing the underlying
+        int index = store.getSerde().getPropertyIndex(property);
+        if (index != -1) {
+            return read(index);
+        }
+        EventPropertyGetter getter = getEventType().getGetter(property);
+        if (getter == null) {
+            throw new PropertyAccessException("Property named '" + property + "' is not a valid property name for this type");
+        }
+        return getter.get(this);
+    }
+
+    public Object getFragment(String propertyExpression) throws PropertyAccessException {
+        EventPropertyGetter getter = getEventType().getGetter(propertyExpression);
+        if (getter == null) {
+            throw PropertyAccessException.notAValidProperty(propertyExpression);
+        }
+        return getter.getFragment(this);
+    }
+
+    OffHeapEventStore getStore() {
+        return store;
+    }
+
+    OffHeapSegment getSegment() {
+        return segment;
+    }
+
+    int getOffset() {
+        return offset;
+    }
+
+    int getLength() {
+        return length;
+    }
+
+    int getSlot() {
+        return slot;
+    }
+
+    void setSlot(int slot) {
+        this.slot = slot;
+    }
+
+    boolean isDetached() {
+        return segment == null;
+    }
+
+    /**
+     * Materialize the underlying onto the heap and drop the reference to the segment, must be called before the segment space is released.
+     */
+    void detach() {
+        detached = store.read(segment, offset, length);
+        segment = null;
+    }
+
+    /**
+     * Point the event to the record copied to another segment, must be called before the segment space is released.
+     *
+     * @param segment segment
+     * @param offset  record offset
+     * @param slot    record slot
+     */
+    void move(OffHeapSegment segment, int offset, int slot) {
+        moves++;
+        this.segment = segment;
+        this.offset = offset;
+        this.slot = slot;
+        moves++;
+    }
+
+    private Object read(int propertyIndex) {
+        while (true) {
+            Object value = detached;
+            if (value != null) {
+                return propertyIndex == -1 ? value : store.getSerde().getValue(value, propertyIndex);
+            }
+            int movesBefore = moves;
+            OffHeapSegment current = segment;
+            int currentOffset = offset;
+            if (current == null) {
+                continue;
+            }
+            try {
+                value = propertyIndex == -1 ? store.read(current, currentOffset, length) : store.readProperty(current, currentOffset, length, propertyIndex);
+            } catch (RuntimeException ex) {
+                // the event may have been detached or moved and its segment space reused while reading
+                if (detached != null || moves != movesBefore) {
+                    continue;
+                }
+                throw ex;
+            }
+            if (detached == null && (movesBefore & 1) == 0 && moves == movesBefore) {
+                return value;
+            }
+        }
+    }
+}
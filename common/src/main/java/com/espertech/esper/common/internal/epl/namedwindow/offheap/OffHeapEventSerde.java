@@ -0,0 +1,227 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.namedwindow.offheap;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.FragmentEventType;
+import com.espertech.esper.common.client.serde.DataInputOutputSerde;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
+import com.espertech.esper.common.internal.event.map.MapEventType;
+import com.espertech.esper.common.internal.serde.compiletime.resolve.VMBasicBuiltinSerdeFactory;
+import com.espertech.esper.common.internal.serde.compiletime.resolve.VMExtendedBuiltinSerdeFactory;
+import com.espertech.esper.common.internal.serde.serdeset.builtin.DIOSerializableObjectSerde;
+import com.espertech.esper.common.internal.util.JavaClassHelper;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Serializes the events of a named window kept off-heap, one serde per property of the event type.
+ * <p>
+ * A record holds the property values in the order of the event type followed by any type-specific data, and ends with
+ * the offset of each property value and the offset of the end of the values so that a single property can be read
+ * without reading the whole record.
+ * </p>
+ */
+public abstract class OffHeapEventSerde {
+    protected final EventType eventType;
+    protected final String[] propertyNames;
+    protected final DataInputOutputSerde[] serdes;
+    private final Map<String, Integer> propertyIndexes;
+
+    protected OffHeapEventSerde(EventType eventType, String[] propertyNames, DataInputOutputSerde[] serdes) {
+        this.eventType = eventType;
+        this.propertyNames = propertyNames;
+        this.serdes = serdes;
+        this.propertyIndexes = new HashMap<>();
+        for (int i = 0; i < propertyNames.length; i++) {
+            propertyIndexes.put(propertyNames[i], i);
+        }
+    }
+
+    /**
+     * Returns the value of a property of an underlying of the event type.
+     *
+     * @param underlying underlying
+     * @param index      property index
+     * @return value
+     */
+    public abstract Object getValue(Object underlying, int index);
+
+    /**
+     * Read the underlying of an event.
+     *
+     * @param input input
+     * @return underlying
+     * @throws IOException when the read failed
+     */
+    public abstract Object read(DataInput input) throws IOException;
+
+    /**
+     * Returns an event that materializes from the segment when accessed.
+     *
+     * @param store   store
+     * @param segment segment
+     * @param offset  record offset
+     * @param length  record length
+     * @return event
+     */
+    public abstract OffHeapEventBean makeEvent(OffHeapEventStore store, OffHeapSegment segment, int offset, int length);
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    /**
+     * Write the event.
+     *
+     * @param theEvent event of the event type
+     * @param output   output
+     * @throws IOException when the write failed
+     */
+    public void write(EventBean theEvent, DataOutputStream output) throws IOException {
+        Object underlying = theEvent.getUnderlying();
+        int start = output.size();
+        int[] offsets = new int[serdes.length + 1];
+        for (int i = 0; i < serdes.length; i++) {
+            offsets[i] = output.size() - start;
+            writeValue(i, getValue(underlying, i), output);
+        }
+        offsets[serdes.length] = output.size() - start;
+        writeAdditional(underlying, output);
+        for (int offset : offsets) {
+            output.writeInt(offset);
+        }
+    }
+
+    /**
+     * Returns the index of a property that can be read by itself, or -1 if there is no such property.
+     *
+     * @param propertyName property name
+     * @return index or -1
+     */
+    public int getPropertyIndex(String propertyName) {
+        Integer index = propertyIndexes.get(propertyName);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the number of bytes at the end of a record that hold the offsets of the property values.
+     *
+     * @return number of bytes
+     */
+    public int getNumOffsetBytes() {
+        return (serdes.length + 1) * 4;
+    }
+
+    /**
+     * Read the value of a single property.
+     *
+     * @param index property index
+     * @param input input positioned at the value
+     * @return value
+     * @throws IOException when the read failed
+     */
+    public Object readProperty(int index, DataInput input) throws IOException {
+        return readValue(index, input);
+    }
+
+    /**
+     * Returns the serde for an event type.
+     *
+     * @param eventType named window event type
+     * @return serde
+     * @throws ExprValidationException when the event type or any of its properties cannot be kept off-heap
+     */
+    public static OffHeapEventSerde make(EventType eventType) throws ExprValidationException {
+        if (eventType instanceof ObjectArrayEventType) {
+            Map<String, Integer> indexes = ((ObjectArrayEventType) eventType).getPropertiesIndexes();
+            String[] names = new String[indexes.size()];
+            for (Map.Entry<String, Integer> entry : indexes.entrySet()) {
+                names[entry.getValue()] = entry.getKey();
+            }
+            return new OffHeapEventSerdeObjectArray(eventType, names, resolveSerdes(eventType, names));
+        }
+        if (eventType instanceof MapEventType) {
+            String[] names = eventType.getPropertyNames();
+            return new OffHeapEventSerdeMap(eventType, names, resolveSerdes(eventType, names));
+        }
+        throw new ExprValidationException("Off-heap storage requires a map or object-array event type but event type '" + eventType.getName() + "' is not");
+    }
+
+    /**
+     * Write data that follows the property values, if any.
+     *
+     * @param underlying underlying
+     * @param output     output
+     * @throws IOException when the write failed
+     */
+    protected void writeAdditional(Object underlying, DataOutput output) throws IOException {
+    }
+
+    protected void writeValue(int index, Object value, DataOutput output) throws IOException {
+        if (value == null) {
+            output.writeBoolean(false);
+            return;
+        }
+        output.writeBoolean(true);
+        serdes[index].write(value, output, null, null);
+    }
+
+    protected Object readValue(int index, DataInput input) throws IOException {
+        if (!input.readBoolean()) {
+            return null;
+        }
+        return serdes[index].read(input, null);
+    }
+
+    private static DataInputOutputSerde[] resolveSerdes(EventType eventType, String[] names) throws ExprValidationException {
+        DataInputOutputSerde[] serdes = new DataInputOutputSerde[names.length];
+        for (int i = 0; i < names.length; i++) {
+            FragmentEventType fragmentType = eventType.getFragmentType(names[i]);
+            if (fragmentType != null && !fragmentType.isNative()) {
+                throw new ExprValidationException("Off-heap storage does not support property '" + names[i] + "' as its values are events");
+            }
+            Class type = eventType.getPropertyType(names[i]);
+            serdes[i] = resolveSerde(type);
+            if (serdes[i] == null) {
+                throw new ExprValidationException("Off-heap storage does not support property '" + names[i] + "' of type '" + JavaClassHelper.getClassNameFullyQualPretty(type) + "' as the type is neither built-in nor serializable");
+            }
+        }
+        return serdes;
+    }
+
+    private static DataInputOutputSerde resolveSerde(Class type) {
+        if (type == null) {
+            return DIOSerializableObjectSerde.INSTANCE;
+        }
+        // null values are marked separately, therefore boxed types use the serde of the primitive type
+        DataInputOutputSerde serde = VMBasicBuiltinSerdeFactory.getSerde(JavaClassHelper.getPrimitiveType(type));
+        if (serde != null) {
+            return serde;
+        }
+        serde = VMExtendedBuiltinSerdeFactory.getSerde(type);
+        if (serde != null) {
+            return serde;
+        }
+        if (Serializable.class.isAssignableFrom(type) || type.isInterface() || type == Object.class) {
+            return DIOSerializableObjectSerde.INSTANCE;
+        }
+        return null;
+    }
+}
@@ -0,0 +1,82 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.namedwindow.offheap;
+
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.serde.DataInputOutputSerde;
+import com.espertech.esper.common.internal.serde.serdeset.builtin.DIOSerializableObjectSerde;
+import com.espertech.esper.common.internal.util.CollectionUtil;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
+
+public class OffHeapEventSerdeMap extends OffHeapEventSerde {
+
+    public OffHeapEventSerdeMap(EventType eventType, String[] propertyNames, DataInputOutputSerde[] serdes) {
+        super(eventType, propertyNames, serdes);
+    }
+
+    public Object getValue(Object underlying, int index) {
+        return ((Map<String, Object>) underlying).get(propertyNames[index]);
+    }
+
+    protected void writeAdditional(Object underlying, DataOutput output) throws IOException {
+        Map<String, Object> properties = (Map<String, Object>) underlying;
+        int numDeclared = 0;
+        for (String propertyName : propertyNames) {
+            if (properties.containsKey(propertyName)) {
+                numDeclared++;
+            }
+        }
+
+        // keep any keys that the event type does not declare, for use by dynamic properties
+        int numUndeclared = properties.size() - numDeclared;
+        output.writeInt(numUndeclared);
+        if (numUndeclared > 0) {
+            for (Map.Entry<String, Object> entry : properties.entrySet()) {
+                if (isDeclared(entry.getKey())) {
+                    continue;
+                }
+                output.writeUTF(entry.getKey());
+                DIOSerializableObjectSerde.INSTANCE.write(entry.getValue(), output, null, null);
+            }
+        }
+    }
+
+    public Object read(DataInput input) throws IOException {
+        Map<String, Object> properties = new HashMap<>(CollectionUtil.capacityHashMap(serdes.length));
+        for (int i = 0; i < serdes.length; i++) {
+            properties.put(propertyNames[i], readValue(i, input));
+        }
+        int numUndeclared = input.readInt();
+        for (int i = 0; i < numUndeclared; i++) {
+            String key = input.readUTF();
+            properties.put(key, DIOSerializableObjectSerde.INSTANCE.read(input, null));
+        }
+        return properties;
+    }
+
+    public OffHeapEventBean makeEvent(OffHeapEventStore store, OffHeapSegment segment, int offset, int length) {
+        return new OffHeapMapEventBean(store, segment, offset, length);
+    }
+
+    private boolean isDeclared(String key) {
+        for (String name : propertyNames) {
+            if (name.equals(key)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
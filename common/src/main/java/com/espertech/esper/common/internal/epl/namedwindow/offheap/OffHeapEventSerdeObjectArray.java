@@ -0,0 +1,41 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.namedwindow.offheap;
+
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.serde.DataInputOutputSerde;
+
+import java.io.DataInput;
+import java.io.IOException;
+
+public class OffHeapEventSerdeObjectArray extends OffHeapEventSerde {
+
+    public OffHeapEventSerdeObjectArray(EventType eventType, String[] propertyNames, DataInputOutputSerde[] serdes) {
+        super(eventType, propertyNames, serdes);
+    }
+
+    public Object getValue(Object underlying, int index) {
+        Object[] properties = (Object[]) underlying;
+        return index < properties.length ? properties[index] : null;
+    }
+
+    public Object read(DataInput input) throws IOException {
+        Object[] properties = new Object[serdes.length];
+        for (int i = 0; i < serdes.length; i++) {
+            properties[i] = readValue(i, input);
+        }
+        return properties;
+    }
+
+    public OffHeapEventBean makeEvent(OffHeapEventStore store, OffHeapSegment segment, int offset, int length) {
+        return new OffHeapObjectArrayEventBean(store, segment, offset, length);
+    }
+}
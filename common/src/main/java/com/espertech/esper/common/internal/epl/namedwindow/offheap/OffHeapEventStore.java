@@ -0,0 +1,242 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.namedwindow.offheap;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.serde.serdeset.builtin.FastByteArrayInputStream;
+import com.espertech.esper.common.internal.serde.serdeset.builtin.FastByteArrayOutputStream;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Keeps the events of a named window instance serialized in off-heap memory segments.
+ * <p>
+ * Records are appended to the current segment. A segment whose records are all released becomes free for reuse,
+ * a small number of free segments are retained and others are left to be reclaimed with the last event referring to them.
+ * A segment that becomes sparse is remembered. When a new segment must be allocated, the live records of sparse segments
+ * are moved to the new segment so that the sparse segments become free for reuse, rather than being held by a few long-lived events.
+ * </p>
+ * <p>
+ * Storing and releasing happens under the named window instance lock, reading may happen from any thread.
+ * </p>
+ */
+public class OffHeapEventStore {
+    private final static int MAX_FREE_SEGMENTS = 2;
+    private final static int COMPACT_LIVE_BYTES_DIVISOR = 4;
+
+    private final OffHeapEventSerde serde;
+    private final int segmentSize;
+    private final ArrayDeque<OffHeapSegment> freeSegments = new ArrayDeque<>(MAX_FREE_SEGMENTS);
+    private final Set<OffHeapSegment> sparseSegments = new LinkedHashSet<>();
+    private final FastByteArrayOutputStream buffer = new FastByteArrayOutputStream();
+    private final DataOutputStream output = new DataOutputStream(buffer);
+    private OffHeapSegment current;
+    private long numEvents;
+    private long numSegmentsAllocated;
+    private long numSegmentsCompacted;
+
+    public OffHeapEventStore(OffHeapEventSerde serde, int segmentSize) {
+        this.serde = serde;
+        this.segmentSize = Math.max(segmentSize, 1024);
+    }
+
+    public EventType getEventType() {
+        return serde.getEventType();
+    }
+
+    /**
+     * Store events, returning the off-heap events to be held by the named window in their place.
+     *
+     * @param events events to store
+     * @return off-heap events
+     */
+    public EventBean[] store(EventBean[] events) {
+        if (events == null) {
+            return null;
+        }
+        EventBean[] stored = new EventBean[events.length];
+        for (int i = 0; i < events.length; i++) {
+            stored[i] = store(events[i]);
+        }
+        return stored;
+    }
+
+    /**
+     * Release events that left the named window, detaching each from its segment.
+     *
+     * @param events events
+     */
+    public void release(EventBean[] events) {
+        if (events == null) {
+            return;
+        }
+        for (EventBean event : events) {
+            if (!(event instanceof OffHeapEventBean)) {
+                continue;
+            }
+            OffHeapEventBean offHeapEvent = (OffHeapEventBean) event;
+            if (offHeapEvent.getStore() != this || offHeapEvent.isDetached()) {
+                continue;
+            }
+            OffHeapSegment segment = offHeapEvent.getSegment();
+            int slot = offHeapEvent.getSlot();
+            offHeapEvent.detach();
+            numEvents--;
+            boolean empty = segment.release(slot, offHeapEvent.getLength());
+            if (segment == current) {
+                continue;
+            }
+            if (empty) {
+                sparseSegments.remove(segment);
+                recycle(segment);
+            } else if (isSparse(segment)) {
+                sparseSegments.add(segment);
+            }
+        }
+    }
+
+    public long getNumEvents() {
+        return numEvents;
+    }
+
+    public long getNumSegmentsAllocated() {
+        return numSegmentsAllocated;
+    }
+
+    public int getNumSegmentsFree() {
+        return freeSegments.size();
+    }
+
+    public long getNumSegmentsCompacted() {
+        return numSegmentsCompacted;
+    }
+
+    OffHeapEventSerde getSerde() {
+        return serde;
+    }
+
+    Object read(OffHeapSegment segment, int offset, int length) {
+        byte[] bytes = segment.read(offset, length);
+        try {
+            return serde.read(new DataInputStream(new FastByteArrayInputStream(bytes)));
+        } catch (IOException ex) {
+            throw new EPException("Failed to read off-heap event: " + ex.getMessage(), ex);
+        }
+    }
+
+    Object readProperty(OffHeapSegment segment, int offset, int length, int index) {
+        int offsetsStart = offset + length - serde.getNumOffsetBytes() + index * 4;
+        int valueStart = segment.readInt(offsetsStart);
+        int valueEnd = segment.readInt(offsetsStart + 4);
+        byte[] bytes = segment.read(offset + valueStart, valueEnd - valueStart);
+        try {
+            return serde.readProperty(index, new DataInputStream(new FastByteArrayInputStream(bytes)));
+        } catch (IOException ex) {
+            throw new EPException("Failed to read off-heap event: " + ex.getMessage(), ex);
+        }
+    }
+
+    private EventBean store(EventBean event) {
+        if (event instanceof OffHeapEventBean && ((OffHeapEventBean) event).getStore() == this && !((OffHeapEventBean) event).isDetached()) {
+            return event;
+        }
+
+        buffer.reset();
+        try {
+            serde.write(event, output);
+            output.flush();
+        } catch (IOException ex) {
+            throw new EPException("Failed to write off-heap event: " + ex.getMessage(), ex);
+        }
+        int length = buffer.size();
+
+        OffHeapSegment segment = allocate(length);
+        int offset = segment.append(buffer.getBufferBytes(), length);
+        OffHeapEventBean stored = serde.makeEvent(this, segment, offset, length);
+        stored.setSlot(segment.add(stored, length));
+        numEvents++;
+        return stored;
+    }
+
+    private boolean isSparse(OffHeapSegment segment) {
+        return segment.getCapacity() == segmentSize && segment.getLiveBytes() < segmentSize / COMPACT_LIVE_BYTES_DIVISOR;
+    }
+
+    private void compact(OffHeapSegment segment, OffHeapSegment target) {
+        for (OffHeapEventBean event : segment.getRecords()) {
+            if (event == null) {
+                continue;
+            }
+            int length = event.getLength();
+            byte[] bytes = segment.read(event.getOffset(), length);
+            int offset = target.append(bytes, length);
+            event.move(target, offset, target.add(event, length));
+        }
+        numSegmentsCompacted++;
+        // retained regardless of the number of free segments as it takes the place of a new segment,
+        // readers that were reading from the segment find that the event moved and read again
+        segment.reset();
+        freeSegments.add(segment);
+    }
+
+    private OffHeapSegment allocate(int length) {
+        if (current != null && current.getRemaining() >= length) {
+            return current;
+        }
+        if (length > segmentSize) {
+            // dedicated segment for an oversized record, not retained for reuse
+            numSegmentsAllocated++;
+            return new OffHeapSegment(length);
+        }
+        if (current != null && current.getNumLive() == 0) {
+            current.reset();
+            return current;
+        }
+        if (current != null && isSparse(current)) {
+            sparseSegments.add(current);
+        }
+        OffHeapSegment segment = freeSegments.poll();
+        if (segment == null) {
+            segment = new OffHeapSegment(segmentSize);
+            numSegmentsAllocated++;
+            // move the live records of sparse segments to the new segment, the sparse segments become free for reuse
+            Iterator<OffHeapSegment> it = sparseSegments.iterator();
+            while (it.hasNext()) {
+                OffHeapSegment sparse = it.next();
+                if (sparse.getLiveBytes() > segment.getRemaining()) {
+                    break;
+                }
+                it.remove();
+                compact(sparse, segment);
+            }
+            if (segment.getRemaining() < length) {
+                segment = freeSegments.poll();
+            }
+        }
+        current = segment;
+        return segment;
+    }
+
+    private void recycle(OffHeapSegment segment) {
+        if (segment.getCapacity() == segmentSize && freeSegments.size() < MAX_FREE_SEGMENTS) {
+            segment.reset();
+            freeSegments.add(segment);
+        }
+    }
+}
@@ -0,0 +1,26 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.namedwindow.offheap;
+
+import com.espertech.esper.common.internal.event.core.MappedEventBean;
+
+import java.util.Map;
+
+public class OffHeapMapEventBean extends OffHeapEventBean implements MappedEventBean {
+
+    public OffHeapMapEventBean(OffHeapEventStore store, OffHeapSegment segment, int offset, int length) {
+        super(store, segment, offset, length);
+    }
+
+    public Map<String, Object> getProperties() {
+        return (Map<String, Object>) getUnderlying();
+    }
+}
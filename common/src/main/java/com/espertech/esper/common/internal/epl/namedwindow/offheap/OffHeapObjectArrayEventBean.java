@@ -0,0 +1,28 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.namedwindow.offheap;
+
+import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
+
+public class OffHeapObjectArrayEventBean extends OffHeapEventBean implements ObjectArrayBackedEventBean {
+
+    public OffHeapObjectArrayEventBean(OffHeapEventStore store, OffHeapSegment segment, int offset, int length) {
+        super(store, segment, offset, length);
+    }
+
+    public Object[] getProperties() {
+        return (Object[]) getUnderlying();
+    }
+
+    public void setPropertyValues(Object[] objects) {
+        throw new UnsupportedOperationException("Events of named windows kept off-heap are read-only");
+    }
+}
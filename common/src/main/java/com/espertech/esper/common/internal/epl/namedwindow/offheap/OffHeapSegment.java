@@ -0,0 +1,135 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.namedwindow.offheap;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Off-heap memory segment holding serialized events one after the other.
+ * <p>
+ * The segment keeps its live records and the number of bytes they occupy, it is reusable once all of its records are released
+ * or moved elsewhere.
+ * </p>
+ */
+public class OffHeapSegment {
+    private final ByteBuffer buffer;
+    private final List<OffHeapEventBean> records = new ArrayList<>();
+    private int position;
+    private int numLive;
+    private int liveBytes;
+
+    public OffHeapSegment(int capacity) {
+        this.buffer = ByteBuffer.allocateDirect(capacity);
+    }
+
+    public int getCapacity() {
+        return buffer.capacity();
+    }
+
+    public int getRemaining() {
+        return buffer.capacity() - position;
+    }
+
+    public int getNumLive() {
+        return numLive;
+    }
+
+    public int getLiveBytes() {
+        return liveBytes;
+    }
+
+    /**
+     * Appends the bytes of a record, the record must then be added.
+     *
+     * @param bytes  record bytes
+     * @param length record length
+     * @return offset of the record
+     */
+    public int append(byte[] bytes, int length) {
+        int offset = position;
+        ByteBuffer target = buffer.duplicate();
+        target.position(offset);
+        target.put(bytes, 0, length);
+        position += length;
+        return offset;
+    }
+
+    /**
+     * Adds the event of a record that was appended.
+     *
+     * @param event  event
+     * @param length record length
+     * @return slot of the record
+     */
+    public int add(OffHeapEventBean event, int length) {
+        records.add(event);
+        numLive++;
+        liveBytes += length;
+        return records.size() - 1;
+    }
+
+    /**
+     * Copies a record to the heap.
+     *
+     * @param offset offset of the record
+     * @param length length of the record
+     * @return record bytes
+     */
+    public byte[] read(int offset, int length) {
+        byte[] bytes = new byte[length];
+        ByteBuffer source = buffer.duplicate();
+        source.position(offset);
+        source.get(bytes, 0, length);
+        return bytes;
+    }
+
+    /**
+     * Reads an int at the given position.
+     *
+     * @param position position
+     * @return value
+     */
+    public int readInt(int position) {
+        return buffer.getInt(position);
+    }
+
+    /**
+     * Releases a record.
+     *
+     * @param slot   slot of the record
+     * @param length length of the record
+     * @return true when the segment has no more live records
+     */
+    public boolean release(int slot, int length) {
+        records.set(slot, null);
+        numLive--;
+        liveBytes -= length;
+        return numLive == 0;
+    }
+
+    /**
+     * Returns the events of the records by slot, with null for released records.
+     *
+     * @return events
+     */
+    public List<OffHeapEventBean> getRecords() {
+        return records;
+    }
+
+    public void reset() {
+        position = 0;
+        numLive = 0;
+        liveBytes = 0;
+        records.clear();
+    }
+}
@@ -14,6 +14,7 @@ import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
 import com.espertech.esper.common.internal.context.util.AgentInstanceMgmtCallback;
 import com.espertech.esper.common.internal.context.util.AgentInstanceStopServices;
+import com.espertech.esper.common.internal.context.util.StatementAgentInstanceLockNoLockImpl;
 import com.espertech.esper.common.internal.epl.agg.core.AggregationService;
 import com.espertech.esper.common.internal.epl.agg.core.AggregationServiceFactory;
 import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluator;
@@ -22,6 +23,7 @@ import com.espertech.esper.common.internal.epl.lookup.*;
 import com.espertech.esper.common.internal.epl.lookupplansubord.SubordinateQueryPlanDesc;
 import com.espertech.esper.common.internal.epl.namedwindow.core.NamedWindow;
 import com.espertech.esper.common.internal.epl.namedwindow.core.NamedWindowInstance;
+import com.espertech.esper.common.internal.epl.namedwindow.core.NamedWindowSnapshotStore;
 import com.espertech.esper.common.internal.epl.table.core.Table;
 import com.espertech.esper.common.internal.epl.table.core.TableInstance;
 import com.espertech.esper.common.internal.view.core.Viewable;
@@ -98,7 +100,10 @@ public class SubSelectStrategyFactoryIndexShare implements SubSelectStrategyFact
         SubordTableLookupStrategy subqueryLookup;
         if (namedWindow != null) {
             NamedWindowInstance instance = namedWindow.getNamedWindowInstance(agentInstanceContext);
-            if (queryPlan == null) {
+            NamedWindowSnapshotStore snapshotStore = instance.getRootViewInstance().getSnapshotStore();
+            if (queryPlan == null && snapshotStore != null) {
+                subqueryLookup = new SubordFullTableScanLookupStrategyLocking(snapshotStore, new StatementAgentInstanceLockNoLockImpl(agentInstanceContext.getStatementName()));
+            } else if (queryPlan == null) {
                 subqueryLookup = new SubordFullTableScanLookupStrategyLocking(instance.getRootViewInstance().getDataWindowContents(), agentInstanceContext.getEpStatementAgentInstanceHandle().getStatementAgentInstanceLock());
             } else {
                 EventTable[] indexes = new EventTable[queryPlan.getIndexDescs().length];
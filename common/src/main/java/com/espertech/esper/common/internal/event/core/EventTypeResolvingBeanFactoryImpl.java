@@ -25,6 +25,7 @@ import org.w3c.dom.Document;
 import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 
+import java.util.Collection;
 import java.util.Map;
 
 public class EventTypeResolvingBeanFactoryImpl implements EventTypeResolvingBeanFactory {
@@ -75,6 +76,47 @@ public class EventTypeResolvingBeanFactoryImpl implements EventTypeResolvingBean
         return new JsonEventBean(underlying, type);
     }
 
+    public EventBean adapterForJson(byte[] json, int offset, int length, String eventTypeName) {
+        EventType type = eventTypeRepository.getTypeByName(eventTypeName);
+        EventTypeUtility.validateTypeJson(eventTypeName, type);
+        JsonEventType jsonEventType = (JsonEventType) type;
+        Object underlying = jsonEventType.parse(json, offset, length);
+        return new JsonEventBean(underlying, type);
+    }
+
+    public EventBean[] adaptersForObjectArray(Collection<Object[]> events, String eventTypeName) throws EPException {
+        EventType type = eventTypeRepository.getTypeByName(eventTypeName);
+        EventTypeUtility.validateTypeObjectArray(eventTypeName, type);
+        EventBean[] result = new EventBean[events.size()];
+        int count = 0;
+        for (Object[] theEvent : events) {
+            result[count++] = new ObjectArrayEventBean(checkNotNull(theEvent), type);
+        }
+        return result;
+    }
+
+    public EventBean[] adaptersForBean(Collection<?> events, String eventTypeName) {
+        EventType type = eventTypeRepository.getTypeByName(eventTypeName);
+        EventTypeUtility.validateTypeBean(eventTypeName, type);
+        EventBean[] result = new EventBean[events.size()];
+        int count = 0;
+        for (Object theEvent : events) {
+            result[count++] = new BeanEventBean(checkNotNull(theEvent), type);
+        }
+        return result;
+    }
+
+    public EventBean[] adaptersForMap(Collection<Map<String, Object>> events, String eventTypeName) {
+        EventType type = eventTypeRepository.getTypeByName(eventTypeName);
+        EventTypeUtility.validateTypeMap(eventTypeName, type);
+        EventBean[] result = new EventBean[events.size()];
+        int count = 0;
+        for (Map<String, Object> theEvent : events) {
+            result[count++] = new MapEventBean(checkNotNull(theEvent), type);
+        }
+        return result;
+    }
+
     public static Node getXMLNodeFromDocument(org.w3c.dom.Node node) {
         org.w3c.dom.Node resultNode = node;
         if (node instanceof Document) {
@@ -84,4 +126,11 @@ public class EventTypeResolvingBeanFactoryImpl implements EventTypeResolvingBean
         }
         return resultNode;
     }
+
+    private static <T> T checkNotNull(T theEvent) {
+        if (theEvent == null) {
+            throw new IllegalArgumentException("Invalid null event object");
+        }
+        return theEvent;
+    }
 }
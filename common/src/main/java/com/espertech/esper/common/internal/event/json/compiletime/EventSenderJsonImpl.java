@@ -21,7 +21,7 @@ import com.espertech.esper.common.internal.statement.thread.ThreadingCommon;
 /**
  * Event sender for json-backed events.
  * <p>
- * Allows sending only event objects of type string, does not check contents. Any other event object generates an error.
+ * Allows sending only event objects of type string or UTF-8 byte array, does not check contents. Any other event object generates an error.
  */
 public class EventSenderJsonImpl implements EventSenderJson {
     private final EPRuntimeEventProcessWrapped runtimeEventSender;
@@ -64,9 +64,16 @@ public class EventSenderJsonImpl implements EventSenderJson {
         return eventType.parse(json);
     }
 
+    public Object parse(byte[] json, int offset, int length) {
+        return eventType.parse(json, offset, length);
+    }
+
     private Object getUnderlying(Object theEvent) {
         if (theEvent instanceof String) {
             return eventType.parse((String) theEvent);
+        } else if (theEvent instanceof byte[]) {
+            byte[] bytes = (byte[]) theEvent;
+            return eventType.parse(bytes, 0, bytes.length);
         } else if (theEvent == null || !(theEvent.getClass() == eventType.getUnderlyingType())) {
             throw new EPException("Unexpected event object of type '" + (theEvent == null ? "(null)" : theEvent.getClass().getName()) + "', expected a Json-formatted string-type value");
         }
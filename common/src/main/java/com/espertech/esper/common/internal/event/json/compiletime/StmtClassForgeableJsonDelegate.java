@@ -10,6 +10,7 @@
  */
 package com.espertech.esper.common.internal.event.json.compiletime;
 
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenBlock;
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenPackageScope;
@@ -29,11 +30,13 @@ import com.espertech.esper.common.internal.event.json.parser.forge.JsonDelegateR
 import com.espertech.esper.common.internal.event.json.parser.forge.JsonForgeDesc;
 
 import java.util.*;
+import java.util.function.BiConsumer;
 
 import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.*;
 import static com.espertech.esper.common.internal.event.json.compiletime.StmtClassForgeableJsonUnderlying.DYNAMIC_PROP_FIELD;
 
 public class StmtClassForgeableJsonDelegate implements StmtClassForgeable {
+    private final static int MAX_PROPERTIES_COMPARED_DIRECTLY = 3;
 
     private final CodegenClassType classType;
     private final String className;
@@ -77,14 +80,15 @@ public class StmtClassForgeableJsonDelegate implements StmtClassForgeable {
                 .declareVar(JsonDelegateBase.class, "delegate", exprDotMethod(ref("super"), "startObject", ref("name")))
                 .ifCondition(notEqualsNull(ref("delegate"))).blockReturn(ref("delegate"));
         }
+        List<String> startObjectProperties = new ArrayList<>();
         for (String property : desc.getPropertiesThisType().keySet()) {
-            JsonForgeDesc forge = desc.getForges().get(property);
-            if (forge.getOptionalStartObjectForge() != null) {
-                startObjectMethod.getBlock()
-                    .ifCondition(exprDotMethod(ref("name"), "equals", constant(property)))
-                    .blockReturn(forge.getOptionalStartObjectForge().newDelegate(JsonDelegateRefs.INSTANCE, startObjectMethod, classScope));
+            if (desc.getForges().get(property).getOptionalStartObjectForge() != null) {
+                startObjectProperties.add(property);
             }
         }
+        dispatchByName(startObjectMethod.getBlock(), startObjectProperties, (property, block) -> block
+            .ifCondition(exprDotMethod(ref("name"), "equals", constant(property)))
+            .blockReturn(desc.getForges().get(property).getOptionalStartObjectForge().newDelegate(JsonDelegateRefs.INSTANCE, startObjectMethod, classScope)));
         CodegenExpression resultStartObject = desc.isDynamic() ? newInstance(JsonDelegateJsonGenericObject.class, JsonDelegateRefs.INSTANCE.getBaseHandler(), JsonDelegateRefs.INSTANCE.getThis()) : constantNull();
         startObjectMethod.getBlock().methodReturn(resultStartObject);
 
@@ -96,14 +100,15 @@ public class StmtClassForgeableJsonDelegate implements StmtClassForgeable {
                 .declareVar(JsonDelegateBase.class, "delegate", exprDotMethod(ref("super"), "startArray", ref("name")))
                 .ifCondition(notEqualsNull(ref("delegate"))).blockReturn(ref("delegate"));
         }
+        List<String> startArrayProperties = new ArrayList<>();
         for (String property : desc.getPropertiesThisType().keySet()) {
-            JsonForgeDesc forge = desc.getForges().get(property);
-            if (forge.getOptionalStartArrayForge() != null) {
-                startArrayMethod.getBlock()
-                    .ifCondition(exprDotMethod(ref("name"), "equals", constant(property)))
-                    .blockReturn(forge.getOptionalStartArrayForge().newDelegate(JsonDelegateRefs.INSTANCE, startArrayMethod, classScope));
+            if (desc.getForges().get(property).getOptionalStartArrayForge() != null) {
+                startArrayProperties.add(property);
             }
         }
+        dispatchByName(startArrayMethod.getBlock(), startArrayProperties, (property, block) -> block
+            .ifCondition(exprDotMethod(ref("name"), "equals", constant(property)))
+            .blockReturn(desc.getForges().get(property).getOptionalStartArrayForge().newDelegate(JsonDelegateRefs.INSTANCE, startArrayMethod, classScope)));
 
         CodegenExpression resultStartArray = desc.isDynamic() ? newInstance(JsonDelegateJsonGenericArray.class, JsonDelegateRefs.INSTANCE.getBaseHandler(), JsonDelegateRefs.INSTANCE.getThis()) : constantNull();
         startArrayMethod.getBlock().methodReturn(resultStartArray);
@@ -116,23 +121,29 @@ public class StmtClassForgeableJsonDelegate implements StmtClassForgeable {
                 .declareVar(boolean.class, "handled", exprDotMethod(ref("super"), "endObjectValue", ref("name")))
                 .ifCondition(ref("handled")).blockReturn(constantTrue());
         }
+        List<String> endValueProperties = new ArrayList<>();
         for (Map.Entry<String, Object> propertyPair : desc.getPropertiesThisType().entrySet()) {
-            if (propertyPair.getValue() == null) { // no assignment for null values
-                continue;
+            if (propertyPair.getValue() != null) { // no assignment for null values
+                endValueProperties.add(propertyPair.getKey());
             }
-            String fieldName = desc.getFieldDescriptorsInclSupertype().get(propertyPair.getKey()).getFieldName();
-            JsonForgeDesc forge = desc.getForges().get(propertyPair.getKey());
+        }
+        dispatchByName(endObjectValueMethod.getBlock(), endValueProperties, (property, block) -> {
+            String fieldName = desc.getFieldDescriptorsInclSupertype().get(property).getFieldName();
+            JsonForgeDesc forge = desc.getForges().get(property);
             CodegenExpression value = forge.getEndValueForge().captureValue(JsonEndValueRefs.INSTANCE, endObjectValueMethod, classScope);
-            endObjectValueMethod.getBlock()
-                .ifCondition(exprDotMethod(ref("name"), "equals", constant(propertyPair.getKey())))
+            block.ifCondition(exprDotMethod(ref("name"), "equals", constant(property)))
                 .assignRef(ref("bean." + fieldName), value)
                 .blockReturn(constantTrue());
-        }
+        });
         if (desc.isDynamic()) {
             endObjectValueMethod.getBlock().exprDotMethod(ref("this"), "addGeneralJson", ref("bean." + DYNAMIC_PROP_FIELD), ref("name"));
         }
         endObjectValueMethod.getBlock().methodReturn(constantFalse());
 
+        // the parser skips the values of unknown fields for Json event types that are not dynamic, the field names of nested application classes are not known to the parser
+        CodegenMethod isSkipUnknownValuesMethod = CodegenMethod.makeParentNode(boolean.class, this.getClass(), CodegenSymbolProviderEmpty.INSTANCE, classScope);
+        isSkipUnknownValuesMethod.getBlock().methodReturn(constant(classType == CodegenClassType.JSONDELEGATE && !desc.isDynamic()));
+
         // make get-bean method
         CodegenMethod getResultMethod = CodegenMethod.makeParentNode(underlyingClassName, this.getClass(), CodegenSymbolProviderEmpty.INSTANCE, classScope);
         getResultMethod.getBlock().methodReturn(ref("bean"));
@@ -142,6 +153,7 @@ public class StmtClassForgeableJsonDelegate implements StmtClassForgeable {
         CodegenStackGenerator.recursiveBuildStack(startObjectMethod, "startObject", methods);
         CodegenStackGenerator.recursiveBuildStack(startArrayMethod, "startArray", methods);
         CodegenStackGenerator.recursiveBuildStack(endObjectValueMethod, "endObjectValue", methods);
+        CodegenStackGenerator.recursiveBuildStack(isSkipUnknownValuesMethod, "isSkipUnknownValues", methods);
         CodegenStackGenerator.recursiveBuildStack(getResultMethod, "getResult", methods);
 
         CodegenClass clazz = new CodegenClass(classType, className, classScope, members, ctor, methods, Collections.emptyList());
@@ -153,6 +165,36 @@ public class StmtClassForgeableJsonDelegate implements StmtClassForgeable {
         return clazz;
     }
 
+    /**
+     * Dispatches on the hash code of the field name, which for a field name string is computed once, and compares the
+     * field name only against the properties of the same hash code. Few properties are compared directly.
+     */
+    private static void dispatchByName(CodegenBlock block, List<String> properties, BiConsumer<String, CodegenBlock> caseConsumer) {
+        if (properties.size() <= MAX_PROPERTIES_COMPARED_DIRECTLY) {
+            for (String property : properties) {
+                caseConsumer.accept(property, block);
+            }
+            return;
+        }
+        Map<Integer, List<String>> byHash = new LinkedHashMap<>();
+        for (String property : properties) {
+            byHash.computeIfAbsent(property.hashCode(), k -> new ArrayList<>(1)).add(property);
+        }
+        CodegenExpression[] options = new CodegenExpression[byHash.size()];
+        int index = 0;
+        for (Integer hash : byHash.keySet()) {
+            options[index++] = constant(hash);
+        }
+        CodegenBlock[] blocks = block.switchBlockExpressions(exprDotMethod(ref("name"), "hashCode"), options, false, false).getBlocks();
+        index = 0;
+        for (List<String> sameHash : byHash.values()) {
+            for (String property : sameHash) {
+                caseConsumer.accept(property, blocks[index]);
+            }
+            index++;
+        }
+    }
+
     public String getClassName() {
         return className;
     }
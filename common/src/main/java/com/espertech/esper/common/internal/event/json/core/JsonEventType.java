@@ -13,6 +13,7 @@ package com.espertech.esper.common.internal.event.json.core;
 import com.espertech.esper.common.client.EPException;
 import com.espertech.esper.common.client.EventPropertyDescriptor;
 import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.FragmentEventType;
 import com.espertech.esper.common.client.json.minimaljson.JsonParser;
 import com.espertech.esper.common.client.meta.EventTypeMetadata;
 import com.espertech.esper.common.internal.collection.Pair;
@@ -23,6 +24,8 @@ import com.espertech.esper.common.internal.event.json.compiletime.JsonUnderlying
 import com.espertech.esper.common.internal.event.json.parser.core.JsonDelegateBase;
 import com.espertech.esper.common.internal.event.json.parser.core.JsonDelegateFactory;
 import com.espertech.esper.common.internal.event.json.parser.core.JsonHandlerDelegator;
+import com.espertech.esper.common.internal.event.json.parser.core.JsonUtf8FieldNames;
+import com.espertech.esper.common.internal.event.json.parser.core.JsonUtf8Parser;
 import com.espertech.esper.common.internal.event.json.writer.*;
 import com.espertech.esper.common.internal.event.property.IndexedProperty;
 import com.espertech.esper.common.internal.event.property.MappedProperty;
@@ -41,6 +44,7 @@ public class JsonEventType extends BaseNestableEventType {
     private Class delegateType;
     private JsonDelegateFactory delegateFactory;
     private Class underlyingType;
+    private volatile JsonUtf8FieldNames utf8FieldNames;
     protected EventPropertyDescriptor[] writablePropertyDescriptors;
     protected Map<String, Pair<EventPropertyDescriptor, JsonEventBeanPropertyWriter>> propertyWriters;
 
@@ -183,6 +187,29 @@ public class JsonEventType extends BaseNestableEventType {
         }
     }
 
+    /**
+     * Parses the UTF-8 encoded Json document.
+     *
+     * @param json   bytes
+     * @param offset offset of the document
+     * @param length length of the document
+     * @return underlying
+     */
+    public Object parse(byte[] json, int offset, int length) {
+        try {
+            JsonHandlerDelegator handler = new JsonHandlerDelegator();
+            JsonDelegateBase delegate = delegateFactory.make(handler, null);
+            handler.setDelegate(delegate);
+            JsonUtf8Parser parser = new JsonUtf8Parser(handler, getUtf8FieldNames());
+            parser.parse(json, offset, length);
+            return delegate.getResult();
+        } catch (EPException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            throw new EPException("Failed to parse Json: " + ex.getMessage(), ex);
+        }
+    }
+
     public JsonEventTypeDetail getDetail() {
         return detail;
     }
@@ -245,4 +272,38 @@ public class JsonEventType extends BaseNestableEventType {
         propertyWriters = propertWritersMap;
         writablePropertyDescriptors = writeableProps.toArray(new EventPropertyDescriptor[writeableProps.size()]);
     }
+
+    private JsonUtf8FieldNames getUtf8FieldNames() {
+        JsonUtf8FieldNames names = utf8FieldNames;
+        if (names == null) {
+            Set<String> fieldNames = new HashSet<>();
+            collectFieldNames(this, fieldNames, Collections.newSetFromMap(new IdentityHashMap<>()));
+            names = new JsonUtf8FieldNames(fieldNames);
+            utf8FieldNames = names;
+        }
+        return names;
+    }
+
+    private static void collectFieldNames(JsonEventType type, Set<String> fieldNames, Set<JsonEventType> visited) {
+        if (!visited.add(type)) {
+            return;
+        }
+        fieldNames.addAll(type.detail.getFieldDescriptors().keySet());
+        if (type.getSuperTypes() != null) {
+            for (EventType superType : type.getSuperTypes()) {
+                if (superType instanceof JsonEventType) {
+                    collectFieldNames((JsonEventType) superType, fieldNames, visited);
+                }
+            }
+        }
+        for (EventPropertyDescriptor desc : type.getPropertyDescriptors()) {
+            if (!desc.isFragment()) {
+                continue;
+            }
+            FragmentEventType fragment = type.getFragmentType(desc.getPropertyName());
+            if (fragment != null && fragment.getFragmentType() instanceof JsonEventType) {
+                collectFieldNames((JsonEventType) fragment.getFragmentType(), fieldNames, visited);
+            }
+        }
+    }
 }
@@ -10,6 +10,7 @@
  */
 package com.espertech.esper.common.internal.event.json.parser.core;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Map;
 
 import static com.espertech.esper.common.internal.event.json.parser.core.JsonValueType.*;
@@ -22,6 +23,14 @@ public abstract class JsonDelegateBase {
     protected JsonValueType valueType;
     protected Object objectValue;
 
+    // number values from the byte parser: the text is only turned into a string when asked for
+    private byte[] numberText;
+    private int numberOffset;
+    private int numberLength;
+    private JsonNumberDecoded numberDecoded = JsonNumberDecoded.NONE;
+    private long numberLong;
+    private double numberDouble;
+
     public abstract JsonDelegateBase startObject(String name);
 
     public abstract JsonDelegateBase startArray(String name);
@@ -41,20 +50,45 @@ public abstract class JsonDelegateBase {
     public void endString(String string) {
         this.stringValue = string;
         this.valueType = STRING;
+        clearNumber();
     }
 
     public void endNumber(String string) {
         this.stringValue = string;
         this.valueType = NUMBER;
+        clearNumber();
+    }
+
+    /**
+     * Number value as provided by the byte parser.
+     *
+     * @param text    bytes holding the number text, only valid until the next value
+     * @param offset  offset of the number text
+     * @param length  length of the number text
+     * @param decoded whether the byte parser decoded the number exactly
+     * @param longValue decoded integral value
+     * @param doubleValue decoded decimal value
+     */
+    public void endNumber(byte[] text, int offset, int length, JsonNumberDecoded decoded, long longValue, double doubleValue) {
+        this.stringValue = null;
+        this.valueType = NUMBER;
+        this.numberText = text;
+        this.numberOffset = offset;
+        this.numberLength = length;
+        this.numberDecoded = decoded;
+        this.numberLong = longValue;
+        this.numberDouble = doubleValue;
     }
 
     public void endNull() {
+        clearNumber();
         this.valueType = NULL;
         this.stringValue = null;
         this.objectValue = null;
     }
 
     public void endBoolean(boolean value) {
+        clearNumber();
         this.valueType = BOOLEAN;
         if (value) {
             this.objectValue = Boolean.TRUE;
@@ -65,6 +99,58 @@ public abstract class JsonDelegateBase {
         }
     }
 
+    /**
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     *
+     * @return value text
+     */
+    public String getStringValue() {
+        if (numberText != null) {
+            stringValue = new String(numberText, numberOffset, numberLength, StandardCharsets.ISO_8859_1);
+            numberText = null;
+        }
+        return stringValue;
+    }
+
+    /**
+     * Returns true when the current value is a number that the byte parser decoded as an integral value.
+     *
+     * @return indicator
+     */
+    public boolean isNumberDecodedLong() {
+        return valueType == NUMBER && numberDecoded == JsonNumberDecoded.LONG;
+    }
+
+    /**
+     * Returns true when the current value is a number that the byte parser decoded exactly as a double value.
+     *
+     * @return indicator
+     */
+    public boolean isNumberDecodedDouble() {
+        return valueType == NUMBER && numberDecoded != JsonNumberDecoded.NONE;
+    }
+
+    public long getNumberLong() {
+        return numberLong;
+    }
+
+    public double getNumberDouble() {
+        return numberDecoded == JsonNumberDecoded.LONG ? (double) numberLong : numberDouble;
+    }
+
+    /**
+     * Returns true when the delegate ignores fields that none of the Json event types declares, so that
+     * the parser may skip their values.
+     * <p>
+     * NOTE: Code-generation-invoked method, method name and parameter order matters
+     * </p>
+     *
+     * @return indicator
+     */
+    public boolean isSkipUnknownValues() {
+        return false;
+    }
+
     public void setObjectValue(Object object) {
         this.objectValue = object;
     }
@@ -87,7 +173,12 @@ public abstract class JsonDelegateBase {
         if (valueType == STRING) {
             return stringValue;
         } else if (valueType == NUMBER) {
-            return jsonNumberFromString(stringValue);
+            if (numberDecoded == JsonNumberDecoded.LONG && numberLong >= Integer.MIN_VALUE && numberLong <= Integer.MAX_VALUE) {
+                return (int) numberLong;
+            } else if (numberDecoded != JsonNumberDecoded.NONE) {
+                return getNumberDouble();
+            }
+            return jsonNumberFromString(getStringValue());
         } else if (valueType == NULL) {
             return null;
         } else {
@@ -102,4 +193,9 @@ public abstract class JsonDelegateBase {
             return Double.parseDouble(text);
         }
     }
+
+    private void clearNumber() {
+        numberText = null;
+        numberDecoded = JsonNumberDecoded.NONE;
+    }
 }
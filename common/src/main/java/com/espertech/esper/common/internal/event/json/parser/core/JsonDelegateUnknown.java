@@ -27,6 +27,10 @@ public class JsonDelegateUnknown extends JsonDelegateBase {
         return false;
     }
 
+    public boolean isSkipUnknownValues() {
+        return true;
+    }
+
     public Object getResult() {
         return null;
     }
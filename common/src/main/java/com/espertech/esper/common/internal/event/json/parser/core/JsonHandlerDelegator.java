@@ -48,6 +48,10 @@ public class JsonHandlerDelegator extends JsonHandler<Object, Object> {
         return null;
     }
 
+    public boolean isSkipUnknownValues() {
+        return currentDelegate.isSkipUnknownValues();
+    }
+
     public void endString(String string) {
         this.currentDelegate.endString(string);
     }
@@ -56,6 +60,10 @@ public class JsonHandlerDelegator extends JsonHandler<Object, Object> {
         this.currentDelegate.endNumber(string);
     }
 
+    public void endNumber(byte[] text, int offset, int length, JsonNumberDecoded decoded, long longValue, double doubleValue) {
+        this.currentDelegate.endNumber(text, offset, length, decoded, longValue, doubleValue);
+    }
+
     public void endNull() {
         this.currentDelegate.endNull();
     }
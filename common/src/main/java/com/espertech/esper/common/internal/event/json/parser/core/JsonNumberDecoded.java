@@ -0,0 +1,29 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.json.parser.core;
+
+/**
+ * Outcome of decoding a number by the byte parser.
+ */
+public enum JsonNumberDecoded {
+    /**
+     * Not decoded, the number text must be parsed.
+     */
+    NONE,
+    /**
+     * Integral number that fits a long value.
+     */
+    LONG,
+    /**
+     * Decimal number decoded exactly as a double value.
+     */
+    DOUBLE
+}
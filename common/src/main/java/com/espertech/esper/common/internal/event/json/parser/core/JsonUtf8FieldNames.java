@@ -0,0 +1,123 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.json.parser.core;
+
+import java.util.Collection;
+
+/**
+ * Table of the field names known to a Json event type, for the byte parser to obtain the field name string
+ * from the UTF-8 bytes without allocating a string.
+ * <p>
+ * Only holds names that are ASCII and that need no escaping. The hash of a name is the same as {@link String#hashCode()}
+ * so that the parser can compute it while scanning the bytes.
+ * </p>
+ */
+public class JsonUtf8FieldNames {
+    private final byte[][] keys;
+    private final String[] names;
+    private final int[] hashes;
+    private final int mask;
+    private final boolean complete;
+
+    public JsonUtf8FieldNames(Collection<String> fieldNames) {
+        int capacity = 16;
+        while (capacity < fieldNames.size() * 2) {
+            capacity <<= 1;
+        }
+        keys = new byte[capacity][];
+        names = new String[capacity];
+        hashes = new int[capacity];
+        mask = capacity - 1;
+        boolean allPlain = true;
+        for (String name : fieldNames) {
+            if (!isPlainAscii(name)) {
+                allPlain = false;
+            } else if (find(name) == null) {
+                int hash = name.hashCode();
+                int index = hash & mask;
+                while (names[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                byte[] key = new byte[name.length()];
+                for (int i = 0; i < key.length; i++) {
+                    key[i] = (byte) name.charAt(i);
+                }
+                keys[index] = key;
+                names[index] = name;
+                hashes[index] = hash;
+            }
+        }
+        complete = allPlain;
+    }
+
+    /**
+     * Returns true when the table holds all field names, so that a name that is ASCII, needs no escaping and
+     * is not found is not a field name of the event type.
+     *
+     * @return indicator
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    /**
+     * Returns the field name for the bytes, or null if the bytes are not a known field name.
+     *
+     * @param bytes  bytes
+     * @param offset offset of the name
+     * @param length length of the name
+     * @param hash   hash of the name computed as {@link String#hashCode()} computes it
+     * @return field name or null
+     */
+    public String lookup(byte[] bytes, int offset, int length, int hash) {
+        int index = hash & mask;
+        while (names[index] != null) {
+            if (hashes[index] == hash && equals(keys[index], bytes, offset, length)) {
+                return names[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    private String find(String name) {
+        int index = name.hashCode() & mask;
+        while (names[index] != null) {
+            if (names[index].equals(name)) {
+                return names[index];
+            }
+            index = (index + 1) & mask;
+        }
+        return null;
+    }
+
+    private static boolean equals(byte[] key, byte[] bytes, int offset, int length) {
+        if (key.length != length) {
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            if (key[i] != bytes[offset + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isPlainAscii(String name) {
+        for (int i = 0; i < name.length(); i++) {
+            char c = name.charAt(i);
+            if (c < 0x20 || c > 0x7e || c == '"' || c == '\\') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
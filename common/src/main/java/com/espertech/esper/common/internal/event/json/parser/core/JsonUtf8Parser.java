@@ -0,0 +1,589 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.json.parser.core;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Json parser that reads UTF-8 bytes and reports to the handler delegator, producing the same events as the
+ * character-based parser.
+ * <p>
+ * Field names that the event type knows are taken from the field name table and are not allocated.
+ * The values of fields that the event type does not know are skipped, unless the event type is dynamic.
+ * Strings that are ASCII and have no escapes are copied from the bytes without decoding.
+ * Numbers are decoded from the bytes: integral values that fit a long value and decimal values that
+ * a double value represents exactly and without rounding; the number text is only turned into a string for
+ * the value types that need it or when the number cannot be decoded exactly.
+ * </p>
+ */
+public class JsonUtf8Parser {
+    private final static int MAX_NESTING_LEVEL = 1000;
+    private final static int MAX_LONG_DIGITS = 18;
+    private final static int MAX_EXACT_DOUBLE_DIGITS = 15;
+    private final static double[] POWERS_OF_TEN = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+
+    private final JsonHandlerDelegator handler;
+    private final JsonUtf8FieldNames fieldNames;
+    private byte[] bytes;
+    private int start;
+    private int pos;
+    private int end;
+    private int nestingLevel;
+
+    /**
+     * Ctor.
+     *
+     * @param handler    handler
+     * @param fieldNames known field names or null when there are none
+     */
+    public JsonUtf8Parser(JsonHandlerDelegator handler, JsonUtf8FieldNames fieldNames) {
+        this.handler = handler;
+        this.fieldNames = fieldNames;
+    }
+
+    /**
+     * Parses the UTF-8 bytes. The input must contain a valid JSON value, optionally padded with whitespace.
+     *
+     * @param json   bytes
+     * @param offset offset of the first byte
+     * @param length number of bytes
+     * @throws IllegalArgumentException if the input is not valid JSON
+     */
+    public void parse(byte[] json, int offset, int length) {
+        if (json == null) {
+            throw new NullPointerException("json is null");
+        }
+        if (offset < 0 || length < 0 || offset > json.length - length) {
+            throw new IndexOutOfBoundsException("Invalid offset " + offset + " and length " + length + " for " + json.length + " bytes");
+        }
+        this.bytes = json;
+        this.start = offset;
+        this.pos = offset;
+        this.end = offset + length;
+        this.nestingLevel = 0;
+        skipWhiteSpace();
+        readValue();
+        skipWhiteSpace();
+        if (pos < end) {
+            throw error("Unexpected character");
+        }
+    }
+
+    private void readValue() {
+        switch (current()) {
+            case 'n':
+                pos++;
+                readRequired('u');
+                readRequired('l');
+                readRequired('l');
+                handler.endNull();
+                break;
+            case 't':
+                pos++;
+                readRequired('r');
+                readRequired('u');
+                readRequired('e');
+                handler.endBoolean(true);
+                break;
+            case 'f':
+                pos++;
+                readRequired('a');
+                readRequired('l');
+                readRequired('s');
+                readRequired('e');
+                handler.endBoolean(false);
+                break;
+            case '"':
+                pos++;
+                handler.endString(readStringRemainder());
+                break;
+            case '[':
+                readArray();
+                break;
+            case '{':
+                readObject();
+                break;
+            case '-':
+            case '0':
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case '8':
+            case '9':
+                readNumber();
+                break;
+            default:
+                throw expected("value");
+        }
+    }
+
+    private void readArray() {
+        handler.startArray();
+        pos++;
+        if (++nestingLevel > MAX_NESTING_LEVEL) {
+            throw error("Nesting too deep");
+        }
+        skipWhiteSpace();
+        if (readChar(']')) {
+            nestingLevel--;
+            handler.endArray(null);
+            return;
+        }
+        do {
+            skipWhiteSpace();
+            readValue();
+            handler.endArrayValue(null);
+            skipWhiteSpace();
+        } while (readChar(','));
+        if (!readChar(']')) {
+            throw expected("',' or ']'");
+        }
+        nestingLevel--;
+        handler.endArray(null);
+    }
+
+    private void readObject() {
+        handler.startObject();
+        pos++;
+        if (++nestingLevel > MAX_NESTING_LEVEL) {
+            throw error("Nesting too deep");
+        }
+        skipWhiteSpace();
+        if (readChar('}')) {
+            nestingLevel--;
+            handler.endObject(null);
+            return;
+        }
+        do {
+            skipWhiteSpace();
+            String name = readName();
+            skipWhiteSpace();
+            if (!readChar(':')) {
+                throw expected("':'");
+            }
+            skipWhiteSpace();
+            if (name == null) {
+                skipValue();
+            } else {
+                handler.startObjectValue(null, name);
+                readValue();
+                handler.endObjectValue(null, name);
+            }
+            skipWhiteSpace();
+        } while (readChar(','));
+        if (!readChar('}')) {
+            throw expected("',' or '}'");
+        }
+        nestingLevel--;
+        handler.endObject(null);
+    }
+
+    /**
+     * Returns the field name, or null when the field is not known and the current delegate ignores unknown fields.
+     */
+    private String readName() {
+        if (current() != '"') {
+            throw expected("name");
+        }
+        pos++;
+        if (fieldNames != null) {
+            int nameStart = pos;
+            int hash = 0;
+            while (pos < end) {
+                byte b = bytes[pos];
+                if (b == '"') {
+                    String name = fieldNames.lookup(bytes, nameStart, pos - nameStart, hash);
+                    pos++;
+                    if (name == null) {
+                        if (fieldNames.isComplete() && handler.isSkipUnknownValues()) {
+                            return null;
+                        }
+                        name = new String(bytes, nameStart, pos - 1 - nameStart, StandardCharsets.ISO_8859_1);
+                    }
+                    return name;
+                }
+                if (b == '\\' || b < 0x20) { // escape, control or non-ASCII
+                    break;
+                }
+                hash = 31 * hash + b;
+                pos++;
+            }
+            pos = nameStart;
+        }
+        return readStringRemainder();
+    }
+
+    private String readStringRemainder() {
+        int stringStart = pos;
+        boolean ascii = true;
+        while (pos < end) {
+            byte b = bytes[pos];
+            if (b == '"') {
+                String string = new String(bytes, stringStart, pos - stringStart, ascii ? StandardCharsets.ISO_8859_1 : StandardCharsets.UTF_8);
+                pos++;
+                return string;
+            } else if (b == '\\') {
+                return readEscapedStringRemainder(stringStart);
+            } else if (b < 0) {
+                ascii = false;
+            } else if (b < 0x20) {
+                throw expected("valid string character");
+            }
+            pos++;
+        }
+        throw expected("valid string character");
+    }
+
+    private String readEscapedStringRemainder(int stringStart) {
+        StringBuilder builder = new StringBuilder(pos - stringStart + 16);
+        int segmentStart = stringStart;
+        while (pos < end) {
+            byte b = bytes[pos];
+            if (b == '"') {
+                appendSegment(builder, segmentStart);
+                pos++;
+                return builder.toString();
+            } else if (b == '\\') {
+                appendSegment(builder, segmentStart);
+                readEscape(builder);
+                segmentStart = pos;
+            } else if (b >= 0 && b < 0x20) {
+                throw expected("valid string character");
+            } else {
+                pos++;
+            }
+        }
+        throw expected("valid string character");
+    }
+
+    private void appendSegment(StringBuilder builder, int segmentStart) {
+        if (pos > segmentStart) {
+            builder.append(new String(bytes, segmentStart, pos - segmentStart, StandardCharsets.UTF_8));
+        }
+    }
+
+    private void readEscape(StringBuilder builder) {
+        pos++;
+        int c = current();
+        switch (c) {
+            case '"':
+            case '/':
+            case '\\':
+                builder.append((char) c);
+                break;
+            case 'b':
+                builder.append('\b');
+                break;
+            case 'f':
+                builder.append('\f');
+                break;
+            case 'n':
+                builder.append('\n');
+                break;
+            case 'r':
+                builder.append('\r');
+                break;
+            case 't':
+                builder.append('\t');
+                break;
+            case 'u':
+                int value = 0;
+                for (int i = 0; i < 4; i++) {
+                    pos++;
+                    int digit = Character.digit(current(), 16);
+                    if (digit == -1) {
+                        throw expected("hexadecimal digit");
+                    }
+                    value = (value << 4) | digit;
+                }
+                builder.append((char) value);
+                break;
+            default:
+                throw expected("valid escape sequence");
+        }
+        pos++;
+    }
+
+    private void readNumber() {
+        int numberStart = pos;
+        boolean negative = readChar('-');
+        if (!isDigit(current())) {
+            throw expected("digit");
+        }
+
+        // integral and fraction digits accumulate into the mantissa, up to the number of digits a long holds
+        long mantissa = 0;
+        int numDigits = 0;
+        boolean overflow = false;
+        if (current() == '0') {
+            pos++;
+            numDigits++;
+        } else {
+            while (isDigit(current())) {
+                if (numDigits < MAX_LONG_DIGITS) {
+                    mantissa = mantissa * 10 + (bytes[pos] - '0');
+                    numDigits++;
+                } else {
+                    overflow = true;
+                }
+                pos++;
+            }
+        }
+
+        boolean integral = true;
+        int exponent = 0;
+        if (readChar('.')) {
+            integral = false;
+            if (!isDigit(current())) {
+                throw expected("digit");
+            }
+            while (isDigit(current())) {
+                if (numDigits < MAX_LONG_DIGITS) {
+                    mantissa = mantissa * 10 + (bytes[pos] - '0');
+                    numDigits++;
+                    exponent--;
+                } else {
+                    overflow = true;
+                }
+                pos++;
+            }
+        }
+        if (readChar('e') || readChar('E')) {
+            integral = false;
+            boolean negativeExponent = false;
+            if (!readChar('+')) {
+                negativeExponent = readChar('-');
+            }
+            if (!isDigit(current())) {
+                throw expected("digit");
+            }
+            int explicitExponent = 0;
+            while (isDigit(current())) {
+                if (explicitExponent < 100000) {
+                    explicitExponent = explicitExponent * 10 + (bytes[pos] - '0');
+                }
+                pos++;
+            }
+            exponent += negativeExponent ? -explicitExponent : explicitExponent;
+        }
+
+        JsonNumberDecoded decoded = JsonNumberDecoded.NONE;
+        long longValue = 0;
+        double doubleValue = 0;
+        if (!overflow) {
+            if (integral) {
+                // negative zero remains text so that a double value keeps the sign
+                if (!negative || mantissa != 0) {
+                    decoded = JsonNumberDecoded.LONG;
+                    longValue = negative ? -mantissa : mantissa;
+                }
+            } else if (numDigits <= MAX_EXACT_DOUBLE_DIGITS && exponent >= -22 && exponent <= 22) {
+                // the mantissa and the power of ten are exact doubles, so that the one operation rounds correctly
+                double value = mantissa;
+                value = exponent < 0 ? value / POWERS_OF_TEN[-exponent] : value * POWERS_OF_TEN[exponent];
+                decoded = JsonNumberDecoded.DOUBLE;
+                doubleValue = negative ? -value : value;
+            }
+        }
+        handler.endNumber(bytes, numberStart, pos - numberStart, decoded, longValue, doubleValue);
+    }
+
+    /**
+     * Skips a value, validating it without reporting it to the handler.
+     */
+    private void skipValue() {
+        switch (current()) {
+            case 'n':
+                pos++;
+                readRequired('u');
+                readRequired('l');
+                readRequired('l');
+                break;
+            case 't':
+                pos++;
+                readRequired('r');
+                readRequired('u');
+                readRequired('e');
+                break;
+            case 'f':
+                pos++;
+                readRequired('a');
+                readRequired('l');
+                readRequired('s');
+                readRequired('e');
+                break;
+            case '"':
+                pos++;
+                skipStringRemainder();
+                break;
+            case '[':
+                skipContainer(']');
+                break;
+            case '{':
+                skipContainer('}');
+                break;
+            case '-':
+            case '0':
+            case '1':
+            case '2':
+            case '3':
+            case '4':
+            case '5':
+            case '6':
+            case '7':
+            case '8':
+            case '9':
+                skipNumber();
+                break;
+            default:
+                throw expected("value");
+        }
+    }
+
+    private void skipContainer(char close) {
+        pos++;
+        if (++nestingLevel > MAX_NESTING_LEVEL) {
+            throw error("Nesting too deep");
+        }
+        skipWhiteSpace();
+        if (!readChar(close)) {
+            do {
+                skipWhiteSpace();
+                if (close == '}') {
+                    if (current() != '"') {
+                        throw expected("name");
+                    }
+                    pos++;
+                    skipStringRemainder();
+                    skipWhiteSpace();
+                    if (!readChar(':')) {
+                        throw expected("':'");
+                    }
+                    skipWhiteSpace();
+                }
+                skipValue();
+                skipWhiteSpace();
+            } while (readChar(','));
+            if (!readChar(close)) {
+                throw expected(close == '}' ? "',' or '}'" : "',' or ']'");
+            }
+        }
+        nestingLevel--;
+    }
+
+    private void skipStringRemainder() {
+        while (pos < end) {
+            byte b = bytes[pos];
+            if (b == '"') {
+                pos++;
+                return;
+            } else if (b == '\\') {
+                pos++;
+                int c = current();
+                if (c == 'u') {
+                    for (int i = 0; i < 4; i++) {
+                        pos++;
+                        if (Character.digit(current(), 16) == -1) {
+                            throw expected("hexadecimal digit");
+                        }
+                    }
+                } else if (c != '"' && c != '/' && c != '\\' && c != 'b' && c != 'f' && c != 'n' && c != 'r' && c != 't') {
+                    throw expected("valid escape sequence");
+                }
+            } else if (b >= 0 && b < 0x20) {
+                throw expected("valid string character");
+            }
+            pos++;
+        }
+        throw expected("valid string character");
+    }
+
+    private void skipNumber() {
+        readChar('-');
+        if (!isDigit(current())) {
+            throw expected("digit");
+        }
+        if (bytes[pos++] != '0') {
+            skipDigits();
+        }
+        if (readChar('.')) {
+            if (!isDigit(current())) {
+                throw expected("digit");
+            }
+            skipDigits();
+        }
+        if (readChar('e') || readChar('E')) {
+            if (!readChar('+')) {
+                readChar('-');
+            }
+            if (!isDigit(current())) {
+                throw expected("digit");
+            }
+            skipDigits();
+        }
+    }
+
+    private void skipDigits() {
+        while (isDigit(current())) {
+            pos++;
+        }
+    }
+
+    private void readRequired(char ch) {
+        if (!readChar(ch)) {
+            throw expected("'" + ch + "'");
+        }
+    }
+
+    private boolean readChar(char ch) {
+        if (pos < end && bytes[pos] == ch) {
+            pos++;
+            return true;
+        }
+        return false;
+    }
+
+    private void skipWhiteSpace() {
+        while (pos < end) {
+            byte b = bytes[pos];
+            if (b != ' ' && b != '\t' && b != '\n' && b != '\r') {
+                return;
+            }
+            pos++;
+        }
+    }
+
+    private int current() {
+        return pos < end ? bytes[pos] & 0xff : -1;
+    }
+
+    private static boolean isDigit(int c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private IllegalArgumentException expected(String expected) {
+        if (pos >= end) {
+            return error("Unexpected end of input");
+        }
+        return error("Expected " + expected);
+    }
+
+    private IllegalArgumentException error(String message) {
+        return new IllegalArgumentException(message + " at offset " + (pos - start));
+    }
+}
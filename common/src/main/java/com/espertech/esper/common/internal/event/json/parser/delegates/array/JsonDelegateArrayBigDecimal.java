@@ -22,7 +22,7 @@ public class JsonDelegateArrayBigDecimal extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeBigDecimal.jsonToBigDecimal(stringValue, name));
+        collection.add(JsonEndValueForgeBigDecimal.jsonToBigDecimal(getStringValue(), name));
     }
 
     public Object getResult() {
@@ -22,7 +22,7 @@ public class JsonDelegateArrayBigInteger extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeBigInteger.jsonToBigInteger(stringValue, name));
+        collection.add(JsonEndValueForgeBigInteger.jsonToBigInteger(getStringValue(), name));
     }
 
     public Object getResult() {
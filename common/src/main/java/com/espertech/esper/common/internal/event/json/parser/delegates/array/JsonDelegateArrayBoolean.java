@@ -20,7 +20,7 @@ public class JsonDelegateArrayBoolean extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeBoolean.jsonToBoolean(objectValue, stringValue, name));
+        collection.add(JsonEndValueForgeBoolean.jsonToBoolean(objectValue, getStringValue(), name));
     }
 
     public Object getResult() {
@@ -22,7 +22,7 @@ public class JsonDelegateArrayBooleanPrimitive extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeBoolean.jsonToBoolean(objectValue, stringValue, name));
+        collection.add(JsonEndValueForgeBoolean.jsonToBoolean(objectValue, getStringValue(), name));
     }
 
     public Object getResult() {
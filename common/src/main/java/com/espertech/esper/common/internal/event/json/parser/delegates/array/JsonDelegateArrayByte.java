@@ -20,7 +20,7 @@ public class JsonDelegateArrayByte extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeByte.jsonToByte(stringValue, name));
+        collection.add(JsonEndValueForgeByte.jsonToByte(getStringValue(), name));
     }
 
     public Object getResult() {
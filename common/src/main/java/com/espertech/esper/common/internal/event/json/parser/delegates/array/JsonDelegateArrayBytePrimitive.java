@@ -22,7 +22,7 @@ public class JsonDelegateArrayBytePrimitive extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeByte.jsonToByteNonNull(stringValue));
+        collection.add(JsonEndValueForgeByte.jsonToByteNonNull(getStringValue()));
     }
 
     public Object getResult() {
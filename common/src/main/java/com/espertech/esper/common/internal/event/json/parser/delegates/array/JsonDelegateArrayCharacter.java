@@ -20,7 +20,7 @@ public class JsonDelegateArrayCharacter extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeCharacter.jsonToCharacter(stringValue));
+        collection.add(JsonEndValueForgeCharacter.jsonToCharacter(getStringValue()));
     }
 
     public Object getResult() {
@@ -22,7 +22,7 @@ public class JsonDelegateArrayCharacterPrimitive extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeCharacter.jsonToCharacterNonNull(stringValue));
+        collection.add(JsonEndValueForgeCharacter.jsonToCharacterNonNull(getStringValue()));
     }
 
     public Object getResult() {
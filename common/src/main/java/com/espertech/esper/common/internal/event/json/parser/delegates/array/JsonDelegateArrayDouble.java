@@ -20,7 +20,7 @@ public class JsonDelegateArrayDouble extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeDouble.jsonToDouble(stringValue, name));
+        collection.add(JsonEndValueForgeDouble.jsonToDouble(this, name));
     }
 
     public Object getResult() {
@@ -14,24 +14,25 @@ import com.espertech.esper.common.internal.event.json.parser.core.JsonDelegateBa
 import com.espertech.esper.common.internal.event.json.parser.core.JsonHandlerDelegator;
 import com.espertech.esper.common.internal.event.json.parser.delegates.endvalue.JsonEndValueForgeDouble;
 
-import java.util.Iterator;
+import java.util.Arrays;
 
 public class JsonDelegateArrayDoublePrimitive extends JsonDelegateArrayBase {
+    private double[] values = new double[8];
+    private int count;
+
     public JsonDelegateArrayDoublePrimitive(JsonHandlerDelegator baseHandler, JsonDelegateBase parent) {
         super(baseHandler, parent);
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeDouble.jsonToDoubleNonNull(stringValue, name));
+        double value = JsonEndValueForgeDouble.jsonToDoubleNonNull(this, name);
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        values[count++] = value;
     }
 
     public Object getResult() {
-        double[] array = new double[collection.size()];
-        Iterator<Double> it = collection.iterator();
-        int count = 0;
-        while (it.hasNext()) {
-            array[count++] = it.next();
-        }
-        return array;
+        return Arrays.copyOf(values, count);
     }
 }
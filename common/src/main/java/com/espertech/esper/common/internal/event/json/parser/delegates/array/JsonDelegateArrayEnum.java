@@ -39,7 +39,7 @@ public class JsonDelegateArrayEnum extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeEnum.jsonToEnum(stringValue, valueOf));
+        collection.add(JsonEndValueForgeEnum.jsonToEnum(getStringValue(), valueOf));
     }
 
     public Object getResult() {
@@ -20,7 +20,7 @@ public class JsonDelegateArrayFloat extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeFloat.jsonToFloat(stringValue, name));
+        collection.add(JsonEndValueForgeFloat.jsonToFloat(getStringValue(), name));
     }
 
     public Object getResult() {
@@ -14,24 +14,25 @@ import com.espertech.esper.common.internal.event.json.parser.core.JsonDelegateBa
 import com.espertech.esper.common.internal.event.json.parser.core.JsonHandlerDelegator;
 import com.espertech.esper.common.internal.event.json.parser.delegates.endvalue.JsonEndValueForgeFloat;
 
-import java.util.Iterator;
+import java.util.Arrays;
 
 public class JsonDelegateArrayFloatPrimitive extends JsonDelegateArrayBase {
+    private float[] values = new float[8];
+    private int count;
+
     public JsonDelegateArrayFloatPrimitive(JsonHandlerDelegator baseHandler, JsonDelegateBase parent) {
         super(baseHandler, parent);
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeFloat.jsonToFloatNonNull(stringValue, name));
+        float value = JsonEndValueForgeFloat.jsonToFloatNonNull(getStringValue(), name);
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        values[count++] = value;
     }
 
     public Object getResult() {
-        float[] array = new float[collection.size()];
-        Iterator<Float> it = collection.iterator();
-        int count = 0;
-        while (it.hasNext()) {
-            array[count++] = it.next();
-        }
-        return array;
+        return Arrays.copyOf(values, count);
     }
 }
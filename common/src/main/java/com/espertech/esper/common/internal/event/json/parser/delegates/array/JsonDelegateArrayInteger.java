@@ -20,7 +20,7 @@ public class JsonDelegateArrayInteger extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeInteger.jsonToInteger(stringValue, name));
+        collection.add(JsonEndValueForgeInteger.jsonToInteger(this, name));
     }
 
     public Object getResult() {
@@ -14,24 +14,25 @@ import com.espertech.esper.common.internal.event.json.parser.core.JsonDelegateBa
 import com.espertech.esper.common.internal.event.json.parser.core.JsonHandlerDelegator;
 import com.espertech.esper.common.internal.event.json.parser.delegates.endvalue.JsonEndValueForgeInteger;
 
-import java.util.Iterator;
+import java.util.Arrays;
 
 public class JsonDelegateArrayIntegerPrimitive extends JsonDelegateArrayBase {
+    private int[] values = new int[8];
+    private int count;
+
     public JsonDelegateArrayIntegerPrimitive(JsonHandlerDelegator baseHandler, JsonDelegateBase parent) {
         super(baseHandler, parent);
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeInteger.jsonToIntegerNonNull(stringValue));
+        int value = JsonEndValueForgeInteger.jsonToIntegerNonNull(this);
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        values[count++] = value;
     }
 
     public Object getResult() {
-        int[] array = new int[collection.size()];
-        Iterator<Integer> it = collection.iterator();
-        int count = 0;
-        while (it.hasNext()) {
-            array[count++] = it.next();
-        }
-        return array;
+        return Arrays.copyOf(values, count);
     }
 }
@@ -22,7 +22,7 @@ public class JsonDelegateArrayLocalDate extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeLocalDate.jsonToLocalDate(stringValue, name));
+        collection.add(JsonEndValueForgeLocalDate.jsonToLocalDate(getStringValue(), name));
     }
 
     public Object getResult() {
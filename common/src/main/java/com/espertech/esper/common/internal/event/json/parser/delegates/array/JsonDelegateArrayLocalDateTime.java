@@ -22,7 +22,7 @@ public class JsonDelegateArrayLocalDateTime extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeLocalDateTime.jsonToLocalDateTime(stringValue, name));
+        collection.add(JsonEndValueForgeLocalDateTime.jsonToLocalDateTime(getStringValue(), name));
     }
 
     public Object getResult() {
@@ -20,7 +20,7 @@ public class JsonDelegateArrayLong extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeLong.jsonToLong(stringValue, name));
+        collection.add(JsonEndValueForgeLong.jsonToLong(this, name));
     }
 
     public Object getResult() {
@@ -14,24 +14,25 @@ import com.espertech.esper.common.internal.event.json.parser.core.JsonDelegateBa
 import com.espertech.esper.common.internal.event.json.parser.core.JsonHandlerDelegator;
 import com.espertech.esper.common.internal.event.json.parser.delegates.endvalue.JsonEndValueForgeLong;
 
-import java.util.Iterator;
+import java.util.Arrays;
 
 public class JsonDelegateArrayLongPrimitive extends JsonDelegateArrayBase {
+    private long[] values = new long[8];
+    private int count;
+
     public JsonDelegateArrayLongPrimitive(JsonHandlerDelegator baseHandler, JsonDelegateBase parent) {
         super(baseHandler, parent);
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeLong.jsonToLongNonNull(stringValue, name));
+        long value = JsonEndValueForgeLong.jsonToLongNonNull(this, name);
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        values[count++] = value;
     }
 
     public Object getResult() {
-        long[] array = new long[collection.size()];
-        Iterator<Long> it = collection.iterator();
-        int count = 0;
-        while (it.hasNext()) {
-            array[count++] = it.next();
-        }
-        return array;
+        return Arrays.copyOf(values, count);
     }
 }
@@ -22,7 +22,7 @@ public class JsonDelegateArrayOffsetDateTime extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeOffsetDateTime.jsonToOffsetDateTime(stringValue, name));
+        collection.add(JsonEndValueForgeOffsetDateTime.jsonToOffsetDateTime(getStringValue(), name));
     }
 
     public Object getResult() {
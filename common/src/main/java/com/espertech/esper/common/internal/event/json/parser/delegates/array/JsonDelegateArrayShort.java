@@ -20,7 +20,7 @@ public class JsonDelegateArrayShort extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeShort.jsonToShort(stringValue, name));
+        collection.add(JsonEndValueForgeShort.jsonToShort(getStringValue(), name));
     }
 
     public Object getResult() {
@@ -14,24 +14,25 @@ import com.espertech.esper.common.internal.event.json.parser.core.JsonDelegateBa
 import com.espertech.esper.common.internal.event.json.parser.core.JsonHandlerDelegator;
 import com.espertech.esper.common.internal.event.json.parser.delegates.endvalue.JsonEndValueForgeShort;
 
-import java.util.Iterator;
+import java.util.Arrays;
 
 public class JsonDelegateArrayShortPrimitive extends JsonDelegateArrayBase {
+    private short[] values = new short[8];
+    private int count;
+
     public JsonDelegateArrayShortPrimitive(JsonHandlerDelegator baseHandler, JsonDelegateBase parent) {
         super(baseHandler, parent);
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeShort.jsonToShortNonNull(stringValue, name));
+        short value = JsonEndValueForgeShort.jsonToShortNonNull(getStringValue(), name);
+        if (count == values.length) {
+            values = Arrays.copyOf(values, count * 2);
+        }
+        values[count++] = value;
     }
 
     public Object getResult() {
-        short[] array = new short[collection.size()];
-        Iterator<Short> it = collection.iterator();
-        int count = 0;
-        while (it.hasNext()) {
-            array[count++] = it.next();
-        }
-        return array;
+        return Arrays.copyOf(values, count);
     }
 }
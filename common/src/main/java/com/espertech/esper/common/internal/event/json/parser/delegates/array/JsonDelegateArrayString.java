@@ -19,7 +19,7 @@ public class JsonDelegateArrayString extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(stringValue);
+        collection.add(getStringValue());
     }
 
     public Object getResult() {
@@ -22,7 +22,7 @@ public class JsonDelegateArrayURI extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeURI.jsonToURI(stringValue, name));
+        collection.add(JsonEndValueForgeURI.jsonToURI(getStringValue(), name));
     }
 
     public Object getResult() {
@@ -22,7 +22,7 @@ public class JsonDelegateArrayURL extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeURL.jsonToURL(stringValue, name));
+        collection.add(JsonEndValueForgeURL.jsonToURL(getStringValue(), name));
     }
 
     public Object getResult() {
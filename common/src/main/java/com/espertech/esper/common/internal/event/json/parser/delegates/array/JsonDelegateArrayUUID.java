@@ -22,7 +22,7 @@ public class JsonDelegateArrayUUID extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeUUID.jsonToUUID(stringValue, name));
+        collection.add(JsonEndValueForgeUUID.jsonToUUID(getStringValue(), name));
     }
 
     public Object getResult() {
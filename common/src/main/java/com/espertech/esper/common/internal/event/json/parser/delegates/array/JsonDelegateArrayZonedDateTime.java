@@ -22,7 +22,7 @@ public class JsonDelegateArrayZonedDateTime extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(JsonEndValueForgeZonedDateTime.jsonToZonedDateTime(stringValue, name));
+        collection.add(JsonEndValueForgeZonedDateTime.jsonToZonedDateTime(getStringValue(), name));
     }
 
     public Object getResult() {
@@ -19,7 +19,7 @@ public class JsonDelegateCollectionString extends JsonDelegateArrayBase {
     }
 
     public void endOfArrayValue(String name) {
-        collection.add(stringValue);
+        collection.add(getStringValue());
     }
 
     public Object getResult() {
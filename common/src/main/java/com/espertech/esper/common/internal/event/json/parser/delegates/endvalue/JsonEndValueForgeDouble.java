@@ -13,6 +13,7 @@ package com.espertech.esper.common.internal.event.json.parser.delegates.endvalue
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
 import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpression;
+import com.espertech.esper.common.internal.event.json.parser.core.JsonDelegateBase;
 
 import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.staticMethod;
 import static com.espertech.esper.common.internal.event.json.parser.delegates.endvalue.JsonEndValueForgeUtil.handleNumberException;
@@ -24,7 +25,21 @@ public class JsonEndValueForgeDouble implements JsonEndValueForge {
     }
 
     public CodegenExpression captureValue(JsonEndValueRefs refs, CodegenMethod method, CodegenClassScope classScope) {
-        return staticMethod(JsonEndValueForgeDouble.class, "jsonToDouble", refs.getValueString(), refs.getName());
+        return staticMethod(JsonEndValueForgeDouble.class, "jsonToDouble", refs.getDelegate(), refs.getName());
+    }
+
+    public static Double jsonToDouble(JsonDelegateBase delegate, String name) {
+        if (delegate.isNumberDecodedDouble()) {
+            return delegate.getNumberDouble();
+        }
+        return jsonToDouble(delegate.getStringValue(), name);
+    }
+
+    public static double jsonToDoubleNonNull(JsonDelegateBase delegate, String name) {
+        if (delegate.isNumberDecodedDouble()) {
+            return delegate.getNumberDouble();
+        }
+        return jsonToDoubleNonNull(delegate.getStringValue(), name);
     }
 
     public static Double jsonToDouble(String value, String name) {
@@ -13,6 +13,7 @@ package com.espertech.esper.common.internal.event.json.parser.delegates.endvalue
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
 import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpression;
+import com.espertech.esper.common.internal.event.json.parser.core.JsonDelegateBase;
 
 import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.staticMethod;
 import static com.espertech.esper.common.internal.event.json.parser.delegates.endvalue.JsonEndValueForgeUtil.handleNumberException;
@@ -24,7 +25,27 @@ public class JsonEndValueForgeInteger implements JsonEndValueForge {
     }
 
     public CodegenExpression captureValue(JsonEndValueRefs refs, CodegenMethod method, CodegenClassScope classScope) {
-        return staticMethod(JsonEndValueForgeInteger.class, "jsonToInteger", refs.getValueString(), refs.getName());
+        return staticMethod(JsonEndValueForgeInteger.class, "jsonToInteger", refs.getDelegate(), refs.getName());
+    }
+
+    public static Integer jsonToInteger(JsonDelegateBase delegate, String name) {
+        if (delegate.isNumberDecodedLong()) {
+            long value = delegate.getNumberLong();
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+        }
+        return jsonToInteger(delegate.getStringValue(), name);
+    }
+
+    public static int jsonToIntegerNonNull(JsonDelegateBase delegate) {
+        if (delegate.isNumberDecodedLong()) {
+            long value = delegate.getNumberLong();
+            if (value >= Integer.MIN_VALUE && value <= Integer.MAX_VALUE) {
+                return (int) value;
+            }
+        }
+        return Integer.parseInt(delegate.getStringValue());
     }
 
     public static Integer jsonToInteger(String value, String name) {
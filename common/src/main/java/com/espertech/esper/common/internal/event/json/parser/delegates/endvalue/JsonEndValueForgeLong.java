@@ -13,6 +13,7 @@ package com.espertech.esper.common.internal.event.json.parser.delegates.endvalue
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenClassScope;
 import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
 import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpression;
+import com.espertech.esper.common.internal.event.json.parser.core.JsonDelegateBase;
 
 import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.staticMethod;
 import static com.espertech.esper.common.internal.event.json.parser.delegates.endvalue.JsonEndValueForgeUtil.handleNumberException;
@@ -24,7 +25,21 @@ public class JsonEndValueForgeLong implements JsonEndValueForge {
     }
 
     public CodegenExpression captureValue(JsonEndValueRefs refs, CodegenMethod method, CodegenClassScope classScope) {
-        return staticMethod(JsonEndValueForgeLong.class, "jsonToLong", refs.getValueString(), refs.getName());
+        return staticMethod(JsonEndValueForgeLong.class, "jsonToLong", refs.getDelegate(), refs.getName());
+    }
+
+    public static Long jsonToLong(JsonDelegateBase delegate, String name) {
+        if (delegate.isNumberDecodedLong()) {
+            return delegate.getNumberLong();
+        }
+        return jsonToLong(delegate.getStringValue(), name);
+    }
+
+    public static long jsonToLongNonNull(JsonDelegateBase delegate, String name) {
+        if (delegate.isNumberDecodedLong()) {
+            return delegate.getNumberLong();
+        }
+        return jsonToLongNonNull(delegate.getStringValue(), name);
     }
 
     public static Long jsonToLong(String value, String name) {
@@ -12,26 +12,30 @@ package com.espertech.esper.common.internal.event.json.parser.delegates.endvalue
 
 import com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpression;
 
+import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.exprDotMethod;
 import static com.espertech.esper.common.internal.bytecodemodel.model.expression.CodegenExpressionBuilder.ref;
 
 public class JsonEndValueRefs {
-    private final static CodegenExpression STRINGVALUE = ref("stringValue");
+    private final static CodegenExpression DELEGATE = ref("this");
+    private final static CodegenExpression STRINGVALUE = exprDotMethod(DELEGATE, "getStringValue");
     private final static CodegenExpression OBJECTVALUE = ref("objectValue");
     private final static CodegenExpression ISNUMBER = ref("isNumber");
     private final static CodegenExpression JSONFIELDNAME = ref("name");
 
-    public final static JsonEndValueRefs INSTANCE = new JsonEndValueRefs(STRINGVALUE, ISNUMBER, OBJECTVALUE, JSONFIELDNAME);
+    public final static JsonEndValueRefs INSTANCE = new JsonEndValueRefs(STRINGVALUE, ISNUMBER, OBJECTVALUE, JSONFIELDNAME, DELEGATE);
 
     private final CodegenExpression valueString;
     private final CodegenExpression isNumber;
     private final CodegenExpression valueObject;
     private final CodegenExpression name;
+    private final CodegenExpression delegate;
 
-    private JsonEndValueRefs(CodegenExpression valueString, CodegenExpression isNumber, CodegenExpression valueObject, CodegenExpression name) {
+    private JsonEndValueRefs(CodegenExpression valueString, CodegenExpression isNumber, CodegenExpression valueObject, CodegenExpression name, CodegenExpression delegate) {
         this.valueString = valueString;
         this.isNumber = isNumber;
         this.valueObject = valueObject;
         this.name = name;
+        this.delegate = delegate;
     }
 
     public CodegenExpression getValueString() {
@@ -49,4 +53,8 @@ public class JsonEndValueRefs {
     public CodegenExpression getName() {
         return name;
     }
+
+    public CodegenExpression getDelegate() {
+        return delegate;
+    }
 }
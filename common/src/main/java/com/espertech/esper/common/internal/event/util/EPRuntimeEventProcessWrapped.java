@@ -23,6 +23,14 @@ public interface EPRuntimeEventProcessWrapped {
      */
     public void processWrappedEvent(EventBean eventBean);
 
+    /**
+     * Process a batch of known events in the order provided, each event processed and dispatched
+     * as if sent individually.
+     *
+     * @param eventBeans events wrapped by event beans providing the event metadata
+     */
+    public void processWrappedEvents(EventBean[] eventBeans);
+
     /**
      * For processing a routed event.
      *
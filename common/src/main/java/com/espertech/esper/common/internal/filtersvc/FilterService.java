@@ -96,6 +96,18 @@ public interface FilterService {
 
     void removeType(EventType type);
 
+    /**
+     * Starts a bulk scope for the current thread: filters added and removed by the current thread are collected
+     * and applied to the filter structure in bulk when the outermost scope ends, or earlier when
+     * the current thread evaluates an event. Scopes may nest.
+     */
+    public void beginBulk();
+
+    /**
+     * Ends a bulk scope for the current thread, applying collected filter changes when ending the outermost scope.
+     */
+    public void endBulk();
+
     public void acquireWriteLock();
 
     public void releaseWriteLock();
@@ -43,6 +43,7 @@ public class StatementMetricArray {
     //  Write lock applies to flush and to add a new statement
     private final ManagedReadWriteLock rwLock;
     private final boolean isReportInactive;
+    private final boolean isLatencyHistogram;
 
     // Active statements
     private DeploymentIdNamePair[] statementNames;
@@ -65,8 +66,22 @@ public class StatementMetricArray {
      * @param isReportInactive true to indicate to report on inactive statements
      */
     public StatementMetricArray(String runtimeURI, String name, int initialSize, boolean isReportInactive) {
+        this(runtimeURI, name, initialSize, isReportInactive, false);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param runtimeURI         runtime URI
+     * @param name               name of statement group
+     * @param initialSize        initial size of array
+     * @param isReportInactive   true to indicate to report on inactive statements
+     * @param isLatencyHistogram true to indicate that statement metrics keep a latency histogram
+     */
+    public StatementMetricArray(String runtimeURI, String name, int initialSize, boolean isReportInactive, boolean isLatencyHistogram) {
         this.runtimeURI = runtimeURI;
         this.isReportInactive = isReportInactive;
+        this.isLatencyHistogram = isLatencyHistogram;
 
         metrics = new StatementMetric[initialSize];
         statementNames = new DeploymentIdNamePair[initialSize];
@@ -169,7 +184,7 @@ public class StatementMetricArray {
             if (isReportInactive) {
                 for (int i = 0; i <= currentLastElement; i++) {
                     if (statementNames[i] != null) {
-                        metrics[i] = new StatementMetric(runtimeURI, statementNames[i].getDeploymentId(), statementNames[i].getName());
+                        metrics[i] = new StatementMetric(runtimeURI, statementNames[i].getDeploymentId(), statementNames[i].getName(), isLatencyHistogram);
                     }
                 }
             }
@@ -220,7 +235,7 @@ public class StatementMetricArray {
     public StatementMetric getAddMetric(int index) {
         StatementMetric metric = metrics[index];
         if (metric == null) {
-            metric = new StatementMetric(runtimeURI, statementNames[index].getDeploymentId(), statementNames[index].getName());
+            metric = new StatementMetric(runtimeURI, statementNames[index].getDeploymentId(), statementNames[index].getName(), isLatencyHistogram);
             metrics[index] = metric;
         }
         return metric;
@@ -11,15 +11,19 @@
 package com.espertech.esper.common.internal.metrics.stmtmetrics;
 
 import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntimeMetricsReporting;
+import com.espertech.esper.common.client.metric.LatencyHistogram;
 import com.espertech.esper.common.client.metric.StatementMetric;
 import com.espertech.esper.common.internal.collection.Pair;
 import com.espertech.esper.common.internal.type.StringPatternSet;
 import com.espertech.esper.common.internal.type.StringPatternSetUtil;
 import com.espertech.esper.common.internal.util.DeploymentIdNamePair;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * A repository for all statement metrics that organizes statements into statement groups.
@@ -30,6 +34,7 @@ public class StatementMetricRepository {
     private final ConfigurationRuntimeMetricsReporting specification;
     private final StatementMetricArray[] groupMetrics;
     private final Map<DeploymentIdNamePair, Integer> statementGroups;
+    private final Map<DeploymentIdNamePair, LatencyHistogram> latencyHistograms;
 
     /**
      * Ctor.
@@ -43,7 +48,8 @@ public class StatementMetricRepository {
         this.groupMetrics = new StatementMetricArray[numGroups];
 
         // default group
-        groupMetrics[0] = new StatementMetricArray(runtimeURI, "group-default", 100, false);
+        boolean latencyHistogram = specification.isEnableLatencyHistogram();
+        groupMetrics[0] = new StatementMetricArray(runtimeURI, "group-default", 100, false, latencyHistogram);
 
         // initialize all other groups
         int countGroups = 1;
@@ -54,11 +60,12 @@ public class StatementMetricRepository {
             if (initialNumStmts < 10) {
                 initialNumStmts = 10;
             }
-            groupMetrics[countGroups] = new StatementMetricArray(runtimeURI, "group-" + countGroups, initialNumStmts, config.isReportInactive());
+            groupMetrics[countGroups] = new StatementMetricArray(runtimeURI, "group-" + countGroups, initialNumStmts, config.isReportInactive(), latencyHistogram);
             countGroups++;
         }
 
         statementGroups = new HashMap<>();
+        latencyHistograms = latencyHistogram ? new ConcurrentHashMap<>() : null;
     }
 
     /**
@@ -104,6 +111,9 @@ public class StatementMetricRepository {
         if (group != null) {
             groupMetrics[group].removeStatement(statement);
         }
+        if (latencyHistograms != null) {
+            latencyHistograms.remove(statement);
+        }
     }
 
     /**
@@ -122,6 +132,7 @@ public class StatementMetricRepository {
             metric.addCPUTime(cpu);
             metric.addWallTime(wall);
             metric.addNumInput(numInput);
+            metric.recordLatency(wall);
         } finally {
             array.getRwLock().releaseReadLock();
         }
@@ -153,6 +164,43 @@ public class StatementMetricRepository {
      * @return metrics or null if none
      */
     public StatementMetric[] reportGroup(int group) {
-        return groupMetrics[group].flushMetrics();
+        StatementMetric[] metrics = groupMetrics[group].flushMetrics();
+        if (metrics != null && latencyHistograms != null) {
+            for (StatementMetric metric : metrics) {
+                if (metric != null && metric.getLatencyHistogram() != null && metric.getLatencyHistogram().getTotalCount() > 0) {
+                    latencyHistograms.computeIfAbsent(new DeploymentIdNamePair(metric.getDeploymentId(), metric.getStatementName()), key -> new LatencyHistogram()).merge(metric.getLatencyHistogram());
+                }
+            }
+        }
+        return metrics;
+    }
+
+    /**
+     * Returns the latency histogram of a statement accumulated over all reported intervals,
+     * or null if none is available or latency histograms are not enabled.
+     *
+     * @param statement deployment-id and name pair
+     * @return histogram
+     */
+    public LatencyHistogram getLatencyHistogram(DeploymentIdNamePair statement) {
+        return latencyHistograms == null ? null : latencyHistograms.get(statement);
+    }
+
+    /**
+     * Returns the statements that have an accumulated latency histogram.
+     *
+     * @return statements
+     */
+    public Set<DeploymentIdNamePair> getLatencyHistogramStatements() {
+        return latencyHistograms == null ? Collections.emptySet() : latencyHistograms.keySet();
+    }
+
+    /**
+     * Clears the accumulated latency histograms.
+     */
+    public void resetLatencyHistograms() {
+        if (latencyHistograms != null) {
+            latencyHistograms.clear();
+        }
     }
 }
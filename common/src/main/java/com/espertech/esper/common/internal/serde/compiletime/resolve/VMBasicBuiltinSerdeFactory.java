@@ -107,7 +107,7 @@ public class VMBasicBuiltinSerdeFactory {
      * @param cls is the Java type
      * @return serde for marshalling and unmarshalling that type
      */
-    protected static DataInputOutputSerde getSerde(Class cls) {
+    public static DataInputOutputSerde getSerde(Class cls) {
         if (cls.isPrimitive()) {
             return PRIMITIVES.get(cls);
         }
@@ -220,6 +220,18 @@ public class ClasspathImportServiceCompileTimeImpl extends ClasspathImportServic
         if (nameLowerCase.equals("nth")) {
             return new ExprNthAggNode(isDistinct);
         }
+        if (nameLowerCase.equals("percentile")) {
+            return new ExprPercentileNode(isDistinct, false);
+        }
+        if (nameLowerCase.equals("percentiles")) {
+            return new ExprPercentileNode(isDistinct, true);
+        }
+        if (nameLowerCase.equals("approxcountdistinct")) {
+            return new ExprApproxCountDistinctNode(isDistinct);
+        }
+        if (nameLowerCase.equals("approxpercentile")) {
+            return new ExprApproxPercentileNode(isDistinct);
+        }
         if (nameLowerCase.equals("leaving")) {
             return new ExprLeavingAggNode(isDistinct);
         }
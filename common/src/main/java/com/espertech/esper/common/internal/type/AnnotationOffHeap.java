@@ -0,0 +1,35 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.type;
+
+import com.espertech.esper.common.client.annotation.OffHeap;
+
+import java.lang.annotation.Annotation;
+
+public class AnnotationOffHeap implements OffHeap {
+    private final int segmentSize;
+
+    public AnnotationOffHeap(int segmentSize) {
+        this.segmentSize = segmentSize;
+    }
+
+    public int segmentSize() {
+        return segmentSize;
+    }
+
+    public Class<? extends Annotation> annotationType() {
+        return OffHeap.class;
+    }
+
+    public String toString() {
+        return "@OffHeap(segmentSize=" + segmentSize + ")";
+    }
+}
@@ -12,14 +12,13 @@ package com.espertech.esper.common.internal.view.exttimedwin;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.EventType;
-import com.espertech.esper.common.internal.collection.TimeWindow;
+import com.espertech.esper.common.internal.collection.TimeWindowRing;
 import com.espertech.esper.common.internal.collection.ViewUpdatedCollection;
 import com.espertech.esper.common.internal.context.util.AgentInstanceContext;
 import com.espertech.esper.common.internal.epl.expression.time.eval.TimePeriodProvide;
 import com.espertech.esper.common.internal.util.CollectionUtil;
 import com.espertech.esper.common.internal.view.core.*;
 
-import java.util.ArrayDeque;
 import java.util.Iterator;
 
 /**
@@ -44,7 +43,7 @@ public class ExternallyTimedWindowView extends ViewSupport implements DataWindow
     private final ExternallyTimedWindowViewFactory factory;
 
     private final EventBean[] eventsPerStream = new EventBean[1];
-    protected final TimeWindow timeWindow;
+    protected final TimeWindowRing timeWindow;
     private ViewUpdatedCollection viewUpdatedCollection;
     protected AgentInstanceViewFactoryChainContext agentInstanceViewFactoryContext;
     private final TimePeriodProvide timePeriodProvide;
@@ -55,7 +54,7 @@ public class ExternallyTimedWindowView extends ViewSupport implements DataWindow
                                      TimePeriodProvide timePeriodProvide) {
         this.factory = factory;
         this.viewUpdatedCollection = viewUpdatedCollection;
-        this.timeWindow = new TimeWindow(agentInstanceViewFactoryContext.isRemoveStream());
+        this.timeWindow = new TimeWindowRing(agentInstanceViewFactoryContext.isRemoveStream());
         this.agentInstanceViewFactoryContext = agentInstanceViewFactoryContext;
         this.timePeriodProvide = timePeriodProvide;
     }
@@ -81,14 +80,14 @@ public class ExternallyTimedWindowView extends ViewSupport implements DataWindow
         }
 
         // Remove from the window any events that have an older timestamp then the last event's timestamp
-        ArrayDeque<EventBean> expired = null;
+        EventBean[] expired = null;
         if (timestamp != -1) {
             expired = timeWindow.expireEvents(timestamp - timePeriodProvide.deltaSubtract(timestamp, null, true, agentInstanceViewFactoryContext) + 1);
         }
 
         EventBean[] oldDataUpdate = null;
-        if ((expired != null) && (!expired.isEmpty())) {
-            oldDataUpdate = expired.toArray(new EventBean[expired.size()]);
+        if ((expired != null) && (expired.length > 0)) {
+            oldDataUpdate = expired;
         }
 
         if ((oldData != null) && (agentInstanceViewFactoryContext.isRemoveStream())) {
@@ -84,6 +84,9 @@ public class TestConfigurationParser extends TestCase {
         assertNull(byteCode.getThreadPoolCompilerCapacity());
         assertEquals(16*1024, byteCode.getMaxMethodsPerClass());
         assertTrue(byteCode.isAllowInlinedClass());
+        assertEquals(ConfigurationCompilerByteCode.CodegenBackend.SOURCE, byteCode.getCodegenBackend());
+        assertNull(byteCode.getCompileCacheDirectory());
+        assertEquals(256 * 1024 * 1024, byteCode.getCompileCacheMaxSize());
         assertEquals(StreamSelector.ISTREAM_ONLY, compiler.getStreamSelection().getDefaultStreamSelector());
         assertFalse(compiler.getLanguage().isSortUsingCollator());
         assertFalse(compiler.getExpression().isIntegerDivision());
@@ -119,10 +122,24 @@ public class TestConfigurationParser extends TestCase {
         assertEquals(2, runtime.getThreading().getThreadPoolTimerExecNumThreads());
         assertNull(runtime.getThreading().getThreadPoolInboundCapacity());
         assertNull(runtime.getThreading().getThreadPoolOutboundCapacity());
+        assertFalse(runtime.getThreading().isThreadPoolInboundVirtualThreads());
+        assertFalse(runtime.getThreading().isThreadPoolOutboundVirtualThreads());
+        assertFalse(runtime.getThreading().isThreadPoolTimerExecVirtualThreads());
+        assertFalse(runtime.getThreading().isThreadPoolRouteExecVirtualThreads());
+        assertFalse(runtime.getThreading().isThreadPoolInboundRingBuffer());
+        assertFalse(runtime.getThreading().isThreadPoolInboundSharded());
+        assertFalse(runtime.getThreading().isThreadPoolRouteExecRingBuffer());
+        assertFalse(runtime.getThreading().isThreadPoolOutboundRingBuffer());
+        assertEquals(WaitStrategy.PARK, runtime.getThreading().getThreadPoolInboundWaitStrategy());
+        assertEquals(WaitStrategy.PARK, runtime.getThreading().getThreadPoolRouteExecWaitStrategy());
+        assertEquals(WaitStrategy.PARK, runtime.getThreading().getThreadPoolOutboundWaitStrategy());
         assertNull(runtime.getThreading().getThreadPoolRouteExecCapacity());
+        assertFalse(runtime.getThreading().isThreadPoolDeployment());
+        assertEquals(Runtime.getRuntime().availableProcessors(), runtime.getThreading().getThreadPoolDeploymentNumThreads());
         assertNull(runtime.getThreading().getThreadPoolTimerExecCapacity());
         assertFalse(runtime.getThreading().isRuntimeFairlock());
         assertFalse(runtime.getMetricsReporting().isJmxRuntimeMetrics());
+        assertFalse(runtime.getMetricsReporting().isEnableLatencyHistogram());
         assertTrue(runtime.getThreading().isNamedWindowConsumerDispatchPreserveOrder());
         assertEquals(Long.MAX_VALUE, runtime.getThreading().getNamedWindowConsumerDispatchTimeout());
         assertEquals(Locking.SPIN, runtime.getThreading().getNamedWindowConsumerDispatchLocking());
@@ -138,7 +155,9 @@ public class TestConfigurationParser extends TestCase {
         assertFalse(runtime.getExecution().isPrioritized());
         assertFalse(runtime.getExecution().isDisableLocking());
         assertEquals(FilterServiceProfile.READMOSTLY, runtime.getExecution().getFilterServiceProfile());
+        assertEquals(SchedulingServiceProfile.SORTED, runtime.getExecution().getSchedulingServiceProfile());
         assertEquals(1, runtime.getExecution().getDeclaredExprValueCacheSize());
+        assertFalse(runtime.getExecution().isFilterServiceCompiled());
         assertTrue(runtime.getExpression().isSelfSubselectPreeval());
         assertEquals(TimeZone.getDefault(), runtime.getExpression().getTimeZone());
         assertNull(runtime.getExceptionHandling().getHandlerFactories());
@@ -502,6 +521,9 @@ public class TestConfigurationParser extends TestCase {
         assertEquals(4321, (int) byteCode.getThreadPoolCompilerCapacity());
         assertEquals(5555, byteCode.getMaxMethodsPerClass());
         assertFalse(byteCode.isAllowInlinedClass());
+        assertEquals(ConfigurationCompilerByteCode.CodegenBackend.DIRECT, byteCode.getCodegenBackend());
+        assertEquals("/var/cache/epl", byteCode.getCompileCacheDirectory());
+        assertEquals(1048576, byteCode.getCompileCacheMaxSize());
         assertEquals(StreamSelector.RSTREAM_ISTREAM_BOTH, compiler.getStreamSelection().getDefaultStreamSelector());
 
         assertEquals(100, compiler.getExecution().getFilterServiceMaxFilterWidth());
@@ -556,8 +578,17 @@ public class TestConfigurationParser extends TestCase {
         assertEquals(4, runtime.getThreading().getThreadPoolRouteExecNumThreads());
         assertEquals(1000, (int) runtime.getThreading().getThreadPoolInboundCapacity());
         assertEquals(1500, (int) runtime.getThreading().getThreadPoolOutboundCapacity());
+        assertFalse(runtime.getThreading().isThreadPoolInboundVirtualThreads());
+        assertTrue(runtime.getThreading().isThreadPoolOutboundVirtualThreads());
+        assertTrue(runtime.getThreading().isThreadPoolInboundRingBuffer());
+        assertTrue(runtime.getThreading().isThreadPoolInboundSharded());
+        assertEquals(WaitStrategy.YIELD, runtime.getThreading().getThreadPoolInboundWaitStrategy());
+        assertFalse(runtime.getThreading().isThreadPoolOutboundRingBuffer());
+        assertEquals(WaitStrategy.PARK, runtime.getThreading().getThreadPoolOutboundWaitStrategy());
         assertNull(runtime.getThreading().getThreadPoolTimerExecCapacity());
         assertEquals(2000, (int) runtime.getThreading().getThreadPoolRouteExecCapacity());
+        assertTrue(runtime.getThreading().isThreadPoolDeployment());
+        assertEquals(6, runtime.getThreading().getThreadPoolDeploymentNumThreads());
         assertTrue(runtime.getThreading().isRuntimeFairlock());
 
         assertFalse(runtime.getThreading().isInternalTimerEnabled());
@@ -592,7 +623,9 @@ public class TestConfigurationParser extends TestCase {
         assertTrue(runtime.getExecution().isFairlock());
         assertTrue(runtime.getExecution().isDisableLocking());
         assertEquals(FilterServiceProfile.READWRITE, runtime.getExecution().getFilterServiceProfile());
+        assertEquals(SchedulingServiceProfile.TIMINGWHEEL, runtime.getExecution().getSchedulingServiceProfile());
         assertEquals(101, runtime.getExecution().getDeclaredExprValueCacheSize());
+        assertTrue(runtime.getExecution().isFilterServiceCompiled());
 
         ConfigurationRuntimeMetricsReporting metrics = runtime.getMetricsReporting();
         assertTrue(metrics.isEnableMetricsReporting());
@@ -601,6 +634,7 @@ public class TestConfigurationParser extends TestCase {
         assertFalse(metrics.isThreading());
         assertEquals(2, metrics.getStatementGroups().size());
         assertTrue(metrics.isJmxRuntimeMetrics());
+        assertTrue(metrics.isEnableLatencyHistogram());
         ConfigurationRuntimeMetricsReporting.StmtGroupMetrics def = metrics.getStatementGroups().get("MyStmtGroup");
         assertEquals(5000, def.getInterval());
         assertTrue(def.isDefaultInclude());
@@ -0,0 +1,112 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.client.metric;
+
+import junit.framework.TestCase;
+
+import java.util.Arrays;
+import java.util.Random;
+
+public class TestLatencyHistogram extends TestCase {
+
+    public void testBuckets() {
+        int last = -1;
+        for (long value = 0; value < 100000; value++) {
+            int index = LatencyHistogram.bucketIndex(value);
+            assertTrue(index == last || index == last + 1);
+            assertTrue(LatencyHistogram.bucketUpperBound(index) >= value);
+            if (index > 0) {
+                assertTrue(LatencyHistogram.bucketUpperBound(index - 1) < value);
+            }
+            last = index;
+        }
+        assertEquals(Long.MAX_VALUE, LatencyHistogram.bucketUpperBound(LatencyHistogram.bucketIndex(Long.MAX_VALUE)));
+    }
+
+    public void testEmpty() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0, histogram.getTotalCount());
+        assertEquals(0, histogram.getMaxValue());
+        assertEquals(0, histogram.getP50());
+        assertEquals(0, histogram.getP999());
+    }
+
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 1; i <= 1000; i++) {
+            histogram.recordValue(i * 1000L);
+        }
+        histogram.recordValue(-1);
+        assertEquals(1001, histogram.getTotalCount());
+        assertEquals(1000000, histogram.getMaxValue());
+        assertEquals(1000000, histogram.getValueAtPercentile(100));
+        assertEquals(0, histogram.getValueAtPercentile(0));
+        assertWithin(500000, histogram.getP50());
+        assertWithin(990000, histogram.getP99());
+        assertWithin(999000, histogram.getP999());
+    }
+
+    public void testRandomAgainstSorted() {
+        Random random = new Random(1);
+        LatencyHistogram histogram = new LatencyHistogram();
+        long[] values = new long[10000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 30);
+            histogram.recordValue(values[i]);
+        }
+        Arrays.sort(values);
+        for (double percentile : new double[]{1, 10, 50, 90, 99, 99.9}) {
+            long expected = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long actual = histogram.getValueAtPercentile(percentile);
+            assertTrue(actual >= expected);
+            if (expected >= 16) {
+                assertWithin(expected, actual);
+            }
+        }
+        assertEquals(values[values.length - 1], histogram.getMaxValue());
+    }
+
+    public void testMerge() {
+        LatencyHistogram one = new LatencyHistogram();
+        LatencyHistogram two = new LatencyHistogram();
+        LatencyHistogram all = new LatencyHistogram();
+        for (int i = 0; i < 1000; i++) {
+            long value = i * 37L;
+            (i % 3 == 0 ? one : two).recordValue(value);
+            all.recordValue(value);
+        }
+        one.merge(two);
+        assertEquals(all.getTotalCount(), one.getTotalCount());
+        assertEquals(all.getMaxValue(), one.getMaxValue());
+        for (double percentile = 0; percentile <= 100; percentile += 0.5) {
+            assertEquals(all.getValueAtPercentile(percentile), one.getValueAtPercentile(percentile));
+        }
+    }
+
+    public void testStatementMetric() {
+        StatementMetric metric = new StatementMetric("uri", "dep", "stmt");
+        metric.recordLatency(100);
+        assertNull(metric.getLatencyHistogram());
+        assertEquals(0, metric.getLatencyMax());
+
+        metric = new StatementMetric("uri", "dep", "stmt", true);
+        metric.recordLatency(100);
+        metric.recordLatency(200);
+        assertEquals(2, metric.getLatencyHistogram().getTotalCount());
+        assertEquals(200, metric.getLatencyMax());
+        assertEquals(200, metric.getLatencyP999());
+        assertTrue(metric.getLatencyP50() >= 100 && metric.getLatencyP50() < 107);
+    }
+
+    private static void assertWithin(long expected, long actual) {
+        assertTrue("expected " + expected + " actual " + actual, Math.abs(actual - expected) <= expected / 16);
+    }
+}
@@ -0,0 +1,41 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.client.metric;
+
+import junit.framework.TestCase;
+
+public class TestStatementMetric extends TestCase {
+
+    public void testLatencyHistogramAllocatedOnFirstSample() {
+        StatementMetric metric = new StatementMetric("uri", "dep", "stmt", true);
+        assertNull(metric.getLatencyHistogram());
+        assertEquals(0, metric.getLatencyP99());
+        assertEquals(0, metric.getLatencyMax());
+
+        metric.recordLatency(100);
+        metric.recordLatency(300);
+        LatencyHistogram histogram = metric.getLatencyHistogram();
+        assertNotNull(histogram);
+        assertEquals(2, histogram.getTotalCount());
+        assertEquals(300, metric.getLatencyMax());
+
+        metric.recordLatency(200);
+        assertSame(histogram, metric.getLatencyHistogram());
+        assertEquals(3, histogram.getTotalCount());
+    }
+
+    public void testLatencyHistogramDisabled() {
+        StatementMetric metric = new StatementMetric("uri", "dep", "stmt");
+        metric.recordLatency(100);
+        assertNull(metric.getLatencyHistogram());
+        assertEquals(0, metric.getLatencyP50());
+    }
+}
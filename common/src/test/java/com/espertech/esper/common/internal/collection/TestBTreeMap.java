@@ -0,0 +1,152 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestBTreeMap extends TestCase {
+
+    public void testCodec() {
+        assertEquals(BTreeMapKeyCodec.INTEGER, BTreeMapKeyCodec.of(int.class));
+        assertEquals(BTreeMapKeyCodec.DOUBLE, BTreeMapKeyCodec.of(Double.class));
+        assertNull(BTreeMapKeyCodec.of(String.class));
+        assertNull(BTreeMapKeyCodec.of(null));
+
+        double[] doubles = new double[]{Double.NEGATIVE_INFINITY, -1e300, -1, -Double.MIN_VALUE, -0d, 0d, Double.MIN_VALUE, 1, 1e300, Double.POSITIVE_INFINITY, Double.NaN};
+        for (int i = 0; i < doubles.length; i++) {
+            long encoded = BTreeMapKeyCodec.DOUBLE.encode(doubles[i]);
+            assertEquals(doubles[i], BTreeMapKeyCodec.DOUBLE.decode(encoded));
+            for (int j = 0; j < doubles.length; j++) {
+                assertEquals(Integer.signum(Double.compare(doubles[i], doubles[j])), Long.signum(Long.compare(encoded, BTreeMapKeyCodec.DOUBLE.encode(doubles[j]))));
+            }
+        }
+        float[] floats = new float[]{Float.NEGATIVE_INFINITY, -1f, -0f, 0f, 1f, Float.NaN};
+        for (int i = 0; i < floats.length - 1; i++) {
+            assertTrue(BTreeMapKeyCodec.FLOAT.encode(floats[i]) < BTreeMapKeyCodec.FLOAT.encode(floats[i + 1]));
+            assertEquals(floats[i], BTreeMapKeyCodec.FLOAT.decode(BTreeMapKeyCodec.FLOAT.encode(floats[i])));
+        }
+        assertEquals((short) -5, BTreeMapKeyCodec.SHORT.decode(BTreeMapKeyCodec.SHORT.encode((short) -5)));
+        assertEquals(-5L, BTreeMapKeyCodec.LONG.decode(BTreeMapKeyCodec.LONG.encode(-5L)));
+    }
+
+    public void testBasic() {
+        BTreeMap<String> map = new BTreeMap<>(BTreeMapKeyCodec.INTEGER);
+        assertTrue(map.isEmpty());
+        assertNull(map.get(1));
+        assertNull(map.put(5, "a"));
+        assertNull(map.put(1, "b"));
+        assertEquals("a", map.put(5, "c"));
+        assertEquals(2, map.size());
+        assertEquals(1, map.firstKey());
+        assertEquals(5, map.lastKey());
+        assertEquals(Arrays.asList("b", "c"), new ArrayList<>(map.values()));
+        assertEquals(Collections.singletonMap(5, "c"), new HashMap<>(map.tailMap(2)));
+        assertTrue(map.subMap(2, true, 4, true).isEmpty());
+        assertTrue(map.subMap(5, false, 5, false).isEmpty());
+
+        try {
+            map.subMap(5, true, 1, true);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            // expected
+        }
+
+        assertEquals("b", map.remove(1));
+        assertNull(map.remove(1));
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertFalse(map.values().iterator().hasNext());
+        try {
+            map.firstKey();
+            fail();
+        } catch (NoSuchElementException ex) {
+            // expected
+        }
+    }
+
+    public void testRandomAgainstTreeMap() {
+        runRandom(BTreeMapKeyCodec.INTEGER, 1);
+        runRandom(null, 2);
+    }
+
+    public void testRandomDoubleAgainstTreeMap() {
+        Random random = new Random(3);
+        BTreeMap<Integer> map = new BTreeMap<>(BTreeMapKeyCodec.DOUBLE);
+        TreeMap<Object, Integer> expected = new TreeMap<>();
+        for (int i = 0; i < 20000; i++) {
+            Double key = (random.nextInt(2000) - 1000) / 7d;
+            if (random.nextInt(3) != 0) {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+        }
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+        assertEquals(new ArrayList<>(expected.subMap(-10d, true, 10d, false).values()), new ArrayList<>(map.subMap(-10d, true, 10d, false).values()));
+    }
+
+    private void runRandom(BTreeMapKeyCodec codec, long seed) {
+        Random random = new Random(seed);
+        BTreeMap<Integer> map = new BTreeMap<>(codec);
+        TreeMap<Object, Integer> expected = new TreeMap<>();
+        int range = 5000;
+        for (int i = 0; i < 200000; i++) {
+            // phases of mostly-insert and mostly-remove to exercise splits as well as merges
+            boolean insertPhase = (i / 20000) % 2 == 0;
+            Integer key = random.nextInt(range);
+            if (random.nextInt(10) < (insertPhase ? 8 : 2)) {
+                assertEquals(expected.put(key, i), map.put(key, i));
+            } else {
+                assertEquals(expected.remove(key), map.remove(key));
+            }
+            assertEquals(expected.size(), map.size());
+
+            if (i % 997 == 0) {
+                assertSame(expected, map, random, range);
+            }
+        }
+        assertSame(expected, map, random, range);
+
+        for (Object key : new ArrayList<>(expected.keySet())) {
+            assertEquals(expected.remove(key), map.remove(key));
+        }
+        assertTrue(map.isEmpty());
+        assertFalse(map.values().iterator().hasNext());
+    }
+
+    private void assertSame(TreeMap<Object, Integer> expected, BTreeMap<Integer> map, Random random, int range) {
+        assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(map.values()));
+        assertEquals(new ArrayList<>(expected.keySet()), new ArrayList<>(map.keySet()));
+        if (!expected.isEmpty()) {
+            assertEquals(expected.firstKey(), map.firstKey());
+            assertEquals(expected.lastKey(), map.lastKey());
+        }
+        for (int i = 0; i < 20; i++) {
+            int from = random.nextInt(range);
+            int to = from + random.nextInt(range / 10);
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+            assertRange(expected.subMap(from, fromInclusive, to, toInclusive), map.subMap(from, fromInclusive, to, toInclusive));
+            assertRange(expected.headMap(from, fromInclusive), map.headMap(from, fromInclusive));
+            assertRange(expected.tailMap(to, toInclusive), map.tailMap(to, toInclusive));
+            assertEquals(expected.get(from), map.get(from));
+        }
+    }
+
+    private void assertRange(Map<Object, Integer> expected, Map<Object, Integer> range) {
+        assertEquals(expected.size(), range.size());
+        assertEquals(expected.isEmpty(), range.isEmpty());
+        assertEquals(new ArrayList<>(expected.values()), new ArrayList<>(range.values()));
+        assertEquals(new ArrayList<>(expected.entrySet()), new ArrayList<>(range.entrySet()));
+    }
+}
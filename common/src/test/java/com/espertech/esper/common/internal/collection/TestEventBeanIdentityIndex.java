@@ -0,0 +1,75 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Random;
+
+public class TestEventBeanIdentityIndex extends TestCase {
+
+    public void testPutGetRemove() {
+        EventBeanIdentityIndex index = new EventBeanIdentityIndex();
+        EventBean one = createBean();
+        EventBean two = createBean();
+        assertEquals(EventBeanIdentityIndex.NOT_FOUND, index.get(one));
+
+        index.put(one, 1);
+        index.put(two, 2);
+        index.put(one, 10);
+        assertEquals(2, index.size());
+        assertEquals(10, index.get(one));
+        assertEquals(2, index.get(two));
+
+        assertEquals(10, index.remove(one));
+        assertEquals(EventBeanIdentityIndex.NOT_FOUND, index.remove(one));
+        assertEquals(1, index.size());
+
+        index.clear();
+        assertEquals(0, index.size());
+        assertEquals(EventBeanIdentityIndex.NOT_FOUND, index.get(two));
+    }
+
+    public void testRandomAgainstMap() {
+        Random random = new Random(1);
+        EventBeanIdentityIndex index = new EventBeanIdentityIndex();
+        Map<EventBean, Long> expected = new IdentityHashMap<>();
+        EventBean[] beans = new EventBean[500];
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = createBean();
+        }
+        for (int i = 0; i < 100000; i++) {
+            EventBean bean = beans[random.nextInt(beans.length)];
+            if (random.nextBoolean()) {
+                long value = random.nextInt(1000);
+                index.put(bean, value);
+                expected.put(bean, value);
+            } else {
+                Long removed = expected.remove(bean);
+                assertEquals(removed == null ? EventBeanIdentityIndex.NOT_FOUND : removed, index.remove(bean));
+            }
+            assertEquals(expected.size(), index.size());
+        }
+        for (EventBean bean : beans) {
+            Long value = expected.get(bean);
+            assertEquals(value == null ? EventBeanIdentityIndex.NOT_FOUND : value, index.get(bean));
+        }
+    }
+
+    private EventBean createBean() {
+        return SupportEventBeanFactory.createObject(new SupportBean());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+public class TestSortedDoubleOrderStatisticTree extends TestCase {
+    private SortedDoubleOrderStatisticTree tree;
+
+    public void setUp() {
+        tree = new SortedDoubleOrderStatisticTree();
+    }
+
+    public void testAddRemove() {
+        assertEquals(0, tree.size());
+        assertEquals(0, tree.toArray().length);
+
+        tree.add(5);
+        tree.add(1);
+        tree.add(0);
+        tree.add(-1);
+        tree.add(1);
+        tree.add(0.5);
+        compare(new double[]{-1, 0, 0.5, 1, 1, 5});
+
+        assertTrue(tree.remove(1));
+        compare(new double[]{-1, 0, 0.5, 1, 5});
+
+        assertTrue(tree.remove(-1));
+        tree.add(5);
+        compare(new double[]{0, 0.5, 1, 5, 5});
+
+        assertTrue(tree.remove(5));
+        assertTrue(tree.remove(5));
+        assertFalse(tree.remove(5));
+        compare(new double[]{0, 0.5, 1});
+
+        tree.add(Double.NaN);
+        assertFalse(tree.remove(Double.NaN));
+        compare(new double[]{0, 0.5, 1});
+
+        assertEquals(0, tree.countLess(0));
+        assertEquals(1, tree.countLess(0.5));
+        assertEquals(3, tree.countLess(2));
+        assertEquals(0.5, tree.sumLess(1));
+        assertEquals(1.5, tree.getSum());
+
+        try {
+            tree.getValue(3);
+            fail();
+        } catch (IndexOutOfBoundsException ex) {
+            // expected
+        }
+
+        tree.clear();
+        compare(new double[0]);
+    }
+
+    public void testRandom() {
+        Random random = new Random(1);
+        List<Double> expected = new ArrayList<>();
+        for (int i = 0; i < 20000; i++) {
+            if (expected.isEmpty() || random.nextInt(10) < 6) {
+                double value = random.nextInt(500) / 4d;
+                tree.add(value);
+                expected.add(value);
+            } else {
+                double value = expected.get(random.nextInt(expected.size()));
+                assertTrue(tree.remove(value));
+                expected.remove(value);
+            }
+
+            if (i % 997 == 0) {
+                Collections.sort(expected);
+                double[] values = new double[expected.size()];
+                for (int j = 0; j < values.length; j++) {
+                    values[j] = expected.get(j);
+                }
+                compare(values);
+                double probe = random.nextInt(500) / 4d;
+                int less = 0;
+                double sumLess = 0;
+                while (less < values.length && values[less] < probe) {
+                    sumLess += values[less];
+                    less++;
+                }
+                assertEquals(less, tree.countLess(probe));
+                assertEquals(sumLess, tree.sumLess(probe), 1e-6);
+            }
+        }
+    }
+
+    private void compare(double[] expected) {
+        assertEquals(expected.length, tree.size());
+        double sum = 0;
+        for (double value : expected) {
+            sum += value;
+        }
+        assertEquals(sum, tree.getSum(), 1e-6);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], tree.getValue(i));
+        }
+        double[] values = tree.toArray();
+        assertEquals(expected.length, values.length);
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], values[i]);
+        }
+    }
+}
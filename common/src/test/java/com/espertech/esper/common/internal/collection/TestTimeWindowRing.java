@@ -0,0 +1,183 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.collection;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+
+public class TestTimeWindowRing extends TestCase {
+    private final TimeWindowRing window = new TimeWindowRing(false);
+    private final TimeWindowRing windowRemovable = new TimeWindowRing(true);
+    private final EventBean[] beans = new EventBean[6];
+
+    public void setUp() {
+        for (int i = 0; i < beans.length; i++) {
+            beans[i] = createBean();
+        }
+    }
+
+    public void testAdd() {
+        assertNull(window.getOldestTimestamp());
+        assertTrue(window.isEmpty());
+
+        window.add(19, beans[0]);
+        assertEquals(19L, (long) window.getOldestTimestamp());
+        assertFalse(window.isEmpty());
+        window.add(19, beans[1]);
+        window.add(20, beans[2]);
+        window.add(20, beans[3]);
+        window.add(21, beans[4]);
+        window.add(22, beans[5]);
+        assertEquals(19L, (long) window.getOldestTimestamp());
+        assertEquals(6, window.size());
+        EPAssertionUtil.assertEqualsExactOrder(beans, EPAssertionUtil.iteratorToArray(window.iterator()));
+
+        assertNull(window.expireEvents(19));
+        EPAssertionUtil.assertEqualsExactOrder(new EventBean[]{beans[0], beans[1]}, window.expireEvents(20));
+        EPAssertionUtil.assertEqualsExactOrder(new EventBean[]{beans[2], beans[3]}, window.expireEvents(21));
+        assertEquals(21L, (long) window.getOldestTimestamp());
+        EPAssertionUtil.assertEqualsExactOrder(new EventBean[]{beans[4]}, window.expireEvents(22));
+        assertFalse(window.isEmpty());
+        EPAssertionUtil.assertEqualsExactOrder(new EventBean[]{beans[5]}, window.expireEvents(23));
+        assertTrue(window.isEmpty());
+        assertNull(window.getOldestTimestamp());
+        assertNull(window.expireEvents(23));
+
+        try {
+            window.remove(beans[0]);
+            fail();
+        } catch (UnsupportedOperationException ex) {
+            // expected
+        }
+    }
+
+    public void testAddRemove() {
+        for (int i = 0; i < beans.length; i++) {
+            windowRemovable.add(19 + i / 2 + (i == 5 ? 1 : 0), beans[i]);
+        }
+        windowRemovable.remove(beans[4]);
+        windowRemovable.remove(beans[0]);
+        windowRemovable.remove(beans[3]);
+        windowRemovable.remove(beans[3]);
+        windowRemovable.remove(createBean());
+        assertEquals(3, windowRemovable.size());
+        assertEquals(3, windowRemovable.getReverseIndex().size());
+        assertEquals(19L, (long) windowRemovable.getOldestTimestamp());
+        EPAssertionUtil.assertEqualsExactOrder(new EventBean[]{beans[1], beans[2], beans[5]}, EPAssertionUtil.iteratorToArray(windowRemovable.iterator()));
+
+        assertNull(windowRemovable.expireEvents(19));
+        EPAssertionUtil.assertEqualsExactOrder(new EventBean[]{beans[1]}, windowRemovable.expireEvents(20));
+        EPAssertionUtil.assertEqualsExactOrder(new EventBean[]{beans[2]}, windowRemovable.expireEvents(21));
+        assertEquals(22L, (long) windowRemovable.getOldestTimestamp());
+        assertNull(windowRemovable.expireEvents(22));
+        EPAssertionUtil.assertEqualsExactOrder(new EventBean[]{beans[5]}, windowRemovable.expireEvents(23));
+        assertTrue(windowRemovable.isEmpty());
+        assertNull(windowRemovable.getOldestTimestamp());
+        assertEquals(0, windowRemovable.getReverseIndex().size());
+
+        // remove last and first
+        windowRemovable.add(30, beans[0]);
+        windowRemovable.add(31, beans[1]);
+        windowRemovable.remove(beans[1]);
+        windowRemovable.remove(beans[0]);
+        assertTrue(windowRemovable.isEmpty());
+        assertNull(windowRemovable.getOldestTimestamp());
+        assertFalse(windowRemovable.iterator().hasNext());
+    }
+
+    public void testAdjust() {
+        window.add(10, beans[0]);
+        window.add(20, beans[1]);
+        window.adjust(5);
+        assertEquals(15L, (long) window.getOldestTimestamp());
+        EPAssertionUtil.assertEqualsExactOrder(new EventBean[]{beans[0]}, window.expireEvents(25));
+        EPAssertionUtil.assertEqualsExactOrder(new EventBean[]{beans[1]}, window.expireEvents(26));
+    }
+
+    public void testGrowShrink() {
+        List<EventBean> events = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            EventBean bean = createBean();
+            events.add(bean);
+            windowRemovable.add(i, bean);
+        }
+        assertTrue(windowRemovable.getCapacity() >= 1000);
+        EPAssertionUtil.assertEqualsExactOrder(events.toArray(), EPAssertionUtil.iteratorToArray(windowRemovable.iterator()));
+        EventBean[] expired = windowRemovable.expireEvents(990);
+        assertEquals(990, expired.length);
+        assertSame(events.get(989), expired[989]);
+        assertTrue(windowRemovable.getCapacity() <= 64);
+        assertEquals(10, windowRemovable.size());
+        windowRemovable.remove(events.get(995));
+        EPAssertionUtil.assertEqualsExactOrder(new Object[]{events.get(990), events.get(991), events.get(992), events.get(993), events.get(994), events.get(996), events.get(997), events.get(998), events.get(999)},
+            EPAssertionUtil.iteratorToArray(windowRemovable.iterator()));
+    }
+
+    public void testRandomAgainstTimeWindow() {
+        Random random = new Random(1);
+        TimeWindow expected = new TimeWindow(true);
+        List<EventBean> added = new ArrayList<>();
+        long time = 0;
+        for (int i = 0; i < 20000; i++) {
+            int action = random.nextInt(10);
+            if (action < 6) {
+                time += random.nextInt(3);
+                EventBean bean = createBean();
+                added.add(bean);
+                expected.add(time, bean);
+                windowRemovable.add(time, bean);
+            } else if (action < 8) {
+                if (!added.isEmpty()) {
+                    EventBean bean = added.get(random.nextInt(added.size()));
+                    expected.remove(bean);
+                    windowRemovable.remove(bean);
+                }
+            } else {
+                long expireBefore = time - random.nextInt(20);
+                ArrayDeque<EventBean> expectedExpired = expected.expireEvents(expireBefore);
+                EventBean[] actualExpired = windowRemovable.expireEvents(expireBefore);
+                if (expectedExpired == null || expectedExpired.isEmpty()) {
+                    assertTrue(actualExpired == null || actualExpired.length == 0);
+                } else {
+                    EPAssertionUtil.assertEqualsExactOrder(expectedExpired.toArray(), actualExpired);
+                }
+            }
+            assertEquals(expected.isEmpty(), windowRemovable.isEmpty());
+            if (!expected.isEmpty()) {
+                assertEquals(expected.getOldestTimestamp(), windowRemovable.getOldestTimestamp());
+            }
+            if (i % 100 == 0) {
+                EPAssertionUtil.assertEqualsExactOrder(toArray(expected.iterator()), toArray(windowRemovable.iterator()));
+            }
+        }
+    }
+
+    private static Object[] toArray(Iterator<EventBean> iterator) {
+        List<Object> result = new ArrayList<>();
+        while (iterator.hasNext()) {
+            result.add(iterator.next());
+        }
+        return result.toArray();
+    }
+
+    private EventBean createBean() {
+        return SupportEventBeanFactory.createObject(new SupportBean());
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.approx.hyperloglog;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+public class TestHyperLogLogPlusPlus extends TestCase {
+
+    public void testEstimate() {
+        HyperLogLogPlusPlus sketch = new HyperLogLogPlusPlus();
+        assertEquals(0, sketch.estimate());
+
+        for (int i = 0; i < 10; i++) {
+            sketch.addString("E" + i);
+            sketch.addString("E" + i);
+        }
+        assertEquals(10, sketch.estimate());
+        assertFalse(sketch.isDense());
+
+        for (long i = 0; i < 100000; i++) {
+            sketch.addLong(i);
+        }
+        assertTrue(sketch.isDense());
+        assertEstimate(100010, sketch.estimate());
+
+        sketch.clear();
+        assertEquals(0, sketch.estimate());
+        assertFalse(sketch.isDense());
+    }
+
+    public void testAddObject() {
+        HyperLogLogPlusPlus sketch = new HyperLogLogPlusPlus();
+        sketch.add(null);
+        sketch.add(1);
+        sketch.add(1L);
+        sketch.add(0d);
+        sketch.add(-0d);
+        sketch.add("a");
+        sketch.add(new byte[]{1, 2});
+        sketch.add(new byte[]{1, 2});
+        assertEquals(4, sketch.estimate());
+    }
+
+    public void testMerge() {
+        HyperLogLogPlusPlus one = new HyperLogLogPlusPlus();
+        HyperLogLogPlusPlus two = new HyperLogLogPlusPlus();
+        for (long i = 0; i < 60000; i++) {
+            one.addLong(i);
+        }
+        for (long i = 30000; i < 90000; i++) {
+            two.addLong(i);
+        }
+        HyperLogLogPlusPlus sparse = new HyperLogLogPlusPlus();
+        sparse.addLong(100000);
+
+        one.merge(two);
+        one.merge(sparse);
+        assertEstimate(90001, one.estimate());
+
+        sparse.merge(two);
+        assertTrue(sparse.isDense());
+        assertEstimate(60001, sparse.estimate());
+
+        try {
+            one.merge(new HyperLogLogPlusPlus(10));
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals("Cannot merge sketches of precision 14 and 10", ex.getMessage());
+        }
+    }
+
+    public void testWriteRead() throws IOException {
+        HyperLogLogPlusPlus sketch = new HyperLogLogPlusPlus(12);
+        for (long i = 0; i < 100; i++) {
+            sketch.addLong(i);
+        }
+        HyperLogLogPlusPlus copy = writeRead(sketch);
+        assertEquals(12, copy.getPrecision());
+        assertFalse(copy.isDense());
+        assertEquals(sketch.estimate(), copy.estimate());
+
+        for (long i = 0; i < 10000; i++) {
+            sketch.addLong(i);
+        }
+        copy = writeRead(sketch);
+        assertTrue(copy.isDense());
+        assertEquals(sketch.estimate(), copy.estimate());
+    }
+
+    public void testInvalidPrecision() {
+        try {
+            new HyperLogLogPlusPlus(3);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals("Precision must be between 4 and 18 but was 3", ex.getMessage());
+        }
+    }
+
+    private static HyperLogLogPlusPlus writeRead(HyperLogLogPlusPlus sketch) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        sketch.write(new DataOutputStream(bytes));
+        return HyperLogLogPlusPlus.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+    }
+
+    private static void assertEstimate(long expected, long estimate) {
+        assertTrue("estimate " + estimate + " for " + expected, Math.abs(estimate - expected) < expected * 0.03);
+    }
+}
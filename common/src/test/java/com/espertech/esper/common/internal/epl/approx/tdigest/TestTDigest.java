@@ -0,0 +1,125 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.approx.tdigest;
+
+import junit.framework.TestCase;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+
+public class TestTDigest extends TestCase {
+
+    public void testSmall() {
+        TDigest digest = new TDigest();
+        assertEquals(0, digest.size());
+        assertTrue(Double.isNaN(digest.quantile(0.5)));
+
+        digest.add(5);
+        assertEquals(5d, digest.quantile(0));
+        assertEquals(5d, digest.quantile(0.5));
+        assertEquals(5d, digest.quantile(1));
+
+        digest.add(Double.NaN);
+        digest.add(1);
+        digest.add(3);
+        assertEquals(3, digest.size());
+        assertEquals(1d, digest.quantile(0));
+        assertEquals(3d, digest.quantile(0.5));
+        assertEquals(5d, digest.quantile(1));
+
+        digest.clear();
+        assertEquals(0, digest.size());
+    }
+
+    public void testAccuracy() {
+        Random random = new Random(1);
+        TDigest digest = new TDigest();
+        double[] values = new double[100000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextGaussian();
+            digest.add(values[i]);
+        }
+        Arrays.sort(values);
+        assertEquals(values.length, digest.size());
+        assertEquals(values[0], digest.quantile(0));
+        assertEquals(values[values.length - 1], digest.quantile(1));
+        for (double q : new double[]{0.001, 0.01, 0.1, 0.25, 0.5, 0.75, 0.9, 0.99, 0.999}) {
+            assertQuantile(values, q, digest.quantile(q));
+        }
+    }
+
+    public void testMerge() {
+        Random random = new Random(1);
+        TDigest one = new TDigest();
+        TDigest two = new TDigest();
+        double[] values = new double[20000];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = random.nextDouble() * 1000;
+            (i % 2 == 0 ? one : two).add(values[i]);
+        }
+        Arrays.sort(values);
+        one.merge(two);
+        assertEquals(values.length, one.size());
+        assertEquals(values.length / 2, two.size());
+        for (double q : new double[]{0.01, 0.5, 0.99}) {
+            assertQuantile(values, q, one.quantile(q));
+        }
+
+        try {
+            one.merge(one);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals("Cannot merge a digest into itself", ex.getMessage());
+        }
+    }
+
+    public void testWriteRead() throws IOException {
+        TDigest digest = new TDigest(50);
+        for (int i = 0; i < 1000; i++) {
+            digest.add(i);
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        digest.write(new DataOutputStream(bytes));
+        TDigest copy = TDigest.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())));
+        assertEquals(50d, copy.getCompression());
+        assertEquals(1000, copy.size());
+        for (double q : new double[]{0, 0.1, 0.5, 0.9, 1}) {
+            assertEquals(digest.quantile(q), copy.quantile(q));
+        }
+        copy.add(1000);
+        assertEquals(1001, copy.size());
+        assertEquals(1000d, copy.quantile(1));
+    }
+
+    public void testInvalidQuantile() {
+        try {
+            new TDigest().quantile(1.5);
+            fail();
+        } catch (IllegalArgumentException ex) {
+            assertEquals("Quantile must be between 0 and 1 but was 1.5", ex.getMessage());
+        }
+    }
+
+    private static void assertQuantile(double[] sorted, double q, double estimate) {
+        // compare by rank, the rank error of the estimate is small relative to q * (1 - q)
+        int rank = Arrays.binarySearch(sorted, estimate);
+        if (rank < 0) {
+            rank = -rank - 1;
+        }
+        double estimatedQ = rank / (double) sorted.length;
+        assertEquals("quantile " + q, q, estimatedQ, Math.max(0.0005, q * (1 - q) * 0.02));
+    }
+}
@@ -0,0 +1,171 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.hash;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventPropertyValueGetter;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestPropertyHashedEventTablePrimitive extends TestCase {
+
+    private final static EventPropertyValueGetter GETTER = new EventPropertyValueGetter() {
+        public Object get(EventBean eventBean) {
+            return ((SupportBean) eventBean.getUnderlying()).getLongBoxed();
+        }
+    };
+
+    public void testFromIndexTypes() {
+        assertEquals(PropertyHashedPrimitiveKey.INT, PropertyHashedPrimitiveKey.fromIndexTypes(new Class[]{int.class}));
+        assertEquals(PropertyHashedPrimitiveKey.LONG, PropertyHashedPrimitiveKey.fromIndexTypes(new Class[]{Long.class}));
+        assertEquals(PropertyHashedPrimitiveKey.DOUBLE, PropertyHashedPrimitiveKey.fromIndexTypes(new Class[]{double.class}));
+        assertNull(PropertyHashedPrimitiveKey.fromIndexTypes(new Class[]{String.class}));
+        assertNull(PropertyHashedPrimitiveKey.fromIndexTypes(new Class[]{short.class}));
+        assertNull(PropertyHashedPrimitiveKey.fromIndexTypes(new Class[]{int.class, int.class}));
+        assertNull(PropertyHashedPrimitiveKey.fromIndexTypes(null));
+
+        assertEquals(Double.valueOf(-0d).equals(0d), PropertyHashedPrimitiveKey.DOUBLE.toLong(-0d) == PropertyHashedPrimitiveKey.DOUBLE.toLong(0d));
+        assertEquals(PropertyHashedPrimitiveKey.DOUBLE.toLong(Double.NaN), PropertyHashedPrimitiveKey.DOUBLE.toLong(0d / 0d));
+    }
+
+    public void testFactoryChoosesTable() {
+        assertTrue(makeTable(false, PropertyHashedPrimitiveKey.LONG) instanceof PropertyHashedEventTablePrimitive);
+        assertTrue(makeTable(true, PropertyHashedPrimitiveKey.LONG) instanceof PropertyHashedEventTableUniquePrimitive);
+        assertEquals(PropertyHashedEventTableUnadorned.class, makeTable(false, null).getClass());
+        assertEquals(PropertyHashedEventTableUnique.class, makeTable(true, null).getClass());
+        assertEquals(PropertyHashedEventTable.class, makeTable(false, PropertyHashedPrimitiveKey.LONG).getProviderClass());
+        assertEquals(PropertyHashedEventTableUnique.class, makeTable(true, PropertyHashedPrimitiveKey.LONG).getProviderClass());
+    }
+
+    public void testInlineGrowth() {
+        PropertyHashedEventTable table = makeTable(false, PropertyHashedPrimitiveKey.LONG);
+        List<EventBean> events = new ArrayList<>();
+        for (int i = 0; i < PropertyHashedEventTablePrimitive.INLINE_MAX + 3; i++) {
+            EventBean event = makeEvent(10L);
+            events.add(event);
+            table.add(event, null);
+            table.add(event, null);
+            assertEquals(events, new ArrayList<>(table.lookup(10L)));
+            assertTrue(table.lookup(10L).contains(event));
+        }
+        for (int i = events.size() - 1; i >= 0; i -= 2) {
+            table.remove(events.remove(i), null);
+            assertEquals(events, new ArrayList<>(table.lookup(10L)));
+        }
+        while (!events.isEmpty()) {
+            table.remove(events.remove(0), null);
+            assertEquals(events.isEmpty(), table.lookup(10L) == null);
+        }
+        assertTrue(table.isEmpty());
+    }
+
+    public void testNullAndForeignKeys() {
+        PropertyHashedEventTable table = makeTable(false, PropertyHashedPrimitiveKey.LONG);
+        EventBean nullKey = makeEvent(null);
+        EventBean one = makeEvent(1L);
+        table.add(nullKey, null);
+        table.add(one, null);
+        assertEquals(Collections.singleton(nullKey), table.lookup(null));
+        assertEquals(Collections.singleton(one), table.lookup(1L));
+        assertNull(table.lookup(1));
+        assertEquals(2, table.getNumKeys());
+        assertEquals(new HashSet<>(Arrays.asList(nullKey, one)), toSet(table.iterator()));
+
+        table.remove(nullKey, null);
+        assertNull(table.lookup(null));
+        table.clear();
+        assertTrue(table.isEmpty());
+        assertFalse(table.iterator().hasNext());
+    }
+
+    public void testUnique() {
+        PropertyHashedEventTableUnique table = (PropertyHashedEventTableUnique) makeTable(true, PropertyHashedPrimitiveKey.LONG);
+        EventBean one = makeEvent(1L);
+        EventBean nullKey = makeEvent(null);
+        table.add(one, null);
+        table.add(one, null);
+        table.add(nullKey, null);
+        assertEquals(Collections.singleton(one), table.lookup(1L));
+        assertEquals(Collections.singleton(nullKey), table.lookup(null));
+        assertEquals(2, (int) table.getNumberOfEvents());
+        assertEquals(new HashSet<>(Arrays.asList(one, nullKey)), table.allValues());
+        assertEquals(new HashSet<>(Arrays.asList(one, nullKey)), toSet(table.iterator()));
+
+        try {
+            table.add(makeEvent(1L), null);
+            fail();
+        } catch (EPException ex) {
+            assertEquals("Unique index violation, index 'idx' is a unique index and key '1' already exists", ex.getMessage());
+        }
+
+        table.remove(one, null);
+        table.remove(nullKey, null);
+        assertTrue(table.isEmpty());
+        assertEquals(Collections.emptySet(), table.allValues());
+    }
+
+    public void testRandomAgainstUnadorned() {
+        Random random = new Random(1);
+        PropertyHashedEventTable expected = makeTable(false, null);
+        PropertyHashedEventTable table = makeTable(false, PropertyHashedPrimitiveKey.LONG);
+        List<EventBean> events = new ArrayList<>();
+        for (int i = 0; i < 2000; i++) {
+            int keyNum = random.nextInt(60);
+            events.add(makeEvent(keyNum == 0 ? null : (long) (keyNum % 20)));
+        }
+        for (int i = 0; i < 50000; i++) {
+            EventBean event = events.get(random.nextInt(events.size()));
+            if (random.nextInt(3) != 0) {
+                expected.add(event, null);
+                table.add(event, null);
+            } else {
+                expected.remove(event, null);
+                table.remove(event, null);
+            }
+        }
+        for (int keyNum = 0; keyNum < 20; keyNum++) {
+            Long key = keyNum == 0 ? null : (long) keyNum;
+            Set<EventBean> expectedEvents = expected.lookup(key);
+            Set<EventBean> found = table.lookup(key);
+            if (expectedEvents == null) {
+                assertNull(found);
+            } else {
+                assertEquals(new ArrayList<>(expectedEvents), new ArrayList<>(found));
+            }
+        }
+        assertEquals(toSet(expected.iterator()), toSet(table.iterator()));
+        assertEquals(expected.getNumKeys(), table.getNumKeys());
+        assertEquals(expected.isEmpty(), table.isEmpty());
+    }
+
+    private static PropertyHashedEventTable makeTable(boolean unique, PropertyHashedPrimitiveKey primitiveKey) {
+        PropertyHashedEventTableFactory factory = new PropertyHashedEventTableFactory(0, new String[]{"longBoxed"}, unique, "idx", GETTER, null, primitiveKey);
+        return (PropertyHashedEventTable) factory.makeEventTables(null, null)[0];
+    }
+
+    private static EventBean makeEvent(Long key) {
+        SupportBean bean = new SupportBean();
+        bean.setLongBoxed(key);
+        return SupportEventBeanFactory.createObject(bean);
+    }
+
+    private static Set<EventBean> toSet(Iterator<EventBean> iterator) {
+        Set<EventBean> result = new HashSet<>();
+        while (iterator.hasNext()) {
+            assertTrue(result.add(iterator.next()));
+        }
+        return result;
+    }
+}
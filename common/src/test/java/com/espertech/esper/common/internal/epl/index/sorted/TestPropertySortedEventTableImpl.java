@@ -0,0 +1,96 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.index.sorted;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventPropertyValueGetter;
+import com.espertech.esper.common.internal.collection.BTreeMapKeyCodec;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+import java.util.*;
+
+public class TestPropertySortedEventTableImpl extends TestCase {
+
+    private final static EventPropertyValueGetter GETTER = new EventPropertyValueGetter() {
+        public Object get(EventBean eventBean) {
+            return ((SupportBean) eventBean.getUnderlying()).getDoubleBoxed();
+        }
+    };
+
+    public void testKeyCodec() {
+        assertEquals(BTreeMapKeyCodec.DOUBLE, makeTable(Double.class).factory.keyCodec);
+        assertNull(makeTable(String.class).factory.keyCodec);
+    }
+
+    public void testLookup() {
+        PropertySortedEventTableImpl table = makeTable(Double.class);
+        List<EventBean> events = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            events.add(makeEvent(i % 7 == 0 ? null : (double) (i % 100) - 50));
+        }
+        table.add(events.toArray(new EventBean[0]), null);
+        table.remove(new EventBean[]{events.get(1), events.get(2)}, null);
+        events.remove(2);
+        events.remove(1);
+
+        assertEquals(expected(events, -10d, true, 10d, false), table.lookupRange(-10d, true, 10d, false, false));
+        assertEquals(expected(events, -10d, false, 10d, true), new HashSet<>(table.lookupRangeColl(10d, false, -10d, true, true)));
+        assertTrue(table.lookupRange(10d, true, -10d, true, false).isEmpty());
+        assertEquals(expected(events, -50d, true, -50d, true), table.lookupRange(-50, true, -50, true, false));
+        assertEquals(expected(events, Double.NEGATIVE_INFINITY, true, 0d, false), table.lookupLess(0d));
+        assertEquals(expected(events, Double.NEGATIVE_INFINITY, true, 0d, true), new HashSet<>(table.lookupLessEqualColl(0)));
+        assertEquals(expected(events, 40d, false, Double.POSITIVE_INFINITY, true), table.lookupGreater(40d));
+        assertEquals(expected(events, 40d, true, Double.POSITIVE_INFINITY, true), new HashSet<>(table.lookupGreaterEqualColl(40d)));
+
+        Set<EventBean> inverted = expected(events, Double.NEGATIVE_INFINITY, true, -45d, false);
+        inverted.addAll(expected(events, 45d, false, Double.POSITIVE_INFINITY, true));
+        assertEquals(inverted, table.lookupRangeInverted(-45d, true, 45d, true));
+        assertEquals(inverted, new HashSet<>(table.lookupRangeInvertedColl(-45d, true, 45d, true)));
+
+        assertNull(table.lookupGreater(100d));
+        assertEquals(100, table.getNumKeys());
+
+        Set<EventBean> all = new HashSet<>();
+        for (Iterator<EventBean> it = table.iterator(); it.hasNext(); ) {
+            assertTrue(all.add(it.next()));
+        }
+        assertEquals(new HashSet<>(events), all);
+    }
+
+    private static Set<EventBean> expected(List<EventBean> events, double from, boolean fromInclusive, double to, boolean toInclusive) {
+        Set<EventBean> result = new HashSet<>();
+        for (EventBean event : events) {
+            Double value = (Double) GETTER.get(event);
+            if (value == null) {
+                continue;
+            }
+            boolean fromOk = fromInclusive ? value >= from : value > from;
+            boolean toOk = toInclusive ? value <= to : value < to;
+            if (fromOk && toOk) {
+                result.add(event);
+            }
+        }
+        return result;
+    }
+
+    private static PropertySortedEventTableImpl makeTable(Class valueType) {
+        PropertySortedEventTableFactory factory = new PropertySortedEventTableFactory(0, "doubleBoxed", GETTER, valueType);
+        return (PropertySortedEventTableImpl) factory.makeEventTables(null, null)[0];
+    }
+
+    private static EventBean makeEvent(Double value) {
+        SupportBean bean = new SupportBean();
+        bean.setDoubleBoxed(value);
+        return SupportEventBeanFactory.createObject(bean);
+    }
+}
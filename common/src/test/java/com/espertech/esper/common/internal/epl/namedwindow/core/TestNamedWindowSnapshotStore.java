@@ -0,0 +1,108 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.namedwindow.core;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventBeanFactory;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+public class TestNamedWindowSnapshotStore extends TestCase {
+
+    public void testApply() {
+        NamedWindowSnapshotStore store = new NamedWindowSnapshotStore();
+        assertFalse(store.iterator().hasNext());
+        assertTrue(store.snapshot().isEmpty());
+
+        EventBean[] events = makeEvents(5);
+        store.apply(new EventBean[]{events[0], events[1], events[2]}, null);
+        assertContents(store, events[0], events[1], events[2]);
+
+        Iterator<EventBean> before = store.iterator();
+        store.apply(new EventBean[]{events[3]}, new EventBean[]{events[1]});
+        assertContents(store, events[0], events[2], events[3]);
+        assertIterator(before, events[0], events[1], events[2]);
+
+        store.apply(null, new EventBean[]{events[0], events[4]});
+        assertContents(store, events[2], events[3]);
+
+        store.apply(new EventBean[]{events[0]}, null);
+        assertContents(store, events[2], events[3], events[0]);
+    }
+
+    public void testAddAndRemoveSameUpdate() {
+        NamedWindowSnapshotStore store = new NamedWindowSnapshotStore();
+        EventBean[] events = makeEvents(100);
+
+        // length window of 1 receiving two events in one update, the first is pushed out right away
+        store.apply(new EventBean[]{events[0], events[1]}, new EventBean[]{events[0]});
+        assertContents(store, events[1]);
+
+        Iterator<EventBean> before = store.iterator();
+        for (int i = 2; i < events.length; i += 2) {
+            store.apply(new EventBean[]{events[i], events[i + 1]}, new EventBean[]{events[i - 1], events[i]});
+        }
+        assertContents(store, events[99]);
+        assertIterator(before, events[1]);
+    }
+
+    public void testCompactAndGrow() {
+        NamedWindowSnapshotStore store = new NamedWindowSnapshotStore();
+        EventBean[] events = makeEvents(1000);
+        List<Iterator<EventBean>> iterators = new ArrayList<>();
+        List<List<EventBean>> expected = new ArrayList<>();
+        List<EventBean> window = new ArrayList<>();
+
+        // keep a length window of 100 events, with readers retaining older versions
+        for (int i = 0; i < events.length; i++) {
+            EventBean[] oldData = null;
+            if (window.size() == 100) {
+                oldData = new EventBean[]{window.remove(0)};
+            }
+            window.add(events[i]);
+            store.apply(new EventBean[]{events[i]}, oldData);
+            if (i % 37 == 0) {
+                iterators.add(store.iterator());
+                expected.add(new ArrayList<>(window));
+            }
+        }
+
+        assertEquals(window, new ArrayList<>(store.snapshot()));
+        for (int i = 0; i < iterators.size(); i++) {
+            assertIterator(iterators.get(i), expected.get(i).toArray(new EventBean[0]));
+        }
+    }
+
+    private static void assertContents(NamedWindowSnapshotStore store, EventBean... expected) {
+        assertIterator(store.iterator(), expected);
+        assertIterator(store.snapshot().iterator(), expected);
+    }
+
+    private static void assertIterator(Iterator<EventBean> it, EventBean... expected) {
+        for (EventBean event : expected) {
+            assertTrue(it.hasNext());
+            assertSame(event, it.next());
+        }
+        assertFalse(it.hasNext());
+    }
+
+    private static EventBean[] makeEvents(int count) {
+        EventBean[] events = new EventBean[count];
+        for (int i = 0; i < count; i++) {
+            events[i] = SupportEventBeanFactory.createObject(new SupportBean("E" + i, i));
+        }
+        return events;
+    }
+}
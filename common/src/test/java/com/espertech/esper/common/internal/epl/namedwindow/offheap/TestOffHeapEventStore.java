@@ -0,0 +1,243 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.epl.namedwindow.offheap;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.meta.*;
+import com.espertech.esper.common.client.util.EventTypeBusModifier;
+import com.espertech.esper.common.client.util.NameAccessModifier;
+import com.espertech.esper.common.internal.epl.expression.core.ExprValidationException;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventBean;
+import com.espertech.esper.common.internal.event.arr.ObjectArrayEventType;
+import com.espertech.esper.common.internal.event.core.MappedEventBean;
+import com.espertech.esper.common.internal.event.core.ObjectArrayBackedEventBean;
+import com.espertech.esper.common.internal.event.map.MapEventBean;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.supportunit.event.SupportEventTypeFactory;
+import junit.framework.TestCase;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class TestOffHeapEventStore extends TestCase {
+
+    public void testObjectArray() throws Exception {
+        EventType type = makeObjectArrayType();
+        OffHeapEventStore store = new OffHeapEventStore(OffHeapEventSerde.make(type), 1024);
+
+        Object[] values = new Object[]{"E1", 10, 5L, new int[]{1, 2}, new BigDecimal("1.5"), new HashMap<>(Collections.singletonMap("k", "v"))};
+        EventBean[] stored = store.store(new EventBean[]{new ObjectArrayEventBean(values, type), new ObjectArrayEventBean(new Object[6], type)});
+        assertEquals(2, store.getNumEvents());
+
+        assertTrue(stored[0] instanceof ObjectArrayBackedEventBean);
+        assertSame(type, stored[0].getEventType());
+        Object[] read = ((ObjectArrayBackedEventBean) stored[0]).getProperties();
+        assertNotSame(values, read);
+        assertEquals("E1", read[0]);
+        assertEquals(10, read[1]);
+        assertEquals(5L, read[2]);
+        assertTrue(Arrays.equals(new int[]{1, 2}, (int[]) read[3]));
+        assertEquals(new BigDecimal("1.5"), read[4]);
+        assertEquals("v", ((Map) read[5]).get("k"));
+        assertEquals("E1", stored[0].get("theString"));
+        assertEquals(10, stored[0].get("intBoxed"));
+        assertTrue(Arrays.equals(new Object[6], (Object[]) stored[1].getUnderlying()));
+
+        // storing an event of the store again keeps the event
+        assertSame(stored[0], store.store(new EventBean[]{stored[0]})[0]);
+    }
+
+    public void testMapUndeclaredKeys() throws Exception {
+        Map<String, Object> def = new LinkedHashMap<>();
+        def.put("theString", String.class);
+        def.put("intPrimitive", int.class);
+        EventType type = SupportEventTypeFactory.createMapType(def);
+        OffHeapEventStore store = new OffHeapEventStore(OffHeapEventSerde.make(type), 1024);
+
+        Map<String, Object> values = new HashMap<>();
+        values.put("theString", "E1");
+        values.put("intPrimitive", 2);
+        values.put("dyn", "x");
+        EventBean stored = store.store(new EventBean[]{new MapEventBean(values, type)})[0];
+
+        assertTrue(stored instanceof MappedEventBean);
+        assertEquals(values, ((MappedEventBean) stored).getProperties());
+        assertEquals("E1", stored.get("theString"));
+        assertEquals(2, stored.get("intPrimitive"));
+    }
+
+    public void testReleaseDetachesAndReusesSegments() throws Exception {
+        EventType type = makeObjectArrayType();
+        OffHeapEventStore store = new OffHeapEventStore(OffHeapEventSerde.make(type), 1024);
+
+        EventBean[][] batches = new EventBean[20][];
+        for (int round = 0; round < batches.length; round++) {
+            EventBean[] events = new EventBean[20];
+            for (int i = 0; i < events.length; i++) {
+                events[i] = new ObjectArrayEventBean(new Object[]{"E" + round + "_" + i, i, null, null, null, null}, type);
+            }
+            batches[round] = store.store(events);
+            if (round > 0) {
+                store.release(batches[round - 1]);
+            }
+        }
+        assertEquals(20, store.getNumEvents());
+        assertTrue(store.getNumSegmentsAllocated() < 6);
+
+        // released events remain readable from the heap
+        for (int round = 0; round < batches.length - 1; round++) {
+            for (int i = 0; i < 20; i++) {
+                assertEquals("E" + round + "_" + i, batches[round][i].get("theString"));
+            }
+        }
+
+        store.release(batches[batches.length - 1]);
+        store.release(batches[batches.length - 1]);
+        assertEquals(0, store.getNumEvents());
+        assertTrue(store.getNumSegmentsFree() <= 2);
+        assertEquals("E19_3", batches[19][3].get("theString"));
+    }
+
+    public void testCompactSparseSegments() throws Exception {
+        EventType type = makeObjectArrayType();
+        OffHeapEventStore store = new OffHeapEventStore(OffHeapEventSerde.make(type), 1024);
+
+        // each round keeps one of its events so that the segments become sparse rather than empty
+        List<EventBean> kept = new ArrayList<>();
+        for (int round = 0; round < 100; round++) {
+            EventBean[] events = new EventBean[20];
+            for (int i = 0; i < events.length; i++) {
+                events[i] = new ObjectArrayEventBean(new Object[]{"E" + round + "_" + i, i, (long) round, null, null, null}, type);
+            }
+            EventBean[] stored = store.store(events);
+            kept.add(stored[0]);
+            store.release(Arrays.copyOfRange(stored, 1, stored.length));
+        }
+        assertEquals(100, store.getNumEvents());
+        assertTrue(store.getNumSegmentsCompacted() > 0);
+        // without compaction each round holds on to a segment
+        assertTrue("allocated " + store.getNumSegmentsAllocated(), store.getNumSegmentsAllocated() < 50);
+        for (int round = 0; round < kept.size(); round++) {
+            assertEquals("E" + round + "_0", kept.get(round).get("theString"));
+            assertEquals((long) round, ((Object[]) kept.get(round).getUnderlying())[2]);
+        }
+
+        store.release(kept.toArray(new EventBean[0]));
+        assertEquals(0, store.getNumEvents());
+        assertEquals("E99_0", kept.get(99).get("theString"));
+    }
+
+    public void testReadSingleProperty() throws Exception {
+        EventType type = makeObjectArrayType();
+        OffHeapEventStore store = new OffHeapEventStore(OffHeapEventSerde.make(type), 1024);
+        Object[] values = new Object[]{null, 10, 5L, new int[]{1, 2}, null, null};
+        EventBean stored = store.store(new EventBean[]{new ObjectArrayEventBean(values, type)})[0];
+
+        assertNull(stored.get("theString"));
+        assertEquals(10, stored.get("intBoxed"));
+        assertEquals(5L, stored.get("longPrimitive"));
+        assertTrue(Arrays.equals(new int[]{1, 2}, (int[]) stored.get("ints")));
+        assertNull(stored.get("map"));
+        assertEquals(2, stored.get("ints[1]"));
+
+        store.release(new EventBean[]{stored});
+        assertEquals(10, stored.get("intBoxed"));
+        assertEquals(2, stored.get("ints[1]"));
+    }
+
+    public void testReadWhileCompacting() throws Exception {
+        EventType type = makeObjectArrayType();
+        final OffHeapEventStore store = new OffHeapEventStore(OffHeapEventSerde.make(type), 1024);
+        final EventBean first = store.store(new EventBean[]{new ObjectArrayEventBean(new Object[]{"K", 1, 1L, null, null, null}, type)})[0];
+
+        final AtomicBoolean done = new AtomicBoolean();
+        final AtomicReference<Throwable> failure = new AtomicReference<>();
+        Thread reader = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    assertEquals("K", first.get("theString"));
+                    assertEquals("K", ((Object[]) first.getUnderlying())[0]);
+                }
+            } catch (Throwable t) {
+                failure.set(t);
+            }
+        });
+        reader.start();
+
+        // keeping one event per round leaves sparse segments that are compacted, moving the first event along
+        for (int round = 0; round < 2000 && failure.get() == null; round++) {
+            EventBean[] events = new EventBean[30];
+            for (int i = 0; i < events.length; i++) {
+                events[i] = new ObjectArrayEventBean(new Object[]{"Overwrite" + round, i, 0L, null, null, null}, type);
+            }
+            EventBean[] stored = store.store(events);
+            store.release(Arrays.copyOfRange(stored, 1, stored.length));
+        }
+        done.set(true);
+        reader.join();
+        if (failure.get() != null) {
+            throw new AssertionError(failure.get());
+        }
+        assertTrue(store.getNumSegmentsCompacted() > 0);
+    }
+
+    public void testOversizedRecord() throws Exception {
+        EventType type = makeObjectArrayType();
+        OffHeapEventStore store = new OffHeapEventStore(OffHeapEventSerde.make(type), 1024);
+        char[] chars = new char[5000];
+        Arrays.fill(chars, 'x');
+        String large = new String(chars);
+        EventBean stored = store.store(new EventBean[]{new ObjectArrayEventBean(new Object[]{large, 1, null, null, null, null}, type)})[0];
+        assertEquals(large, stored.get("theString"));
+        store.release(new EventBean[]{stored});
+        assertEquals(large, stored.get("theString"));
+    }
+
+    public void testInvalid() {
+        tryInvalid(SupportEventTypeFactory.createBeanType(SupportBean.class),
+            "Off-heap storage requires a map or object-array event type but event type 'SupportBean' is not");
+
+        Map<String, Object> def = new LinkedHashMap<>();
+        def.put("thread", Thread.class);
+        tryInvalid(SupportEventTypeFactory.createMapType(def),
+            "Off-heap storage does not support property 'thread' of type 'java.lang.Thread' as the type is neither built-in nor serializable");
+    }
+
+    private static void tryInvalid(EventType type, String message) {
+        try {
+            OffHeapEventSerde.make(type);
+            fail();
+        } catch (ExprValidationException ex) {
+            assertEquals(message, ex.getMessage());
+        }
+    }
+
+    private static EventType makeObjectArrayType() {
+        Map<String, Object> def = new LinkedHashMap<>();
+        def.put("theString", String.class);
+        def.put("intBoxed", Integer.class);
+        def.put("longPrimitive", long.class);
+        def.put("ints", int[].class);
+        def.put("decimal", BigDecimal.class);
+        def.put("map", Map.class);
+        EventTypeMetadata metadata = new EventTypeMetadata("MyType", null, EventTypeTypeClass.STREAM, EventTypeApplicationType.OBJECTARR, NameAccessModifier.PROTECTED, EventTypeBusModifier.NONBUS, false, EventTypeIdPair.unassigned());
+        return new ObjectArrayEventType(metadata, def, null, null, null, null, SupportEventTypeFactory.BEAN_EVENT_TYPE_FACTORY);
+    }
+}
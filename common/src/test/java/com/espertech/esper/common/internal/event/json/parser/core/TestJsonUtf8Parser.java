@@ -0,0 +1,201 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.common.internal.event.json.parser.core;
+
+import com.espertech.esper.common.client.json.minimaljson.JsonParser;
+import com.espertech.esper.common.internal.event.json.parser.delegates.array.*;
+import junit.framework.TestCase;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.function.BiFunction;
+
+public class TestJsonUtf8Parser extends TestCase {
+
+    public void testSameAsStringParser() {
+        String[] docs = {
+            "{}",
+            "  { \"a\" : 1 , \"b\":\"x\" }  ",
+            "{\"a\":[1,2,[3,{\"b\":null}]],\"c\":{\"d\":true,\"e\":false}}",
+            "{\"int\":-2147483648,\"long\":9007199254740993,\"big\":123456789012345678901234567890,\"neg\":-0,\"negd\":-0.0}",
+            "{\"d\":0.1,\"e\":1.5e3,\"f\":-2.5E-4,\"g\":1e400,\"h\":123456789.123456789,\"i\":0.000123,\"j\":1e22,\"k\":1e23}",
+            "{\"s\":\"caf\u00e9 \u65e5\u672c \ud83d\ude00\",\"esc\":\"a\\\"b\\\\c\\/d\\b\\f\\n\\r\\t\\u00e9\\u65e5x\"}",
+            "{\"caf\u00e9\":1,\"n\\u0061me\":2,\"unknown\":3,\"name\":4}",
+            "[]",
+        };
+        JsonUtf8FieldNames names = new JsonUtf8FieldNames(Arrays.asList("a", "b", "name", "caf\u00e9", "unknown"));
+        for (String doc : docs) {
+            Object expected = normalize(parseString(doc, JsonDelegateJsonGenericObject::new));
+            assertEquals(doc, expected, normalize(parseBytes(doc, names, JsonDelegateJsonGenericObject::new)));
+            assertEquals(doc, expected, normalize(parseBytes(doc, null, JsonDelegateJsonGenericObject::new)));
+        }
+    }
+
+    public void testFieldNamesInterned() {
+        String known = "name";
+        JsonUtf8FieldNames names = new JsonUtf8FieldNames(Arrays.asList(known, "other"));
+        Map<String, Object> result = (Map<String, Object>) parseBytes("{\"name\":1}", names, JsonDelegateJsonGenericObject::new);
+        assertSame(known, result.keySet().iterator().next());
+
+        byte[] bytes = "xnamex".getBytes(StandardCharsets.UTF_8);
+        assertSame(known, names.lookup(bytes, 1, 4, known.hashCode()));
+        assertNull(names.lookup(bytes, 0, 5, "xname".hashCode()));
+    }
+
+    public void testNumbers() {
+        String doc = "[0, -1, 42, 9007199254740993, 123456789012345678901, 0.1, -0.0, -0, 2.5e-3, 1E2, 3.14159265358979, 1.7976931348623157e308, 4.9e-324]";
+        assertTrue(Arrays.equals((double[]) parseString(doc, JsonDelegateArrayDoublePrimitive::new), (double[]) parseBytes(doc, null, JsonDelegateArrayDoublePrimitive::new)));
+        assertTrue(Arrays.equals((Double[]) parseString(doc, JsonDelegateArrayDouble::new), (Double[]) parseBytes(doc, null, JsonDelegateArrayDouble::new)));
+        assertEquals(-0.0d, ((double[]) parseBytes("[-0]", null, JsonDelegateArrayDoublePrimitive::new))[0]);
+        assertEquals(0x8000000000000000L, Double.doubleToRawLongBits(((double[]) parseBytes("[-0]", null, JsonDelegateArrayDoublePrimitive::new))[0]));
+
+        String longs = "[0, -9223372036854775808, 9223372036854775807, 123456789012345678, null]";
+        assertTrue(Arrays.equals((Long[]) parseString(longs, JsonDelegateArrayLong::new), (Long[]) parseBytes(longs, null, JsonDelegateArrayLong::new)));
+
+        String ints = "[0, -2147483648, 2147483647, 17]";
+        assertTrue(Arrays.equals((int[]) parseString(ints, JsonDelegateArrayIntegerPrimitive::new), (int[]) parseBytes(ints, null, JsonDelegateArrayIntegerPrimitive::new)));
+        for (String invalid : new String[]{"[2147483648]", "[1.0]", "[1e2]"}) {
+            assertFails(invalid, JsonDelegateArrayInteger::new);
+        }
+
+        // numbers as text for other value types
+        String shorts = "[1, -2, 300]";
+        assertTrue(Arrays.equals((Short[]) parseString(shorts, JsonDelegateArrayShort::new), (Short[]) parseBytes(shorts, null, JsonDelegateArrayShort::new)));
+        String strings = "[1.50, \"x\", 2]";
+        assertTrue(Arrays.equals((String[]) parseString(strings, JsonDelegateArrayString::new), (String[]) parseBytes(strings, null, JsonDelegateArrayString::new)));
+    }
+
+    public void testSkipUnknown() {
+        JsonUtf8FieldNames names = new JsonUtf8FieldNames(Arrays.asList("a", "b"));
+        String doc = "{\"x\":{\"a\":[1,{\"y\":\"\\\"}\\u0041\"}],\"b\":-1.5e3},\"a\":1,\"z\":[true,false,null,\"]\"],\"b\":\"v\",\"n\u00e9\":2}";
+        assertEquals("{a=1, b=v, n\u00e9=2}", parseSkipping(doc, names).toString());
+
+        // not skipped when the table does not hold all field names
+        assertEquals("{x=null, a=1, z=null, b=v, n\u00e9=2}", parseSkipping(doc, new JsonUtf8FieldNames(Arrays.asList("a", "b", "\u00e9"))).toString());
+
+        for (String invalid : new String[]{"{\"x\":[1 2]}", "{\"x\":{\"y\"}}", "{\"x\":\"\\q\"}", "{\"x\":01}", "{\"x\":tru}", "{\"x\":1."}) {
+            try {
+                parseSkipping(invalid, names);
+                fail(invalid);
+            } catch (IllegalArgumentException ex) {
+                // expected
+            }
+        }
+    }
+
+    public void testOffsetAndLength() {
+        byte[] bytes = "xx{\"a\":1}yy".getBytes(StandardCharsets.UTF_8);
+        JsonHandlerDelegator handler = new JsonHandlerDelegator();
+        JsonDelegateBase delegate = new JsonDelegateJsonGenericObject(handler, null);
+        handler.setDelegate(delegate);
+        new JsonUtf8Parser(handler, null).parse(bytes, 2, 7);
+        assertEquals(1, ((Map) delegate.getResult()).get("a"));
+    }
+
+    public void testInvalid() {
+        String[] docs = {"", "{", "{\"a\"}", "{\"a\":}", "{\"a\":1,}", "[1 2]", "01", "-", "1.", "1e", "\"abc", "\"\\x\"", "\"\\u00g0\"", "tru", "nul", "{} x", "\"a\u0001\""};
+        for (String doc : docs) {
+            try {
+                parseBytes(doc, null, JsonDelegateJsonGenericObject::new);
+                fail(doc);
+            } catch (IllegalArgumentException ex) {
+                // expected
+            }
+            try {
+                parseString(doc, JsonDelegateJsonGenericObject::new);
+                fail(doc);
+            } catch (RuntimeException ex) {
+                // expected
+            }
+        }
+    }
+
+    private static Object parseSkipping(String doc, JsonUtf8FieldNames names) {
+        JsonHandlerDelegator handler = new JsonHandlerDelegator();
+        SupportSkippingDelegate delegate = new SupportSkippingDelegate(handler);
+        handler.setDelegate(delegate);
+        byte[] bytes = doc.getBytes(StandardCharsets.UTF_8);
+        new JsonUtf8Parser(handler, names).parse(bytes, 0, bytes.length);
+        return delegate.getResult();
+    }
+
+    private static Object normalize(Object value) {
+        if (value instanceof Object[]) {
+            List<Object> list = new ArrayList<>();
+            for (Object item : (Object[]) value) {
+                list.add(normalize(item));
+            }
+            return list;
+        } else if (value instanceof Map) {
+            Map<Object, Object> map = new LinkedHashMap<>();
+            for (Map.Entry<?, ?> entry : ((Map<?, ?>) value).entrySet()) {
+                map.put(entry.getKey(), normalize(entry.getValue()));
+            }
+            return map;
+        }
+        return value;
+    }
+
+    private static void assertFails(String doc, BiFunction<JsonHandlerDelegator, JsonDelegateBase, JsonDelegateBase> factory) {
+        try {
+            parseBytes(doc, null, factory);
+            fail();
+        } catch (RuntimeException ex) {
+            // expected
+        }
+    }
+
+    private static Object parseString(String doc, BiFunction<JsonHandlerDelegator, JsonDelegateBase, JsonDelegateBase> factory) {
+        JsonHandlerDelegator handler = new JsonHandlerDelegator();
+        JsonDelegateBase delegate = factory.apply(handler, null);
+        handler.setDelegate(delegate);
+        new JsonParser(handler).parse(doc);
+        return delegate.getResult();
+    }
+
+    private static Object parseBytes(String doc, JsonUtf8FieldNames names, BiFunction<JsonHandlerDelegator, JsonDelegateBase, JsonDelegateBase> factory) {
+        JsonHandlerDelegator handler = new JsonHandlerDelegator();
+        JsonDelegateBase delegate = factory.apply(handler, null);
+        handler.setDelegate(delegate);
+        byte[] bytes = doc.getBytes(StandardCharsets.UTF_8);
+        new JsonUtf8Parser(handler, names).parse(bytes, 0, bytes.length);
+        return delegate.getResult();
+    }
+
+    private static class SupportSkippingDelegate extends JsonDelegateBase {
+        private final Map<String, Object> values = new LinkedHashMap<>();
+
+        SupportSkippingDelegate(JsonHandlerDelegator baseHandler) {
+            super(baseHandler, null);
+        }
+
+        public JsonDelegateBase startObject(String name) {
+            return null;
+        }
+
+        public JsonDelegateBase startArray(String name) {
+            return null;
+        }
+
+        public boolean endObjectValue(String name) {
+            values.put(name, valueToObject());
+            return true;
+        }
+
+        public boolean isSkipUnknownValues() {
+            return true;
+        }
+
+        public Object getResult() {
+            return values;
+        }
+    }
+}
@@ -0,0 +1,860 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.compiler.internal.util;
+
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenBlock;
+import com.espertech.esper.common.internal.bytecodemodel.base.CodegenMethod;
+import com.espertech.esper.common.internal.bytecodemodel.core.*;
+import com.espertech.esper.common.internal.bytecodemodel.model.expression.*;
+import com.espertech.esper.common.internal.bytecodemodel.model.statement.*;
+import com.espertech.esper.common.internal.bytecodemodel.util.CodegenStackGenerator;
+import com.espertech.esper.common.internal.collection.Pair;
+import org.codehaus.commons.compiler.CompileException;
+import org.codehaus.commons.compiler.Location;
+import org.codehaus.janino.Java;
+import org.codehaus.janino.Parser;
+import org.codehaus.janino.Scanner;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.*;
+
+import static com.espertech.esper.common.internal.bytecodemodel.core.CodeGenerationHelper.appendClassName;
+import static com.espertech.esper.common.internal.bytecodemodel.util.CodegenClassUtil.getComponentTypeOutermost;
+import static com.espertech.esper.common.internal.bytecodemodel.util.CodegenClassUtil.getNumberOfDimensions;
+
+/**
+ * Builds the Janino syntax tree for a class directly from the code model, without rendering and parsing source code.
+ * <p>
+ * The tree is the same tree that the Janino parser produces for the rendered source code of the class, i.e. each
+ * node mirrors the text that the node's render method produces including parenthesis and name resolution.
+ * Free-form text that the code model carries, such as references or type names, is converted without a parser
+ * when it is a plain (qualified) name, and is handed to the parser as a small fragment otherwise.
+ * </p>
+ */
+public class CodegenClassAstBuilder {
+    private static final Java.Modifier[] NO_MODIFIERS = new Java.Modifier[0];
+    private static final Java.Annotation[] NO_ANNOTATIONS = new Java.Annotation[0];
+    private static final Java.Type[] NO_TYPES = new Java.Type[0];
+    private static final Java.Rvalue[] NO_RVALUES = new Java.Rvalue[0];
+    private static final Set<String> KEYWORDS = new HashSet<>(Arrays.asList(
+        "abstract", "assert", "boolean", "break", "byte", "case", "catch", "char", "class", "const", "continue",
+        "default", "do", "double", "else", "enum", "extends", "final", "finally", "float", "for", "goto", "if",
+        "implements", "import", "instanceof", "int", "interface", "long", "native", "new", "package", "private",
+        "protected", "public", "return", "short", "static", "strictfp", "super", "switch", "synchronized", "this",
+        "throw", "throws", "transient", "try", "void", "volatile", "while", "true", "false", "null"));
+    private static final Set<String> BINARY_OPERATORS = new HashSet<>(Arrays.asList(
+        "||", "&&", "|", "^", "&", "==", "!=", "<", ">", "<=", ">=", "<<", ">>", ">>>", "+", "-", "*", "/", "%"));
+    private static final Set<String> COMPOUND_OPERATORS = new HashSet<>(Arrays.asList(
+        "|", "^", "&", "<<", ">>", ">>>", "+", "-", "*", "/", "%"));
+
+    private final Map<Class, String> imports;
+    private final Location location;
+    private final Map<Class, String> typeNames = new HashMap<>();
+
+    private CodegenClassAstBuilder(Map<Class, String> imports) {
+        this.imports = imports;
+        this.location = new Location(null, 1, 1);
+    }
+
+    /**
+     * Build the compilation unit for a class.
+     *
+     * @param clazz   class
+     * @param imports imports as determined for the class
+     * @return compilation unit
+     * @throws CompileException when a fragment fails to parse
+     * @throws IOException      when a fragment fails to read
+     */
+    public static Java.CompilationUnit build(CodegenClass clazz, Map<Class, String> imports) throws CompileException, IOException {
+        CodegenClassAstBuilder builder = new CodegenClassAstBuilder(imports);
+        return builder.buildUnit(clazz);
+    }
+
+    private Java.CompilationUnit buildUnit(CodegenClass clazz) throws CompileException, IOException {
+        List<Java.AbstractCompilationUnit.ImportDeclaration> importDeclarations = new ArrayList<>(imports.size());
+        for (Class importClass : imports.keySet()) {
+            if (importClass.getPackage() != null && importClass.getPackage().getName().equals("java.lang")) {
+                continue;
+            }
+            Class importedClass = importClass.isArray() ? importClass.getComponentType() : importClass;
+            String name = importedClass.getDeclaringClass() == null ? importedClass.getName() : importedClass.getName().replace("$", ".");
+            importDeclarations.add(new Java.AbstractCompilationUnit.SingleTypeImportDeclaration(location, name.split("\\.")));
+        }
+        Java.CompilationUnit unit = new Java.CompilationUnit(null, importDeclarations.toArray(new Java.AbstractCompilationUnit.ImportDeclaration[0]));
+        unit.setPackageDeclaration(new Java.PackageDeclaration(location, clazz.getPackageName()));
+
+        Java.PackageMemberClassDeclaration declaration = new Java.PackageMemberClassDeclaration(location, null,
+            modifiers(true, false, false), clazz.getClassName(), null, extended(clazz.getSupers()), implemented(clazz.getSupers()));
+        unit.addPackageMemberTypeDeclaration(declaration);
+        members(declaration, clazz.getExplicitMembers(), clazz.getOptionalCtor());
+        ctor(declaration, clazz.getClassName(), clazz.getOptionalCtor());
+        methods(declaration, clazz.getPublicMethods(), clazz.getPrivateMethods());
+
+        for (CodegenInnerClass inner : clazz.getInnerClasses()) {
+            Java.MemberClassDeclaration innerDeclaration = new Java.MemberClassDeclaration(location, null,
+                modifiers(true, true, false), inner.getClassName(), null, extended(inner.getSupers()), implemented(inner.getSupers()));
+            declaration.addMemberTypeDeclaration(innerDeclaration);
+            members(innerDeclaration, inner.getExplicitMembers(), inner.getCtor());
+            ctor(innerDeclaration, inner.getClassName(), inner.getCtor());
+            methods(innerDeclaration, inner.getMethods().getPublicMethods(), inner.getMethods().getPrivateMethods());
+        }
+        return unit;
+    }
+
+    private Java.Type extended(CodegenClassInterfacesAndExtension supers) throws CompileException, IOException {
+        return supers.getExtended() == null ? null : type(supers.getExtended());
+    }
+
+    private Java.Type[] implemented(CodegenClassInterfacesAndExtension supers) throws CompileException, IOException {
+        Java.Type[] types = new Java.Type[supers.getImplemented().size()];
+        for (int i = 0; i < types.length; i++) {
+            types[i] = type(supers.getImplemented().get(i));
+        }
+        return types;
+    }
+
+    private void members(Java.AbstractClassDeclaration declaration, List<CodegenTypedParam> explicitMembers, CodegenCtor optionalCtor) throws CompileException, IOException {
+        if (optionalCtor != null) {
+            for (CodegenTypedParam param : optionalCtor.getCtorParams()) {
+                if (param.isMemberWhenCtorParam()) {
+                    declaration.addFieldDeclaration(field(modifiers(false, false, true), param));
+                }
+            }
+        }
+        for (CodegenTypedParam param : explicitMembers) {
+            declaration.addFieldDeclaration(field(modifiers(param.isPublic(), param.isStatic(), !param.isPublic() && param.isFinal()), param));
+        }
+    }
+
+    private Java.FieldDeclaration field(Java.Modifier[] modifiers, CodegenTypedParam param) throws CompileException, IOException {
+        Java.VariableDeclarator declarator = new Java.VariableDeclarator(location, param.getName(), 0, null);
+        return new Java.FieldDeclaration(location, null, modifiers, typeOrName(param.getType(), param.getTypeName()), new Java.VariableDeclarator[]{declarator});
+    }
+
+    private void ctor(Java.AbstractClassDeclaration declaration, String className, CodegenCtor optionalCtor) throws CompileException, IOException {
+        List<Java.FunctionDeclarator.FormalParameter> params = new ArrayList<>();
+        List<Java.BlockStatement> statements = new ArrayList<>();
+        if (optionalCtor != null) {
+            for (CodegenTypedParam param : optionalCtor.getCtorParams()) {
+                params.add(new Java.FunctionDeclarator.FormalParameter(location, NO_MODIFIERS, typeOrName(param.getType(), param.getTypeName()), param.getName()));
+            }
+            for (CodegenTypedParam param : optionalCtor.getCtorParams()) {
+                if (param.isMemberWhenCtorParam()) {
+                    Java.FieldAccessExpression lhs = new Java.FieldAccessExpression(location, new Java.ThisReference(location), param.getName());
+                    statements.add(new Java.ExpressionStatement(new Java.Assignment(location, lhs, "=", name(param.getName()))));
+                }
+            }
+            block(optionalCtor.getBlock(), statements);
+        }
+
+        Java.ConstructorInvocation invocation = null;
+        if (!statements.isEmpty() && statements.get(0) instanceof Java.ConstructorInvocation) {
+            invocation = (Java.ConstructorInvocation) statements.remove(0);
+        }
+        Java.FunctionDeclarator.FormalParameters formalParameters = new Java.FunctionDeclarator.FormalParameters(location,
+            params.toArray(new Java.FunctionDeclarator.FormalParameter[0]), false);
+        declaration.addConstructor(new Java.ConstructorDeclarator(location, null, modifiers(true, false, false), formalParameters, NO_TYPES, invocation, statements));
+    }
+
+    private void methods(Java.AbstractClassDeclaration declaration, List<CodegenMethodWGraph> publicMethods, List<CodegenMethodWGraph> privateMethods) throws CompileException, IOException {
+        for (CodegenMethodWGraph method : publicMethods) {
+            declaration.addDeclaredMethod(method(method, true));
+        }
+        for (CodegenMethodWGraph method : privateMethods) {
+            declaration.addDeclaredMethod(method(method, false));
+        }
+    }
+
+    private Java.MethodDeclarator method(CodegenMethodWGraph method, boolean isPublic) throws CompileException, IOException {
+        CodegenMethodFootprint footprint = method.getFootprint();
+        Java.Type returnType = typeOrName(footprint.getReturnType(), footprint.getReturnTypeName());
+        Java.FunctionDeclarator.FormalParameter[] params = new Java.FunctionDeclarator.FormalParameter[footprint.getParams().size()];
+        for (int i = 0; i < params.length; i++) {
+            CodegenNamedParam param = footprint.getParams().get(i);
+            params[i] = new Java.FunctionDeclarator.FormalParameter(location, NO_MODIFIERS, typeOrName(param.getType(), param.getTypeName()), param.getName());
+        }
+        List<Class> thrownClasses = method.getOriginator() == null ? Collections.emptyList() : method.getOriginator().getThrown();
+        Java.Type[] thrown = new Java.Type[thrownClasses.size()];
+        for (int i = 0; i < thrown.length; i++) {
+            thrown[i] = type(thrownClasses.get(i));
+        }
+        List<Java.BlockStatement> statements = new ArrayList<>();
+        block(method.getBlock(), statements);
+        return new Java.MethodDeclarator(location, null, modifiers(isPublic, method.isStatic(), false), null, returnType, method.getName(),
+            new Java.FunctionDeclarator.FormalParameters(location, params, false), thrown, null, statements);
+    }
+
+    private Java.Modifier[] modifiers(boolean isPublic, boolean isStatic, boolean isFinal) {
+        int count = (isPublic ? 1 : 0) + (isStatic ? 1 : 0) + (isFinal ? 1 : 0);
+        if (count == 0) {
+            return NO_MODIFIERS;
+        }
+        Java.Modifier[] modifiers = new Java.Modifier[count];
+        int index = 0;
+        if (isPublic) {
+            modifiers[index++] = new Java.AccessModifier("public", location);
+        }
+        if (isFinal) {
+            modifiers[index++] = new Java.AccessModifier("final", location);
+        }
+        if (isStatic) {
+            modifiers[index] = new Java.AccessModifier("static", location);
+        }
+        return modifiers;
+    }
+
+    // Statements
+
+    private Java.Block blockOf(CodegenBlock block) throws CompileException, IOException {
+        Java.Block result = new Java.Block(location);
+        List<Java.BlockStatement> statements = new ArrayList<>();
+        block(block, statements);
+        result.addStatements(statements);
+        return result;
+    }
+
+    private void block(CodegenBlock block, List<Java.BlockStatement> statements) throws CompileException, IOException {
+        for (CodegenStatement statement : block.getStatements()) {
+            statement(statement, statements);
+        }
+    }
+
+    private void statement(CodegenStatement statement, List<Java.BlockStatement> statements) throws CompileException, IOException {
+        if (statement instanceof CodegenStatementExpression) {
+            CodegenExpression expression = ((CodegenStatementExpression) statement).getExpression();
+            if (expression instanceof CodegenExpressionNoOp) {
+                statements.add(new Java.EmptyStatement(location));
+            } else {
+                statements.add(new Java.ExpressionStatement(expression(expression)));
+            }
+        } else if (statement instanceof CodegenStatementDeclareVar) {
+            CodegenStatementDeclareVar declare = (CodegenStatementDeclareVar) statement;
+            Java.Type type = declare.getClazz() == null ? typeText(declare.getTypeName()) : typeWithParam(declare.getClazz(), declare.getOptionalTypeVariable());
+            Java.Rvalue initializer = declare.getOptionalInitializer() == null ? null : expression(declare.getOptionalInitializer());
+            statements.add(localVariable(type, declare.getVar(), initializer));
+        } else if (statement instanceof CodegenStatementReturnExpression) {
+            statements.add(new Java.ReturnStatement(location, expression(((CodegenStatementReturnExpression) statement).getExpression())));
+        } else if (statement instanceof CodegenStatementReturnNoValue) {
+            statements.add(new Java.ReturnStatement(location, null));
+        } else if (statement instanceof CodegenStatementIf) {
+            statements.add(ifStatement((CodegenStatementIf) statement));
+        } else if (statement instanceof CodegenStatementAssignRef) {
+            CodegenStatementAssignRef assign = (CodegenStatementAssignRef) statement;
+            statements.add(assignment(assign.getRef(), "=", assign.getAssignment()));
+        } else if (statement instanceof CodegenStatementAssignNamed) {
+            CodegenStatementAssignNamed assign = (CodegenStatementAssignNamed) statement;
+            statements.add(assignment(assign.getLhs(), "=", assign.getAssignment()));
+        } else if (statement instanceof CodegenStatementAssignCompound) {
+            CodegenStatementAssignCompound assign = (CodegenStatementAssignCompound) statement;
+            if (!COMPOUND_OPERATORS.contains(assign.getOperator())) {
+                statements.add(parseStatement(statement));
+            } else {
+                statements.add(assignment(assign.getLhs(), (assign.getOperator() + "=").intern(), assign.getAssignment()));
+            }
+        } else if (statement instanceof CodegenStatementAssignArrayElement) {
+            CodegenStatementAssignArrayElement assign = (CodegenStatementAssignArrayElement) statement;
+            Java.ArrayAccessExpression lhs = new Java.ArrayAccessExpression(location, expression(assign.getArray()), expression(assign.getIndex()));
+            statements.add(new Java.ExpressionStatement(new Java.Assignment(location, lhs, "=", expression(assign.getExpression()))));
+        } else if (statement instanceof CodegenStatementAssignArrayElement2Dim) {
+            CodegenStatementAssignArrayElement2Dim assign = (CodegenStatementAssignArrayElement2Dim) statement;
+            Java.ArrayAccessExpression first = new Java.ArrayAccessExpression(location, expression(assign.getArray()), expression(assign.getIndexOne()));
+            Java.ArrayAccessExpression lhs = new Java.ArrayAccessExpression(location, first, expression(assign.getIndexTwo()));
+            statements.add(new Java.ExpressionStatement(new Java.Assignment(location, lhs, "=", expression(assign.getExpression()))));
+        } else if (statement instanceof CodegenStatementForIntSimple) {
+            CodegenStatementForIntSimple loop = (CodegenStatementForIntSimple) statement;
+            Java.BlockStatement init = localVariable(new Java.PrimitiveType(location, Java.Primitive.INT), loop.getRef(), literal("0"));
+            Java.Rvalue condition = new Java.BinaryOperation(location, name(loop.getRef()), "<", expression(loop.getUpperLimit()));
+            Java.Rvalue[] update = new Java.Rvalue[]{new Java.Crement(location, name(loop.getRef()).toLvalueOrCompileException(), "++")};
+            statements.add(new Java.ForStatement(location, init, condition, update, blockOf(loop.getBlock())));
+        } else if (statement instanceof CodegenStatementFor) {
+            CodegenStatementFor loop = (CodegenStatementFor) statement;
+            Java.BlockStatement init = localVariable(type(loop.getType()), loop.getName(), expression(loop.getInitialization()));
+            Java.Rvalue[] update = new Java.Rvalue[]{expression(loop.getIncrement())};
+            statements.add(new Java.ForStatement(location, init, expression(loop.getTermination()), update, blockOf(loop.getBlock())));
+        } else if (statement instanceof CodegenStatementForEach) {
+            CodegenStatementForEach loop = (CodegenStatementForEach) statement;
+            Java.FunctionDeclarator.FormalParameter param = new Java.FunctionDeclarator.FormalParameter(location, NO_MODIFIERS, type(loop.getType()), loop.getRef());
+            statements.add(new Java.ForEachStatement(location, param, expression(loop.getTarget()), blockOf(loop.getBlock())));
+        } else if (statement instanceof CodegenStatementWhileOrDo) {
+            CodegenStatementWhileOrDo loop = (CodegenStatementWhileOrDo) statement;
+            if (loop.isWhile()) {
+                statements.add(new Java.WhileStatement(location, expression(loop.getCondition()), blockOf(loop.getBlock())));
+            } else {
+                statements.add(new Java.DoStatement(location, blockOf(loop.getBlock()), expression(loop.getCondition())));
+            }
+        } else if (statement instanceof CodegenStatementTryCatch) {
+            statements.add(tryStatement((CodegenStatementTryCatch) statement));
+        } else if (statement instanceof CodegenStatementThrow) {
+            statements.add(new Java.ThrowStatement(location, expression(((CodegenStatementThrow) statement).getExpression())));
+        } else if (statement instanceof CodegenStatementBreakLoop) {
+            statements.add(new Java.BreakStatement(location, null));
+        } else if (statement instanceof CodegenStatementContinue) {
+            statements.add(new Java.ContinueStatement(location, null));
+        } else if (statement instanceof CodegenStatementCommentFullLine) {
+            // comments render to a comment line followed by a semicolon, i.e. an empty statement
+            statements.add(new Java.EmptyStatement(location));
+        } else if (statement instanceof CodegenStatementDeclareVarNull) {
+            CodegenStatementDeclareVarNull declare = (CodegenStatementDeclareVarNull) statement;
+            statements.add(localVariable(type(declare.getClazz()), declare.getVar(), new Java.NullLiteral(location)));
+        } else if (statement instanceof CodegenStatementDeclareVarWCast) {
+            CodegenStatementDeclareVarWCast declare = (CodegenStatementDeclareVarWCast) statement;
+            Java.Cast cast = new Java.Cast(location, type(declare.getClazz()), name(declare.getRhsName()));
+            statements.add(localVariable(type(declare.getClazz()), declare.getVar(), cast));
+        } else if (statement instanceof CodegenStatementIfConditionReturnConst) {
+            CodegenStatementIfConditionReturnConst ifReturn = (CodegenStatementIfConditionReturnConst) statement;
+            Java.ReturnStatement returns = new Java.ReturnStatement(location, constant(ifReturn.getConstant()));
+            statements.add(new Java.IfStatement(location, expression(ifReturn.getCondition()), returns));
+        } else if (statement instanceof CodegenStatementIfNullReturnNull) {
+            Java.Rvalue condition = new Java.BinaryOperation(location, expression(((CodegenStatementIfNullReturnNull) statement).getRef()), "==", new Java.NullLiteral(location));
+            statements.add(new Java.IfStatement(location, condition, blockReturning(new Java.NullLiteral(location))));
+        } else if (statement instanceof CodegenStatementIfRefNullReturnFalse) {
+            Java.Rvalue condition = new Java.BinaryOperation(location, name(((CodegenStatementIfRefNullReturnFalse) statement).getVar()), "==", new Java.NullLiteral(location));
+            statements.add(new Java.IfStatement(location, condition, blockReturning(new Java.BooleanLiteral(location, "false"))));
+        } else if (statement instanceof CodegenStatementIfRefNotTypeReturnConst) {
+            CodegenStatementIfRefNotTypeReturnConst ifReturn = (CodegenStatementIfRefNotTypeReturnConst) statement;
+            Java.Rvalue instanceOf = new Java.Instanceof(location, name(ifReturn.getVar()), type(ifReturn.getType()));
+            Java.Rvalue condition = new Java.UnaryOperation(location, "!", new Java.ParenthesizedExpression(location, instanceOf));
+            statements.add(new Java.IfStatement(location, condition, new Java.ReturnStatement(location, constant(ifReturn.getConstant()))));
+        } else if (statement instanceof CodegenStatementSwitch) {
+            statements.add(switchStatement((CodegenStatementSwitch) statement));
+        } else if (statement instanceof CodegenStatementSynchronized) {
+            CodegenStatementSynchronized sync = (CodegenStatementSynchronized) statement;
+            statements.add(new Java.SynchronizedStatement(location, expression(sync.getExpression()), blockOf(sync.getBlock())));
+        } else if (statement instanceof CodegenStatementSuperCtor) {
+            statements.add(new Java.SuperConstructorInvocation(location, null, expressions(((CodegenStatementSuperCtor) statement).getParams())));
+        } else {
+            statements.add(parseStatement(statement));
+        }
+    }
+
+    private Java.BlockStatement ifStatement(CodegenStatementIf statement) throws CompileException, IOException {
+        Java.BlockStatement otherwise = statement.getOptionalElse() == null ? null : blockOf(statement.getOptionalElse());
+        List<CodegenStatementIfConditionBlock> blocks = statement.getBlocks();
+        for (int i = blocks.size() - 1; i >= 0; i--) {
+            CodegenStatementIfConditionBlock block = blocks.get(i);
+            otherwise = new Java.IfStatement(location, expression(block.getCondition()), blockOf(block.getBlock()), otherwise);
+        }
+        return otherwise;
+    }
+
+    private Java.BlockStatement tryStatement(CodegenStatementTryCatch statement) throws CompileException, IOException {
+        List<Java.CatchClause> catchClauses = new ArrayList<>(statement.getCatchBlocks().size());
+        for (CodegenStatementTryCatchCatchBlock catchBlock : statement.getCatchBlocks()) {
+            Java.CatchParameter parameter = new Java.CatchParameter(location, false, new Java.Type[]{type(catchBlock.getEx())}, catchBlock.getName());
+            catchClauses.add(new Java.CatchClause(location, parameter, blockOf(catchBlock.getBlock())));
+        }
+        Java.Block finallyBlock = statement.getFinallyBlock() == null ? null : blockOf(statement.getFinallyBlock());
+        return new Java.TryStatement(location, Collections.emptyList(), blockOf(statement.getTryBlock()), catchClauses, finallyBlock);
+    }
+
+    private Java.BlockStatement switchStatement(CodegenStatementSwitch statement) throws CompileException, IOException {
+        List<Java.SwitchStatement.SwitchBlockStatementGroup> groups = new ArrayList<>(statement.getOptions().length + 1);
+        for (int i = 0; i < statement.getOptions().length; i++) {
+            Java.Block block = blockOf(statement.getBlocks()[i]);
+            if (!statement.isBlocksReturnValues()) {
+                block.addStatement(new Java.BreakStatement(location, null));
+            }
+            List<Java.Rvalue> labels = Collections.singletonList(expression(statement.getOptions()[i]));
+            groups.add(new Java.SwitchStatement.SwitchBlockStatementGroup(location, labels, false, Collections.singletonList(block)));
+        }
+        List<Java.BlockStatement> defaultStatements = new ArrayList<>();
+        if (statement.isWithDefaultUnsupported()) {
+            Java.Rvalue exception = new Java.NewClassInstance(location, null, type(UnsupportedOperationException.class), NO_RVALUES);
+            defaultStatements.add(new Java.ThrowStatement(location, exception));
+        } else {
+            block(statement.getDefaultBlock(), defaultStatements);
+        }
+        groups.add(new Java.SwitchStatement.SwitchBlockStatementGroup(location, Collections.emptyList(), true, defaultStatements));
+        return new Java.SwitchStatement(location, expression(statement.getSwitchExpression()), groups);
+    }
+
+    private Java.Block blockReturning(Java.Rvalue value) {
+        Java.Block block = new Java.Block(location);
+        block.addStatement(new Java.ReturnStatement(location, value));
+        return block;
+    }
+
+    private Java.BlockStatement localVariable(Java.Type type, String name, Java.Rvalue initializer) {
+        Java.VariableDeclarator declarator = new Java.VariableDeclarator(location, name, 0, initializer);
+        return new Java.LocalVariableDeclarationStatement(location, NO_MODIFIERS, type, new Java.VariableDeclarator[]{declarator});
+    }
+
+    private Java.BlockStatement assignment(CodegenExpression lhs, String operator, CodegenExpression rhs) throws CompileException, IOException {
+        Java.Lvalue target = expression(lhs).toLvalueOrCompileException();
+        return new Java.ExpressionStatement(new Java.Assignment(location, target, operator, expression(rhs)));
+    }
+
+    // Expressions
+
+    private Java.Rvalue[] expressions(CodegenExpression[] expressions) throws CompileException, IOException {
+        if (expressions == null || expressions.length == 0) {
+            return NO_RVALUES;
+        }
+        Java.Rvalue[] result = new Java.Rvalue[expressions.length];
+        for (int i = 0; i < expressions.length; i++) {
+            result[i] = expression(expressions[i]);
+        }
+        return result;
+    }
+
+    private Java.Rvalue[] expressions(List<CodegenExpression> expressions) throws CompileException, IOException {
+        Java.Rvalue[] result = new Java.Rvalue[expressions.size()];
+        for (int i = 0; i < result.length; i++) {
+            result[i] = expression(expressions.get(i));
+        }
+        return result;
+    }
+
+    private Java.Rvalue expression(CodegenExpression expression) throws CompileException, IOException {
+        if (expression instanceof CodegenExpressionRef) {
+            return name(((CodegenExpressionRef) expression).getRef());
+        } else if (expression instanceof CodegenExpressionMember) {
+            return name(((CodegenExpressionMember) expression).getRef());
+        } else if (expression instanceof CodegenExpressionExprDotMethod) {
+            CodegenExpressionExprDotMethod dot = (CodegenExpressionExprDotMethod) expression;
+            if (isSuper(dot.getExpression())) {
+                return new Java.SuperclassMethodInvocation(location, dot.getMethod(), expressions(dot.getParams()));
+            }
+            return new Java.MethodInvocation(location, target(dot.getExpression()), dot.getMethod(), expressions(dot.getParams()));
+        } else if (expression instanceof CodegenExpressionLocalMethod) {
+            return localMethod((CodegenExpressionLocalMethod) expression);
+        } else if (expression instanceof CodegenExpressionConstant) {
+            return constant(((CodegenExpressionConstant) expression).getConstant());
+        } else if (expression instanceof CodegenExpressionConstantNull) {
+            return new Java.NullLiteral(location);
+        } else if (expression instanceof CodegenExpressionConstantTrue) {
+            return new Java.BooleanLiteral(location, "true");
+        } else if (expression instanceof CodegenExpressionConstantFalse) {
+            return new Java.BooleanLiteral(location, "false");
+        } else if (expression instanceof CodegenExpressionField) {
+            return qualified(((CodegenExpressionField) expression).getField().getClazz(), ((CodegenExpressionField) expression).getField().getName(), expression);
+        } else if (expression instanceof CodegenExpressionStaticMethod) {
+            CodegenExpressionStaticMethod method = (CodegenExpressionStaticMethod) expression;
+            String target = method.getTarget() != null ? className(method.getTarget()) : method.getTargetClassName();
+            String[] identifiers = identifiers(target);
+            if (identifiers == null) {
+                return parseExpression(expression);
+            }
+            return new Java.MethodInvocation(location, new Java.AmbiguousName(location, identifiers), method.getMethodName(), expressions(method.getParams()));
+        } else if (expression instanceof CodegenExpressionClassMethod) {
+            CodegenExpressionClassMethod method = (CodegenExpressionClassMethod) expression;
+            return new Java.MethodInvocation(location, null, method.getMethodName(), expressions(method.getParams()));
+        } else if (expression instanceof CodegenExpressionNewInstance) {
+            CodegenExpressionNewInstance newInstance = (CodegenExpressionNewInstance) expression;
+            return new Java.NewClassInstance(location, null, type(newInstance.getClazz()), expressions(newInstance.getParams()));
+        } else if (expression instanceof CodegenExpressionNewInstanceInnerClass) {
+            CodegenExpressionNewInstanceInnerClass newInstance = (CodegenExpressionNewInstanceInnerClass) expression;
+            return new Java.NewClassInstance(location, null, typeText(newInstance.getInnerName()), expressions(newInstance.getParams()));
+        } else if (expression instanceof CodegenExpressionCastExpression) {
+            CodegenExpressionCastExpression cast = (CodegenExpressionCastExpression) expression;
+            Java.Type type = cast.getClazz() != null ? type(cast.getClazz()) : typeText(cast.getTypeName());
+            return parenthesized(new Java.Cast(location, type, expression(cast.getExpression())));
+        } else if (expression instanceof CodegenExpressionCastUnderlying) {
+            CodegenExpressionCastUnderlying cast = (CodegenExpressionCastUnderlying) expression;
+            Java.Type type = cast.getClazz() != null ? type(cast.getClazz()) : typeText(cast.getClassName());
+            Java.Rvalue underlying = new Java.MethodInvocation(location, expression(cast.getExpression()), "getUnderlying", NO_RVALUES);
+            return parenthesized(new Java.Cast(location, type, underlying));
+        } else if (expression instanceof CodegenExpressionCastRef) {
+            CodegenExpressionCastRef cast = (CodegenExpressionCastRef) expression;
+            return parenthesized(new Java.Cast(location, type(cast.getClazz()), name(cast.getRef())));
+        } else if (expression instanceof CodegenExpressionEqualsNull) {
+            CodegenExpressionEqualsNull equals = (CodegenExpressionEqualsNull) expression;
+            return new Java.BinaryOperation(location, expression(equals.getLhs()), equals.isNot() ? "!=" : "==", new Java.NullLiteral(location));
+        } else if (expression instanceof CodegenExpressionEqualsReference) {
+            CodegenExpressionEqualsReference equals = (CodegenExpressionEqualsReference) expression;
+            return parenthesized(new Java.BinaryOperation(location, expression(equals.getLhs()), equals.isNot() ? "!=" : "==", expression(equals.getRhs())));
+        } else if (expression instanceof CodegenExpressionNot) {
+            CodegenExpressionNot not = (CodegenExpressionNot) expression;
+            if (!not.isNot()) {
+                return expression(not.getExpression());
+            }
+            return new Java.UnaryOperation(location, "!", parenthesized(expression(not.getExpression())));
+        } else if (expression instanceof CodegenExpressionAndOr) {
+            CodegenExpressionAndOr andOr = (CodegenExpressionAndOr) expression;
+            String operator = andOr.isAnd() ? "&&" : "||";
+            Java.Rvalue result = new Java.BinaryOperation(location, expression(andOr.getFirst()), operator, expression(andOr.getSecond()));
+            if (andOr.getOptionalMore() != null) {
+                for (CodegenExpression more : andOr.getOptionalMore()) {
+                    result = new Java.BinaryOperation(location, result, operator, expression(more));
+                }
+            }
+            return parenthesized(result);
+        } else if (expression instanceof CodegenExpressionOp) {
+            CodegenExpressionOp op = (CodegenExpressionOp) expression;
+            String operator = op.getExpressionText().trim();
+            if (!BINARY_OPERATORS.contains(operator)) {
+                return parseExpression(expression);
+            }
+            return parenthesized(new Java.BinaryOperation(location, expression(op.getLeft()), operator.intern(), expression(op.getRight())));
+        } else if (expression instanceof CodegenExpressionRelational) {
+            CodegenExpressionRelational relational = (CodegenExpressionRelational) expression;
+            return new Java.BinaryOperation(location, expression(relational.getLhs()), relational.getOp().getOp().intern(), expression(relational.getRhs()));
+        } else if (expression instanceof CodegenExpressionConditional) {
+            CodegenExpressionConditional conditional = (CodegenExpressionConditional) expression;
+            return parenthesized(new Java.ConditionalExpression(location, expression(conditional.getCondition()),
+                expression(conditional.getExpressionTrue()), expression(conditional.getExpressionFalse())));
+        } else if (expression instanceof CodegenExpressionExprDotName) {
+            CodegenExpressionExprDotName dot = (CodegenExpressionExprDotName) expression;
+            return dotName(dot.getLhs(), dot.getName());
+        } else if (expression instanceof CodegenExpressionExprDotUnderlying) {
+            CodegenExpressionExprDotUnderlying dot = (CodegenExpressionExprDotUnderlying) expression;
+            return new Java.MethodInvocation(location, target(dot.getExpression()), "getUnderlying", NO_RVALUES);
+        } else if (expression instanceof CodegenExpressionExprDotMethodChain) {
+            CodegenExpressionExprDotMethodChain chain = (CodegenExpressionExprDotMethodChain) expression;
+            Java.Rvalue result = expression(chain.getExpression());
+            for (CodegenChainElement element : chain.getChain()) {
+                result = new Java.MethodInvocation(location, result, element.getMethod(), expressions(element.getOptionalParams()));
+            }
+            return result;
+        } else if (expression instanceof CodegenExpressionEnumOrPublicConstantValue) {
+            CodegenExpressionEnumOrPublicConstantValue value = (CodegenExpressionEnumOrPublicConstantValue) expression;
+            String type = value.getEnumType() != null ? className(value.getEnumType()) : value.getEnumTypeString();
+            return qualified(type, value.getEnumValue(), expression);
+        } else if (expression instanceof CodegenExpressionArrayAtIndex) {
+            CodegenExpressionArrayAtIndex index = (CodegenExpressionArrayAtIndex) expression;
+            return new Java.ArrayAccessExpression(location, expression(index.getExpression()), expression(index.getIndex()));
+        } else if (expression instanceof CodegenExpressionArrayLength) {
+            return dotName(((CodegenExpressionArrayLength) expression).getExpression(), "length");
+        } else if (expression instanceof CodegenExpressionAssign) {
+            CodegenExpressionAssign assign = (CodegenExpressionAssign) expression;
+            return new Java.Assignment(location, expression(assign.getLhs()).toLvalueOrCompileException(), "=", expression(assign.getRhs()));
+        } else if (expression instanceof CodegenExpressionIncrementDecrement) {
+            CodegenExpressionIncrementDecrement crement = (CodegenExpressionIncrementDecrement) expression;
+            return new Java.Crement(location, expression(crement.getRef()).toLvalueOrCompileException(), crement.isIncrement() ? "++" : "--");
+        } else if (expression instanceof CodegenExpressionInstanceOf) {
+            CodegenExpressionInstanceOf instanceOf = (CodegenExpressionInstanceOf) expression;
+            Java.Rvalue result = new Java.Instanceof(location, expression(instanceOf.getLhs()), type(instanceOf.getClazz()));
+            return instanceOf.isNot() ? new Java.UnaryOperation(location, "!", parenthesized(result)) : result;
+        } else if (expression instanceof CodegenExpressionConcat) {
+            return concat((CodegenExpressionConcat) expression);
+        } else if (expression instanceof CodegenExpressionClass) {
+            return new Java.ClassLiteral(location, type(((CodegenExpressionClass) expression).getTarget()));
+        } else if (expression instanceof CodegenExpressionNewArrayByLength) {
+            CodegenExpressionNewArrayByLength newArray = (CodegenExpressionNewArrayByLength) expression;
+            Java.Type type = type(getComponentTypeOutermost(newArray.getComponent()));
+            return new Java.NewArray(location, type, new Java.Rvalue[]{expression(newArray.getExpression())}, getNumberOfDimensions(newArray.getComponent()));
+        } else if (expression instanceof CodegenExpressionNewArrayWithInit) {
+            CodegenExpressionNewArrayWithInit newArray = (CodegenExpressionNewArrayWithInit) expression;
+            Java.Type type = type(getComponentTypeOutermost(newArray.getComponent()));
+            for (int i = 0; i < getNumberOfDimensions(newArray.getComponent()) + 1; i++) {
+                type = new Java.ArrayType(type);
+            }
+            Java.ArrayInitializer initializer = new Java.ArrayInitializer(location, expressions(newArray.getExpressions()));
+            return new Java.NewInitializedArray(location, (Java.ArrayType) type, initializer);
+        } else if (expression instanceof CodegenExpressionNewAnonymousClass) {
+            return anonymousClass((CodegenExpressionNewAnonymousClass) expression);
+        }
+        return parseExpression(expression);
+    }
+
+    private Java.Rvalue localMethod(CodegenExpressionLocalMethod expression) throws CompileException, IOException {
+        CodegenMethod methodNode = expression.getMethodNode();
+        if (methodNode.getAssignedMethod() == null) {
+            throw new IllegalStateException("Method has no assignment for " + methodNode.getAdditionalDebugInfo());
+        }
+        Java.Atom target = null;
+        if (methodNode.getAssignedProviderClassName() != null) {
+            target = name(methodNode.getAssignedProviderClassName());
+        }
+        List<Java.Rvalue> params = new ArrayList<>();
+        for (CodegenExpression param : expression.getParameters()) {
+            params.add(expression(param));
+        }
+        if (methodNode.getOptionalSymbolProvider() == null && methodNode.getDeepParameters() != null) {
+            for (String name : methodNode.getDeepParameters()) {
+                params.add(name(name));
+            }
+        }
+        return new Java.MethodInvocation(location, target, methodNode.getAssignedMethod().getName(), params.toArray(NO_RVALUES));
+    }
+
+    private Java.Rvalue anonymousClass(CodegenExpressionNewAnonymousClass expression) throws CompileException, IOException {
+        Java.AnonymousClassDeclaration declaration = new Java.AnonymousClassDeclaration(location, type(expression.getInterfaceOrSuperClass()));
+        CodegenClassMethods methods = new CodegenClassMethods();
+        for (Pair<String, CodegenMethod> pair : expression.getMethods()) {
+            CodegenStackGenerator.recursiveBuildStack(pair.getSecond(), pair.getFirst(), methods);
+        }
+        methods(declaration, methods.getPublicMethods(), methods.getPrivateMethods());
+        return new Java.NewAnonymousClassInstance(location, null, declaration, expressions(expression.getCtorParams()));
+    }
+
+    private Java.Rvalue concat(CodegenExpressionConcat concat) throws CompileException, IOException {
+        // rendered without parenthesis, the operands associate left-to-right including operands that are concatenations
+        List<CodegenExpression> operands = new ArrayList<>();
+        flattenConcat(concat, operands);
+        Java.Rvalue result = expression(operands.get(0));
+        for (int i = 1; i < operands.size(); i++) {
+            result = new Java.BinaryOperation(location, result, "+", expression(operands.get(i)));
+        }
+        return result;
+    }
+
+    private static void flattenConcat(CodegenExpressionConcat concat, List<CodegenExpression> operands) {
+        for (CodegenExpression expression : concat.getStringExpressions()) {
+            if (expression instanceof CodegenExpressionConcat) {
+                flattenConcat((CodegenExpressionConcat) expression, operands);
+            } else {
+                operands.add(expression);
+            }
+        }
+    }
+
+    // Renders as "lhs.name" when the lhs is a reference and as "(lhs).name" otherwise
+    private Java.Rvalue dotName(CodegenExpression lhs, String name) throws CompileException, IOException {
+        if (isSuper(lhs)) {
+            return parse("super." + name).parseExpression().toRvalueOrCompileException();
+        }
+        if (lhs instanceof CodegenExpressionRef) {
+            String ref = ((CodegenExpressionRef) lhs).getRef();
+            String[] identifiers = identifiers(ref + "." + name);
+            if (identifiers != null) {
+                return name(identifiers);
+            }
+            return new Java.FieldAccessExpression(location, name(ref), name);
+        }
+        return new Java.FieldAccessExpression(location, parenthesized(expression(lhs)), name);
+    }
+
+    // Renders as "ref.method(...)" when the target is a reference and as "(target).method(...)" otherwise
+    private Java.Rvalue target(CodegenExpression target) throws CompileException, IOException {
+        if (target instanceof CodegenExpressionRef) {
+            return expression(target);
+        }
+        return parenthesized(expression(target));
+    }
+
+    private static boolean isSuper(CodegenExpression expression) {
+        return expression instanceof CodegenExpressionRef && ((CodegenExpressionRef) expression).getRef().equals("super");
+    }
+
+    private Java.Rvalue qualified(String prefix, String name, CodegenExpression expression) throws CompileException, IOException {
+        String[] identifiers = identifiers(prefix + "." + name);
+        if (identifiers == null) {
+            return parseExpression(expression);
+        }
+        return name(identifiers);
+    }
+
+    private Java.Rvalue parenthesized(Java.Rvalue rvalue) {
+        return new Java.ParenthesizedExpression(location, rvalue);
+    }
+
+    private Java.Rvalue literal(String text) {
+        return new Java.IntegerLiteral(location, text);
+    }
+
+    private Java.Rvalue constant(Object constant) throws CompileException, IOException {
+        if (constant == null) {
+            return new Java.NullLiteral(location);
+        }
+        if (constant instanceof Boolean) {
+            return new Java.BooleanLiteral(location, constant.toString());
+        }
+        StringBuilder builder = new StringBuilder();
+        CodegenExpressionUtil.renderConstant(builder, constant, imports);
+        String text = builder.toString();
+        if (constant instanceof String) {
+            return new Java.StringLiteral(location, text);
+        } else if (constant instanceof Integer || constant instanceof Long) {
+            return signed(text, new Java.IntegerLiteral(location, unsigned(text)));
+        } else if ((constant instanceof Double || constant instanceof Float) && isNumeric(text)) {
+            return signed(text, new Java.FloatingPointLiteral(location, unsigned(text)));
+        } else if (constant instanceof Character) {
+            return new Java.CharacterLiteral(location, text);
+        }
+        return parse(text).parseExpression().toRvalueOrCompileException();
+    }
+
+    private Java.Rvalue signed(String text, Java.Rvalue literal) {
+        return text.startsWith("-") ? new Java.UnaryOperation(location, "-", literal) : literal;
+    }
+
+    private static String unsigned(String text) {
+        return text.startsWith("-") ? text.substring(1) : text;
+    }
+
+    private static boolean isNumeric(String text) {
+        char first = unsigned(text).charAt(0);
+        return first >= '0' && first <= '9';
+    }
+
+    // Names
+
+    private Java.Rvalue name(String text) throws CompileException, IOException {
+        String[] identifiers = identifiers(text);
+        if (identifiers != null) {
+            return name(identifiers);
+        }
+        if (text.equals("this")) {
+            return new Java.ThisReference(location);
+        }
+        if (text.startsWith("this.")) {
+            String[] rest = identifiers(text.substring(5));
+            if (rest != null) {
+                Java.Rvalue result = new Java.ThisReference(location);
+                for (String identifier : rest) {
+                    result = new Java.FieldAccessExpression(location, result, identifier);
+                }
+                return result;
+            }
+        }
+        return parse(text).parseExpression().toRvalueOrCompileException();
+    }
+
+    private Java.Rvalue name(String[] identifiers) {
+        return new Java.AmbiguousName(location, identifiers);
+    }
+
+    // Returns the identifiers of a plain, optionally qualified, name or null if the text is not a plain name
+    private static String[] identifiers(String text) {
+        int count = 1;
+        int length = text.length();
+        if (length == 0) {
+            return null;
+        }
+        boolean start = true;
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c == '.') {
+                if (start) {
+                    return null;
+                }
+                count++;
+                start = true;
+            } else if (start ? Character.isJavaIdentifierStart(c) : Character.isJavaIdentifierPart(c)) {
+                start = false;
+            } else {
+                return null;
+            }
+        }
+        if (start) {
+            return null;
+        }
+        String[] identifiers = count == 1 ? new String[]{text} : text.split("\\.");
+        for (String identifier : identifiers) {
+            if (KEYWORDS.contains(identifier)) {
+                return null;
+            }
+        }
+        return identifiers;
+    }
+
+    // Types
+
+    private Java.Type type(CodegenClassReference reference) throws CompileException, IOException {
+        return typeOrName(reference.getClazz(), reference.getClassName());
+    }
+
+    private Java.Type type(Class clazz) throws CompileException, IOException {
+        return typeText(className(clazz));
+    }
+
+    private Java.Type typeOrName(Class clazz, String typeName) throws CompileException, IOException {
+        if (clazz == null) {
+            return typeText(typeName);
+        }
+        return type(clazz);
+    }
+
+    private Java.Type typeWithParam(Class clazz, Class optionalTypeParam) throws CompileException, IOException {
+        if (optionalTypeParam == null || clazz.isArray()) {
+            return typeText(className(clazz));
+        }
+        Java.Type typeArgument = typeText(className(optionalTypeParam));
+        String[] identifiers = identifiers(className(clazz));
+        if (identifiers == null || !(typeArgument instanceof Java.TypeArgument)) {
+            StringBuilder builder = new StringBuilder();
+            appendClassName(builder, clazz, optionalTypeParam, imports);
+            return parse(builder.toString()).parseType();
+        }
+        return new Java.ReferenceType(location, NO_ANNOTATIONS, identifiers, new Java.TypeArgument[]{(Java.TypeArgument) typeArgument});
+    }
+
+    private String className(Class clazz) {
+        String name = typeNames.get(clazz);
+        if (name == null) {
+            name = appendClassName(new StringBuilder(), clazz, null, imports).toString();
+            typeNames.put(clazz, name);
+        }
+        return name;
+    }
+
+    private Java.Type typeText(String text) throws CompileException, IOException {
+        int dimensions = 0;
+        String component = text;
+        while (component.endsWith("[]")) {
+            component = component.substring(0, component.length() - 2);
+            dimensions++;
+        }
+        Java.Type type;
+        Java.Primitive primitive = primitive(component);
+        if (primitive != null) {
+            type = new Java.PrimitiveType(location, primitive);
+        } else {
+            String[] identifiers = identifiers(component);
+            if (identifiers == null) {
+                return parse(text).parseType();
+            }
+            type = new Java.ReferenceType(location, NO_ANNOTATIONS, identifiers, null);
+        }
+        for (int i = 0; i < dimensions; i++) {
+            type = new Java.ArrayType(type);
+        }
+        return type;
+    }
+
+    private static Java.Primitive primitive(String name) {
+        switch (name) {
+            case "void":
+                return Java.Primitive.VOID;
+            case "byte":
+                return Java.Primitive.BYTE;
+            case "short":
+                return Java.Primitive.SHORT;
+            case "char":
+                return Java.Primitive.CHAR;
+            case "int":
+                return Java.Primitive.INT;
+            case "long":
+                return Java.Primitive.LONG;
+            case "float":
+                return Java.Primitive.FLOAT;
+            case "double":
+                return Java.Primitive.DOUBLE;
+            case "boolean":
+                return Java.Primitive.BOOLEAN;
+            default:
+                return null;
+        }
+    }
+
+    // Fragments that are not plain names are parsed
+
+    private Java.Rvalue parseExpression(CodegenExpression expression) throws CompileException, IOException {
+        StringBuilder builder = new StringBuilder();
+        expression.render(builder, imports, false);
+        return parse(builder.toString()).parseExpression().toRvalueOrCompileException();
+    }
+
+    private Java.BlockStatement parseStatement(CodegenStatement statement) throws CompileException, IOException {
+        StringBuilder builder = new StringBuilder();
+        statement.render(builder, imports, false, 0, new CodegenIndent(false));
+        Parser parser = parse(builder.toString());
+        Java.Block block = new Java.Block(location);
+        block.addStatements(parser.parseBlockStatements());
+        return block;
+    }
+
+    private Parser parse(String text) throws CompileException, IOException {
+        return new Parser(new Scanner(location.getFileName(), new StringReader(text)));
+    }
+}
@@ -32,7 +32,7 @@ public class CodegenClassGenerator {
         return generateCode(imports, clazz);
     }
 
-    private static Map<Class, String> compileImports(Set<Class> classes) {
+    static Map<Class, String> compileImports(Set<Class> classes) {
         Map<Class, String> imports = new HashMap<>();
         Map<String, Class> assignments = new HashMap<>();
         for (Class clazz : classes) {
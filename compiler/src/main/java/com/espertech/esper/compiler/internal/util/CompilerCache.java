@@ -0,0 +1,384 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.compiler.internal.util;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.EPCompilerPathable;
+import com.espertech.esper.common.client.EventPropertyDescriptor;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.FragmentEventType;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.configuration.compiler.ConfigurationCompilerByteCode;
+import com.espertech.esper.common.client.meta.EventTypeMetadata;
+import com.espertech.esper.common.client.module.ModuleProperty;
+import com.espertech.esper.common.internal.collection.PathRegistry;
+import com.espertech.esper.common.internal.compile.stage1.Compilable;
+import com.espertech.esper.common.internal.context.compile.ContextMetaData;
+import com.espertech.esper.common.internal.context.controller.core.ContextControllerPortableInfo;
+import com.espertech.esper.common.internal.epl.join.lookup.IndexMultiKey;
+import com.espertech.esper.common.internal.epl.lookupplansubord.EventTableIndexMetadata;
+import com.espertech.esper.common.internal.epl.table.compiletime.TableMetaData;
+import com.espertech.esper.common.internal.epl.table.compiletime.TableMetadataColumn;
+import com.espertech.esper.common.internal.epl.util.EPCompilerPathableImpl;
+import com.espertech.esper.common.internal.epl.variable.compiletime.VariableMetaData;
+import com.espertech.esper.common.internal.util.SerializerUtil;
+import com.espertech.esper.compiler.client.CompilerArguments;
+import com.espertech.esper.compiler.client.CompilerOptions;
+import com.espertech.esper.compiler.client.util.EPCompiledIOUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.*;
+
+import static com.espertech.esper.compiler.internal.util.CompilerVersion.COMPILER_VERSION;
+
+/**
+ * Persistent compile cache that stores compiled modules in a local directory, keyed by a content hash of
+ * the module text, the configuration and the path that the module compiles against.
+ * <p>
+ * The path is hashed by content: compiled modules by their class bytes and runtime path information by
+ * the event types, named windows, tables, contexts, variables, expressions, scripts and classes that it provides.
+ * A change in any dependency therefore results in a different key. Application classes are identified by class name.
+ * </p>
+ */
+public class CompilerCache {
+    private final static Logger log = LoggerFactory.getLogger(CompilerCache.class);
+    private final static String FILE_SUFFIX = ".jar";
+
+    private final File directory;
+    private final long maxSizeBytes;
+
+    private CompilerCache(File directory, long maxSizeBytes) {
+        this.directory = directory;
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    /**
+     * Returns the cache according to configuration.
+     *
+     * @param configuration configuration
+     * @return cache or null when not configured
+     */
+    public static CompilerCache make(Configuration configuration) {
+        ConfigurationCompilerByteCode byteCode = configuration.getCompiler().getByteCode();
+        if (byteCode.getCompileCacheDirectory() == null) {
+            return null;
+        }
+        return new CompilerCache(new File(byteCode.getCompileCacheDirectory()), byteCode.getCompileCacheMaxSize());
+    }
+
+    /**
+     * Computes the cache key for a module.
+     *
+     * @param compilables      statements
+     * @param moduleName       module name or null
+     * @param moduleUses       module uses or null
+     * @param moduleImports    module imports or null
+     * @param moduleProperties module properties
+     * @param arguments        compiler arguments
+     * @return key or null when the module cannot be cached
+     */
+    public String key(List<Compilable> compilables, String moduleName, Set<String> moduleUses, Set<String> moduleImports, Map<ModuleProperty, Object> moduleProperties, CompilerArguments arguments) {
+        try {
+            return keyInternal(compilables, moduleName, moduleUses, moduleImports, moduleProperties, arguments);
+        } catch (RuntimeException ex) {
+            log.debug("Module cannot be cached: " + ex.getMessage(), ex);
+            return null;
+        }
+    }
+
+    private String keyInternal(List<Compilable> compilables, String moduleName, Set<String> moduleUses, Set<String> moduleImports, Map<ModuleProperty, Object> moduleProperties, CompilerArguments arguments) {
+        if (hasOptions(arguments.getOptions())) {
+            return null;
+        }
+        Configuration configuration = arguments.getConfiguration();
+        if (configuration.getCommon().getTransientConfiguration() != null && !configuration.getCommon().getTransientConfiguration().isEmpty()) {
+            return null;
+        }
+        Object userObject = moduleProperties.get(ModuleProperty.USEROBJECT);
+        if (userObject != null && !(userObject instanceof java.io.Serializable)) {
+            return null;
+        }
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException ex) {
+            log.warn("Compile cache not available: " + ex.getMessage(), ex);
+            return null;
+        }
+        Hasher hasher = new Hasher(digest);
+        hasher.add("version").add(COMPILER_VERSION);
+        hasher.add("module").add(moduleName).add(sorted(moduleUses)).add(sorted(moduleImports));
+        for (ModuleProperty property : ModuleProperty.values()) {
+            Object value = moduleProperties.get(property);
+            if (value != null) {
+                hasher.add(property.name()).add(SerializerUtil.objectToByteArr(value));
+            }
+        }
+
+        // the text is hashed as is, as white space within comments and quoted text matters
+        for (Compilable compilable : compilables) {
+            hasher.add("stmt").add(compilable.toEPL());
+        }
+
+        hasher.add("config").add(SerializerUtil.objectToByteArr(configuration.getCommon())).add(SerializerUtil.objectToByteArr(configuration.getCompiler()));
+
+        for (EPCompiled compiled : arguments.getPath().getCompileds()) {
+            hasher.add("compiled").add(compiled.getManifest().getCompilerVersion()).add(compiled.getManifest().getModuleProviderClassName()).add(compiled.getManifest().getQueryProviderClassName());
+            for (Map.Entry<String, byte[]> entry : new TreeMap<>(compiled.getClasses()).entrySet()) {
+                hasher.add(entry.getKey()).add(entry.getValue());
+            }
+        }
+        for (EPCompilerPathable pathable : arguments.getPath().getCompilerPathables()) {
+            hasher.add("pathable");
+            hashPathable((EPCompilerPathableImpl) pathable, hasher);
+        }
+        return hasher.hex();
+    }
+
+    /**
+     * Returns the cached compiled module or null when not found.
+     *
+     * @param key key
+     * @return compiled or null
+     */
+    public EPCompiled get(String key) {
+        File file = new File(directory, key + FILE_SUFFIX);
+        if (!file.exists()) {
+            return null;
+        }
+        try {
+            EPCompiled compiled = EPCompiledIOUtil.read(file);
+            if (!COMPILER_VERSION.equals(compiled.getManifest().getCompilerVersion())) {
+                return null;
+            }
+            // the last-modified time is the access time for the purpose of eviction
+            file.setLastModified(System.currentTimeMillis());
+            return compiled;
+        } catch (IOException ex) {
+            log.warn("Failed to read compile cache entry '" + file + "', removing entry: " + ex.getMessage(), ex);
+            file.delete();
+            return null;
+        }
+    }
+
+    /**
+     * Adds a compiled module to the cache, evicting the least recently used entries when the cache exceeds its size.
+     *
+     * @param key      key
+     * @param compiled compiled
+     */
+    public void put(String key, EPCompiled compiled) {
+        File file = new File(directory, key + FILE_SUFFIX);
+        try {
+            Files.createDirectories(directory.toPath());
+            File temp = File.createTempFile(key, ".tmp", directory);
+            try {
+                EPCompiledIOUtil.write(compiled, temp);
+                Files.move(temp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                temp.delete();
+            }
+        } catch (IOException ex) {
+            log.warn("Failed to write compile cache entry '" + file + "': " + ex.getMessage(), ex);
+            return;
+        }
+        evict(file);
+    }
+
+    private void evict(File retained) {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(FILE_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        long total = 0;
+        for (File file : files) {
+            total += file.length();
+        }
+        if (total <= maxSizeBytes) {
+            return;
+        }
+        Arrays.sort(files, Comparator.comparingLong(File::lastModified));
+        for (File file : files) {
+            if (total <= maxSizeBytes) {
+                break;
+            }
+            if (file.equals(retained)) {
+                continue;
+            }
+            long length = file.length();
+            if (file.delete()) {
+                total -= length;
+            }
+        }
+    }
+
+    private static boolean hasOptions(CompilerOptions options) {
+        return options.getAccessModifierContext() != null || options.getAccessModifierEventType() != null ||
+            options.getAccessModifierExpression() != null || options.getAccessModifierNamedWindow() != null ||
+            options.getAccessModifierScript() != null || options.getAccessModifierTable() != null ||
+            options.getAccessModifierVariable() != null || options.getBusModifierEventType() != null ||
+            options.getStatementName() != null || options.getStatementUserObject() != null;
+    }
+
+    private static String sorted(Set<String> values) {
+        return values == null ? "" : new TreeSet<>(values).toString();
+    }
+
+    private static void hashPathable(EPCompilerPathableImpl pathable, Hasher hasher) {
+        SortedSet<String> entries = new TreeSet<>();
+        addEntries(pathable.getEventTypePathRegistry(), entries, (module, type) -> "type " + module + " " + fingerprint(type));
+        addEntries(pathable.getNamedWindowPathRegistry(), entries, (module, window) -> "window " + module + " " + fingerprint(window.getEventType()) +
+            " " + window.getContextName() + " " + Arrays.toString(window.getUniqueness()) + " " + window.isVirtualDataWindow() + " " + window.isEnableIndexShare() +
+            " " + fingerprint(window.getIndexMetadata()));
+        addEntries(pathable.getTablePathRegistry(), entries, (module, table) -> "table " + module + " " + table.getTableName() + " " + fingerprint(table.getInternalEventType()) +
+            " " + fingerprint(table.getPublicEventType()) + " " + table.getOptionalContextName() + " " + Arrays.toString(table.getKeyColumns()) +
+            " " + columns(table) + " " + fingerprint(table.getIndexMetadata()));
+        addEntries(pathable.getContextPathRegistry(), entries, (module, context) -> "context " + module + " " + fingerprint(context));
+        addEntries(pathable.getVariablePathRegistry(), entries, (module, variable) -> "variable " + module + " " + fingerprint(variable));
+        addEntries(pathable.getExprDeclaredPathRegistry(), entries, (module, expression) -> "expression " + module + " " + expression.getName() +
+            " " + Arrays.toString(expression.getParametersNames()) + " " + expression.isAlias() + " " +
+            (expression.getOptionalSodaBytes() == null ? "" : Base64.getEncoder().encodeToString(expression.getOptionalSodaBytes().get())));
+        addEntries(pathable.getScriptPathRegistry(), entries, (module, script) -> "script " + module + " " + script.getName() + " " + script.getOptionalDialect() +
+            " " + Arrays.toString(script.getParameterNames()) + " " + script.getOptionalReturnTypeName() + " " + script.isOptionalReturnTypeIsArray() +
+            " " + script.getOptionalEventTypeName() + " " + script.getExpression());
+        addEntries(pathable.getClassProvidedPathRegistry(), entries, (module, clazz) -> {
+            StringBuilder builder = new StringBuilder("class ").append(module).append(" ").append(clazz.getClassName());
+            for (Map.Entry<String, byte[]> entry : new TreeMap<>(clazz.getBytes()).entrySet()) {
+                builder.append(" ").append(entry.getKey()).append(" ").append(Base64.getEncoder().encodeToString(entry.getValue()));
+            }
+            return builder.toString();
+        });
+        for (EventType type : pathable.getEventTypePreconfigured().getAllTypes()) {
+            entries.add("preconfigured-type " + fingerprint(type));
+        }
+        for (Map.Entry<String, VariableMetaData> entry : pathable.getVariablePreconfigured().getMetadata().entrySet()) {
+            entries.add("preconfigured-variable " + fingerprint(entry.getValue()));
+        }
+        for (String entry : entries) {
+            hasher.add(entry);
+        }
+    }
+
+    private static <K, E> void addEntries(PathRegistry<K, E> registry, SortedSet<String> entries, PathEntryFingerprint<E> fingerprint) {
+        registry.traverseWithModule((module, entity) -> entries.add(fingerprint.fingerprint(module, entity)));
+    }
+
+    private static String fingerprint(EventType type) {
+        StringBuilder builder = new StringBuilder();
+        fingerprint(type, builder, new HashSet<>());
+        return builder.toString();
+    }
+
+    private static void fingerprint(EventType type, StringBuilder builder, Set<EventType> visited) {
+        if (type == null) {
+            builder.append("null");
+            return;
+        }
+        EventTypeMetadata metadata = type.getMetadata();
+        builder.append(metadata.getName()).append("/").append(metadata.getModuleName()).append("/").append(metadata.getTypeClass())
+            .append("/").append(metadata.getApplicationType()).append("/").append(metadata.getAccessModifier()).append("/").append(metadata.getBusModifier())
+            .append("/").append(type.getUnderlyingType() == null ? null : type.getUnderlyingType().getName());
+        if (!visited.add(type)) {
+            return;
+        }
+        if (type.getSuperTypes() != null) {
+            for (EventType superType : type.getSuperTypes()) {
+                builder.append(" super ").append(superType.getName());
+            }
+        }
+        for (EventPropertyDescriptor descriptor : type.getPropertyDescriptors()) {
+            builder.append(" ").append(descriptor);
+            if (descriptor.isFragment()) {
+                FragmentEventType fragment = type.getFragmentType(descriptor.getPropertyName());
+                if (fragment != null) {
+                    builder.append(" fragment ").append(fragment.isIndexed()).append(" ");
+                    fingerprint(fragment.getFragmentType(), builder, visited);
+                }
+            }
+        }
+    }
+
+    private static String fingerprint(EventTableIndexMetadata indexMetadata) {
+        SortedSet<String> indexes = new TreeSet<>();
+        for (IndexMultiKey key : indexMetadata.getIndexes().keySet()) {
+            indexes.add(key.toQueryPlan());
+        }
+        return indexes.toString();
+    }
+
+    private static String columns(TableMetaData table) {
+        StringBuilder builder = new StringBuilder();
+        for (Map.Entry<String, TableMetadataColumn> column : new TreeMap<>(table.getColumns()).entrySet()) {
+            builder.append(" ").append(column.getKey()).append(":").append(column.getValue().getClass().getSimpleName()).append(":").append(column.getValue().isKey());
+        }
+        return builder.toString();
+    }
+
+    private static String fingerprint(ContextMetaData context) {
+        StringBuilder builder = new StringBuilder(context.getContextName()).append(" ").append(fingerprint(context.getEventType()));
+        for (ContextControllerPortableInfo info : context.getValidationInfos()) {
+            builder.append(" ").append(info.getClass().getSimpleName());
+        }
+        return builder.toString();
+    }
+
+    private static String fingerprint(VariableMetaData variable) {
+        Object value = variable.isCompileTimeConstant() ? variable.getValueWhenAvailable() : null;
+        return variable.getVariableName() + " " + (variable.getType() == null ? null : variable.getType().getName()) + " " +
+            fingerprint(variable.getEventType()) + " " + variable.isConstant() + " " + variable.getOptionalContextName() + " " + value;
+    }
+
+    private interface PathEntryFingerprint<E> {
+        String fingerprint(String module, E entity);
+    }
+
+    private static class Hasher {
+        private final MessageDigest digest;
+
+        Hasher(MessageDigest digest) {
+            this.digest = digest;
+        }
+
+        Hasher add(String value) {
+            if (value == null) {
+                digest.update((byte) 0);
+            } else {
+                add(value.getBytes(StandardCharsets.UTF_8));
+            }
+            return this;
+        }
+
+        Hasher add(byte[] value) {
+            // length-prefix each value so that adjacent values cannot run into each other
+            int length = value.length;
+            digest.update(new byte[]{1, (byte) (length >>> 24), (byte) (length >>> 16), (byte) (length >>> 8), (byte) length});
+            digest.update(value);
+            return this;
+        }
+
+        String hex() {
+            StringBuilder builder = new StringBuilder();
+            for (byte b : digest.digest()) {
+                builder.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+            }
+            return builder.toString();
+        }
+    }
+}
@@ -0,0 +1,222 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.compiler.internal.util;
+
+import com.espertech.esper.common.client.annotation.HintEnum;
+import com.espertech.esper.common.internal.compile.stage1.spec.*;
+import com.espertech.esper.common.internal.context.compile.ContextMetaData;
+import com.espertech.esper.common.internal.context.controller.core.ContextControllerPortableInfo;
+import com.espertech.esper.common.internal.context.controller.keyed.ContextControllerKeyedValidation;
+import com.espertech.esper.common.internal.context.controller.keyed.ContextControllerKeyedValidationItem;
+import com.espertech.esper.common.internal.epl.expression.agg.base.ExprAggregateNode;
+import com.espertech.esper.common.internal.epl.expression.core.ExprConstantNode;
+import com.espertech.esper.common.internal.epl.expression.core.ExprIdentNode;
+import com.espertech.esper.common.internal.epl.expression.core.ExprIdentNodeImpl;
+import com.espertech.esper.common.internal.epl.expression.core.ExprNode;
+import com.espertech.esper.common.internal.epl.expression.core.ExprWildcard;
+import com.espertech.esper.common.internal.epl.expression.funcs.ExprCaseNode;
+import com.espertech.esper.common.internal.epl.expression.funcs.ExprCastNode;
+import com.espertech.esper.common.internal.epl.expression.funcs.ExprCoalesceNode;
+import com.espertech.esper.common.internal.epl.expression.funcs.ExprMinMaxRowNode;
+import com.espertech.esper.common.internal.epl.expression.ops.*;
+import com.espertech.esper.common.internal.view.core.ViewEnum;
+
+import java.lang.annotation.Annotation;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Rewrites statements that declare the {@link HintEnum#CONTEXT_FLYWEIGHT} hint and that are associated to
+ * an unconditional keyed segmented context into an equivalent non-partitioned statement that groups by the
+ * partition key properties.
+ * <p>
+ * A keyed context allocates, for each distinct key, a statement agent instance including filter registrations,
+ * result set processor and views. For aggregating statements without partition-specific behavior the same
+ * output is computed by a single statement instance that groups by the partition keys, thereby keeping
+ * only the per-key aggregation state in the grouped aggregation table.
+ * Statements that are not eligible keep the regular per-partition allocation.
+ * </p>
+ */
+public class CompilerHelperContextFlyweight {
+
+    /**
+     * Rewrites the statement specification when eligible.
+     *
+     * @param raw         statement specification
+     * @param annotations statement annotations
+     * @param detail      context metadata
+     * @param hasSubselectOrTableAccess indicator whether the statement has subqueries or table access
+     * @return true when the statement was rewritten and is no longer associated to the context
+     */
+    public static boolean rewrite(StatementSpecRaw raw, Annotation[] annotations, ContextMetaData detail, boolean hasSubselectOrTableAccess) {
+        if (HintEnum.CONTEXT_FLYWEIGHT.getHint(annotations) == null || hasSubselectOrTableAccess) {
+            return false;
+        }
+        ContextControllerPortableInfo[] validations = detail.getValidationInfos();
+        if (validations.length != 1 || !(validations[0] instanceof ContextControllerKeyedValidation)) {
+            return false;
+        }
+        ContextControllerKeyedValidation keyed = (ContextControllerKeyedValidation) validations[0];
+        if (!keyed.isUnconditional()) {
+            return false;
+        }
+        if (!isEligibleStatementShape(raw)) {
+            return false;
+        }
+
+        FilterStreamSpecRaw stream = (FilterStreamSpecRaw) raw.getStreamSpecs().get(0);
+        String eventTypeName = stream.getRawFilterSpec().getEventTypeName();
+        ContextControllerKeyedValidationItem item = null;
+        for (ContextControllerKeyedValidationItem candidate : keyed.getItems()) {
+            if (candidate.getEventType().getName().equals(eventTypeName)) {
+                item = candidate;
+                break;
+            }
+        }
+        if (item == null) {
+            return false;
+        }
+        List<String> keys = Arrays.asList(item.getPropertyNames());
+        String streamName = stream.getOptionalStreamName();
+
+        // filter and where-clause may refer to any event property but not to context properties or aggregations
+        for (ExprNode filter : stream.getRawFilterSpec().getFilterExpressions()) {
+            if (!isEligibleExpression(filter, null, streamName, false)) {
+                return false;
+            }
+        }
+        if (raw.getWhereClause() != null && !isEligibleExpression(raw.getWhereClause(), null, streamName, false)) {
+            return false;
+        }
+
+        // select-clause may refer to partition key properties outside of aggregation functions
+        boolean hasAggregation = false;
+        for (SelectClauseElementRaw element : raw.getSelectClauseSpec().getSelectExprList()) {
+            if (!(element instanceof SelectClauseExprRawSpec)) {
+                return false;
+            }
+            ExprNode expression = ((SelectClauseExprRawSpec) element).getSelectExpression();
+            if (!isEligibleExpression(expression, keys, streamName, true)) {
+                return false;
+            }
+            hasAggregation |= hasAggregation(expression);
+        }
+
+        // data windows are retained per partition key
+        ViewSpec[] views = stream.getViewSpecs();
+        if (views.length > 0) {
+            if (!hasAggregation) {
+                return false;
+            }
+            List<ExprNode> groupWinParams = new ArrayList<>();
+            for (String key : keys) {
+                groupWinParams.add(new ExprIdentNodeImpl(key));
+            }
+            ViewSpec[] rewritten = new ViewSpec[views.length + 1];
+            rewritten[0] = new ViewSpec(ViewEnum.GROUP_PROPERTY.getNamespace(), ViewEnum.GROUP_PROPERTY.getName(), groupWinParams);
+            System.arraycopy(views, 0, rewritten, 1, views.length);
+            raw.getStreamSpecs().set(0, new FilterStreamSpecRaw(stream.getRawFilterSpec(), rewritten, stream.getOptionalStreamName(), stream.getOptions()));
+        }
+
+        if (hasAggregation) {
+            for (String key : keys) {
+                raw.getGroupByExpressions().add(new GroupByClauseElementExpr(new ExprIdentNodeImpl(key)));
+            }
+        }
+        raw.setOptionalContextName(null);
+        return true;
+    }
+
+    private static boolean isEligibleStatementShape(StatementSpecRaw raw) {
+        if (raw.getStreamSpecs().size() != 1 || !(raw.getStreamSpecs().get(0) instanceof FilterStreamSpecRaw)) {
+            return false;
+        }
+        if (raw.getOnTriggerDesc() != null || raw.getUpdateDesc() != null || raw.getCreateWindowDesc() != null ||
+            raw.getCreateTableDesc() != null || raw.getCreateIndexDesc() != null || raw.getCreateVariableDesc() != null ||
+            raw.getCreateSchemaDesc() != null || raw.getCreateContextDesc() != null || raw.getCreateExpressionDesc() != null ||
+            raw.getCreateDataFlowDesc() != null || raw.getCreateClassProvided() != null || raw.getFireAndForgetSpec() != null) {
+            return false;
+        }
+        if (raw.getIntoTableSpec() != null || raw.getMatchRecognizeSpec() != null || raw.getForClauseSpec() != null ||
+            raw.getOutputLimitSpec() != null || raw.getRowLimitSpec() != null || raw.getHavingClause() != null ||
+            !raw.getOrderByList().isEmpty() || !raw.getGroupByExpressions().isEmpty()) {
+            return false;
+        }
+        if (raw.getSelectStreamSelectorEnum() != SelectClauseStreamSelectorEnum.ISTREAM_ONLY ||
+            (raw.getInsertIntoDesc() != null && raw.getInsertIntoDesc().getStreamSelector() != SelectClauseStreamSelectorEnum.ISTREAM_ONLY)) {
+            return false;
+        }
+        SelectClauseSpecRaw select = raw.getSelectClauseSpec();
+        if (select.isDistinct() || select.isUsingWildcard() || select.getSelectExprList().isEmpty()) {
+            return false;
+        }
+        FilterStreamSpecRaw stream = (FilterStreamSpecRaw) raw.getStreamSpecs().get(0);
+        if (stream.getRawFilterSpec().getOptionalPropertyEvalSpec() != null) {
+            return false;
+        }
+        for (ViewSpec view : stream.getViewSpecs()) {
+            ViewEnum viewEnum = ViewEnum.forName(view.getObjectNamespace(), view.getObjectName());
+            if (viewEnum != ViewEnum.LENGTH_WINDOW && viewEnum != ViewEnum.TIME_WINDOW) {
+                return false;
+            }
+        }
+        return stream.getViewSpecs().length <= 1;
+    }
+
+    private static boolean isEligibleExpression(ExprNode node, List<String> keys, String streamName, boolean allowAggregation) {
+        if (node instanceof ExprAggregateNode) {
+            if (!allowAggregation) {
+                return false;
+            }
+            for (ExprNode child : node.getChildNodes()) {
+                if (!isEligibleExpression(child, null, streamName, false)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+        if (node instanceof ExprIdentNode) {
+            ExprIdentNode ident = (ExprIdentNode) node;
+            String streamOrProperty = ident.getStreamOrPropertyName();
+            if (streamOrProperty != null && !streamOrProperty.equals(streamName)) {
+                return false;
+            }
+            return keys == null || keys.contains(ident.getUnresolvedPropertyName());
+        }
+        if (!(node instanceof ExprConstantNode || node instanceof ExprWildcard || node instanceof ExprMathNode || node instanceof ExprRelationalOpNode ||
+            node instanceof ExprEqualsNode || node instanceof ExprAndNode || node instanceof ExprOrNode ||
+            node instanceof ExprNotNode || node instanceof ExprConcatNode || node instanceof ExprBetweenNode ||
+            node instanceof ExprInNode || node instanceof ExprLikeNode || node instanceof ExprRegexpNode ||
+            node instanceof ExprBitWiseNode || node instanceof ExprCaseNode || node instanceof ExprCoalesceNode ||
+            node instanceof ExprMinMaxRowNode || node instanceof ExprCastNode)) {
+            return false;
+        }
+        for (ExprNode child : node.getChildNodes()) {
+            if (!isEligibleExpression(child, keys, streamName, allowAggregation)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean hasAggregation(ExprNode node) {
+        if (node instanceof ExprAggregateNode) {
+            return true;
+        }
+        for (ExprNode child : node.getChildNodes()) {
+            if (hasAggregation(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
@@ -149,7 +149,10 @@ public class CompilerHelperStatementProvider {
                 if (detail == null) {
                     throw new StatementSpecCompileException("Context by name '" + optionalContextName + "' could not be found", compilable.toEPL());
                 }
-                contextDescriptor = new ContextCompileTimeDescriptor(optionalContextName, detail.getContextModuleName(), detail.getContextVisibility(), new ContextPropertyRegistry(detail), detail.getValidationInfos());
+                // flyweight keyed-context statements are rewritten to group by the partition keys instead
+                if (!CompilerHelperContextFlyweight.rewrite(raw, annotations, detail, !subselectNodes.isEmpty() || !tableAccessNodes.isEmpty())) {
+                    contextDescriptor = new ContextCompileTimeDescriptor(optionalContextName, detail.getContextModuleName(), detail.getContextVisibility(), new ContextPropertyRegistry(detail), detail.getValidationInfos());
+                }
             }
 
             // Stage 2(d) compile raw statement spec
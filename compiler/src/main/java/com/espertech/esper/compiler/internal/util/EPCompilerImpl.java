@@ -82,12 +82,26 @@ public class EPCompilerImpl implements EPCompilerSPI {
             String moduleName = determineModuleName(arguments.getOptions(), module);
             Set<String> moduleUses = determineModuleUses(moduleName, arguments.getOptions(), module);
 
+            // use the compile cache, when configured
+            CompilerCache cache = CompilerCache.make(arguments.getConfiguration());
+            String cacheKey = cache == null ? null : cache.key(compilables, moduleName, moduleUses, module.getImports(), Collections.emptyMap(), arguments);
+            if (cacheKey != null) {
+                EPCompiled cached = cache.get(cacheKey);
+                if (cached != null) {
+                    return cached;
+                }
+            }
+
             // get compile services
             ModuleCompileTimeServices compileTimeServices = getCompileTimeServices(arguments, moduleName, moduleUses, false);
             addModuleImports(module.getImports(), compileTimeServices);
 
             // compile
-            return CompilerHelperModuleProvider.compile(compilables, moduleName, Collections.emptyMap(), compileTimeServices, arguments.getOptions());
+            EPCompiled compiled = CompilerHelperModuleProvider.compile(compilables, moduleName, Collections.emptyMap(), compileTimeServices, arguments.getOptions());
+            if (cacheKey != null) {
+                cache.put(cacheKey, compiled);
+            }
+            return compiled;
         } catch (EPCompileException ex) {
             throw ex;
         } catch (ParseException t) {
@@ -130,10 +144,6 @@ public class EPCompilerImpl implements EPCompilerSPI {
         String moduleName = determineModuleName(arguments.getOptions(), module);
         Set<String> moduleUses = determineModuleUses(moduleName, arguments.getOptions(), module);
 
-        // get compile services
-        ModuleCompileTimeServices compileTimeServices = getCompileTimeServices(arguments, moduleName, moduleUses, false);
-        addModuleImports(module.getImports(), compileTimeServices);
-
         List<Compilable> compilables = new ArrayList<>();
         for (ModuleItem item : module.getItems()) {
             if (item.isCommentOnly()) {
@@ -161,8 +171,26 @@ public class EPCompilerImpl implements EPCompilerSPI {
         addModuleProperty(moduleProperties, ModuleProperty.USES, toNullOrArray(module.getUses()));
         addModuleProperty(moduleProperties, ModuleProperty.IMPORTS, toNullOrArray(module.getImports()));
 
+        // use the compile cache, when configured
+        CompilerCache cache = CompilerCache.make(arguments.getConfiguration());
+        String cacheKey = cache == null ? null : cache.key(compilables, moduleName, moduleUses, module.getImports(), moduleProperties, arguments);
+        if (cacheKey != null) {
+            EPCompiled cached = cache.get(cacheKey);
+            if (cached != null) {
+                return cached;
+            }
+        }
+
+        // get compile services
+        ModuleCompileTimeServices compileTimeServices = getCompileTimeServices(arguments, moduleName, moduleUses, false);
+        addModuleImports(module.getImports(), compileTimeServices);
+
         // compile
-        return CompilerHelperModuleProvider.compile(compilables, moduleName, moduleProperties, compileTimeServices, arguments.getOptions());
+        EPCompiled compiled = CompilerHelperModuleProvider.compile(compilables, moduleName, moduleProperties, compileTimeServices, arguments.getOptions());
+        if (cacheKey != null) {
+            cache.put(cacheKey, compiled);
+        }
+        return compiled;
     }
 
     public Module readModule(InputStream stream, String uri) throws IOException, ParseException {
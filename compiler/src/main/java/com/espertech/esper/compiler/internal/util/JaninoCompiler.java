@@ -10,10 +10,12 @@
  */
 package com.espertech.esper.compiler.internal.util;
 
+import com.espertech.esper.common.client.configuration.compiler.ConfigurationCompilerByteCode;
 import com.espertech.esper.common.internal.bytecodemodel.core.CodegenClass;
 import com.espertech.esper.common.internal.compile.stage3.ModuleCompileTimeServices;
 import com.espertech.esper.common.internal.context.util.ByteArrayProvidingClassLoader;
 import org.codehaus.janino.ClassLoaderIClassLoader;
+import org.codehaus.janino.Java;
 import org.codehaus.janino.Parser;
 import org.codehaus.janino.Scanner;
 import org.codehaus.janino.UnitCompiler;
@@ -31,6 +33,11 @@ public class JaninoCompiler {
 
     protected static void compile(CodegenClass clazz, Map<String, byte[]> classpath, Map<String, byte[]> output, ModuleCompileTimeServices compileTimeServices) {
         boolean withCodeLogging = compileTimeServices.getConfiguration().getCompiler().getLogging().isEnableCode();
+        ConfigurationCompilerByteCode.CodegenBackend backend = compileTimeServices.getConfiguration().getCompiler().getByteCode().getCodegenBackend();
+        if (backend == ConfigurationCompilerByteCode.CodegenBackend.DIRECT && !Boolean.getBoolean(Scanner.SYSTEM_PROPERTY_SOURCE_DEBUGGING_ENABLE)) {
+            compileDirect(clazz, classpath, output, withCodeLogging, compileTimeServices.getParentClassLoader());
+            return;
+        }
         String code = CodegenClassGenerator.compile(clazz);
         compileInternal(code, clazz.getClassName(), classpath, output, withCodeLogging, compileTimeServices.getParentClassLoader(), true);
     }
@@ -40,6 +47,26 @@ public class JaninoCompiler {
         compileInternal(code, filenameWithoutExtension, classpath, output, withCodeLogging, compileTimeServices.getParentClassLoader(), false);
     }
 
+    private static void compileDirect(CodegenClass clazz, Map<String, byte[]> classpath, Map<String, byte[]> output, boolean withCodeLogging, ClassLoader classLoader) {
+        try {
+            Java.CompilationUnit unit = CodegenClassAstBuilder.build(clazz, CodegenClassGenerator.compileImports(clazz.getReferencedClasses()));
+            ByteArrayProvidingClassLoader cl = new ByteArrayProvidingClassLoader(classpath, classLoader);
+            UnitCompiler unitCompiler = new UnitCompiler(unit, new ClassLoaderIClassLoader(cl));
+            ClassFile[] classFiles = unitCompiler.compileUnit(true, true, true);
+            for (int i = 0; i < classFiles.length; i++) {
+                output.put(classFiles[i].getThisClassName(), classFiles[i].toByteArray());
+            }
+
+            if (withCodeLogging) {
+                log.info("Code:\n" + codeWithLineNum(CodegenClassGenerator.compile(clazz)));
+            }
+        } catch (Exception ex) {
+            // the direct backend has no source code, render the source code for the purpose of logging only
+            log.error("Failed to compile: " + ex.getMessage() + "\ncode:" + codeWithLineNum(CodegenClassGenerator.compile(clazz)));
+            throw new RuntimeException(ex);
+        }
+    }
+
     private static void compileInternal(String code, String classNameForFile, Map<String, byte[]> classpath, Map<String, byte[]> output, boolean withCodeLogging, ClassLoader classLoader, boolean withErrorLogging) {
         try {
 
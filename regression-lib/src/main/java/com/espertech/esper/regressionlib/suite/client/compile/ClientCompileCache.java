@@ -0,0 +1,212 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.compile;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.compiler.client.CompilerArguments;
+import com.espertech.esper.compiler.client.EPCompileException;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ClientCompileCache {
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new ClientCompileCacheHit());
+        execs.add(new ClientCompileCacheInvalidateCompiledPath());
+        execs.add(new ClientCompileCacheInvalidateRuntimePath());
+        execs.add(new ClientCompileCacheEviction());
+        execs.add(new ClientCompileCacheOptionsNotCached());
+        return execs;
+    }
+
+    private static class ClientCompileCacheHit implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            File directory = makeDirectory();
+            CompilerArguments args = new CompilerArguments(makeConfig(env, directory, Long.MAX_VALUE));
+
+            EPCompiled first = compile(env, "@name('s0') select theString from SupportBean", args);
+            assertEquals(1, countEntries(directory));
+
+            // the module name is assigned randomly, same class names means the module was not compiled again
+            EPCompiled second = compile(env, "@name('s0') select theString from SupportBean", args);
+            assertEquals(first.getClasses().keySet(), second.getClasses().keySet());
+            assertEquals(1, countEntries(directory));
+
+            env.deploy(second).addListener("s0");
+            env.sendEventBean(new SupportBean("E1", 1));
+            assertEquals("E1", env.listener("s0").assertOneGetNewAndReset().get("theString"));
+
+            // different text is a different entry
+            EPCompiled third = compile(env, "@name('s0') select intPrimitive from SupportBean", args);
+            assertNotEquals(first.getClasses().keySet(), third.getClasses().keySet());
+            assertEquals(2, countEntries(directory));
+            env.undeployAll();
+
+            // white space is significant as it may end a comment
+            EPCompiled commentEndsAtNewline = compile(env, "@name('s0') select theString from SupportBean // comment\n where intPrimitive = 1", args);
+            EPCompiled commentToEnd = compile(env, "@name('s0') select theString from SupportBean // comment where intPrimitive = 1", args);
+            assertNotEquals(commentEndsAtNewline.getClasses().keySet(), commentToEnd.getClasses().keySet());
+            assertEquals(4, countEntries(directory));
+
+            env.deploy(commentToEnd).addListener("s0");
+            env.sendEventBean(new SupportBean("E2", 2));
+            assertEquals("E2", env.listener("s0").assertOneGetNewAndReset().get("theString"));
+            env.undeployAll();
+
+            // white space is significant within quoted text that has escaped quotes
+            EPCompiled quotedOneSpace = compile(env, "@name('s0') select 'a\\' b' as c0 from SupportBean", args);
+            EPCompiled quotedTwoSpaces = compile(env, "@name('s0') select 'a\\'  b' as c0 from SupportBean", args);
+            assertNotEquals(quotedOneSpace.getClasses().keySet(), quotedTwoSpaces.getClasses().keySet());
+
+            env.deploy(quotedTwoSpaces).addListener("s0");
+            env.sendEventBean(new SupportBean("E3", 3));
+            assertEquals("a'  b", env.listener("s0").assertOneGetNewAndReset().get("c0"));
+
+            deleteDirectory(directory);
+        }
+    }
+
+    private static class ClientCompileCacheInvalidateCompiledPath implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            File directory = makeDirectory();
+            Configuration configuration = makeConfig(env, directory, Long.MAX_VALUE);
+            String epl = "@name('s0') select x from MySchema";
+
+            EPCompiled schemaInt = compile(env, "@public create schema MySchema(x int)", new CompilerArguments(configuration));
+            CompilerArguments argsInt = new CompilerArguments(configuration);
+            argsInt.getPath().add(schemaInt);
+            EPCompiled selectInt = compile(env, epl, argsInt);
+
+            EPCompiled schemaString = compile(env, "@public create schema MySchema(x string)", new CompilerArguments(configuration));
+            CompilerArguments argsString = new CompilerArguments(configuration);
+            argsString.getPath().add(schemaString);
+            EPCompiled selectString = compile(env, epl, argsString);
+            assertNotEquals(selectInt.getClasses().keySet(), selectString.getClasses().keySet());
+
+            // the same dependency returns the cached module
+            assertEquals(selectInt.getClasses().keySet(), compile(env, epl, argsInt).getClasses().keySet());
+
+            env.deploy(schemaString).deploy(selectString);
+            assertEquals(String.class, env.statement("s0").getEventType().getPropertyType("x"));
+
+            env.undeployAll();
+            deleteDirectory(directory);
+        }
+    }
+
+    private static class ClientCompileCacheInvalidateRuntimePath implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            File directory = makeDirectory();
+            Configuration configuration = makeConfig(env, directory, Long.MAX_VALUE);
+            String epl = "@name('s0') select y from MyRuntimeSchema";
+
+            env.compileDeploy("@public create schema MyRuntimeSchema(y int)");
+            EPCompiled first = compileWRuntimePath(env, epl, configuration);
+            assertEquals(first.getClasses().keySet(), compileWRuntimePath(env, epl, configuration).getClasses().keySet());
+
+            env.undeployAll();
+            env.compileDeploy("@public create schema MyRuntimeSchema(y string)");
+            EPCompiled second = compileWRuntimePath(env, epl, configuration);
+            assertNotEquals(first.getClasses().keySet(), second.getClasses().keySet());
+
+            env.deploy(second);
+            assertEquals(String.class, env.statement("s0").getEventType().getPropertyType("y"));
+
+            env.undeployAll();
+            deleteDirectory(directory);
+        }
+    }
+
+    private static class ClientCompileCacheEviction implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            File directory = makeDirectory();
+            CompilerArguments args = new CompilerArguments(makeConfig(env, directory, 1));
+
+            compile(env, "select theString from SupportBean", args);
+            compile(env, "select intPrimitive from SupportBean", args);
+            EPCompiled last = compile(env, "select longPrimitive from SupportBean", args);
+
+            // the most recently written entry is retained
+            assertEquals(1, countEntries(directory));
+            assertEquals(last.getClasses().keySet(), compile(env, "select longPrimitive from SupportBean", args).getClasses().keySet());
+
+            deleteDirectory(directory);
+        }
+    }
+
+    private static class ClientCompileCacheOptionsNotCached implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            File directory = makeDirectory();
+            CompilerArguments args = new CompilerArguments(makeConfig(env, directory, Long.MAX_VALUE));
+            args.getOptions().setStatementName(ctx -> "s0");
+
+            compile(env, "select theString from SupportBean", args);
+            assertEquals(0, countEntries(directory));
+
+            deleteDirectory(directory);
+        }
+    }
+
+    private static Configuration makeConfig(RegressionEnvironment env, File directory, long maxSize) {
+        Configuration configuration = env.runtime().getConfigurationDeepCopy();
+        configuration.getCompiler().getByteCode().setCompileCacheDirectory(directory.getAbsolutePath());
+        configuration.getCompiler().getByteCode().setCompileCacheMaxSize(maxSize);
+        return configuration;
+    }
+
+    private static EPCompiled compile(RegressionEnvironment env, String epl, CompilerArguments args) {
+        try {
+            return env.getCompiler().compile(epl, args);
+        } catch (EPCompileException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private static EPCompiled compileWRuntimePath(RegressionEnvironment env, String epl, Configuration configuration) {
+        CompilerArguments args = new CompilerArguments(configuration);
+        args.getPath().add(env.runtime().getRuntimePath());
+        return compile(env, epl, args);
+    }
+
+    private static File makeDirectory() {
+        try {
+            return Files.createTempDirectory("esper-compile-cache").toFile();
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    private static int countEntries(File directory) {
+        File[] files = directory.listFiles((dir, name) -> name.endsWith(".jar"));
+        return files == null ? 0 : files.length;
+    }
+
+    private static void deleteDirectory(File directory) {
+        File[] files = directory.listFiles();
+        if (files != null) {
+            for (File file : files) {
+                file.delete();
+            }
+        }
+        directory.delete();
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.compile;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.configuration.compiler.ConfigurationCompilerByteCode;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.compiler.client.CompilerArguments;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+public class ClientCompileCodegenBackend {
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new ClientCompileCodegenBackendSameOutput());
+        return execs;
+    }
+
+    private static class ClientCompileCodegenBackendSameOutput implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "@name('s0') select theString, sum(intPrimitive) as total, avg(doublePrimitive) as av, count(*) as cnt from SupportBean#length(3) group by theString;\n" +
+                "@name('s1') select a.theString as c0, b.id as c1 from pattern[every a=SupportBean(intPrimitive > 0) -> b=SupportBean_S0(id = a.intPrimitive)];\n" +
+                "@name('s2') select case when intPrimitive > 5 then 'big' else 'small' end as c0, cast(doublePrimitive, int) as c1, " +
+                "theString || '-' || Integer.toString(intPrimitive) as c2, intBoxed is null as c3, intPrimitive between 2 and 8 as c4, " +
+                "intPrimitive in (1, 5, 9) as c5, theString like 'E%' as c6, -intPrimitive % 4 as c7 from SupportBean;\n" +
+                "@name('s3') select (select count(*) from SupportBean_S0#keepall) as c0, " +
+                "window(*).countOf(v => v.intPrimitive > 1) as c1, window(*).selectFrom(v => v.theString).distinctOf().countOf() as c2 from SupportBean#keepall;\n" +
+                "create table MyTable(theString string primary key, maxInt max(int));\n" +
+                "into table MyTable select max(intPrimitive) as maxInt from SupportBean#keepall group by theString;\n" +
+                "@name('s4') select MyTable[p00].maxInt as c0 from SupportBean_S0;\n";
+
+            List<List<Object[]>> source = runWithBackend(env, epl, ConfigurationCompilerByteCode.CodegenBackend.SOURCE);
+            List<List<Object[]>> direct = runWithBackend(env, epl, ConfigurationCompilerByteCode.CodegenBackend.DIRECT);
+
+            assertEquals(source.size(), direct.size());
+            for (int i = 0; i < source.size(); i++) {
+                assertFalse(source.get(i).isEmpty());
+                EPAssertionUtil.assertEqualsExactOrder(source.get(i).toArray(new Object[0][]), direct.get(i));
+            }
+        }
+    }
+
+    private static List<List<Object[]>> runWithBackend(RegressionEnvironment env, String epl, ConfigurationCompilerByteCode.CodegenBackend backend) {
+        Configuration configuration = env.getConfiguration();
+        ConfigurationCompilerByteCode.CodegenBackend previous = configuration.getCompiler().getByteCode().getCodegenBackend();
+        EPCompiled compiled;
+        try {
+            configuration.getCompiler().getByteCode().setCodegenBackend(backend);
+            compiled = env.compile(epl, new CompilerArguments(configuration));
+        } finally {
+            configuration.getCompiler().getByteCode().setCodegenBackend(previous);
+        }
+        env.deploy(compiled);
+        String[] names = "s0,s1,s2,s3,s4".split(",");
+        for (String name : names) {
+            env.addListener(name);
+        }
+
+        String[] strings = "E1,E2,E1,X1,E2,E3".split(",");
+        for (int i = 0; i < strings.length; i++) {
+            SupportBean bean = new SupportBean(strings[i], i * 3 % 10);
+            bean.setDoublePrimitive(i * 1.5);
+            bean.setIntBoxed(i % 2 == 0 ? null : i);
+            env.sendEventBean(bean);
+            env.sendEventBean(new SupportBean_S0(i * 3 % 10, strings[i]));
+        }
+
+        List<List<Object[]>> result = new ArrayList<>();
+        for (String name : names) {
+            List<Object[]> rows = new ArrayList<>();
+            for (EventBean event : env.listener(name).getNewDataListFlattened()) {
+                String[] properties = event.getEventType().getPropertyNames();
+                Object[] row = new Object[properties.length];
+                for (int i = 0; i < properties.length; i++) {
+                    row[i] = event.get(properties[i]);
+                }
+                rows.add(row);
+            }
+            result.add(rows);
+        }
+        env.undeployAll();
+        return result;
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.deploy;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.runtime.client.DeploymentOptions;
+import com.espertech.esper.runtime.client.EPDeployException;
+import com.espertech.esper.runtime.client.EPDeployment;
+import com.espertech.esper.runtime.client.EPStatement;
+import com.espertech.esper.runtime.client.scopetest.SupportListener;
+import com.espertech.esper.runtime.internal.kernel.statement.EPStatementSPI;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class ClientDeployParallel {
+    private final static int NUM_FILTERS = 100;
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new ClientDeployParallelMixedModule());
+        execs.add(new ClientDeployParallelFailureAtomic());
+        return execs;
+    }
+
+    private static class ClientDeployParallelMixedModule implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            EPCompiled compiled = env.compile(makeModule());
+            EPDeployment deployment = env.deploy(compiled).deployment().getDeployment(env.deploymentId("window"));
+
+            // statements are assigned ids in module order
+            EPStatement[] statements = deployment.getStatements();
+            for (int i = 1; i < statements.length; i++) {
+                assertEquals(((EPStatementSPI) statements[i - 1]).getStatementId() + 1, ((EPStatementSPI) statements[i]).getStatementId());
+            }
+
+            SupportListener[] listeners = new SupportListener[NUM_FILTERS];
+            for (int i = 0; i < NUM_FILTERS; i++) {
+                env.addListener("f" + i);
+                listeners[i] = env.listener("f" + i);
+            }
+            env.addListener("onselect").addListener("table").addListener("ctx");
+
+            env.sendEventBean(new SupportBean("E1", 10));
+            for (int i = 0; i < NUM_FILTERS; i++) {
+                assertEquals(i == 10, listeners[i].getAndClearIsInvoked());
+            }
+            assertEquals(1L, env.listener("ctx").assertOneGetNewAndReset().get("cnt"));
+
+            env.sendEventBean(new SupportBean("E1", 20));
+            assertEquals(2L, env.listener("ctx").assertOneGetNewAndReset().get("cnt"));
+
+            env.sendEventBean(new SupportBean_S0(1, "E1"));
+            assertEquals(2, env.listener("onselect").getAndResetLastNewData().length);
+            assertEquals(30, env.listener("table").assertOneGetNewAndReset().get("total"));
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ClientDeployParallelFailureAtomic implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            EPCompiled compiled = env.compile(makeModule());
+
+            // the name resolver assigns the same name to two statements that initialize concurrently
+            DeploymentOptions options = new DeploymentOptions().setStatementNameRuntime(ctx -> ctx.getStatementName().equals("f20") ? "f10" : null);
+            try {
+                env.runtime().getDeploymentService().deploy(compiled, options);
+                fail();
+            } catch (EPDeployException ex) {
+                assertTrue(ex.getMessage().contains("Duplicate statement name"));
+            }
+            assertEquals(0, env.deployment().getDeployments().length);
+
+            // nothing remains of the failed deployment
+            env.deploy(compiled).addListener("f10");
+            env.sendEventBean(new SupportBean("E1", 10));
+            assertTrue(env.listener("f10").getAndClearIsInvoked());
+
+            env.undeployAll();
+        }
+    }
+
+    private static String makeModule() {
+        StringBuilder epl = new StringBuilder();
+        epl.append("@name('window') create window MyWindow#keepall as SupportBean;\n");
+        epl.append("@name('insert') insert into MyWindow select * from SupportBean;\n");
+        for (int i = 0; i < NUM_FILTERS; i++) {
+            epl.append("@name('f").append(i).append("') select * from SupportBean(intPrimitive=").append(i).append(");\n");
+        }
+        epl.append("@name('onselect') on SupportBean_S0 as s0 select mw.* from MyWindow as mw where mw.theString = s0.p00;\n");
+        epl.append("create table MyTable(total sum(int));\n");
+        epl.append("into table MyTable select sum(intPrimitive) as total from SupportBean;\n");
+        epl.append("@name('table') select MyTable.total as total from SupportBean_S0;\n");
+        epl.append("create context MyContext partition by theString from SupportBean;\n");
+        epl.append("@name('ctx') context MyContext select count(*) as cnt from SupportBean;\n");
+        return epl.toString();
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.instrument;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.metric.LatencyHistogram;
+import com.espertech.esper.common.client.metric.StatementMetric;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+
+import static org.junit.Assert.*;
+
+public class ClientInstrumentMetricsReportingLatency implements RegressionExecution {
+    private final static long NANOS_PER_MSEC = 1000 * 1000;
+
+    public void run(RegressionEnvironment env) {
+        env.advanceTime(1000);
+
+        env.compileDeploy("@name('stmt_metrics') select * from " + StatementMetric.class.getName() + "(statementName='wallStmt')").addListener("stmt_metrics");
+        env.compileDeploy("@name('wallStmt') select * from SupportBean where MyMetricFunctions.takeWallTime(longPrimitive)").addListener("wallStmt");
+        String deploymentId = env.deploymentId("wallStmt");
+
+        for (int i = 0; i < 9; i++) {
+            sendEvent(env, 1);
+        }
+        sendEvent(env, 50);
+
+        env.advanceTime(11000);
+        EventBean received = env.listener("stmt_metrics").assertOneGetNewAndReset();
+        StatementMetric metric = (StatementMetric) received.getUnderlying();
+        LatencyHistogram histogram = metric.getLatencyHistogram();
+        assertEquals(10, histogram.getTotalCount());
+
+        long p50 = (Long) received.get("latencyP50");
+        long p99 = (Long) received.get("latencyP99");
+        long p999 = (Long) received.get("latencyP999");
+        long max = (Long) received.get("latencyMax");
+        assertTrue("p50=" + p50, p50 >= NANOS_PER_MSEC && p50 < 40 * NANOS_PER_MSEC);
+        assertTrue("max=" + max, max >= 50 * NANOS_PER_MSEC);
+        assertEquals(max, p99);
+        assertEquals(max, p999);
+        assertTrue(metric.getWallTime() >= max);
+
+        // accumulated over intervals and available through JMX
+        sendEvent(env, 1);
+        env.advanceTime(21000);
+        metric = (StatementMetric) env.listener("stmt_metrics").assertOneGetNewAndReset().getUnderlying();
+        assertEquals(1, metric.getLatencyHistogram().getTotalCount());
+
+        String latency = invokeStatementLatency(env, deploymentId, "wallStmt");
+        assertTrue(latency, latency.startsWith("LatencyHistogram{count=11,"));
+        assertNull(invokeStatementLatency(env, deploymentId, "notAStatement"));
+
+        env.undeployAll();
+    }
+
+    private static void sendEvent(RegressionEnvironment env, long msec) {
+        SupportBean bean = new SupportBean("E", 0);
+        bean.setLongPrimitive(msec);
+        env.sendEventBean(bean);
+    }
+
+    private static String invokeStatementLatency(RegressionEnvironment env, String deploymentId, String statementName) {
+        try {
+            ObjectName name = new ObjectName("\"com.espertech.esper-" + env.runtimeURI() + "\":type=\"statementlatency\"");
+            return (String) ManagementFactory.getPlatformMBeanServer().invoke(name, "getStatementLatency",
+                new Object[]{deploymentId, statementName}, new String[]{String.class.getName(), String.class.getName()});
+        } catch (Exception ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+}
@@ -99,6 +99,8 @@ public class ClientInstrumentMetricsReportingStmtMetrics implements RegressionEx
             assertEquals(1L, received[i].get("numOutputIStream"));
             assertEquals(0L, received[i].get("numOutputRStream"));
             assertEquals(timestamp, received[i].get("timestamp"));
+            assertNull(received[i].get("latencyHistogram"));
+            assertEquals(0L, received[i].get("latencyP99"));
         }
 
         listener.reset();
@@ -0,0 +1,202 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.EPStatement;
+import com.espertech.esper.runtime.client.UpdateListener;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.*;
+
+import static org.junit.Assert.*;
+
+public class ClientRuntimeSendEvents {
+    private static final Logger log = LoggerFactory.getLogger(ClientRuntimeSendEvents.class);
+
+    public static List<RegressionExecution> executions() {
+        List<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new ClientRuntimeSendEventsBean());
+        execs.add(new ClientRuntimeSendEventsMap());
+        execs.add(new ClientRuntimeSendEventsObjectArray());
+        execs.add(new ClientRuntimeSendEventsInvalid());
+        execs.add(new ClientRuntimeSendEventsPerformance());
+        return execs;
+    }
+
+    private static class ClientRuntimeSendEventsBean implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            List<String> received = deployInsertIntoChain(env, "SupportBean_S0", new RegressionPath());
+
+            env.eventService().sendEventsBean(Arrays.asList(new SupportBean_S0(1), new SupportBean_S0(2), new SupportBean_S0(3)), "SupportBean_S0");
+            assertEquals(Arrays.asList("s0:1", "s1:1", "s0:2", "s1:2", "s0:3", "s1:3"), received);
+
+            received.clear();
+            env.eventService().sendEventsBean(Collections.emptyList(), "SupportBean_S0");
+            assertTrue(received.isEmpty());
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ClientRuntimeSendEventsMap implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("@public @buseventtype create map schema MyMapEvent(id int)", path);
+            List<String> received = deployInsertIntoChain(env, "MyMapEvent", path);
+
+            List<Map<String, Object>> events = new ArrayList<>();
+            for (int i = 1; i <= 3; i++) {
+                events.add(Collections.singletonMap("id", i));
+            }
+            env.eventService().sendEventsMap(events, "MyMapEvent");
+            assertEquals(Arrays.asList("s0:1", "s1:1", "s0:2", "s1:2", "s0:3", "s1:3"), received);
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ClientRuntimeSendEventsObjectArray implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("@public @buseventtype create objectarray schema MyOAEvent(id int)", path);
+            List<String> received = deployInsertIntoChain(env, "MyOAEvent", path);
+
+            env.eventService().sendEventsObjectArray(Arrays.asList(new Object[]{1}, new Object[]{2}, new Object[]{3}), "MyOAEvent");
+            assertEquals(Arrays.asList("s0:1", "s1:1", "s0:2", "s1:2", "s0:3", "s1:3"), received);
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ClientRuntimeSendEventsInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            env.compileDeploy("@name('s0') select * from SupportBean").addListener("s0");
+
+            try {
+                env.eventService().sendEventsBean(null, "SupportBean");
+                fail();
+            } catch (IllegalArgumentException ex) {
+                assertEquals("Invalid null event collection", ex.getMessage());
+            }
+
+            // a null event fails the batch before any event is processed
+            try {
+                env.eventService().sendEventsBean(Arrays.asList(new SupportBean("E1", 1), null), "SupportBean");
+                fail();
+            } catch (IllegalArgumentException ex) {
+                assertEquals("Invalid null event object", ex.getMessage());
+            }
+            assertFalse(env.listener("s0").isInvoked());
+
+            try {
+                env.eventService().sendEventsMap(Collections.singletonList(Collections.emptyMap()), "SupportBean");
+                fail();
+            } catch (EPException ex) {
+                assertEquals("Event type named 'SupportBean' has not been defined or is not a Map-type event type, the name 'SupportBean' refers to a " + SupportBean.class.getName() + " event type", ex.getMessage());
+            }
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ClientRuntimeSendEventsPerformance implements RegressionExecution {
+        @Override
+        public boolean excludeWhenInstrumented() {
+            return true;
+        }
+
+        public void run(RegressionEnvironment env) {
+            env.compileDeploy("@name('s0') select * from SupportBean(intPrimitive = 0)");
+            CountingListener listener = new CountingListener();
+            env.statement("s0").addListener(listener);
+
+            int numEvents = 200000;
+            int batchSize = 100;
+            List<SupportBean> events = new ArrayList<>(numEvents);
+            for (int i = 0; i < numEvents; i++) {
+                events.add(new SupportBean("E" + i, i % 10));
+            }
+
+            // warm up both paths
+            for (int i = 0; i < 3; i++) {
+                sendSingle(env, events);
+                sendBatched(env, events, batchSize);
+            }
+            listener.count = 0;
+
+            long startSingle = System.nanoTime();
+            sendSingle(env, events);
+            long deltaSingle = System.nanoTime() - startSingle;
+            assertEquals(numEvents / 10, listener.count);
+
+            listener.count = 0;
+            long startBatch = System.nanoTime();
+            sendBatched(env, events, batchSize);
+            long deltaBatch = System.nanoTime() - startBatch;
+            assertEquals(numEvents / 10, listener.count);
+
+            log.info("Single-event path: " + throughput(numEvents, deltaSingle) + " events/sec, " +
+                "batch path (batch size " + batchSize + "): " + throughput(numEvents, deltaBatch) + " events/sec");
+            assertTrue("Delta=" + deltaBatch, deltaBatch < 5_000_000_000L);
+
+            env.undeployAll();
+        }
+
+        private static void sendSingle(RegressionEnvironment env, List<SupportBean> events) {
+            for (SupportBean event : events) {
+                env.eventService().sendEventBean(event, "SupportBean");
+            }
+        }
+
+        private static void sendBatched(RegressionEnvironment env, List<SupportBean> events, int batchSize) {
+            for (int i = 0; i < events.size(); i += batchSize) {
+                env.eventService().sendEventsBean(events.subList(i, Math.min(i + batchSize, events.size())), "SupportBean");
+            }
+        }
+
+        private static long throughput(int numEvents, long deltaNanos) {
+            return (long) (numEvents / (deltaNanos / 1_000_000_000.0));
+        }
+    }
+
+    private static List<String> deployInsertIntoChain(RegressionEnvironment env, String eventTypeName, RegressionPath path) {
+        String epl = "@name('s0') insert into MyInsertedStream select id from " + eventTypeName + ";\n" +
+            "@name('s1') select id from MyInsertedStream;\n";
+        env.compileDeploy(epl, path);
+        List<String> received = new ArrayList<>();
+        for (String name : new String[]{"s0", "s1"}) {
+            EPStatement statement = env.statement(name);
+            statement.addListener((newEvents, oldEvents, stmt, runtime) -> {
+                for (EventBean event : newEvents) {
+                    received.add(name + ":" + event.get("id"));
+                }
+            });
+        }
+        return received;
+    }
+
+    private static class CountingListener implements UpdateListener {
+        private long count;
+
+        public void update(EventBean[] newEvents, EventBean[] oldEvents, EPStatement statement, EPRuntime runtime) {
+            count += newEvents.length;
+        }
+    }
+}
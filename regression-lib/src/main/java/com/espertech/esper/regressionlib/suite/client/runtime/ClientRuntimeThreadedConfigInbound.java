@@ -14,6 +14,8 @@ import com.espertech.esper.common.client.EventSender;
 import com.espertech.esper.common.client.configuration.Configuration;
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommonEventTypeXMLDOM;
 import com.espertech.esper.common.client.configuration.compiler.ConfigurationCompilerPlugInSingleRowFunction;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.client.util.WaitStrategy;
 import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
 import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
 import com.espertech.esper.common.internal.support.SupportBean;
@@ -30,6 +32,16 @@ import static junit.framework.TestCase.fail;
 import static org.junit.Assert.*;
 
 public class ClientRuntimeThreadedConfigInbound implements RegressionExecutionWithConfigure {
+    private final WaitStrategy ringBufferWaitStrategy;
+
+    public ClientRuntimeThreadedConfigInbound() {
+        this(null);
+    }
+
+    public ClientRuntimeThreadedConfigInbound(WaitStrategy ringBufferWaitStrategy) {
+        this.ringBufferWaitStrategy = ringBufferWaitStrategy;
+    }
+
     public void configure(Configuration configuration) {
         SupportExceptionHandlerFactory.getFactoryContexts().clear();
         SupportExceptionHandlerFactory.getHandlers().clear();
@@ -39,6 +51,10 @@ public class ClientRuntimeThreadedConfigInbound implements RegressionExecutionWi
         configuration.getRuntime().getThreading().setInternalTimerEnabled(false);
         configuration.getRuntime().getThreading().setThreadPoolInbound(true);
         configuration.getRuntime().getThreading().setThreadPoolInboundNumThreads(4);
+        if (ringBufferWaitStrategy != null) {
+            configuration.getRuntime().getThreading().setThreadPoolInboundRingBuffer(true);
+            configuration.getRuntime().getThreading().setThreadPoolInboundWaitStrategy(ringBufferWaitStrategy);
+        }
         configuration.getCompiler().getExpression().setUdfCache(false);
         configuration.getCommon().addEventType("MyMap", new HashMap<>());
         configuration.getCommon().addEventType("SupportBean", SupportBean.class);
@@ -54,9 +70,32 @@ public class ClientRuntimeThreadedConfigInbound implements RegressionExecutionWi
 
     public void run(RegressionEnvironment env) {
         runAssertionEventsProcessed(env);
+        runAssertionBatchProcessed(env);
         runAssertionExceptionHandler(env);
     }
 
+    private void runAssertionBatchProcessed(RegressionEnvironment env) {
+        env.compileDeploy("@name('s0') select * from SupportBean").addListener("s0");
+
+        env.eventService().sendEventsBean(Arrays.asList(new SupportBean("E1", 1), new SupportBean("E2", 2), new SupportBean("E3", 3)), "SupportBean");
+        env.eventService().sendEventsMap(Arrays.asList(new HashMap<>(), new HashMap<>()), "MyMap");
+
+        int count = 0;
+        while (env.listener("s0").getNewDataList().size() < 3) {
+            if (count++ >= 100) {
+                fail();
+            }
+            try {
+                Thread.sleep(10);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        EPAssertionUtil.assertPropsPerRow(env.listener("s0").getNewDataListFlattened(), "theString".split(","), new Object[][]{{"E1"}, {"E2"}, {"E3"}});
+
+        env.undeployAll();
+    }
+
     private void runAssertionExceptionHandler(RegressionEnvironment env) {
         String epl = "@Name('ABCName') select * from SupportBean(throwException())";
         env.compileDeploy(epl);
@@ -131,8 +170,16 @@ public class ClientRuntimeThreadedConfigInbound implements RegressionExecutionWi
         }
 
         EPRuntimeSPI spi = (EPRuntimeSPI) env.runtime();
-        assertEquals(0, spi.getServicesContext().getThreadingService().getInboundQueue().size());
-        assertNotNull(spi.getServicesContext().getThreadingService().getInboundThreadPool());
+        if (ringBufferWaitStrategy == null) {
+            assertEquals(0, spi.getServicesContext().getThreadingService().getInboundQueue().size());
+            assertNotNull(spi.getServicesContext().getThreadingService().getInboundThreadPool());
+            assertNull(spi.getServicesContext().getThreadingService().getInboundRingBuffer());
+        } else {
+            assertEquals(0, spi.getServicesContext().getThreadingService().getInboundRingBuffer().size());
+            assertEquals(ringBufferWaitStrategy, spi.getServicesContext().getThreadingService().getInboundRingBuffer().getWaitStrategy());
+            assertNull(spi.getServicesContext().getThreadingService().getInboundQueue());
+            assertNull(spi.getServicesContext().getThreadingService().getInboundThreadPool());
+        }
 
         env.undeployAll();
     }
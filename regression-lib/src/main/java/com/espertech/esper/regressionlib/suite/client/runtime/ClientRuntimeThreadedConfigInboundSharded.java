@@ -0,0 +1,196 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.client.runtime;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.internal.context.mgr.ContextManagementService;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
+import com.espertech.esper.runtime.client.EPRuntime;
+import com.espertech.esper.runtime.client.EPStatement;
+import com.espertech.esper.runtime.client.UpdateListener;
+import com.espertech.esper.runtime.internal.kernel.service.EPRuntimeSPI;
+import com.espertech.esper.runtime.internal.kernel.thread.InboundShard;
+
+import java.util.*;
+
+import static junit.framework.TestCase.fail;
+import static org.junit.Assert.*;
+
+public class ClientRuntimeThreadedConfigInboundSharded implements RegressionExecutionWithConfigure {
+    private final static int NUM_SHARDS = 4;
+    private final static int NUM_KEYS = 10;
+    private final static int NUM_EVENTS_PER_KEY = 50;
+
+    private final boolean ringBuffer;
+
+    public ClientRuntimeThreadedConfigInboundSharded(boolean ringBuffer) {
+        this.ringBuffer = ringBuffer;
+    }
+
+    public void configure(Configuration configuration) {
+        configuration.getRuntime().getThreading().setInternalTimerEnabled(false);
+        configuration.getRuntime().getThreading().setThreadPoolInbound(true);
+        configuration.getRuntime().getThreading().setThreadPoolInboundNumThreads(NUM_SHARDS);
+        configuration.getRuntime().getThreading().setThreadPoolInboundSharded(true);
+        configuration.getRuntime().getThreading().setThreadPoolInboundRingBuffer(ringBuffer);
+        configuration.getCommon().addEventType("SupportBean", SupportBean.class);
+        configuration.getCommon().addEventType("SupportBean_S0", SupportBean_S0.class);
+    }
+
+    public void run(RegressionEnvironment env) {
+        EPRuntimeSPI spi = (EPRuntimeSPI) env.runtime();
+        InboundShard[] shards = spi.getServicesContext().getThreadingService().getInboundShards();
+        assertEquals(NUM_SHARDS, shards.length);
+        assertNull(spi.getServicesContext().getThreadingService().getInboundQueue());
+        assertNull(spi.getServicesContext().getThreadingService().getInboundThreadPool());
+        assertNull(spi.getServicesContext().getThreadingService().getInboundRingBuffer());
+        for (InboundShard shard : shards) {
+            assertEquals(ringBuffer, shard.getRingBuffer() != null);
+            assertEquals(!ringBuffer, shard.getThreadPool() != null);
+        }
+
+        runAssertionHashSegmented(env);
+        runAssertionKeyed(env);
+        runAssertionKeyedBatch(env);
+        runAssertionNotPartitioned(env);
+    }
+
+    private void runAssertionHashSegmented(RegressionEnvironment env) {
+        EventType type = env.runtime().getEventTypeService().getEventTypePreconfigured("SupportBean");
+        String epl = "create context HashCtx coalesce by consistent_hash_crc32(theString) from SupportBean granularity 16 preallocate;\n" +
+            "@name('s0') context HashCtx select theString as k, intPrimitive as v from SupportBean;\n";
+        env.compileDeploy(epl);
+        assertNotNull(getContextManagementService(env).getShardKey(type));
+
+        SupportShardListener listener = new SupportShardListener();
+        env.statement("s0").addListener(listener);
+        for (int i = 0; i < NUM_EVENTS_PER_KEY; i++) {
+            for (int k = 0; k < NUM_KEYS; k++) {
+                env.sendEventBean(new SupportBean("K" + k, i));
+            }
+        }
+        listener.assertPerKeyOrderAndThread();
+
+        env.undeployAll();
+        assertNull(getContextManagementService(env).getShardKey(type));
+    }
+
+    private void runAssertionKeyed(RegressionEnvironment env) {
+        EventType type = env.runtime().getEventTypeService().getEventTypePreconfigured("SupportBean_S0");
+        String epl = "create context KeyedCtx partition by p00 from SupportBean_S0;\n" +
+            "@name('s0') context KeyedCtx select p00 as k, id as v from SupportBean_S0;\n";
+        env.compileDeploy(epl);
+        assertNotNull(getContextManagementService(env).getShardKey(type));
+
+        SupportShardListener listener = new SupportShardListener();
+        env.statement("s0").addListener(listener);
+        for (int i = 0; i < NUM_EVENTS_PER_KEY; i++) {
+            for (int k = 0; k < NUM_KEYS; k++) {
+                env.sendEventBean(new SupportBean_S0(i, "K" + k));
+            }
+        }
+        listener.assertPerKeyOrderAndThread();
+
+        env.undeployAll();
+        assertNull(getContextManagementService(env).getShardKey(type));
+    }
+
+    private void runAssertionKeyedBatch(RegressionEnvironment env) {
+        String epl = "create context KeyedCtx partition by p00 from SupportBean_S0;\n" +
+            "@name('s0') context KeyedCtx select p00 as k, id as v from SupportBean_S0;\n";
+        env.compileDeploy(epl);
+
+        // each batch has events of all keys and starts with a different key, the batch must be split so each key stays with its shard
+        SupportShardListener listener = new SupportShardListener();
+        env.statement("s0").addListener(listener);
+        for (int i = 0; i < NUM_EVENTS_PER_KEY; i++) {
+            List<SupportBean_S0> batch = new ArrayList<>();
+            for (int k = 0; k < NUM_KEYS; k++) {
+                batch.add(new SupportBean_S0(i, "K" + ((i + k) % NUM_KEYS)));
+            }
+            env.eventService().sendEventsBean(batch, "SupportBean_S0");
+        }
+        listener.assertPerKeyOrderAndThread();
+
+        env.undeployAll();
+    }
+
+    private void runAssertionNotPartitioned(RegressionEnvironment env) {
+        env.compileDeploy("@name('s0') select theString as k, intPrimitive as v from SupportBean");
+        SupportShardListener listener = new SupportShardListener();
+        env.statement("s0").addListener(listener);
+        for (int i = 0; i < NUM_EVENTS_PER_KEY; i++) {
+            env.sendEventBean(new SupportBean("K", i));
+        }
+        listener.awaitCount(NUM_EVENTS_PER_KEY);
+        env.undeployAll();
+    }
+
+    private static ContextManagementService getContextManagementService(RegressionEnvironment env) {
+        EPRuntime runtime = env.runtime();
+        return ((EPRuntimeSPI) runtime).getServicesContext().getContextManagementService();
+    }
+
+    private static class SupportShardListener implements UpdateListener {
+        private final Map<Object, List<Object>> valuesPerKey = new HashMap<>();
+        private final Map<Object, Set<String>> threadsPerKey = new HashMap<>();
+        private int count;
+
+        public synchronized void update(EventBean[] newEvents, EventBean[] oldEvents, EPStatement statement, EPRuntime runtime) {
+            for (EventBean event : newEvents) {
+                Object key = event.get("k");
+                valuesPerKey.computeIfAbsent(key, k -> new ArrayList<>()).add(event.get("v"));
+                threadsPerKey.computeIfAbsent(key, k -> new HashSet<>()).add(Thread.currentThread().getName());
+                count++;
+            }
+        }
+
+        void awaitCount(int expected) {
+            int tries = 0;
+            while (getCount() < expected) {
+                if (tries++ >= 500) {
+                    fail("Received " + getCount() + " of " + expected + " events");
+                }
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+            }
+        }
+
+        void assertPerKeyOrderAndThread() {
+            awaitCount(NUM_KEYS * NUM_EVENTS_PER_KEY);
+            assertReceived();
+        }
+
+        private synchronized void assertReceived() {
+            assertEquals(NUM_KEYS, valuesPerKey.size());
+            for (Map.Entry<Object, List<Object>> entry : valuesPerKey.entrySet()) {
+                List<Object> values = entry.getValue();
+                assertEquals(NUM_EVENTS_PER_KEY, values.size());
+                for (int i = 0; i < values.size(); i++) {
+                    assertEquals("out of order for key " + entry.getKey(), i, values.get(i));
+                }
+                assertEquals("more than one thread for key " + entry.getKey(), 1, threadsPerKey.get(entry.getKey()).size());
+            }
+        }
+
+        private synchronized int getCount() {
+            return count;
+        }
+    }
+}
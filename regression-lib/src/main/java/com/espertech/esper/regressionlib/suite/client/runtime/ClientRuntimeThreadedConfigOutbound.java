@@ -11,6 +11,8 @@
 package com.espertech.esper.regressionlib.suite.client.runtime;
 
 import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.util.Locking;
+import com.espertech.esper.common.client.util.WaitStrategy;
 import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
 import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
 import com.espertech.esper.common.internal.support.SupportBean;
@@ -20,11 +22,35 @@ import org.junit.Assert;
 import static org.junit.Assert.assertTrue;
 
 public class ClientRuntimeThreadedConfigOutbound implements RegressionExecutionWithConfigure {
+    private final boolean virtualThreads;
+    private final WaitStrategy ringBufferWaitStrategy;
+
+    public ClientRuntimeThreadedConfigOutbound() {
+        this(false);
+    }
+
+    public ClientRuntimeThreadedConfigOutbound(boolean virtualThreads) {
+        this(virtualThreads, null);
+    }
+
+    public ClientRuntimeThreadedConfigOutbound(boolean virtualThreads, WaitStrategy ringBufferWaitStrategy) {
+        this.virtualThreads = virtualThreads;
+        this.ringBufferWaitStrategy = ringBufferWaitStrategy;
+    }
+
     public void configure(Configuration configuration) {
         configuration.getRuntime().getThreading().setInternalTimerEnabled(false);
         configuration.getCompiler().getExpression().setUdfCache(false);
         configuration.getRuntime().getThreading().setThreadPoolOutbound(true);
         configuration.getRuntime().getThreading().setThreadPoolOutboundNumThreads(5);
+        if (virtualThreads) {
+            configuration.getRuntime().getThreading().setThreadPoolOutboundVirtualThreads(true);
+            configuration.getRuntime().getThreading().setListenerDispatchLocking(Locking.SUSPEND);
+        }
+        if (ringBufferWaitStrategy != null) {
+            configuration.getRuntime().getThreading().setThreadPoolOutboundRingBuffer(true);
+            configuration.getRuntime().getThreading().setThreadPoolOutboundWaitStrategy(ringBufferWaitStrategy);
+        }
         configuration.getCommon().addEventType("SupportBean", SupportBean.class);
     }
 
@@ -12,6 +12,7 @@ package com.espertech.esper.regressionlib.suite.client.runtime;
 
 import com.espertech.esper.common.client.EPCompiled;
 import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.util.WaitStrategy;
 import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
 import com.espertech.esper.regressionlib.framework.RegressionExecutionWithConfigure;
 import com.espertech.esper.common.internal.support.SupportBean;
@@ -27,11 +28,25 @@ import static org.junit.Assert.assertTrue;
 public class ClientRuntimeThreadedConfigRoute implements RegressionExecutionWithConfigure {
     private static final Logger log = LoggerFactory.getLogger(ClientRuntimeThreadedConfigRoute.class);
 
+    private final WaitStrategy ringBufferWaitStrategy;
+
+    public ClientRuntimeThreadedConfigRoute() {
+        this(null);
+    }
+
+    public ClientRuntimeThreadedConfigRoute(WaitStrategy ringBufferWaitStrategy) {
+        this.ringBufferWaitStrategy = ringBufferWaitStrategy;
+    }
+
     public void configure(Configuration configuration) {
         configuration.getRuntime().getThreading().setInternalTimerEnabled(true);
         configuration.getCompiler().getExpression().setUdfCache(false);
         configuration.getRuntime().getThreading().setThreadPoolRouteExec(true);
         configuration.getRuntime().getThreading().setThreadPoolRouteExecNumThreads(5);
+        if (ringBufferWaitStrategy != null) {
+            configuration.getRuntime().getThreading().setThreadPoolRouteExecRingBuffer(true);
+            configuration.getRuntime().getThreading().setThreadPoolRouteExecWaitStrategy(ringBufferWaitStrategy);
+        }
         configuration.getCommon().addEventType("SupportBean", SupportBean.class);
         configuration.getCommon().addImport(SupportStaticMethodLib.class.getName());
     }
@@ -0,0 +1,144 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.context;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.client.util.StatementProperty;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class ContextKeySegmentedFlyweight {
+
+    public static Collection<RegressionExecution> executions() {
+        ArrayList<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new ContextKeySegmentedFlyweightRowForAll());
+        execs.add(new ContextKeySegmentedFlyweightMultiKeyWhere());
+        execs.add(new ContextKeySegmentedFlyweightLengthWindow());
+        execs.add(new ContextKeySegmentedFlyweightNotEligible());
+        return execs;
+    }
+
+    private static class ContextKeySegmentedFlyweightRowForAll implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("create context SegmentedByString partition by theString from SupportBean", path);
+            String select = "select theString as c0, count(*) as c1, sum(intPrimitive) as c2, avg(intPrimitive) * 2 as c3 from SupportBean";
+            env.compileDeploy("@name('flyweight') @Hint('context_flyweight') context SegmentedByString " + select, path).addListener("flyweight");
+            env.compileDeploy("@name('regular') context SegmentedByString " + select, path).addListener("regular");
+
+            assertNull(env.statement("flyweight").getProperty(StatementProperty.CONTEXTNAME));
+            assertEquals("SegmentedByString", env.statement("regular").getProperty(StatementProperty.CONTEXTNAME));
+
+            sendCompare(env, "c0,c1,c2,c3", 0, 100);
+            env.milestone(0);
+            sendCompare(env, "c0,c1,c2,c3", 100, 300);
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ContextKeySegmentedFlyweightMultiKeyWhere implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("create context SegmentedByTwo partition by theString, intBoxed from SupportBean", path);
+            String select = "select intBoxed as c0, count(*) as c1, max(longPrimitive) as c2 from SupportBean(intPrimitive > 2) where longPrimitive != 5";
+            env.compileDeploy("@name('flyweight') @Hint('context_flyweight') context SegmentedByTwo " + select, path).addListener("flyweight");
+            env.compileDeploy("@name('regular') context SegmentedByTwo " + select, path).addListener("regular");
+
+            assertNull(env.statement("flyweight").getProperty(StatementProperty.CONTEXTNAME));
+
+            sendCompare(env, "c0,c1,c2", 0, 200);
+            env.milestone(0);
+            sendCompare(env, "c0,c1,c2", 200, 400);
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ContextKeySegmentedFlyweightLengthWindow implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("create context SegmentedByString partition by theString from SupportBean", path);
+            String select = "select count(*) as c0, sum(intPrimitive) as c1 from SupportBean#length(3)";
+            env.compileDeploy("@name('flyweight') @Hint('context_flyweight') context SegmentedByString " + select, path).addListener("flyweight");
+            env.compileDeploy("@name('regular') context SegmentedByString " + select, path).addListener("regular");
+
+            assertNull(env.statement("flyweight").getProperty(StatementProperty.CONTEXTNAME));
+
+            sendCompare(env, "c0,c1", 0, 100);
+            env.milestone(0);
+            sendCompare(env, "c0,c1", 100, 200);
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ContextKeySegmentedFlyweightNotEligible implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("create context SegmentedByString partition by theString from SupportBean", path);
+            env.compileDeploy("create context SegmentedFiltered partition by theString from SupportBean(intPrimitive > 0)", path);
+            env.compileDeploy("create context SegmentedTerminated partition by theString from SupportBean terminated by SupportBean_S0", path);
+
+            String[] epls = new String[]{
+                "context SegmentedByString select context.key1 as c0, count(*) as c1 from SupportBean",
+                "context SegmentedByString select intPrimitive as c0, count(*) as c1 from SupportBean",
+                "context SegmentedByString select count(*) as c0 from SupportBean output every 2 events",
+                "context SegmentedByString select count(*) as c0 from SupportBean#unique(intPrimitive)",
+                "context SegmentedByString select prev(1, intPrimitive) as c0, count(*) as c1 from SupportBean#length(2)",
+                "context SegmentedByString select count(*) as c0 from SupportBean group by intPrimitive",
+                "context SegmentedFiltered select count(*) as c0 from SupportBean",
+                "context SegmentedTerminated select count(*) as c0 from SupportBean",
+            };
+            for (String epl : epls) {
+                env.compileDeploy("@name('s0') @Hint('context_flyweight') " + epl, path);
+                assertNotNull(epl, env.statement("s0").getProperty(StatementProperty.CONTEXTNAME));
+                env.undeployModuleContaining("s0");
+            }
+
+            env.undeployAll();
+        }
+    }
+
+    private static void sendCompare(RegressionEnvironment env, String fields, int start, int end) {
+        String[] fieldNames = fields.split(",");
+        for (int i = start; i < end; i++) {
+            SupportBean bean = new SupportBean("G" + (i % 17), i % 7);
+            bean.setIntBoxed(i % 3);
+            bean.setLongPrimitive(i % 11);
+            env.sendEventBean(bean);
+
+            EventBean[] regular = env.listener("regular").getAndResetLastNewData();
+            EventBean[] flyweight = env.listener("flyweight").getAndResetLastNewData();
+            if (regular == null) {
+                assertNull(flyweight);
+                continue;
+            }
+            assertEquals(1, regular.length);
+            assertEquals(1, flyweight.length);
+            Object[] expected = new Object[fieldNames.length];
+            for (int j = 0; j < fieldNames.length; j++) {
+                expected[j] = regular[0].get(fieldNames[j]);
+            }
+            EPAssertionUtil.assertProps(flyweight[0], fieldNames, expected);
+        }
+    }
+}
@@ -10,19 +10,27 @@
  */
 package com.espertech.esper.regressionlib.suite.event.json;
 
+import com.espertech.esper.common.client.EPException;
+import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.json.util.EventSenderJson;
 import com.espertech.esper.common.client.json.util.JsonEventObject;
 import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
 import com.espertech.esper.regressionlib.framework.RegressionExecution;
 
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
+import static org.junit.Assert.*;
+
 public class EventJsonEventSender {
 
     public static List<RegressionExecution> executions() {
         List<RegressionExecution> execs = new ArrayList<>();
         execs.add(new EventJsonEventSenderParseAndSend());
+        execs.add(new EventJsonEventSenderBytes());
+        execs.add(new EventJsonEventSenderFieldDispatch());
         return execs;
     }
 
@@ -42,4 +50,83 @@ public class EventJsonEventSender {
             env.undeployAll();
         }
     }
+
+    private static class EventJsonEventSenderFieldDispatch implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            // "Aa" and "BB" have the same hash code
+            String epl =
+                "@public @buseventtype create json schema Inner(x int);\n" +
+                    "@public @buseventtype create json schema MyEvent(Aa string, BB string, c long, d double, inner Inner, ids int[primitive]);\n" +
+                    "@name('s0') select * from MyEvent;\n";
+            env.compileDeploy(epl).addListener("s0");
+
+            String json = "{\"u1\":{\"Aa\":\"no\",\"list\":[1,{\"BB\":\"no\"}]},\"BB\":\"b\",\"u2\":[\"]\",-1e5,null]," +
+                "\"Aa\":\"a\",\"inner\":{\"u3\":true,\"x\":5},\"c\":7,\"ids\":[1,2,3,4,5,6,7,8,9,10],\"d\":0.5,\"u4\":\"x\"}";
+            env.sendEventJson(json, "MyEvent");
+            assertFieldDispatch(env);
+
+            byte[] bytes = json.getBytes(StandardCharsets.UTF_8);
+            env.runtime().getEventService().sendEventJson(bytes, 0, bytes.length, "MyEvent");
+            assertFieldDispatch(env);
+
+            env.undeployAll();
+        }
+
+        private static void assertFieldDispatch(RegressionEnvironment env) {
+            EventBean event = env.listener("s0").assertOneGetNewAndReset();
+            assertEquals("a", event.get("Aa"));
+            assertEquals("b", event.get("BB"));
+            assertEquals(7L, event.get("c"));
+            assertEquals(0.5d, event.get("d"));
+            assertEquals(5, event.get("inner.x"));
+            assertArrayEquals(new int[]{1, 2, 3, 4, 5, 6, 7, 8, 9, 10}, (int[]) event.get("ids"));
+        }
+    }
+
+    private static class EventJsonEventSenderBytes implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl =
+                "@public @buseventtype create json schema MyEvent(id string, count int, total long, price double, tags string[]);\n" +
+                    "@name('s0') select * from MyEvent;\n";
+            env.compileDeploy(epl).addListener("s0");
+
+            byte[] bytes = "xx{\"id\":\"caf\u00e9\",\"count\":-5,\"total\":12345678901,\"price\":1.25,\"tags\":[\"a\",\"b\"]}yy".getBytes(StandardCharsets.UTF_8);
+            env.runtime().getEventService().sendEventJson(bytes, 2, bytes.length - 4, "MyEvent");
+            assertEvent(env, "caf\u00e9", -5, 12345678901L, 1.25d);
+
+            ByteBuffer heap = ByteBuffer.wrap("{\"id\":\"E2\",\"count\":1,\"total\":2,\"price\":3}".getBytes(StandardCharsets.UTF_8));
+            env.runtime().getEventService().sendEventJson(heap, "MyEvent");
+            assertEvent(env, "E2", 1, 2L, 3d);
+            assertEquals(0, heap.position());
+
+            byte[] json = "{\"id\":\"E3\",\"price\":1e-2}".getBytes(StandardCharsets.UTF_8);
+            ByteBuffer direct = ByteBuffer.allocateDirect(json.length);
+            direct.put(json).flip();
+            env.runtime().getEventService().sendEventJson(direct, "MyEvent");
+            assertEvent(env, "E3", null, null, 0.01d);
+
+            EventSenderJson sender = (EventSenderJson) env.runtime().getEventService().getEventSender("MyEvent");
+            sender.sendEvent("{\"id\":\"E4\",\"count\":4}".getBytes(StandardCharsets.UTF_8));
+            assertEvent(env, "E4", 4, null, null);
+            JsonEventObject underlying = (JsonEventObject) sender.parse(bytes, 2, bytes.length - 4);
+            assertEquals(12345678901L, underlying.get("total"));
+
+            try {
+                env.runtime().getEventService().sendEventJson(new byte[]{'{'}, 0, 1, "MyEvent");
+                fail();
+            } catch (EPException ex) {
+                assertTrue(ex.getMessage().startsWith("Failed to parse Json: Unexpected end of input"));
+            }
+
+            env.undeployAll();
+        }
+
+        private static void assertEvent(RegressionEnvironment env, String id, Integer count, Long total, Double price) {
+            EventBean event = env.listener("s0").assertOneGetNewAndReset();
+            assertEquals(id, event.get("id"));
+            assertEquals(count, event.get("count"));
+            assertEquals(total, event.get("total"));
+            assertEquals(price, event.get("price"));
+        }
+    }
 }
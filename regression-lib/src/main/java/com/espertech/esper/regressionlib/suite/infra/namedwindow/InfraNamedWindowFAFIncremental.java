@@ -0,0 +1,155 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.infra.namedwindow;
+
+import com.espertech.esper.common.client.fireandforget.EPFireAndForgetPreparedQuery;
+import com.espertech.esper.common.client.fireandforget.EPFireAndForgetPreparedQueryParameterized;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.common.internal.support.SupportBean_S1;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import static com.espertech.esper.regressionlib.framework.SupportMessageAssertUtil.tryInvalidFAFCompile;
+
+public class InfraNamedWindowFAFIncremental {
+
+    public static Collection<RegressionExecution> executions() {
+        ArrayList<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new InfraFAFIncrementalParameterized());
+        execs.add(new InfraFAFIncrementalUnparameterized());
+        execs.add(new InfraFAFIncrementalInvalid());
+        return execs;
+    }
+
+    private static class InfraFAFIncrementalParameterized implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            String epl = "@public create window MyWindow#length(5) as SupportBean;\n" +
+                "insert into MyWindow select * from SupportBean;\n" +
+                "on SupportBean_S0 as s0 delete from MyWindow as w where w.intPrimitive = s0.id;\n" +
+                "on SupportBean_S1 as s1 update MyWindow as w set intPrimitive = s1.id where w.theString = s1.p10;\n";
+            env.compileDeploy(epl, path);
+
+            String fields = "cnt,total,low";
+            String faf = "@Hint('ENABLE_FAF_INCREMENTAL') select count(*) as cnt, sum(intPrimitive) as total, min(intPrimitive) as low from MyWindow where theString like ?::string";
+            EPFireAndForgetPreparedQueryParameterized query = env.runtime().getFireAndForgetService().prepareQueryWithParameters(env.compileFAF(faf, path));
+            query.setObject(1, "A%");
+            assertResult(env, query, fields, new Object[]{0L, null, null});
+
+            env.sendEventBean(new SupportBean("A1", 10));
+            env.sendEventBean(new SupportBean("B1", 20));
+            env.sendEventBean(new SupportBean("A2", 5));
+            assertResult(env, query, fields, new Object[]{2L, 15, 5});
+
+            // length window expiry and on-delete
+            env.sendEventBean(new SupportBean("B2", 1));
+            env.sendEventBean(new SupportBean("B3", 2));
+            env.sendEventBean(new SupportBean("B4", 3));
+            assertResult(env, query, fields, new Object[]{1L, 5, 5});
+            env.sendEventBean(new SupportBean_S0(5));
+            assertResult(env, query, fields, new Object[]{0L, null, null});
+
+            // on-update and fire-and-forget delete
+            env.sendEventBean(new SupportBean("A3", 7));
+            env.sendEventBean(new SupportBean_S1(3, "A3"));
+            env.sendEventBean(new SupportBean("A4", 8));
+            assertResult(env, query, fields, new Object[]{2L, 11, 3});
+            env.compileExecuteFAF("delete from MyWindow where theString = 'A4'", path);
+            assertResult(env, query, fields, new Object[]{1L, 3, 3});
+
+            // changing the parameter rebuilds the result
+            query.setObject(1, "B%");
+            assertResult(env, query, fields, new Object[]{3L, 6, 1});
+            env.sendEventBean(new SupportBean("B5", 4));
+            env.sendEventBean(new SupportBean("B6", 5));
+            assertResult(env, query, fields, new Object[]{4L, 14, 2});
+
+            // setting the same value keeps the result
+            query.setObject(1, "B%");
+            env.sendEventBean(new SupportBean("B7", 6));
+            assertResult(env, query, fields, new Object[]{4L, 18, 3});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class InfraFAFIncrementalUnparameterized implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("@public create window MyWindow#keepall as SupportBean;\n" +
+                "insert into MyWindow select * from SupportBean;\n", path);
+            env.sendEventBean(new SupportBean("E1", 10));
+
+            String fields = "cnt,avgInt";
+            String faf = "@Hint('ENABLE_FAF_INCREMENTAL') select count(*) as cnt, avg(intPrimitive) as avgInt from MyWindow(intPrimitive > 0)";
+            EPFireAndForgetPreparedQuery query = env.runtime().getFireAndForgetService().prepareQuery(env.compileFAF(faf, path));
+            EPAssertionUtil.assertPropsPerRow(query.execute().getArray(), fields.split(","), new Object[][]{{1L, 10d}});
+
+            env.sendEventBean(new SupportBean("E2", 20));
+            env.sendEventBean(new SupportBean("E3", -5));
+            EPAssertionUtil.assertPropsPerRow(query.execute().getArray(), fields.split(","), new Object[][]{{2L, 15d}});
+
+            env.compileExecuteFAF("delete from MyWindow", path);
+            EPAssertionUtil.assertPropsPerRow(query.execute().getArray(), fields.split(","), new Object[][]{{0L, null}});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class InfraFAFIncrementalInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            String epl = "@public create window MyWindow#keepall as SupportBean;\n" +
+                "@public create context MyContext partition by theString from SupportBean;\n" +
+                "@public context MyContext create window MyWindowCtx#keepall as SupportBean;\n" +
+                "@public create table MyTable(k string primary key, v int);\n" +
+                "@public create variable int MyVar = 0;\n" +
+                "@public create constant variable int MyConst = 0;\n";
+            env.compileDeploy(epl, path);
+
+            tryInvalidFAFCompile(env, path, "@Hint('ENABLE_FAF_INCREMENTAL') select theString, count(*) from MyWindow group by theString",
+                "Hint 'ENABLE_FAF_INCREMENTAL' requires a fully-aggregated query without group-by");
+            tryInvalidFAFCompile(env, path, "@Hint('ENABLE_FAF_INCREMENTAL') select * from MyWindow",
+                "Hint 'ENABLE_FAF_INCREMENTAL' requires a fully-aggregated query without group-by");
+            tryInvalidFAFCompile(env, path, "@Hint('ENABLE_FAF_INCREMENTAL') select count(*) from MyTable",
+                "Hint 'ENABLE_FAF_INCREMENTAL' requires a single named window in the from-clause");
+            tryInvalidFAFCompile(env, path, "@Hint('ENABLE_FAF_INCREMENTAL') select count(*) from MyWindow as a, MyWindow as b",
+                "Hint 'ENABLE_FAF_INCREMENTAL' requires a single named window in the from-clause");
+            tryInvalidFAFCompile(env, path, "@Hint('ENABLE_FAF_INCREMENTAL') select count(*) from MyWindowCtx",
+                "Hint 'ENABLE_FAF_INCREMENTAL' requires a named window that is not declared with a context");
+            tryInvalidFAFCompile(env, path, "@Hint('ENABLE_FAF_INCREMENTAL') select count(*) from MyWindow where intPrimitive > (select max(v) from MyTable)",
+                "Hint 'ENABLE_FAF_INCREMENTAL' requires a query without subqueries and table access");
+
+            // the maintained result would not reflect later changes of the variable or time
+            tryInvalidFAFCompile(env, path, "@Hint('ENABLE_FAF_INCREMENTAL') select count(*) from MyWindow where intPrimitive > MyVar",
+                "Hint 'ENABLE_FAF_INCREMENTAL' requires filters and aggregated values that do not depend on variable 'MyVar'");
+            tryInvalidFAFCompile(env, path, "@Hint('ENABLE_FAF_INCREMENTAL') select count(*) from MyWindow(intPrimitive > MyVar)",
+                "Hint 'ENABLE_FAF_INCREMENTAL' requires filters and aggregated values that do not depend on variable 'MyVar'");
+            tryInvalidFAFCompile(env, path, "@Hint('ENABLE_FAF_INCREMENTAL') select sum(intPrimitive * MyVar) from MyWindow",
+                "Hint 'ENABLE_FAF_INCREMENTAL' requires filters and aggregated values that do not depend on variable 'MyVar'");
+            tryInvalidFAFCompile(env, path, "@Hint('ENABLE_FAF_INCREMENTAL') select count(*) from MyWindow where longPrimitive < current_timestamp()",
+                "Hint 'ENABLE_FAF_INCREMENTAL' requires filters and aggregated values that do not depend on the current-timestamp function");
+            env.compileFAF("@Hint('ENABLE_FAF_INCREMENTAL') select count(*) from MyWindow where intPrimitive > MyConst", path);
+
+            env.undeployAll();
+        }
+    }
+
+    private static void assertResult(RegressionEnvironment env, EPFireAndForgetPreparedQueryParameterized query, String fields, Object[] expected) {
+        EPAssertionUtil.assertPropsPerRow(env.runtime().getFireAndForgetService().executeQuery(query).getArray(), fields.split(","), new Object[][]{expected});
+    }
+}
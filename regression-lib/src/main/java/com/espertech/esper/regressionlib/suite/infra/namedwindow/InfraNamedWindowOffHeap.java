@@ -0,0 +1,165 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.infra.namedwindow;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.epl.namedwindow.offheap.OffHeapEventBean;
+import com.espertech.esper.common.internal.epl.namedwindow.offheap.OffHeapEventStore;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+import com.espertech.esper.regressionlib.support.util.SupportInfraUtil;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import static com.espertech.esper.regressionlib.framework.SupportMessageAssertUtil.tryInvalidCompile;
+import static org.junit.Assert.*;
+
+public class InfraNamedWindowOffHeap {
+
+    public static Collection<RegressionExecution> executions() {
+        ArrayList<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new InfraOffHeapIndexOnDeleteFAF("map"));
+        execs.add(new InfraOffHeapIndexOnDeleteFAF("objectarray"));
+        execs.add(new InfraOffHeapUniqueOnUpdateConsumer());
+        execs.add(new InfraOffHeapLengthWindowSegmentReuse());
+        execs.add(new InfraOffHeapInvalid());
+        return execs;
+    }
+
+    private static class InfraOffHeapIndexOnDeleteFAF implements RegressionExecution {
+        private final String representation;
+
+        public InfraOffHeapIndexOnDeleteFAF(String representation) {
+            this.representation = representation;
+        }
+
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            String epl = "@name('create') @public @OffHeap(segmentSize=1024) @EventRepresentation(" + representation + ") create window MyWindow#keepall (theString string, intPrimitive int, longBoxed Long);\n" +
+                "insert into MyWindow select theString, intPrimitive, longBoxed from SupportBean;\n" +
+                "create index MyIndex on MyWindow(theString);\n" +
+                "@name('delete') on SupportBean_S0(id >= 0) as s0 delete from MyWindow as w where w.theString = s0.p00;\n" +
+                "@name('join') select w.intPrimitive as c0 from SupportBean_S0(id = -1) as s0 unidirectional, MyWindow as w where w.theString = s0.p00;\n";
+            env.compileDeploy(epl, path).addListener("create").addListener("delete").addListener("join");
+
+            for (int i = 0; i < 100; i++) {
+                SupportBean bean = new SupportBean("E" + i, i);
+                bean.setLongBoxed(i % 2 == 0 ? null : (long) i);
+                env.sendEventBean(bean);
+            }
+            EventBean inserted = env.listener("create").getLastNewData()[0];
+            assertTrue(inserted instanceof OffHeapEventBean);
+            EPAssertionUtil.assertProps(inserted, "theString,intPrimitive,longBoxed".split(","), new Object[]{"E99", 99, 99L});
+            env.listener("create").reset();
+
+            OffHeapEventStore store = getStore(env);
+            assertEquals(100, store.getNumEvents());
+            assertTrue(store.getNumSegmentsAllocated() > 1);
+
+            // index lookup over off-heap events
+            env.sendEventBean(new SupportBean_S0(-1, "E50"));
+            assertEquals(50, env.listener("join").assertOneGetNewAndReset().get("c0"));
+
+            EventBean[] result = env.compileExecuteFAF("select * from MyWindow where theString = 'E20'", path).getArray();
+            assertEquals(1, result.length);
+            EPAssertionUtil.assertProps(result[0], "theString,intPrimitive,longBoxed".split(","), new Object[]{"E20", 20, null});
+
+            // delete detaches the event, listeners still see the values
+            env.sendEventBean(new SupportBean_S0(0, "E20"));
+            EventBean deleted = env.listener("delete").assertOneGetNewAndReset();
+            EPAssertionUtil.assertProps(deleted, "theString,intPrimitive".split(","), new Object[]{"E20", 20});
+            EPAssertionUtil.assertProps(env.listener("create").assertOneGetOldAndReset(), "theString,intPrimitive".split(","), new Object[]{"E20", 20});
+            assertEquals(99, store.getNumEvents());
+            assertEquals(0, env.compileExecuteFAF("select * from MyWindow where theString = 'E20'", path).getArray().length);
+
+            // fire-and-forget delete of all
+            env.compileExecuteFAF("delete from MyWindow", path);
+            assertEquals(0, store.getNumEvents());
+            EPAssertionUtil.assertProps(inserted, "theString,intPrimitive,longBoxed".split(","), new Object[]{"E99", 99, 99L});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class InfraOffHeapUniqueOnUpdateConsumer implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "@name('create') @OffHeap create window MyWindow#unique(theString) (theString string, intPrimitive int);\n" +
+                "insert into MyWindow select theString, intPrimitive from SupportBean;\n" +
+                "on SupportBean_S0 as s0 update MyWindow as w set intPrimitive = s0.id where w.theString = s0.p00;\n" +
+                "@name('consumer') select irstream theString, intPrimitive from MyWindow;\n" +
+                "@name('held') select irstream theString, intPrimitive from MyWindow;\n";
+            env.compileDeploy(epl).addListener("consumer").addListener("held");
+
+            env.sendEventBean(new SupportBean("A", 1));
+            env.sendEventBean(new SupportBean("B", 2));
+            env.sendEventBean(new SupportBean("A", 3));
+            EPAssertionUtil.assertProps(env.listener("consumer").getLastOldData()[0], "theString,intPrimitive".split(","), new Object[]{"A", 1});
+            env.listener("consumer").reset();
+
+            env.sendEventBean(new SupportBean_S0(10, "B"));
+            EPAssertionUtil.assertProps(env.listener("consumer").getLastNewData()[0], "theString,intPrimitive".split(","), new Object[]{"B", 10});
+            EPAssertionUtil.assertProps(env.listener("consumer").getLastOldData()[0], "theString,intPrimitive".split(","), new Object[]{"B", 2});
+
+            EPAssertionUtil.assertPropsPerRowAnyOrder(env.iterator("create"), "theString,intPrimitive".split(","), new Object[][]{{"A", 3}, {"B", 10}});
+            assertEquals(2, getStore(env).getNumEvents());
+
+            // events retained by a consumer remain readable after they left the named window
+            EPAssertionUtil.assertPropsPerRow(env.listener("held").getNewDataListFlattened(), "theString,intPrimitive".split(","), new Object[][]{{"A", 1}, {"B", 2}, {"A", 3}, {"B", 10}});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class InfraOffHeapLengthWindowSegmentReuse implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "@name('create') @OffHeap(segmentSize=1024) create window MyWindow#length(10) (theString string, intPrimitive int);\n" +
+                "insert into MyWindow select theString, intPrimitive from SupportBean;\n" +
+                "@name('sum') select sum(intPrimitive) as total from MyWindow;\n";
+            env.compileDeploy(epl).addListener("sum");
+
+            for (int i = 0; i < 10000; i++) {
+                env.sendEventBean(new SupportBean("E" + i, 1));
+            }
+            assertEquals(10, env.listener("sum").getLastNewData()[0].get("total"));
+
+            OffHeapEventStore store = getStore(env);
+            assertEquals(10, store.getNumEvents());
+            assertTrue("allocated " + store.getNumSegmentsAllocated(), store.getNumSegmentsAllocated() <= 4);
+
+            env.undeployAll();
+        }
+    }
+
+    private static class InfraOffHeapInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            tryInvalidCompile(env, "@OffHeap create window MyWindow#keepall as SupportBean",
+                "Off-heap storage requires a map or object-array event type but event type 'MyWindow' is not");
+            RegressionPath path = new RegressionPath();
+            env.compileDeploy("@public @buseventtype create map schema MyInner (p0 string)", path);
+            tryInvalidCompile(env, path, "@OffHeap create window MyWindow#keepall (nested MyInner)",
+                "Off-heap storage does not support property 'nested' as its values are events");
+
+            tryInvalidCompile(env, "@OffHeap create table MyTable (k string primary key, cnt count(*))",
+                "Off-heap storage is not supported for tables");
+
+            env.undeployAll();
+        }
+    }
+
+    private static OffHeapEventStore getStore(RegressionEnvironment env) {
+        return SupportInfraUtil.getInstanceNoContextNW(env, "create", "MyWindow").getRootViewInstance().getOffHeapStore();
+    }
+}
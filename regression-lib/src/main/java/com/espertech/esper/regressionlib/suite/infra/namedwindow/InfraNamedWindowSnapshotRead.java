@@ -0,0 +1,168 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.infra.namedwindow;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.common.internal.support.SupportBean_S1;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+import com.espertech.esper.regressionlib.support.client.SupportCompileDeployUtil;
+import com.espertech.esper.regressionlib.support.util.SupportThreadFactory;
+import com.espertech.esper.runtime.client.EPRuntime;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static com.espertech.esper.regressionlib.framework.SupportMessageAssertUtil.tryInvalidCompile;
+import static org.junit.Assert.*;
+
+public class InfraNamedWindowSnapshotRead {
+
+    public static Collection<RegressionExecution> executions() {
+        ArrayList<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new InfraSnapshotReadOnMergeConsistent());
+        execs.add(new InfraSnapshotReadInsertAndRemoveSameUpdate());
+        execs.add(new InfraSnapshotReadSubqueryFullScan());
+        execs.add(new InfraSnapshotReadInvalid());
+        return execs;
+    }
+
+    private static class InfraSnapshotReadOnMergeConsistent implements RegressionExecution {
+        @Override
+        public boolean excludeWhenInstrumented() {
+            return true;
+        }
+
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            String epl = "@name('create') @public @Hint('enable_window_snapshot_read') create window MyWindow#keepall (k string, v int);\n" +
+                "insert into MyWindow select theString as k, intPrimitive as v from SupportBean;\n" +
+                "on SupportBean_S0 as s0 merge MyWindow as w when matched then update set v = s0.id;\n";
+            env.compileDeploy(epl, path);
+            for (int i = 0; i < 10; i++) {
+                env.sendEventBean(new SupportBean("K" + i, 0));
+            }
+            EPCompiled query = env.compileFAF("select k, v from MyWindow", path);
+
+            // each merge updates all rows, readers must see the rows of a single merge
+            EPRuntime runtime = env.runtime();
+            ExecutorService threadPool = Executors.newSingleThreadExecutor(new SupportThreadFactory(InfraNamedWindowSnapshotRead.class));
+            Future<Boolean>[] future = new Future[1];
+            future[0] = threadPool.submit(() -> {
+                for (int i = 1; i <= 2000; i++) {
+                    runtime.getEventService().sendEventBean(new SupportBean_S0(i), "SupportBean_S0");
+                }
+                return true;
+            });
+
+            int last = 0;
+            do {
+                last = assertConsistent(runtime.getFireAndForgetService().executeQuery(query).getArray(), last);
+                last = assertConsistent(EPAssertionUtil.iteratorToArray(env.iterator("create")), last);
+            } while (!future[0].isDone());
+
+            threadPool.shutdown();
+            SupportCompileDeployUtil.threadpoolAwait(threadPool, 10, TimeUnit.SECONDS);
+            SupportCompileDeployUtil.assertFutures(future);
+            assertEquals(2000, assertConsistent(EPAssertionUtil.iteratorToArray(env.iterator("create")), last));
+
+            env.undeployAll();
+        }
+
+        private static int assertConsistent(EventBean[] rows, int last) {
+            assertEquals(10, rows.length);
+            int value = (Integer) rows[0].get("v");
+            for (EventBean row : rows) {
+                assertEquals(value, row.get("v"));
+            }
+            assertTrue("version went back from " + last + " to " + value, value >= last);
+            return value;
+        }
+    }
+
+    private static class InfraSnapshotReadInsertAndRemoveSameUpdate implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            // the second insert of the merge pushes out the first, in the same update of the named window
+            RegressionPath path = new RegressionPath();
+            String epl = "@name('length') @public @Hint('enable_window_snapshot_read') create window MyLengthWindow#length(1) (k string, v int);\n" +
+                "on SupportBean_S0 as s0 merge MyLengthWindow as w where w.k = s0.p00 " +
+                "when not matched then insert select s0.p00 as k, 1 as v then insert select s0.p00 as k, 2 as v;\n" +
+                "@name('unique') @public @Hint('enable_window_snapshot_read') create window MyUniqueWindow#unique(k) (k string, v int);\n" +
+                "on SupportBean_S1 as s1 merge MyUniqueWindow as w where w.k = s1.p10 " +
+                "when not matched then insert select s1.p10 as k, 1 as v then insert select s1.p10 as k, 2 as v;\n";
+            env.compileDeploy(epl, path);
+
+            env.sendEventBean(new SupportBean_S0(1, "A"));
+            assertRows(env, path, "length", "MyLengthWindow", new Object[][]{{"A", 2}});
+            env.sendEventBean(new SupportBean_S0(2, "B"));
+            assertRows(env, path, "length", "MyLengthWindow", new Object[][]{{"B", 2}});
+
+            env.sendEventBean(new SupportBean_S1(1, "A"));
+            assertRows(env, path, "unique", "MyUniqueWindow", new Object[][]{{"A", 2}});
+            env.sendEventBean(new SupportBean_S1(2, "B"));
+            assertRows(env, path, "unique", "MyUniqueWindow", new Object[][]{{"A", 2}, {"B", 2}});
+
+            env.undeployAll();
+        }
+
+        private static void assertRows(RegressionEnvironment env, RegressionPath path, String statementName, String windowName, Object[][] expected) {
+            String[] fields = "k,v".split(",");
+            EPAssertionUtil.assertPropsPerRowAnyOrder(env.compileExecuteFAF("select * from " + windowName, path).getArray(), fields, expected);
+            EPAssertionUtil.assertPropsPerRowAnyOrder(env.iterator(statementName), fields, expected);
+        }
+    }
+
+    private static class InfraSnapshotReadSubqueryFullScan implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            // the snapshot store keeps insertion order while the sorted window iterates in sort order
+            String epl = "@Hint('enable_window_subquery_indexshare,enable_window_snapshot_read') create window MySnapshotWindow#sort(3, v) (k string, v int);\n" +
+                "@Hint('enable_window_subquery_indexshare') create window MyLockingWindow#sort(3, v) (k string, v int);\n" +
+                "insert into MySnapshotWindow select theString as k, intPrimitive as v from SupportBean;\n" +
+                "insert into MyLockingWindow select theString as k, intPrimitive as v from SupportBean;\n" +
+                "@name('s0') select (select k from MySnapshotWindow).firstOf() as c0, (select k from MyLockingWindow).firstOf() as c1, " +
+                "(select sum(v) from MySnapshotWindow) as c2 from SupportBean_S0;\n";
+            env.compileDeploy(epl).addListener("s0");
+            String[] fields = "c0,c1,c2".split(",");
+
+            env.sendEventBean(new SupportBean("A", 3));
+            env.sendEventBean(new SupportBean("B", 1));
+            env.sendEventBean(new SupportBean("C", 2));
+            env.sendEventBean(new SupportBean_S0(1));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"A", "B", 6});
+
+            env.sendEventBean(new SupportBean("D", 0));
+            env.sendEventBean(new SupportBean_S0(2));
+            EPAssertionUtil.assertProps(env.listener("s0").assertOneGetNewAndReset(), fields, new Object[]{"B", "D", 3});
+
+            env.undeployAll();
+        }
+    }
+
+    private static class InfraSnapshotReadInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            tryInvalidCompile(env, "@Hint('enable_window_snapshot_read') create window MyWindow#length_batch(2) as SupportBean",
+                "Snapshot reads are not supported for batch data windows and virtual data windows");
+            tryInvalidCompile(env, "@Hint('enable_window_snapshot_read') create window MyWindow.test:vdw() as SupportBean",
+                "Snapshot reads are not supported for batch data windows and virtual data windows");
+            tryInvalidCompile(env, "@Hint('enable_window_snapshot_read') @OffHeap create window MyWindow#keepall (k string, v int)",
+                "Snapshot reads are not supported for off-heap named windows");
+        }
+    }
+}
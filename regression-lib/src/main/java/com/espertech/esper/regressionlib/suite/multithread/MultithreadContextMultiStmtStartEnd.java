@@ -29,6 +29,7 @@ public class MultithreadContextMultiStmtStartEnd {
         configuration.getRuntime().getThreading().setInternalTimerEnabled(true);
         runAssertion(FilterServiceProfile.READMOSTLY, configuration);
         runAssertion(FilterServiceProfile.READWRITE, configuration);
+        runAssertion(FilterServiceProfile.READLOCKFREE, configuration);
     }
 
     private void runAssertion(FilterServiceProfile profile, Configuration configuration) {
@@ -0,0 +1,131 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.multithread;
+
+import com.espertech.esper.common.client.EPCompiled;
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.util.FilterServiceProfile;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+import com.espertech.esper.regressionlib.support.client.SupportCompileDeployUtil;
+import com.espertech.esper.regressionlib.support.util.SupportThreadFactory;
+import com.espertech.esper.runtime.client.*;
+import com.espertech.esper.runtime.client.option.StatementSubstitutionParameterOption;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Compares event throughput of the filter service profiles, with and without compiled filter plans,
+ * for many threads sending events against many equals and in-list filters.
+ */
+public class MultithreadFilterServiceProfileContention {
+    private static final Logger log = LoggerFactory.getLogger(MultithreadFilterServiceProfileContention.class);
+
+    public void run(Configuration configuration) {
+        for (FilterServiceProfile profile : FilterServiceProfile.values()) {
+            trySend(profile, false, 16, 20000, 500, configuration);
+            trySend(profile, true, 16, 20000, 500, configuration);
+        }
+    }
+
+    private static void trySend(FilterServiceProfile profile, boolean compiled, int numThreads, int numEvents, int numStatements, Configuration configuration) {
+        configuration.getRuntime().getExecution().setFilterServiceProfile(profile);
+        configuration.getRuntime().getExecution().setFilterServiceCompiled(compiled);
+        configuration.getCommon().addEventType(SupportBean.class);
+
+        String runtimeURI = MultithreadFilterServiceProfileContention.class.getSimpleName() + "_" + profile + (compiled ? "_compiled" : "");
+        EPRuntime runtime = EPRuntimeProvider.getRuntime(runtimeURI, configuration);
+        runtime.initialize();
+
+        EPCompiled compiledEquals = SupportCompileDeployUtil.compile("select * from SupportBean(theString=?::string)", configuration, new RegressionPath());
+        EPCompiled compiledIn = SupportCompileDeployUtil.compile("select * from SupportBean(intPrimitive in (?::int, ?::int))", configuration, new RegressionPath());
+        CountingListener listener = new CountingListener();
+        for (int i = 0; i < numStatements; i++) {
+            String value = "S" + i;
+            int first = i;
+            deploy(compiledEquals, runtime, listener, prepared -> prepared.setObject(1, value));
+            deploy(compiledIn, runtime, listener, prepared -> {
+                prepared.setObject(1, first);
+                prepared.setObject(2, first + numStatements);
+            });
+        }
+
+        ExecutorService threadPool = Executors.newFixedThreadPool(numThreads, new SupportThreadFactory(MultithreadFilterServiceProfileContention.class));
+        Future<Boolean>[] futures = new Future[numThreads];
+        long start = System.nanoTime();
+        for (int i = 0; i < numThreads; i++) {
+            futures[i] = threadPool.submit(new SenderCallable(runtime.getEventService(), numEvents, numStatements));
+        }
+        threadPool.shutdown();
+        SupportCompileDeployUtil.threadpoolAwait(threadPool, 60, TimeUnit.SECONDS);
+        SupportCompileDeployUtil.assertFutures(futures);
+        long deltaNanos = System.nanoTime() - start;
+
+        long numSent = (long) numThreads * numEvents;
+        log.info("Profile " + profile + (compiled ? " compiled" : "") + " delta " + TimeUnit.NANOSECONDS.toMillis(deltaNanos) + " msec for " + numSent +
+            " events and " + numThreads + " threads, " + (numSent * 1000000000L / Math.max(1, deltaNanos)) + " events/sec");
+        assertEquals(numSent * 2, listener.getCount());
+
+        try {
+            runtime.getDeploymentService().undeployAll();
+        } catch (EPUndeployException e) {
+            throw new RuntimeException(e);
+        }
+        runtime.destroy();
+    }
+
+    private static void deploy(EPCompiled compiled, EPRuntime runtime, UpdateListener listener, StatementSubstitutionParameterOption parameters) {
+        try {
+            EPDeployment deployment = runtime.getDeploymentService().deploy(compiled, new DeploymentOptions().setStatementSubstitutionParameter(parameters));
+            deployment.getStatements()[0].addListener(listener);
+        } catch (EPDeployException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    private static class SenderCallable implements Callable<Boolean> {
+        private final EPEventService eventService;
+        private final int numEvents;
+        private final int numStatements;
+
+        public SenderCallable(EPEventService eventService, int numEvents, int numStatements) {
+            this.eventService = eventService;
+            this.numEvents = numEvents;
+            this.numStatements = numStatements;
+        }
+
+        public Boolean call() {
+            for (int i = 0; i < numEvents; i++) {
+                int value = i % numStatements;
+                eventService.sendEventBean(new SupportBean("S" + value, value), "SupportBean");
+            }
+            return true;
+        }
+    }
+
+    private static class CountingListener implements UpdateListener {
+        private final AtomicLong count = new AtomicLong();
+
+        public void update(EventBean[] newEvents, EventBean[] oldEvents, EPStatement statement, EPRuntime runtime) {
+            count.addAndGet(newEvents.length);
+        }
+
+        public long getCount() {
+            return count.get();
+        }
+    }
+}
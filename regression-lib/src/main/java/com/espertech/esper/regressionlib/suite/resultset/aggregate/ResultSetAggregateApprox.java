@@ -0,0 +1,182 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.regressionlib.suite.resultset.aggregate;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.epl.approx.hyperloglog.HyperLogLogPlusPlus;
+import com.espertech.esper.common.internal.epl.approx.tdigest.TDigest;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.common.internal.support.SupportBean_S0;
+import com.espertech.esper.common.internal.util.CollectionUtil;
+import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
+import com.espertech.esper.regressionlib.framework.RegressionExecution;
+import com.espertech.esper.regressionlib.framework.RegressionPath;
+
+import java.util.ArrayList;
+import java.util.Collection;
+
+import static com.espertech.esper.regressionlib.framework.SupportMessageAssertUtil.tryInvalidCompile;
+import static org.junit.Assert.assertEquals;
+
+public class ResultSetAggregateApprox {
+
+    public static Collection<RegressionExecution> executions() {
+        ArrayList<RegressionExecution> execs = new ArrayList<>();
+        execs.add(new ResultSetAggregateApproxGroupBy());
+        execs.add(new ResultSetAggregateApproxDataWindowInvalid());
+        execs.add(new ResultSetAggregateApproxTableIntoFromContext());
+        execs.add(new ResultSetAggregateApproxMergeSketches());
+        execs.add(new ResultSetAggregateApproxInvalid());
+        return execs;
+    }
+
+    private static class ResultSetAggregateApproxGroupBy implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "@name('s0') select theString as c0, " +
+                "approxCountDistinct(intPrimitive) as c1, " +
+                "approxCountDistinct(intPrimitive, filter:intPrimitive > 10) as c2, " +
+                "approxPercentile(intPrimitive, 50) as c3 " +
+                "from SupportBean group by theString";
+            env.compileDeploy(epl).addListener("s0");
+
+            assertEquals(Long.class, env.statement("s0").getEventType().getPropertyType("c1"));
+            assertEquals(Double.class, env.statement("s0").getEventType().getPropertyType("c3"));
+
+            sendAssert(env, "G1", 10, 1L, 0L, 10d);
+            sendAssert(env, "G2", 5, 1L, 0L, 5d);
+
+            env.milestone(0);
+
+            sendAssert(env, "G1", 20, 2L, 1L, 20d);
+            sendAssert(env, "G1", 10, 2L, 1L, 10d);
+
+            env.milestone(1);
+
+            sendAssert(env, "G1", 30, 3L, 2L, 20d);
+            sendAssert(env, "G2", 5, 1L, 0L, 5d);
+
+            env.undeployAll();
+        }
+
+        private static void sendAssert(RegressionEnvironment env, String theString, int intPrimitive, Long cnt, Long cntFiltered, Double p50) {
+            env.sendEventBean(new SupportBean(theString, intPrimitive));
+            EventBean event = env.listener("s0").assertOneGetNewAndReset();
+            assertEquals(theString, event.get("c0"));
+            assertEquals(cnt, event.get("c1"));
+            assertEquals(cntFiltered, event.get("c2"));
+            assertEquals(p50, event.get("c3"));
+        }
+    }
+
+    private static class ResultSetAggregateApproxDataWindowInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            // sketches cannot remove values, values leaving a data window cannot be aggregated
+            tryInvalidCompile(env, "select approxCountDistinct(intPrimitive) from SupportBean#length(2)",
+                "Failed to validate select-clause expression 'approxCountDistinct(intPrimitive)': The approxCountDistinct aggregation function requires that the aggregated stream has no data window, as values cannot be removed from the sketch");
+            tryInvalidCompile(env, "select approxPercentile(intPrimitive, 50) from SupportBean#time(10)",
+                "Failed to validate select-clause expression 'approxPercentile(intPrimitive,50)': The approxPercentile aggregation function requires that the aggregated stream has no data window, as values cannot be removed from the digest");
+            tryInvalidCompile(env, "select approxCountDistinct(s0.id) from SupportBean_S0#keepall as s0, SupportBean#keepall as sb",
+                "Failed to validate select-clause expression 'approxCountDistinct(s0.id)': The approxCountDistinct aggregation function requires that the aggregated stream has no data window");
+
+            RegressionPath path = new RegressionPath();
+            env.compile("@public create table MyApproxTable(cnt approxCountDistinct(int))", path);
+            tryInvalidCompile(env, path, "into table MyApproxTable select approxCountDistinct(intPrimitive) as cnt from SupportBean#length(2)",
+                "Failed to validate select-clause expression 'approxCountDistinct(intPrimitive)': The approxCountDistinct aggregation function requires that the aggregated stream has no data window");
+
+            // a data window on a stream that is not aggregated is allowed
+            env.compileDeploy("@name('s0') select approxCountDistinct(sb.intPrimitive) as c0 from SupportBean as sb unidirectional, SupportBean_S0#lastevent as s0").addListener("s0");
+            env.sendEventBean(new SupportBean_S0(1));
+            env.sendEventBean(new SupportBean("E1", 10));
+            env.sendEventBean(new SupportBean("E2", 10));
+            assertEquals(1L, env.listener("s0").getAndResetLastNewData()[0].get("c0"));
+            env.undeployAll();
+        }
+    }
+
+    private static class ResultSetAggregateApproxTableIntoFromContext implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            RegressionPath path = new RegressionPath();
+            String epl = "create context PartitionedByString partition by theString from SupportBean;\n" +
+                "create table MyTable(cnt approxCountDistinct(int), p50 approxPercentile(int, 50));\n" +
+                "context PartitionedByString into table MyTable select approxCountDistinct(intPrimitive) as cnt, approxPercentile(intPrimitive, 50) as p50 from SupportBean;\n" +
+                "@name('s0') select MyTable.cnt as c0, MyTable.p50 as c1 from SupportBean_S0;\n";
+            env.compileDeploy(epl, path).addListener("s0");
+
+            env.sendEventBean(new SupportBean("A", 1));
+            env.sendEventBean(new SupportBean("B", 2));
+            env.sendEventBean(new SupportBean("A", 3));
+            sendAssert(env, 3L, 2d);
+
+            env.milestone(0);
+
+            env.sendEventBean(new SupportBean("B", 2));
+            env.sendEventBean(new SupportBean("C", 5));
+            sendAssert(env, 4L, 2d);
+
+            tryInvalidCompile(env, path, "into table MyTable select approxPercentile(intPrimitive, 90) as p50 from SupportBean",
+                "Incompatible aggregation function for table 'MyTable' column 'p50', expecting 'approxPercentile(int,50)' and received 'approxPercentile(intPrimitive,90)': The percentage is 50.0 and provided is 90.0");
+
+            env.undeployAll();
+        }
+
+        private static void sendAssert(RegressionEnvironment env, Long cnt, Double p50) {
+            env.sendEventBean(new SupportBean_S0(0));
+            EventBean event = env.listener("s0").assertOneGetNewAndReset();
+            assertEquals(cnt, event.get("c0"));
+            assertEquals(p50, event.get("c1"));
+        }
+    }
+
+    private static class ResultSetAggregateApproxMergeSketches implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "@public @buseventtype create schema SketchEvent(hll " + HyperLogLogPlusPlus.class.getName() + ", digest " + TDigest.class.getName() + ");\n" +
+                "@name('s0') select approxCountDistinct(hll) as c0, approxPercentile(digest, 50) as c1 from SketchEvent;\n";
+            env.compileDeploy(epl).addListener("s0");
+
+            sendSketches(env, 0, 100);
+            EventBean event = env.listener("s0").assertOneGetNewAndReset();
+            assertEquals(100L, event.get("c0"));
+            assertEquals(50d, event.get("c1"));
+
+            env.milestone(0);
+
+            sendSketches(env, 50, 150);
+            event = env.listener("s0").assertOneGetNewAndReset();
+            assertEquals(150, (Long) event.get("c0"), 2);
+            assertEquals(75d, (Double) event.get("c1"), 1);
+
+            env.undeployAll();
+        }
+
+        private static void sendSketches(RegressionEnvironment env, int from, int to) {
+            HyperLogLogPlusPlus hll = new HyperLogLogPlusPlus();
+            TDigest digest = new TDigest();
+            for (int i = from; i < to; i++) {
+                hll.addLong(i);
+                digest.add(i);
+            }
+            env.sendEventMap(CollectionUtil.buildMap("hll", hll, "digest", digest), "SketchEvent");
+        }
+    }
+
+    private static class ResultSetAggregateApproxInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            tryInvalidCompile(env, "select approxCountDistinct(intPrimitive, longPrimitive) from SupportBean",
+                "Failed to validate select-clause expression 'approxCountDistinct(intPrimitive,longPrimitive)': The approxCountDistinct aggregation function requires a single parameter providing the values to count");
+            tryInvalidCompile(env, "select approxCountDistinct(distinct intPrimitive) from SupportBean",
+                "Failed to validate select-clause expression 'approxCountDistinct(distinct intPrimitive)': The approxCountDistinct aggregation function does not allow the distinct keyword");
+            tryInvalidCompile(env, "select approxPercentile(intPrimitive, 101) from SupportBean",
+                "Failed to validate select-clause expression 'approxPercentile(intPrimitive,101)': The approxPercentile aggregation function requires two parameters, an expression returning aggregation values and a numeric percentage constant between 0 and 100");
+            tryInvalidCompile(env, "select approxPercentile(theString, 50) from SupportBean",
+                "Failed to validate select-clause expression 'approxPercentile(theString,50)': Implicit conversion from datatype 'String' to numeric is not allowed for aggregation function 'approxPercentile'");
+        }
+    }
+}
@@ -11,6 +11,7 @@
 package com.espertech.esper.regressionlib.suite.resultset.aggregate;
 
 import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
 import com.espertech.esper.common.client.soda.*;
 import com.espertech.esper.common.internal.util.SerializableObjectCopier;
 import com.espertech.esper.regressionlib.framework.RegressionEnvironment;
@@ -23,6 +24,7 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.concurrent.atomic.AtomicInteger;
 
+import static com.espertech.esper.regressionlib.framework.SupportMessageAssertUtil.tryInvalidCompile;
 import static junit.framework.TestCase.assertNull;
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertEquals;
@@ -38,6 +40,8 @@ public class ResultSetAggregateMedianAndDeviation {
         execs.add(new ResultSetAggregateStmtJoinOM());
         execs.add(new ResultSetAggregateStmtJoin());
         execs.add(new ResultSetAggregateStmt());
+        execs.add(new ResultSetAggregatePercentile());
+        execs.add(new ResultSetAggregatePercentileInvalid());
         return execs;
     }
 
@@ -156,6 +160,65 @@ public class ResultSetAggregateMedianAndDeviation {
         }
     }
 
+    private static class ResultSetAggregatePercentile implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            String epl = "@name('s0') select " +
+                "percentile(price, 50) as p50," +
+                "median(price) as med," +
+                "percentile(price, 90) as p90," +
+                "percentiles(price, 0, 25, 100) as ps," +
+                "percentile(distinct price, 50) as pd," +
+                "percentile(price, 50, filter:price > 10) as pf " +
+                "from SupportMarketDataBean#length(5)";
+            env.compileDeploy(epl).addListener("s0");
+
+            assertEquals(Double.class, env.statement("s0").getEventType().getPropertyType("p50"));
+            assertEquals(Double[].class, env.statement("s0").getEventType().getPropertyType("ps"));
+
+            sendEvent(env, "A", 10);
+            assertPercentiles(env, 10d, 10d, new Double[]{10d, 10d, 10d}, 10d, null);
+
+            env.milestone(0);
+
+            sendEvent(env, "A", 20);
+            sendEvent(env, "A", 20);
+            sendEvent(env, "A", 90);
+            env.listener("s0").reset();
+            sendEvent(env, "A", 5);
+            assertPercentiles(env, 20d, 62d, new Double[]{5d, 10d, 90d}, 15d, 20d);
+
+            env.milestone(1);
+
+            sendEvent(env, "A", 30);
+            assertPercentiles(env, 20d, 66d, new Double[]{5d, 20d, 90d}, 25d, 25d);
+
+            env.undeployAll();
+        }
+    }
+
+    private static class ResultSetAggregatePercentileInvalid implements RegressionExecution {
+        public void run(RegressionEnvironment env) {
+            tryInvalidCompile(env, "select percentile(price, 101) from SupportMarketDataBean",
+                "Failed to validate select-clause expression 'percentile(price,101)': The percentile aggregation function requires two parameters, an expression returning aggregation values and a numeric percentage constant between 0 and 100");
+            tryInvalidCompile(env, "select percentile(price, volume) from SupportMarketDataBean",
+                "Failed to validate select-clause expression 'percentile(price,volume)': The percentile aggregation function requires two parameters");
+            tryInvalidCompile(env, "select percentiles(price) from SupportMarketDataBean",
+                "Failed to validate select-clause expression 'percentiles(price)': The percentiles aggregation function requires an expression returning aggregation values and one or more numeric percentage constants between 0 and 100");
+            tryInvalidCompile(env, "select percentile(symbol, 50) from SupportMarketDataBean",
+                "Failed to validate select-clause expression 'percentile(symbol,50)': Implicit conversion from datatype 'String' to numeric is not allowed for aggregation function 'percentile'");
+        }
+    }
+
+    private static void assertPercentiles(RegressionEnvironment env, Double p50, Double p90, Double[] ps, Double pd, Double pf) {
+        EventBean event = env.listener("s0").assertOneGetNewAndReset();
+        assertEquals(p50, event.get("p50"));
+        assertEquals(event.get("med"), event.get("p50"));
+        assertEquals(p90, (Double) event.get("p90"), 1e-9);
+        EPAssertionUtil.assertEqualsExactOrder(ps, (Double[]) event.get("ps"));
+        assertEquals(pd, event.get("pd"));
+        assertEquals(pf, event.get("pf"));
+    }
+
     private static void tryAssertionStmt(RegressionEnvironment env, AtomicInteger milestone) {
         // assert select result type
         assertEquals(String.class, env.statement("s0").getEventType().getPropertyType("symbol"));
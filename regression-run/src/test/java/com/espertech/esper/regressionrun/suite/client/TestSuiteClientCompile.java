@@ -91,6 +91,14 @@ public class TestSuiteClientCompile extends TestCase {
         RegressionRunner.run(session, ClientCompileLarge.executions());
     }
 
+    public void testClientCompileCodegenBackend() {
+        RegressionRunner.run(session, ClientCompileCodegenBackend.executions());
+    }
+
+    public void testClientCompileCache() {
+        RegressionRunner.run(session, ClientCompileCache.executions());
+    }
+
     private static void configure(Configuration configuration) {
 
         for (Class clazz : new Class[]{SupportBean.class, SupportMarketDataBean.class, SupportBean_S0.class, SupportBean_S1.class,
@@ -77,6 +77,15 @@ public class TestSuiteClientDeploy extends TestCase {
         RegressionRunner.run(session, ClientDeployListDependencies.executions());
     }
 
+    public void testClientDeployParallel() {
+        RegressionSession session = RegressionRunner.session();
+        configure(session.getConfiguration());
+        session.getConfiguration().getRuntime().getThreading().setThreadPoolDeployment(true);
+        session.getConfiguration().getRuntime().getThreading().setThreadPoolDeploymentNumThreads(4);
+        RegressionRunner.run(session, ClientDeployParallel.executions());
+        session.destroy();
+    }
+
     private void configure(Configuration configuration) {
         for (Class clazz : new Class[]{SupportBean.class, SupportBean_S0.class}) {
             configuration.getCommon().addEventType(clazz);
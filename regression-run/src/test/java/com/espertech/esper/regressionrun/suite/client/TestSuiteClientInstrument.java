@@ -64,6 +64,15 @@ public class TestSuiteClientInstrument extends TestCase {
         session.destroy();
     }
 
+    public void testClientInstrumentMetricsReportingLatency() {
+        RegressionSession session = RegressionRunner.session();
+        applyMetricsConfig(session.getConfiguration(), -1, 10000);
+        session.getConfiguration().getRuntime().getMetricsReporting().setEnableLatencyHistogram(true);
+        session.getConfiguration().getRuntime().getMetricsReporting().setJmxRuntimeMetrics(true);
+        RegressionRunner.run(session, new ClientInstrumentMetricsReportingLatency());
+        session.destroy();
+    }
+
     public void testClientInstrumentMetricsReportingStmtGroups() {
         RegressionSession session = RegressionRunner.session();
         session.getConfiguration().getCompiler().getByteCode().setAllowSubscriber(true);
@@ -98,6 +98,10 @@ public class TestSuiteClientRuntime extends TestCase {
         RegressionRunner.run(session, ClientRuntimeListener.executions());
     }
 
+    public void testClientRuntimeSendEvents() {
+        RegressionRunner.run(session, ClientRuntimeSendEvents.executions());
+    }
+
     private void configure(Configuration configuration) {
         for (Class clazz : new Class[]{SupportBean.class, SupportBeanComplexProps.class, SupportBeanWithEnum.class, SupportMarketDataBean.class,
             SupportMarkerInterface.class, SupportBean_A.class, SupportBean_B.class, SupportBean_C.class, SupportBean_D.class, SupportBean_S0.class}) {
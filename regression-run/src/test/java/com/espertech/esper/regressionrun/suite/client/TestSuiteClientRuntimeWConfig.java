@@ -11,6 +11,7 @@
 package com.espertech.esper.regressionrun.suite.client;
 
 import com.espertech.esper.common.client.configuration.Configuration;
+import com.espertech.esper.common.client.util.WaitStrategy;
 import com.espertech.esper.common.internal.support.SupportEnum;
 import com.espertech.esper.regressionlib.suite.client.runtime.*;
 import com.espertech.esper.common.internal.support.SupportBean;
@@ -65,6 +66,18 @@ public class TestSuiteClientRuntimeWConfig extends TestCase {
         RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigInbound());
     }
 
+    public void testClientRuntimeThreadedConfigInboundRingBuffer() {
+        RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigInbound(WaitStrategy.PARK));
+    }
+
+    public void testClientRuntimeThreadedConfigInboundSharded() {
+        RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigInboundSharded(false));
+    }
+
+    public void testClientRuntimeThreadedConfigInboundShardedRingBuffer() {
+        RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigInboundSharded(true));
+    }
+
     public void testClientRuntimeThreadedConfigInboundFastShutdown() {
         RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigInboundFastShutdown());
     }
@@ -73,10 +86,22 @@ public class TestSuiteClientRuntimeWConfig extends TestCase {
         RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigOutbound());
     }
 
+    public void testClientRuntimeThreadedConfigOutboundVirtualThreads() {
+        RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigOutbound(true));
+    }
+
+    public void testClientRuntimeThreadedConfigOutboundRingBuffer() {
+        RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigOutbound(false, WaitStrategy.PARK));
+    }
+
     public void testClientRuntimeThreadedConfigRoute() {
         RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigRoute());
     }
 
+    public void testClientRuntimeThreadedConfigRouteRingBuffer() {
+        RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigRoute(WaitStrategy.YIELD));
+    }
+
     public void testClientRuntimeThreadedConfigTimer() {
         RegressionRunner.runConfigurable(new ClientRuntimeThreadedConfigTimer());
     }
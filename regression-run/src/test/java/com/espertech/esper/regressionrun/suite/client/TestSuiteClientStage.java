@@ -13,6 +13,7 @@ package com.espertech.esper.regressionrun.suite.client;
 import com.espertech.esper.common.client.configuration.Configuration;
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommonEventTypeAvro;
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommonEventTypeXMLDOM;
+import com.espertech.esper.common.client.util.SchedulingServiceProfile;
 import com.espertech.esper.common.internal.support.SupportBean;
 import com.espertech.esper.common.internal.support.SupportBean_S0;
 import com.espertech.esper.common.internal.support.SupportBean_S1;
@@ -46,6 +47,11 @@ public class TestSuiteClientStage extends TestCase {
         RegressionRunner.run(session, ClientStageAdvanceTime.executions());
     }
 
+    public void testClientStageAdvanceTimeTimingWheel() {
+        session.getConfiguration().getRuntime().getExecution().setSchedulingServiceProfile(SchedulingServiceProfile.TIMINGWHEEL);
+        RegressionRunner.run(session, ClientStageAdvanceTime.executions());
+    }
+
     public void testClientStagePrecondition() {
         RegressionRunner.run(session, ClientStagePrecondition.executions());
     }
@@ -53,6 +53,10 @@ public class TestSuiteContext extends TestCase {
         RegressionRunner.run(session, ContextKeySegmentedAggregate.executions());
     }
 
+    public void testContextKeySegmentedFlyweight() {
+        RegressionRunner.run(session, ContextKeySegmentedFlyweight.executions());
+    }
+
     public void testContextHashSegmented() {
         RegressionRunner.run(session, ContextHashSegmented.executions());
     }
@@ -21,6 +21,7 @@ import com.espertech.esper.regressionlib.support.bean.*;
 import com.espertech.esper.regressionlib.support.bookexample.BookDesc;
 import com.espertech.esper.regressionlib.support.bookexample.OrderBean;
 import com.espertech.esper.regressionlib.support.bookexample.OrderWithItems;
+import com.espertech.esper.regressionlib.support.extend.vdw.SupportVirtualDWForge;
 import com.espertech.esper.regressionrun.runner.RegressionRunner;
 import com.espertech.esper.regressionrun.runner.RegressionSession;
 import junit.framework.TestCase;
@@ -52,6 +53,18 @@ public class TestSuiteInfraNamedWindow extends TestCase {
         RegressionRunner.run(session, InfraNamedWindowOnDelete.executions());
     }
 
+    public void testInfraNamedWindowOffHeap() {
+        RegressionRunner.run(session, InfraNamedWindowOffHeap.executions());
+    }
+
+    public void testInfraNamedWindowSnapshotRead() {
+        RegressionRunner.run(session, InfraNamedWindowSnapshotRead.executions());
+    }
+
+    public void testInfraNamedWindowFAFIncremental() {
+        RegressionRunner.run(session, InfraNamedWindowFAFIncremental.executions());
+    }
+
     public void testInfraNamedWindowViews() {
         RegressionRunner.run(session, InfraNamedWindowViews.executions());
     }
@@ -165,6 +178,7 @@ public class TestSuiteInfraNamedWindow extends TestCase {
 
         configuration.getCompiler().addPlugInSingleRowFunction("setBeanLongPrimitive999", InfraNamedWindowOnUpdate.class.getName(), "setBeanLongPrimitive999");
         configuration.getCompiler().addPlugInSingleRowFunction("increaseIntCopyDouble", InfraNamedWindowOnMerge.class.getName(), "increaseIntCopyDouble");
+        configuration.getCompiler().addPlugInVirtualDataWindow("test", "vdw", SupportVirtualDWForge.class.getName());
 
         ConfigurationCommonVariantStream config = new ConfigurationCommonVariantStream();
         config.addEventTypeName("SupportBean_A");
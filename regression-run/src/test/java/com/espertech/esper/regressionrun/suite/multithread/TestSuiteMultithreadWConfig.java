@@ -72,6 +72,10 @@ public class TestSuiteMultithreadWConfig extends TestCase {
         new MultithreadStmtPatternFollowedBy().run(SupportConfigFactory.getConfiguration());
     }
 
+    public void testMultithreadFilterServiceProfileContention() {
+        new MultithreadFilterServiceProfileContention().run(SupportConfigFactory.getConfiguration());
+    }
+
     public void testMultithreadStmtNamedWindowUniqueTwoWJoinConsumer() {
         new MultithreadStmtNamedWindowUniqueTwoWJoinConsumer().run(SupportConfigFactory.getConfiguration());
     }
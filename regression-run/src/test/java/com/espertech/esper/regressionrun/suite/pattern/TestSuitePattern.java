@@ -12,6 +12,7 @@ package com.espertech.esper.regressionrun.suite.pattern;
 
 import com.espertech.esper.common.client.configuration.Configuration;
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommon;
+import com.espertech.esper.common.client.util.SchedulingServiceProfile;
 import com.espertech.esper.common.internal.support.SupportBean;
 import com.espertech.esper.common.internal.support.SupportBean_S0;
 import com.espertech.esper.regressionlib.suite.pattern.*;
@@ -79,6 +80,14 @@ public class TestSuitePattern extends TestCase {
         RegressionRunner.run(session, PatternObserverTimerSchedule.executions());
     }
 
+    public void testPatternTimerSchedulingServiceTimingWheel() {
+        session.getConfiguration().getRuntime().getExecution().setSchedulingServiceProfile(SchedulingServiceProfile.TIMINGWHEEL);
+        RegressionRunner.run(session, PatternObserverTimerInterval.executions());
+        RegressionRunner.run(session, PatternGuardTimerWithin.executions());
+        RegressionRunner.run(session, PatternObserverTimerAt.executions());
+        RegressionRunner.run(session, PatternObserverTimerSchedule.executions());
+    }
+
     public void testPatternGuardWhile() {
         RegressionRunner.run(session, PatternGuardWhile.executions());
     }
@@ -58,6 +58,10 @@ public class TestSuiteResultSetAggregate extends TestCase {
         RegressionRunner.run(session, ResultSetAggregateMedianAndDeviation.executions());
     }
 
+    public void testResultSetAggregateApprox() {
+        RegressionRunner.run(session, ResultSetAggregateApprox.executions());
+    }
+
     public void testResultSetAggregateMinMax() {
         RegressionRunner.run(session, ResultSetAggregateMinMax.executions());
     }
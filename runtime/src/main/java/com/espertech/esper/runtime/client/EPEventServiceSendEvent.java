@@ -13,6 +13,8 @@ package com.espertech.esper.runtime.client;
 import com.espertech.esper.common.client.EPException;
 import org.w3c.dom.Node;
 
+import java.nio.ByteBuffer;
+import java.util.Collection;
 import java.util.Map;
 
 /**
@@ -102,4 +104,80 @@ public interface EPEventServiceSendEvent {
      * @throws EPException is thrown when the processing of the event lead to an error, including for Json parsing problems
      */
     void sendEventJson(String json, String jsonEventTypeName);
+
+    /**
+     * Send an event represented by UTF-8 encoded JSON bytes to the runtime.
+     * <p>
+     * The runtime parses the bytes directly, without first decoding them into a String, and has finished reading the bytes
+     * when the method returns, so that the caller may reuse the byte array. This is also the case with inbound threading.
+     * </p>
+     * <p>
+     * Use the route method for sending events into the runtime from within UpdateListener code,
+     * to avoid the possibility of a stack overflow due to nested calls to sendEvent
+     * (except with the outbound-threading configuration), see {@link EPEventServiceRouteEvent#routeEventJson(String, String)}}).
+     *
+     * @param json              bytes holding the UTF-8 encoded JSON document
+     * @param offset            offset of the first byte of the document
+     * @param length            number of bytes of the document
+     * @param jsonEventTypeName event type name
+     * @throws EPException is thrown when the processing of the event lead to an error, including for Json parsing problems
+     */
+    void sendEventJson(byte[] json, int offset, int length, String jsonEventTypeName);
+
+    /**
+     * Send an event represented by UTF-8 encoded JSON bytes to the runtime, the document being the bytes from the
+     * buffer's position to its limit.
+     * <p>
+     * The position of the buffer does not change. Same as {@link #sendEventJson(byte[], int, int, String)} otherwise.
+     * </p>
+     *
+     * @param json              buffer holding the UTF-8 encoded JSON document
+     * @param jsonEventTypeName event type name
+     * @throws EPException is thrown when the processing of the event lead to an error, including for Json parsing problems
+     */
+    void sendEventJson(ByteBuffer json, String jsonEventTypeName);
+
+    /**
+     * Send a batch of object arrays containing event property values, all of the same event type, to the runtime.
+     * <p>
+     * The runtime resolves the event type and processing context once for the batch and then processes each
+     * event in iteration order. Each event is fully processed, including listener dispatch and the processing
+     * of events generated by insert-into, before the next event of the batch is processed. This is equivalent
+     * to calling {@link #sendEventObjectArray(Object[], String)} for each event.
+     * </p>
+     * <p>
+     * Use {@link java.util.Arrays#asList(Object[])} to send an array of events.
+     * </p>
+     *
+     * @param events        - object arrays that contain event property values
+     * @param eventTypeName - event type name
+     * @throws EPException - when the processing of an event leads to an error
+     */
+    void sendEventsObjectArray(Collection<Object[]> events, String eventTypeName);
+
+    /**
+     * Send a batch of events represented by objects, all of the same event type, to the runtime.
+     * <p>
+     * The runtime resolves the event type and processing context once for the batch and then processes each
+     * event in iteration order. This is equivalent to calling {@link #sendEventBean(Object, String)} for each event.
+     * </p>
+     *
+     * @param events        events to send to the runtime
+     * @param eventTypeName event type name
+     * @throws EPException is thrown when the processing of an event lead to an error
+     */
+    void sendEventsBean(Collection<?> events, String eventTypeName);
+
+    /**
+     * Send a batch of maps containing event property values, all of the same event type, to the runtime.
+     * <p>
+     * The runtime resolves the event type and processing context once for the batch and then processes each
+     * event in iteration order. This is equivalent to calling {@link #sendEventMap(Map, String)} for each event.
+     * </p>
+     *
+     * @param events        - maps that contain event property values
+     * @param eventTypeName - event type name
+     * @throws EPException - when the processing of an event leads to an error
+     */
+    void sendEventsMap(Collection<Map<String, Object>> events, String eventTypeName);
 }
@@ -29,19 +29,25 @@ import java.util.concurrent.locks.ReadWriteLock;
  * The class performs all the locking required for multithreaded access.
  */
 public class EventTypeIndex implements EventEvaluator {
-    private Map<EventType, FilterHandleSetNode> eventTypes;
+    private volatile Map<EventType, FilterHandleSetNode> eventTypes;
     private ReadWriteLock eventTypesRWLock;
+    private final boolean copyOnWrite;
 
     public EventTypeIndex(FilterServiceGranularLockFactory lockFactory) {
         eventTypes = new HashMap<EventType, FilterHandleSetNode>();
         eventTypesRWLock = lockFactory.obtainNew();
+        copyOnWrite = lockFactory.isCopyOnWrite();
     }
 
     /**
      * Destroy the service.
      */
     public void destroy() {
-        eventTypes.clear();
+        if (copyOnWrite) {
+            eventTypes = new HashMap<>();
+        } else {
+            eventTypes.clear();
+        }
     }
 
     public Map<EventTypeIdPair, Map<Integer, List<FilterItem[]>>> getTraverseStatement(Set<Integer> statementIds) {
@@ -88,7 +94,13 @@ public class EventTypeIndex implements EventEvaluator {
             if (eventTypes.containsKey(eventType)) {
                 throw new IllegalStateException("Event type already in index, add not performed, type=" + eventType);
             }
-            eventTypes.put(eventType, rootNode);
+            if (copyOnWrite) {
+                Map<EventType, FilterHandleSetNode> copy = new HashMap<>(eventTypes);
+                copy.put(eventType, rootNode);
+                eventTypes = copy;
+            } else {
+                eventTypes.put(eventType, rootNode);
+            }
         } finally {
             eventTypesRWLock.writeLock().unlock();
         }
@@ -98,7 +110,13 @@ public class EventTypeIndex implements EventEvaluator {
     public void removeType(EventType type) {
         eventTypesRWLock.writeLock().lock();
         try {
-            eventTypes.remove(type);
+            if (copyOnWrite) {
+                Map<EventType, FilterHandleSetNode> copy = new HashMap<>(eventTypes);
+                copy.remove(type);
+                eventTypes = copy;
+            } else {
+                eventTypes.remove(type);
+            }
         } finally {
             eventTypesRWLock.writeLock().unlock();
         }
@@ -111,6 +129,9 @@ public class EventTypeIndex implements EventEvaluator {
      * @return the subtree's root node
      */
     public FilterHandleSetNode get(EventType eventType) {
+        if (copyOnWrite) {
+            return eventTypes.get(eventType);
+        }
         eventTypesRWLock.readLock().lock();
         FilterHandleSetNode result = eventTypes.get(eventType);
         eventTypesRWLock.readLock().unlock();
@@ -161,13 +182,17 @@ public class EventTypeIndex implements EventEvaluator {
         return count;
     }
 
-    private void matchType(EventType eventType, EventBean eventBean, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
-        eventTypesRWLock.readLock().lock();
+    protected void matchType(EventType eventType, EventBean eventBean, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
         FilterHandleSetNode rootNode = null;
-        try {
+        if (copyOnWrite) {
             rootNode = eventTypes.get(eventType);
-        } finally {
-            eventTypesRWLock.readLock().unlock();
+        } else {
+            eventTypesRWLock.readLock().lock();
+            try {
+                rootNode = eventTypes.get(eventType);
+            } finally {
+                eventTypesRWLock.readLock().unlock();
+            }
         }
 
         // If the top class node is null, no filters have yet been registered for this event type.
@@ -16,6 +16,8 @@ import com.espertech.esper.common.internal.filterspec.FilterSpecParam;
 import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
 import com.espertech.esper.common.internal.filtersvc.FilterHandle;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -62,7 +64,40 @@ public class EventTypeIndexBuilder {
      * @param eventType      event type
      */
     public final void add(EventType eventType, FilterValueSetParam[][] valueSet, FilterHandle filterCallback, FilterServiceGranularLockFactory lockFactory) {
+        FilterHandleSetNode rootNode = getOrCreateRootNode(eventType, lockFactory);
 
+        // Now add to tree
+        IndexTreeBuilderAdd.add(valueSet, filterCallback, rootNode, lockFactory);
+    }
+
+    /**
+     * Add filters to the event type index structure in bulk, grouped by event type.
+     *
+     * @param entries     filters
+     * @param lockFactory lock factory
+     */
+    public final void addBulk(List<FilterServiceEntry> entries, FilterServiceGranularLockFactory lockFactory) {
+        for (Map.Entry<EventType, List<FilterServiceEntry>> byType : groupByType(entries).entrySet()) {
+            FilterHandleSetNode rootNode = getOrCreateRootNode(byType.getKey(), lockFactory);
+            IndexTreeBuilderAdd.addBulk(byType.getValue(), rootNode, lockFactory);
+        }
+    }
+
+    /**
+     * Remove filters from the event type index structure in bulk, grouped by event type.
+     *
+     * @param entries filters
+     */
+    public final void removeBulk(List<FilterServiceEntry> entries) {
+        for (Map.Entry<EventType, List<FilterServiceEntry>> byType : groupByType(entries).entrySet()) {
+            FilterHandleSetNode rootNode = eventTypeIndex.get(byType.getKey());
+            if (rootNode != null) {
+                IndexTreeBuilderRemove.removeBulk(byType.getKey(), byType.getValue(), rootNode);
+            }
+        }
+    }
+
+    private FilterHandleSetNode getOrCreateRootNode(EventType eventType, FilterServiceGranularLockFactory lockFactory) {
         // Check if a filter tree exists for this event type
         FilterHandleSetNode rootNode = eventTypeIndex.get(eventType);
 
@@ -72,16 +107,22 @@ public class EventTypeIndexBuilder {
             try {
                 rootNode = eventTypeIndex.get(eventType);
                 if (rootNode == null) {
-                    rootNode = new FilterHandleSetNode(lockFactory.obtainNew());
+                    rootNode = new FilterHandleSetNode(lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
                     eventTypeIndex.add(eventType, rootNode);
                 }
             } finally {
                 callbacksLock.unlock();
             }
         }
+        return rootNode;
+    }
 
-        // Now add to tree
-        IndexTreeBuilderAdd.add(valueSet, filterCallback, rootNode, lockFactory);
+    private static Map<EventType, List<FilterServiceEntry>> groupByType(List<FilterServiceEntry> entries) {
+        Map<EventType, List<FilterServiceEntry>> byType = new LinkedHashMap<>(4);
+        for (FilterServiceEntry entry : entries) {
+            byType.computeIfAbsent(entry.getEventType(), k -> new ArrayList<>()).add(entry);
+        }
+        return byType;
     }
 
     /**
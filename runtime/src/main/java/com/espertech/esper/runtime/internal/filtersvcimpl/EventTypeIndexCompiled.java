@@ -0,0 +1,230 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Mapping of event type to a compiled filter plan, see {@link FilterCompiledPlan}, that evaluates events in place of
+ * the filter tree kept by {@link EventTypeIndex}.
+ * <p>
+ * Each event type has a filter version that changes when a filter change for the event type starts and when it ends.
+ * A plan is used only when its version is the current version. Otherwise events are evaluated by the filter tree and,
+ * once the filters of the event type remained unchanged for two evaluations, a background thread rebuilds the plan.
+ */
+public class EventTypeIndexCompiled {
+    private static final Logger log = LoggerFactory.getLogger(EventTypeIndexCompiled.class);
+
+    private final EventTypeIndex eventTypeIndex;
+    private final PlanProvider planProvider;
+    private final int stageId;
+    private final Map<EventType, TypeState> types = new ConcurrentHashMap<>();
+    private volatile ExecutorService executor;
+    private volatile boolean destroyed;
+
+    /**
+     * Ctor.
+     *
+     * @param eventTypeIndex   filter tree for use while no plan is available
+     * @param planProvider     builds a plan from the filter tree, taking any service-level lock
+     * @param stageId          stage id or -1 for the default stage
+     */
+    public EventTypeIndexCompiled(EventTypeIndex eventTypeIndex, PlanProvider planProvider, int stageId) {
+        this.eventTypeIndex = eventTypeIndex;
+        this.planProvider = planProvider;
+        this.stageId = stageId;
+    }
+
+    /**
+     * Indicate that a filter change for the event type starts, invalidating the current plan.
+     *
+     * @param eventType event type
+     */
+    public void changeStart(EventType eventType) {
+        TypeState state = types.computeIfAbsent(eventType, type -> new TypeState());
+        state.changesInProgress.incrementAndGet();
+        state.version.incrementAndGet();
+    }
+
+    /**
+     * Indicate that a filter change for the event type ended.
+     *
+     * @param eventType event type
+     */
+    public void changeEnd(EventType eventType) {
+        TypeState state = types.get(eventType);
+        if (state == null) {
+            return;
+        }
+        state.version.incrementAndGet();
+        state.changesInProgress.decrementAndGet();
+    }
+
+    /**
+     * Remove the event type.
+     *
+     * @param eventType event type
+     */
+    public void removeType(EventType eventType) {
+        TypeState state = types.remove(eventType);
+        if (state != null) {
+            state.version.incrementAndGet();
+        }
+    }
+
+    public void matchEvent(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
+        EventType eventType = theEvent.getEventType();
+
+        // Attempt to match exact type
+        matchType(eventType, theEvent, matches, ctx);
+
+        // No supertype means we are done
+        if (eventType.getSuperTypes() == null) {
+            return;
+        }
+
+        for (Iterator<EventType> it = eventType.getDeepSuperTypes(); it.hasNext(); ) {
+            EventType superType = it.next();
+            matchType(superType, theEvent, matches, ctx);
+        }
+    }
+
+    /**
+     * Returns the current plan of the event type, or null if there is no plan for the current filters.
+     *
+     * @param eventType event type
+     * @return plan or null
+     */
+    public FilterCompiledPlan getPlan(EventType eventType) {
+        TypeState state = types.get(eventType);
+        if (state == null) {
+            return null;
+        }
+        FilterCompiledPlan plan = state.plan;
+        return plan != null && plan.getVersion() == state.version.get() ? plan : null;
+    }
+
+    public void destroy() {
+        destroyed = true;
+        types.clear();
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private void matchType(EventType eventType, EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
+        TypeState state = types.get(eventType);
+        if (state == null) {
+            eventTypeIndex.matchType(eventType, theEvent, matches, ctx);
+            return;
+        }
+
+        long version = state.version.get();
+        FilterCompiledPlan plan = state.plan;
+        if (plan != null && plan.getVersion() == version) {
+            plan.matchEvent(theEvent, matches, ctx);
+            return;
+        }
+
+        eventTypeIndex.matchType(eventType, theEvent, matches, ctx);
+        requestBuild(eventType, state, version);
+    }
+
+    private void requestBuild(EventType eventType, TypeState state, long version) {
+        // the filters of the event type must be unchanged since the last evaluation that found no current plan
+        if (state.lastUnplannedVersion != version) {
+            state.lastUnplannedVersion = version;
+            return;
+        }
+        if (destroyed || !state.buildPending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            getExecutor().execute(() -> build(eventType, state));
+        } catch (RejectedExecutionException ex) {
+            state.buildPending.set(false);
+        }
+    }
+
+    private void build(EventType eventType, TypeState state) {
+        try {
+            long version = state.version.get();
+            if (state.changesInProgress.get() != 0) {
+                return;
+            }
+            FilterCompiledPlan plan = planProvider.buildPlan(eventType, version);
+            if (plan != null && state.version.get() == version) {
+                state.plan = plan;
+            }
+        } catch (RuntimeException ex) {
+            // filters changed while building, the next evaluation requests a new build
+            log.debug("Failed to build compiled filter plan for event type '" + eventType.getName() + "': " + ex.getMessage(), ex);
+        } finally {
+            state.buildPending.set(false);
+        }
+    }
+
+    private ExecutorService getExecutor() {
+        ExecutorService current = executor;
+        if (current != null) {
+            return current;
+        }
+        synchronized (this) {
+            if (executor == null) {
+                AtomicInteger count = new AtomicInteger();
+                executor = Executors.newSingleThreadExecutor(runnable -> {
+                    Thread t = new Thread(runnable, "com.espertech.esper.FilterCompile-" + stageId + "-" + count.getAndIncrement());
+                    t.setDaemon(true);
+                    return t;
+                });
+            }
+            return executor;
+        }
+    }
+
+    /**
+     * Builds the plan for an event type.
+     */
+    public interface PlanProvider {
+        /**
+         * Build the plan from the filter tree of the event type.
+         *
+         * @param eventType event type
+         * @param version   filter version of the event type
+         * @return plan or null if there are no filters for the event type
+         */
+        FilterCompiledPlan buildPlan(EventType eventType, long version);
+    }
+
+    private static class TypeState {
+        private final AtomicLong version = new AtomicLong();
+        private final AtomicInteger changesInProgress = new AtomicInteger();
+        private final AtomicBoolean buildPending = new AtomicBoolean();
+        private volatile FilterCompiledPlan plan;
+        private volatile long lastUnplannedVersion = -1;
+    }
+}
@@ -0,0 +1,28 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+
+import java.util.Collection;
+
+/**
+ * Evaluator of a compiled filter plan, see {@link FilterCompiledPlan}.
+ */
+public interface FilterCompiledEvaluator {
+    /**
+     * Perform the matching of an event, adding any callbacks for matches found to the matches list.
+     *
+     * @param values  supplies the event and the property values read so far for the event
+     * @param matches accumulates the matching filter callbacks
+     */
+    void matchEvent(FilterCompiledEventValues values, Collection<FilterHandle> matches);
+}
@@ -0,0 +1,68 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.common.internal.epl.expression.core.ExprFilterSpecLookupable;
+
+import java.util.Arrays;
+
+/**
+ * Values of the filter lookupables of a compiled filter plan for a single event.
+ * Each value is obtained from the event at most once, when first asked for.
+ */
+public final class FilterCompiledEventValues {
+    private static final Object UNREAD = new Object();
+
+    private final ExprFilterSpecLookupable[] lookupables;
+    private final EventBean theEvent;
+    private final ExprEvaluatorContext ctx;
+    private final Object[] values;
+
+    /**
+     * Ctor.
+     *
+     * @param lookupables lookupable per slot
+     * @param theEvent    event
+     * @param ctx         evaluation context
+     */
+    public FilterCompiledEventValues(ExprFilterSpecLookupable[] lookupables, EventBean theEvent, ExprEvaluatorContext ctx) {
+        this.lookupables = lookupables;
+        this.theEvent = theEvent;
+        this.ctx = ctx;
+        this.values = new Object[lookupables.length];
+        Arrays.fill(values, UNREAD);
+    }
+
+    /**
+     * Returns the value for the slot, evaluating the lookupable on first use.
+     *
+     * @param slot slot number
+     * @return value
+     */
+    public Object get(int slot) {
+        Object value = values[slot];
+        if (value == UNREAD) {
+            value = lookupables[slot].getEval().eval(theEvent, ctx);
+            values[slot] = value;
+        }
+        return value;
+    }
+
+    public EventBean getEvent() {
+        return theEvent;
+    }
+
+    public ExprEvaluatorContext getContext() {
+        return ctx;
+    }
+}
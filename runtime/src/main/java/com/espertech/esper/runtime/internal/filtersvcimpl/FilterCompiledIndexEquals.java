@@ -0,0 +1,50 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Compiled form of the equals and is indexes, see {@link FilterParamIndexEquals} and {@link FilterParamIndexEqualsIs}.
+ * The constants are held by a hash map snapshot that is not changed after compilation.
+ */
+public final class FilterCompiledIndexEquals implements FilterCompiledEvaluator {
+    private final int slot;
+    private final boolean matchNull;
+    private final Map<Object, FilterCompiledEvaluator> constants;
+
+    /**
+     * Ctor.
+     *
+     * @param slot      value slot
+     * @param matchNull true for the is-operator, for which a null value matches a null constant
+     * @param constants constants and their evaluators
+     */
+    public FilterCompiledIndexEquals(int slot, boolean matchNull, Map<Object, FilterCompiledEvaluator> constants) {
+        this.slot = slot;
+        this.matchNull = matchNull;
+        this.constants = constants;
+    }
+
+    public void matchEvent(FilterCompiledEventValues values, Collection<FilterHandle> matches) {
+        Object value = values.get(slot);
+        if (value == null && !matchNull) {
+            return;
+        }
+        FilterCompiledEvaluator evaluator = constants.get(value);
+        if (evaluator != null) {
+            evaluator.matchEvent(values, matches);
+        }
+    }
+}
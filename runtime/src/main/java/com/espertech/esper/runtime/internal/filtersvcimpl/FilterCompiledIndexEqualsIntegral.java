@@ -0,0 +1,108 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Compiled form of the equals index for integral constants of a single boxed type (Integer, Long, Short or Byte).
+ * The constants are held by an open-addressing table of primitive long keys.
+ * <p>
+ * A value matches only when it has the same boxed type as the constants, same as for a hash map lookup.
+ */
+public final class FilterCompiledIndexEqualsIntegral implements FilterCompiledEvaluator {
+    private final int slot;
+    private final Class keyClass;
+    private final long[] keys;
+    private final FilterCompiledEvaluator[] evaluators;
+    private final int mask;
+
+    /**
+     * Ctor.
+     *
+     * @param slot      value slot
+     * @param keyClass  boxed type of all constants
+     * @param constants constants and their evaluators
+     */
+    public FilterCompiledIndexEqualsIntegral(int slot, Class keyClass, Map<Object, FilterCompiledEvaluator> constants) {
+        this.slot = slot;
+        this.keyClass = keyClass;
+        int capacity = 2;
+        while (capacity < constants.size() * 2) {
+            capacity <<= 1;
+        }
+        this.keys = new long[capacity];
+        this.evaluators = new FilterCompiledEvaluator[capacity];
+        this.mask = capacity - 1;
+        for (Map.Entry<Object, FilterCompiledEvaluator> entry : constants.entrySet()) {
+            long key = ((Number) entry.getKey()).longValue();
+            int index = hash(key) & mask;
+            while (evaluators[index] != null) {
+                index = (index + 1) & mask;
+            }
+            keys[index] = key;
+            evaluators[index] = entry.getValue();
+        }
+    }
+
+    /**
+     * Returns indicator whether the constants can be held by this index.
+     *
+     * @param constants constants
+     * @return class of the constants or null if not all constants are of the same integral boxed type
+     */
+    public static Class getIntegralKeyClass(Map<Object, ?> constants) {
+        Class keyClass = null;
+        for (Object key : constants.keySet()) {
+            if (key == null) {
+                return null;
+            }
+            Class clazz = key.getClass();
+            if (clazz != Integer.class && clazz != Long.class && clazz != Short.class && clazz != Byte.class) {
+                return null;
+            }
+            if (keyClass == null) {
+                keyClass = clazz;
+            } else if (keyClass != clazz) {
+                return null;
+            }
+        }
+        return keyClass;
+    }
+
+    public void matchEvent(FilterCompiledEventValues values, Collection<FilterHandle> matches) {
+        Object value = values.get(slot);
+        if (value == null || value.getClass() != keyClass) {
+            return;
+        }
+        long key = ((Number) value).longValue();
+        int index = hash(key) & mask;
+        while (true) {
+            FilterCompiledEvaluator evaluator = evaluators[index];
+            if (evaluator == null) {
+                return;
+            }
+            if (keys[index] == key) {
+                evaluator.matchEvent(values, matches);
+                return;
+            }
+            index = (index + 1) & mask;
+        }
+    }
+
+    private static int hash(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Compiled form of the in-list index, see {@link FilterParamIndexIn}.
+ */
+public final class FilterCompiledIndexIn implements FilterCompiledEvaluator {
+    private final int slot;
+    private final Map<Object, FilterCompiledEvaluator[]> constants;
+
+    /**
+     * Ctor.
+     *
+     * @param slot      value slot
+     * @param constants in-list values and the evaluators of all in-lists that contain the value
+     */
+    public FilterCompiledIndexIn(int slot, Map<Object, FilterCompiledEvaluator[]> constants) {
+        this.slot = slot;
+        this.constants = constants;
+    }
+
+    public void matchEvent(FilterCompiledEventValues values, Collection<FilterHandle> matches) {
+        Object value = values.get(slot);
+        if (value == null) {
+            return;
+        }
+        FilterCompiledEvaluator[] evaluators = constants.get(value);
+        if (evaluators == null) {
+            return;
+        }
+        for (FilterCompiledEvaluator evaluator : evaluators) {
+            evaluator.matchEvent(values, matches);
+        }
+    }
+}
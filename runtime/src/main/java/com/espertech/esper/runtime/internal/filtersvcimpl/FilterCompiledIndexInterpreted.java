@@ -0,0 +1,36 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+
+import java.util.Collection;
+
+/**
+ * Evaluates an index that has no compiled form, such as range, compare, not-equals and boolean expression indexes,
+ * by asking the index itself to match the event.
+ */
+public final class FilterCompiledIndexInterpreted implements FilterCompiledEvaluator {
+    private final FilterParamIndexBase index;
+
+    /**
+     * Ctor.
+     *
+     * @param index index
+     */
+    public FilterCompiledIndexInterpreted(FilterParamIndexBase index) {
+        this.index = index;
+    }
+
+    public void matchEvent(FilterCompiledEventValues values, Collection<FilterHandle> matches) {
+        index.matchEvent(values.getEvent(), matches, values.getContext());
+    }
+}
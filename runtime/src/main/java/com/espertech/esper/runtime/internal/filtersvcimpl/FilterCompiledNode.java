@@ -0,0 +1,43 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+
+import java.util.Collection;
+
+/**
+ * Compiled form of a {@link FilterHandleSetNode}, holding the filter callbacks and the evaluators of the node's indexes.
+ */
+public final class FilterCompiledNode implements FilterCompiledEvaluator {
+    private final FilterCompiledEvaluator[] evaluators;
+    private final FilterHandle[] handles;
+
+    /**
+     * Ctor.
+     *
+     * @param evaluators compiled indexes
+     * @param handles    filter callbacks
+     */
+    public FilterCompiledNode(FilterCompiledEvaluator[] evaluators, FilterHandle[] handles) {
+        this.evaluators = evaluators;
+        this.handles = handles;
+    }
+
+    public void matchEvent(FilterCompiledEventValues values, Collection<FilterHandle> matches) {
+        for (FilterCompiledEvaluator evaluator : evaluators) {
+            evaluator.matchEvent(values, matches);
+        }
+        for (FilterHandle handle : handles) {
+            matches.add(handle);
+        }
+    }
+}
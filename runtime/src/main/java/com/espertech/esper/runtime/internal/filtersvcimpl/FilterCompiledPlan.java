@@ -0,0 +1,62 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.common.internal.epl.expression.core.ExprFilterSpecLookupable;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+
+import java.util.Collection;
+
+/**
+ * Flattened evaluation plan for the filter tree of a single event type, see {@link FilterCompiledPlanBuilder}.
+ * <p>
+ * A plan is a snapshot of the filter tree and is only valid for the filter version it was built for.
+ * The plan obtains the value of each distinct filter lookupable from the event at most once.
+ */
+public final class FilterCompiledPlan {
+    private final long version;
+    private final ExprFilterSpecLookupable[] lookupables;
+    private final FilterCompiledEvaluator root;
+
+    /**
+     * Ctor.
+     *
+     * @param version     filter version of the event type that the plan was built for
+     * @param lookupables lookupable per value slot
+     * @param root        compiled root node
+     */
+    public FilterCompiledPlan(long version, ExprFilterSpecLookupable[] lookupables, FilterCompiledEvaluator root) {
+        this.version = version;
+        this.lookupables = lookupables;
+        this.root = root;
+    }
+
+    public long getVersion() {
+        return version;
+    }
+
+    public int getNumSlots() {
+        return lookupables.length;
+    }
+
+    /**
+     * Match the event, adding any callbacks for matches found to the matches list.
+     *
+     * @param theEvent event
+     * @param matches  accumulates the matching filter callbacks
+     * @param ctx      evaluation context
+     */
+    public void matchEvent(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
+        root.matchEvent(new FilterCompiledEventValues(lookupables, theEvent, ctx), matches);
+    }
+}
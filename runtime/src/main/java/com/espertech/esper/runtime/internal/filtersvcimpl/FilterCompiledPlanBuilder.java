@@ -0,0 +1,152 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.internal.epl.expression.core.ExprFilterSpecLookupable;
+import com.espertech.esper.common.internal.filterspec.FilterOperator;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+
+import java.util.*;
+import java.util.concurrent.locks.ReadWriteLock;
+
+/**
+ * Builds a {@link FilterCompiledPlan} from the filter tree of an event type.
+ * <p>
+ * The builder copies each node and each equals, is and in-list index under its read lock and assigns
+ * a value slot to each distinct lookupable. All other indexes are evaluated by the index itself.
+ * The caller must check that the filter version did not change while building.
+ */
+public class FilterCompiledPlanBuilder {
+    private final List<ExprFilterSpecLookupable> lookupables = new ArrayList<>();
+    private final Map<ExprFilterSpecLookupable, Integer> slots = new HashMap<>();
+    private final Map<EventEvaluator, FilterCompiledEvaluator> compiled = new IdentityHashMap<>();
+
+    private FilterCompiledPlanBuilder() {
+    }
+
+    /**
+     * Build the plan.
+     *
+     * @param rootNode root node of the filter tree of the event type
+     * @param version  filter version of the event type
+     * @return plan
+     */
+    public static FilterCompiledPlan build(FilterHandleSetNode rootNode, long version) {
+        FilterCompiledPlanBuilder builder = new FilterCompiledPlanBuilder();
+        FilterCompiledEvaluator root = builder.compile(rootNode);
+        return new FilterCompiledPlan(version, builder.lookupables.toArray(new ExprFilterSpecLookupable[0]), root);
+    }
+
+    private FilterCompiledEvaluator compile(EventEvaluator evaluator) {
+        FilterCompiledEvaluator existing = compiled.get(evaluator);
+        if (existing != null) {
+            return existing;
+        }
+        FilterCompiledEvaluator result;
+        if (evaluator instanceof FilterHandleSetNode) {
+            result = compileNode((FilterHandleSetNode) evaluator);
+        } else if (evaluator instanceof FilterParamIndexEquals || evaluator instanceof FilterParamIndexEqualsIs) {
+            result = compileEquals((FilterParamIndexEqualsBase) evaluator);
+        } else if (evaluator instanceof FilterParamIndexIn) {
+            result = compileIn((FilterParamIndexIn) evaluator);
+        } else if (evaluator instanceof FilterParamIndexBase) {
+            result = new FilterCompiledIndexInterpreted((FilterParamIndexBase) evaluator);
+        } else {
+            throw new IllegalStateException("Unrecognized evaluator " + evaluator);
+        }
+        compiled.put(evaluator, result);
+        return result;
+    }
+
+    private FilterCompiledEvaluator compileNode(FilterHandleSetNode node) {
+        FilterParamIndexBase[] indizes;
+        FilterHandle[] handles;
+        ReadWriteLock lock = node.getNodeRWLock();
+        lock.readLock().lock();
+        try {
+            indizes = node.getIndizes().toArray(new FilterParamIndexBase[0]);
+            handles = node.getCallbackSet().toArray(new FilterHandle[0]);
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        FilterCompiledEvaluator[] evaluators = new FilterCompiledEvaluator[indizes.length];
+        for (int i = 0; i < indizes.length; i++) {
+            evaluators[i] = compile(indizes[i]);
+        }
+        return new FilterCompiledNode(evaluators, handles);
+    }
+
+    private FilterCompiledEvaluator compileEquals(FilterParamIndexEqualsBase index) {
+        Map<Object, EventEvaluator> constants;
+        ReadWriteLock lock = index.getReadWriteLock();
+        lock.readLock().lock();
+        try {
+            constants = new HashMap<>(index.getConstantsMap());
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<Object, FilterCompiledEvaluator> compiledConstants = new HashMap<>();
+        for (Map.Entry<Object, EventEvaluator> entry : constants.entrySet()) {
+            compiledConstants.put(entry.getKey(), compile(entry.getValue()));
+        }
+
+        int slot = slot(index.getLookupable());
+        boolean isOperator = index.getFilterOperator() == FilterOperator.IS;
+        if (!isOperator) {
+            Class keyClass = FilterCompiledIndexEqualsIntegral.getIntegralKeyClass(compiledConstants);
+            if (keyClass != null) {
+                return new FilterCompiledIndexEqualsIntegral(slot, keyClass, compiledConstants);
+            }
+        }
+        return new FilterCompiledIndexEquals(slot, isOperator, compiledConstants);
+    }
+
+    private FilterCompiledEvaluator compileIn(FilterParamIndexIn index) {
+        Map<Object, List<EventEvaluator>> constants = new HashMap<>();
+        ReadWriteLock lock = index.getReadWriteLock();
+        lock.readLock().lock();
+        try {
+            for (Map.Entry<Object, List<EventEvaluator>> entry : index.getConstantsMap().entrySet()) {
+                constants.put(entry.getKey(), new ArrayList<>(entry.getValue()));
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+
+        Map<Object, FilterCompiledEvaluator[]> compiledConstants = new HashMap<>();
+        for (Map.Entry<Object, List<EventEvaluator>> entry : constants.entrySet()) {
+            FilterCompiledEvaluator[] evaluators = new FilterCompiledEvaluator[entry.getValue().size()];
+            for (int i = 0; i < evaluators.length; i++) {
+                evaluators[i] = compile(entry.getValue().get(i));
+            }
+            compiledConstants.put(entry.getKey(), evaluators);
+        }
+        return new FilterCompiledIndexIn(slot(index.getLookupable()), compiledConstants);
+    }
+
+    private int slot(ExprFilterSpecLookupable lookupable) {
+        // values of non-property lookupables may depend on more than the event and are therefore not shared
+        if (!lookupable.isNonPropertyEval()) {
+            Integer existing = slots.get(lookupable);
+            if (existing != null) {
+                return existing;
+            }
+        }
+        int slot = lookupables.size();
+        lookupables.add(lookupable);
+        if (!lookupable.isNonPropertyEval()) {
+            slots.put(lookupable, slot);
+        }
+        return slot;
+    }
+}
@@ -30,11 +30,23 @@ import java.util.concurrent.locks.ReadWriteLock;
  */
 public final class FilterHandleSetNode implements EventEvaluator, FilterHandleSize {
     private final ReadWriteLock nodeRWLock;
-    private final Set<FilterHandle> callbackSet;
-    private List<FilterParamIndexBase> indizes;
+    private final boolean copyOnWrite;
+    private volatile Set<FilterHandle> callbackSet;
+    private volatile List<FilterParamIndexBase> indizes;
 
     public FilterHandleSetNode(ReadWriteLock nodeRWLock) {
+        this(nodeRWLock, false);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param nodeRWLock  lock for making changes to the node
+     * @param copyOnWrite when true each change publishes new collections and event evaluation does not lock
+     */
+    public FilterHandleSetNode(ReadWriteLock nodeRWLock, boolean copyOnWrite) {
         this.nodeRWLock = nodeRWLock;
+        this.copyOnWrite = copyOnWrite;
         callbackSet = new LinkedHashSet<>(CollectionUtil.capacityHashMap(4));
         indizes = Collections.emptyList();
     }
@@ -88,29 +100,14 @@ public final class FilterHandleSetNode implements EventEvaluator, FilterHandleSi
      * @param ctx evaluator context
      */
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
+        if (copyOnWrite) {
+            matchEventInternal(indizes, callbackSet, theEvent, matches, ctx);
+            return;
+        }
+
         nodeRWLock.readLock().lock();
         try {
-            if (InstrumentationHelper.ENABLED) {
-                if (!indizes.isEmpty()) {
-                    InstrumentationHelper.get().qFilterHandleSetIndexes(indizes);
-                }
-            }
-
-            // Ask each of the indizes to match against the attribute values
-            for (FilterParamIndexBase index : indizes) {
-                index.matchEvent(theEvent, matches, ctx);
-            }
-
-            if (InstrumentationHelper.ENABLED) {
-                if (!indizes.isEmpty()) {
-                    InstrumentationHelper.get().aFilterHandleSetIndexes();
-                }
-            }
-
-            // Add each filter callback stored in this node to the matching list
-            for (FilterHandle filterCallback : callbackSet) {
-                matches.add(filterCallback);
-            }
+            matchEventInternal(indizes, callbackSet, theEvent, matches, ctx);
         } finally {
             nodeRWLock.readLock().unlock();
         }
@@ -136,6 +133,13 @@ public final class FilterHandleSetNode implements EventEvaluator, FilterHandleSi
      * @param index - index to add
      */
     public final void add(FilterParamIndexBase index) {
+        if (copyOnWrite) {
+            List<FilterParamIndexBase> copy = new ArrayList<>(indizes.size() + 1);
+            copy.addAll(indizes);
+            copy.add(index);
+            indizes = copy;
+            return;
+        }
         checkIndizesIsModifyable();
         indizes.add(index);
     }
@@ -149,6 +153,15 @@ public final class FilterHandleSetNode implements EventEvaluator, FilterHandleSi
      * @return true if found, false if not existing
      */
     public final boolean remove(FilterParamIndexBase index) {
+        if (copyOnWrite) {
+            if (!indizes.contains(index)) {
+                return false;
+            }
+            List<FilterParamIndexBase> copy = new ArrayList<>(indizes);
+            copy.remove(index);
+            indizes = copy.isEmpty() ? Collections.emptyList() : copy;
+            return true;
+        }
         checkIndizesIsModifyable();
         return indizes.remove(index);
     }
@@ -162,9 +175,37 @@ public final class FilterHandleSetNode implements EventEvaluator, FilterHandleSi
      * @param filterCallback is the callback to add
      */
     public final void add(FilterHandle filterCallback) {
+        if (copyOnWrite) {
+            if (callbackSet.contains(filterCallback)) {
+                return;
+            }
+            Set<FilterHandle> copy = new LinkedHashSet<>(CollectionUtil.capacityHashMap(callbackSet.size() + 1));
+            copy.addAll(callbackSet);
+            copy.add(filterCallback);
+            callbackSet = copy;
+            return;
+        }
         callbackSet.add(filterCallback);
     }
 
+    /**
+     * Add multiple filter callbacks, publishing a single new copy when copy-on-write.
+     * NOTE: the client to this method must use the read-write lock of this object to lock, if required by the client
+     * code.
+     *
+     * @param filterCallbacks callbacks to add
+     */
+    public final void addAll(Collection<FilterHandle> filterCallbacks) {
+        if (copyOnWrite) {
+            Set<FilterHandle> copy = new LinkedHashSet<>(CollectionUtil.capacityHashMap(callbackSet.size() + filterCallbacks.size()));
+            copy.addAll(callbackSet);
+            copy.addAll(filterCallbacks);
+            callbackSet = copy;
+            return;
+        }
+        callbackSet.addAll(filterCallbacks);
+    }
+
     /**
      * Remove a filter callback, returning true if it was found and removed or false if not in collection.
      * NOTE: the client to this method must use the read-write lock of this object to lock, if required by the client
@@ -174,6 +215,15 @@ public final class FilterHandleSetNode implements EventEvaluator, FilterHandleSi
      * @return true if found, false if not existing
      */
     public final boolean remove(FilterHandle filterCallback) {
+        if (copyOnWrite) {
+            if (!callbackSet.contains(filterCallback)) {
+                return false;
+            }
+            Set<FilterHandle> copy = new LinkedHashSet<>(callbackSet);
+            copy.remove(filterCallback);
+            callbackSet = copy;
+            return true;
+        }
         return callbackSet.remove(filterCallback);
     }
 
@@ -192,6 +242,30 @@ public final class FilterHandleSetNode implements EventEvaluator, FilterHandleSi
         }
     }
 
+    private static void matchEventInternal(List<FilterParamIndexBase> indizes, Set<FilterHandle> callbackSet, EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
+        if (InstrumentationHelper.ENABLED) {
+            if (!indizes.isEmpty()) {
+                InstrumentationHelper.get().qFilterHandleSetIndexes(indizes);
+            }
+        }
+
+        // Ask each of the indizes to match against the attribute values
+        for (FilterParamIndexBase index : indizes) {
+            index.matchEvent(theEvent, matches, ctx);
+        }
+
+        if (InstrumentationHelper.ENABLED) {
+            if (!indizes.isEmpty()) {
+                InstrumentationHelper.get().aFilterHandleSetIndexes();
+            }
+        }
+
+        // Add each filter callback stored in this node to the matching list
+        for (FilterHandle filterCallback : callbackSet) {
+            matches.add(filterCallback);
+        }
+    }
+
     private void checkIndizesIsModifyable() {
         if (!(indizes instanceof LinkedList)) {
             indizes = new LinkedList<>();
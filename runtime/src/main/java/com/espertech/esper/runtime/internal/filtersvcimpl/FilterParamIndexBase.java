@@ -68,6 +68,21 @@ public abstract class FilterParamIndexBase implements EventEvaluator, FilterHand
      */
     public abstract void remove(Object filterConstant);
 
+    /**
+     * Replace the event evaluation instance stored for the given constant.
+     * Indexes that are read without a lock override this method to replace the entry in a single step,
+     * so that a concurrent reader finds either the old or the new evaluator.
+     * The calling class must make sure that access to the underlying resource is protected
+     * for multi-threaded writes, the getReadWriteLock() method must supply a lock for this purpose.
+     *
+     * @param filterConstant is the value supplied in the filter parameter
+     * @param evaluator      to be stored for the constant
+     */
+    public void replace(Object filterConstant, EventEvaluator evaluator) {
+        remove(filterConstant);
+        put(filterConstant, evaluator);
+    }
+
     /**
      * Return the number of distinct filter parameter constants stored, which can be an expensive call.
      * The calling class must make sure that access to the underlying resource is protected
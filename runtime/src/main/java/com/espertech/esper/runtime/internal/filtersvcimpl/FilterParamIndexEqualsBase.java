@@ -24,14 +24,16 @@ import java.util.concurrent.locks.ReadWriteLock;
  * The implementation is based on a regular HashMap.
  */
 public abstract class FilterParamIndexEqualsBase extends FilterParamIndexLookupableBase {
-    protected final Map<Object, EventEvaluator> constantsMap;
+    protected volatile Map<Object, EventEvaluator> constantsMap;
     protected final ReadWriteLock constantsMapRWLock;
+    protected final boolean copyOnWrite;
 
-    protected FilterParamIndexEqualsBase(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator) {
+    protected FilterParamIndexEqualsBase(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, FilterOperator filterOperator, boolean copyOnWrite) {
         super(filterOperator, lookupable);
 
         constantsMap = new HashMap<Object, EventEvaluator>();
         constantsMapRWLock = readWriteLock;
+        this.copyOnWrite = copyOnWrite;
     }
 
     public final EventEvaluator get(Object filterConstant) {
@@ -39,13 +41,33 @@ public abstract class FilterParamIndexEqualsBase extends FilterParamIndexLookupa
     }
 
     public final void put(Object filterConstant, EventEvaluator evaluator) {
+        if (copyOnWrite) {
+            Map<Object, EventEvaluator> copy = new HashMap<>(constantsMap);
+            copy.put(filterConstant, evaluator);
+            constantsMap = copy;
+            return;
+        }
         constantsMap.put(filterConstant, evaluator);
     }
 
     public final void remove(Object filterConstant) {
+        if (copyOnWrite) {
+            if (!constantsMap.containsKey(filterConstant)) {
+                return;
+            }
+            Map<Object, EventEvaluator> copy = new HashMap<>(constantsMap);
+            copy.remove(filterConstant);
+            constantsMap = copy;
+            return;
+        }
         constantsMap.remove(filterConstant);
     }
 
+    public final void replace(Object filterConstant, EventEvaluator evaluator) {
+        // put overrides the existing entry and, for copy-on-write, publishes the new state at once
+        put(filterConstant, evaluator);
+    }
+
     public final int sizeExpensive() {
         return constantsMap.size();
     }
@@ -58,6 +80,17 @@ public abstract class FilterParamIndexEqualsBase extends FilterParamIndexLookupa
         return constantsMapRWLock;
     }
 
+    /**
+     * Returns the constants and their evaluators. Client classes should not change this map.
+     * NOTE: the client to this method must use the read-write lock of this object to lock, if required by the client
+     * code.
+     *
+     * @return map of filter constant to evaluator
+     */
+    public Map<Object, EventEvaluator> getConstantsMap() {
+        return constantsMap;
+    }
+
     public void getTraverseStatement(EventTypeIndexTraverse traverse, Set<Integer> statementIds, ArrayDeque<FilterItem> evaluatorStack) {
         for (Map.Entry<Object, EventEvaluator> entry : constantsMap.entrySet()) {
             evaluatorStack.add(new FilterItem(lookupable.getExpression(), getFilterOperator(), entry.getKey(), this));
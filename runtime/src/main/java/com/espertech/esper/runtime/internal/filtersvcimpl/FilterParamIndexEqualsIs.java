@@ -26,7 +26,11 @@ import java.util.concurrent.locks.ReadWriteLock;
  */
 public final class FilterParamIndexEqualsIs extends FilterParamIndexEqualsBase {
     public FilterParamIndexEqualsIs(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
-        super(lookupable, readWriteLock, FilterOperator.IS);
+        this(lookupable, readWriteLock, false);
+    }
+
+    public FilterParamIndexEqualsIs(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean copyOnWrite) {
+        super(lookupable, readWriteLock, FilterOperator.IS, copyOnWrite);
     }
 
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
@@ -36,11 +40,15 @@ public final class FilterParamIndexEqualsIs extends FilterParamIndexEqualsBase {
         }
 
         EventEvaluator evaluator = null;
-        constantsMapRWLock.readLock().lock();
-        try {
+        if (copyOnWrite) {
             evaluator = constantsMap.get(attributeValue);
-        } finally {
-            constantsMapRWLock.readLock().unlock();
+        } else {
+            constantsMapRWLock.readLock().lock();
+            try {
+                evaluator = constantsMap.get(attributeValue);
+            } finally {
+                constantsMapRWLock.readLock().unlock();
+            }
         }
 
         // No listener found for the value, return
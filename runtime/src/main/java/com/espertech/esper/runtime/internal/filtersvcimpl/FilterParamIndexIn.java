@@ -29,16 +29,22 @@ import java.util.concurrent.locks.ReadWriteLock;
  * The implementation is based on a regular HashMap.
  */
 public final class FilterParamIndexIn extends FilterParamIndexLookupableBase {
-    private final Map<Object, List<EventEvaluator>> constantsMap;
-    private final Map<HashableMultiKey, EventEvaluator> evaluatorsMap;
+    private volatile Map<Object, List<EventEvaluator>> constantsMap;
+    private volatile Map<HashableMultiKey, EventEvaluator> evaluatorsMap;
     private final ReadWriteLock constantsMapRWLock;
+    private final boolean copyOnWrite;
 
     public FilterParamIndexIn(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
+        this(lookupable, readWriteLock, false);
+    }
+
+    public FilterParamIndexIn(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock, boolean copyOnWrite) {
         super(FilterOperator.IN_LIST_OF_VALUES, lookupable);
 
         constantsMap = new HashMap<Object, List<EventEvaluator>>();
         evaluatorsMap = new HashMap<HashableMultiKey, EventEvaluator>();
         constantsMapRWLock = readWriteLock;
+        this.copyOnWrite = copyOnWrite;
     }
 
     public final EventEvaluator get(Object filterConstant) {
@@ -47,6 +53,35 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase {
     }
 
     public final void put(Object filterConstant, EventEvaluator evaluator) {
+        if (copyOnWrite) {
+            Map<HashableMultiKey, EventEvaluator> evaluatorsCopy = new HashMap<>(evaluatorsMap);
+            Map<Object, List<EventEvaluator>> constantsCopy = copyConstants();
+            put(filterConstant, evaluator, evaluatorsCopy, constantsCopy);
+            evaluatorsMap = evaluatorsCopy;
+            constantsMap = constantsCopy;
+            return;
+        }
+        put(filterConstant, evaluator, evaluatorsMap, constantsMap);
+    }
+
+    public final void remove(Object filterConstant) {
+        if (copyOnWrite) {
+            Map<HashableMultiKey, EventEvaluator> evaluatorsCopy = new HashMap<>(evaluatorsMap);
+            Map<Object, List<EventEvaluator>> constantsCopy = copyConstants();
+            remove(filterConstant, evaluatorsCopy, constantsCopy);
+            evaluatorsMap = evaluatorsCopy;
+            constantsMap = constantsCopy;
+            return;
+        }
+        remove(filterConstant, evaluatorsMap, constantsMap);
+    }
+
+    public final void replace(Object filterConstant, EventEvaluator evaluator) {
+        // put overrides the existing entry and, for copy-on-write, publishes the new state at once
+        put(filterConstant, evaluator);
+    }
+
+    private static void put(Object filterConstant, EventEvaluator evaluator, Map<HashableMultiKey, EventEvaluator> evaluatorsMap, Map<Object, List<EventEvaluator>> constantsMap) {
         // Store evaluator keyed to set of values
         HashableMultiKey keys = (HashableMultiKey) filterConstant;
 
@@ -69,7 +104,7 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase {
         }
     }
 
-    public final void remove(Object filterConstant) {
+    private static void remove(Object filterConstant, Map<HashableMultiKey, EventEvaluator> evaluatorsMap, Map<Object, List<EventEvaluator>> constantsMap) {
         HashableMultiKey keys = (HashableMultiKey) filterConstant;
 
         // remove the mapping of value set to evaluator
@@ -100,6 +135,18 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase {
         return constantsMapRWLock;
     }
 
+    /**
+     * Returns the in-list values and the evaluators of all in-lists that contain the value.
+     * Client classes should not change this map.
+     * NOTE: the client to this method must use the read-write lock of this object to lock, if required by the client
+     * code.
+     *
+     * @return map of value to evaluators
+     */
+    public Map<Object, List<EventEvaluator>> getConstantsMap() {
+        return constantsMap;
+    }
+
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
         Object attributeValue = lookupable.getEval().eval(theEvent, ctx);
         if (InstrumentationHelper.ENABLED) {
@@ -113,6 +160,23 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase {
             return;
         }
 
+        if (copyOnWrite) {
+            List<EventEvaluator> evaluators = constantsMap.get(attributeValue);
+            if (evaluators == null) {
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().aFilterReverseIndex(false);
+                }
+                return;
+            }
+            for (EventEvaluator evaluator : evaluators) {
+                evaluator.matchEvent(theEvent, matches, ctx);
+            }
+            if (InstrumentationHelper.ENABLED) {
+                InstrumentationHelper.get().aFilterReverseIndex(null);
+            }
+            return;
+        }
+
         // Look up in hashtable
         constantsMapRWLock.readLock().lock();
         List<EventEvaluator> evaluators = constantsMap.get(attributeValue);
@@ -147,5 +211,13 @@ public final class FilterParamIndexIn extends FilterParamIndexLookupableBase {
         }
     }
 
+    private Map<Object, List<EventEvaluator>> copyConstants() {
+        Map<Object, List<EventEvaluator>> copy = new HashMap<>(constantsMap.size() + 1);
+        for (Map.Entry<Object, List<EventEvaluator>> entry : constantsMap.entrySet()) {
+            copy.put(entry.getKey(), new LinkedList<>(entry.getValue()));
+        }
+        return copy;
+    }
+
     private static final Logger log = LoggerFactory.getLogger(FilterParamIndexIn.class);
 }
@@ -23,7 +23,7 @@ import java.util.concurrent.locks.ReadWriteLock;
 
 public final class FilterParamIndexReboolWithValue extends FilterParamIndexEqualsBase {
     public FilterParamIndexReboolWithValue(ExprFilterSpecLookupable lookupable, ReadWriteLock readWriteLock) {
-        super(lookupable, readWriteLock, FilterOperator.REBOOL);
+        super(lookupable, readWriteLock, FilterOperator.REBOOL, false);
     }
 
     public final void matchEvent(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
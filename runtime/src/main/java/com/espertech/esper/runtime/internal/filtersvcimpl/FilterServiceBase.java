@@ -25,6 +25,7 @@ import org.slf4j.LoggerFactory;
 
 import java.util.*;
 import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.locks.LockSupport;
 import java.util.function.Supplier;
@@ -39,14 +40,29 @@ public abstract class FilterServiceBase implements FilterServiceSPI {
     private static final Logger log = LoggerFactory.getLogger(FilterServiceBase.class);
     private final EventTypeIndexBuilder indexBuilder;
     private final EventTypeIndex eventTypeIndex;
+    private final EventTypeIndexCompiled eventTypeIndexCompiled;
     private final AtomicLong numEventsEvaluated = new AtomicLong();
     private volatile long filtersVersion = 1;
     private final CopyOnWriteArraySet<FilterServiceListener> filterServiceListeners;
+    private final ThreadLocal<FilterServiceBulkBuffer> bulkBuffers = ThreadLocal.withInitial(FilterServiceBulkBuffer::new);
+    private final AtomicInteger bulkScopes = new AtomicInteger();
 
     protected FilterServiceBase(FilterServiceGranularLockFactory lockFactory, int stageId) {
+        this(lockFactory, stageId, false);
+    }
+
+    /**
+     * Ctor.
+     *
+     * @param lockFactory lock factory
+     * @param stageId     stage id or -1 for the default stage
+     * @param compiled    true to evaluate events using compiled filter plans, see {@link EventTypeIndexCompiled}
+     */
+    protected FilterServiceBase(FilterServiceGranularLockFactory lockFactory, int stageId, boolean compiled) {
         this.lockFactory = lockFactory;
         this.stageId = stageId;
         eventTypeIndex = new EventTypeIndex(lockFactory);
+        eventTypeIndexCompiled = compiled ? new EventTypeIndexCompiled(eventTypeIndex, this::buildPlan, stageId) : null;
         indexBuilder = new EventTypeIndexBuilder(eventTypeIndex);
         filterServiceListeners = new CopyOnWriteArraySet<FilterServiceListener>();
     }
@@ -59,6 +75,191 @@ public abstract class FilterServiceBase implements FilterServiceSPI {
         log.debug("Destroying filter service");
         eventTypeIndex.destroy();
         indexBuilder.destroy();
+        if (eventTypeIndexCompiled != null) {
+            eventTypeIndexCompiled.destroy();
+        }
+    }
+
+    public void beginBulk() {
+        if (bulkBuffers.get().enter()) {
+            bulkScopes.incrementAndGet();
+        }
+    }
+
+    public void endBulk() {
+        FilterServiceBulkBuffer buffer = bulkBuffers.get();
+        if (buffer.exit()) {
+            bulkScopes.decrementAndGet();
+            if (buffer.hasPending()) {
+                applyBulk(buffer.take());
+            }
+        }
+    }
+
+    /**
+     * Apply filter changes collected within a bulk scope, taking the service-level lock as required.
+     *
+     * @param ops filter additions and removals in the order they were made
+     */
+    protected abstract void applyBulk(List<FilterServiceBulkBuffer.FilterServiceBulkBufferOp> ops);
+
+    /**
+     * Build the compiled filter plan for the event type, taking the service-level lock as required.
+     *
+     * @param eventType event type
+     * @param version   filter version of the event type
+     * @return plan or null if there are no filters for the event type
+     */
+    protected abstract FilterCompiledPlan buildPlan(EventType eventType, long version);
+
+    protected FilterCompiledPlan buildPlanInternal(EventType eventType, long version) {
+        FilterHandleSetNode rootNode = eventTypeIndex.get(eventType);
+        if (rootNode == null) {
+            return null;
+        }
+        return FilterCompiledPlanBuilder.build(rootNode, version);
+    }
+
+    /**
+     * Returns the compiled filter plan that is current for the event type.
+     *
+     * @param eventType event type
+     * @return plan, or null when not using compiled filter plans or when the plan is not yet built for the current filters
+     */
+    public FilterCompiledPlan getCompiledPlan(EventType eventType) {
+        return eventTypeIndexCompiled == null ? null : eventTypeIndexCompiled.getPlan(eventType);
+    }
+
+    /**
+     * Applies filter changes collected by the current thread within a bulk scope, so that the current
+     * thread evaluates events against all filters that it added. Call before taking the service-level lock.
+     */
+    protected final void applyBulkPending() {
+        if (bulkScopes.get() == 0) {
+            return;
+        }
+        FilterServiceBulkBuffer buffer = bulkBuffers.get();
+        if (buffer.hasPending()) {
+            applyBulk(buffer.take());
+        }
+    }
+
+    /**
+     * Collects the filter addition when the current thread is within a bulk scope.
+     *
+     * @param eventType      event type
+     * @param valueSet       filter parameters
+     * @param filterCallback filter callback
+     * @return true when collected, false when the filter must be added directly
+     */
+    protected final boolean deferAdd(EventType eventType, FilterValueSetParam[][] valueSet, FilterHandle filterCallback) {
+        if (bulkScopes.get() == 0) {
+            return false;
+        }
+        FilterServiceBulkBuffer buffer = bulkBuffers.get();
+        if (!buffer.isActive()) {
+            return false;
+        }
+        buffer.add(eventType, valueSet, filterCallback);
+        return true;
+    }
+
+    /**
+     * Collects the filter removal when the current thread is within a bulk scope.
+     *
+     * @param filterCallback filter callback
+     * @param eventType      event type
+     * @param valueSet       filter parameters
+     * @return true when collected, false when the filter must be removed directly
+     */
+    protected final boolean deferRemove(FilterHandle filterCallback, EventType eventType, FilterValueSetParam[][] valueSet) {
+        if (bulkScopes.get() == 0) {
+            return false;
+        }
+        FilterServiceBulkBuffer buffer = bulkBuffers.get();
+        if (!buffer.isActive()) {
+            return false;
+        }
+        buffer.remove(filterCallback, eventType, valueSet);
+        return true;
+    }
+
+    protected void applyBulkInternal(List<FilterServiceBulkBuffer.FilterServiceBulkBufferOp> ops) {
+        List<FilterServiceEntry> run = new ArrayList<>();
+        boolean runIsAdd = true;
+        for (FilterServiceBulkBuffer.FilterServiceBulkBufferOp op : ops) {
+            if (op.isCancelled()) {
+                continue;
+            }
+            if (op.isAdd() != runIsAdd && !run.isEmpty()) {
+                applyRun(run, runIsAdd);
+                run = new ArrayList<>();
+            }
+            runIsAdd = op.isAdd();
+            run.add(op.getEntry());
+        }
+        if (!run.isEmpty()) {
+            applyRun(run, runIsAdd);
+        }
+    }
+
+    protected void addBulkInternal(List<FilterServiceEntry> entries) {
+        if (InstrumentationHelper.ENABLED) {
+            for (FilterServiceEntry entry : entries) {
+                addInternal(entry.getEventType(), entry.getValueSet(), entry.getHandle());
+            }
+            return;
+        }
+        Set<EventType> types = changeStart(entries);
+        try {
+            indexBuilder.addBulk(entries, lockFactory);
+        } finally {
+            changeEnd(types);
+        }
+        filtersVersion++;
+    }
+
+    protected void removeBulkInternal(List<FilterServiceEntry> entries) {
+        if (InstrumentationHelper.ENABLED) {
+            for (FilterServiceEntry entry : entries) {
+                removeInternal(entry.getHandle(), entry.getEventType(), entry.getValueSet());
+            }
+            return;
+        }
+        Set<EventType> types = changeStart(entries);
+        try {
+            indexBuilder.removeBulk(entries);
+        } finally {
+            changeEnd(types);
+        }
+        filtersVersion++;
+    }
+
+    private Set<EventType> changeStart(List<FilterServiceEntry> entries) {
+        if (eventTypeIndexCompiled == null) {
+            return Collections.emptySet();
+        }
+        Set<EventType> types = new LinkedHashSet<>();
+        for (FilterServiceEntry entry : entries) {
+            if (types.add(entry.getEventType())) {
+                eventTypeIndexCompiled.changeStart(entry.getEventType());
+            }
+        }
+        return types;
+    }
+
+    private void changeEnd(Set<EventType> types) {
+        for (EventType type : types) {
+            eventTypeIndexCompiled.changeEnd(type);
+        }
+    }
+
+    private void applyRun(List<FilterServiceEntry> run, boolean isAdd) {
+        if (isAdd) {
+            addBulkInternal(run);
+        } else {
+            removeBulkInternal(run);
+        }
     }
 
     protected void addInternal(EventType eventType, FilterValueSetParam[][] valueSet, FilterHandle filterCallback) {
@@ -66,7 +267,16 @@ public abstract class FilterServiceBase implements FilterServiceSPI {
             InstrumentationHelper.get().qFilterAdd(eventType, valueSet, filterCallback);
         }
 
-        indexBuilder.add(eventType, valueSet, filterCallback, lockFactory);
+        if (eventTypeIndexCompiled == null) {
+            indexBuilder.add(eventType, valueSet, filterCallback, lockFactory);
+        } else {
+            eventTypeIndexCompiled.changeStart(eventType);
+            try {
+                indexBuilder.add(eventType, valueSet, filterCallback, lockFactory);
+            } finally {
+                eventTypeIndexCompiled.changeEnd(eventType);
+            }
+        }
         filtersVersion++;
 
         if (InstrumentationHelper.ENABLED) {
@@ -79,7 +289,16 @@ public abstract class FilterServiceBase implements FilterServiceSPI {
             InstrumentationHelper.get().qFilterRemove(filterCallback, eventType, valueSet);
         }
 
-        indexBuilder.remove(filterCallback, eventType, valueSet);
+        if (eventTypeIndexCompiled == null) {
+            indexBuilder.remove(filterCallback, eventType, valueSet);
+        } else {
+            eventTypeIndexCompiled.changeStart(eventType);
+            try {
+                indexBuilder.remove(filterCallback, eventType, valueSet);
+            } finally {
+                eventTypeIndexCompiled.changeEnd(eventType);
+            }
+        }
         filtersVersion++;
 
         if (InstrumentationHelper.ENABLED) {
@@ -174,12 +393,15 @@ public abstract class FilterServiceBase implements FilterServiceSPI {
 
     protected void removeTypeInternal(EventType type) {
         eventTypeIndex.removeType(type);
+        if (eventTypeIndexCompiled != null) {
+            eventTypeIndexCompiled.removeType(type);
+        }
     }
 
     private void retryableMatchEvent(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
         // Install lock backoff exception handler that retries the evaluation.
         try {
-            eventTypeIndex.matchEvent(theEvent, matches, ctx);
+            matchEvent(theEvent, matches, ctx);
         } catch (FilterLockBackoffException ex) {
             // retry on lock back-off
             // lock-backoff may occur when stateful evaluations take place such as boolean expressions that are subqueries
@@ -202,7 +424,7 @@ public abstract class FilterServiceBase implements FilterServiceSPI {
 
                     // evaluate
                     matches.clear();
-                    eventTypeIndex.matchEvent(theEvent, matches, ctx);
+                    matchEvent(theEvent, matches, ctx);
                     break;
                 } catch (FilterLockBackoffException ex2) {
                     // retried
@@ -210,4 +432,13 @@ public abstract class FilterServiceBase implements FilterServiceSPI {
             }
         }
     }
+
+    private void matchEvent(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
+        // instrumentation reports each index of the filter tree and therefore does not use compiled plans
+        if (eventTypeIndexCompiled == null || InstrumentationHelper.ENABLED) {
+            eventTypeIndex.matchEvent(theEvent, matches, ctx);
+        } else {
+            eventTypeIndexCompiled.matchEvent(theEvent, matches, ctx);
+        }
+    }
 }
@@ -0,0 +1,115 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-thread collection of filter additions and removals made within a bulk scope.
+ * A removal of a filter that was added within the same scope cancels the addition.
+ */
+public class FilterServiceBulkBuffer {
+    private int depth;
+    private List<FilterServiceBulkBufferOp> ops = new ArrayList<>();
+    private final Map<FilterHandle, FilterServiceBulkBufferOp> pendingAdds = new IdentityHashMap<>();
+
+    /**
+     * Enter a scope.
+     *
+     * @return true when entering the outermost scope
+     */
+    public boolean enter() {
+        depth++;
+        return depth == 1;
+    }
+
+    /**
+     * Exit a scope.
+     *
+     * @return true when exiting the outermost scope
+     */
+    public boolean exit() {
+        if (depth == 0) {
+            throw new IllegalStateException("Filter service bulk scope has not been started");
+        }
+        depth--;
+        return depth == 0;
+    }
+
+    public boolean isActive() {
+        return depth > 0;
+    }
+
+    public boolean hasPending() {
+        return !ops.isEmpty();
+    }
+
+    public void add(EventType eventType, FilterValueSetParam[][] valueSet, FilterHandle handle) {
+        FilterServiceBulkBufferOp op = new FilterServiceBulkBufferOp(true, new FilterServiceEntry(eventType, valueSet, handle));
+        ops.add(op);
+        pendingAdds.put(handle, op);
+    }
+
+    public void remove(FilterHandle handle, EventType eventType, FilterValueSetParam[][] valueSet) {
+        FilterServiceBulkBufferOp pending = pendingAdds.remove(handle);
+        if (pending != null && pending.getEntry().getEventType() == eventType && pending.getEntry().getValueSet() == valueSet) {
+            pending.cancel();
+            return;
+        }
+        ops.add(new FilterServiceBulkBufferOp(false, new FilterServiceEntry(eventType, valueSet, handle)));
+    }
+
+    /**
+     * Returns and clears the collected operations in the order they were made.
+     *
+     * @return operations
+     */
+    public List<FilterServiceBulkBufferOp> take() {
+        List<FilterServiceBulkBufferOp> taken = ops;
+        ops = new ArrayList<>();
+        pendingAdds.clear();
+        return taken;
+    }
+
+    public static class FilterServiceBulkBufferOp {
+        private final boolean add;
+        private final FilterServiceEntry entry;
+        private boolean cancelled;
+
+        FilterServiceBulkBufferOp(boolean add, FilterServiceEntry entry) {
+            this.add = add;
+            this.entry = entry;
+        }
+
+        public boolean isAdd() {
+            return add;
+        }
+
+        public FilterServiceEntry getEntry() {
+            return entry;
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+
+/**
+ * Filter to add or remove as part of a bulk filter operation.
+ */
+public class FilterServiceEntry {
+    private final EventType eventType;
+    private final FilterValueSetParam[][] valueSet;
+    private final FilterHandle handle;
+
+    /**
+     * Ctor.
+     *
+     * @param eventType event type
+     * @param valueSet  filter parameters
+     * @param handle    filter callback
+     */
+    public FilterServiceEntry(EventType eventType, FilterValueSetParam[][] valueSet, FilterHandle handle) {
+        this.eventType = eventType;
+        this.valueSet = valueSet;
+        this.handle = handle;
+    }
+
+    public EventType getEventType() {
+        return eventType;
+    }
+
+    public FilterValueSetParam[][] getValueSet() {
+        return valueSet;
+    }
+
+    public FilterHandle getHandle() {
+        return handle;
+    }
+}
@@ -0,0 +1,44 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.client.util.FilterServiceProfile;
+
+public class FilterServiceFactory {
+    /**
+     * Returns the filter service implementation for the profile.
+     *
+     * @param profile filter service profile
+     * @param stageId stage id or -1 for the default stage
+     * @return filter service
+     */
+    public static FilterServiceSPI make(FilterServiceProfile profile, int stageId) {
+        return make(profile, false, stageId);
+    }
+
+    /**
+     * Returns the filter service implementation for the profile.
+     *
+     * @param profile  filter service profile
+     * @param compiled true to evaluate events using compiled filter plans
+     * @param stageId  stage id or -1 for the default stage
+     * @return filter service
+     */
+    public static FilterServiceSPI make(FilterServiceProfile profile, boolean compiled, int stageId) {
+        if (profile == FilterServiceProfile.READWRITE) {
+            return new FilterServiceLockFine(stageId, compiled);
+        }
+        if (profile == FilterServiceProfile.READLOCKFREE) {
+            return new FilterServiceLockFree(stageId, compiled);
+        }
+        return new FilterServiceLockCoarse(stageId, compiled);
+    }
+}
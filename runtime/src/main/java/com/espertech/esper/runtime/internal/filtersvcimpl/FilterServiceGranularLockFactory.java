@@ -14,4 +14,12 @@ import java.util.concurrent.locks.ReadWriteLock;
 
 public interface FilterServiceGranularLockFactory {
     public ReadWriteLock obtainNew();
+
+    /**
+     * Returns indicator whether structures that support it publish a new copy-on-write version for each change,
+     * so that event evaluation can read these structures without acquiring the lock.
+     *
+     * @return copy-on-write indicator
+     */
+    public boolean isCopyOnWrite();
 }
@@ -0,0 +1,30 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Lock factory for use with lock-free event evaluation.
+ * <p>
+ * Equals, is and in-list indexes, filter nodes and the event type index are copy-on-write and
+ * do not acquire the lock for event evaluation. Other indexes use the lock as provided.
+ */
+public class FilterServiceGranularLockFactoryCopyOnWrite implements FilterServiceGranularLockFactory {
+    public ReadWriteLock obtainNew() {
+        return new ReentrantReadWriteLock();
+    }
+
+    public boolean isCopyOnWrite() {
+        return true;
+    }
+}
@@ -27,7 +27,11 @@ public final class FilterServiceLockCoarse extends FilterServiceBase {
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
     public FilterServiceLockCoarse(int stageId) {
-        super(FilterServiceGranularLockFactoryNone.INSTANCE, stageId);
+        this(stageId, false);
+    }
+
+    public FilterServiceLockCoarse(int stageId, boolean compiled) {
+        super(FilterServiceGranularLockFactoryNone.INSTANCE, stageId, compiled);
     }
 
     public void acquireWriteLock() {
@@ -39,6 +43,7 @@ public final class FilterServiceLockCoarse extends FilterServiceBase {
     }
 
     public Map<EventTypeIdPair, Map<Integer, List<FilterItem[]>>> get(Set<Integer> statementId) {
+        applyBulkPending();
         lock.writeLock().lock();
         try {
             return super.getInternal(statementId);
@@ -48,6 +53,7 @@ public final class FilterServiceLockCoarse extends FilterServiceBase {
     }
 
     public long evaluate(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
+        applyBulkPending();
         lock.readLock().lock();
         try {
             return super.evaluateInternal(theEvent, matches, ctx);
@@ -57,6 +63,7 @@ public final class FilterServiceLockCoarse extends FilterServiceBase {
     }
 
     public long evaluate(EventBean theEvent, Collection<FilterHandle> matches, int statementId, ExprEvaluatorContext ctx) {
+        applyBulkPending();
         lock.readLock().lock();
         try {
             return super.evaluateInternal(theEvent, matches, statementId, ctx);
@@ -66,6 +73,9 @@ public final class FilterServiceLockCoarse extends FilterServiceBase {
     }
 
     public void add(EventType eventType, FilterValueSetParam[][] valueSet, FilterHandle callback) {
+        if (deferAdd(eventType, valueSet, callback)) {
+            return;
+        }
         lock.writeLock().lock();
         try {
             super.addInternal(eventType, valueSet, callback);
@@ -75,6 +85,9 @@ public final class FilterServiceLockCoarse extends FilterServiceBase {
     }
 
     public void remove(FilterHandle callback, EventType eventType, FilterValueSetParam[][] valueSet) {
+        if (deferRemove(callback, eventType, valueSet)) {
+            return;
+        }
         lock.writeLock().lock();
         try {
             super.removeInternal(callback, eventType, valueSet);
@@ -84,6 +97,7 @@ public final class FilterServiceLockCoarse extends FilterServiceBase {
     }
 
     public void removeType(EventType type) {
+        applyBulkPending();
         lock.writeLock().lock();
         try {
             super.removeTypeInternal(type);
@@ -91,4 +105,40 @@ public final class FilterServiceLockCoarse extends FilterServiceBase {
             lock.writeLock().unlock();
         }
     }
+
+    public void addBulk(List<FilterServiceEntry> entries) {
+        lock.writeLock().lock();
+        try {
+            super.addBulkInternal(entries);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeBulk(List<FilterServiceEntry> entries) {
+        lock.writeLock().lock();
+        try {
+            super.removeBulkInternal(entries);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    protected void applyBulk(List<FilterServiceBulkBuffer.FilterServiceBulkBufferOp> ops) {
+        lock.writeLock().lock();
+        try {
+            super.applyBulkInternal(ops);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    protected FilterCompiledPlan buildPlan(EventType eventType, long version) {
+        lock.readLock().lock();
+        try {
+            return super.buildPlanInternal(eventType, version);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
 }
@@ -27,7 +27,11 @@ public final class FilterServiceLockFine extends FilterServiceBase {
     private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
 
     public FilterServiceLockFine(int stageId) {
-        super(new FilterServiceGranularLockFactoryReentrant(), stageId);
+        this(stageId, false);
+    }
+
+    public FilterServiceLockFine(int stageId, boolean compiled) {
+        super(new FilterServiceGranularLockFactoryReentrant(), stageId, compiled);
     }
 
     public void acquireWriteLock() {
@@ -39,6 +43,7 @@ public final class FilterServiceLockFine extends FilterServiceBase {
     }
 
     public Map<EventTypeIdPair, Map<Integer, List<FilterItem[]>>> get(Set<Integer> statementId) {
+        applyBulkPending();
         lock.readLock().lock();
         try {
             return super.getInternal(statementId);
@@ -48,6 +53,7 @@ public final class FilterServiceLockFine extends FilterServiceBase {
     }
 
     public long evaluate(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
+        applyBulkPending();
         lock.readLock().lock();
         try {
             return super.evaluateInternal(theEvent, matches, ctx);
@@ -57,6 +63,7 @@ public final class FilterServiceLockFine extends FilterServiceBase {
     }
 
     public long evaluate(EventBean theEvent, Collection<FilterHandle> matches, int statementId, ExprEvaluatorContext ctx) {
+        applyBulkPending();
         lock.readLock().lock();
         try {
             return super.evaluateInternal(theEvent, matches, statementId, ctx);
@@ -66,14 +73,42 @@ public final class FilterServiceLockFine extends FilterServiceBase {
     }
 
     public void add(EventType eventType, FilterValueSetParam[][] valueSet, FilterHandle callback) {
+        if (deferAdd(eventType, valueSet, callback)) {
+            return;
+        }
         super.addInternal(eventType, valueSet, callback);
     }
 
     public void remove(FilterHandle callback, EventType eventType, FilterValueSetParam[][] valueSet) {
+        if (deferRemove(callback, eventType, valueSet)) {
+            return;
+        }
         super.removeInternal(callback, eventType, valueSet);
     }
 
     public void removeType(EventType type) {
+        applyBulkPending();
         super.removeTypeInternal(type);
     }
+
+    public void addBulk(List<FilterServiceEntry> entries) {
+        super.addBulkInternal(entries);
+    }
+
+    public void removeBulk(List<FilterServiceEntry> entries) {
+        super.removeBulkInternal(entries);
+    }
+
+    protected void applyBulk(List<FilterServiceBulkBuffer.FilterServiceBulkBufferOp> ops) {
+        super.applyBulkInternal(ops);
+    }
+
+    protected FilterCompiledPlan buildPlan(EventType eventType, long version) {
+        lock.readLock().lock();
+        try {
+            return super.buildPlanInternal(eventType, version);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
 }
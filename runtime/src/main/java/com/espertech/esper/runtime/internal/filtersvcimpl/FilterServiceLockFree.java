@@ -0,0 +1,141 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.meta.EventTypeIdPair;
+import com.espertech.esper.common.internal.epl.expression.core.ExprEvaluatorContext;
+import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Filter service that does not lock for evaluating events.
+ * <p>
+ * Filter changes are serialized by a service-wide write lock and publish new copy-on-write versions
+ * of the event type index, filter nodes and equals, is and in-list indexes. Other index types
+ * retain their own lock.
+ */
+public final class FilterServiceLockFree extends FilterServiceBase {
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public FilterServiceLockFree(int stageId) {
+        this(stageId, false);
+    }
+
+    public FilterServiceLockFree(int stageId, boolean compiled) {
+        super(new FilterServiceGranularLockFactoryCopyOnWrite(), stageId, compiled);
+    }
+
+    public void acquireWriteLock() {
+        lock.writeLock().lock();
+    }
+
+    public void releaseWriteLock() {
+        lock.writeLock().unlock();
+    }
+
+    public Map<EventTypeIdPair, Map<Integer, List<FilterItem[]>>> get(Set<Integer> statementId) {
+        applyBulkPending();
+        lock.writeLock().lock();
+        try {
+            return super.getInternal(statementId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public long evaluate(EventBean theEvent, Collection<FilterHandle> matches, ExprEvaluatorContext ctx) {
+        applyBulkPending();
+        return super.evaluateInternal(theEvent, matches, ctx);
+    }
+
+    public long evaluate(EventBean theEvent, Collection<FilterHandle> matches, int statementId, ExprEvaluatorContext ctx) {
+        applyBulkPending();
+        return super.evaluateInternal(theEvent, matches, statementId, ctx);
+    }
+
+    public void add(EventType eventType, FilterValueSetParam[][] valueSet, FilterHandle callback) {
+        if (deferAdd(eventType, valueSet, callback)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            super.addInternal(eventType, valueSet, callback);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(FilterHandle callback, EventType eventType, FilterValueSetParam[][] valueSet) {
+        if (deferRemove(callback, eventType, valueSet)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            super.removeInternal(callback, eventType, valueSet);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeType(EventType type) {
+        applyBulkPending();
+        lock.writeLock().lock();
+        try {
+            super.removeTypeInternal(type);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void addBulk(List<FilterServiceEntry> entries) {
+        lock.writeLock().lock();
+        try {
+            super.addBulkInternal(entries);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void removeBulk(List<FilterServiceEntry> entries) {
+        lock.writeLock().lock();
+        try {
+            super.removeBulkInternal(entries);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    protected void applyBulk(List<FilterServiceBulkBuffer.FilterServiceBulkBufferOp> ops) {
+        lock.writeLock().lock();
+        try {
+            super.applyBulkInternal(ops);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    protected FilterCompiledPlan buildPlan(EventType eventType, long version) {
+        lock.readLock().lock();
+        try {
+            return super.buildPlanInternal(eventType, version);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+}
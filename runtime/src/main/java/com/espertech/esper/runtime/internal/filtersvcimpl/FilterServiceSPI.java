@@ -32,6 +32,22 @@ public interface FilterServiceSPI extends FilterService {
      */
     public Map<EventTypeIdPair, Map<Integer, List<FilterItem[]>>> get(Set<Integer> statementId);
 
+    /**
+     * Add filters in bulk: filters are grouped by event type and by index, and each node and index of the filter
+     * structure that is visited is locked once for all filters.
+     *
+     * @param entries filters to add
+     */
+    public void addBulk(List<FilterServiceEntry> entries);
+
+    /**
+     * Remove filters in bulk: filters are grouped by event type and removed while holding the lock
+     * of the event type's root node once.
+     *
+     * @param entries filters to remove
+     */
+    public void removeBulk(List<FilterServiceEntry> entries);
+
     /**
      * Add activity listener.void acquireWriteLock();
      *
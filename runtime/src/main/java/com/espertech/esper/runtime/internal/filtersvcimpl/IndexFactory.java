@@ -36,7 +36,7 @@ public class IndexFactory {
 
         // Handle all EQUAL comparisons
         if (filterOperator == FilterOperator.EQUAL) {
-            index = new FilterParamIndexEquals(lookupable, lockFactory.obtainNew());
+            index = new FilterParamIndexEquals(lookupable, lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
             return index;
         }
 
@@ -47,7 +47,7 @@ public class IndexFactory {
         }
 
         if (filterOperator == FilterOperator.IS) {
-            index = new FilterParamIndexEqualsIs(lookupable, lockFactory.obtainNew());
+            index = new FilterParamIndexEqualsIs(lookupable, lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
             return index;
         }
 
@@ -88,7 +88,7 @@ public class IndexFactory {
 
         // Handle all IN and NOT IN comparisons
         if (filterOperator == FilterOperator.IN_LIST_OF_VALUES) {
-            return new FilterParamIndexIn(lookupable, lockFactory.obtainNew());
+            return new FilterParamIndexIn(lookupable, lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
         }
         if (filterOperator == FilterOperator.NOT_IN_LIST_OF_VALUES) {
             return new FilterParamIndexNotIn(lookupable, lockFactory.obtainNew());
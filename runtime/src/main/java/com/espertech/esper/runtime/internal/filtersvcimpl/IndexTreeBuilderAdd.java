@@ -18,7 +18,11 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.ArrayDeque;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 public final class IndexTreeBuilderAdd {
     private static final Logger log = LoggerFactory.getLogger(IndexTreeBuilderAdd.class);
@@ -57,6 +61,166 @@ public final class IndexTreeBuilderAdd {
         }
     }
 
+    /**
+     * Add multiple filter callbacks to the top node in a single pass: filter callbacks that share an index are
+     * added to the index together, acquiring the write lock of each node and index visited only once.
+     *
+     * @param entries     filters to add, all of the same event type
+     * @param topNode     node to be added to any subnode beneath it
+     * @param lockFactory lock factory
+     */
+    public static void addBulk(List<FilterServiceEntry> entries,
+                               FilterHandleSetNode topNode,
+                               FilterServiceGranularLockFactory lockFactory) {
+        List<BulkPending> pending = new ArrayList<>(entries.size());
+        for (FilterServiceEntry entry : entries) {
+            FilterValueSetParam[][] valueSet = entry.getValueSet();
+            if (valueSet.length == 0) {
+                pending.add(new BulkPending(new ArrayDeque<>(1), entry.getHandle()));
+            } else {
+                for (FilterValueSetParam[] path : valueSet) {
+                    ArrayDeque<FilterValueSetParam> remainingParameters = new ArrayDeque<>(path.length);
+                    Collections.addAll(remainingParameters, path);
+                    pending.add(new BulkPending(remainingParameters, entry.getHandle()));
+                }
+            }
+        }
+        addBulkToNode(pending, topNode, lockFactory);
+    }
+
+    private static void addBulkToNode(List<BulkPending> pending,
+                                      FilterHandleSetNode currentNode,
+                                      FilterServiceGranularLockFactory lockFactory) {
+        currentNode.getNodeRWLock().writeLock().lock();
+        try {
+            List<FilterHandle> handles = null;
+            List<FilterParamIndexBase> indexes = new ArrayList<>(2);
+            List<Map<Object, List<BulkPending>>> indexValues = new ArrayList<>(2);
+
+            for (BulkPending item : pending) {
+                if (item.remainingParameters.isEmpty()) {
+                    if (handles == null) {
+                        handles = new ArrayList<>();
+                    }
+                    handles.add(item.filterCallback);
+                    continue;
+                }
+
+                FilterParamIndexBase index;
+                Object filterForValue;
+                Pair<FilterValueSetParam, FilterParamIndexBase> pair = IndexHelper.findIndex(item.remainingParameters, currentNode.getIndizes());
+                if (pair != null) {
+                    item.remainingParameters.remove(pair.getFirst());
+                    index = pair.getSecond();
+                    filterForValue = pair.getFirst().getFilterForValue();
+                } else {
+                    FilterValueSetParam parameterPickedForIndex = item.remainingParameters.removeFirst();
+                    index = IndexFactory.createIndex(parameterPickedForIndex.getLookupable(), lockFactory, parameterPickedForIndex.getFilterOperator());
+                    currentNode.add(index);
+                    filterForValue = parameterPickedForIndex.getFilterForValue();
+                }
+
+                int position = indexOfIdentity(indexes, index);
+                if (position == -1) {
+                    indexes.add(index);
+                    indexValues.add(new LinkedHashMap<>());
+                    position = indexes.size() - 1;
+                }
+                indexValues.get(position).computeIfAbsent(filterForValue, k -> new ArrayList<>(2)).add(item);
+            }
+
+            if (handles != null) {
+                currentNode.addAll(handles);
+            }
+            for (int i = 0; i < indexes.size(); i++) {
+                addBulkToIndex(indexValues.get(i), indexes.get(i), lockFactory);
+            }
+        } finally {
+            currentNode.getNodeRWLock().writeLock().unlock();
+        }
+    }
+
+    private static void addBulkToIndex(Map<Object, List<BulkPending>> valuesPending,
+                                       FilterParamIndexBase index,
+                                       FilterServiceGranularLockFactory lockFactory) {
+        index.getReadWriteLock().writeLock().lock();
+        try {
+            for (Map.Entry<Object, List<BulkPending>> entry : valuesPending.entrySet()) {
+                Object filterForValue = entry.getKey();
+                List<BulkPending> pending = entry.getValue();
+                EventEvaluator eventEvaluator = index.get(filterForValue);
+
+                // new filter parameter value: same tree shape as for a single add when there is one filter
+                if (eventEvaluator == null) {
+                    if (pending.size() == 1 && !pending.get(0).remainingParameters.isEmpty()) {
+                        BulkPending item = pending.get(0);
+                        FilterValueSetParam parameterPickedForIndex = item.remainingParameters.removeFirst();
+                        FilterParamIndexBase nextIndex = IndexFactory.createIndex(parameterPickedForIndex.getLookupable(), lockFactory, parameterPickedForIndex.getFilterOperator());
+                        index.put(filterForValue, nextIndex);
+                        addBulkToIndex(Collections.singletonMap(parameterPickedForIndex.getFilterForValue(), pending), nextIndex, lockFactory);
+                    } else {
+                        FilterHandleSetNode node = new FilterHandleSetNode(lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
+                        addBulkToNode(pending, node, lockFactory);
+                        index.put(filterForValue, node);
+                    }
+                    continue;
+                }
+
+                if (eventEvaluator instanceof FilterHandleSetNode) {
+                    addBulkToNode(pending, (FilterHandleSetNode) eventEvaluator, lockFactory);
+                    continue;
+                }
+
+                // the next index must match a remaining parameter of each filter, else it gets converted to a node
+                FilterParamIndexBase nextIndex = (FilterParamIndexBase) eventEvaluator;
+                boolean allMatch = true;
+                for (BulkPending item : pending) {
+                    if (IndexHelper.findParameter(item.remainingParameters, nextIndex) == null) {
+                        allMatch = false;
+                        break;
+                    }
+                }
+
+                if (allMatch) {
+                    Map<Object, List<BulkPending>> nextValues = new LinkedHashMap<>();
+                    for (BulkPending item : pending) {
+                        FilterValueSetParam parameter = IndexHelper.findParameter(item.remainingParameters, nextIndex);
+                        item.remainingParameters.remove(parameter);
+                        nextValues.computeIfAbsent(parameter.getFilterForValue(), k -> new ArrayList<>(2)).add(item);
+                    }
+                    addBulkToIndex(nextValues, nextIndex, lockFactory);
+                } else {
+                    FilterHandleSetNode newNode = new FilterHandleSetNode(lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
+                    newNode.add(nextIndex);
+                    // replace in one step so that lock-free readers never find the value missing
+                    index.replace(filterForValue, newNode);
+                    addBulkToNode(pending, newNode, lockFactory);
+                }
+            }
+        } finally {
+            index.getReadWriteLock().writeLock().unlock();
+        }
+    }
+
+    private static int indexOfIdentity(List<FilterParamIndexBase> indexes, FilterParamIndexBase index) {
+        for (int i = 0; i < indexes.size(); i++) {
+            if (indexes.get(i) == index) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static class BulkPending {
+        private final ArrayDeque<FilterValueSetParam> remainingParameters;
+        private final FilterHandle filterCallback;
+
+        BulkPending(ArrayDeque<FilterValueSetParam> remainingParameters, FilterHandle filterCallback) {
+            this.remainingParameters = remainingParameters;
+            this.filterCallback = filterCallback;
+        }
+    }
+
     /**
      * Add to the current node building up the tree path information.
      *
@@ -165,10 +329,10 @@ public final class IndexTreeBuilderAdd {
 
                 // The found eventEvaluator must be converted to a new FilterHandleSetNode
                 FilterParamIndexBase nextIndex = (FilterParamIndexBase) eventEvaluator;
-                FilterHandleSetNode newNode = new FilterHandleSetNode(lockFactory.obtainNew());
+                FilterHandleSetNode newNode = new FilterHandleSetNode(lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
                 newNode.add(nextIndex);
-                index.remove(filterForValue);
-                index.put(filterForValue, newNode);
+                // replace in one step so that lock-free readers never find the value missing
+                index.replace(filterForValue, newNode);
                 addToNode(remainingParameters, filterCallback, newNode, lockFactory);
 
                 return;
@@ -177,7 +341,7 @@ public final class IndexTreeBuilderAdd {
             // The index does not currently have this filterCallback value,
             // if there are no remaining parameters, create a node
             if (remainingParameters.isEmpty()) {
-                FilterHandleSetNode node = new FilterHandleSetNode(lockFactory.obtainNew());
+                FilterHandleSetNode node = new FilterHandleSetNode(lockFactory.obtainNew(), lockFactory.isCopyOnWrite());
                 addToNode(remainingParameters, filterCallback, node, lockFactory);
                 index.put(filterForValue, node);
                 return;
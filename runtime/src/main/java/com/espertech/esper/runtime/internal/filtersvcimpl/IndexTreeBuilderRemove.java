@@ -12,6 +12,7 @@ package com.espertech.esper.runtime.internal.filtersvcimpl;
 
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.internal.filterspec.FilterOperator;
+import com.espertech.esper.common.internal.filterspec.FilterSpecParam;
 import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
 import com.espertech.esper.common.internal.filtersvc.FilterHandle;
 import com.espertech.esper.common.internal.util.ExecutionPathDebugLog;
@@ -19,6 +20,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
+import java.util.List;
 
 public final class IndexTreeBuilderRemove {
     private IndexTreeBuilderRemove() {
@@ -54,6 +56,32 @@ public final class IndexTreeBuilderRemove {
         }
     }
 
+    /**
+     * Remove multiple filter callbacks from the given top node, holding the write lock of the top node
+     * for the duration of all removals.
+     *
+     * @param eventType event type
+     * @param entries   filters to remove, all of the same event type
+     * @param topNode   The top tree node beneath which the filter callbacks were added
+     */
+    public static void removeBulk(EventType eventType, List<FilterServiceEntry> entries, FilterHandleSetNode topNode) {
+        topNode.getNodeRWLock().writeLock().lock();
+        try {
+            for (FilterServiceEntry entry : entries) {
+                FilterValueSetParam[][] valueSet = entry.getValueSet();
+                if (valueSet.length == 0) {
+                    remove(eventType, entry.getHandle(), FilterSpecParam.EMPTY_VALUE_ARRAY, topNode);
+                } else {
+                    for (FilterValueSetParam[] params : valueSet) {
+                        remove(eventType, entry.getHandle(), params, topNode);
+                    }
+                }
+            }
+        } finally {
+            topNode.getNodeRWLock().writeLock().unlock();
+        }
+    }
+
     private static boolean removeFromNode(FilterHandle filterCallback,
                                           FilterHandleSetNode currentNode,
                                           FilterValueSetParam[] params,
@@ -16,10 +16,8 @@ import com.espertech.esper.common.internal.epl.fafquery.querymethod.FAFQueryInfo
 import com.espertech.esper.common.internal.epl.fafquery.querymethod.FAFQueryMethod;
 import com.espertech.esper.common.internal.epl.fafquery.querymethod.FAFQueryMethodAssignerSetter;
 
-import java.util.Collections;
-import java.util.LinkedHashSet;
-import java.util.Map;
-import java.util.Set;
+import java.lang.reflect.Array;
+import java.util.*;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 public class EPFireAndForgetPreparedQueryParameterizedImpl implements EPFireAndForgetPreparedQueryParameterized {
@@ -28,6 +26,7 @@ public class EPFireAndForgetPreparedQueryParameterizedImpl implements EPFireAndF
     private final FAFQueryMethod queryMethod;
     private final Class[] types;
     private final Map<String, Integer> names;
+    private final Object[] values;
 
     private Set<Integer> unsatisfiedParamsOneOffset;
 
@@ -37,6 +36,7 @@ public class EPFireAndForgetPreparedQueryParameterizedImpl implements EPFireAndF
         this.queryMethod = queryMethod;
         this.types = queryInformationals.getSubstitutionParamsTypes();
         this.names = queryInformationals.getSubstitutionParamsNames();
+        this.values = new Object[types == null ? 0 : types.length];
         if (types != null && types.length > 0) {
             this.unsatisfiedParamsOneOffset = new LinkedHashSet<>();
             for (int i = 0; i < types.length; i++) {
@@ -59,6 +59,9 @@ public class EPFireAndForgetPreparedQueryParameterizedImpl implements EPFireAndF
         }
         try {
             fields.setValue(parameterIndex, value);
+            if (assignValue(parameterIndex, value)) {
+                queryMethod.parametersChanged();
+            }
             updateUnsatisfied(parameterIndex);
         } catch (Throwable t) {
             throw handleSetterException(Integer.toString(parameterIndex), parameterIndex, t);
@@ -78,6 +81,9 @@ public class EPFireAndForgetPreparedQueryParameterizedImpl implements EPFireAndF
         }
         try {
             fields.setValue(index, value);
+            if (assignValue(index, value)) {
+                queryMethod.parametersChanged();
+            }
             updateUnsatisfied(index);
         } catch (Throwable t) {
             throw handleSetterException("'" + parameterName + "'", index, t);
@@ -112,6 +118,24 @@ public class EPFireAndForgetPreparedQueryParameterizedImpl implements EPFireAndF
         return new EPException("Failed to set substitution parameter " + parameterName + ", expected a value of type '" + types[parameterIndex - 1].getName() + "': " + message, t);
     }
 
+    private boolean assignValue(int parameterIndex, Object value) {
+        // setting an unchanged value keeps the state that the query method derived from the value
+        boolean changed = unsatisfiedParamsOneOffset.contains(parameterIndex) || !Objects.deepEquals(values[parameterIndex - 1], value);
+        values[parameterIndex - 1] = copyIfArray(value);
+        return changed;
+    }
+
+    private static Object copyIfArray(Object value) {
+        // the application may change the array after setting it
+        if (value == null || !value.getClass().isArray()) {
+            return value;
+        }
+        int length = Array.getLength(value);
+        Object copy = Array.newInstance(value.getClass().getComponentType(), length);
+        System.arraycopy(value, 0, copy, 0, length);
+        return copy;
+    }
+
     private void updateUnsatisfied(Integer index) {
         if (unsatisfiedParamsOneOffset.isEmpty()) {
             return;
@@ -44,24 +44,29 @@ import static com.espertech.esper.runtime.internal.kernel.service.DeployerHelper
 
 public class Deployer {
 
-    public static DeploymentInternal deployFresh(String deploymentId, int statementIdFirstStatement, EPCompiled compiled, StatementNameRuntimeOption statementNameResolverRuntime, StatementUserObjectRuntimeOption userObjectResolverRuntime, StatementSubstitutionParameterOption substitutionParameterResolver, DeploymentClassLoaderOption deploymentClassLoaderOption, EPRuntimeSPI epRuntime) throws EPDeployException {
-        return deploy(false, deploymentId, statementIdFirstStatement, compiled, statementNameResolverRuntime, userObjectResolverRuntime, substitutionParameterResolver, deploymentClassLoaderOption, epRuntime);
+    public static DeploymentInternal deployFresh(String deploymentId, int statementIdFirstStatement, EPCompiled compiled, StatementNameRuntimeOption statementNameResolverRuntime, StatementUserObjectRuntimeOption userObjectResolverRuntime, StatementSubstitutionParameterOption substitutionParameterResolver, DeploymentClassLoaderOption deploymentClassLoaderOption, EPRuntimeSPI epRuntime, DeployerPhaseTimings timings) throws EPDeployException {
+        return deploy(false, deploymentId, statementIdFirstStatement, compiled, statementNameResolverRuntime, userObjectResolverRuntime, substitutionParameterResolver, deploymentClassLoaderOption, epRuntime, timings);
     }
 
     public static DeploymentInternal deployRecover(String deploymentId, int statementIdFirstStatement, EPCompiled compiled, StatementNameRuntimeOption statementNameResolverRuntime, StatementUserObjectRuntimeOption userObjectResolverRuntime, StatementSubstitutionParameterOption substitutionParameterResolver, DeploymentClassLoaderOption deploymentClassLoaderOption, EPRuntimeSPI epRuntime) throws EPDeployException {
-        return deploy(true, deploymentId, statementIdFirstStatement, compiled, statementNameResolverRuntime, userObjectResolverRuntime, substitutionParameterResolver, deploymentClassLoaderOption, epRuntime);
+        return deploy(true, deploymentId, statementIdFirstStatement, compiled, statementNameResolverRuntime, userObjectResolverRuntime, substitutionParameterResolver, deploymentClassLoaderOption, epRuntime, new DeployerPhaseTimings());
     }
 
-    private static DeploymentInternal deploy(boolean recovery, String deploymentId, int statementIdFirstStatement, EPCompiled compiled, StatementNameRuntimeOption statementNameResolverRuntime, StatementUserObjectRuntimeOption userObjectResolverRuntime, StatementSubstitutionParameterOption substitutionParameterResolver, DeploymentClassLoaderOption deploymentClassLoaderOption, EPRuntimeSPI epRuntime) throws EPDeployException {
+    private static DeploymentInternal deploy(boolean recovery, String deploymentId, int statementIdFirstStatement, EPCompiled compiled, StatementNameRuntimeOption statementNameResolverRuntime, StatementUserObjectRuntimeOption userObjectResolverRuntime, StatementSubstitutionParameterOption substitutionParameterResolver, DeploymentClassLoaderOption deploymentClassLoaderOption, EPRuntimeSPI epRuntime, DeployerPhaseTimings timings) throws EPDeployException {
         // set variable local version
         epRuntime.getServicesContext().getVariableManagementService().setLocalVersion();
 
+        DeployerParallel parallel = DeployerParallel.make(epRuntime.getServicesContext());
         try {
-            return deploySafe(recovery, deploymentId, statementIdFirstStatement, compiled, statementNameResolverRuntime, userObjectResolverRuntime, substitutionParameterResolver, deploymentClassLoaderOption, epRuntime);
+            return deploySafe(recovery, deploymentId, statementIdFirstStatement, compiled, statementNameResolverRuntime, userObjectResolverRuntime, substitutionParameterResolver, deploymentClassLoaderOption, epRuntime, parallel, timings);
         } catch (EPDeployException ex) {
             throw ex;
         } catch (Throwable t) {
             throw new EPDeployException(t.getMessage(), t, -1);
+        } finally {
+            if (parallel != null) {
+                parallel.destroy();
+            }
         }
     }
 
@@ -73,7 +78,9 @@ public class Deployer {
                                                  StatementUserObjectRuntimeOption userObjectResolverRuntime,
                                                  StatementSubstitutionParameterOption substitutionParameterResolver,
                                                  DeploymentClassLoaderOption deploymentClassLoaderOption,
-                                                 EPRuntimeSPI epRuntime) throws Throwable {
+                                                 EPRuntimeSPI epRuntime,
+                                                 DeployerParallel parallel,
+                                                 DeployerPhaseTimings timings) throws Throwable {
 
         EPServicesContext services = epRuntime.getServicesContext();
         ClassLoader deploymentClassLoader = DeployerHelperResolver.getClassLoader(-1, deploymentClassLoaderOption, services);
@@ -86,6 +93,13 @@ public class Deployer {
         // resolve external dependencies
         ModuleDependenciesRuntime moduleDependencies = moduleProvider.getModuleProvider().getModuleDependencies();
         Set<String> deploymentIdDependencies = resolveDependencies(-1, moduleDependencies, services);
+        timings.completed(DeployerPhaseTimings.Phase.RESOLVE);
+
+        // load module classes ahead of statement initialization
+        if (parallel != null) {
+            parallel.loadClasses(compiled.getClasses().keySet(), moduleProvider.getClassLoader());
+        }
+        timings.completed(DeployerPhaseTimings.Phase.LOAD_CLASSES);
 
         // initialize EPL objects defined by module
         DeployerModuleEPLObjects moduleEPLObjects = initializeEPLObjects(moduleProvider, deploymentId, services);
@@ -95,12 +109,15 @@ public class Deployer {
 
         // add EPL objects defined by module to path
         DeployerModulePaths modulePaths = updatePath(-1, moduleEPLObjects, moduleName, deploymentId, services);
+        timings.completed(DeployerPhaseTimings.Phase.INIT_EPL_OBJECTS);
 
         // obtain statement lightweights
-        DeployerModuleStatementLightweights stmtLightweights = initializeStatements(-1, recovery, moduleEPLObjects, modulePaths, moduleName, moduleProvider, deploymentId, statementIdFirstStatement, userObjectResolverRuntime, statementNameResolverRuntime, substitutionParameterResolver, services);
+        DeployerModuleStatementLightweights stmtLightweights = initializeStatements(-1, recovery, moduleEPLObjects, modulePaths, moduleName, moduleProvider, deploymentId, statementIdFirstStatement, userObjectResolverRuntime, statementNameResolverRuntime, substitutionParameterResolver, services, parallel);
+        timings.completed(DeployerPhaseTimings.Phase.INIT_STATEMENTS);
 
         // start statements depending on context association
         EPStatement[] statements = deployStatements(-1, stmtLightweights.getLightweights(), recovery, modulePaths, moduleProvider, deploymentId, epRuntime);
+        timings.completed(DeployerPhaseTimings.Phase.START_STATEMENTS);
 
         // add dependencies
         addPathDependencies(deploymentId, moduleDependencies, services);
@@ -114,6 +131,7 @@ public class Deployer {
             DeploymentRecoveryInformation recoveryInformation = getRecoveryInformation(deployed);
             services.getDeploymentRecoveryService().add(deploymentId, statementIdFirstStatement, compiled, recoveryInformation.getStatementUserObjectsRuntime(), recoveryInformation.getStatementNamesWhenProvidedByAPI(), stmtLightweights.getSubstitutionParameters());
         }
+        timings.completed(DeployerPhaseTimings.Phase.REGISTER);
 
         return deployed;
     }
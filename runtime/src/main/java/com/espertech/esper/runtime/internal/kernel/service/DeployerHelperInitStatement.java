@@ -50,9 +50,14 @@ import com.espertech.esper.runtime.internal.kernel.updatedispatch.UpdateDispatch
 import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationDefault;
 
 import java.util.*;
+import java.util.concurrent.Callable;
 
 public class DeployerHelperInitStatement {
     public static DeployerModuleStatementLightweights initializeStatements(int rolloutItemNumber, boolean recovery, DeployerModuleEPLObjects moduleEPLObjects, DeployerModulePaths modulePaths, String moduleName, ModuleProviderCLPair moduleProvider, String deploymentId, int statementIdFirstStatement, StatementUserObjectRuntimeOption userObjectResolverRuntime, StatementNameRuntimeOption statementNameResolverRuntime, StatementSubstitutionParameterOption substitutionParameterResolver, EPServicesContext services) throws Throwable {
+        return initializeStatements(rolloutItemNumber, recovery, moduleEPLObjects, modulePaths, moduleName, moduleProvider, deploymentId, statementIdFirstStatement, userObjectResolverRuntime, statementNameResolverRuntime, substitutionParameterResolver, services, null);
+    }
+
+    public static DeployerModuleStatementLightweights initializeStatements(int rolloutItemNumber, boolean recovery, DeployerModuleEPLObjects moduleEPLObjects, DeployerModulePaths modulePaths, String moduleName, ModuleProviderCLPair moduleProvider, String deploymentId, int statementIdFirstStatement, StatementUserObjectRuntimeOption userObjectResolverRuntime, StatementNameRuntimeOption statementNameResolverRuntime, StatementSubstitutionParameterOption substitutionParameterResolver, EPServicesContext services, DeployerParallel parallel) throws Throwable {
         // get module statements
         List<StatementProvider> statementResources;
         try {
@@ -68,17 +73,24 @@ public class DeployerHelperInitStatement {
         ModuleIncidentals moduleIncidentals = moduleEPLObjects.getIncidentals();
         try {
             int statementId = statementIdFirstStatement;
+            List<Callable<StatementInitPrepared>> pending = new ArrayList<>();
             for (StatementProvider statement : statementResources) {
-                StatementLightweight lightweight = initStatement(recovery, moduleName, statement, deploymentId, statementId, moduleEPLObjects.getEventTypeResolver(), moduleIncidentals, statementNameResolverRuntime, userObjectResolverRuntime, moduleProvider.getClassLoader(), services);
-                lightweights.add(lightweight);
+                String statementName = resolveStatementName(statement.getInformationals(), deploymentId, statementId, statementNameResolverRuntime);
+                int statementIdAssigned = statementId;
+                Callable<StatementInitPrepared> prepare = () -> prepareStatement(recovery, statement, statementName, deploymentId, statementIdAssigned, moduleEPLObjects.getEventTypeResolver(), moduleIncidentals, moduleProvider.getClassLoader(), services);
                 statementId++;
 
-                String statementName = lightweight.getStatementContext().getStatementName();
-                if (statementNames.contains(statementName)) {
-                    throw new EPDeployException("Duplicate statement name provide by statement name resolver for statement name '" + statementName + "'", rolloutItemNumber);
+                if (parallel != null && isParallelInitialize(statement.getInformationals())) {
+                    pending.add(prepare);
+                    continue;
                 }
-                statementNames.add(statementName);
+
+                // statements that activate EPL objects for use by subsequent statements initialize in module order
+                completeParallel(parallel, pending, rolloutItemNumber, recovery, moduleName, moduleIncidentals, userObjectResolverRuntime, services, lightweights, statementNames);
+                StatementLightweight lightweight = completeStatement(prepare.call(), recovery, moduleName, moduleIncidentals, userObjectResolverRuntime, services);
+                addLightweight(lightweight, rolloutItemNumber, lightweights, statementNames);
             }
+            completeParallel(parallel, pending, rolloutItemNumber, recovery, moduleName, moduleIncidentals, userObjectResolverRuntime, services, lightweights, statementNames);
 
             // set parameters
             substitutionParameters = setSubstitutionParameterValues(rolloutItemNumber, deploymentId, lightweights, substitutionParameterResolver);
@@ -90,7 +102,60 @@ public class DeployerHelperInitStatement {
         return new DeployerModuleStatementLightweights(statementIdFirstStatement, lightweights, substitutionParameters);
     }
 
-    private static StatementLightweight initStatement(boolean recovery, String moduleName, StatementProvider statementProvider, String deploymentId, int statementId, EventTypeResolver eventTypeResolver, ModuleIncidentals moduleIncidentals, StatementNameRuntimeOption statementNameResolverRuntime, StatementUserObjectRuntimeOption userObjectResolverRuntime, ClassLoader moduleClassLoader, EPServicesContext services) {
+    private static void completeParallel(DeployerParallel parallel, List<Callable<StatementInitPrepared>> pending, int rolloutItemNumber, boolean recovery, String moduleName, ModuleIncidentals moduleIncidentals, StatementUserObjectRuntimeOption userObjectResolverRuntime, EPServicesContext services, List<StatementLightweight> lightweights, Set<String> statementNames) throws Throwable {
+        if (pending.isEmpty()) {
+            return;
+        }
+        List<StatementInitPrepared> prepared = parallel.invokeAll(pending);
+        pending.clear();
+        for (StatementInitPrepared statement : prepared) {
+            StatementLightweight lightweight = completeStatement(statement, recovery, moduleName, moduleIncidentals, userObjectResolverRuntime, services);
+            addLightweight(lightweight, rolloutItemNumber, lightweights, statementNames);
+        }
+    }
+
+    private static void addLightweight(StatementLightweight lightweight, int rolloutItemNumber, List<StatementLightweight> lightweights, Set<String> statementNames) throws EPDeployException {
+        lightweights.add(lightweight);
+        String statementName = lightweight.getStatementContext().getStatementName();
+        if (statementNames.contains(statementName)) {
+            throw new EPDeployException("Duplicate statement name provide by statement name resolver for statement name '" + statementName + "'", rolloutItemNumber);
+        }
+        statementNames.add(statementName);
+    }
+
+    /**
+     * Statements that only consume EPL objects may initialize concurrently. Statements that define EPL objects
+     * such as named windows, tables, contexts, variables and expressions activate them during initialization.
+     */
+    private static boolean isParallelInitialize(StatementInformationalsRuntime informationals) {
+        switch (informationals.getStatementType()) {
+            case SELECT:
+            case ON_MERGE:
+            case ON_SPLITSTREAM:
+            case ON_DELETE:
+            case ON_SELECT:
+            case ON_INSERT:
+            case ON_SET:
+            case ON_UPDATE:
+            case UPDATE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static String resolveStatementName(StatementInformationalsRuntime informationals, String deploymentId, int statementId, StatementNameRuntimeOption statementNameResolverRuntime) {
+        String statementName = informationals.getStatementNameCompileTime();
+        if (statementNameResolverRuntime != null) {
+            String statementNameAssigned = statementNameResolverRuntime.getStatementName(new StatementNameRuntimeContext(deploymentId, statementName, statementId, (String) informationals.getProperties().get(StatementProperty.EPL), informationals.getAnnotations()));
+            if (statementNameAssigned != null) {
+                statementName = statementNameAssigned;
+            }
+        }
+        return statementName.trim();
+    }
+
+    private static StatementInitPrepared prepareStatement(boolean recovery, StatementProvider statementProvider, String statementName, String deploymentId, int statementId, EventTypeResolver eventTypeResolver, ModuleIncidentals moduleIncidentals, ClassLoader moduleClassLoader, EPServicesContext services) {
         StatementInformationalsRuntime informationals = statementProvider.getInformationals();
 
         // set instrumentation unless already provided
@@ -121,16 +186,6 @@ public class DeployerHelperInitStatement {
         boolean contextPartitioned = informationals.getOptionalContextName() != null;
         StatementResourceService statementResourceService = new StatementResourceService(contextPartitioned);
 
-        // determine statement name
-        String statementName = informationals.getStatementNameCompileTime();
-        if (statementNameResolverRuntime != null) {
-            String statementNameAssigned = statementNameResolverRuntime.getStatementName(new StatementNameRuntimeContext(deploymentId, statementName, statementId, (String) informationals.getProperties().get(StatementProperty.EPL), informationals.getAnnotations()));
-            if (statementNameAssigned != null) {
-                statementName = statementNameAssigned;
-            }
-        }
-        statementName = statementName.trim();
-
         EPStatementInitServicesImpl epInitServices = new EPStatementInitServicesImpl(statementName, informationals.getProperties(), informationals.getAnnotations(), deploymentId,
             eventTypeResolver, filterSpecActivatableRegistry, filterSharedBoolExprRegistery, filterSharedLookupableRegistery, moduleIncidentals,
             recovery, statementResourceService, statementResultService, services);
@@ -148,6 +203,18 @@ public class DeployerHelperInitStatement {
             }
         }
 
+        return new StatementInitPrepared(statementProvider, statementName, deploymentId, statementId, statementResultService, filterSpecActivatables, statementResourceService, epInitServices);
+    }
+
+    private static StatementLightweight completeStatement(StatementInitPrepared prepared, boolean recovery, String moduleName, ModuleIncidentals moduleIncidentals, StatementUserObjectRuntimeOption userObjectResolverRuntime, EPServicesContext services) {
+        StatementProvider statementProvider = prepared.statementProvider;
+        StatementInformationalsRuntime informationals = statementProvider.getInformationals();
+        String statementName = prepared.statementName;
+        String deploymentId = prepared.deploymentId;
+        int statementId = prepared.statementId;
+        StatementResultServiceImpl statementResultService = prepared.statementResultService;
+        boolean contextPartitioned = informationals.getOptionalContextName() != null;
+
         MultiMatchHandler multiMatchHandler = services.getMultiMatchHandlerFactory().make(informationals.isHasSubquery(), informationals.isNeedDedup());
 
         StatementMetricHandle stmtMetric = services.getMetricReportingService().getStatementHandle(statementId, deploymentId, statementName);
@@ -180,7 +247,7 @@ public class DeployerHelperInitStatement {
             statementAgentInstanceRegistry = contextManager.allocateAgentInstanceResourceRegistry(registryRequirements);
         }
 
-        StatementCPCacheService statementCPCacheService = new StatementCPCacheService(contextPartitioned, statementResourceService, statementAgentInstanceRegistry);
+        StatementCPCacheService statementCPCacheService = new StatementCPCacheService(contextPartitioned, prepared.statementResourceService, statementAgentInstanceRegistry);
 
         EventType eventType = statementProvider.getStatementAIFactoryProvider().getFactory().getStatementEventType();
 
@@ -229,7 +296,7 @@ public class DeployerHelperInitStatement {
             userObjectRuntime,
             services.getStatementContextRuntimeServices(),
             statementHandle,
-            filterSpecActivatables,
+            prepared.filterSpecActivatables,
             patternSubexpressionPoolStmtSvc,
             rowRecogStatePoolStmtSvc,
             new ScheduleBucket(statementId),
@@ -243,7 +310,7 @@ public class DeployerHelperInitStatement {
             services.getInternalEventRouteDest()
         );
 
-        for (StatementReadyCallback readyCallback : epInitServices.getReadyCallbacks()) {
+        for (StatementReadyCallback readyCallback : prepared.epInitServices.getReadyCallbacks()) {
             readyCallback.ready(statementContext, moduleIncidentals, recovery);
         }
 
@@ -299,4 +366,26 @@ public class DeployerHelperInitStatement {
 
         return providedAllStmt;
     }
+
+    private static class StatementInitPrepared {
+        private final StatementProvider statementProvider;
+        private final String statementName;
+        private final String deploymentId;
+        private final int statementId;
+        private final StatementResultServiceImpl statementResultService;
+        private final Map<Integer, FilterSpecActivatable> filterSpecActivatables;
+        private final StatementResourceService statementResourceService;
+        private final EPStatementInitServicesImpl epInitServices;
+
+        StatementInitPrepared(StatementProvider statementProvider, String statementName, String deploymentId, int statementId, StatementResultServiceImpl statementResultService, Map<Integer, FilterSpecActivatable> filterSpecActivatables, StatementResourceService statementResourceService, EPStatementInitServicesImpl epInitServices) {
+            this.statementProvider = statementProvider;
+            this.statementName = statementName;
+            this.deploymentId = deploymentId;
+            this.statementId = statementId;
+            this.statementResultService = statementResultService;
+            this.filterSpecActivatables = filterSpecActivatables;
+            this.statementResourceService = statementResourceService;
+            this.epInitServices = epInitServices;
+        }
+    }
 }
@@ -26,6 +26,7 @@ import com.espertech.esper.common.internal.view.core.Viewable;
 import com.espertech.esper.runtime.client.EPDeployException;
 import com.espertech.esper.runtime.client.EPStatement;
 import com.espertech.esper.runtime.internal.kernel.statement.EPStatementFactoryArgs;
+import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceSPI;
 import com.espertech.esper.runtime.internal.kernel.statement.EPStatementSPI;
 import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
 import org.slf4j.Logger;
@@ -42,26 +43,34 @@ public class DeployerHelperStatement {
     static EPStatement[] deployStatements(int rolloutItemNumber, List<StatementLightweight> lightweights, boolean recovery, DeployerModulePaths modulePaths, ModuleProviderCLPair provider, String deploymentId, EPRuntimeSPI epRuntime) throws EPDeployException {
         EPStatement[] statements = new EPStatement[lightweights.size()];
         int count = 0;
-        for (StatementLightweight lightweight : lightweights) {
 
-            EPStatementSPI stmt;
-            try {
-                stmt = DeployerHelperStatement.deployStatement(recovery, lightweight, epRuntime);
-            } catch (Throwable t) {
+        // filters of all statements of the deployment get registered in bulk
+        FilterServiceSPI filterService = epRuntime.getServicesContext().getFilterService();
+        filterService.beginBulk();
+        try {
+            for (StatementLightweight lightweight : lightweights) {
+
+                EPStatementSPI stmt;
                 try {
-                    reverseDeployment(deploymentId, modulePaths.getDeploymentTypes(), lightweights, statements, provider, epRuntime.getServicesContext());
-                } catch (Throwable udex) {
-                    log.warn(udex.getMessage(), udex);
+                    stmt = DeployerHelperStatement.deployStatement(recovery, lightweight, epRuntime);
+                } catch (Throwable t) {
+                    try {
+                        reverseDeployment(deploymentId, modulePaths.getDeploymentTypes(), lightweights, statements, provider, epRuntime.getServicesContext());
+                    } catch (Throwable udex) {
+                        log.warn(udex.getMessage(), udex);
+                    }
+                    throw new EPDeployException("Failed to deploy: " + t.getMessage(), t, rolloutItemNumber);
                 }
-                throw new EPDeployException("Failed to deploy: " + t.getMessage(), t, rolloutItemNumber);
-            }
 
-            statements[count++] = stmt;
+                statements[count++] = stmt;
 
-            if (InstrumentationHelper.ENABLED) {
-                InstrumentationHelper.get().qaRuntimeManagementStmtStarted(epRuntime.getURI(), deploymentId, lightweight.getStatementContext().getStatementId(), stmt.getName(),
-                    (String) stmt.getProperty(StatementProperty.EPL), epRuntime.getEventService().getCurrentTime());
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().qaRuntimeManagementStmtStarted(epRuntime.getURI(), deploymentId, lightweight.getStatementContext().getStatementId(), stmt.getName(),
+                        (String) stmt.getProperty(StatementProperty.EPL), epRuntime.getEventService().getCurrentTime());
+                }
             }
+        } finally {
+            filterService.endBulk();
         }
         return statements;
     }
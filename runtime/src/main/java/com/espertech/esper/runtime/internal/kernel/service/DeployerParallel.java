@@ -0,0 +1,127 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.service;
+
+import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntimeThreading;
+import com.espertech.esper.runtime.internal.kernel.thread.EngineThreadFactory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+/**
+ * Temporary thread pool for the duration of a single deployment, used for loading classes and initializing statements.
+ */
+public class DeployerParallel {
+    private static final Logger log = LoggerFactory.getLogger(DeployerParallel.class);
+
+    private final ExecutorService executor;
+    private final int numThreads;
+
+    private DeployerParallel(ExecutorService executor, int numThreads) {
+        this.executor = executor;
+        this.numThreads = numThreads;
+    }
+
+    /**
+     * Returns a deployment pool or null when parallel deployment is not configured.
+     *
+     * @param services services
+     * @return pool or null
+     */
+    public static DeployerParallel make(EPServicesContext services) {
+        ConfigurationRuntimeThreading threading = services.getRuntimeSettingsService().getConfigurationRuntime().getThreading();
+        if (!threading.isThreadPoolDeployment() || threading.getThreadPoolDeploymentNumThreads() < 2) {
+            return null;
+        }
+        String name = "Deployment";
+        ThreadGroup threadGroup = new ThreadGroup("com.espertech.esper." + services.getRuntimeURI() + "-" + name);
+        ThreadFactory threadFactory = new EngineThreadFactory(services.getRuntimeURI(), name, threadGroup, Thread.NORM_PRIORITY);
+        int numThreads = threading.getThreadPoolDeploymentNumThreads();
+        return new DeployerParallel(Executors.newFixedThreadPool(numThreads, threadFactory), numThreads);
+    }
+
+    /**
+     * Loads, without initializing, the classes of a module. Classes that fail to load are skipped
+     * and reported when the deployment itself first uses them.
+     *
+     * @param classNames  class names
+     * @param classLoader module class loader
+     */
+    public void loadClasses(Iterable<String> classNames, ClassLoader classLoader) {
+        List<List<String>> partitions = new ArrayList<>(numThreads);
+        for (int i = 0; i < numThreads; i++) {
+            partitions.add(new ArrayList<>());
+        }
+        int count = 0;
+        for (String className : classNames) {
+            partitions.get(count++ % numThreads).add(className);
+        }
+
+        List<Callable<Object>> tasks = new ArrayList<>(numThreads);
+        for (List<String> partition : partitions) {
+            if (partition.isEmpty()) {
+                continue;
+            }
+            tasks.add(() -> {
+                for (String className : partition) {
+                    try {
+                        Class.forName(className, false, classLoader);
+                    } catch (Throwable t) {
+                        if (log.isDebugEnabled()) {
+                            log.debug("Failed to load class '" + className + "' in advance: " + t.getMessage());
+                        }
+                    }
+                }
+                return null;
+            });
+        }
+        try {
+            invokeAll(tasks);
+        } catch (Throwable t) {
+            log.debug("Failed to load classes in advance: " + t.getMessage(), t);
+        }
+    }
+
+    /**
+     * Executes the tasks, waits for all to complete and returns the results in task order.
+     * Rethrows the exception of the first failed task in task order.
+     *
+     * @param tasks tasks
+     * @param <T>   result type
+     * @return results
+     * @throws Throwable when a task failed
+     */
+    public <T> List<T> invokeAll(List<Callable<T>> tasks) throws Throwable {
+        List<Future<T>> futures;
+        try {
+            futures = executor.invokeAll(tasks);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw ex;
+        }
+        List<T> results = new ArrayList<>(futures.size());
+        for (Future<T> future : futures) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException ex) {
+                throw ex.getCause();
+            }
+        }
+        return results;
+    }
+
+    public void destroy() {
+        executor.shutdownNow();
+    }
+}
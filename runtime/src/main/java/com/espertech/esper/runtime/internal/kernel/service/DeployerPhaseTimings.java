@@ -0,0 +1,77 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.service;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Elapsed time of the phases of a deployment.
+ */
+public class DeployerPhaseTimings {
+    public enum Phase {
+        RESOLVE("resolve"),
+        LOAD_CLASSES("load-classes"),
+        INIT_EPL_OBJECTS("init-epl-objects"),
+        INIT_STATEMENTS("init-statements"),
+        START_STATEMENTS("start-statements"),
+        REGISTER("register");
+
+        private final String name;
+
+        Phase(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return name;
+        }
+    }
+
+    private final long[] nanos = new long[Phase.values().length];
+    private final long start;
+    private long last;
+
+    public DeployerPhaseTimings() {
+        start = System.nanoTime();
+        last = start;
+    }
+
+    /**
+     * Attributes the time elapsed since the previous phase completed to the given phase.
+     *
+     * @param phase completed phase
+     */
+    public void completed(Phase phase) {
+        long now = System.nanoTime();
+        nanos[phase.ordinal()] += now - last;
+        last = now;
+    }
+
+    public long getNanos(Phase phase) {
+        return nanos[phase.ordinal()];
+    }
+
+    public long getTotalNanos() {
+        return last - start;
+    }
+
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        builder.append("total ").append(TimeUnit.NANOSECONDS.toMillis(getTotalNanos())).append("ms (");
+        String delimiter = "";
+        for (Phase phase : Phase.values()) {
+            builder.append(delimiter).append(phase.getName()).append(' ').append(TimeUnit.NANOSECONDS.toMillis(nanos[phase.ordinal()])).append("ms");
+            delimiter = ", ";
+        }
+        builder.append(")");
+        return builder.toString();
+    }
+}
@@ -116,7 +116,11 @@ public class EPDeploymentServiceImpl implements EPDeploymentServiceSPI {
             }
 
             String deploymentId = DeployerHelperResolver.determineDeploymentIdCheckExists(-1, options, runtime.getServicesContext().getDeploymentLifecycleService());
-            deployerResult = Deployer.deployFresh(deploymentId, currentStatementId, compiled, options.getStatementNameRuntime(), options.getStatementUserObjectRuntime(), options.getStatementSubstitutionParameter(), options.getDeploymentClassLoaderOption(), runtime);
+            DeployerPhaseTimings timings = new DeployerPhaseTimings();
+            deployerResult = Deployer.deployFresh(deploymentId, currentStatementId, compiled, options.getStatementNameRuntime(), options.getStatementUserObjectRuntime(), options.getStatementSubstitutionParameter(), options.getDeploymentClassLoaderOption(), runtime, timings);
+            if (log.isDebugEnabled()) {
+                log.debug("Deployed deployment id '" + deploymentId + "' module '" + deployerResult.getModuleProvider().getModuleName() + "' with " + deployerResult.getStatements().length + " statements, " + timings);
+            }
             statementIdRecovery.setCurrentStatementId(currentStatementId + deployerResult.getStatements().length);
 
             // dispatch event
@@ -34,6 +34,7 @@ import com.espertech.esper.common.internal.filtersvc.FilterHandle;
 import com.espertech.esper.common.internal.filtersvc.FilterHandleCallback;
 import com.espertech.esper.common.internal.schedule.ScheduleHandle;
 import com.espertech.esper.common.internal.schedule.ScheduleHandleCallback;
+import com.espertech.esper.common.internal.statement.dispatch.Dispatchable;
 import com.espertech.esper.common.internal.statement.insertintolatch.InsertIntoLatchSpin;
 import com.espertech.esper.common.internal.statement.insertintolatch.InsertIntoLatchWait;
 import com.espertech.esper.common.internal.util.DeploymentIdNamePair;
@@ -54,6 +55,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Node;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicLong;
@@ -64,7 +66,7 @@ import static com.espertech.esper.runtime.internal.kernel.service.EPEventService
  * Implements runtime interface. Also accepts timer callbacks for synchronizing time events with regular events
  * sent in.
  */
-public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRouteDest, TimerCallback, EPRuntimeEventProcessWrapped {
+public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRouteDest, RouteUnitProcessor, TimerCallback, EPRuntimeEventProcessWrapped {
     protected static final Logger log = LoggerFactory.getLogger(EPEventServiceImpl.class);
     public static final int MAX_FILTER_FAULT_COUNT = 10;
 
@@ -145,7 +147,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
 
         if (inboundThreading) {
-            services.getThreadingService().submitInbound(new InboundUnitSendAvro(avroGenericDataDotRecord, avroEventTypeName, this, services));
+            services.getThreadingService().submitInbound(InboundUnitKind.AVRO, avroGenericDataDotRecord, avroEventTypeName, this, services);
         } else {
             EventBean eventBean = wrapEventAvro(avroGenericDataDotRecord, avroEventTypeName);
             processWrappedEvent(eventBean);
@@ -162,13 +164,44 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
 
         if (inboundThreading) {
-            services.getThreadingService().submitInbound(new InboundUnitSendJson(json, jsonEventTypeName, this, services));
+            services.getThreadingService().submitInbound(InboundUnitKind.JSON, json, jsonEventTypeName, this, services);
         } else {
             EventBean eventBean = wrapEventJson(json, jsonEventTypeName);
             processWrappedEvent(eventBean);
         }
     }
 
+    public void sendEventJson(byte[] json, int offset, int length, String jsonEventTypeName) {
+        if (json == null) {
+            throw new IllegalArgumentException("Invalid null event object");
+        }
+
+        if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+            log.debug(".sendEventJson Processing event of " + length + " bytes");
+        }
+
+        // parse on the sending thread as the caller may reuse the bytes
+        EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForJson(json, offset, length, jsonEventTypeName);
+        if (inboundThreading) {
+            services.getThreadingService().submitInbound(eventBean, this);
+        } else {
+            processWrappedEvent(eventBean);
+        }
+    }
+
+    public void sendEventJson(ByteBuffer json, String jsonEventTypeName) {
+        if (json == null) {
+            throw new IllegalArgumentException("Invalid null event object");
+        }
+        if (json.hasArray()) {
+            sendEventJson(json.array(), json.arrayOffset() + json.position(), json.remaining(), jsonEventTypeName);
+        } else {
+            byte[] bytes = new byte[json.remaining()];
+            json.duplicate().get(bytes);
+            sendEventJson(bytes, 0, bytes.length, jsonEventTypeName);
+        }
+    }
+
     public void sendEventBean(Object theEvent, String eventTypeName) {
         if (theEvent == null) {
             log.error(".sendEvent Null object supplied");
@@ -180,7 +213,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
 
         if (inboundThreading) {
-            services.getThreadingService().submitInbound(new InboundUnitSendEvent(theEvent, eventTypeName, this, services));
+            services.getThreadingService().submitInbound(InboundUnitKind.BEAN, theEvent, eventTypeName, this, services);
         } else {
             EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForBean(theEvent, eventTypeName);
             processWrappedEvent(eventBean);
@@ -272,7 +305,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
 
         // Process event
         if (inboundThreading) {
-            services.getThreadingService().submitInbound(new InboundUnitSendDOM(node, eventTypeName, this, services));
+            services.getThreadingService().submitInbound(InboundUnitKind.DOM, node, eventTypeName, this, services);
         } else {
             EventBean eventBean = wrapEventBeanXMLDOM(node, eventTypeName);
             processWrappedEvent(eventBean);
@@ -289,7 +322,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
 
         if (inboundThreading) {
-            services.getThreadingService().submitInbound(new InboundUnitSendObjectArray(propertyValues, eventTypeName, this, services));
+            services.getThreadingService().submitInbound(InboundUnitKind.OBJECTARRAY, propertyValues, eventTypeName, this, services);
         } else {
             EventBean eventBean = wrapEventObjectArray(propertyValues, eventTypeName);
             processWrappedEvent(eventBean);
@@ -306,13 +339,69 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
 
         if (inboundThreading) {
-            services.getThreadingService().submitInbound(new InboundUnitSendMap(map, mapEventTypeName, this, services));
+            services.getThreadingService().submitInbound(InboundUnitKind.MAP, map, mapEventTypeName, this, services);
         } else {
             EventBean eventBean = wrapEventMap(map, mapEventTypeName);
             processWrappedEvent(eventBean);
         }
     }
 
+    public void sendEventsObjectArray(Collection<Object[]> events, String eventTypeName) throws EPException {
+        if (events == null) {
+            throw new IllegalArgumentException("Invalid null event collection");
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+            log.debug(".sendEventsObjectArray Processing " + events.size() + " events");
+        }
+
+        EventBean[] eventBeans = services.getEventTypeResolvingBeanFactory().adaptersForObjectArray(events, eventTypeName);
+        sendWrappedEvents(eventBeans);
+    }
+
+    public void sendEventsBean(Collection<?> events, String eventTypeName) {
+        if (events == null) {
+            throw new IllegalArgumentException("Invalid null event collection");
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+            log.debug(".sendEventsBean Processing " + events.size() + " events");
+        }
+
+        EventBean[] eventBeans = services.getEventTypeResolvingBeanFactory().adaptersForBean(events, eventTypeName);
+        sendWrappedEvents(eventBeans);
+    }
+
+    public void sendEventsMap(Collection<Map<String, Object>> events, String eventTypeName) throws EPException {
+        if (events == null) {
+            throw new IllegalArgumentException("Invalid null event collection");
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+            log.debug(".sendEventsMap Processing " + events.size() + " events");
+        }
+
+        EventBean[] eventBeans = services.getEventTypeResolvingBeanFactory().adaptersForMap(events, eventTypeName);
+        sendWrappedEvents(eventBeans);
+    }
+
+    private void sendWrappedEvents(EventBean[] eventBeans) {
+        if (inboundThreading) {
+            services.getThreadingService().submitInbound(InboundUnitKind.WRAPPEDBATCH, eventBeans, null, this, services);
+        } else {
+            processWrappedEvents(eventBeans);
+        }
+    }
+
     public void routeEventBean(EventBean theEvent) {
         threadLocals.get().getDualWorkQueue().getBackQueue().addLast(theEvent);
     }
@@ -351,11 +440,74 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
     }
 
     public void processWrappedEvent(EventBean eventBean) {
+        processWrappedEventInternal(eventBean, threadLocals.get());
+    }
+
+    public void processWrappedEvents(EventBean[] eventBeans) {
+        // Resolve the thread-local processing state once for the batch and hold the read lock across events,
+        // releasing it only when listeners, insert-into or named window consumers have work, as these run outside of the lock
+        EPEventServiceThreadLocalEntry tlEntry = threadLocals.get();
+        DualWorkQueue<Object> queues = tlEntry.getDualWorkQueue();
+        ArrayDeque<Dispatchable> dispatchQueue = services.getDispatchService().getDispatchStateThreadLocal().get();
+        boolean locked = false;
+        try {
+            for (EventBean event : eventBeans) {
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().qStimulantEvent(event, services.getRuntimeURI());
+                }
+
+                EventBean eventBean = event;
+                if (internalEventRouter.isHasPreprocessing()) {
+                    eventBean = internalEventRouter.preprocess(eventBean, tlEntry.getExprEvaluatorContext(), InstrumentationHelper.get());
+                    if (eventBean == null) {
+                        if (InstrumentationHelper.ENABLED) {
+                            InstrumentationHelper.get().aStimulantEvent();
+                        }
+                        continue;
+                    }
+                }
+
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().qEvent(eventBean, services.getRuntimeURI(), true);
+                }
+                if (!locked) {
+                    services.getEventProcessingRWLock().acquireReadLock();
+                    locked = true;
+                }
+                try {
+                    processMatches(eventBean, tlEntry);
+                } catch (RuntimeException ex) {
+                    tlEntry.getMatchesArrayThreadLocal().clear();
+                    throw new EPException(ex);
+                } finally {
+                    if (InstrumentationHelper.ENABLED) {
+                        InstrumentationHelper.get().aEvent();
+                    }
+                }
+
+                if (!dispatchQueue.isEmpty() || !queues.getFrontQueue().isEmpty() || !queues.getBackQueue().isEmpty() || services.getNamedWindowDispatchService().isDispatchPending()) {
+                    services.getEventProcessingRWLock().releaseReadLock();
+                    locked = false;
+                    dispatch();
+                    processThreadWorkQueue(tlEntry);
+                }
+
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().aStimulantEvent();
+                }
+            }
+        } finally {
+            if (locked) {
+                services.getEventProcessingRWLock().releaseReadLock();
+            }
+        }
+    }
+
+    private void processWrappedEventInternal(EventBean eventBean, EPEventServiceThreadLocalEntry tlEntry) {
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().qStimulantEvent(eventBean, services.getRuntimeURI());
         }
 
-        EPEventServiceThreadLocalEntry tlEntry = threadLocals.get();
         if (internalEventRouter.isHasPreprocessing()) {
             eventBean = internalEventRouter.preprocess(eventBean, tlEntry.getExprEvaluatorContext(), InstrumentationHelper.get());
             if (eventBean == null) {
@@ -369,7 +521,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
         services.getEventProcessingRWLock().acquireReadLock();
         try {
-            processMatches(eventBean);
+            processMatches(eventBean, tlEntry);
         } catch (RuntimeException ex) {
             tlEntry.getMatchesArrayThreadLocal().clear();
             throw new EPException(ex);
@@ -385,7 +537,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         dispatch();
 
         // Work off the event queue if any events accumulated in there via a route() or insert-into
-        processThreadWorkQueue();
+        processThreadWorkQueue(tlEntry);
 
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().aStimulantEvent();
@@ -396,7 +548,11 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
      * Works off the thread's work queue.
      */
     public void processThreadWorkQueue() {
-        DualWorkQueue queues = threadLocals.get().getDualWorkQueue();
+        processThreadWorkQueue(threadLocals.get());
+    }
+
+    private void processThreadWorkQueue(EPEventServiceThreadLocalEntry tlEntry) {
+        DualWorkQueue queues = tlEntry.getDualWorkQueue();
 
         if (queues.getFrontQueue().isEmpty()) {
             boolean haveDispatched = services.getNamedWindowDispatchService().dispatch();
@@ -405,21 +561,21 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
                 dispatch();
 
                 if (!queues.getFrontQueue().isEmpty()) {
-                    processThreadWorkQueueFront(queues);
+                    processThreadWorkQueueFront(queues, tlEntry);
                 }
             }
         } else {
-            processThreadWorkQueueFront(queues);
+            processThreadWorkQueueFront(queues, tlEntry);
         }
 
         Object item;
         while ((item = queues.getBackQueue().poll()) != null) {
             if (item instanceof InsertIntoLatchSpin) {
-                processThreadWorkQueueLatchedSpin((InsertIntoLatchSpin) item);
+                processThreadWorkQueueLatchedSpin((InsertIntoLatchSpin) item, tlEntry);
             } else if (item instanceof InsertIntoLatchWait) {
-                processThreadWorkQueueLatchedWait((InsertIntoLatchWait) item);
+                processThreadWorkQueueLatchedWait((InsertIntoLatchWait) item, tlEntry);
             } else {
-                processThreadWorkQueueUnlatched(item);
+                processThreadWorkQueueUnlatched(item, tlEntry);
             }
 
             boolean haveDispatched = services.getNamedWindowDispatchService().dispatch();
@@ -428,20 +584,20 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
             }
 
             if (!queues.getFrontQueue().isEmpty()) {
-                processThreadWorkQueueFront(queues);
+                processThreadWorkQueueFront(queues, tlEntry);
             }
         }
     }
 
-    private void processThreadWorkQueueFront(DualWorkQueue queues) {
+    private void processThreadWorkQueueFront(DualWorkQueue queues, EPEventServiceThreadLocalEntry tlEntry) {
         Object item;
         while ((item = queues.getFrontQueue().poll()) != null) {
             if (item instanceof InsertIntoLatchSpin) {
-                processThreadWorkQueueLatchedSpin((InsertIntoLatchSpin) item);
+                processThreadWorkQueueLatchedSpin((InsertIntoLatchSpin) item, tlEntry);
             } else if (item instanceof InsertIntoLatchWait) {
-                processThreadWorkQueueLatchedWait((InsertIntoLatchWait) item);
+                processThreadWorkQueueLatchedWait((InsertIntoLatchWait) item, tlEntry);
             } else {
-                processThreadWorkQueueUnlatched(item);
+                processThreadWorkQueueUnlatched(item, tlEntry);
             }
 
             boolean haveDispatched = services.getNamedWindowDispatchService().dispatch();
@@ -451,7 +607,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
     }
 
-    private void processThreadWorkQueueLatchedWait(InsertIntoLatchWait insertIntoLatch) {
+    private void processThreadWorkQueueLatchedWait(InsertIntoLatchWait insertIntoLatch, EPEventServiceThreadLocalEntry tlEntry) {
         // wait for the latch to complete
         EventBean eventBean = insertIntoLatch.await();
 
@@ -460,9 +616,9 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
         services.getEventProcessingRWLock().acquireReadLock();
         try {
-            processMatches(eventBean);
+            processMatches(eventBean, tlEntry);
         } catch (RuntimeException ex) {
-            threadLocals.get().getMatchesArrayThreadLocal().clear();
+            tlEntry.getMatchesArrayThreadLocal().clear();
             throw ex;
         } finally {
             insertIntoLatch.done();
@@ -475,7 +631,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         dispatch();
     }
 
-    private void processThreadWorkQueueLatchedSpin(InsertIntoLatchSpin insertIntoLatch) {
+    private void processThreadWorkQueueLatchedSpin(InsertIntoLatchSpin insertIntoLatch, EPEventServiceThreadLocalEntry tlEntry) {
         // wait for the latch to complete
         EventBean eventBean = insertIntoLatch.await();
 
@@ -484,9 +640,9 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
         services.getEventProcessingRWLock().acquireReadLock();
         try {
-            processMatches(eventBean);
+            processMatches(eventBean, tlEntry);
         } catch (RuntimeException ex) {
-            threadLocals.get().getMatchesArrayThreadLocal().clear();
+            tlEntry.getMatchesArrayThreadLocal().clear();
             throw ex;
         } finally {
             insertIntoLatch.done();
@@ -499,7 +655,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         dispatch();
     }
 
-    private void processThreadWorkQueueUnlatched(Object item) {
+    private void processThreadWorkQueueUnlatched(Object item, EPEventServiceThreadLocalEntry tlEntry) {
         EventBean eventBean;
         if (item instanceof EventBean) {
             eventBean = (EventBean) item;
@@ -512,9 +668,9 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
         }
         services.getEventProcessingRWLock().acquireReadLock();
         try {
-            processMatches(eventBean);
+            processMatches(eventBean, tlEntry);
         } catch (RuntimeException ex) {
-            threadLocals.get().getMatchesArrayThreadLocal().clear();
+            tlEntry.getMatchesArrayThreadLocal().clear();
             throw ex;
         } finally {
             services.getEventProcessingRWLock().releaseReadLock();
@@ -527,8 +683,11 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
     }
 
     protected void processMatches(EventBean theEvent) {
+        processMatches(theEvent, threadLocals.get());
+    }
+
+    private void processMatches(EventBean theEvent, EPEventServiceThreadLocalEntry tlEntry) {
         // get matching filters
-        EPEventServiceThreadLocalEntry tlEntry = threadLocals.get();
         ArrayBackedCollection<FilterHandle> matches = tlEntry.getMatchesArrayThreadLocal();
         ExprEvaluatorContext ctx = tlEntry.getExprEvaluatorContext();
         long version = services.getFilterService().evaluate(theEvent, matches, ctx);
@@ -591,7 +750,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
                 services.getMetricReportingService().accountTime(handle.getStatementHandle().getMetricsHandle(), deltaCPU, deltaWall, 1);
             } else {
                 if (routeThreading) {
-                    services.getThreadingService().submitRoute(new RouteUnitSingle(this, handleCallback, theEvent, version));
+                    services.getThreadingService().submitRouteSingle(this, handleCallback, theEvent, version);
                 } else {
                     processStatementFilterSingle(handle, handleCallback, theEvent, version, 0);
                 }
@@ -623,7 +782,7 @@ public class EPEventServiceImpl implements EPEventServiceSPI, InternalEventRoute
                 services.getMetricReportingService().accountTime(handle.getStatementHandle().getMetricsHandle(), deltaCPU, deltaWall, size);
             } else {
                 if (routeThreading) {
-                    services.getThreadingService().submitRoute(new RouteUnitMultiple(this, callbackList, theEvent, handle, version));
+                    services.getThreadingService().submitRouteMultiple(this, callbackList, theEvent, handle, version);
                 } else {
                     processStatementFilterMultiple(handle, callbackList, theEvent, version, 0);
                 }
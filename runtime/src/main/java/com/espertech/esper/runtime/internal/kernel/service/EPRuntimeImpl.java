@@ -17,6 +17,7 @@ import com.espertech.esper.common.client.configuration.Configuration;
 import com.espertech.esper.common.client.configuration.ConfigurationException;
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommonEventTypeAvro;
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommonVariable;
+import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntimeMetricsReporting;
 import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntimePluginLoader;
 import com.espertech.esper.common.client.context.EPContextPartitionService;
 import com.espertech.esper.common.client.dataflow.core.EPDataFlowService;
@@ -496,12 +497,24 @@ public class EPRuntimeImpl implements EPRuntimeSPI {
         CommonJMXUtil.registerMbean(services.getSchedulingService(), scheduleName);
         MetricName runtimeName = MetricNameFactory.name(services.getRuntimeURI(), "runtime");
         CommonJMXUtil.registerMbean(runtime, runtimeName);
+        if (isStatementLatencyMetrics()) {
+            MetricName latencyName = MetricNameFactory.name(services.getRuntimeURI(), "statementlatency");
+            CommonJMXUtil.registerMbean(services.getMetricReportingService(), latencyName);
+        }
     }
 
     private synchronized void destroyEngineMetrics(String runtimeURI) {
         CommonJMXUtil.unregisterMbean(MetricNameFactory.name(runtimeURI, "filter"));
         CommonJMXUtil.unregisterMbean(MetricNameFactory.name(runtimeURI, "schedule"));
         CommonJMXUtil.unregisterMbean(MetricNameFactory.name(runtimeURI, "runtime"));
+        if (isStatementLatencyMetrics()) {
+            CommonJMXUtil.unregisterMbean(MetricNameFactory.name(runtimeURI, "statementlatency"));
+        }
+    }
+
+    private boolean isStatementLatencyMetrics() {
+        ConfigurationRuntimeMetricsReporting metricsReporting = configLastProvided.getRuntime().getMetricsReporting();
+        return metricsReporting.isEnableMetricsReporting() && metricsReporting.isEnableLatencyHistogram();
     }
 
     /**
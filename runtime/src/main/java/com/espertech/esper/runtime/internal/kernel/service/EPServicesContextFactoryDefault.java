@@ -13,6 +13,7 @@ package com.espertech.esper.runtime.internal.kernel.service;
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.configuration.Configuration;
 import com.espertech.esper.common.client.configuration.common.ConfigurationCommonEventTypeMeta;
+import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntimeExecution;
 import com.espertech.esper.common.internal.collection.PathRegistry;
 import com.espertech.esper.common.internal.context.activator.ViewableActivatorFactory;
 import com.espertech.esper.common.internal.context.activator.ViewableActivatorFactoryImpl;
@@ -70,7 +71,7 @@ import com.espertech.esper.runtime.internal.deploymentlifesvc.DeploymentLifecycl
 import com.espertech.esper.runtime.internal.deploymentlifesvc.DeploymentRecoveryServiceImpl;
 import com.espertech.esper.runtime.internal.deploymentlifesvc.ListenerRecoveryServiceImpl;
 import com.espertech.esper.runtime.internal.deploymentlifesvc.StatementIdRecoveryServiceImpl;
-import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceLockCoarse;
+import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceFactory;
 import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceSPI;
 import com.espertech.esper.runtime.internal.kernel.stage.StageRecoveryService;
 import com.espertech.esper.runtime.internal.kernel.stage.StageRecoveryServiceImpl;
@@ -79,7 +80,7 @@ import com.espertech.esper.runtime.internal.kernel.statement.EPStatementFactoryD
 import com.espertech.esper.runtime.internal.kernel.thread.ThreadingService;
 import com.espertech.esper.runtime.internal.kernel.thread.ThreadingServiceImpl;
 import com.espertech.esper.runtime.internal.namedwindow.NamedWindowDispatchServiceImpl;
-import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceImpl;
+import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceFactory;
 import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceSPI;
 import com.espertech.esper.runtime.internal.statementlifesvc.StatementLifecycleServiceImpl;
 
@@ -101,7 +102,8 @@ public class EPServicesContextFactoryDefault extends EPServicesContextFactoryBas
     }
 
     protected FilterServiceSPI makeFilterService(RuntimeExtensionServices runtimeExt, EventTypeRepository eventTypeRepository, StatementLifecycleServiceImpl statementLifecycleService, RuntimeSettingsService runtimeSettingsService, EventTypeIdResolver eventTypeIdResolver, FilterSharedLookupableRepository filterSharedLookupableRepository) {
-        return new FilterServiceLockCoarse(-1);
+        ConfigurationRuntimeExecution execution = runtimeSettingsService.getConfigurationRuntime().getExecution();
+        return FilterServiceFactory.make(execution.getFilterServiceProfile(), execution.isFilterServiceCompiled(), -1);
     }
 
     public EPEventServiceImpl createEPRuntime(EPServicesContext services, AtomicBoolean serviceStatusProvider) {
@@ -137,7 +139,7 @@ public class EPServicesContextFactoryDefault extends EPServicesContextFactoryBas
     }
 
     protected SchedulingServiceSPI makeSchedulingService(EPServicesHA epServicesHA, TimeSourceService timeSourceService, RuntimeExtensionServices runtimeExt, RuntimeSettingsService runtimeSettingsService, StatementContextResolver statementContextResolver, ZoneId zoneId) {
-        return new SchedulingServiceImpl(-1, timeSourceService, zoneId);
+        return SchedulingServiceFactory.make(runtimeSettingsService.getConfigurationRuntime().getExecution().getSchedulingServiceProfile(), -1, timeSourceService, zoneId);
     }
 
     protected FilterBooleanExpressionFactory makeFilterBooleanExpressionFactory(StatementLifecycleServiceImpl statementLifecycleService) {
@@ -10,6 +10,7 @@
  */
 package com.espertech.esper.runtime.internal.kernel.service;
 
+import com.espertech.esper.common.internal.context.mgr.ContextManagementService;
 import com.espertech.esper.common.internal.context.util.InternalEventRouteDest;
 import com.espertech.esper.common.internal.epl.table.core.TableExprEvaluatorContext;
 import com.espertech.esper.common.internal.epl.variable.core.VariableManagementService;
@@ -38,4 +39,6 @@ public interface EPServicesEvaluation {
     InternalEventRouteDest getInternalEventRouteDest();
 
     EventTypeResolvingBeanFactory getEventTypeResolvingBeanFactory();
+
+    ContextManagementService getContextManagementService();
 }
@@ -24,7 +24,6 @@ import com.espertech.esper.runtime.client.EPSubscriberException;
 import com.espertech.esper.runtime.client.UpdateListener;
 import com.espertech.esper.runtime.internal.kernel.statement.EPStatementListenerSet;
 import com.espertech.esper.runtime.internal.kernel.statement.EPStatementSPI;
-import com.espertech.esper.runtime.internal.kernel.thread.OutboundUnitRunnable;
 import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
 import com.espertech.esper.runtime.internal.subscriber.ResultDeliveryStrategy;
 import com.espertech.esper.runtime.internal.subscriber.ResultDeliveryStrategyFactory;
@@ -177,7 +176,7 @@ public class StatementResultServiceImpl implements StatementResultService {
         }
 
         if (outboundThreading) {
-            epServicesContext.getThreadingService().submitOutbound(new OutboundUnitRunnable(events, this));
+            epServicesContext.getThreadingService().submitOutbound(events, this);
         } else {
             processDispatch(events);
         }
@@ -33,6 +33,7 @@ import com.espertech.esper.common.internal.filtersvc.FilterHandle;
 import com.espertech.esper.common.internal.filtersvc.FilterHandleCallback;
 import com.espertech.esper.common.internal.schedule.ScheduleHandle;
 import com.espertech.esper.common.internal.schedule.ScheduleHandleCallback;
+import com.espertech.esper.common.internal.statement.dispatch.Dispatchable;
 import com.espertech.esper.common.internal.statement.insertintolatch.InsertIntoLatchSpin;
 import com.espertech.esper.common.internal.statement.insertintolatch.InsertIntoLatchWait;
 import com.espertech.esper.common.internal.util.DeploymentIdNamePair;
@@ -54,13 +55,14 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.w3c.dom.Node;
 
+import java.nio.ByteBuffer;
 import java.util.*;
 import java.util.concurrent.atomic.AtomicLong;
 
 import static com.espertech.esper.runtime.internal.kernel.service.EPEventServiceHelper.*;
 import static com.espertech.esper.runtime.internal.kernel.service.EPEventServiceImpl.MAX_FILTER_FAULT_COUNT;
 
-public class EPStageEventServiceImpl implements EPStageEventServiceSPI, InternalEventRouteDest, EPRuntimeEventProcessWrapped {
+public class EPStageEventServiceImpl implements EPStageEventServiceSPI, InternalEventRouteDest, RouteUnitProcessor, EPRuntimeEventProcessWrapped {
     protected static final Logger log = LoggerFactory.getLogger(EPStageEventServiceImpl.class);
 
     protected StageSpecificServices specificServices;
@@ -130,7 +132,7 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         }
 
         if (inboundThreading) {
-            specificServices.getThreadingService().submitInbound(new InboundUnitSendAvro(avroGenericDataDotRecord, avroEventTypeName, this, specificServices));
+            specificServices.getThreadingService().submitInbound(InboundUnitKind.AVRO, avroGenericDataDotRecord, avroEventTypeName, this, specificServices);
         } else {
             EventBean eventBean = wrapEventAvro(avroGenericDataDotRecord, avroEventTypeName);
             processWrappedEvent(eventBean);
@@ -147,13 +149,44 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         }
 
         if (inboundThreading) {
-            specificServices.getThreadingService().submitInbound(new InboundUnitSendJson(json, jsonEventTypeName, this, specificServices));
+            specificServices.getThreadingService().submitInbound(InboundUnitKind.JSON, json, jsonEventTypeName, this, specificServices);
         } else {
             EventBean eventBean = wrapEventJson(json, jsonEventTypeName);
             processWrappedEvent(eventBean);
         }
     }
 
+    public void sendEventJson(byte[] json, int offset, int length, String jsonEventTypeName) {
+        if (json == null) {
+            throw new IllegalArgumentException("Invalid null event object");
+        }
+
+        if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+            log.debug(".sendEventJson Processing event of " + length + " bytes");
+        }
+
+        // parse on the sending thread as the caller may reuse the bytes
+        EventBean eventBean = runtimeServices.getEventTypeResolvingBeanFactory().adapterForJson(json, offset, length, jsonEventTypeName);
+        if (inboundThreading) {
+            specificServices.getThreadingService().submitInbound(eventBean, this);
+        } else {
+            processWrappedEvent(eventBean);
+        }
+    }
+
+    public void sendEventJson(ByteBuffer json, String jsonEventTypeName) {
+        if (json == null) {
+            throw new IllegalArgumentException("Invalid null event object");
+        }
+        if (json.hasArray()) {
+            sendEventJson(json.array(), json.arrayOffset() + json.position(), json.remaining(), jsonEventTypeName);
+        } else {
+            byte[] bytes = new byte[json.remaining()];
+            json.duplicate().get(bytes);
+            sendEventJson(bytes, 0, bytes.length, jsonEventTypeName);
+        }
+    }
+
     public void sendEventBean(Object theEvent, String eventTypeName) {
         if (theEvent == null) {
             log.error(".sendEvent Null object supplied");
@@ -165,7 +198,7 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         }
 
         if (inboundThreading) {
-            specificServices.getThreadingService().submitInbound(new InboundUnitSendEvent(theEvent, eventTypeName, this, specificServices));
+            specificServices.getThreadingService().submitInbound(InboundUnitKind.BEAN, theEvent, eventTypeName, this, specificServices);
         } else {
             EventBean eventBean = runtimeServices.getEventTypeResolvingBeanFactory().adapterForBean(theEvent, eventTypeName);
             processWrappedEvent(eventBean);
@@ -257,7 +290,7 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
 
         // Process event
         if (inboundThreading) {
-            specificServices.getThreadingService().submitInbound(new InboundUnitSendDOM(node, eventTypeName, this, specificServices));
+            specificServices.getThreadingService().submitInbound(InboundUnitKind.DOM, node, eventTypeName, this, specificServices);
         } else {
             EventBean eventBean = wrapEventBeanXMLDOM(node, eventTypeName);
             processWrappedEvent(eventBean);
@@ -274,7 +307,7 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         }
 
         if (inboundThreading) {
-            specificServices.getThreadingService().submitInbound(new InboundUnitSendObjectArray(propertyValues, eventTypeName, this, specificServices));
+            specificServices.getThreadingService().submitInbound(InboundUnitKind.OBJECTARRAY, propertyValues, eventTypeName, this, specificServices);
         } else {
             EventBean eventBean = wrapEventObjectArray(propertyValues, eventTypeName);
             processWrappedEvent(eventBean);
@@ -291,13 +324,69 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         }
 
         if (inboundThreading) {
-            specificServices.getThreadingService().submitInbound(new InboundUnitSendMap(map, mapEventTypeName, this, specificServices));
+            specificServices.getThreadingService().submitInbound(InboundUnitKind.MAP, map, mapEventTypeName, this, specificServices);
         } else {
             EventBean eventBean = wrapEventMap(map, mapEventTypeName);
             processWrappedEvent(eventBean);
         }
     }
 
+    public void sendEventsObjectArray(Collection<Object[]> events, String eventTypeName) throws EPException {
+        if (events == null) {
+            throw new IllegalArgumentException("Invalid null event collection");
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+            log.debug(".sendEventsObjectArray Processing " + events.size() + " events");
+        }
+
+        EventBean[] eventBeans = runtimeServices.getEventTypeResolvingBeanFactory().adaptersForObjectArray(events, eventTypeName);
+        sendWrappedEvents(eventBeans);
+    }
+
+    public void sendEventsBean(Collection<?> events, String eventTypeName) {
+        if (events == null) {
+            throw new IllegalArgumentException("Invalid null event collection");
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+            log.debug(".sendEventsBean Processing " + events.size() + " events");
+        }
+
+        EventBean[] eventBeans = runtimeServices.getEventTypeResolvingBeanFactory().adaptersForBean(events, eventTypeName);
+        sendWrappedEvents(eventBeans);
+    }
+
+    public void sendEventsMap(Collection<Map<String, Object>> events, String eventTypeName) throws EPException {
+        if (events == null) {
+            throw new IllegalArgumentException("Invalid null event collection");
+        }
+        if (events.isEmpty()) {
+            return;
+        }
+
+        if ((ExecutionPathDebugLog.isDebugEnabled) && (log.isDebugEnabled())) {
+            log.debug(".sendEventsMap Processing " + events.size() + " events");
+        }
+
+        EventBean[] eventBeans = runtimeServices.getEventTypeResolvingBeanFactory().adaptersForMap(events, eventTypeName);
+        sendWrappedEvents(eventBeans);
+    }
+
+    private void sendWrappedEvents(EventBean[] eventBeans) {
+        if (inboundThreading) {
+            specificServices.getThreadingService().submitInbound(InboundUnitKind.WRAPPEDBATCH, eventBeans, null, this, specificServices);
+        } else {
+            processWrappedEvents(eventBeans);
+        }
+    }
+
     public void routeEventBean(EventBean theEvent) {
         threadLocals.get().getDualWorkQueue().getBackQueue().addLast(theEvent);
     }
@@ -336,11 +425,74 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
     }
 
     public void processWrappedEvent(EventBean eventBean) {
+        processWrappedEventInternal(eventBean, threadLocals.get());
+    }
+
+    public void processWrappedEvents(EventBean[] eventBeans) {
+        // Resolve the thread-local processing state once for the batch and hold the read lock across events,
+        // releasing it only when listeners, insert-into or named window consumers have work, as these run outside of the lock
+        EPEventServiceThreadLocalEntry tlEntry = threadLocals.get();
+        DualWorkQueue<Object> queues = tlEntry.getDualWorkQueue();
+        ArrayDeque<Dispatchable> dispatchQueue = runtimeServices.getDispatchService().getDispatchStateThreadLocal().get();
+        boolean locked = false;
+        try {
+            for (EventBean event : eventBeans) {
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().qStimulantEvent(event, stageUri);
+                }
+
+                EventBean eventBean = event;
+                if (internalEventRouter.isHasPreprocessing()) {
+                    eventBean = internalEventRouter.preprocess(eventBean, tlEntry.getExprEvaluatorContext(), InstrumentationHelper.get());
+                    if (eventBean == null) {
+                        if (InstrumentationHelper.ENABLED) {
+                            InstrumentationHelper.get().aStimulantEvent();
+                        }
+                        continue;
+                    }
+                }
+
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().qEvent(eventBean, stageUri, true);
+                }
+                if (!locked) {
+                    specificServices.getEventProcessingRWLock().acquireReadLock();
+                    locked = true;
+                }
+                try {
+                    processMatches(eventBean, tlEntry);
+                } catch (RuntimeException ex) {
+                    tlEntry.getMatchesArrayThreadLocal().clear();
+                    throw new EPException(ex);
+                } finally {
+                    if (InstrumentationHelper.ENABLED) {
+                        InstrumentationHelper.get().aEvent();
+                    }
+                }
+
+                if (!dispatchQueue.isEmpty() || !queues.getFrontQueue().isEmpty() || !queues.getBackQueue().isEmpty() || runtimeServices.getNamedWindowDispatchService().isDispatchPending()) {
+                    specificServices.getEventProcessingRWLock().releaseReadLock();
+                    locked = false;
+                    dispatch();
+                    processThreadWorkQueue(tlEntry);
+                }
+
+                if (InstrumentationHelper.ENABLED) {
+                    InstrumentationHelper.get().aStimulantEvent();
+                }
+            }
+        } finally {
+            if (locked) {
+                specificServices.getEventProcessingRWLock().releaseReadLock();
+            }
+        }
+    }
+
+    private void processWrappedEventInternal(EventBean eventBean, EPEventServiceThreadLocalEntry tlEntry) {
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().qStimulantEvent(eventBean, stageUri);
         }
 
-        EPEventServiceThreadLocalEntry tlEntry = threadLocals.get();
         if (internalEventRouter.isHasPreprocessing()) {
             eventBean = internalEventRouter.preprocess(eventBean, tlEntry.getExprEvaluatorContext(), InstrumentationHelper.get());
             if (eventBean == null) {
@@ -354,7 +506,7 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         }
         specificServices.getEventProcessingRWLock().acquireReadLock();
         try {
-            processMatches(eventBean);
+            processMatches(eventBean, tlEntry);
         } catch (RuntimeException ex) {
             tlEntry.getMatchesArrayThreadLocal().clear();
             throw new EPException(ex);
@@ -370,7 +522,7 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         dispatch();
 
         // Work off the event queue if any events accumulated in there via a route() or insert-into
-        processThreadWorkQueue();
+        processThreadWorkQueue(tlEntry);
 
         if (InstrumentationHelper.ENABLED) {
             InstrumentationHelper.get().aStimulantEvent();
@@ -381,7 +533,11 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
      * Works off the thread's work queue.
      */
     public void processThreadWorkQueue() {
-        DualWorkQueue<Object> queues = threadLocals.get().getDualWorkQueue();
+        processThreadWorkQueue(threadLocals.get());
+    }
+
+    private void processThreadWorkQueue(EPEventServiceThreadLocalEntry tlEntry) {
+        DualWorkQueue<Object> queues = tlEntry.getDualWorkQueue();
 
         if (queues.getFrontQueue().isEmpty()) {
             boolean haveDispatched = runtimeServices.getNamedWindowDispatchService().dispatch();
@@ -390,21 +546,21 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
                 dispatch();
 
                 if (!queues.getFrontQueue().isEmpty()) {
-                    processThreadWorkQueueFront(queues);
+                    processThreadWorkQueueFront(queues, tlEntry);
                 }
             }
         } else {
-            processThreadWorkQueueFront(queues);
+            processThreadWorkQueueFront(queues, tlEntry);
         }
 
         Object item;
         while ((item = queues.getBackQueue().poll()) != null) {
             if (item instanceof InsertIntoLatchSpin) {
-                processThreadWorkQueueLatchedSpin((InsertIntoLatchSpin) item);
+                processThreadWorkQueueLatchedSpin((InsertIntoLatchSpin) item, tlEntry);
             } else if (item instanceof InsertIntoLatchWait) {
-                processThreadWorkQueueLatchedWait((InsertIntoLatchWait) item);
+                processThreadWorkQueueLatchedWait((InsertIntoLatchWait) item, tlEntry);
             } else {
-                processThreadWorkQueueUnlatched(item);
+                processThreadWorkQueueUnlatched(item, tlEntry);
             }
 
             boolean haveDispatched = runtimeServices.getNamedWindowDispatchService().dispatch();
@@ -413,20 +569,20 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
             }
 
             if (!queues.getFrontQueue().isEmpty()) {
-                processThreadWorkQueueFront(queues);
+                processThreadWorkQueueFront(queues, tlEntry);
             }
         }
     }
 
-    private void processThreadWorkQueueFront(DualWorkQueue queues) {
+    private void processThreadWorkQueueFront(DualWorkQueue queues, EPEventServiceThreadLocalEntry tlEntry) {
         Object item;
         while ((item = queues.getFrontQueue().poll()) != null) {
             if (item instanceof InsertIntoLatchSpin) {
-                processThreadWorkQueueLatchedSpin((InsertIntoLatchSpin) item);
+                processThreadWorkQueueLatchedSpin((InsertIntoLatchSpin) item, tlEntry);
             } else if (item instanceof InsertIntoLatchWait) {
-                processThreadWorkQueueLatchedWait((InsertIntoLatchWait) item);
+                processThreadWorkQueueLatchedWait((InsertIntoLatchWait) item, tlEntry);
             } else {
-                processThreadWorkQueueUnlatched(item);
+                processThreadWorkQueueUnlatched(item, tlEntry);
             }
 
             boolean haveDispatched = runtimeServices.getNamedWindowDispatchService().dispatch();
@@ -436,7 +592,7 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         }
     }
 
-    private void processThreadWorkQueueLatchedWait(InsertIntoLatchWait insertIntoLatch) {
+    private void processThreadWorkQueueLatchedWait(InsertIntoLatchWait insertIntoLatch, EPEventServiceThreadLocalEntry tlEntry) {
         // wait for the latch to complete
         EventBean eventBean = insertIntoLatch.await();
 
@@ -445,9 +601,9 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         }
         specificServices.getEventProcessingRWLock().acquireReadLock();
         try {
-            processMatches(eventBean);
+            processMatches(eventBean, tlEntry);
         } catch (RuntimeException ex) {
-            threadLocals.get().getMatchesArrayThreadLocal().clear();
+            tlEntry.getMatchesArrayThreadLocal().clear();
             throw ex;
         } finally {
             insertIntoLatch.done();
@@ -460,7 +616,7 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         dispatch();
     }
 
-    private void processThreadWorkQueueLatchedSpin(InsertIntoLatchSpin insertIntoLatch) {
+    private void processThreadWorkQueueLatchedSpin(InsertIntoLatchSpin insertIntoLatch, EPEventServiceThreadLocalEntry tlEntry) {
         // wait for the latch to complete
         EventBean eventBean = insertIntoLatch.await();
 
@@ -469,9 +625,9 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         }
         specificServices.getEventProcessingRWLock().acquireReadLock();
         try {
-            processMatches(eventBean);
+            processMatches(eventBean, tlEntry);
         } catch (RuntimeException ex) {
-            threadLocals.get().getMatchesArrayThreadLocal().clear();
+            tlEntry.getMatchesArrayThreadLocal().clear();
             throw ex;
         } finally {
             insertIntoLatch.done();
@@ -484,7 +640,7 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         dispatch();
     }
 
-    private void processThreadWorkQueueUnlatched(Object item) {
+    private void processThreadWorkQueueUnlatched(Object item, EPEventServiceThreadLocalEntry tlEntry) {
         EventBean eventBean;
         if (item instanceof EventBean) {
             eventBean = (EventBean) item;
@@ -497,9 +653,9 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
         }
         specificServices.getEventProcessingRWLock().acquireReadLock();
         try {
-            processMatches(eventBean);
+            processMatches(eventBean, tlEntry);
         } catch (RuntimeException ex) {
-            threadLocals.get().getMatchesArrayThreadLocal().clear();
+            tlEntry.getMatchesArrayThreadLocal().clear();
             throw ex;
         } finally {
             specificServices.getEventProcessingRWLock().releaseReadLock();
@@ -512,8 +668,11 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
     }
 
     protected void processMatches(EventBean theEvent) {
+        processMatches(theEvent, threadLocals.get());
+    }
+
+    private void processMatches(EventBean theEvent, EPEventServiceThreadLocalEntry tlEntry) {
         // get matching filters
-        EPEventServiceThreadLocalEntry tlEntry = threadLocals.get();
         ArrayBackedCollection<FilterHandle> matches = tlEntry.getMatchesArrayThreadLocal();
         long version = specificServices.getFilterService().evaluate(theEvent, matches, tlEntry.getExprEvaluatorContext());
 
@@ -575,7 +734,7 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
                 specificServices.getMetricReportingService().accountTime(handle.getStatementHandle().getMetricsHandle(), deltaCPU, deltaWall, 1);
             } else {
                 if (routeThreading) {
-                    specificServices.getThreadingService().submitRoute(new RouteUnitSingleStaged(this, handleCallback, theEvent, version));
+                    specificServices.getThreadingService().submitRouteSingle(this, handleCallback, theEvent, version);
                 } else {
                     processStatementFilterSingle(handle, handleCallback, theEvent, version, 0);
                 }
@@ -607,7 +766,7 @@ public class EPStageEventServiceImpl implements EPStageEventServiceSPI, Internal
                 specificServices.getMetricReportingService().accountTime(handle.getStatementHandle().getMetricsHandle(), deltaCPU, deltaWall, size);
             } else {
                 if (routeThreading) {
-                    specificServices.getThreadingService().submitRoute(new RouteUnitMultipleStaged(this, callbackList, theEvent, handle, version));
+                    specificServices.getThreadingService().submitRouteMultiple(this, callbackList, theEvent, handle, version);
                 } else {
                     processStatementFilterMultiple(handle, callbackList, theEvent, version, 0);
                 }
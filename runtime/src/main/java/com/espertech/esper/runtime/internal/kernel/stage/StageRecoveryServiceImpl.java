@@ -10,11 +10,12 @@
  */
 package com.espertech.esper.runtime.internal.kernel.stage;
 
+import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntimeExecution;
 import com.espertech.esper.common.internal.schedule.TimeSourceService;
-import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceLockCoarse;
+import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceFactory;
 import com.espertech.esper.runtime.internal.filtersvcimpl.FilterServiceSPI;
 import com.espertech.esper.runtime.internal.kernel.service.EPServicesContext;
-import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceImpl;
+import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceFactory;
 import com.espertech.esper.runtime.internal.schedulesvcimpl.SchedulingServiceSPI;
 
 import java.time.ZoneId;
@@ -68,12 +69,13 @@ public class StageRecoveryServiceImpl extends StageRecoveryServiceBase implement
     }
 
     protected FilterServiceSPI makeFilterService(int stageId, EPServicesContext servicesContext) {
-        return new FilterServiceLockCoarse(stageId);
+        ConfigurationRuntimeExecution execution = servicesContext.getRuntimeSettingsService().getConfigurationRuntime().getExecution();
+        return FilterServiceFactory.make(execution.getFilterServiceProfile(), execution.isFilterServiceCompiled(), stageId);
     }
 
     protected SchedulingServiceSPI makeSchedulingService(int stageId, EPServicesContext servicesContext) {
         ZoneId zoneId = servicesContext.getClasspathImportServiceRuntime().getTimeZone().toZoneId();
-        return new SchedulingServiceImpl(stageId, new TimeSourceService() {
+        return SchedulingServiceFactory.make(servicesContext.getRuntimeSettingsService().getConfigurationRuntime().getExecution().getSchedulingServiceProfile(), stageId, new TimeSourceService() {
             public long getTimeMillis() {
                 return servicesContext.getSchedulingService().getTime() + 1;
             }
@@ -11,6 +11,7 @@
 package com.espertech.esper.runtime.internal.kernel.stage;
 
 import com.espertech.esper.common.client.hook.expr.EventBeanService;
+import com.espertech.esper.common.internal.context.mgr.ContextManagementService;
 import com.espertech.esper.common.internal.epl.namedwindow.consume.NamedWindowDispatchService;
 import com.espertech.esper.common.internal.epl.table.core.TableExprEvaluatorContext;
 import com.espertech.esper.common.internal.epl.variable.core.VariableManagementService;
@@ -24,6 +25,7 @@ import com.espertech.esper.runtime.internal.kernel.thread.ThreadingService;
 import com.espertech.esper.runtime.internal.statementlifesvc.StatementLifecycleService;
 
 public class StageRuntimeServices {
+    private final ContextManagementService contextManagementService;
     private final DispatchService dispatchService;
     private final EventBeanService eventBeanService;
     private final EventBeanTypedEventFactory eventBeanTypedEventFactory;
@@ -38,7 +40,8 @@ public class StageRuntimeServices {
     private final ThreadingService threadingService;
     private final VariableManagementService variableManagementService;
 
-    public StageRuntimeServices(DispatchService dispatchService, EventBeanService eventBeanService, EventBeanTypedEventFactory eventBeanTypedEventFactory, EventTypeRepository eventTypeRepositoryBus, EventTypeResolvingBeanFactory eventTypeResolvingBeanFactory, ExceptionHandlingService exceptionHandlingService, NamedWindowDispatchService namedWindowDispatchService, String runtimeURI, RuntimeSettingsService runtimeSettingsService, StatementLifecycleService statementLifecycleService, TableExprEvaluatorContext tableExprEvaluatorContext, ThreadingService threadingService, VariableManagementService variableManagementService) {
+    public StageRuntimeServices(ContextManagementService contextManagementService, DispatchService dispatchService, EventBeanService eventBeanService, EventBeanTypedEventFactory eventBeanTypedEventFactory, EventTypeRepository eventTypeRepositoryBus, EventTypeResolvingBeanFactory eventTypeResolvingBeanFactory, ExceptionHandlingService exceptionHandlingService, NamedWindowDispatchService namedWindowDispatchService, String runtimeURI, RuntimeSettingsService runtimeSettingsService, StatementLifecycleService statementLifecycleService, TableExprEvaluatorContext tableExprEvaluatorContext, ThreadingService threadingService, VariableManagementService variableManagementService) {
+        this.contextManagementService = contextManagementService;
         this.dispatchService = dispatchService;
         this.eventBeanService = eventBeanService;
         this.eventBeanTypedEventFactory = eventBeanTypedEventFactory;
@@ -54,6 +57,10 @@ public class StageRuntimeServices {
         this.variableManagementService = variableManagementService;
     }
 
+    public ContextManagementService getContextManagementService() {
+        return contextManagementService;
+    }
+
     public DispatchService getDispatchService() {
         return dispatchService;
     }
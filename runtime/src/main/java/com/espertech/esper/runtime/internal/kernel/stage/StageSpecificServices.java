@@ -16,6 +16,7 @@ import com.espertech.esper.common.internal.collection.PathRegistryObjectType;
 import com.espertech.esper.common.internal.compile.stage1.spec.ExpressionDeclItem;
 import com.espertech.esper.common.internal.compile.stage1.spec.ExpressionScriptProvided;
 import com.espertech.esper.common.internal.context.compile.ContextMetaData;
+import com.espertech.esper.common.internal.context.mgr.ContextManagementService;
 import com.espertech.esper.common.internal.context.util.InternalEventRouteDest;
 import com.espertech.esper.common.internal.context.util.InternalEventRouter;
 import com.espertech.esper.common.internal.epl.classprovided.core.ClassProvided;
@@ -120,6 +121,10 @@ public class StageSpecificServices implements EPServicesEvaluation, EPServicesPa
         return stageRuntimeServices.getEventTypeResolvingBeanFactory();
     }
 
+    public ContextManagementService getContextManagementService() {
+        return stageRuntimeServices.getContextManagementService();
+    }
+
     public ThreadingService getThreadingService() {
         return threadingService;
     }
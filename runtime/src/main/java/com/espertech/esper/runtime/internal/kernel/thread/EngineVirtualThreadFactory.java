@@ -0,0 +1,56 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ThreadFactory;
+
+/**
+ * Thread factory for threading options that use virtual threads.
+ * <p>
+ * Virtual threads are obtained through reflection so that the runtime continues to run on Java versions that do not
+ * provide virtual threads.
+ * </p>
+ */
+public class EngineVirtualThreadFactory {
+    private static final Logger log = LoggerFactory.getLogger(EngineVirtualThreadFactory.class);
+
+    /**
+     * Returns a factory for virtual threads, or null if the Java runtime does not provide virtual threads.
+     *
+     * @param runtimeURI runtime URI
+     * @param prefix     prefix for thread names
+     * @return thread factory or null if virtual threads are not available
+     */
+    public static ThreadFactory make(String runtimeURI, String prefix) {
+        if (runtimeURI == null) {
+            runtimeURI = "default";
+        }
+        String name = "com.espertech.esper." + prefix + "-" + runtimeURI + "-";
+        try {
+            Method ofVirtual = Thread.class.getMethod("ofVirtual");
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Method nameMethod = builderClass.getMethod("name", String.class, long.class);
+            Method factoryMethod = builderClass.getMethod("factory");
+            Object builder = ofVirtual.invoke(null);
+            builder = nameMethod.invoke(builder, name, 0L);
+            return (ThreadFactory) factoryMethod.invoke(builder);
+        } catch (NoSuchMethodException | ClassNotFoundException ex) {
+            return null;
+        } catch (Exception ex) {
+            log.warn("Failed to obtain virtual thread factory: " + ex.getMessage(), ex);
+            return null;
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+
+/**
+ * Shard of the sharded inbound pool, owned by a single thread that takes work either from a queue or from a ring buffer.
+ */
+public class InboundShard {
+    private final BlockingQueue<Runnable> queue;
+    private final ThreadPoolExecutor threadPool;
+    private final RingBufferHandoff<InboundUnitSlot> ringBuffer;
+
+    public InboundShard(BlockingQueue<Runnable> queue, ThreadPoolExecutor threadPool, RingBufferHandoff<InboundUnitSlot> ringBuffer) {
+        this.queue = queue;
+        this.threadPool = threadPool;
+        this.ringBuffer = ringBuffer;
+    }
+
+    /**
+     * Returns the queue, or null when the shard uses a ring buffer.
+     *
+     * @return queue
+     */
+    public BlockingQueue<Runnable> getQueue() {
+        return queue;
+    }
+
+    /**
+     * Returns the single-thread pool, or null when the shard uses a ring buffer.
+     *
+     * @return thread pool
+     */
+    public ThreadPoolExecutor getThreadPool() {
+        return threadPool;
+    }
+
+    /**
+     * Returns the ring buffer, or null when the shard uses a queue.
+     *
+     * @return ring buffer
+     */
+    public RingBufferHandoff<InboundUnitSlot> getRingBuffer() {
+        return ringBuffer;
+    }
+}
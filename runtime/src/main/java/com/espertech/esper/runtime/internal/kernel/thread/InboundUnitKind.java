@@ -0,0 +1,190 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.event.util.EPRuntimeEventProcessWrapped;
+import com.espertech.esper.runtime.internal.kernel.service.EPServicesEvaluation;
+import org.w3c.dom.Node;
+
+import java.util.Map;
+
+/**
+ * Kinds of inbound work, each knowing how to process an event of its representation and how to make a unit of work for queue-based pools.
+ */
+public enum InboundUnitKind {
+    /**
+     * Unwrapped event.
+     */
+    BEAN {
+        public void process(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+            InboundUnitSendEvent.process(theEvent, eventTypeName, runtime, services);
+        }
+
+        public EventBean adapt(Object theEvent, String eventTypeName, EPServicesEvaluation services) {
+            return services.getEventTypeResolvingBeanFactory().adapterForBean(theEvent, eventTypeName);
+        }
+
+        public InboundUnitRunnable makeUnit(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+            return new InboundUnitSendEvent(theEvent, eventTypeName, runtime, services);
+        }
+    },
+
+    /**
+     * Map event.
+     */
+    MAP {
+        public void process(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+            InboundUnitSendMap.process((Map) theEvent, eventTypeName, runtime, services);
+        }
+
+        public EventBean adapt(Object theEvent, String eventTypeName, EPServicesEvaluation services) {
+            return services.getEventTypeResolvingBeanFactory().adapterForMap((Map) theEvent, eventTypeName);
+        }
+
+        public InboundUnitRunnable makeUnit(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+            return new InboundUnitSendMap((Map) theEvent, eventTypeName, runtime, services);
+        }
+    },
+
+    /**
+     * Object-array event.
+     */
+    OBJECTARRAY {
+        public void process(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+            InboundUnitSendObjectArray.process((Object[]) theEvent, eventTypeName, runtime, services);
+        }
+
+        public EventBean adapt(Object theEvent, String eventTypeName, EPServicesEvaluation services) {
+            return services.getEventTypeResolvingBeanFactory().adapterForObjectArray((Object[]) theEvent, eventTypeName);
+        }
+
+        public InboundUnitRunnable makeUnit(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+            return new InboundUnitSendObjectArray((Object[]) theEvent, eventTypeName, runtime, services);
+        }
+    },
+
+    /**
+     * XML DOM event.
+     */
+    DOM {
+        public void process(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+            InboundUnitSendDOM.process((Node) theEvent, eventTypeName, runtime, services);
+        }
+
+        public EventBean adapt(Object theEvent, String eventTypeName, EPServicesEvaluation services) {
+            return services.getEventTypeResolvingBeanFactory().adapterForXMLDOM((Node) theEvent, eventTypeName);
+        }
+
+        public InboundUnitRunnable makeUnit(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+            return new InboundUnitSendDOM((Node) theEvent, eventTypeName, runtime, services);
+        }
+    },
+
+    /**
+     * Avro event.
+     */
+    AVRO {
+        public void process(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+            InboundUnitSendAvro.process(theEvent, eventTypeName, runtime, services);
+        }
+
+        public EventBean adapt(Object theEvent, String eventTypeName, EPServicesEvaluation services) {
+            return services.getEventTypeResolvingBeanFactory().adapterForAvro(theEvent, eventTypeName);
+        }
+
+        public InboundUnitRunnable makeUnit(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+            return new InboundUnitSendAvro(theEvent, eventTypeName, runtime, services);
+        }
+    },
+
+    /**
+     * Json event.
+     */
+    JSON {
+        public void process(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+            InboundUnitSendJson.process((String) theEvent, eventTypeName, runtime, services);
+        }
+
+        public EventBean adapt(Object theEvent, String eventTypeName, EPServicesEvaluation services) {
+            return services.getEventTypeResolvingBeanFactory().adapterForJson((String) theEvent, eventTypeName);
+        }
+
+        public InboundUnitRunnable makeUnit(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+            return new InboundUnitSendJson((String) theEvent, eventTypeName, runtime, services);
+        }
+    },
+
+    /**
+     * Wrapped event, the type name is not used.
+     */
+    WRAPPED {
+        public void process(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+            InboundUnitSendWrapped.process((EventBean) theEvent, runtime, services);
+        }
+
+        public EventBean adapt(Object theEvent, String eventTypeName, EPServicesEvaluation services) {
+            return (EventBean) theEvent;
+        }
+
+        public InboundUnitRunnable makeUnit(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+            return new InboundUnitSendWrapped((EventBean) theEvent, runtime, services);
+        }
+    },
+
+    /**
+     * Batch of wrapped events, the type name is not used.
+     */
+    WRAPPEDBATCH {
+        public void process(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+            InboundUnitSendWrappedBatch.process((EventBean[]) theEvent, runtime, services);
+        }
+
+        public EventBean adapt(Object theEvent, String eventTypeName, EPServicesEvaluation services) {
+            throw new UnsupportedOperationException("A batch has no single event, assign each event of the batch instead");
+        }
+
+        public InboundUnitRunnable makeUnit(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+            return new InboundUnitSendWrappedBatch((EventBean[]) theEvent, runtime, services);
+        }
+    };
+
+    /**
+     * Process the event.
+     *
+     * @param theEvent      event or events
+     * @param eventTypeName type name
+     * @param runtime       to process
+     * @param services      services
+     */
+    public abstract void process(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services);
+
+    /**
+     * Adapt the event to an event bean without processing it; not supported for a batch.
+     *
+     * @param theEvent      event
+     * @param eventTypeName type name
+     * @param services      services
+     * @return event bean
+     */
+    public abstract EventBean adapt(Object theEvent, String eventTypeName, EPServicesEvaluation services);
+
+    /**
+     * Make a unit of work for the event.
+     *
+     * @param theEvent      event or events
+     * @param eventTypeName type name
+     * @param runtime       to process
+     * @param services      services
+     * @return unit of work
+     */
+    public abstract InboundUnitRunnable makeUnit(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services);
+}
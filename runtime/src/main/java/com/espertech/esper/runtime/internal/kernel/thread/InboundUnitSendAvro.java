@@ -42,6 +42,18 @@ public class InboundUnitSendAvro implements InboundUnitRunnable {
     }
 
     public void run() {
+        process(genericRecordDotData, eventTypeName, runtime, services);
+    }
+
+    /**
+     * Process an Avro event.
+     *
+     * @param genericRecordDotData to send
+     * @param eventTypeName        type name
+     * @param runtime              to process
+     * @param services             services
+     */
+    public static void process(Object genericRecordDotData, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
         try {
             EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForAvro(genericRecordDotData, eventTypeName);
             runtime.processWrappedEvent(eventBean);
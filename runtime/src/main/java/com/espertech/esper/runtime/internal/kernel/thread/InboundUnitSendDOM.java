@@ -36,6 +36,18 @@ public class InboundUnitSendDOM implements InboundUnitRunnable {
     }
 
     public void run() {
+        process(theEvent, eventTypeName, runtime, services);
+    }
+
+    /**
+     * Process a DOM event.
+     *
+     * @param theEvent      event
+     * @param eventTypeName type name
+     * @param runtime       to process
+     * @param services      services
+     */
+    public static void process(Node theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
         try {
             EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForXMLDOM(theEvent, eventTypeName);
             runtime.processWrappedEvent(eventBean);
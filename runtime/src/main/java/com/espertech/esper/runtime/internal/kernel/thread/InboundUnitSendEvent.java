@@ -34,6 +34,18 @@ public class InboundUnitSendEvent implements InboundUnitRunnable {
     }
 
     public void run() {
+        process(theEvent, eventTypeName, runtime, services);
+    }
+
+    /**
+     * Process an unwrapped event.
+     *
+     * @param theEvent      event
+     * @param eventTypeName type name
+     * @param runtime       to process
+     * @param services      services
+     */
+    public static void process(Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
         try {
             EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForBean(theEvent, eventTypeName);
             runtime.processWrappedEvent(eventBean);
@@ -34,6 +34,18 @@ public class InboundUnitSendJson implements InboundUnitRunnable {
     }
 
     public void run() {
+        process(json, eventTypeName, runtime, services);
+    }
+
+    /**
+     * Process a json event.
+     *
+     * @param json          json text
+     * @param eventTypeName type name
+     * @param runtime       to process
+     * @param services      services
+     */
+    public static void process(String json, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
         try {
             EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForJson(json, eventTypeName);
             runtime.processWrappedEvent(eventBean);
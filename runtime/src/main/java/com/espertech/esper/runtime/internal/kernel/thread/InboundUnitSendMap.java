@@ -36,6 +36,18 @@ public class InboundUnitSendMap implements InboundUnitRunnable {
     }
 
     public void run() {
+        process(map, eventTypeName, runtime, services);
+    }
+
+    /**
+     * Process a map event.
+     *
+     * @param map           event
+     * @param eventTypeName type name
+     * @param runtime       to process
+     * @param services      services
+     */
+    public static void process(Map map, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
         try {
             EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForMap(map, eventTypeName);
             runtime.processWrappedEvent(eventBean);
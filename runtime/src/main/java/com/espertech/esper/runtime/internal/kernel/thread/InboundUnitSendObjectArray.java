@@ -34,6 +34,18 @@ public class InboundUnitSendObjectArray implements InboundUnitRunnable {
     }
 
     public void run() {
+        process(properties, eventTypeName, runtime, services);
+    }
+
+    /**
+     * Process an object-array event.
+     *
+     * @param properties    event
+     * @param eventTypeName type name
+     * @param runtime       to process
+     * @param services      services
+     */
+    public static void process(Object[] properties, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
         try {
             EventBean eventBean = services.getEventTypeResolvingBeanFactory().adapterForObjectArray(properties, eventTypeName);
             runtime.processWrappedEvent(eventBean);
@@ -32,6 +32,17 @@ public class InboundUnitSendWrapped implements InboundUnitRunnable {
     }
 
     public void run() {
+        process(eventBean, runtime, services);
+    }
+
+    /**
+     * Process a wrapped event.
+     *
+     * @param eventBean event
+     * @param runtime   to process
+     * @param services  services
+     */
+    public static void process(EventBean eventBean, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
         try {
             runtime.processWrappedEvent(eventBean);
         } catch (RuntimeException e) {
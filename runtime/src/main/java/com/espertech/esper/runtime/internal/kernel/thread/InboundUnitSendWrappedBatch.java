@@ -0,0 +1,53 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.event.util.EPRuntimeEventProcessWrapped;
+import com.espertech.esper.runtime.internal.kernel.service.EPServicesEvaluation;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Inbound unit for a batch of wrapped events, processed in order by the same thread.
+ */
+public class InboundUnitSendWrappedBatch implements InboundUnitRunnable {
+    private static final Logger log = LoggerFactory.getLogger(InboundUnitSendWrappedBatch.class);
+    private final EventBean[] eventBeans;
+    private final EPRuntimeEventProcessWrapped runtime;
+    private final EPServicesEvaluation services;
+
+    public InboundUnitSendWrappedBatch(EventBean[] eventBeans, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+        this.eventBeans = eventBeans;
+        this.runtime = runtime;
+        this.services = services;
+    }
+
+    public void run() {
+        process(eventBeans, runtime, services);
+    }
+
+    /**
+     * Process a batch of wrapped events.
+     *
+     * @param eventBeans events
+     * @param runtime    to process
+     * @param services   services
+     */
+    public static void process(EventBean[] eventBeans, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+        try {
+            runtime.processWrappedEvents(eventBeans);
+        } catch (RuntimeException e) {
+            services.getExceptionHandlingService().handleInboundPoolException(runtime.getURI(), e, eventBeans);
+            log.error("Unexpected error processing wrapped event batch: " + e.getMessage(), e);
+        }
+    }
+}
@@ -0,0 +1,56 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import com.espertech.esper.common.internal.event.util.EPRuntimeEventProcessWrapped;
+import com.espertech.esper.runtime.internal.kernel.service.EPServicesEvaluation;
+
+/**
+ * Reusable ring-buffer slot for inbound work.
+ */
+public class InboundUnitSlot implements RingBufferHandoff.Slot {
+    private InboundUnitKind kind;
+    private Object theEvent;
+    private String eventTypeName;
+    private EPRuntimeEventProcessWrapped runtime;
+    private EPServicesEvaluation services;
+
+    /**
+     * Fill the slot.
+     *
+     * @param kind          kind of event
+     * @param theEvent      event or events
+     * @param eventTypeName type name
+     * @param runtime       to process
+     * @param services      services
+     */
+    public void set(InboundUnitKind kind, Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+        this.kind = kind;
+        this.theEvent = theEvent;
+        this.eventTypeName = eventTypeName;
+        this.runtime = runtime;
+        this.services = services;
+    }
+
+    public void run() {
+        if (kind != null) {
+            kind.process(theEvent, eventTypeName, runtime, services);
+        }
+    }
+
+    public void clear() {
+        kind = null;
+        theEvent = null;
+        eventTypeName = null;
+        runtime = null;
+        services = null;
+    }
+}
@@ -37,6 +37,16 @@ public class OutboundUnitRunnable implements Runnable {
     }
 
     public void run() {
+        process(events, statementResultService);
+    }
+
+    /**
+     * Process a dispatch.
+     *
+     * @param events                 to dispatch
+     * @param statementResultService handles result indicate
+     */
+    public static void process(UniformPair<EventBean[]> events, StatementResultServiceImpl statementResultService) {
         try {
             statementResultService.processDispatch(events);
         } catch (RuntimeException e) {
@@ -0,0 +1,45 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.collection.UniformPair;
+import com.espertech.esper.runtime.internal.kernel.service.StatementResultServiceImpl;
+
+/**
+ * Reusable ring-buffer slot for outbound work.
+ */
+public class OutboundUnitSlot implements RingBufferHandoff.Slot {
+    private UniformPair<EventBean[]> events;
+    private StatementResultServiceImpl statementResultService;
+
+    /**
+     * Fill the slot.
+     *
+     * @param events                 to dispatch
+     * @param statementResultService handles result indicate
+     */
+    public void set(UniformPair<EventBean[]> events, StatementResultServiceImpl statementResultService) {
+        this.events = events;
+        this.statementResultService = statementResultService;
+    }
+
+    public void run() {
+        if (statementResultService != null) {
+            OutboundUnitRunnable.process(events, statementResultService);
+        }
+    }
+
+    public void clear() {
+        events = null;
+        statementResultService = null;
+    }
+}
@@ -0,0 +1,283 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import com.espertech.esper.common.client.util.WaitStrategy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * Multi-producer multi-consumer handoff of work units through a pre-allocated ring of reusable slots,
+ * executed by a fixed set of worker threads.
+ * <p>
+ * A producer claims a sequence, fills the slot for that sequence and publishes it. A worker claims the next sequence,
+ * waits for it to be published, runs the slot in place and then clears and releases it for the producer one lap later.
+ * Each slot carries its own sequence number so that producers and workers only contend on claiming sequences.
+ * </p>
+ * <p>
+ * Waiting for a free slot (buffer full) and for a published slot (buffer empty) follows the {@link WaitStrategy}.
+ * Producers wait uninterruptibly once they have claimed a sequence, since an unpublished sequence would stall the workers.
+ * </p>
+ *
+ * @param <T> slot type
+ */
+public class RingBufferHandoff<T extends RingBufferHandoff.Slot> {
+    private static final Logger log = LoggerFactory.getLogger(RingBufferHandoff.class);
+
+    private static final int SPIN_TRIES = 100;
+
+    /**
+     * Default capacity when none is configured.
+     */
+    public final static int DEFAULT_CAPACITY = 8192;
+
+    /**
+     * A reusable slot.
+     */
+    public interface Slot extends Runnable {
+        /**
+         * Release the references held by the slot after it ran.
+         */
+        void clear();
+    }
+
+    private final String name;
+    private final Object[] slots;
+    private final AtomicLongArray sequences;
+    private final int mask;
+    private final WaitStrategy waitStrategy;
+    private final AtomicLong producerCursor = new AtomicLong();
+    private final AtomicLong consumerCursor = new AtomicLong();
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition changed = lock.newCondition();
+    private final Thread[] workers;
+    private volatile int numWaiting;
+    private volatile boolean running = true;
+
+    /**
+     * Ctor, starts the workers.
+     *
+     * @param name          pool name for logging
+     * @param capacity      requested capacity, rounded up to a power of two of at least two, or null or non-positive for the default
+     * @param slotFactory   makes the slots
+     * @param numThreads    number of worker threads
+     * @param threadFactory worker thread factory
+     * @param waitStrategy  wait strategy
+     */
+    public RingBufferHandoff(String name, Integer capacity, Supplier<T> slotFactory, int numThreads, ThreadFactory threadFactory, WaitStrategy waitStrategy) {
+        this.name = name;
+        int size = sizeFor(capacity);
+        this.slots = new Object[size];
+        this.sequences = new AtomicLongArray(size);
+        for (int i = 0; i < size; i++) {
+            slots[i] = slotFactory.get();
+            sequences.set(i, i);
+        }
+        this.mask = size - 1;
+        this.waitStrategy = waitStrategy == null ? WaitStrategy.PARK : waitStrategy;
+
+        workers = new Thread[numThreads];
+        for (int i = 0; i < numThreads; i++) {
+            workers[i] = threadFactory.newThread(this::work);
+        }
+        for (Thread worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * Claims the next sequence, waiting for the slot to become free when the buffer is full.
+     * The caller must fill the slot returned by {@link #get(long)} and then call {@link #publish(long)}.
+     *
+     * @return sequence or -1 when the handoff was shut down
+     */
+    public long claim() {
+        if (!running) {
+            return -1;
+        }
+        long sequence = producerCursor.getAndIncrement();
+        if (!await((int) sequence & mask, sequence)) {
+            return -1;
+        }
+        return sequence;
+    }
+
+    /**
+     * Returns the slot for a claimed sequence.
+     *
+     * @param sequence claimed sequence
+     * @return slot
+     */
+    public T get(long sequence) {
+        return (T) slots[(int) sequence & mask];
+    }
+
+    /**
+     * Publish a filled slot to the workers.
+     *
+     * @param sequence claimed sequence
+     */
+    public void publish(long sequence) {
+        sequences.set((int) sequence & mask, sequence + 1);
+        signal();
+    }
+
+    /**
+     * Returns the approximate number of published units that no worker has taken yet.
+     *
+     * @return backlog
+     */
+    public int size() {
+        long size = producerCursor.get() - consumerCursor.get();
+        return size < 0 ? 0 : (int) size;
+    }
+
+    /**
+     * Returns the number of slots.
+     *
+     * @return capacity
+     */
+    public int getCapacity() {
+        return slots.length;
+    }
+
+    /**
+     * Returns the wait strategy.
+     *
+     * @return wait strategy
+     */
+    public WaitStrategy getWaitStrategy() {
+        return waitStrategy;
+    }
+
+    /**
+     * Stop the workers, discarding any units not yet taken, and wait for running units to complete.
+     *
+     * @param timeout maximum wait
+     * @param unit    time unit
+     */
+    public void shutdown(long timeout, TimeUnit unit) {
+        running = false;
+        lock.lock();
+        try {
+            changed.signalAll();
+        } finally {
+            lock.unlock();
+        }
+
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        for (Thread worker : workers) {
+            long remainingMSec = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+            if (remainingMSec <= 0) {
+                break;
+            }
+            try {
+                worker.join(remainingMSec);
+            } catch (InterruptedException e) {
+                log.error("Interruped awaiting termination", e);
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void work() {
+        while (running) {
+            long sequence = consumerCursor.getAndIncrement();
+            int index = (int) sequence & mask;
+            if (!await(index, sequence + 1)) {
+                return;
+            }
+            T slot = (T) slots[index];
+            try {
+                slot.run();
+            } catch (RuntimeException e) {
+                log.error("Unexpected error processing unit of pool " + name + ": " + e.getMessage(), e);
+            } finally {
+                slot.clear();
+                sequences.set(index, sequence + slots.length);
+                signal();
+            }
+        }
+    }
+
+    private boolean await(int index, long expected) {
+        int tries = 0;
+        while (sequences.get(index) != expected) {
+            if (!running) {
+                return false;
+            }
+            if (waitStrategy == WaitStrategy.YIELD) {
+                Thread.yield();
+            } else if (waitStrategy == WaitStrategy.PARK) {
+                if (tries < SPIN_TRIES) {
+                    tries++;
+                } else {
+                    block(index, expected);
+                }
+            }
+        }
+        return true;
+    }
+
+    private void block(int index, long expected) {
+        boolean interrupted = false;
+        lock.lock();
+        try {
+            numWaiting++;
+            while (running && sequences.get(index) != expected) {
+                try {
+                    changed.await();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            numWaiting--;
+            lock.unlock();
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void signal() {
+        // the waiting thread increments the count before its last check of the sequence, so a waiter is either seen here or sees the sequence
+        if (numWaiting > 0) {
+            lock.lock();
+            try {
+                changed.signalAll();
+            } finally {
+                lock.unlock();
+            }
+        }
+    }
+
+    private static int sizeFor(Integer capacity) {
+        if (capacity == null || capacity <= 0 || capacity == Integer.MAX_VALUE) {
+            return DEFAULT_CAPACITY;
+        }
+        // a single slot could not tell a published sequence from the free slot of the next lap
+        int size = 2;
+        while (size < capacity && size < (1 << 30)) {
+            size <<= 1;
+        }
+        return size;
+    }
+}
@@ -12,7 +12,6 @@ package com.espertech.esper.runtime.internal.kernel.thread;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.internal.context.util.EPStatementAgentInstanceHandle;
-import com.espertech.esper.runtime.internal.kernel.service.EPEventServiceImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,7 +21,7 @@ import org.slf4j.LoggerFactory;
 public class RouteUnitMultiple implements RouteUnitRunnable {
     private static final Logger log = LoggerFactory.getLogger(RouteUnitMultiple.class);
 
-    private final EPEventServiceImpl epRuntime;
+    private final RouteUnitProcessor epRuntime;
     private final EventBean theEvent;
     private Object callbackList;
     private EPStatementAgentInstanceHandle handle;
@@ -37,7 +36,7 @@ public class RouteUnitMultiple implements RouteUnitRunnable {
      * @param handle        statement handle
      * @param filterVersion version of filter
      */
-    public RouteUnitMultiple(EPEventServiceImpl epRuntime, Object callbackList, EventBean theEvent, EPStatementAgentInstanceHandle handle, long filterVersion) {
+    public RouteUnitMultiple(RouteUnitProcessor epRuntime, Object callbackList, EventBean theEvent, EPStatementAgentInstanceHandle handle, long filterVersion) {
         this.epRuntime = epRuntime;
         this.callbackList = callbackList;
         this.theEvent = theEvent;
@@ -46,6 +45,19 @@ public class RouteUnitMultiple implements RouteUnitRunnable {
     }
 
     public void run() {
+        process(epRuntime, callbackList, theEvent, handle, filterVersion);
+    }
+
+    /**
+     * Process a multiple-match route.
+     *
+     * @param epRuntime     runtime to process
+     * @param callbackList  callback list
+     * @param theEvent      event to pass
+     * @param handle        statement handle
+     * @param filterVersion version of filter
+     */
+    public static void process(RouteUnitProcessor epRuntime, Object callbackList, EventBean theEvent, EPStatementAgentInstanceHandle handle, long filterVersion) {
         try {
             epRuntime.processStatementFilterMultiple(handle, callbackList, theEvent, filterVersion, 0);
 
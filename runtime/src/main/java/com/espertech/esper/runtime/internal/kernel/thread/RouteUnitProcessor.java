@@ -0,0 +1,52 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.context.util.EPStatementAgentInstanceHandle;
+import com.espertech.esper.common.internal.context.util.EPStatementHandleCallbackFilter;
+
+/**
+ * Event service that executes routed work units, for the runtime as well as for stages.
+ */
+public interface RouteUnitProcessor {
+    /**
+     * Process a match for multiple filter callbacks of the same statement.
+     *
+     * @param handle           statement handle
+     * @param callbackList     callbacks
+     * @param theEvent         event
+     * @param version          filter version
+     * @param filterFaultCount filter fault count
+     */
+    void processStatementFilterMultiple(EPStatementAgentInstanceHandle handle, Object callbackList, EventBean theEvent, long version, int filterFaultCount);
+
+    /**
+     * Process a match for a single filter callback.
+     *
+     * @param handle           statement handle
+     * @param handleCallback   callback
+     * @param theEvent         event
+     * @param version          filter version
+     * @param filterFaultCount filter fault count
+     */
+    void processStatementFilterSingle(EPStatementAgentInstanceHandle handle, EPStatementHandleCallbackFilter handleCallback, EventBean theEvent, long version, int filterFaultCount);
+
+    /**
+     * Dispatch results.
+     */
+    void dispatch();
+
+    /**
+     * Process events routed in the course of processing.
+     */
+    void processThreadWorkQueue();
+}
@@ -12,7 +12,6 @@ package com.espertech.esper.runtime.internal.kernel.thread;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.internal.context.util.EPStatementHandleCallbackFilter;
-import com.espertech.esper.runtime.internal.kernel.service.EPEventServiceImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -22,7 +21,7 @@ import org.slf4j.LoggerFactory;
 public class RouteUnitSingle implements RouteUnitRunnable {
     private static final Logger log = LoggerFactory.getLogger(RouteUnitSingle.class);
 
-    private final EPEventServiceImpl epRuntime;
+    private final RouteUnitProcessor epRuntime;
     private EPStatementHandleCallbackFilter handleCallback;
     private final EventBean theEvent;
     private final long filterVersion;
@@ -35,7 +34,7 @@ public class RouteUnitSingle implements RouteUnitRunnable {
      * @param theEvent       event
      * @param filterVersion  version of filter
      */
-    public RouteUnitSingle(EPEventServiceImpl epRuntime, EPStatementHandleCallbackFilter handleCallback, EventBean theEvent, long filterVersion) {
+    public RouteUnitSingle(RouteUnitProcessor epRuntime, EPStatementHandleCallbackFilter handleCallback, EventBean theEvent, long filterVersion) {
         this.epRuntime = epRuntime;
         this.theEvent = theEvent;
         this.handleCallback = handleCallback;
@@ -43,6 +42,18 @@ public class RouteUnitSingle implements RouteUnitRunnable {
     }
 
     public void run() {
+        process(epRuntime, handleCallback, theEvent, filterVersion);
+    }
+
+    /**
+     * Process a single-match route.
+     *
+     * @param epRuntime      runtime to process
+     * @param handleCallback callback
+     * @param theEvent       event
+     * @param filterVersion  version of filter
+     */
+    public static void process(RouteUnitProcessor epRuntime, EPStatementHandleCallbackFilter handleCallback, EventBean theEvent, long filterVersion) {
         try {
             epRuntime.processStatementFilterSingle(handleCallback.getAgentInstanceHandle(), handleCallback, theEvent, filterVersion, 0);
 
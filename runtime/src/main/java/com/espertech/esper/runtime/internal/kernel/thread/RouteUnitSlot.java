@@ -0,0 +1,75 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.context.util.EPStatementAgentInstanceHandle;
+import com.espertech.esper.common.internal.context.util.EPStatementHandleCallbackFilter;
+
+/**
+ * Reusable ring-buffer slot for route execution work.
+ */
+public class RouteUnitSlot implements RingBufferHandoff.Slot {
+    private RouteUnitProcessor epRuntime;
+    private EPStatementHandleCallbackFilter handleCallback;
+    private Object callbackList;
+    private EPStatementAgentInstanceHandle handle;
+    private EventBean theEvent;
+    private long filterVersion;
+
+    /**
+     * Fill the slot for a single match.
+     *
+     * @param epRuntime      runtime to process
+     * @param handleCallback callback
+     * @param theEvent       event
+     * @param filterVersion  version of filter
+     */
+    public void setSingle(RouteUnitProcessor epRuntime, EPStatementHandleCallbackFilter handleCallback, EventBean theEvent, long filterVersion) {
+        this.epRuntime = epRuntime;
+        this.handleCallback = handleCallback;
+        this.theEvent = theEvent;
+        this.filterVersion = filterVersion;
+    }
+
+    /**
+     * Fill the slot for multiple matches.
+     *
+     * @param epRuntime     runtime to process
+     * @param callbackList  callback list
+     * @param theEvent      event to pass
+     * @param handle        statement handle
+     * @param filterVersion version of filter
+     */
+    public void setMultiple(RouteUnitProcessor epRuntime, Object callbackList, EventBean theEvent, EPStatementAgentInstanceHandle handle, long filterVersion) {
+        this.epRuntime = epRuntime;
+        this.callbackList = callbackList;
+        this.theEvent = theEvent;
+        this.handle = handle;
+        this.filterVersion = filterVersion;
+    }
+
+    public void run() {
+        if (handleCallback != null) {
+            RouteUnitSingle.process(epRuntime, handleCallback, theEvent, filterVersion);
+        } else if (callbackList != null) {
+            RouteUnitMultiple.process(epRuntime, callbackList, theEvent, handle, filterVersion);
+        }
+    }
+
+    public void clear() {
+        epRuntime = null;
+        handleCallback = null;
+        callbackList = null;
+        handle = null;
+        theEvent = null;
+    }
+}
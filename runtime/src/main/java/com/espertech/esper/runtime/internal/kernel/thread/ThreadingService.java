@@ -10,8 +10,14 @@
  */
 package com.espertech.esper.runtime.internal.kernel.thread;
 
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.internal.collection.UniformPair;
+import com.espertech.esper.common.internal.context.util.EPStatementAgentInstanceHandle;
+import com.espertech.esper.common.internal.context.util.EPStatementHandleCallbackFilter;
+import com.espertech.esper.common.internal.event.util.EPRuntimeEventProcessWrapped;
 import com.espertech.esper.common.internal.statement.thread.ThreadingCommon;
 import com.espertech.esper.runtime.internal.kernel.service.EPServicesEvaluation;
+import com.espertech.esper.runtime.internal.kernel.service.StatementResultServiceImpl;
 
 import java.util.concurrent.BlockingQueue;
 import java.util.concurrent.ThreadPoolExecutor;
@@ -55,11 +61,15 @@ public interface ThreadingService extends ThreadingCommon {
     public boolean isInboundThreading();
 
     /**
-     * Submit inbound work unit.
+     * Submit inbound work.
      *
-     * @param unit unit of work
+     * @param kind          kind of event
+     * @param theEvent      event or events
+     * @param eventTypeName type name
+     * @param runtime       to process
+     * @param services      services
      */
-    public void submitInbound(InboundUnitRunnable unit);
+    public void submitInbound(InboundUnitKind kind, Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services);
 
     /**
      * Returns true for route execution threading enabled.
@@ -69,11 +79,25 @@ public interface ThreadingService extends ThreadingCommon {
     public boolean isRouteThreading();
 
     /**
-     * Submit route work unit.
+     * Submit route work for a single match.
      *
-     * @param unit unit of work
+     * @param runtime        runtime to process
+     * @param handleCallback callback
+     * @param theEvent       event
+     * @param filterVersion  version of filter
      */
-    public void submitRoute(RouteUnitRunnable unit);
+    public void submitRouteSingle(RouteUnitProcessor runtime, EPStatementHandleCallbackFilter handleCallback, EventBean theEvent, long filterVersion);
+
+    /**
+     * Submit route work for multiple matches.
+     *
+     * @param runtime       runtime to process
+     * @param callbackList  callback list
+     * @param theEvent      event to pass
+     * @param handle        statement handle
+     * @param filterVersion version of filter
+     */
+    public void submitRouteMultiple(RouteUnitProcessor runtime, Object callbackList, EventBean theEvent, EPStatementAgentInstanceHandle handle, long filterVersion);
 
     /**
      * Returns true for outbound threading enabled.
@@ -83,11 +107,12 @@ public interface ThreadingService extends ThreadingCommon {
     public boolean isOutboundThreading();
 
     /**
-     * Submit outbound work unit.
+     * Submit outbound work.
      *
-     * @param unit unit of work
+     * @param events                 to dispatch
+     * @param statementResultService handles result indicate
      */
-    public void submitOutbound(OutboundUnitRunnable unit);
+    public void submitOutbound(UniformPair<EventBean[]> events, StatementResultServiceImpl statementResultService);
 
     /**
      * Returns the outbound queue.
@@ -103,6 +128,13 @@ public interface ThreadingService extends ThreadingCommon {
      */
     public ThreadPoolExecutor getOutboundThreadPool();
 
+    /**
+     * Returns the outbound ring buffer, or null when the pool uses a queue.
+     *
+     * @return ring buffer
+     */
+    public RingBufferHandoff<OutboundUnitSlot> getOutboundRingBuffer();
+
     /**
      * Returns the route queue.
      *
@@ -117,6 +149,13 @@ public interface ThreadingService extends ThreadingCommon {
      */
     public ThreadPoolExecutor getRouteThreadPool();
 
+    /**
+     * Returns the route ring buffer, or null when the pool uses a queue.
+     *
+     * @return ring buffer
+     */
+    public RingBufferHandoff<RouteUnitSlot> getRouteRingBuffer();
+
     /**
      * Returns the timer queue.
      *
@@ -145,5 +184,19 @@ public interface ThreadingService extends ThreadingCommon {
      */
     public ThreadPoolExecutor getInboundThreadPool();
 
+    /**
+     * Returns the inbound ring buffer, or null when the pool uses a queue.
+     *
+     * @return ring buffer
+     */
+    public RingBufferHandoff<InboundUnitSlot> getInboundRingBuffer();
+
+    /**
+     * Returns the inbound shards, or null when the inbound pool is not sharded.
+     *
+     * @return shards
+     */
+    public InboundShard[] getInboundShards();
+
     public Thread makeEventSourceThread(String runtimeURI, String sourceName, Runnable runnable);
 }
@@ -12,12 +12,19 @@ package com.espertech.esper.runtime.internal.kernel.thread;
 
 import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntimeThreading;
+import com.espertech.esper.common.client.util.WaitStrategy;
+import com.espertech.esper.common.internal.collection.UniformPair;
+import com.espertech.esper.common.internal.context.controller.core.ContextShardKey;
+import com.espertech.esper.common.internal.context.util.EPStatementAgentInstanceHandle;
+import com.espertech.esper.common.internal.context.util.EPStatementHandleCallbackFilter;
 import com.espertech.esper.common.internal.event.util.EPRuntimeEventProcessWrapped;
 import com.espertech.esper.runtime.internal.kernel.service.EPServicesEvaluation;
+import com.espertech.esper.runtime.internal.kernel.service.StatementResultServiceImpl;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.concurrent.*;
+import java.util.function.Supplier;
 
 /**
  * Implementation for runtime-level threading.
@@ -41,6 +48,12 @@ public class ThreadingServiceImpl implements ThreadingService {
     private ThreadPoolExecutor routeThreadPool;
     private ThreadPoolExecutor outboundThreadPool;
 
+    private RingBufferHandoff<InboundUnitSlot> inboundRingBuffer;
+    private RingBufferHandoff<RouteUnitSlot> routeRingBuffer;
+    private RingBufferHandoff<OutboundUnitSlot> outboundRingBuffer;
+
+    private InboundShard[] inboundShards;
+
     private EPServicesEvaluation services;
 
     /**
@@ -75,23 +88,46 @@ public class ThreadingServiceImpl implements ThreadingService {
     public void initThreading(String uri, EPServicesEvaluation services) {
         this.services = services;
         if (isInboundThreading) {
-            inboundQueue = makeQueue(config.getThreadPoolInboundCapacity());
-            inboundThreadPool = getThreadPool(uri, "Inbound", inboundQueue, config.getThreadPoolInboundNumThreads());
+            if (config.isThreadPoolInboundSharded()) {
+                inboundShards = new InboundShard[Math.max(1, config.getThreadPoolInboundNumThreads())];
+                for (int i = 0; i < inboundShards.length; i++) {
+                    String name = "Inbound-" + i;
+                    if (config.isThreadPoolInboundRingBuffer()) {
+                        inboundShards[i] = new InboundShard(null, null, getRingBuffer(uri, name, config.getThreadPoolInboundCapacity(), InboundUnitSlot::new, 1, config.isThreadPoolInboundVirtualThreads(), config.getThreadPoolInboundWaitStrategy()));
+                    } else {
+                        BlockingQueue<Runnable> queue = makeQueue(config.getThreadPoolInboundCapacity());
+                        inboundShards[i] = new InboundShard(queue, getThreadPool(uri, name, queue, 1, config.isThreadPoolInboundVirtualThreads()), null);
+                    }
+                }
+            } else if (config.isThreadPoolInboundRingBuffer()) {
+                inboundRingBuffer = getRingBuffer(uri, "Inbound", config.getThreadPoolInboundCapacity(), InboundUnitSlot::new, config.getThreadPoolInboundNumThreads(), config.isThreadPoolInboundVirtualThreads(), config.getThreadPoolInboundWaitStrategy());
+            } else {
+                inboundQueue = makeQueue(config.getThreadPoolInboundCapacity());
+                inboundThreadPool = getThreadPool(uri, "Inbound", inboundQueue, config.getThreadPoolInboundNumThreads(), config.isThreadPoolInboundVirtualThreads());
+            }
         }
 
         if (isTimerThreading) {
             timerQueue = makeQueue(config.getThreadPoolTimerExecCapacity());
-            timerThreadPool = getThreadPool(uri, "TimerExec", timerQueue, config.getThreadPoolTimerExecNumThreads());
+            timerThreadPool = getThreadPool(uri, "TimerExec", timerQueue, config.getThreadPoolTimerExecNumThreads(), config.isThreadPoolTimerExecVirtualThreads());
         }
 
         if (isRouteThreading) {
-            routeQueue = makeQueue(config.getThreadPoolRouteExecCapacity());
-            routeThreadPool = getThreadPool(uri, "RouteExec", routeQueue, config.getThreadPoolRouteExecNumThreads());
+            if (config.isThreadPoolRouteExecRingBuffer()) {
+                routeRingBuffer = getRingBuffer(uri, "RouteExec", config.getThreadPoolRouteExecCapacity(), RouteUnitSlot::new, config.getThreadPoolRouteExecNumThreads(), config.isThreadPoolRouteExecVirtualThreads(), config.getThreadPoolRouteExecWaitStrategy());
+            } else {
+                routeQueue = makeQueue(config.getThreadPoolRouteExecCapacity());
+                routeThreadPool = getThreadPool(uri, "RouteExec", routeQueue, config.getThreadPoolRouteExecNumThreads(), config.isThreadPoolRouteExecVirtualThreads());
+            }
         }
 
         if (isOutboundThreading) {
-            outboundQueue = makeQueue(config.getThreadPoolOutboundCapacity());
-            outboundThreadPool = getThreadPool(uri, "Outbound", outboundQueue, config.getThreadPoolOutboundNumThreads());
+            if (config.isThreadPoolOutboundRingBuffer()) {
+                outboundRingBuffer = getRingBuffer(uri, "Outbound", config.getThreadPoolOutboundCapacity(), OutboundUnitSlot::new, config.getThreadPoolOutboundNumThreads(), config.isThreadPoolOutboundVirtualThreads(), config.getThreadPoolOutboundWaitStrategy());
+            } else {
+                outboundQueue = makeQueue(config.getThreadPoolOutboundCapacity());
+                outboundThreadPool = getThreadPool(uri, "Outbound", outboundQueue, config.getThreadPoolOutboundNumThreads(), config.isThreadPoolOutboundVirtualThreads());
+            }
         }
     }
 
@@ -105,33 +141,153 @@ public class ThreadingServiceImpl implements ThreadingService {
         }
     }
 
-    public void submitRoute(RouteUnitRunnable unit) {
-        try {
-            routeQueue.put(unit);
-        } catch (InterruptedException e) {
-            log.info("Submit interrupted:" + e);
+    public void submitRouteSingle(RouteUnitProcessor runtime, EPStatementHandleCallbackFilter handleCallback, EventBean theEvent, long filterVersion) {
+        if (routeRingBuffer == null) {
+            put(routeQueue, new RouteUnitSingle(runtime, handleCallback, theEvent, filterVersion));
+            return;
+        }
+        long sequence = routeRingBuffer.claim();
+        if (sequence == -1) {
+            log.info("Submit after shutdown of pool RouteExec");
+            return;
+        }
+        routeRingBuffer.get(sequence).setSingle(runtime, handleCallback, theEvent, filterVersion);
+        routeRingBuffer.publish(sequence);
+    }
+
+    public void submitRouteMultiple(RouteUnitProcessor runtime, Object callbackList, EventBean theEvent, EPStatementAgentInstanceHandle handle, long filterVersion) {
+        if (routeRingBuffer == null) {
+            put(routeQueue, new RouteUnitMultiple(runtime, callbackList, theEvent, handle, filterVersion));
+            return;
+        }
+        long sequence = routeRingBuffer.claim();
+        if (sequence == -1) {
+            log.info("Submit after shutdown of pool RouteExec");
+            return;
         }
+        routeRingBuffer.get(sequence).setMultiple(runtime, callbackList, theEvent, handle, filterVersion);
+        routeRingBuffer.publish(sequence);
     }
 
-    public void submitInbound(InboundUnitRunnable unit) {
+    public void submitInbound(InboundUnitKind kind, Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+        if (inboundShards != null) {
+            submitInboundSharded(kind, theEvent, eventTypeName, runtime, services);
+            return;
+        }
+        submitInbound(inboundQueue, inboundRingBuffer, kind, theEvent, eventTypeName, runtime, services);
+    }
+
+    private void submitInboundSharded(InboundUnitKind kind, Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+        if (kind == InboundUnitKind.WRAPPEDBATCH) {
+            submitInboundShardedBatch((EventBean[]) theEvent, runtime, services);
+            return;
+        }
+
+        // adapt on the sending thread as the event type and the shard key must be known before the handoff
+        EventBean eventBean;
         try {
-            inboundQueue.put(unit);
-        } catch (InterruptedException e) {
-            log.info("Submit interrupted:" + e);
+            eventBean = kind.adapt(theEvent, eventTypeName, services);
+        } catch (RuntimeException ex) {
+            services.getExceptionHandlingService().handleInboundPoolException(runtime.getURI(), ex, theEvent);
+            log.error("Unexpected error adapting inbound event: " + ex.getMessage(), ex);
+            return;
         }
+
+        InboundShard shard = inboundShards[getShardNum(eventBean, services)];
+        submitInbound(shard.getQueue(), shard.getRingBuffer(), InboundUnitKind.WRAPPED, eventBean, null, runtime, services);
     }
 
-    public void submitOutbound(OutboundUnitRunnable unit) {
+    private void submitInboundShardedBatch(EventBean[] eventBeans, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+        if (eventBeans.length == 0) {
+            return;
+        }
+        if (inboundShards.length == 1) {
+            submitInbound(inboundShards[0].getQueue(), inboundShards[0].getRingBuffer(), InboundUnitKind.WRAPPEDBATCH, eventBeans, null, runtime, services);
+            return;
+        }
+
+        // split the batch by shard, keeping the order of events within each shard
+        int[] shardNums = new int[eventBeans.length];
+        int[] counts = new int[inboundShards.length];
+        for (int i = 0; i < eventBeans.length; i++) {
+            shardNums[i] = getShardNum(eventBeans[i], services);
+            counts[shardNums[i]]++;
+        }
+        if (counts[shardNums[0]] == eventBeans.length) {
+            InboundShard shard = inboundShards[shardNums[0]];
+            submitInbound(shard.getQueue(), shard.getRingBuffer(), InboundUnitKind.WRAPPEDBATCH, eventBeans, null, runtime, services);
+            return;
+        }
+
+        EventBean[][] batches = new EventBean[inboundShards.length][];
+        int[] positions = new int[inboundShards.length];
+        for (int i = 0; i < eventBeans.length; i++) {
+            int shardNum = shardNums[i];
+            if (batches[shardNum] == null) {
+                batches[shardNum] = new EventBean[counts[shardNum]];
+            }
+            batches[shardNum][positions[shardNum]++] = eventBeans[i];
+        }
+        for (int i = 0; i < batches.length; i++) {
+            if (batches[i] != null) {
+                submitInbound(inboundShards[i].getQueue(), inboundShards[i].getRingBuffer(), InboundUnitKind.WRAPPEDBATCH, batches[i], null, runtime, services);
+            }
+        }
+    }
+
+    private int getShardNum(EventBean eventBean, EPServicesEvaluation services) {
+        if (inboundShards.length == 1 || eventBean == null) {
+            return 0;
+        }
+        ContextShardKey shardKey = services.getContextManagementService().getShardKey(eventBean.getEventType());
+        if (shardKey == null) {
+            // not partitioned by any started keyed or hash context, any shard may process the event
+            return ThreadLocalRandom.current().nextInt(inboundShards.length);
+        }
         try {
-            outboundQueue.put(unit);
-        } catch (InterruptedException e) {
-            log.info("Submit interrupted:" + e);
+            return Math.floorMod(shardKey.shardHash(eventBean), inboundShards.length);
+        } catch (RuntimeException ex) {
+            // processing reports the same failure, keep the event on a fixed shard
+            log.debug("Failed to compute shard key: " + ex.getMessage(), ex);
+            return 0;
         }
     }
 
+    private void submitInbound(BlockingQueue<Runnable> queue, RingBufferHandoff<InboundUnitSlot> ringBuffer, InboundUnitKind kind, Object theEvent, String eventTypeName, EPRuntimeEventProcessWrapped runtime, EPServicesEvaluation services) {
+        if (ringBuffer == null) {
+            put(queue, kind.makeUnit(theEvent, eventTypeName, runtime, services));
+            return;
+        }
+        long sequence = ringBuffer.claim();
+        if (sequence == -1) {
+            log.info("Submit after shutdown of pool Inbound");
+            return;
+        }
+        ringBuffer.get(sequence).set(kind, theEvent, eventTypeName, runtime, services);
+        ringBuffer.publish(sequence);
+    }
+
+    public void submitOutbound(UniformPair<EventBean[]> events, StatementResultServiceImpl statementResultService) {
+        if (outboundRingBuffer == null) {
+            put(outboundQueue, new OutboundUnitRunnable(events, statementResultService));
+            return;
+        }
+        long sequence = outboundRingBuffer.claim();
+        if (sequence == -1) {
+            log.info("Submit after shutdown of pool Outbound");
+            return;
+        }
+        outboundRingBuffer.get(sequence).set(events, statementResultService);
+        outboundRingBuffer.publish(sequence);
+    }
+
     public void submitTimerWork(TimerUnit unit) {
+        put(timerQueue, unit);
+    }
+
+    private void put(BlockingQueue<Runnable> queue, Runnable unit) {
         try {
-            timerQueue.put(unit);
+            queue.put(unit);
         } catch (InterruptedException e) {
             log.info("Submit interrupted:" + e);
         }
@@ -145,6 +301,10 @@ public class ThreadingServiceImpl implements ThreadingService {
         return outboundThreadPool;
     }
 
+    public RingBufferHandoff<OutboundUnitSlot> getOutboundRingBuffer() {
+        return outboundRingBuffer;
+    }
+
     public BlockingQueue<Runnable> getRouteQueue() {
         return routeQueue;
     }
@@ -153,6 +313,10 @@ public class ThreadingServiceImpl implements ThreadingService {
         return routeThreadPool;
     }
 
+    public RingBufferHandoff<RouteUnitSlot> getRouteRingBuffer() {
+        return routeRingBuffer;
+    }
+
     public BlockingQueue<Runnable> getTimerQueue() {
         return timerQueue;
     }
@@ -169,6 +333,14 @@ public class ThreadingServiceImpl implements ThreadingService {
         return inboundThreadPool;
     }
 
+    public RingBufferHandoff<InboundUnitSlot> getInboundRingBuffer() {
+        return inboundRingBuffer;
+    }
+
+    public InboundShard[] getInboundShards() {
+        return inboundShards;
+    }
+
     public synchronized void destroy() {
         if (timerThreadPool != null) {
             stopPool(timerThreadPool, timerQueue, "TimerExec");
@@ -183,10 +355,35 @@ public class ThreadingServiceImpl implements ThreadingService {
             stopPool(inboundThreadPool, inboundQueue, "Inbound");
         }
 
+        if (routeRingBuffer != null) {
+            stopRingBuffer(routeRingBuffer, "RouteExec");
+        }
+        if (outboundRingBuffer != null) {
+            stopRingBuffer(outboundRingBuffer, "Outbound");
+        }
+        if (inboundRingBuffer != null) {
+            stopRingBuffer(inboundRingBuffer, "Inbound");
+        }
+
+        if (inboundShards != null) {
+            for (int i = 0; i < inboundShards.length; i++) {
+                InboundShard shard = inboundShards[i];
+                if (shard.getThreadPool() != null) {
+                    stopPool(shard.getThreadPool(), shard.getQueue(), "Inbound-" + i);
+                } else {
+                    stopRingBuffer(shard.getRingBuffer(), "Inbound-" + i);
+                }
+            }
+        }
+
         timerThreadPool = null;
         routeThreadPool = null;
         outboundThreadPool = null;
         inboundThreadPool = null;
+        routeRingBuffer = null;
+        outboundRingBuffer = null;
+        inboundRingBuffer = null;
+        inboundShards = null;
     }
 
     public Thread makeEventSourceThread(String runtimeURI, String sourceName, Runnable runnable) {
@@ -200,7 +397,7 @@ public class ThreadingServiceImpl implements ThreadingService {
     }
 
     public void submitInbound(EventBean event, EPRuntimeEventProcessWrapped runtimeEventSender) {
-        submitInbound(new InboundUnitSendWrapped(event, runtimeEventSender, services));
+        submitInbound(InboundUnitKind.WRAPPED, event, null, runtimeEventSender, services);
     }
 
     private void stopPool(ThreadPoolExecutor threadPool, BlockingQueue<Runnable> queue, String name) {
@@ -218,20 +415,50 @@ public class ThreadingServiceImpl implements ThreadingService {
         }
     }
 
-    private ThreadPoolExecutor getThreadPool(String runtimeURI, String name, BlockingQueue<Runnable> queue, int numThreads) {
+    private void stopRingBuffer(RingBufferHandoff<?> ringBuffer, String name) {
         if (log.isInfoEnabled()) {
-            log.info("Starting pool " + name + " with " + numThreads + " threads");
+            log.info("Shutting down ring buffer pool " + name);
         }
+        ringBuffer.shutdown(10, TimeUnit.SECONDS);
+    }
 
-        if (runtimeURI == null) {
-            runtimeURI = "default";
+    private <T extends RingBufferHandoff.Slot> RingBufferHandoff<T> getRingBuffer(String runtimeURI, String name, Integer capacity, Supplier<T> slotFactory, int numThreads, boolean virtualThreads, WaitStrategy waitStrategy) {
+        RingBufferHandoff<T> ringBuffer = new RingBufferHandoff<>(name, capacity, slotFactory, numThreads, getThreadFactory(runtimeURI, name, virtualThreads), waitStrategy);
+        if (log.isInfoEnabled()) {
+            log.info("Starting ring buffer pool " + name + " with " + numThreads + (virtualThreads ? " virtual" : "") + " threads, " + ringBuffer.getCapacity() + " slots and wait strategy " + ringBuffer.getWaitStrategy());
         }
+        return ringBuffer;
+    }
 
-        String threadGroupName = "com.espertech.esper." + runtimeURI + "-" + name;
-        ThreadGroup threadGroup = new ThreadGroup(threadGroupName);
-        ThreadPoolExecutor pool = new ThreadPoolExecutor(numThreads, numThreads, 1, TimeUnit.SECONDS, queue, new EngineThreadFactory(runtimeURI, name, threadGroup, Thread.NORM_PRIORITY));
+    private ThreadPoolExecutor getThreadPool(String runtimeURI, String name, BlockingQueue<Runnable> queue, int numThreads, boolean virtualThreads) {
+        if (log.isInfoEnabled()) {
+            log.info("Starting pool " + name + " with " + numThreads + (virtualThreads ? " virtual" : "") + " threads");
+        }
+
+        // virtual threads keep the same number of workers and the same queue, so capacity and back-pressure are unchanged
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(numThreads, numThreads, 1, TimeUnit.SECONDS, queue, getThreadFactory(runtimeURI, name, virtualThreads));
         pool.prestartAllCoreThreads();
 
         return pool;
     }
+
+    private ThreadFactory getThreadFactory(String runtimeURI, String name, boolean virtualThreads) {
+        if (runtimeURI == null) {
+            runtimeURI = "default";
+        }
+
+        ThreadFactory threadFactory = null;
+        if (virtualThreads) {
+            threadFactory = EngineVirtualThreadFactory.make(runtimeURI, name);
+            if (threadFactory == null) {
+                log.warn("Virtual threads are not available in this Java runtime, using platform threads for pool " + name);
+            }
+        }
+        if (threadFactory == null) {
+            String threadGroupName = "com.espertech.esper." + runtimeURI + "-" + name;
+            ThreadGroup threadGroup = new ThreadGroup(threadGroupName);
+            threadFactory = new EngineThreadFactory(runtimeURI, name, threadGroup, Thread.NORM_PRIORITY);
+        }
+        return threadFactory;
+    }
 }
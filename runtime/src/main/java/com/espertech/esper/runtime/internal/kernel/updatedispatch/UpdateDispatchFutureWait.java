@@ -15,19 +15,26 @@ import com.espertech.esper.common.internal.statement.dispatch.UpdateDispatchView
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
 /**
  * UpdateDispatchFutureWait can be added to a dispatch queue that is thread-local. It represents
  * is a stand-in for a future dispatching of a statement result to statement listeners.
  * <p>
  * UpdateDispatchFutureWait is aware of future and past dispatches:
  * (newest) DF3   &lt;--&gt;   DF2  &lt;--&gt;  DF1  (oldest)
+ * <p>
+ * Waiting for the earlier dispatch parks the thread rather than waiting on a monitor, so that a virtual thread
+ * does not pin its carrier thread while it waits.
  */
 public class UpdateDispatchFutureWait implements Dispatchable {
     private static final Logger log = LoggerFactory.getLogger(UpdateDispatchFutureWait.class);
     private UpdateDispatchViewBlockingWait view;
     private UpdateDispatchFutureWait earlier;
-    private UpdateDispatchFutureWait later;
+    private volatile UpdateDispatchFutureWait later;
     private volatile boolean isCompleted;
+    private volatile Thread waiter;
     private long msecTimeout;
 
     /**
@@ -60,7 +67,7 @@ public class UpdateDispatchFutureWait implements Dispatchable {
     }
 
     /**
-     * Hand a later future to the dispatch to use for indicating completion via notify.
+     * Hand a later future to the dispatch to use for indicating completion via unpark.
      *
      * @param later is the later dispatch
      */
@@ -70,15 +77,7 @@ public class UpdateDispatchFutureWait implements Dispatchable {
 
     public void execute() {
         if (!earlier.isCompleted) {
-            synchronized (this) {
-                if (!earlier.isCompleted) {
-                    try {
-                        this.wait(msecTimeout);
-                    } catch (InterruptedException e) {
-                        log.error("Interupted: " + e.getMessage());
-                    }
-                }
-            }
+            awaitEarlier();
         }
 
         view.execute();
@@ -94,11 +93,38 @@ public class UpdateDispatchFutureWait implements Dispatchable {
         completed();
     }
 
+    private void awaitEarlier() {
+        waiter = Thread.currentThread();
+        try {
+            // a timeout of zero waits until completed, same as Object#wait
+            boolean isTimed = msecTimeout > 0 && msecTimeout < TimeUnit.NANOSECONDS.toMillis(Long.MAX_VALUE);
+            long deadline = isTimed ? System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(msecTimeout) : 0;
+            while (!earlier.isCompleted) {
+                if (isTimed) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0) {
+                        break;
+                    }
+                    LockSupport.parkNanos(this, remaining);
+                } else {
+                    LockSupport.park(this);
+                }
+                if (Thread.interrupted()) {
+                    log.error("Interupted waiting for earlier dispatch");
+                    break;
+                }
+            }
+        } finally {
+            waiter = null;
+        }
+    }
+
     private void completed() {
         isCompleted = true;
         if (later != null) {
-            synchronized (later) {
-                later.notify();
+            Thread laterWaiter = later.waiter;
+            if (laterWaiter != null) {
+                LockSupport.unpark(laterWaiter);
             }
         }
         earlier = null;
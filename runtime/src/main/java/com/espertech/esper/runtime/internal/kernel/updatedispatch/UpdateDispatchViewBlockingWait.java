@@ -17,11 +17,17 @@ import com.espertech.esper.common.internal.context.util.StatementDispatchTLEntry
 import com.espertech.esper.common.internal.context.util.StatementResultService;
 import com.espertech.esper.common.internal.statement.dispatch.DispatchService;
 
+import java.util.concurrent.locks.ReentrantLock;
+
 /**
  * Convenience view for dispatching view updates received from a parent view to update listeners
  * via the dispatch service.
+ * <p>
+ * Uses a lock rather than a synchronized block and the future waits by parking, so that
+ * dispatching from virtual threads does not pin the carrier thread.
  */
 public class UpdateDispatchViewBlockingWait extends UpdateDispatchViewBase {
+    private final ReentrantLock lock = new ReentrantLock();
     private UpdateDispatchFutureWait currentFutureWait;
     private long msecTimeout;
 
@@ -48,10 +54,13 @@ public class UpdateDispatchViewBlockingWait extends UpdateDispatchViewBase {
         statementResultService.indicate(results, dispatchTLEntry);
         if (!dispatchTLEntry.isDispatchWaiting()) {
             UpdateDispatchFutureWait nextFutureWait;
-            synchronized (this) {
+            lock.lock();
+            try {
                 nextFutureWait = new UpdateDispatchFutureWait(this, currentFutureWait, msecTimeout);
                 currentFutureWait.setLater(nextFutureWait);
                 currentFutureWait = nextFutureWait;
+            } finally {
+                lock.unlock();
             }
             dispatchService.addExternal(nextFutureWait);
             dispatchTLEntry.setDispatchWaiting(true);
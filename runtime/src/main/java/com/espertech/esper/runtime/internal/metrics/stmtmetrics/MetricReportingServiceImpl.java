@@ -12,6 +12,7 @@ package com.espertech.esper.runtime.internal.metrics.stmtmetrics;
 
 import com.espertech.esper.common.client.configuration.ConfigurationException;
 import com.espertech.esper.common.client.configuration.runtime.ConfigurationRuntimeMetricsReporting;
+import com.espertech.esper.common.client.metric.LatencyHistogram;
 import com.espertech.esper.common.client.metric.MetricEvent;
 import com.espertech.esper.common.internal.event.core.EventServiceSendEventCommon;
 import com.espertech.esper.common.internal.filtersvc.FilterService;
@@ -20,6 +21,9 @@ import com.espertech.esper.common.internal.schedule.SchedulingService;
 import com.espertech.esper.common.internal.util.DeploymentIdNamePair;
 import com.espertech.esper.common.internal.util.MetricUtil;
 import com.espertech.esper.runtime.client.*;
+import com.espertech.esper.runtime.internal.metrics.jmx.JmxGetter;
+import com.espertech.esper.runtime.internal.metrics.jmx.JmxOperation;
+import com.espertech.esper.runtime.internal.metrics.jmx.JmxParam;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -225,6 +229,35 @@ public class MetricReportingServiceImpl implements MetricReportingServiceSPI, Me
         exec.setInterval(newInterval);
     }
 
+    @JmxGetter(name = "LatencyHistogramStatements", description = "Statements that have a statement dispatch latency histogram, as deployment id and statement name")
+    public String[] getLatencyHistogramStatements() {
+        if (stmtMetricRepository == null) {
+            return new String[0];
+        }
+        List<String> statements = new ArrayList<>();
+        for (DeploymentIdNamePair statement : stmtMetricRepository.getLatencyHistogramStatements()) {
+            statements.add(statement.getDeploymentId() + "/" + statement.getName());
+        }
+        return statements.toArray(new String[0]);
+    }
+
+    @JmxOperation(description = "Returns statement dispatch latency count, p50, p99, p999 and max in nanoseconds, accumulated over reported intervals")
+    public String getStatementLatency(@JmxParam(name = "deploymentId", description = "deployment id") String deploymentId,
+                                      @JmxParam(name = "statementName", description = "statement name") String statementName) {
+        if (stmtMetricRepository == null) {
+            return null;
+        }
+        LatencyHistogram histogram = stmtMetricRepository.getLatencyHistogram(new DeploymentIdNamePair(deploymentId, statementName));
+        return histogram == null ? null : histogram.toString();
+    }
+
+    @JmxOperation(description = "Reset statement dispatch latency histograms")
+    public void resetLatencyHistograms() {
+        if (stmtMetricRepository != null) {
+            stmtMetricRepository.resetLatencyHistograms();
+        }
+    }
+
     private boolean isConsiderSchedule(long value) {
         if ((value > 0) && (value < Long.MAX_VALUE)) {
             return true;
@@ -70,6 +70,10 @@ public class NamedWindowDispatchServiceImpl implements NamedWindowDispatchServic
         threadLocal.get().getDispatches().add(latch);
     }
 
+    public boolean isDispatchPending() {
+        return !threadLocal.get().getDispatches().isEmpty();
+    }
+
     public boolean dispatch() {
         DispatchesTL dispatchesTL = threadLocal.get();
         if (dispatchesTL.getDispatches().isEmpty()) {
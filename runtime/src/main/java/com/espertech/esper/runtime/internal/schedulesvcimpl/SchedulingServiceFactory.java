@@ -0,0 +1,34 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.schedulesvcimpl;
+
+import com.espertech.esper.common.client.util.SchedulingServiceProfile;
+import com.espertech.esper.common.internal.schedule.TimeSourceService;
+
+import java.time.ZoneId;
+
+public class SchedulingServiceFactory {
+    /**
+     * Returns the scheduling service implementation for the profile.
+     *
+     * @param profile                  scheduling service profile
+     * @param stageId                  stage id or -1 for the default stage
+     * @param timeSourceService        time source provider
+     * @param defaultFormatterTimeZone time zone for audit formatter
+     * @return scheduling service
+     */
+    public static SchedulingServiceSPI make(SchedulingServiceProfile profile, int stageId, TimeSourceService timeSourceService, ZoneId defaultFormatterTimeZone) {
+        if (profile == SchedulingServiceProfile.TIMINGWHEEL) {
+            return new SchedulingServiceTimingWheel(stageId, timeSourceService, defaultFormatterTimeZone);
+        }
+        return new SchedulingServiceImpl(stageId, timeSourceService, defaultFormatterTimeZone);
+    }
+}
@@ -0,0 +1,466 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.schedulesvcimpl;
+
+import com.espertech.esper.common.client.util.DateTime;
+import com.espertech.esper.common.internal.schedule.ScheduleHandle;
+import com.espertech.esper.common.internal.schedule.ScheduleServiceException;
+import com.espertech.esper.common.internal.schedule.TimeSourceService;
+import com.espertech.esper.runtime.internal.metrics.instrumentation.InstrumentationHelper;
+import com.espertech.esper.runtime.internal.metrics.jmx.JmxGetter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.util.*;
+
+/**
+ * Implements the schedule service as a hierarchical timing wheel, for use with large numbers of outstanding schedules.
+ * <p>
+ * The wheel has 11 levels of 64 buckets each, with each level covering the next 6 bits of the trigger time.
+ * A schedule is placed into the level of the highest 6-bit group in which its trigger time differs from the
+ * wheel time, so that adding and removing a schedule are constant-time operations. When the wheel time advances
+ * into a bucket of a higher level, the bucket's schedules are redistributed to the lower levels. Occupied buckets
+ * are tracked by a bitmap per level so that evaluation does not visit empty buckets, regardless of how far time advances.
+ * <p>
+ * Schedules triggering at the same time are returned ordered by schedule slot, same as for {@link SchedulingServiceImpl}.
+ * <p>
+ * Synchronized since statement creation and event evaluation by multiple (event send) threads
+ * can lead to callbacks added/removed asynchronously.
+ */
+public final class SchedulingServiceTimingWheel implements SchedulingServiceSPI {
+    private static final int BITS_PER_LEVEL = 6;
+    private static final int BUCKETS_PER_LEVEL = 1 << BITS_PER_LEVEL;
+    private static final int NUM_LEVELS = (Long.SIZE + BITS_PER_LEVEL - 1) / BITS_PER_LEVEL;
+    private static final Comparator<Entry> TIME_SLOT_COMPARATOR = new Comparator<Entry>() {
+        public int compare(Entry o1, Entry o2) {
+            int compared = Long.compare(o1.time, o2.time);
+            return compared != 0 ? compared : Long.compare(o1.slot, o2.slot);
+        }
+    };
+
+    private final int stageId;
+    private final DateTimeFormatter defaultDateTimeFormatter;
+
+    // Buckets per level, each the head of a doubly-linked list of entries, and the bitmap of occupied buckets per level
+    private final Entry[][] buckets;
+    private final long[] occupied;
+
+    // Entries that have a trigger time before the wheel time, such as when time was set backwards
+    private Entry overdue;
+
+    // Map of handle and entry for constant-time removal
+    private final Map<ScheduleHandle, Entry> handleEntryMap;
+
+    // Wheel time, in unsigned representation, all entries in buckets trigger at or after this time
+    private long wheelTime;
+
+    // Current time - used for evaluation as well as for adding new handles
+    private volatile long currentTime;
+
+    /**
+     * Constructor.
+     *
+     * @param stageId                  stage id or -1 when not applicable
+     * @param timeSourceService        time source provider
+     * @param defaultFormatterTimeZone time zone for audit formatter
+     */
+    public SchedulingServiceTimingWheel(int stageId, TimeSourceService timeSourceService, ZoneId defaultFormatterTimeZone) {
+        this.stageId = stageId;
+        this.defaultDateTimeFormatter = DateTimeFormatter.ofPattern(DateTime.DEFAULT_XMLLIKE_DATE_FORMAT).withZone(defaultFormatterTimeZone);
+        this.buckets = new Entry[NUM_LEVELS][BUCKETS_PER_LEVEL];
+        this.occupied = new long[NUM_LEVELS];
+        this.handleEntryMap = new HashMap<>();
+        // initialize time to just before now as there is a check for duplicate external time events
+        this.currentTime = timeSourceService.getTimeMillis() - 1;
+        this.wheelTime = toUnsigned(currentTime);
+    }
+
+    public synchronized void destroy() {
+        log.debug("Destroying scheduling service");
+        handleEntryMap.clear();
+        for (Entry[] level : buckets) {
+            Arrays.fill(level, null);
+        }
+        Arrays.fill(occupied, 0);
+        overdue = null;
+    }
+
+    public long getTime() {
+        // note that this.currentTime is volatile
+        return this.currentTime;
+    }
+
+    public synchronized final void setTime(long currentTime) {
+        this.currentTime = currentTime;
+    }
+
+    public synchronized final void add(long afterTime, ScheduleHandle handle, long slot)
+            throws ScheduleServiceException {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qScheduleAdd(currentTime, afterTime, handle, slot);
+        }
+
+        Entry existing = handleEntryMap.remove(handle);
+        if (existing != null) {
+            unlink(existing);
+        }
+
+        // when there are no schedules the wheel can move to the current time, which may be before the wheel time
+        if (handleEntryMap.isEmpty()) {
+            wheelTime = toUnsigned(currentTime);
+        }
+
+        Entry entry = new Entry(handle, slot, currentTime + afterTime);
+        handleEntryMap.put(handle, entry);
+        place(entry);
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aScheduleAdd();
+        }
+    }
+
+    public synchronized final void remove(ScheduleHandle handle, long slot) {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qScheduleRemove(handle, slot);
+        }
+
+        Entry entry = handleEntryMap.remove(handle);
+        if (entry == null) {
+            // If it already has been removed then that's fine;
+            // Such could be the case when 2 timers fireStatementStopped at the same time, and one stops the other
+            return;
+        }
+        unlink(entry);
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aScheduleRemove();
+        }
+    }
+
+    public synchronized final void evaluate(Collection<ScheduleHandle> handles) {
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().qScheduleEval(currentTime);
+        }
+
+        if (!handleEntryMap.isEmpty()) {
+            if (overdue != null) {
+                evaluateOverdue(handles);
+            }
+            evaluateWheel(handles);
+        }
+
+        if (InstrumentationHelper.ENABLED) {
+            InstrumentationHelper.get().aScheduleEval(handles);
+        }
+    }
+
+    public synchronized void transfer(Set<Integer> statementIds, SchedulingServiceSPI schedulingService) {
+        long currentTime = getTime();
+        long targetTime = schedulingService.getTime();
+        for (Entry entry : sortedEntries()) {
+            if (statementIds.contains(entry.handle.getStatementId())) {
+                long relative = ScheduleTransferHelper.computeTransferTime(currentTime, targetTime, entry.time);
+                remove(entry.handle, entry.slot);
+                schedulingService.add(relative, entry.handle, entry.slot);
+            }
+        }
+    }
+
+    public void init() {
+        // no action required
+    }
+
+    @JmxGetter(name = "TimeHandleCount", description = "Number of outstanding time evaluations")
+    public synchronized int getTimeHandleCount() {
+        return handleEntryMap.size();
+    }
+
+    @JmxGetter(name = "FurthestTimeHandle", description = "Furthest outstanding time evaluation")
+    public String getFurthestTimeHandleDate() {
+        Long handle = getFurthestTimeHandle();
+        if (handle != null) {
+            return DateTime.print(handle);
+        }
+        return null;
+    }
+
+    @JmxGetter(name = "NearestTimeHandle", description = "Nearest outstanding time evaluation")
+    public String getNearestTimeHandleDate() {
+        Long handle = getNearestTimeHandle();
+        if (handle != null) {
+            return DateTime.print(handle);
+        }
+        return null;
+    }
+
+    public synchronized Long getFurthestTimeHandle() {
+        for (int level = NUM_LEVELS - 1; level >= 0; level--) {
+            if (occupied[level] != 0) {
+                int index = BUCKETS_PER_LEVEL - 1 - Long.numberOfLeadingZeros(occupied[level]);
+                long furthest = Long.MIN_VALUE;
+                for (Entry entry = buckets[level][index]; entry != null; entry = entry.next) {
+                    furthest = Math.max(furthest, entry.time);
+                }
+                return furthest;
+            }
+        }
+        if (overdue != null) {
+            long furthest = Long.MIN_VALUE;
+            for (Entry entry = overdue; entry != null; entry = entry.next) {
+                furthest = Math.max(furthest, entry.time);
+            }
+            return furthest;
+        }
+        return null;
+    }
+
+    public synchronized int getScheduleHandleCount() {
+        return handleEntryMap.size();
+    }
+
+    public synchronized boolean isScheduled(ScheduleHandle handle) {
+        return handleEntryMap.containsKey(handle);
+    }
+
+    @Override
+    public synchronized Long getNearestTimeHandle() {
+        if (overdue != null) {
+            long nearest = Long.MAX_VALUE;
+            for (Entry entry = overdue; entry != null; entry = entry.next) {
+                nearest = Math.min(nearest, entry.time);
+            }
+            return nearest;
+        }
+        int level = lowestOccupiedLevel();
+        if (level == -1) {
+            return null;
+        }
+        int index = Long.numberOfTrailingZeros(occupied[level]);
+        if (level == 0) {
+            return fromUnsigned(bucketStart(0, index));
+        }
+        long nearest = Long.MAX_VALUE;
+        for (Entry entry = buckets[level][index]; entry != null; entry = entry.next) {
+            nearest = Math.min(nearest, entry.time);
+        }
+        return nearest;
+    }
+
+    public synchronized void visitSchedules(ScheduleVisitor visitor) {
+        ScheduleVisit visit = new ScheduleVisit();
+        for (Entry entry : sortedEntries()) {
+            visit.setTimestamp(entry.time);
+            visit.setStatementId(entry.handle.getStatementId());
+            visit.setAgentInstanceId(entry.handle.getAgentInstanceId());
+            visitor.visit(visit);
+        }
+    }
+
+    public DateTimeFormatter getDefaultFormatter() {
+        return defaultDateTimeFormatter;
+    }
+
+    private void evaluateOverdue(Collection<ScheduleHandle> handles) {
+        List<Entry> due = new ArrayList<>();
+        for (Entry entry = overdue; entry != null; entry = entry.next) {
+            if (entry.time <= currentTime) {
+                due.add(entry);
+            }
+        }
+        due.sort(TIME_SLOT_COMPARATOR);
+        for (Entry entry : due) {
+            unlink(entry);
+            handleEntryMap.remove(entry.handle);
+            handles.add(entry.handle);
+        }
+    }
+
+    private void evaluateWheel(Collection<ScheduleHandle> handles) {
+        long now = toUnsigned(currentTime);
+        List<Entry> due = null;
+        while (true) {
+            // the lowest occupied level holds the earliest entries, and within the level the lowest occupied bucket
+            int level = lowestOccupiedLevel();
+            if (level == -1) {
+                return;
+            }
+            int index = Long.numberOfTrailingZeros(occupied[level]);
+            long start = bucketStart(level, index);
+            if (Long.compareUnsigned(start, now) > 0) {
+                return;
+            }
+            Entry head = detachBucket(level, index);
+
+            if (level > 0) {
+                advance(start);
+                replace(head);
+                continue;
+            }
+
+            // entries of a level-zero bucket all trigger at the same time and get returned ordered by slot
+            if (due == null) {
+                due = new ArrayList<>();
+            }
+            for (Entry entry = head; entry != null; entry = entry.next) {
+                due.add(entry);
+            }
+            if (due.size() > 1) {
+                due.sort(TIME_SLOT_COMPARATOR);
+            }
+            for (Entry entry : due) {
+                handleEntryMap.remove(entry.handle);
+                entry.prev = null;
+                entry.next = null;
+                entry.level = Entry.UNLINKED;
+                handles.add(entry.handle);
+            }
+            due.clear();
+            if (start == -1L) {
+                return;
+            }
+            advance(start + 1);
+        }
+    }
+
+    /**
+     * Advances the wheel time and redistributes entries of higher-level buckets that the new wheel time falls into.
+     */
+    private void advance(long time) {
+        wheelTime = time;
+        for (int level = NUM_LEVELS - 1; level > 0; level--) {
+            int index = indexOf(time, level);
+            if ((occupied[level] & (1L << index)) != 0) {
+                replace(detachBucket(level, index));
+            }
+        }
+    }
+
+    private void replace(Entry head) {
+        Entry entry = head;
+        while (entry != null) {
+            Entry next = entry.next;
+            place(entry);
+            entry = next;
+        }
+    }
+
+    private void place(Entry entry) {
+        long time = toUnsigned(entry.time);
+        if (Long.compareUnsigned(time, wheelTime) < 0) {
+            entry.level = Entry.OVERDUE;
+            entry.prev = null;
+            entry.next = overdue;
+            if (overdue != null) {
+                overdue.prev = entry;
+            }
+            overdue = entry;
+            return;
+        }
+
+        long diff = time ^ wheelTime;
+        int level = diff == 0 ? 0 : (Long.SIZE - 1 - Long.numberOfLeadingZeros(diff)) / BITS_PER_LEVEL;
+        int index = indexOf(time, level);
+        Entry head = buckets[level][index];
+        entry.level = level;
+        entry.index = index;
+        entry.prev = null;
+        entry.next = head;
+        if (head != null) {
+            head.prev = entry;
+        }
+        buckets[level][index] = entry;
+        occupied[level] |= 1L << index;
+    }
+
+    private void unlink(Entry entry) {
+        if (entry.prev != null) {
+            entry.prev.next = entry.next;
+        } else if (entry.level == Entry.OVERDUE) {
+            overdue = entry.next;
+        } else if (entry.level != Entry.UNLINKED) {
+            buckets[entry.level][entry.index] = entry.next;
+            if (entry.next == null) {
+                occupied[entry.level] &= ~(1L << entry.index);
+            }
+        }
+        if (entry.next != null) {
+            entry.next.prev = entry.prev;
+        }
+        entry.prev = null;
+        entry.next = null;
+        entry.level = Entry.UNLINKED;
+    }
+
+    private Entry detachBucket(int level, int index) {
+        Entry head = buckets[level][index];
+        buckets[level][index] = null;
+        occupied[level] &= ~(1L << index);
+        return head;
+    }
+
+    private int lowestOccupiedLevel() {
+        for (int level = 0; level < NUM_LEVELS; level++) {
+            if (occupied[level] != 0) {
+                return level;
+            }
+        }
+        return -1;
+    }
+
+    private long bucketStart(int level, int index) {
+        int shift = level * BITS_PER_LEVEL;
+        int shiftAbove = shift + BITS_PER_LEVEL;
+        long prefix = shiftAbove >= Long.SIZE ? 0 : wheelTime & (-1L << shiftAbove);
+        return prefix | ((long) index << shift);
+    }
+
+    private List<Entry> sortedEntries() {
+        List<Entry> entries = new ArrayList<>(handleEntryMap.values());
+        entries.sort(TIME_SLOT_COMPARATOR);
+        return entries;
+    }
+
+    private static int indexOf(long unsignedTime, int level) {
+        return (int) ((unsignedTime >>> (level * BITS_PER_LEVEL)) & (BUCKETS_PER_LEVEL - 1));
+    }
+
+    // maps signed time to an unsigned representation that preserves ordering
+    private static long toUnsigned(long time) {
+        return time ^ Long.MIN_VALUE;
+    }
+
+    private static long fromUnsigned(long time) {
+        return time ^ Long.MIN_VALUE;
+    }
+
+    private static class Entry {
+        private static final int OVERDUE = -1;
+        private static final int UNLINKED = -2;
+
+        private final ScheduleHandle handle;
+        private final long slot;
+        private final long time;
+        private int level = UNLINKED;
+        private int index;
+        private Entry prev;
+        private Entry next;
+
+        Entry(ScheduleHandle handle, long slot, long time) {
+            this.handle = handle;
+            this.slot = slot;
+            this.time = time;
+        }
+    }
+
+    private static final Logger log = LoggerFactory.getLogger(SchedulingServiceTimingWheel.class);
+}
@@ -99,6 +99,24 @@ public class TestFilterParamIndexEquals extends TestCase {
         assertEquals(numExpected, testEvaluator.getAndResetCountInvoked());
     }
 
+    public void testCopyOnWrite() {
+        FilterParamIndexEquals index = new FilterParamIndexEquals(makeLookupable("theString"), new ReentrantReadWriteLock(), true);
+
+        index.put("hello", testEvaluator);
+        index.put("test", testEvaluator);
+        assertEquals(2, index.sizeExpensive());
+
+        verifyString(index, "hello", 1);
+        verifyString(index, "test", 1);
+
+        index.remove("hello");
+        index.remove("hello");
+        verifyString(index, "hello", 0);
+        verifyString(index, "test", 1);
+        assertEquals(null, index.get("hello"));
+        assertEquals(testEvaluator, index.get("test"));
+    }
+
     private void verifyString(FilterParamIndexBase index, String testValue, int numExpected) {
         testBean.setTheString(testValue);
         index.matchEvent(testEventBean, matchesList, null);
@@ -0,0 +1,147 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.internal.filterspec.FilterOperator;
+import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.runtime.internal.support.SupportEventBeanFactory;
+import com.espertech.esper.runtime.internal.support.SupportEventTypeFactory;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class TestFilterServiceBulk extends TestCase {
+    private EventType eventType;
+
+    public void setUp() {
+        eventType = SupportEventTypeFactory.createBeanType(SupportBean.class);
+    }
+
+    public void testBulkSameAsSingle() {
+        for (FilterServiceBase[] services : new FilterServiceBase[][]{
+            {new FilterServiceLockCoarse(-1), new FilterServiceLockCoarse(-1)},
+            {new FilterServiceLockFine(-1), new FilterServiceLockFine(-1)},
+            {new FilterServiceLockFree(-1), new FilterServiceLockFree(-1)}}) {
+            FilterServiceBase single = services[0];
+            FilterServiceBase bulk = services[1];
+
+            List<FilterServiceEntry> entries = makeEntries(new Random(1), 500);
+            for (FilterServiceEntry entry : entries) {
+                single.add(entry.getEventType(), entry.getValueSet(), entry.getHandle());
+            }
+            bulk.addBulk(entries);
+            assertSameMatches(single, bulk, 200);
+
+            List<FilterServiceEntry> removed = new ArrayList<>();
+            for (int i = 0; i < entries.size(); i += 2) {
+                removed.add(entries.get(i));
+                single.remove(entries.get(i).getHandle(), entries.get(i).getEventType(), entries.get(i).getValueSet());
+            }
+            bulk.removeBulk(removed);
+            assertSameMatches(single, bulk, 200);
+
+            List<FilterServiceEntry> remaining = new ArrayList<>();
+            for (int i = 1; i < entries.size(); i += 2) {
+                remaining.add(entries.get(i));
+            }
+            bulk.removeBulk(remaining);
+            assertEquals(0, bulk.getFilterCountApprox());
+        }
+    }
+
+    public void testBulkScope() {
+        FilterServiceLockCoarse service = new FilterServiceLockCoarse(-1);
+        FilterValueSetParam[][] valueSet = SupportFilterSpecBuilder.build(eventType, new Object[]{"theString", FilterOperator.EQUAL, "E1"}).getValueSet(null, null, null, null);
+        SupportFilterHandle handleOne = new SupportFilterHandle();
+        SupportFilterHandle handleTwo = new SupportFilterHandle();
+
+        service.beginBulk();
+        service.beginBulk();
+        service.add(eventType, valueSet, handleOne);
+        service.add(eventType, valueSet, handleTwo);
+        service.remove(handleTwo, eventType, valueSet);
+        service.endBulk();
+        assertEquals(0, service.getFilterCountApprox());
+
+        // evaluation by the same thread sees filters added within the scope
+        assertEquals(1, evaluate(service, makeEvent("E1", 0)).size());
+
+        service.remove(handleOne, eventType, valueSet);
+        assertEquals(1, service.getFilterCountApprox());
+        service.endBulk();
+        assertEquals(0, service.getFilterCountApprox());
+        assertEquals(0, evaluate(service, makeEvent("E1", 0)).size());
+
+        try {
+            service.endBulk();
+            fail();
+        } catch (IllegalStateException ex) {
+            // expected
+        }
+    }
+
+    private List<FilterServiceEntry> makeEntries(Random random, int count) {
+        List<FilterServiceEntry> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<Object> params = new ArrayList<>();
+            if (random.nextBoolean()) {
+                params.add("theString");
+                params.add(FilterOperator.EQUAL);
+                params.add("E" + random.nextInt(10));
+            }
+            if (random.nextBoolean()) {
+                params.add("intPrimitive");
+                params.add(FilterOperator.EQUAL);
+                params.add(random.nextInt(5));
+            }
+            if (random.nextInt(3) == 0) {
+                params.add("longPrimitive");
+                params.add(FilterOperator.GREATER);
+                params.add((long) random.nextInt(10));
+            }
+            FilterValueSetParam[][] valueSet = SupportFilterSpecBuilder.build(eventType, params.toArray()).getValueSet(null, null, null, null);
+            entries.add(new FilterServiceEntry(eventType, valueSet, new SupportFilterHandle()));
+        }
+        return entries;
+    }
+
+    private void assertSameMatches(FilterServiceBase single, FilterServiceBase bulk, int numEvents) {
+        Random random = new Random(2);
+        for (int i = 0; i < numEvents; i++) {
+            SupportBean bean = makeBean("E" + random.nextInt(12), random.nextInt(6));
+            bean.setLongPrimitive(random.nextInt(12));
+            EventBean event = SupportEventBeanFactory.createObject(bean);
+            assertEquals(evaluate(single, event), evaluate(bulk, event));
+        }
+    }
+
+    private static Set<FilterHandle> evaluate(FilterServiceBase service, EventBean event) {
+        List<FilterHandle> matches = new ArrayList<>();
+        service.evaluate(event, matches, null);
+        return new HashSet<>(matches);
+    }
+
+    private static EventBean makeEvent(String theString, int intPrimitive) {
+        return SupportEventBeanFactory.createObject(makeBean(theString, intPrimitive));
+    }
+
+    private static SupportBean makeBean(String theString, int intPrimitive) {
+        return new SupportBean(theString, intPrimitive);
+    }
+}
@@ -0,0 +1,177 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.filtersvcimpl;
+
+import com.espertech.esper.common.client.EventBean;
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.util.HashableMultiKey;
+import com.espertech.esper.common.internal.filterspec.FilterOperator;
+import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
+import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.runtime.internal.support.SupportEventBeanFactory;
+import com.espertech.esper.runtime.internal.support.SupportEventTypeFactory;
+import junit.framework.TestCase;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+public class TestFilterServiceCompiled extends TestCase {
+    private EventType eventType;
+
+    public void setUp() {
+        eventType = SupportEventTypeFactory.createBeanType(SupportBean.class);
+    }
+
+    public void testCompiledSameAsInterpreted() {
+        for (FilterServiceBase[] services : new FilterServiceBase[][]{
+            {new FilterServiceLockCoarse(-1), new FilterServiceLockCoarse(-1, true)},
+            {new FilterServiceLockFine(-1), new FilterServiceLockFine(-1, true)},
+            {new FilterServiceLockFree(-1), new FilterServiceLockFree(-1, true)}}) {
+            FilterServiceBase interpreted = services[0];
+            FilterServiceBase compiled = services[1];
+
+            List<FilterServiceEntry> entries = makeEntries(new Random(1), 500);
+            for (FilterServiceEntry entry : entries) {
+                interpreted.add(entry.getEventType(), entry.getValueSet(), entry.getHandle());
+                compiled.add(entry.getEventType(), entry.getValueSet(), entry.getHandle());
+            }
+            assertNull(compiled.getCompiledPlan(eventType));
+            assertSameMatches(interpreted, compiled, 200);
+            FilterCompiledPlan plan = awaitPlan(compiled);
+            assertEquals(2, plan.getNumSlots()); // theString and intPrimitive, the compare and not-equals indexes are interpreted
+            assertSameMatches(interpreted, compiled, 200);
+
+            // changing filters invalidates the plan, events are evaluated by the filter tree until rebuilt
+            for (int i = 0; i < entries.size(); i += 2) {
+                FilterServiceEntry entry = entries.get(i);
+                interpreted.remove(entry.getHandle(), entry.getEventType(), entry.getValueSet());
+                compiled.remove(entry.getHandle(), entry.getEventType(), entry.getValueSet());
+            }
+            assertNull(compiled.getCompiledPlan(eventType));
+            assertSameMatches(interpreted, compiled, 200);
+            assertNotSame(plan, awaitPlan(compiled));
+            assertSameMatches(interpreted, compiled, 200);
+
+            compiled.destroy();
+        }
+    }
+
+    public void testIntegralKeys() {
+        FilterServiceLockCoarse service = new FilterServiceLockCoarse(-1, true);
+        List<SupportFilterHandle> handles = new ArrayList<>();
+        for (int i = -50; i < 50; i++) {
+            SupportFilterHandle handle = new SupportFilterHandle();
+            handles.add(handle);
+            service.add(eventType, valueSet("intPrimitive", FilterOperator.EQUAL, i * 1000), handle);
+        }
+        awaitPlan(service);
+
+        for (int i = -50; i < 50; i++) {
+            Set<FilterHandle> matches = evaluate(service, makeEvent("E1", i * 1000, 0));
+            assertEquals(1, matches.size());
+            assertSame(handles.get(i + 50), matches.iterator().next());
+            assertTrue(evaluate(service, makeEvent("E1", i * 1000 + 1, 0)).isEmpty());
+        }
+        service.destroy();
+    }
+
+    private FilterCompiledPlan awaitPlan(FilterServiceBase service) {
+        long deadline = System.currentTimeMillis() + 10000;
+        EventBean event = makeEvent("E1", 0, 0);
+        while (System.currentTimeMillis() < deadline) {
+            evaluate(service, event);
+            FilterCompiledPlan plan = service.getCompiledPlan(eventType);
+            if (plan != null) {
+                return plan;
+            }
+            try {
+                Thread.sleep(1);
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        }
+        fail("Compiled plan not built");
+        return null;
+    }
+
+    private List<FilterServiceEntry> makeEntries(Random random, int count) {
+        List<FilterServiceEntry> entries = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            List<Object> params = new ArrayList<>();
+            int kind = random.nextInt(4);
+            if (kind == 0) {
+                params.add("theString");
+                params.add(FilterOperator.EQUAL);
+                params.add("E" + random.nextInt(10));
+            } else if (kind == 1) {
+                params.add("theString");
+                params.add(FilterOperator.IS);
+                params.add(random.nextBoolean() ? null : "E" + random.nextInt(10));
+            } else if (kind == 2) {
+                params.add("intPrimitive");
+                params.add(FilterOperator.IN_LIST_OF_VALUES);
+                params.add(new HashableMultiKey(new Object[]{random.nextInt(5), random.nextInt(5)}));
+            }
+            if (random.nextBoolean()) {
+                params.add("intPrimitive");
+                params.add(FilterOperator.EQUAL);
+                params.add(random.nextInt(5));
+            }
+            if (random.nextInt(3) == 0) {
+                params.add("longPrimitive");
+                params.add(FilterOperator.GREATER);
+                params.add((long) random.nextInt(10));
+            }
+            if (random.nextInt(4) == 0) {
+                params.add("boolPrimitive");
+                params.add(FilterOperator.NOT_EQUAL);
+                params.add(random.nextBoolean());
+            }
+            entries.add(new FilterServiceEntry(eventType, valueSet(params.toArray()), new SupportFilterHandle()));
+        }
+        return entries;
+    }
+
+    private FilterValueSetParam[][] valueSet(Object... params) {
+        return SupportFilterSpecBuilder.build(eventType, params).getValueSet(null, null, null, null);
+    }
+
+    private void assertSameMatches(FilterServiceBase interpreted, FilterServiceBase compiled, int numEvents) {
+        Random random = new Random(2);
+        for (int i = 0; i < numEvents; i++) {
+            String theString = random.nextInt(8) == 0 ? null : "E" + random.nextInt(12);
+            EventBean event = makeEvent(theString, random.nextInt(6), random.nextInt(12));
+            ((SupportBean) event.getUnderlying()).setBoolPrimitive(random.nextBoolean());
+            List<FilterHandle> expected = new ArrayList<>();
+            interpreted.evaluate(event, expected, null);
+            List<FilterHandle> actual = new ArrayList<>();
+            compiled.evaluate(event, actual, null);
+            assertEquals(expected.size(), actual.size());
+            assertEquals(new HashSet<>(expected), new HashSet<>(actual));
+        }
+    }
+
+    private static Set<FilterHandle> evaluate(FilterServiceBase service, EventBean event) {
+        List<FilterHandle> matches = new ArrayList<>();
+        service.evaluate(event, matches, null);
+        return new HashSet<>(matches);
+    }
+
+    private static EventBean makeEvent(String theString, int intPrimitive, long longPrimitive) {
+        SupportBean bean = new SupportBean(theString, intPrimitive);
+        bean.setLongPrimitive(longPrimitive);
+        return SupportEventBeanFactory.createObject(bean);
+    }
+}
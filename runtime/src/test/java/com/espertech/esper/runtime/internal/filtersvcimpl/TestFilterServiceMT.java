@@ -10,17 +10,24 @@
  */
 package com.espertech.esper.runtime.internal.filtersvcimpl;
 
+import com.espertech.esper.common.client.EventBean;
 import com.espertech.esper.common.client.EventType;
 import com.espertech.esper.common.client.scopetest.EPAssertionUtil;
 import com.espertech.esper.common.internal.filterspec.FilterOperator;
 import com.espertech.esper.common.internal.filterspec.FilterSpecActivatable;
 import com.espertech.esper.common.internal.filterspec.FilterValueSetParam;
+import com.espertech.esper.common.internal.filtersvc.FilterHandle;
 import com.espertech.esper.common.internal.filtersvc.FilterService;
 import com.espertech.esper.common.internal.support.SupportBean;
+import com.espertech.esper.runtime.internal.support.SupportEventBeanFactory;
 import com.espertech.esper.runtime.internal.support.SupportEventTypeFactory;
 import junit.framework.TestCase;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
  * Test for multithread-safety for manageing statements, i.e. creating and stopping statements
@@ -29,6 +36,56 @@ public class TestFilterServiceMT extends TestCase {
     public void testFilterService() throws Exception {
         runAssertionAddRemoveFilter(new FilterServiceLockCoarse(-1));
         runAssertionAddRemoveFilter(new FilterServiceLockFine(-1));
+        runAssertionAddRemoveFilter(new FilterServiceLockFree(-1));
+    }
+
+    public void testLockFreeEvaluateWhileAdding() throws Exception {
+        final FilterService service = new FilterServiceLockFree(-1);
+        final EventType eventType = SupportEventTypeFactory.createBeanType(SupportBean.class);
+        final int numValues = 20000;
+
+        // each value first gets a filter on theString and intPrimitive, so the index entry for the value is the intPrimitive index,
+        // a second filter on theString and doublePrimitive then replaces that entry with a node holding both indexes
+        final AtomicReference<Object[]> current = new AtomicReference<>();
+        final AtomicBoolean done = new AtomicBoolean();
+        Callable reader = new Callable() {
+            public Object call() throws Exception {
+                List<FilterHandle> matches = new ArrayList<>();
+                while (!done.get()) {
+                    Object[] pair = current.get();
+                    if (pair == null) {
+                        continue;
+                    }
+                    SupportBean bean = new SupportBean((String) pair[0], 1);
+                    EventBean theEvent = SupportEventBeanFactory.createObject(bean);
+                    matches.clear();
+                    service.evaluate(theEvent, matches, null);
+                    if (!matches.contains(pair[1])) {
+                        return false;
+                    }
+                }
+                return true;
+            }
+        };
+        Callable writer = new Callable() {
+            public Object call() throws Exception {
+                try {
+                    for (int i = 0; i < numValues; i++) {
+                        String value = "E" + i;
+                        SupportFilterHandle handleInt = new SupportFilterHandle();
+                        service.add(eventType, valueSet(eventType, "theString", value, "intPrimitive", 1), handleInt);
+                        current.set(new Object[]{value, handleInt});
+                        service.add(eventType, valueSet(eventType, "theString", value, "doublePrimitive", 1d), new SupportFilterHandle());
+                    }
+                } finally {
+                    done.set(true);
+                }
+                return true;
+            }
+        };
+
+        Object[] result = tryMT(new Callable[]{reader, reader, writer});
+        EPAssertionUtil.assertAllBooleanTrue(result);
     }
 
     private void runAssertionAddRemoveFilter(final FilterService service) throws Exception {
@@ -54,6 +111,11 @@ public class TestFilterServiceMT extends TestCase {
         EPAssertionUtil.assertAllBooleanTrue(result);
     }
 
+    private static FilterValueSetParam[][] valueSet(EventType eventType, String propOne, Object valueOne, String propTwo, Object valueTwo) {
+        FilterSpecActivatable spec = SupportFilterSpecBuilder.build(eventType, new Object[]{propOne, FilterOperator.EQUAL, valueOne, propTwo, FilterOperator.EQUAL, valueTwo});
+        return spec.getValueSet(null, null, null, null);
+    }
+
     private Object[] tryMT(Callable[] callables) throws Exception {
         ExecutorService threadPool = Executors.newFixedThreadPool(callables.length);
 
@@ -0,0 +1,102 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.faf;
+
+import com.espertech.esper.common.client.EventType;
+import com.espertech.esper.common.client.context.ContextPartitionSelector;
+import com.espertech.esper.common.internal.context.mgr.ContextManagementService;
+import com.espertech.esper.common.internal.context.module.StatementAIFactoryAssignments;
+import com.espertech.esper.common.internal.context.util.StatementContextRuntimeServices;
+import com.espertech.esper.common.internal.epl.fafquery.querymethod.EPPreparedQueryResult;
+import com.espertech.esper.common.internal.epl.fafquery.querymethod.FAFQueryInformationals;
+import com.espertech.esper.common.internal.epl.fafquery.querymethod.FAFQueryMethod;
+import com.espertech.esper.common.internal.epl.fafquery.querymethod.FAFQueryMethodAssignerSetter;
+import junit.framework.TestCase;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+public class TestEPFireAndForgetPreparedQueryParameterizedImpl extends TestCase {
+
+    public void testSetUnchangedValueKeepsState() {
+        SupportQueryMethod method = new SupportQueryMethod();
+        EPFireAndForgetPreparedQueryParameterizedImpl query = make(method, null, String.class, int[].class);
+
+        query.setObject(1, "A%");
+        query.setObject(2, new int[]{1, 2});
+        assertEquals(2, method.numChanged);
+
+        // prepare once, then set the same values before each execution
+        query.setObject(1, "A%");
+        query.setObject(1, new String("A%"));
+        query.setObject(2, new int[]{1, 2});
+        assertEquals(2, method.numChanged);
+
+        query.setObject(1, "B%");
+        assertEquals(3, method.numChanged);
+        query.setObject(1, null);
+        assertEquals(4, method.numChanged);
+        query.setObject(1, null);
+        assertEquals(4, method.numChanged);
+
+        // an array changed after setting it is a changed value
+        int[] values = new int[]{1, 2};
+        query.setObject(2, values);
+        assertEquals(4, method.numChanged);
+        values[0] = 5;
+        query.setObject(2, values);
+        assertEquals(5, method.numChanged);
+    }
+
+    public void testSetByNameFirstNullValue() {
+        SupportQueryMethod method = new SupportQueryMethod();
+        EPFireAndForgetPreparedQueryParameterizedImpl query = make(method, Collections.singletonMap("p", 1), String.class);
+
+        // the first value is a change even when null
+        query.setObject("p", null);
+        assertEquals(1, method.numChanged);
+        query.setObject("p", null);
+        assertEquals(1, method.numChanged);
+        query.setObject("p", "x");
+        assertEquals(2, method.numChanged);
+    }
+
+    private static EPFireAndForgetPreparedQueryParameterizedImpl make(FAFQueryMethod method, Map<String, Integer> names, Class... types) {
+        FAFQueryMethodAssignerSetter setter = new FAFQueryMethodAssignerSetter() {
+            public void assign(StatementAIFactoryAssignments assignments) {
+            }
+
+            public void setValue(int number, Object value) {
+            }
+        };
+        return new EPFireAndForgetPreparedQueryParameterizedImpl(new AtomicBoolean(true), setter, method, new FAFQueryInformationals(types, names));
+    }
+
+    private static class SupportQueryMethod implements FAFQueryMethod {
+        private int numChanged;
+
+        public void ready(StatementContextRuntimeServices services) {
+        }
+
+        public EPPreparedQueryResult execute(AtomicBoolean serviceStatusProvider, FAFQueryMethodAssignerSetter assignerSetter, ContextPartitionSelector[] contextPartitionSelectors, ContextManagementService contextManagementService) {
+            throw new UnsupportedOperationException();
+        }
+
+        public EventType getEventType() {
+            return null;
+        }
+
+        public void parametersChanged() {
+            numChanged++;
+        }
+    }
+}
@@ -0,0 +1,198 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.kernel.thread;
+
+import com.espertech.esper.common.client.util.WaitStrategy;
+import junit.framework.TestCase;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestRingBufferHandoff extends TestCase {
+
+    public void testCapacity() {
+        assertEquals(RingBufferHandoff.DEFAULT_CAPACITY, make(null, 1, WaitStrategy.PARK, null).shutdownReturn().getCapacity());
+        assertEquals(RingBufferHandoff.DEFAULT_CAPACITY, make(Integer.MAX_VALUE, 1, WaitStrategy.PARK, null).shutdownReturn().getCapacity());
+        assertEquals(2, make(1, 1, WaitStrategy.PARK, null).shutdownReturn().getCapacity());
+        assertEquals(128, make(100, 1, WaitStrategy.PARK, null).shutdownReturn().getCapacity());
+        assertEquals(128, make(128, 1, WaitStrategy.PARK, null).shutdownReturn().getCapacity());
+    }
+
+    public void testHandoffAllStrategies() throws Exception {
+        for (WaitStrategy waitStrategy : WaitStrategy.values()) {
+            runAssertionHandoff(waitStrategy, 4, 1, 2);
+            runAssertionHandoff(waitStrategy, 16, 3, 2);
+        }
+    }
+
+    public void testFullBufferBlocksProducer() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        ConcurrentLinkedQueue<Integer> received = new ConcurrentLinkedQueue<>();
+        Holder holder = make(2, 1, WaitStrategy.PARK, value -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+            received.add(value);
+        });
+        RingBufferHandoff<SupportSlot> ringBuffer = holder.ringBuffer;
+
+        // the worker runs the first unit in its slot, so the second fills the buffer and the third must wait
+        for (int i = 0; i < 2; i++) {
+            submit(ringBuffer, i);
+        }
+        Thread producer = new Thread(() -> submit(ringBuffer, 2));
+        producer.start();
+        producer.join(200);
+        assertTrue(producer.isAlive());
+
+        release.countDown();
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        waitFor(received, 3);
+        ringBuffer.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    public void testExceptionKeepsWorker() throws Exception {
+        ConcurrentLinkedQueue<Integer> received = new ConcurrentLinkedQueue<>();
+        Holder holder = make(4, 1, WaitStrategy.PARK, value -> {
+            if (value == 1) {
+                throw new RuntimeException("Intended for testing");
+            }
+            received.add(value);
+        });
+        for (int i = 0; i < 10; i++) {
+            submit(holder.ringBuffer, i);
+        }
+        waitFor(received, 9);
+        assertFalse(received.contains(1));
+        assertEquals(10, holder.cleared.get());
+        holder.ringBuffer.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    public void testShutdown() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        Holder holder = make(2, 1, WaitStrategy.PARK, value -> {
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                throw new RuntimeException(e);
+            }
+        });
+        RingBufferHandoff<SupportSlot> ringBuffer = holder.ringBuffer;
+        submit(ringBuffer, 0);
+        submit(ringBuffer, 1);
+        Thread producer = new Thread(() -> submit(ringBuffer, 2));
+        producer.start();
+        producer.join(100);
+        assertTrue(producer.isAlive());
+
+        // a waiting producer is released by shutdown, and claims after shutdown fail
+        release.countDown();
+        ringBuffer.shutdown(5, TimeUnit.SECONDS);
+        producer.join(5000);
+        assertFalse(producer.isAlive());
+        assertEquals(-1, ringBuffer.claim());
+    }
+
+    private void runAssertionHandoff(WaitStrategy waitStrategy, int capacity, int numProducers, int numWorkers) throws Exception {
+        int numPerProducer = 2000;
+        ConcurrentLinkedQueue<Integer> received = new ConcurrentLinkedQueue<>();
+        Holder holder = make(capacity, numWorkers, waitStrategy, received::add);
+
+        Thread[] producers = new Thread[numProducers];
+        for (int p = 0; p < numProducers; p++) {
+            final int base = p * numPerProducer;
+            producers[p] = new Thread(() -> {
+                for (int i = 0; i < numPerProducer; i++) {
+                    submit(holder.ringBuffer, base + i);
+                }
+            });
+            producers[p].start();
+        }
+        for (Thread producer : producers) {
+            producer.join(30000);
+        }
+
+        int total = numProducers * numPerProducer;
+        waitFor(received, total);
+        boolean[] seen = new boolean[total];
+        for (Integer value : received) {
+            assertFalse(seen[value]);
+            seen[value] = true;
+        }
+        assertEquals(total, holder.cleared.get());
+        assertEquals(0, holder.ringBuffer.size());
+        holder.ringBuffer.shutdown(5, TimeUnit.SECONDS);
+    }
+
+    private static void submit(RingBufferHandoff<SupportSlot> ringBuffer, int value) {
+        long sequence = ringBuffer.claim();
+        if (sequence == -1) {
+            return;
+        }
+        ringBuffer.get(sequence).value = value;
+        ringBuffer.publish(sequence);
+    }
+
+    private static void waitFor(ConcurrentLinkedQueue<Integer> received, int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 30000;
+        while (received.size() < expected && System.currentTimeMillis() < deadline) {
+            Thread.sleep(10);
+        }
+        assertEquals(expected, received.size());
+    }
+
+    private static Holder make(Integer capacity, int numThreads, WaitStrategy waitStrategy, IntConsumer consumer) {
+        Holder holder = new Holder();
+        holder.ringBuffer = new RingBufferHandoff<>("Test", capacity, () -> new SupportSlot(consumer, holder.cleared), numThreads, Thread::new, waitStrategy);
+        return holder;
+    }
+
+    private interface IntConsumer {
+        void accept(int value);
+    }
+
+    private static class Holder {
+        private final AtomicInteger cleared = new AtomicInteger();
+        private RingBufferHandoff<SupportSlot> ringBuffer;
+
+        private RingBufferHandoff<SupportSlot> shutdownReturn() {
+            ringBuffer.shutdown(5, TimeUnit.SECONDS);
+            return ringBuffer;
+        }
+    }
+
+    private static class SupportSlot implements RingBufferHandoff.Slot {
+        private final IntConsumer consumer;
+        private final AtomicInteger cleared;
+        private int value = -1;
+
+        private SupportSlot(IntConsumer consumer, AtomicInteger cleared) {
+            this.consumer = consumer;
+            this.cleared = cleared;
+        }
+
+        public void run() {
+            if (consumer != null) {
+                consumer.accept(value);
+            }
+        }
+
+        public void clear() {
+            value = -1;
+            cleared.incrementAndGet();
+        }
+    }
+}
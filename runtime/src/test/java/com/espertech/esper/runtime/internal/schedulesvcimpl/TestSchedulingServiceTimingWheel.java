@@ -0,0 +1,166 @@
+/*
+ ***************************************************************************************
+ *  Copyright (C) 2006 EsperTech, Inc. All rights reserved.                            *
+ *  http://www.espertech.com/esper                                                     *
+ *  http://www.espertech.com                                                           *
+ *  ---------------------------------------------------------------------------------- *
+ *  The software in this package is published under the terms of the GPL license       *
+ *  a copy of which has been included with this distribution in the license.txt file.  *
+ ***************************************************************************************
+ */
+package com.espertech.esper.runtime.internal.schedulesvcimpl;
+
+import com.espertech.esper.common.internal.schedule.ScheduleHandle;
+import com.espertech.esper.runtime.internal.schedulesvcimpl.TestSchedulingServiceImpl.SupportScheduleCallback;
+import com.espertech.esper.runtime.internal.timer.TimeSourceServiceImpl;
+import junit.framework.TestCase;
+
+import java.time.ZoneId;
+import java.util.*;
+
+public class TestSchedulingServiceTimingWheel extends TestCase {
+    private SchedulingServiceTimingWheel service;
+
+    public void setUp() {
+        service = new SchedulingServiceTimingWheel(-1, new TimeSourceServiceImpl(), ZoneId.systemDefault());
+    }
+
+    public void testTrigger() {
+        SupportScheduleCallback[] callbacks = new SupportScheduleCallback[4];
+        for (int i = 0; i < callbacks.length; i++) {
+            callbacks[i] = new SupportScheduleCallback();
+        }
+        service.setTime(0);
+
+        service.add(20, callbacks[3], 4);
+        service.add(20, callbacks[2], 3);
+        service.add(20, callbacks[1], 2);
+        service.add(21, callbacks[0], 1);
+        assertTrue(service.isScheduled(callbacks[3]));
+        assertEquals(4, service.getScheduleHandleCount());
+        assertEquals(20L, (long) service.getNearestTimeHandle());
+        assertEquals(21L, (long) service.getFurthestTimeHandle());
+
+        service.setTime(19);
+        assertEquals(Collections.emptyList(), evaluate());
+
+        // same-time schedules are returned ordered by slot
+        service.setTime(20);
+        assertEquals(Arrays.asList(callbacks[1], callbacks[2], callbacks[3]), evaluate());
+        assertFalse(service.isScheduled(callbacks[3]));
+        assertTrue(service.isScheduled(callbacks[0]));
+
+        // add twice replaces, remove unschedules
+        service.add(10, callbacks[1], 2);
+        service.add(5, callbacks[1], 2);
+        service.add(5, callbacks[2], 3);
+        service.remove(callbacks[2], 3);
+        service.remove(callbacks[2], 3);
+
+        service.setTime(100);
+        assertEquals(Arrays.asList(callbacks[0], callbacks[1]), evaluate());
+        assertEquals(0, service.getScheduleHandleCount());
+        assertNull(service.getNearestTimeHandle());
+        assertNull(service.getFurthestTimeHandle());
+    }
+
+    public void testTimeJumpsAndBackwards() {
+        SupportScheduleCallback[] callbacks = new SupportScheduleCallback[4];
+        for (int i = 0; i < callbacks.length; i++) {
+            callbacks[i] = new SupportScheduleCallback();
+        }
+
+        // large forward jump evaluates all schedules in time order
+        service.setTime(0);
+        service.add(365L * 24 * 60 * 60 * 1000, callbacks[0], 1);
+        service.add(1, callbacks[1], 2);
+        service.add(70000, callbacks[2], 3);
+        service.setTime(Long.MAX_VALUE / 2);
+        assertEquals(Arrays.asList(callbacks[1], callbacks[2], callbacks[0]), evaluate());
+
+        // time set backwards while schedules are outstanding
+        service.add(1000, callbacks[0], 1);
+        service.setTime(100);
+        service.add(50, callbacks[1], 2);
+        service.add(10, callbacks[2], 3);
+        assertEquals(110L, (long) service.getNearestTimeHandle());
+        service.setTime(150);
+        assertEquals(Arrays.asList(callbacks[2], callbacks[1]), evaluate());
+        service.setTime(Long.MAX_VALUE);
+        assertEquals(Collections.singletonList(callbacks[0]), evaluate());
+
+        // negative time
+        service.setTime(-1000);
+        service.add(10, callbacks[3], 4);
+        service.add(2000, callbacks[0], 1);
+        service.setTime(-990);
+        assertEquals(Collections.singletonList(callbacks[3]), evaluate());
+        service.setTime(1000);
+        assertEquals(Collections.singletonList(callbacks[0]), evaluate());
+    }
+
+    public void testTransferAndVisit() {
+        SupportScheduleCallback[] callbacks = new SupportScheduleCallback[3];
+        for (int i = 0; i < callbacks.length; i++) {
+            callbacks[i] = new SupportScheduleCallback();
+        }
+        service.setTime(1000);
+        service.add(300, callbacks[0], 1);
+        service.add(100, callbacks[1], 2);
+        service.add(200, callbacks[2], 3);
+
+        List<Long> visited = new ArrayList<>();
+        service.visitSchedules(visit -> visited.add(visit.getTimestamp()));
+        assertEquals(Arrays.asList(1100L, 1200L, 1300L), visited);
+
+        SchedulingServiceTimingWheel target = new SchedulingServiceTimingWheel(1, new TimeSourceServiceImpl(), ZoneId.systemDefault());
+        target.setTime(1050);
+        service.transfer(Collections.singleton(1), target);
+        assertEquals(0, service.getScheduleHandleCount());
+        assertEquals(3, target.getScheduleHandleCount());
+        assertEquals(1100L, (long) target.getNearestTimeHandle());
+        assertEquals(1300L, (long) target.getFurthestTimeHandle());
+    }
+
+    public void testSameAsSorted() {
+        Random random = new Random(42);
+        SchedulingServiceImpl sorted = new SchedulingServiceImpl(-1, new TimeSourceServiceImpl(), ZoneId.systemDefault());
+        long time = 1000;
+        sorted.setTime(time);
+        service.setTime(time);
+
+        List<SupportScheduleCallback> callbacks = new ArrayList<>();
+        for (int i = 0; i < 500; i++) {
+            callbacks.add(new SupportScheduleCallback());
+        }
+        long[] magnitudes = new long[]{1, 64, 5000, 1000000, 100000000000L};
+
+        for (int round = 0; round < 5000; round++) {
+            int action = random.nextInt(10);
+            int index = random.nextInt(callbacks.size());
+            if (action < 6) {
+                long after = (long) (random.nextDouble() * magnitudes[random.nextInt(magnitudes.length)]);
+                sorted.add(after, callbacks.get(index), index);
+                service.add(after, callbacks.get(index), index);
+            } else if (action < 8) {
+                sorted.remove(callbacks.get(index), index);
+                service.remove(callbacks.get(index), index);
+            } else {
+                time += (long) (random.nextDouble() * magnitudes[random.nextInt(magnitudes.length)]);
+                sorted.setTime(time);
+                service.setTime(time);
+                List<ScheduleHandle> expected = new ArrayList<>();
+                sorted.evaluate(expected);
+                assertEquals(expected, evaluate());
+            }
+            assertEquals(sorted.getScheduleHandleCount(), service.getScheduleHandleCount());
+            assertEquals(sorted.getNearestTimeHandle(), service.getNearestTimeHandle());
+        }
+    }
+
+    private List<ScheduleHandle> evaluate() {
+        List<ScheduleHandle> handles = new ArrayList<>();
+        service.evaluate(handles);
+        return handles;
+    }
+}